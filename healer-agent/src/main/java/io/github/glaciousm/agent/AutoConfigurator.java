@@ -2,21 +2,36 @@ package io.github.glaciousm.agent;
 
 import io.github.glaciousm.core.config.ConfigLoader;
 import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.engine.CollectionLocatorGenerator;
 import io.github.glaciousm.core.engine.HealingEngine;
 import io.github.glaciousm.core.engine.HealingSummary;
+import io.github.glaciousm.core.engine.coordinator.HealCoordinator;
+import io.github.glaciousm.core.engine.coordinator.HealCoordinators;
+import io.github.glaciousm.core.engine.prediction.RegressionPredictor;
+import io.github.glaciousm.core.engine.prediction.SpeculativeHealer;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.core.store.StateStore;
 import io.github.glaciousm.core.util.StackTraceAnalyzer;
 import io.github.glaciousm.llm.LlmOrchestrator;
+import io.github.glaciousm.selenium.snapshot.LocatorProbe;
 import io.github.glaciousm.selenium.snapshot.SnapshotBuilder;
 import org.openqa.selenium.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Auto-configures the Intent Healer components for agent-based operation.
@@ -32,6 +47,8 @@ public class AutoConfigurator {
     private static volatile HealerConfig config;
     private static volatile HealingEngine engine;
     private static volatile LlmOrchestrator llmOrchestrator;
+    private static volatile HealCoordinator coordinator;
+    private static volatile SpeculativeHealer speculativeHealer;
     private static volatile boolean initialized = false;
     private static volatile boolean providerAvailable = false;
 
@@ -42,6 +59,15 @@ public class AutoConfigurator {
     // Cache healed locators to avoid repeated LLM calls for the same broken locator
     private static final Map<String, By> healedLocatorCache = new ConcurrentHashMap<>();
 
+    // Prefix of healedLocatorCache keys for findElements heals, which use collection locators
+    private static final String ELEMENTS_KEY_PREFIX = "elements:";
+
+    // Locators whose findElements returned elements, for healing empty lists
+    private static final Set<String> populatedListLocators = ConcurrentHashMap.newKeySet();
+
+    // Set while a findElements heal runs, so its own lookups are not healed in turn
+    private static final ThreadLocal<Boolean> healingElements = ThreadLocal.withInitial(() -> false);
+
     private static final StackTraceAnalyzer stackTraceAnalyzer = new StackTraceAnalyzer();
 
     /**
@@ -55,33 +81,7 @@ public class AutoConfigurator {
         initialized = true;
 
         try {
-            // Load configuration
-            config = new ConfigLoader().load();
-
-            if (config.isEnabled()) {
-                // Create healing engine
-                engine = new HealingEngine(config);
-
-                // Create LLM orchestrator
-                llmOrchestrator = new LlmOrchestrator();
-
-                // Check if the configured provider is available (has API key, etc.)
-                String providerName = config.getLlm() != null ? config.getLlm().getProvider() : "mock";
-                providerAvailable = llmOrchestrator.isProviderAvailable(providerName, config.getLlm());
-
-                if (!providerAvailable) {
-                    logger.warn("LLM provider '{}' is not available (missing API key or configuration). " +
-                            "Healing will be DISABLED. Set the required environment variable or use 'mock' provider.",
-                            providerName);
-                } else {
-                    // Wire the engine with snapshot and LLM callbacks
-                    wireEngine();
-                    logger.info("Auto-configured healing engine with provider: {}", providerName);
-                }
-            } else {
-                logger.info("Healing is disabled in configuration");
-            }
-
+            configure(new ConfigLoader().load(), new LlmOrchestrator());
         } catch (Exception e) {
             logger.error("Failed to initialize healing configuration", e);
             config = null;
@@ -89,6 +89,53 @@ public class AutoConfigurator {
         }
     }
 
+    /**
+     * Set up the engine, orchestrator and coordinator for this configuration.
+     */
+    static synchronized void configure(HealerConfig healerConfig, LlmOrchestrator orchestrator) {
+        config = healerConfig;
+        engine = null;
+        llmOrchestrator = null;
+        coordinator = null;
+        speculativeHealer = null;
+        providerAvailable = false;
+
+        if (config.isEnabled()) {
+            // Create healing engine
+            engine = new HealingEngine(config);
+
+            // Create LLM orchestrator
+            llmOrchestrator = orchestrator;
+            llmOrchestrator.setCircuitBreaker(engine.getCircuitBreaker());
+
+            // Check if the configured provider is available (has API key, etc.)
+            String providerName = config.getLlm() != null ? config.getLlm().getProvider() : "mock";
+            providerAvailable = llmOrchestrator.isProviderAvailable(providerName, config.getLlm());
+
+            if (!providerAvailable) {
+                logger.warn("LLM provider '{}' is not available (missing API key or configuration). " +
+                        "Healing will be DISABLED. Set the required environment variable or use 'mock' provider.",
+                        providerName);
+            } else {
+                // Connect to the provider now rather than on the first heal
+                llmOrchestrator.warmUp(config.getLlm());
+
+                // Share heals and the LLM budget with other forks (in-process when disabled)
+                coordinator = HealCoordinators.create(config.getCoordinator());
+
+                if (config.getSpeculative().isEnabled()) {
+                    speculativeHealer = createSpeculativeHealer();
+                }
+
+                // Wire the engine with snapshot and LLM callbacks
+                wireEngine();
+                logger.info("Auto-configured healing engine with provider: {}", providerName);
+            }
+        } else {
+            logger.info("Healing is disabled in configuration");
+        }
+    }
+
     /**
      * Check if healing is enabled and the provider is available.
      */
@@ -125,6 +172,32 @@ public class AutoConfigurator {
         return engine;
     }
 
+    /**
+     * Get the heal coordinator shared with other forks.
+     */
+    public static HealCoordinator getCoordinator() {
+        return coordinator;
+    }
+
+    /**
+     * Get the speculative healer, or null when speculative healing is disabled.
+     */
+    public static SpeculativeHealer getSpeculativeHealer() {
+        return speculativeHealer;
+    }
+
+    /**
+     * Called after a driver loads a page. The first visit to each page probes its
+     * at-risk locators and heals broken ones in the background.
+     */
+    public static void onPageLoaded(WebDriver driver) {
+        SpeculativeHealer healer = speculativeHealer;
+        if (healer == null || !isEnabled()) {
+            return;
+        }
+        healer.onPageVisit(currentUrl(driver), new LocatorProbe(driver, snapshotBuilderFor(driver)));
+    }
+
     /**
      * Register a WebDriver instance for healing.
      * Called by the constructor advice when a new WebDriver is created.
@@ -171,58 +244,106 @@ public class AutoConfigurator {
             }
         }
 
-        SnapshotBuilder snapshotBuilder = driverSnapshots.get(driver);
-        if (snapshotBuilder == null) {
-            // Driver wasn't registered, create a snapshot builder on-the-fly
-            snapshotBuilder = new SnapshotBuilder(driver);
-            driverSnapshots.put(driver, snapshotBuilder);
+        // Convert By to LocatorInfo
+        LocatorInfo originalLocator = byToLocatorInfo(by);
+
+        // Extract source location from stack trace
+        SourceLocation sourceLocation = stackTraceAnalyzer
+                .extractSourceLocationWithContext(originalException)
+                .orElse(null);
+
+        if (sourceLocation != null) {
+            logger.debug("Captured source location: {}", sourceLocation.toShortString());
         }
 
-        // Capture screenshot BEFORE healing attempt (for visual evidence)
-        String beforeScreenshotBase64 = captureScreenshotBase64(driver);
+        // Build failure context
+        String effectiveStepText = "find element: " + by.toString();
 
-        try {
-            // Convert By to LocatorInfo
-            LocatorInfo originalLocator = byToLocatorInfo(by);
+        FailureContext failureContext = FailureContext.builder()
+                .exceptionType(originalException.getClass().getSimpleName())
+                .exceptionMessage(originalException.getMessage())
+                .originalLocator(originalLocator)
+                .stepText(effectiveStepText)
+                .sourceLocation(sourceLocation)
+                .build();
 
-            // Capture UI snapshot
-            UiSnapshot snapshot = snapshotBuilder.captureAll();
+        IntentContract intent = IntentContract.defaultContract("find element");
 
-            // Extract source location from stack trace
-            SourceLocation sourceLocation = stackTraceAnalyzer
-                    .extractSourceLocationWithContext((Exception) originalException)
-                    .orElse(null);
+        // Refuse unhealable failures before claiming, screenshotting or walking the DOM
+        String pageUrl = currentUrl(driver);
+        GuardrailResult triage = engine.triage(failureContext, intent, pageUrl);
+        if (triage.isRefused()) {
+            logger.debug("Not healing {}: {}", originalLocatorKey, triage.getReason());
+            return null;
+        }
 
-            if (sourceLocation != null) {
-                logger.debug("Captured source location: {}", sourceLocation.toShortString());
+        // Reuse a heal published by another fork, or wait for one in progress
+        String coordinationKey = HealCoordinator.key(pageUrl, originalLocatorKey);
+        HealCoordinator.Claim claim = coordinator.claim(coordinationKey, claimTimeout());
+        if (claim.isHit()) {
+            try {
+                By sharedHealedBy = locatorInfoToBy(parseLocatorString(claim.healedLocator()));
+                WebElement element = driver.findElement(sharedHealedBy);
+                healedLocatorCache.put(originalLocatorKey, sharedHealedBy);
+                logger.debug("Using coordinated heal for: {} -> {}", originalLocatorKey, sharedHealedBy);
+                return element;
+            } catch (NoSuchElementException e) {
+                coordinator.invalidate(coordinationKey);
+                logger.debug("Coordinated heal failed, re-healing: {}", originalLocatorKey);
+                claim = coordinator.claim(coordinationKey, claimTimeout());
             }
+        }
+        boolean ownsClaim = claim.isOwner();
+        boolean published = false;
+
+        SnapshotBuilder snapshotBuilder = snapshotBuilderFor(driver);
 
-            // Build failure context
-            String effectiveStepText = "find element: " + by.toString();
+        // Capture screenshot BEFORE healing attempt (for visual evidence)
+        String beforeScreenshotBase64 = captureScreenshotBase64(driver);
 
-            FailureContext failureContext = FailureContext.builder()
-                    .exceptionType(originalException.getClass().getSimpleName())
-                    .exceptionMessage(originalException.getMessage())
-                    .originalLocator(originalLocator)
-                    .stepText(effectiveStepText)
-                    .sourceLocation(sourceLocation)
-                    .build();
+        try {
+            HealResult result = null;
+            By healedBy = null;
+            WebElement element = null;
+
+            // Use a heal made ahead of time for this page; it is checked and reported like an inline heal
+            SpeculativeHealer.PreHeal preHeal = speculativeHealer != null
+                    ? speculativeHealer.lookup(pageUrl, originalLocator).orElse(null)
+                    : null;
+            if (preHeal != null) {
+                result = engine.applyPreHeal(failureContext, intent, preHeal.snapshot(), preHeal.decision());
+                speculativeHealer.recordOutcome(pageUrl, originalLocator, result);
+                healedBy = healedBy(result);
+                element = findOrNull(driver, healedBy);
+                if (element == null) {
+                    logger.debug("Pre-heal no longer applies, re-healing: {}", originalLocatorKey);
+                }
+            }
 
-            IntentContract intent = IntentContract.defaultContract("find element");
+            if (element == null) {
+                // Capture UI snapshot
+                UiSnapshot snapshot = snapshotBuilder.captureAll();
 
-            // Attempt healing with pre-captured snapshot
-            HealResult result = engine.attemptHeal(failureContext, intent, snapshot);
+                // Attempt healing with pre-captured snapshot
+                result = engine.attemptHeal(failureContext, intent, snapshot);
+                if (speculativeHealer != null) {
+                    speculativeHealer.recordOutcome(pageUrl, originalLocator, result);
+                }
+                healedBy = healedBy(result);
+                element = findOrNull(driver, healedBy);
+            }
 
-            if (result != null && result.isSuccess() && result.getHealedLocator().isPresent()) {
+            if (element != null) {
                 String healedLocatorStr = result.getHealedLocator().get();
-                LocatorInfo healedLocator = parseLocatorString(healedLocatorStr);
-                By healedBy = locatorInfoToBy(healedLocator);
-
                 logger.info("Healed locator: {} -> {}", by, healedBy);
 
                 // Cache the healed locator for future calls
                 healedLocatorCache.put(originalLocatorKey, healedBy);
                 logger.debug("Cached healed locator: {} -> {}", originalLocatorKey, healedBy);
+                if (ownsClaim) {
+                    coordinator.complete(coordinationKey, healedLocatorStr);
+                    published = true;
+                }
 
                 // Capture screenshot AFTER successful healing
                 String afterScreenshotBase64 = captureScreenshotBase64(driver);
@@ -239,17 +360,343 @@ public class AutoConfigurator {
                         afterScreenshotBase64
                 );
 
-                // Find element with healed locator
-                return driver.findElement(healedBy);
+                return element;
             }
 
         } catch (Exception healException) {
             logger.warn("Healing attempt failed: {}", healException.getMessage());
+        } finally {
+            if (ownsClaim && !published) {
+                coordinator.abandon(coordinationKey);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The locator a successful heal points to, or null if the heal failed.
+     */
+    private static By healedBy(HealResult result) {
+        if (result == null || !result.isSuccess() || result.getHealedLocator().isEmpty()) {
+            return null;
+        }
+        return locatorInfoToBy(parseLocatorString(result.getHealedLocator().get()));
+    }
+
+    /**
+     * The element a healed locator finds, or null if there is no locator or it finds nothing.
+     */
+    private static WebElement findOrNull(WebDriver driver, By healedBy) {
+        if (healedBy == null) {
+            return null;
+        }
+        try {
+            return driver.findElement(healedBy);
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Look up a findElements call through the locator it was healed to earlier, so the
+     * broken locator does not wait out the implicit wait again.
+     *
+     * @return the elements found with the healed locator, or null to run the original call
+     */
+    public static List<WebElement> findWithHealedLocator(WebDriver driver, By by) {
+        if (!isEnabled() || healingElements.get()) {
+            return null;
+        }
+        String key = ELEMENTS_KEY_PREFIX + by;
+        By healedBy = healedLocatorCache.get(key);
+        if (healedBy == null) {
+            return null;
+        }
+        List<WebElement> elements = findElementsWithoutHealing(driver, healedBy);
+        if (elements.isEmpty()) {
+            // Cached locator no longer works, remove from cache and run the original call
+            healedLocatorCache.remove(key);
+            logger.debug("Cached collection locator failed, re-healing: {}", by);
+            return null;
+        }
+        logger.debug("Using cached collection locator for: {}", by);
+        return elements;
+    }
+
+    /**
+     * Called when findElements returns elements, to remember the locator works on this run.
+     */
+    public static void onElementsFound(By by) {
+        if (isEnabled() && config.getGuardrails().isHealEmptyLists() && !healingElements.get()) {
+            populatedListLocators.add(by.toString());
+        }
+    }
+
+    /**
+     * Whether an empty findElements result should be healed: only with
+     * {@code guardrails.heal_empty_lists}, and only for locators that returned elements before.
+     */
+    public static boolean shouldHealEmptyList(By by) {
+        return isEnabled() && config.getGuardrails().isHealEmptyLists() && !healingElements.get()
+                && populatedListLocators.contains(by.toString());
+    }
+
+    /**
+     * Attempt to heal a findElements call that failed or came back empty.
+     *
+     * <p>The whole list is healed with one snapshot and one LLM call: the LLM lists the
+     * members in the decision's collection indices, and a locator they all match is built
+     * from them. The locator is only used, and cached, when it finds exactly those members
+     * on the page. There is no fallback to the single healed element: a list that cannot be
+     * healed as a whole is left as the original call returned it.</p>
+     *
+     * @param driver the WebDriver instance
+     * @param by the original locator
+     * @param originalException the exception thrown, or one describing the empty result
+     * @return the healed elements, or null if healing failed
+     */
+    public static List<WebElement> healElements(WebDriver driver, By by, Throwable originalException) {
+        if (!isEnabled() || healingElements.get()) {
+            return null;
+        }
+        healingElements.set(true);
+        try {
+            return doHealElements(driver, by, originalException);
+        } finally {
+            healingElements.remove();
+        }
+    }
+
+    private static List<WebElement> doHealElements(WebDriver driver, By by, Throwable originalException) {
+        String cacheKey = ELEMENTS_KEY_PREFIX + by;
+        LocatorInfo originalLocator = byToLocatorInfo(by);
+
+        SourceLocation sourceLocation = stackTraceAnalyzer
+                .extractSourceLocationWithContext(originalException)
+                .orElse(null);
+
+        String effectiveStepText = "find elements: " + by;
+
+        FailureContext failureContext = FailureContext.builder()
+                .exceptionType(originalException.getClass().getSimpleName())
+                .exceptionMessage(originalException.getMessage())
+                .originalLocator(originalLocator)
+                .stepText(effectiveStepText)
+                .sourceLocation(sourceLocation)
+                .build();
+
+        IntentContract intent = IntentContract.builder()
+                .action("find elements")
+                .description("Find every element of the list located by " + by
+                        + "; select one member and give the index of every member in collection_indices")
+                .build();
+
+        String pageUrl = currentUrl(driver);
+        GuardrailResult triage = engine.triage(failureContext, intent, pageUrl);
+        if (triage.isRefused()) {
+            logger.debug("Not healing list {}: {}", by, triage.getReason());
+            return null;
+        }
+
+        // Reuse a collection heal published by another fork, or wait for one in progress
+        String coordinationKey = HealCoordinator.key(pageUrl, cacheKey);
+        HealCoordinator.Claim claim = coordinator.claim(coordinationKey, claimTimeout());
+        if (claim.isHit()) {
+            By sharedHealedBy = locatorInfoToBy(parseLocatorString(claim.healedLocator()));
+            List<WebElement> elements = findElementsWithoutHealing(driver, sharedHealedBy);
+            if (!elements.isEmpty()) {
+                healedLocatorCache.put(cacheKey, sharedHealedBy);
+                logger.debug("Using coordinated collection heal for: {} -> {}", by, sharedHealedBy);
+                return elements;
+            }
+            coordinator.invalidate(coordinationKey);
+            claim = coordinator.claim(coordinationKey, claimTimeout());
+        }
+        boolean ownsClaim = claim.isOwner();
+        boolean published = false;
+
+        String beforeScreenshotBase64 = captureScreenshotBase64(driver);
+
+        try {
+            UiSnapshot snapshot = snapshotBuilderFor(driver).captureAll();
+            HealResult result = engine.attemptHeal(failureContext, intent, snapshot);
+
+            if (result != null && result.isSuccess()) {
+                List<ElementSnapshot> members = collectionMembers(snapshot, result);
+                Optional<String> locator = CollectionLocatorGenerator.generate(members);
+                if (locator.isEmpty()) {
+                    logger.debug("No collection locator for {} from {} members", by, members.size());
+                    return null;
+                }
+                By healedBy = locatorInfoToBy(parseLocatorString(locator.get()));
+                List<WebElement> elements = findElementsWithoutHealing(driver, healedBy);
+                if (!matchesMembers(elements, members)) {
+                    logger.debug("Collection locator {} for {} found {} elements, not the {} members",
+                            healedBy, by, elements.size(), members.size());
+                    return null;
+                }
+                logger.info("Healed list locator: {} -> {} ({} elements)", by, healedBy, elements.size());
+
+                healedLocatorCache.put(cacheKey, healedBy);
+                if (ownsClaim) {
+                    coordinator.complete(coordinationKey, locator.get());
+                    published = true;
+                }
+
+                HealingSummary.getInstance().recordHealWithScreenshots(
+                        effectiveStepText,
+                        by.toString(),
+                        healedBy.toString(),
+                        result.getConfidence(),
+                        sourceLocation != null ? sourceLocation.getFilePath() : null,
+                        sourceLocation != null ? sourceLocation.getLineNumber() : 0,
+                        beforeScreenshotBase64,
+                        captureScreenshotBase64(driver)
+                );
+                return elements;
+            }
+
+        } catch (Exception healException) {
+            logger.warn("List healing attempt failed: {}", healException.getMessage());
+        } finally {
+            if (ownsClaim && !published) {
+                coordinator.abandon(coordinationKey);
+            }
         }
 
         return null;
     }
 
+    /**
+     * The list members the LLM gave in the decision's collection indices, or none when an
+     * index is not in the snapshot.
+     */
+    private static List<ElementSnapshot> collectionMembers(UiSnapshot snapshot, HealResult result) {
+        List<Integer> indices = result.getDecision().map(HealDecision::getCollectionIndices).orElse(List.of());
+        List<ElementSnapshot> members = new ArrayList<>();
+        for (Integer index : new LinkedHashSet<>(indices)) {
+            Optional<ElementSnapshot> member = index != null ? snapshot.getElement(index) : Optional.empty();
+            if (member.isEmpty()) {
+                return List.of();
+            }
+            members.add(member.get());
+        }
+        return members;
+    }
+
+    /**
+     * Whether the found elements are exactly the snapshot members, one for one by tag and position.
+     */
+    private static boolean matchesMembers(List<WebElement> elements, List<ElementSnapshot> members) {
+        if (members.isEmpty() || elements.size() != members.size()) {
+            return false;
+        }
+        List<String> expected = new ArrayList<>();
+        for (ElementSnapshot member : members) {
+            ElementRect rect = member.getRect();
+            if (rect == null) {
+                return false;
+            }
+            expected.add(member.getTagName().toLowerCase() + "@" + rect.getX() + "," + rect.getY()
+                    + "," + rect.getWidth() + "," + rect.getHeight());
+        }
+        try {
+            for (WebElement element : elements) {
+                Rectangle rect = element.getRect();
+                if (!expected.remove(element.getTagName().toLowerCase() + "@" + rect.x + "," + rect.y
+                        + "," + rect.width + "," + rect.height)) {
+                    return false;
+                }
+            }
+        } catch (WebDriverException e) {
+            return false;
+        }
+        return expected.isEmpty();
+    }
+
+    /**
+     * Run findElements with this thread's list healing suspended, so a heal's own lookups
+     * are neither healed nor remembered as populated.
+     */
+    private static List<WebElement> findElementsWithoutHealing(WebDriver driver, By by) {
+        boolean wasHealing = healingElements.get();
+        healingElements.set(true);
+        try {
+            return driver.findElements(by);
+        } catch (WebDriverException e) {
+            return List.of();
+        } finally {
+            healingElements.set(wasHealing);
+        }
+    }
+
+    private static SnapshotBuilder snapshotBuilderFor(WebDriver driver) {
+        SnapshotBuilder snapshotBuilder = driverSnapshots.get(driver);
+        if (snapshotBuilder == null) {
+            // Driver wasn't registered, create a snapshot builder on-the-fly
+            snapshotBuilder = new SnapshotBuilder(driver);
+            driverSnapshots.put(driver, snapshotBuilder);
+        }
+        return snapshotBuilder;
+    }
+
+    /**
+     * Create the speculative healer, with heal history kept between runs.
+     * Returns null if the history store cannot be opened.
+     */
+    private static SpeculativeHealer createSpeculativeHealer() {
+        try {
+            StateStore store = StateStore.open(Path.of(config.getSpeculative().getHistoryDir()));
+            RegressionPredictor predictor = new RegressionPredictor();
+            predictor.setStateStore(store);
+            SpeculativeHealer healer = new SpeculativeHealer(engine, predictor, config.getSpeculative());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                healer.close();
+                store.close();
+            }, "intent-healer-speculative-shutdown"));
+            logger.info("Speculative healing enabled, history in {}", store.getDirectory());
+            return healer;
+        } catch (Exception e) {
+            logger.warn("Speculative healing disabled, could not open heal history: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The driver's current page URL, or null if it cannot be read.
+     */
+    private static String currentUrl(WebDriver driver) {
+        try {
+            return driver.getCurrentUrl();
+        } catch (WebDriverException e) {
+            logger.debug("Could not read current URL: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Duration claimTimeout() {
+        return Duration.ofSeconds(config.getCoordinator().getClaimTimeoutSeconds());
+    }
+
+    /**
+     * Run an LLM call inside the LLM concurrency budget shared with other forks.
+     * When no slot frees up in time the call proceeds anyway rather than failing the heal.
+     */
+    private static <T> T withLlmPermit(Supplier<T> call) {
+        boolean granted = coordinator.acquireLlmPermit(claimTimeout());
+        if (!granted) {
+            logger.debug("No LLM slot free within {}s, calling without one", claimTimeout().toSeconds());
+        }
+        try {
+            return call.get();
+        } finally {
+            if (granted) {
+                coordinator.releaseLlmPermit();
+            }
+        }
+    }
+
     /**
      * Wire the healing engine with snapshot capture and LLM evaluation functions.
      */
@@ -261,11 +708,21 @@ public class AutoConfigurator {
             return null;
         });
 
-        // Set LLM evaluator function
-        engine.setLlmEvaluator((failure, snapshot) -> {
-            IntentContract intent = IntentContract.defaultContract(failure.getStepText());
-            return llmOrchestrator.evaluateCandidates(failure, snapshot, intent, config.getLlm());
-        });
+        // Set LLM evaluator function, with the intent of the heal (a list heal asks for its members)
+        // and a deadline counted from the failure, so older heals go first when providers are busy
+        engine.setLlmEvaluator((FailureContext failure, UiSnapshot snapshot, IntentContract intent) ->
+                withLlmPermit(() -> llmOrchestrator.evaluateCandidates(failure, snapshot, intent, config.getLlm(),
+                        LlmOrchestrator.deadlineFor(failure, config.getLlm()))));
+
+        // Set batched LLM evaluator for page-level heals of several failures
+        engine.setBatchLlmEvaluator(request -> withLlmPermit(() ->
+                llmOrchestrator.evaluateCandidatesBatch(request, config.getLlm(),
+                        LlmOrchestrator.deadlineFor(request, config.getLlm()))));
+
+        // Drop cached LLM answers whose heals were rejected, so they are not replayed
+        engine.setRejectedDecisionHandler((FailureContext failure, UiSnapshot snapshot, IntentContract intent) ->
+                llmOrchestrator.evictCachedDecision(failure, snapshot, intent, config.getLlm()));
+        engine.setRejectedBatchHandler(request -> llmOrchestrator.evictCachedBatch(request, config.getLlm()));
     }
 
     /**
@@ -115,6 +115,9 @@ public class HealerAgent {
             final HealingSummary healingSummary = HealingSummary.getInstance();
             final HealingReportGenerator reportGenerator;
             HealerConfig cfg = AutoConfigurator.getConfig();
+            if (cfg != null && cfg.getReport() != null) {
+                healingSummary.setMaxInMemory(cfg.getReport().getSummaryMemoryCap());
+            }
             if (cfg != null && cfg.getReport() != null && cfg.getReport().isEnabled()) {
                 reportGenerator = new HealingReportGenerator(cfg.getReport());
             } else {
@@ -187,9 +190,17 @@ public class HealerAgent {
                                 // Intercept constructors to register drivers
                                 .visit(Advice.to(WebDriverConstructorAdvice.class)
                                         .on(ElementMatchers.isConstructor()))
+                                // Intercept navigation to pre-heal at-risk locators
+                                .visit(Advice.to(WebDriverNavigationAdvice.class)
+                                        .on(ElementMatchers.named("get")
+                                                .and(ElementMatchers.takesArguments(String.class))))
                                 // Intercept findElement to add healing
                                 .visit(Advice.to(WebDriverInterceptor.class)
                                         .on(ElementMatchers.named("findElement")
+                                                .and(ElementMatchers.takesArgument(0, org.openqa.selenium.By.class))))
+                                // Intercept findElements to heal failed and emptied lists
+                                .visit(Advice.to(WebDriverFindElementsAdvice.class)
+                                        .on(ElementMatchers.named("findElements")
                                                 .and(ElementMatchers.takesArgument(0, org.openqa.selenium.By.class))));
                     }
                 })
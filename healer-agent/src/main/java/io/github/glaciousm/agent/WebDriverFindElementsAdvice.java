@@ -0,0 +1,99 @@
+package io.github.glaciousm.agent;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * ByteBuddy advice for intercepting WebDriver.findElements() calls.
+ *
+ * <p>findElements does not throw when nothing matches; it waits out the implicit wait and
+ * returns an empty list, and the test fails later on an index or assertion. This advice
+ * heals a findElements call that throws NoSuchElementException, and, with
+ * {@code guardrails.heal_empty_lists}, one that returns an empty list for a locator that
+ * returned elements earlier in the run.</p>
+ *
+ * <p>Once a list is healed, later calls with the same locator go straight to the healed
+ * locator and skip the original call, so the implicit wait is not paid again.</p>
+ */
+public class WebDriverFindElementsAdvice {
+
+    /**
+     * Called before findElements. Skips the original call when a healed locator finds the elements.
+     *
+     * @param driver the WebDriver instance
+     * @param by the locator being looked up
+     * @return the elements found with a cached healed locator, or null to run the original call
+     */
+    @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+    public static List<WebElement> onFindElementsEnter(
+            @Advice.This WebDriver driver,
+            @Advice.Argument(0) By by) {
+        try {
+            return AutoConfigurator.findWithHealedLocator(driver, by);
+        } catch (Throwable t) {
+            // Fall back to the original call
+            return null;
+        }
+    }
+
+    /**
+     * Called when findElements returns or throws.
+     * Heals the lookup if it threw, or if it came back empty for a locator that used to match.
+     *
+     * @param driver the WebDriver instance
+     * @param by the locator that was looked up
+     * @param healed the elements returned by the enter advice, if the original call was skipped
+     * @param returned the elements found
+     * @param thrown the exception that was thrown
+     */
+    @Advice.OnMethodExit(onThrowable = Throwable.class)
+    public static void onFindElementsExit(
+            @Advice.This WebDriver driver,
+            @Advice.Argument(0) By by,
+            @Advice.Enter List<WebElement> healed,
+            @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) List<WebElement> returned,
+            @Advice.Thrown(readOnly = false, typing = Assigner.Typing.DYNAMIC) Throwable thrown) {
+
+        if (healed != null) {
+            returned = healed;
+            return;
+        }
+
+        try {
+            if (thrown != null) {
+                if (!(thrown instanceof NoSuchElementException) || !AutoConfigurator.isEnabled()) {
+                    return;
+                }
+                List<WebElement> healedElements = AutoConfigurator.healElements(driver, by, thrown);
+                if (healedElements != null) {
+                    // Suppress the exception and return the healed elements
+                    thrown = null;
+                    returned = healedElements;
+                }
+                return;
+            }
+
+            if (returned == null) {
+                return;
+            }
+            if (!returned.isEmpty()) {
+                AutoConfigurator.onElementsFound(by);
+            } else if (AutoConfigurator.shouldHealEmptyList(by)) {
+                List<WebElement> healedElements = AutoConfigurator.healElements(driver, by,
+                        new NoSuchElementException("findElements returned no elements for " + by
+                                + ", which matched elements earlier in this run"));
+                if (healedElements != null) {
+                    returned = healedElements;
+                }
+            }
+        } catch (Throwable healError) {
+            // Healing failed, return what the original call returned
+        }
+    }
+}
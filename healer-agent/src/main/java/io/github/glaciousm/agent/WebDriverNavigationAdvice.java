@@ -0,0 +1,31 @@
+package io.github.glaciousm.agent;
+
+import net.bytebuddy.asm.Advice;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * ByteBuddy advice for intercepting WebDriver navigation.
+ *
+ * <p>This advice runs after {@code get(String)} loads a page, letting the
+ * AutoConfigurator pre-heal at-risk locators on it in the background.</p>
+ */
+public class WebDriverNavigationAdvice {
+
+    /**
+     * Called after WebDriver.get completes.
+     *
+     * @param driver the WebDriver instance
+     * @param thrown the exception thrown by navigation, if any
+     */
+    @Advice.OnMethodExit(onThrowable = Throwable.class)
+    public static void onGetExit(@Advice.This WebDriver driver, @Advice.Thrown Throwable thrown) {
+        if (thrown != null) {
+            return;
+        }
+        try {
+            AutoConfigurator.onPageLoaded(driver);
+        } catch (Throwable t) {
+            // Speculative healing is best effort and must never break navigation
+        }
+    }
+}
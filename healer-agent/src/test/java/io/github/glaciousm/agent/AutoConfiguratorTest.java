@@ -1,14 +1,44 @@
 package io.github.glaciousm.agent;
 
+import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.engine.HealingSummary;
+import io.github.glaciousm.core.model.ElementRect;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.HealDecision;
+import io.github.glaciousm.core.model.HealOutcome;
+import io.github.glaciousm.core.model.HealResult;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.IntentContract;
 import io.github.glaciousm.core.model.LocatorInfo;
+import io.github.glaciousm.core.model.OutcomeResult;
+import io.github.glaciousm.core.model.UiSnapshot;
+import io.github.glaciousm.llm.LlmOrchestrator;
+import io.github.glaciousm.llm.LlmProvider;
+import io.github.glaciousm.llm.PromptBuilder;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 /**
  * Unit tests for AutoConfigurator.
@@ -289,6 +319,200 @@ class AutoConfiguratorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Collection heals")
+    class CollectionHealTests {
+
+        private final ElementSnapshot first = member(0, 100);
+        private final ElementSnapshot second = member(1, 140);
+        private final UiSnapshot snapshot = UiSnapshot.builder()
+                .url("https://example.com/cart")
+                .interactiveElements(List.of(first, second, member(2, 180)))
+                .build();
+
+        @Test
+        @DisplayName("should take the members from the collection indices, not the alternatives")
+        void membersFromCollectionIndices() throws Exception {
+            HealDecision decision = HealDecision.builder()
+                    .canHeal(true).confidence(0.9).selectedElementIndex(0)
+                    .alternativeIndices(List.of(2))
+                    .collectionIndices(List.of(0, 1))
+                    .build();
+
+            assertThat(invokeCollectionMembers(snapshot, healed(decision))).containsExactly(first, second);
+        }
+
+        @Test
+        @DisplayName("should have no members without collection indices or with an unknown index")
+        void noMembers() throws Exception {
+            HealDecision alternativesOnly = HealDecision.builder()
+                    .canHeal(true).confidence(0.9).selectedElementIndex(0).alternativeIndices(List.of(1, 2))
+                    .build();
+            HealDecision unknownIndex = HealDecision.builder()
+                    .canHeal(true).confidence(0.9).selectedElementIndex(0).collectionIndices(List.of(0, 7))
+                    .build();
+
+            assertThat(invokeCollectionMembers(snapshot, healed(alternativesOnly))).isEmpty();
+            assertThat(invokeCollectionMembers(snapshot, healed(unknownIndex))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should accept a locator only when it finds exactly the members")
+        void matchesExactlyTheMembers() throws Exception {
+            List<ElementSnapshot> members = List.of(first, second);
+
+            assertThat(invokeMatchesMembers(List.of(found(140), found(100)), members)).isTrue();
+            assertThat(invokeMatchesMembers(List.of(found(100), found(140), found(180)), members))
+                    .as("a locator matching more than the list").isFalse();
+            assertThat(invokeMatchesMembers(List.of(found(100), found(180)), members))
+                    .as("a locator matching another element").isFalse();
+            assertThat(invokeMatchesMembers(List.of(), List.of())).isFalse();
+        }
+
+        private ElementSnapshot member(int index, int y) {
+            return ElementSnapshot.builder().index(index).tagName("li").classes(List.of("cart-item"))
+                    .rect(new ElementRect(20, y, 300, 32)).visible(true).build();
+        }
+
+        private WebElement found(int y) {
+            WebElement element = mock(WebElement.class);
+            when(element.getTagName()).thenReturn("li");
+            when(element.getRect()).thenReturn(new Rectangle(20, y, 32, 300));
+            return element;
+        }
+
+        private HealResult healed(HealDecision decision) {
+            return HealResult.builder().outcome(HealOutcome.SUCCESS).decision(decision)
+                    .healedElementIndex(0).healedLocator("css=li.cart-item").build();
+        }
+    }
+
+    @Nested
+    @DisplayName("List heals through the engine")
+    class ListHealTests {
+
+        private final ListProvider provider = new ListProvider();
+
+        @AfterEach
+        void tearDown() {
+            HealerConfig disabled = new HealerConfig();
+            disabled.setEnabled(false);
+            AutoConfigurator.configure(disabled, new LlmOrchestrator());
+            HealingSummary.getInstance().clear();
+        }
+
+        @Test
+        @DisplayName("should ask the LLM for the list members and heal with a locator matching exactly them")
+        void healsListWithCollectionIndices() {
+            HealerConfig config = new HealerConfig();
+            config.getLlm().setProvider("list-test");
+            LlmOrchestrator orchestrator = new LlmOrchestrator();
+            orchestrator.registerProvider("list-test", provider);
+            AutoConfigurator.configure(config, orchestrator);
+
+            List<WebElement> cartItems = List.of(pageElement("li", "cart-item", 100), pageElement("li", "cart-item", 140));
+            WebDriver driver = driver(List.of(cartItems.get(0), cartItems.get(1), pageElement("button", "checkout", 200)));
+            when(driver.findElements(By.cssSelector("li.cart-item"))).thenReturn(cartItems);
+
+            By broken = By.cssSelector("li.basket-row");
+            List<WebElement> healed = AutoConfigurator.healElements(driver, broken,
+                    new NoSuchElementException("no such element: " + broken));
+
+            assertThat(provider.intent.getDescription()).contains("collection_indices");
+            assertThat(provider.prompt)
+                    .contains("give the index of every member in collection_indices")
+                    .contains("\"collection_indices\"");
+            assertThat(healed).containsExactlyElementsOf(cartItems);
+        }
+
+        @Test
+        @DisplayName("should give up rather than fall back to the single healed element")
+        void givesUpWithoutCollectionIndices() {
+            HealerConfig config = new HealerConfig();
+            config.getLlm().setProvider("list-test");
+            LlmOrchestrator orchestrator = new LlmOrchestrator();
+            provider.collectionIndices = List.of();
+            orchestrator.registerProvider("list-test", provider);
+            AutoConfigurator.configure(config, orchestrator);
+
+            WebDriver driver = driver(List.of(pageElement("li", "cart-item", 100), pageElement("li", "cart-item", 140)));
+
+            By broken = By.cssSelector("li.order-row");
+            assertThat(AutoConfigurator.healElements(driver, broken,
+                    new NoSuchElementException("no such element: " + broken))).isNull();
+        }
+
+        private WebDriver driver(List<WebElement> pageElements) {
+            WebDriver driver = mock(WebDriver.class, withSettings()
+                    .extraInterfaces(JavascriptExecutor.class, TakesScreenshot.class));
+            when(driver.getCurrentUrl()).thenReturn("https://example.com/cart");
+            when(driver.getTitle()).thenReturn("Cart");
+            when(((JavascriptExecutor) driver).executeScript(anyString())).thenAnswer(invocation -> {
+                String script = invocation.getArgument(0);
+                if (script.contains("document.querySelectorAll")) {
+                    return pageElements;
+                }
+                return script.contains("document.documentElement.lang") ? "en" : null;
+            });
+            when(((JavascriptExecutor) driver).executeScript(anyString(), any())).thenAnswer(invocation -> {
+                String script = invocation.getArgument(0);
+                if (script.contains("labels")) {
+                    return new ArrayList<String>();
+                }
+                if (script.contains("data-")) {
+                    return Map.of();
+                }
+                return script.contains("parentElement") ? "body" : null;
+            });
+            return driver;
+        }
+
+        private WebElement pageElement(String tag, String className, int y) {
+            WebElement element = mock(WebElement.class);
+            when(element.getTagName()).thenReturn(tag);
+            when(element.getAttribute("class")).thenReturn(className);
+            when(element.getText()).thenReturn(className);
+            when(element.isDisplayed()).thenReturn(true);
+            when(element.isEnabled()).thenReturn(true);
+            when(element.getRect()).thenReturn(new Rectangle(20, y, 32, 300));
+            return element;
+        }
+    }
+
+    /**
+     * Provider that answers from the prompt it would send, listing the first two elements as the list.
+     */
+    private static final class ListProvider implements LlmProvider {
+        private IntentContract intent;
+        private String prompt;
+        private List<Integer> collectionIndices = List.of(0, 1);
+
+        @Override
+        public HealDecision evaluateCandidates(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                               LlmConfig config) {
+            this.intent = intent;
+            this.prompt = new PromptBuilder().buildHealingPrompt(failure, snapshot, intent);
+            return HealDecision.builder().canHeal(true).confidence(0.95).selectedElementIndex(0)
+                    .reasoning("The cart rows were renamed").collectionIndices(collectionIndices).build();
+        }
+
+        @Override
+        public OutcomeResult validateOutcome(String expectedOutcome, UiSnapshot before, UiSnapshot after,
+                                             LlmConfig config) {
+            return OutcomeResult.passed("ok", 1.0);
+        }
+
+        @Override
+        public String getProviderName() {
+            return "list-test";
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+    }
+
     // Helper methods to invoke private static methods via reflection
 
     private LocatorInfo invokeByToLocatorInfo(By by) throws Exception {
@@ -308,4 +532,17 @@ class AutoConfiguratorTest {
         method.setAccessible(true);
         return (By) method.invoke(null, locator);
     }
+
+    @SuppressWarnings("unchecked")
+    private List<ElementSnapshot> invokeCollectionMembers(UiSnapshot snapshot, HealResult result) throws Exception {
+        Method method = AutoConfigurator.class.getDeclaredMethod("collectionMembers", UiSnapshot.class, HealResult.class);
+        method.setAccessible(true);
+        return (List<ElementSnapshot>) method.invoke(null, snapshot, result);
+    }
+
+    private boolean invokeMatchesMembers(List<WebElement> elements, List<ElementSnapshot> members) throws Exception {
+        Method method = AutoConfigurator.class.getDeclaredMethod("matchesMembers", List.class, List.class);
+        method.setAccessible(true);
+        return (boolean) method.invoke(null, elements, members);
+    }
 }
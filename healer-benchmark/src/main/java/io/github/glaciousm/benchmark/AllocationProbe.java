@@ -0,0 +1,139 @@
+/*
+ * Intent Healer - Self-Healing Test Automation
+ * Copyright (C) 2025 Menelaos Mamouzellos
+ *
+ * This program is dual-licensed under AGPL-3.0 and Commercial License.
+ * See LICENSE and LICENSE-COMMERCIAL.md for details.
+ */
+package io.github.glaciousm.benchmark;
+
+import io.github.glaciousm.benchmark.synthetic.SyntheticPageGenerator;
+import io.github.glaciousm.benchmark.synthetic.TargetElement;
+import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.core.snapshot.StreamingHtmlSnapshotParser;
+import io.github.glaciousm.core.util.JsonUtils;
+import io.github.glaciousm.llm.PromptBuilder;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the memory cost of the snapshot side of a heal on a generated page: parsing the
+ * page, building the healing prompt and writing the snapshot as JSON for the report.
+ *
+ * <p>Reports bytes allocated and GC time per heal, and the heap a parsed snapshot keeps alive.
+ * Allocation is read from the HotSpot thread MX bean, so it needs a HotSpot-based JVM.</p>
+ */
+public class AllocationProbe {
+
+    private static final int RETAINED_SNAPSHOTS = 20;
+
+    private final StreamingHtmlSnapshotParser parser = new StreamingHtmlSnapshotParser();
+    private final PromptBuilder promptBuilder = new PromptBuilder();
+
+    /**
+     * Memory cost of heals on one page size.
+     *
+     * @param elements         interactive elements on the page
+     * @param allocatedPerHeal bytes allocated per heal
+     * @param gcMillisPerHeal  GC time per heal, in milliseconds
+     * @param gcCountPerHeal   collections per heal
+     * @param retainedPerSnapshot heap kept alive by one parsed snapshot, in bytes
+     */
+    public record Result(int elements, long allocatedPerHeal, double gcMillisPerHeal,
+                         double gcCountPerHeal, long retainedPerSnapshot) {
+    }
+
+    /**
+     * Run heals on a generated page of each size.
+     *
+     * @param iterations measured heals per size, after as many warm-up heals
+     */
+    public List<Result> measure(List<Integer> sizes, long seed, int iterations) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            String html = new SyntheticPageGenerator(seed).generate(size, TargetElement.original());
+            for (int i = 0; i < iterations; i++) {
+                heal(html);
+            }
+
+            long gcTime = gcMillis();
+            long gcCount = gcCount();
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < iterations; i++) {
+                heal(html);
+            }
+            allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+            results.add(new Result(size, allocated / iterations,
+                (double) (gcMillis() - gcTime) / iterations,
+                (double) (gcCount() - gcCount) / iterations,
+                retained(html)));
+        }
+        return results;
+    }
+
+    /**
+     * Print the results as a table.
+     */
+    public static void print(List<Result> results) {
+        System.out.println();
+        System.out.printf("%10s %16s %12s %12s %18s%n",
+            "Elements", "Alloc/heal KB", "GC ms/heal", "GCs/heal", "Retained/snap KB");
+        for (Result r : results) {
+            System.out.printf("%10d %16d %12.2f %12.2f %18d%n", r.elements(), r.allocatedPerHeal() / 1024,
+                r.gcMillisPerHeal(), r.gcCountPerHeal(), r.retainedPerSnapshot() / 1024);
+        }
+    }
+
+    private void heal(String html) {
+        UiSnapshot snapshot = parser.parse(html, "https://shop.example.com/checkout");
+        FailureContext failure = FailureContext.builder()
+            .stepText("I click the place order button")
+            .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "place-order"))
+            .actionType(ActionType.CLICK)
+            .exceptionType("NoSuchElementException")
+            .build();
+        String prompt = promptBuilder.buildHealingPrompt(failure, snapshot,
+            IntentContract.defaultContract("I click the place order button"));
+        String json = JsonUtils.toJson(snapshot);
+        if (prompt.isEmpty() || json.isEmpty()) {
+            throw new IllegalStateException("Nothing generated");
+        }
+    }
+
+    private long retained(String html) {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        List<UiSnapshot> kept = new ArrayList<>(RETAINED_SNAPSHOTS);
+        for (int i = 0; i < RETAINED_SNAPSHOTS; i++) {
+            kept.add(parser.parse(html, "https://shop.example.com/checkout"));
+        }
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        long perSnapshot = (after - before) / kept.size();
+        kept.clear();
+        return Math.max(0, perSnapshot);
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+}
@@ -10,15 +10,24 @@ package io.github.glaciousm.benchmark;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 
 /**
  * Holds the result of a single benchmark scenario execution.
  */
 public class BenchmarkResult {
 
+    /** HTML parsing into a UiSnapshot. */
+    public static final String PHASE_PARSE = "htmlParse";
+    /** Building the healing prompt. */
+    public static final String PHASE_PROMPT = "promptBuild";
+    /** The LLM call, including the provider's own response parsing. */
+    public static final String PHASE_LLM = "llm";
+    /** Post-LLM guardrails and decision evaluation. */
+    public static final String PHASE_EVALUATE = "evaluate";
+
     private final String scenarioId;
     private final String scenarioName;
     private final String category;
@@ -35,6 +44,13 @@ public class BenchmarkResult {
     private final String llmProvider;
     private final String llmModel;
     private final double costUsd;
+    private final int trial;
+    private final Duration parseTime;
+    private final Duration promptBuildTime;
+    private final Duration llmTime;
+    private final Duration evaluationTime;
+    private final int promptTokens;
+    private final int completionTokens;
 
     private BenchmarkResult(Builder builder) {
         this.scenarioId = builder.scenarioId;
@@ -53,6 +69,13 @@ public class BenchmarkResult {
         this.llmProvider = builder.llmProvider;
         this.llmModel = builder.llmModel;
         this.costUsd = builder.costUsd;
+        this.trial = builder.trial;
+        this.parseTime = builder.parseTime;
+        this.promptBuildTime = builder.promptBuildTime;
+        this.llmTime = builder.llmTime;
+        this.evaluationTime = builder.evaluationTime;
+        this.promptTokens = builder.promptTokens;
+        this.completionTokens = builder.completionTokens;
     }
 
     // Getters
@@ -72,6 +95,32 @@ public class BenchmarkResult {
     public String getLlmProvider() { return llmProvider; }
     public String getLlmModel() { return llmModel; }
     public double getCostUsd() { return costUsd; }
+    public int getTrial() { return trial; }
+    public Duration getParseTime() { return parseTime; }
+    public Duration getPromptBuildTime() { return promptBuildTime; }
+    public Duration getLlmTime() { return llmTime; }
+    public Duration getEvaluationTime() { return evaluationTime; }
+    public int getPromptTokens() { return promptTokens; }
+    public int getCompletionTokens() { return completionTokens; }
+
+    /**
+     * Time spent in each phase of the scenario, in execution order. Phases the scenario
+     * did not reach are omitted.
+     */
+    public Map<String, Duration> getPhaseTimes() {
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        putIfPresent(phases, PHASE_PARSE, parseTime);
+        putIfPresent(phases, PHASE_PROMPT, promptBuildTime);
+        putIfPresent(phases, PHASE_LLM, llmTime);
+        putIfPresent(phases, PHASE_EVALUATE, evaluationTime);
+        return phases;
+    }
+
+    private static void putIfPresent(Map<String, Duration> phases, String phase, Duration time) {
+        if (time != null) {
+            phases.put(phase, time);
+        }
+    }
 
     /**
      * Expected outcome for a benchmark scenario.
@@ -126,6 +175,13 @@ public class BenchmarkResult {
         private String llmProvider;
         private String llmModel;
         private double costUsd;
+        private int trial = 1;
+        private Duration parseTime;
+        private Duration promptBuildTime;
+        private Duration llmTime;
+        private Duration evaluationTime;
+        private int promptTokens;
+        private int completionTokens;
 
         public Builder scenarioId(String scenarioId) {
             this.scenarioId = scenarioId;
@@ -207,6 +263,41 @@ public class BenchmarkResult {
             return this;
         }
 
+        public Builder trial(int trial) {
+            this.trial = trial;
+            return this;
+        }
+
+        public Builder parseTime(Duration parseTime) {
+            this.parseTime = parseTime;
+            return this;
+        }
+
+        public Builder promptBuildTime(Duration promptBuildTime) {
+            this.promptBuildTime = promptBuildTime;
+            return this;
+        }
+
+        public Builder llmTime(Duration llmTime) {
+            this.llmTime = llmTime;
+            return this;
+        }
+
+        public Builder evaluationTime(Duration evaluationTime) {
+            this.evaluationTime = evaluationTime;
+            return this;
+        }
+
+        public Builder promptTokens(int promptTokens) {
+            this.promptTokens = promptTokens;
+            return this;
+        }
+
+        public Builder completionTokens(int completionTokens) {
+            this.completionTokens = completionTokens;
+            return this;
+        }
+
         public BenchmarkResult build() {
             return new BenchmarkResult(this);
         }
@@ -233,12 +324,16 @@ public class BenchmarkResult {
         private final String llmModel;
         private final Instant runTimestamp;
         private final Map<String, CategoryStats> categoryStats;
+        private final Map<String, Percentiles> phaseLatencies;
+        private final Percentiles promptTokens;
+        private final Percentiles completionTokens;
+        private final Map<String, ScenarioStats> scenarioStats;
 
         public BenchmarkSummary(List<BenchmarkResult> results, String llmProvider, String llmModel) {
             this.llmProvider = llmProvider;
             this.llmModel = llmModel;
             this.runTimestamp = Instant.now();
-            this.categoryStats = new HashMap<>();
+            this.categoryStats = new LinkedHashMap<>();
 
             this.totalScenarios = results.size();
             this.passed = (int) results.stream().filter(BenchmarkResult::isPassed).count();
@@ -279,11 +374,40 @@ public class BenchmarkResult {
             this.p90Latency = percentile(latencies, 90);
             this.p99Latency = percentile(latencies, 99);
 
+            // Per-phase latency percentiles, in microseconds since parsing is sub-millisecond
+            this.phaseLatencies = new LinkedHashMap<>();
+            for (String phase : List.of(PHASE_PARSE, PHASE_PROMPT, PHASE_LLM, PHASE_EVALUATE)) {
+                List<Long> micros = results.stream()
+                    .map(r -> r.getPhaseTimes().get(phase))
+                    .filter(java.util.Objects::nonNull)
+                    .map(d -> d.toNanos() / 1_000)
+                    .toList();
+                if (!micros.isEmpty()) {
+                    phaseLatencies.put(phase, Percentiles.of(micros));
+                }
+            }
+
+            this.promptTokens = Percentiles.of(results.stream()
+                .filter(r -> r.getPromptTokens() > 0)
+                .map(r -> (long) r.getPromptTokens())
+                .toList());
+            this.completionTokens = Percentiles.of(results.stream()
+                .filter(r -> r.getCompletionTokens() > 0)
+                .map(r -> (long) r.getCompletionTokens())
+                .toList());
+
+            this.scenarioStats = new LinkedHashMap<>();
+            results.stream()
+                .collect(java.util.stream.Collectors.groupingBy(BenchmarkResult::getScenarioId,
+                    LinkedHashMap::new, java.util.stream.Collectors.toList()))
+                .forEach((id, scenarioResults) -> scenarioStats.put(id, new ScenarioStats(scenarioResults)));
+
             this.totalCostUsd = results.stream().mapToDouble(BenchmarkResult::getCostUsd).sum();
 
             // Calculate per-category stats
             results.stream()
-                .collect(java.util.stream.Collectors.groupingBy(BenchmarkResult::getCategory))
+                .collect(java.util.stream.Collectors.groupingBy(BenchmarkResult::getCategory,
+                    LinkedHashMap::new, java.util.stream.Collectors.toList()))
                 .forEach((category, categoryResults) -> {
                     categoryStats.put(category, new CategoryStats(categoryResults));
                 });
@@ -313,6 +437,17 @@ public class BenchmarkResult {
         public String getLlmModel() { return llmModel; }
         public Instant getRunTimestamp() { return runTimestamp; }
         public Map<String, CategoryStats> getCategoryStats() { return categoryStats; }
+        public Map<String, Percentiles> getPhaseLatencies() { return phaseLatencies; }
+        public Percentiles getPromptTokens() { return promptTokens; }
+        public Percentiles getCompletionTokens() { return completionTokens; }
+        public Map<String, ScenarioStats> getScenarioStats() { return scenarioStats; }
+
+        /**
+         * Number of measured trials per scenario (the largest trial number seen).
+         */
+        public int getTrialsPerScenario() {
+            return scenarioStats.values().stream().mapToInt(ScenarioStats::getTrials).max().orElse(0);
+        }
 
         public double getHealSuccessRate() {
             return healsAttempted > 0 ? (double) healsCorrect / healsAttempted * 100 : 0;
@@ -343,18 +478,85 @@ public class BenchmarkResult {
         private final int total;
         private final int passed;
         private final int failed;
+        private final Percentiles latencyMillis;
 
         public CategoryStats(List<BenchmarkResult> results) {
             this.total = results.size();
             this.passed = (int) results.stream().filter(BenchmarkResult::isPassed).count();
             this.failed = total - passed;
+            this.latencyMillis = Percentiles.of(results.stream()
+                .filter(r -> r.getLatency() != null)
+                .map(r -> r.getLatency().toMillis())
+                .toList());
         }
 
         public int getTotal() { return total; }
         public int getPassed() { return passed; }
         public int getFailed() { return failed; }
+        public Percentiles getLatencyMillis() { return latencyMillis; }
         public double getPassRate() {
             return total > 0 ? (double) passed / total * 100 : 0;
         }
     }
+
+    /**
+     * Statistics for all measured trials of one scenario.
+     */
+    public static class ScenarioStats {
+        private final String scenarioName;
+        private final int trials;
+        private final int passed;
+        private final Percentiles latencyMillis;
+
+        public ScenarioStats(List<BenchmarkResult> results) {
+            this.scenarioName = results.isEmpty() ? null : results.get(0).getScenarioName();
+            this.trials = results.size();
+            this.passed = (int) results.stream().filter(BenchmarkResult::isPassed).count();
+            this.latencyMillis = Percentiles.of(results.stream()
+                .filter(r -> r.getLatency() != null)
+                .map(r -> r.getLatency().toMillis())
+                .toList());
+        }
+
+        public String getScenarioName() { return scenarioName; }
+        public int getTrials() { return trials; }
+        public int getPassed() { return passed; }
+        public Percentiles getLatencyMillis() { return latencyMillis; }
+
+        /**
+         * Share of trials that passed; below 100 means the scenario is flaky for this model.
+         */
+        public double getPassRate() {
+            return trials > 0 ? (double) passed / trials * 100 : 0;
+        }
+    }
+
+    /**
+     * Percentiles of a set of measurements, in the unit they were recorded in.
+     *
+     * @param count number of measurements
+     * @param p50   median
+     * @param p90   90th percentile
+     * @param p99   99th percentile
+     * @param max   largest measurement
+     * @param mean  arithmetic mean
+     */
+    public record Percentiles(int count, long p50, long p90, long p99, long max, double mean) {
+
+        public static Percentiles of(List<Long> values) {
+            if (values.isEmpty()) {
+                return new Percentiles(0, 0, 0, 0, 0, 0);
+            }
+            List<Long> sorted = values.stream().sorted().toList();
+            return new Percentiles(sorted.size(),
+                at(sorted, 50), at(sorted, 90), at(sorted, 99),
+                sorted.get(sorted.size() - 1),
+                sorted.stream().mapToLong(Long::longValue).average().orElse(0));
+        }
+
+        private static long at(List<Long> sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index));
+        }
+    }
 }
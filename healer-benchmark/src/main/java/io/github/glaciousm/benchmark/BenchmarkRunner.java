@@ -10,6 +10,9 @@ package io.github.glaciousm.benchmark;
 import io.github.glaciousm.benchmark.reporters.JsonReporter;
 import io.github.glaciousm.benchmark.reporters.MarkdownReporter;
 import io.github.glaciousm.benchmark.scenarios.*;
+import io.github.glaciousm.benchmark.synthetic.SyntheticPageGenerator;
+import io.github.glaciousm.benchmark.synthetic.SyntheticPageScenario;
+import io.github.glaciousm.benchmark.synthetic.TargetElement;
 import io.github.glaciousm.core.config.ConfigLoader;
 import io.github.glaciousm.core.config.HealerConfig;
 import io.github.glaciousm.core.config.LlmConfig;
@@ -18,11 +21,18 @@ import io.github.glaciousm.core.model.HealPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Main runner for executing all benchmark scenarios.
@@ -30,6 +40,7 @@ import java.util.List;
  * Usage:
  *   mvn exec:java -pl healer-benchmark
  *   mvn exec:java -pl healer-benchmark -Dexec.args="--provider mock --output ./results"
+ *   mvn exec:java -pl healer-benchmark -Dexec.args="--concurrency 8 --trials 5 --warmup 1"
  */
 public class BenchmarkRunner {
 
@@ -38,17 +49,40 @@ public class BenchmarkRunner {
     private final HealerConfig config;
     private final List<BenchmarkScenario> scenarios;
     private final Path outputDir;
+    private final int concurrency;
+    private final int trials;
+    private final int warmup;
 
     public BenchmarkRunner(HealerConfig config, Path outputDir) {
+        this(config, outputDir, 1, 1, 0);
+    }
+
+    /**
+     * @param concurrency scenarios executed at the same time
+     * @param trials      measured runs of each scenario
+     * @param warmup      runs of each scenario before measuring, excluded from the results
+     */
+    public BenchmarkRunner(HealerConfig config, Path outputDir, int concurrency, int trials, int warmup) {
+        this(config, outputDir, loadAllScenarios(), concurrency, trials, warmup);
+    }
+
+    /**
+     * Run a custom set of scenarios instead of the built-in ones.
+     */
+    public BenchmarkRunner(HealerConfig config, Path outputDir, List<BenchmarkScenario> scenarios,
+                           int concurrency, int trials, int warmup) {
         this.config = config;
-        this.scenarios = loadAllScenarios();
+        this.scenarios = List.copyOf(scenarios);
         this.outputDir = outputDir;
+        this.concurrency = Math.max(1, concurrency);
+        this.trials = Math.max(1, trials);
+        this.warmup = Math.max(0, warmup);
     }
 
     /**
      * Load all benchmark scenarios.
      */
-    private List<BenchmarkScenario> loadAllScenarios() {
+    private static List<BenchmarkScenario> loadAllScenarios() {
         List<BenchmarkScenario> all = new ArrayList<>();
 
         // Locator change scenarios (1-10)
@@ -110,27 +144,7 @@ public class BenchmarkRunner {
         String model = config.getLlm() != null ? config.getLlm().getModel() : "heuristic";
         logger.info("LLM Provider: {}, Model: {}", provider, model);
 
-        List<BenchmarkResult> results = new ArrayList<>();
-
-        for (BenchmarkScenario scenario : scenarios) {
-            try {
-                BenchmarkResult result = scenario.execute(config);
-                results.add(result);
-                logResult(result);
-            } catch (Exception e) {
-                logger.error("Error executing scenario {}: {}",
-                    scenario.getId(), e.getMessage(), e);
-                results.add(BenchmarkResult.builder()
-                    .scenarioId(scenario.getId())
-                    .scenarioName(scenario.getName())
-                    .category(scenario.getCategory())
-                    .expectedOutcome(scenario.getExpectedOutcome())
-                    .actualOutcome(BenchmarkResult.ActualOutcome.ERROR)
-                    .errorMessage(e.getMessage())
-                    .passed(false)
-                    .build());
-            }
-        }
+        List<BenchmarkResult> results = execute(scenarios);
 
         // Generate summary
         BenchmarkResult.BenchmarkSummary summary = new BenchmarkResult.BenchmarkSummary(
@@ -155,12 +169,7 @@ public class BenchmarkRunner {
 
         logger.info("Running {} scenarios in category: {}", filtered.size(), category);
 
-        List<BenchmarkResult> results = new ArrayList<>();
-        for (BenchmarkScenario scenario : filtered) {
-            BenchmarkResult result = scenario.execute(config);
-            results.add(result);
-            logResult(result);
-        }
+        List<BenchmarkResult> results = execute(filtered);
 
         String provider = config.getLlm() != null ? config.getLlm().getProvider() : "mock";
         String model = config.getLlm() != null ? config.getLlm().getModel() : "heuristic";
@@ -186,11 +195,89 @@ public class BenchmarkRunner {
         return scenario.execute(config);
     }
 
+    /**
+     * Run the warmup rounds, then every measured trial of the given scenarios on a pool of
+     * {@code concurrency} threads. Results are returned in scenario order, then trial order,
+     * whatever order they complete in.
+     */
+    private List<BenchmarkResult> execute(List<BenchmarkScenario> selected) {
+        logger.info("Running {} scenarios: {} trial(s) each after {} warmup round(s), concurrency {}",
+            selected.size(), trials, warmup, concurrency);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "benchmark-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int round = 1; round <= warmup; round++) {
+                logger.info("Warmup round {}/{}", round, warmup);
+                List<Future<BenchmarkResult>> warmupRuns = new ArrayList<>();
+                for (BenchmarkScenario scenario : selected) {
+                    warmupRuns.add(executor.submit(() -> runTrial(scenario, 0)));
+                }
+                for (Future<BenchmarkResult> run : warmupRuns) {
+                    await(run);
+                }
+            }
+
+            List<Future<BenchmarkResult>> measured = new ArrayList<>();
+            for (BenchmarkScenario scenario : selected) {
+                for (int trial = 1; trial <= trials; trial++) {
+                    int trialNumber = trial;
+                    measured.add(executor.submit(() -> runTrial(scenario, trialNumber)));
+                }
+            }
+
+            List<BenchmarkResult> results = new ArrayList<>(measured.size());
+            for (Future<BenchmarkResult> run : measured) {
+                BenchmarkResult result = await(run);
+                results.add(result);
+                logResult(result);
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BenchmarkResult runTrial(BenchmarkScenario scenario, int trial) {
+        try {
+            return scenario.execute(config, trial);
+        } catch (Exception e) {
+            logger.error("Error executing scenario {}: {}",
+                scenario.getId(), e.getMessage(), e);
+            return BenchmarkResult.builder()
+                .scenarioId(scenario.getId())
+                .scenarioName(scenario.getName())
+                .category(scenario.getCategory())
+                .expectedOutcome(scenario.getExpectedOutcome())
+                .actualOutcome(BenchmarkResult.ActualOutcome.ERROR)
+                .errorMessage(e.getMessage())
+                .passed(false)
+                .trial(trial)
+                .build();
+        }
+    }
+
+    private static BenchmarkResult await(Future<BenchmarkResult> run) {
+        try {
+            return run.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark run interrupted", e);
+        } catch (ExecutionException e) {
+            // runTrial turns scenario failures into results, so this is unexpected
+            throw new IllegalStateException("Benchmark worker failed", e.getCause());
+        }
+    }
+
     private void logResult(BenchmarkResult result) {
         String status = result.isPassed() ? "PASS" : "FAIL";
-        logger.info("[{}] Scenario {}: {} - {} ({})",
+        logger.info("[{}] Scenario {}: {} - {} ({}){}",
             status, result.getScenarioId(), result.getScenarioName(),
-            result.getActualOutcome(), formatConfidence(result.getConfidence()));
+            result.getActualOutcome(), formatConfidence(result.getConfidence()),
+            trials > 1 ? " trial " + result.getTrial() : "");
     }
 
     private String formatConfidence(double confidence) {
@@ -243,6 +330,13 @@ public class BenchmarkRunner {
             summary.getP50Latency().toMillis(),
             summary.getP90Latency().toMillis(),
             summary.getP99Latency().toMillis());
+        BenchmarkResult.Percentiles llm = summary.getPhaseLatencies().get(BenchmarkResult.PHASE_LLM);
+        if (llm != null) {
+            System.out.printf("║  LLM Call - P50: %5dms  │  P90: %5dms  │  P99: %5dms                   ║%n",
+                llm.p50() / 1000, llm.p90() / 1000, llm.p99() / 1000);
+        }
+        System.out.printf("║  Est. tokens/call - prompt P50: %6d  │  completion P50: %6d           ║%n",
+            summary.getPromptTokens().p50(), summary.getCompletionTokens().p50());
         System.out.println("╚════════════════════════════════════════════════════════════════════════════╝");
         System.out.println();
         System.out.println("Badges for README:");
@@ -257,6 +351,17 @@ public class BenchmarkRunner {
         String provider = System.getProperty("healer.provider", "mock");
         String model = System.getProperty("healer.model", "heuristic");
         String outputPath = System.getProperty("healer.output", "./target/benchmark-results");
+        String cacheDir = System.getProperty("healer.cacheDir");
+        int concurrency = Integer.getInteger("healer.concurrency", 1);
+        int trials = Integer.getInteger("healer.trials", 1);
+        int warmup = Integer.getInteger("healer.warmup", 0);
+        String scale = System.getProperty("healer.scale");
+        long seed = Long.getLong("healer.seed", 42L);
+        String parser = System.getProperty("healer.parser", "jsoup");
+        boolean compareParsers = Boolean.getBoolean("healer.compareParsers");
+        boolean compareValidators = Boolean.getBoolean("healer.compareValidators");
+        boolean measureAllocation = Boolean.getBoolean("healer.measureAllocation");
+        String compareImages = null;
 
         // Parse command line args
         for (int i = 0; i < args.length; i++) {
@@ -264,6 +369,17 @@ public class BenchmarkRunner {
                 case "--provider", "-p" -> provider = args[++i];
                 case "--model", "-m" -> model = args[++i];
                 case "--output", "-o" -> outputPath = args[++i];
+                case "--cache-dir" -> cacheDir = args[++i];
+                case "--concurrency", "-c" -> concurrency = Integer.parseInt(args[++i]);
+                case "--trials", "-t" -> trials = Integer.parseInt(args[++i]);
+                case "--warmup", "-w" -> warmup = Integer.parseInt(args[++i]);
+                case "--scale" -> scale = args[++i];
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--parser" -> parser = args[++i];
+                case "--compare-parsers" -> compareParsers = true;
+                case "--compare-validators" -> compareValidators = true;
+                case "--compare-images" -> compareImages = args[++i];
+                case "--measure-allocation" -> measureAllocation = true;
                 case "--help", "-h" -> {
                     printHelp();
                     return;
@@ -271,6 +387,34 @@ public class BenchmarkRunner {
             }
         }
 
+        if (compareParsers) {
+            System.exit(compareParsers(scale != null ? scale : "2000,5000,20000", seed) ? 0 : 1);
+        }
+        if (measureAllocation) {
+            List<Integer> sizes = Arrays.stream((scale != null ? scale : "2000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+            AllocationProbe.print(new AllocationProbe().measure(sizes, seed, trials > 1 ? trials : 50));
+            System.exit(0);
+        }
+        if (compareValidators) {
+            List<OutcomeValidationComparison.Case> cases = new OutcomeValidationComparison().compare(loadAllScenarios());
+            OutcomeValidationComparison.print(cases);
+            System.exit(cases.stream().noneMatch(OutcomeValidationComparison.Case::wrong) ? 0 : 1);
+        }
+        if (compareImages != null) {
+            try {
+                ImagePipelineComparison.print(new ImagePipelineComparison()
+                    .compare(Paths.get(compareImages), new LlmConfig.VisionConfig()));
+                System.exit(0);
+            } catch (IOException e) {
+                logger.error("Could not read capture journal {}: {}", compareImages, e.getMessage());
+                System.exit(1);
+            }
+        }
+        BenchmarkScenario.useStreamingParser("streaming".equalsIgnoreCase(parser));
+
         // Load base config if available, then override with CLI args
         HealerConfig config;
         try {
@@ -291,14 +435,55 @@ public class BenchmarkRunner {
         // Ensure guardrails are configured for benchmarking
         configureBenchmarkGuardrails(config);
 
+        // Replay LLM responses from earlier runs so results are reproducible
+        if (cacheDir != null) {
+            config.getLlm().getResponseCache().setEnabled(true);
+            config.getLlm().getResponseCache().setDirectory(cacheDir);
+            logger.info("LLM response cache enabled in {}", cacheDir);
+        }
+
         // Run benchmarks
-        BenchmarkRunner runner = new BenchmarkRunner(config, Paths.get(outputPath));
+        BenchmarkRunner runner;
+        if (scale != null) {
+            List<Integer> sizes = Arrays.stream(scale.split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+            logger.info("Running synthetic scenarios for page sizes {} (seed {})", sizes, seed);
+            runner = new BenchmarkRunner(config, Paths.get(outputPath),
+                SyntheticPageScenario.forSizes(sizes, seed), concurrency, trials, warmup);
+        } else {
+            runner = new BenchmarkRunner(config, Paths.get(outputPath), concurrency, trials, warmup);
+        }
         BenchmarkResult.BenchmarkSummary summary = runner.runAll();
 
         // Exit with appropriate code
         System.exit(summary.getFailed() > 0 ? 1 : 0);
     }
 
+    /**
+     * Compare the streaming and Jsoup parsers on every scenario page and on generated pages
+     * of the given sizes.
+     *
+     * @return whether both parsers extracted the same elements from every page
+     */
+    private static boolean compareParsers(String sizes, long seed) {
+        Map<String, String> pages = new LinkedHashMap<>();
+        for (BenchmarkScenario scenario : loadAllScenarios()) {
+            pages.put(scenario.getId() + " " + scenario.getName() + " (before)", scenario.getBeforeHtml());
+            pages.put(scenario.getId() + " " + scenario.getName() + " (after)", scenario.getAfterHtml());
+        }
+        SyntheticPageGenerator generator = new SyntheticPageGenerator(seed);
+        for (String size : sizes.split(",")) {
+            int elements = Integer.parseInt(size.trim());
+            pages.put("Synthetic " + elements + " elements", generator.generate(elements, TargetElement.original()));
+        }
+
+        List<ParserComparison.Result> results = new ParserComparison().compare(pages, 5);
+        ParserComparison.print(results);
+        return results.stream().allMatch(ParserComparison.Result::matches);
+    }
+
     /**
      * Configure benchmark-specific guardrails.
      * This ensures guardrails are set even when loading from config file.
@@ -353,11 +538,24 @@ public class BenchmarkRunner {
         System.out.println("  --provider, -p <name>   LLM provider (mock, ollama, openai, anthropic)");
         System.out.println("  --model, -m <name>      LLM model name");
         System.out.println("  --output, -o <path>     Output directory for reports");
+        System.out.println("  --cache-dir <path>      Cache LLM responses here and replay them on later runs");
+        System.out.println("  --concurrency, -c <n>   Scenarios to run at the same time (default: 1)");
+        System.out.println("  --trials, -t <n>        Measured runs of each scenario (default: 1)");
+        System.out.println("  --warmup, -w <n>        Unmeasured runs of each scenario first (default: 0)");
+        System.out.println("  --scale <sizes>         Run generated pages of these sizes instead, e.g. 2000,5000,20000");
+        System.out.println("  --seed <n>              Seed for generated pages (default: 42)");
+        System.out.println("  --parser <name>         HTML parser for scenario pages: jsoup or streaming (default: jsoup)");
+        System.out.println("  --compare-parsers       Compare both parsers for parity and speed instead of benchmarking");
+        System.out.println("  --compare-validators    Measure local outcome validation on scenario pages instead of benchmarking");
+        System.out.println("  --compare-images <file> Measure vision screenshot optimization on a heal capture journal");
+        System.out.println("  --measure-allocation    Measure memory allocated per heal on generated pages (default size: 2000)");
         System.out.println("  --help, -h              Show this help message");
         System.out.println();
         System.out.println("Examples:");
         System.out.println("  mvn exec:java -pl healer-benchmark");
         System.out.println("  mvn exec:java -pl healer-benchmark -Dexec.args=\"--provider ollama --model llama3.1\"");
         System.out.println("  mvn exec:java -pl healer-benchmark -Dexec.args=\"--provider openai --model gpt-4o-mini\"");
+        System.out.println("  mvn exec:java -pl healer-benchmark -Dexec.args=\"-p openai -c 8 -t 5 -w 1\"");
+        System.out.println("  mvn exec:java -pl healer-benchmark -Dexec.args=\"--scale 2000,5000,20000 -t 3\"");
     }
 }
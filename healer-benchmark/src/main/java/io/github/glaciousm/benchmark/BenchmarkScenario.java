@@ -15,7 +15,9 @@ import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.engine.guardrails.GuardrailChecker;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.core.snapshot.StreamingHtmlSnapshotParser;
 import io.github.glaciousm.llm.LlmOrchestrator;
+import io.github.glaciousm.llm.PromptBuilder;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +36,18 @@ public abstract class BenchmarkScenario {
 
     private static final LlmOrchestrator orchestrator = new LlmOrchestrator();
     private static final HtmlSnapshotParser htmlParser = new HtmlSnapshotParser();
+    private static final StreamingHtmlSnapshotParser streamingParser = new StreamingHtmlSnapshotParser();
+    private static volatile boolean useStreamingParser;
+
+    /** Tokens of JSON structure around the reasoning in a healing response. */
+    private static final int RESPONSE_ENVELOPE_TOKENS = 40;
+
+    /**
+     * Parse scenario pages with the streaming parser instead of Jsoup.
+     */
+    public static void useStreamingParser(boolean streaming) {
+        useStreamingParser = streaming;
+    }
 
     /**
      * Unique identifier for this scenario (e.g., "01", "02", etc.)
@@ -102,7 +116,18 @@ public abstract class BenchmarkScenario {
      * @return The benchmark result
      */
     public BenchmarkResult execute(HealerConfig config) {
-        logger.info("Executing scenario {}: {}", getId(), getName());
+        return execute(config, 1);
+    }
+
+    /**
+     * Execute one trial of this benchmark scenario, timing each phase separately.
+     *
+     * @param config The healer configuration
+     * @param trial  The trial number, starting at 1
+     * @return The benchmark result
+     */
+    public BenchmarkResult execute(HealerConfig config, int trial) {
+        logger.info("Executing scenario {}: {} (trial {})", getId(), getName(), trial);
 
         Instant startTime = Instant.now();
         String provider = config.getLlm() != null ? config.getLlm().getProvider() : "mock";
@@ -115,12 +140,17 @@ public abstract class BenchmarkScenario {
             .expectedOutcome(getExpectedOutcome())
             .originalLocator(getOriginalLocator().toString())
             .llmProvider(provider)
-            .llmModel(model);
+            .llmModel(model)
+            .trial(trial);
 
         try {
             // Parse the "after" HTML into a UiSnapshot
             String afterHtml = getAfterHtml();
-            UiSnapshot snapshot = htmlParser.parse(afterHtml, getPageUrl());
+            long phaseStart = System.nanoTime();
+            UiSnapshot snapshot = useStreamingParser
+                ? streamingParser.parse(afterHtml, getPageUrl())
+                : htmlParser.parse(afterHtml, getPageUrl());
+            resultBuilder.parseTime(Duration.ofNanos(System.nanoTime() - phaseStart));
 
             // Create failure context
             FailureContext failure = createFailureContext();
@@ -154,11 +184,26 @@ public abstract class BenchmarkScenario {
                 llmConfig = createDefaultLlmConfig();
             }
 
+            // Providers build the same prompt internally; building it here measures that
+            // cost on its own and gives the size the token estimate is based on
+            PromptBuilder promptBuilder = orchestrator.getPromptBuilder();
+            phaseStart = System.nanoTime();
+            String prompt = promptBuilder.buildHealingPrompt(failure, snapshot, intent);
+            resultBuilder
+                .promptBuildTime(Duration.ofNanos(System.nanoTime() - phaseStart))
+                .promptTokens(estimateTokens(promptBuilder.buildSystemPrompt())
+                    + estimateTokens(prompt));
+
+            phaseStart = System.nanoTime();
             HealDecision decision = orchestrator.evaluateCandidates(
                 failure, snapshot, intent, llmConfig);
+            resultBuilder
+                .llmTime(Duration.ofNanos(System.nanoTime() - phaseStart))
+                .completionTokens(estimateTokens(decision.getReasoning()) + RESPONSE_ENVELOPE_TOKENS);
 
             Duration latency = Duration.between(startTime, Instant.now());
             resultBuilder.latency(latency);
+            phaseStart = System.nanoTime();
 
             // POST-LLM GUARDRAILS
             if (decision.canHeal() && decision.getSelectedElementIndex() != null) {
@@ -173,7 +218,8 @@ public abstract class BenchmarkScenario {
                             .actualOutcome(outcome)
                             .passed(passed)
                             .confidence(decision.getConfidence())
-                            .reasoning("Guardrail: " + postCheck.getReason());
+                            .reasoning("Guardrail: " + postCheck.getReason())
+                            .evaluationTime(Duration.ofNanos(System.nanoTime() - phaseStart));
                         return resultBuilder.build();
                     }
                 }
@@ -189,7 +235,8 @@ public abstract class BenchmarkScenario {
                 .confidence(decision.getConfidence())
                 .reasoning(decision.getReasoning())
                 .healedLocator(decision.getSelectedElementIndex() != null ?
-                    formatHealedLocator(decision.getSelectedElementIndex()) : null);
+                    formatHealedLocator(decision.getSelectedElementIndex()) : null)
+                .evaluationTime(Duration.ofNanos(System.nanoTime() - phaseStart));
 
             logger.info("Scenario {} {}: expected={}, actual={}, confidence={:.0f}%",
                 getId(), passed ? "PASSED" : "FAILED", getExpectedOutcome(),
@@ -204,6 +251,14 @@ public abstract class BenchmarkScenario {
         return resultBuilder.build();
     }
 
+    /**
+     * Estimate the token count of a text at roughly four characters per token. Providers
+     * do not report usage to the orchestrator, so token statistics are estimates.
+     */
+    static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + 3) / 4;
+    }
+
     /**
      * Create intent contract for this scenario.
      * Subclasses can override to provide specific intent metadata.
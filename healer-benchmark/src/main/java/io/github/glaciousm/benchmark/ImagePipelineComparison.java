@@ -0,0 +1,104 @@
+/*
+ * Intent Healer - Self-Healing Test Automation
+ * Copyright (C) 2025 Menelaos Mamouzellos
+ *
+ * This program is dual-licensed under AGPL-3.0 and Commercial License.
+ * See LICENSE and LICENSE-COMMERCIAL.md for details.
+ */
+package io.github.glaciousm.benchmark;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.engine.replay.HealCapture;
+import io.github.glaciousm.core.engine.replay.HealJournal;
+import io.github.glaciousm.llm.vision.PreparedImage;
+import io.github.glaciousm.llm.vision.VisionImagePipeline;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the screenshots sent with vision prompts before and after the image pipeline,
+ * on the screenshots recorded in a heal capture journal.
+ *
+ * <p>The journal only keeps screenshots when {@code report.include_screenshots} is on (the default);
+ * captures without one are skipped.</p>
+ */
+public class ImagePipelineComparison {
+
+    /**
+     * One recorded screenshot.
+     *
+     * @param capture       capture id and step text
+     * @param originalBytes base64 length of the captured PNG
+     * @param preparedBytes base64 length of the image the pipeline produced
+     * @param tokens        estimated image tokens of the prepared image
+     * @param cropped       whether the image was cropped to the candidates
+     * @param prepareNanos  time to decode, crop, scale and encode
+     * @param cachedNanos   time to prepare the same screenshot again
+     */
+    public record Result(String capture, long originalBytes, long preparedBytes, int tokens, boolean cropped,
+                         long prepareNanos, long cachedNanos) {
+
+        public double ratio() {
+            return originalBytes == 0 ? 1.0 : (double) preparedBytes / originalBytes;
+        }
+    }
+
+    /**
+     * Run every screenshot in the journal through a fresh pipeline with the given settings.
+     */
+    public List<Result> compare(Path journal, LlmConfig.VisionConfig config) throws IOException {
+        List<Result> results = new ArrayList<>();
+        HealJournal.forEach(journal, capture -> {
+            String screenshot = capture.getSnapshot().getScreenshotBase64().orElse(null);
+            if (screenshot == null || screenshot.isEmpty()) {
+                return;
+            }
+            results.add(measure(capture, screenshot, config));
+        });
+        return results;
+    }
+
+    private Result measure(HealCapture capture, String screenshot, LlmConfig.VisionConfig config) {
+        VisionImagePipeline pipeline = new VisionImagePipeline();
+        long start = System.nanoTime();
+        PreparedImage prepared = pipeline.prepare(capture.getSnapshot(), capture.getFailure(),
+            capture.toReplayIntent(), config).orElseThrow();
+        long prepareNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        pipeline.prepare(capture.getSnapshot(), capture.getFailure(), capture.toReplayIntent(), config);
+        long cachedNanos = System.nanoTime() - start;
+
+        String name = capture.getId() + " " + capture.getFailure().getStepText();
+        return new Result(name, screenshot.length(), prepared.base64().length(), prepared.estimatedTokens(),
+            prepared.cropped(), prepareNanos, cachedNanos);
+    }
+
+    /**
+     * Print a row per screenshot and the totals to the console.
+     */
+    public static void print(List<Result> results) {
+        System.out.println();
+        if (results.isEmpty()) {
+            System.out.println("No screenshots in the journal; record with report.include_screenshots: true");
+            return;
+        }
+        System.out.printf("%-40s %12s %12s %7s %7s %8s %10s %10s%n",
+            "Capture", "Original KB", "Prepared KB", "Ratio", "Tokens", "Cropped", "Prepare ms", "Cached ms");
+        for (Result r : results) {
+            System.out.printf("%-40s %12.1f %12.1f %6.1f%% %7d %8s %10.1f %10.3f%n",
+                r.capture().length() > 40 ? r.capture().substring(0, 37) + "..." : r.capture(),
+                r.originalBytes() / 1024.0, r.preparedBytes() / 1024.0, 100 * r.ratio(), r.tokens(),
+                r.cropped() ? "yes" : "no", r.prepareNanos() / 1e6, r.cachedNanos() / 1e6);
+        }
+        long original = results.stream().mapToLong(Result::originalBytes).sum();
+        long prepared = results.stream().mapToLong(Result::preparedBytes).sum();
+        double meanPrepare = results.stream().mapToLong(Result::prepareNanos).average().orElse(0) / 1e6;
+        System.out.println();
+        System.out.printf("%d screenshots: %.1f KB sent instead of %.1f KB (%.1f%%), %.1f ms to prepare on average%n",
+            results.size(), prepared / 1024.0, original / 1024.0, 100.0 * prepared / original, meanPrepare);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Intent Healer - Self-Healing Test Automation
+ * Copyright (C) 2025 Menelaos Mamouzellos
+ *
+ * This program is dual-licensed under AGPL-3.0 and Commercial License.
+ * See LICENSE and LICENSE-COMMERCIAL.md for details.
+ */
+package io.github.glaciousm.benchmark;
+
+import io.github.glaciousm.core.engine.validation.SnapshotDiffValidator;
+import io.github.glaciousm.core.engine.validation.SnapshotDiffValidator.Verdict;
+import io.github.glaciousm.core.model.UiSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the local snapshot-diff outcome validator on the benchmark scenario pages:
+ * how many validations it decides without the LLM, and whether those decisions are right.
+ *
+ * <p>Scenarios describe a page before and after a UI change, not before and after an action,
+ * so each scenario's healed page is turned into labelled post-action pages: a navigation to the
+ * expected page, an error banner, an error page, and no change at all. The last one has no
+ * right answer from the page alone and should be left to the LLM.</p>
+ */
+public class OutcomeValidationComparison {
+
+    private static final String ERROR_BANNER =
+        // data-testid keeps the banner in the parsed snapshot, as the alert query does in a browser
+        "<div role=\"alert\" class=\"alert alert-danger\" data-testid=\"form-error\">"
+            + "Error: the request could not be completed</div>";
+
+    private final HtmlSnapshotParser parser = new HtmlSnapshotParser();
+    private final SnapshotDiffValidator validator = new SnapshotDiffValidator();
+
+    /**
+     * One labelled validation.
+     *
+     * @param scenario scenario name
+     * @param action   the simulated result of the action
+     * @param expected the right verdict, or null when only the LLM can tell
+     * @param actual   the local validator's result
+     */
+    public record Case(String scenario, String action, Verdict expected, SnapshotDiffValidator.Result actual) {
+
+        public boolean decided() {
+            return actual.isDecided();
+        }
+
+        public boolean wrong() {
+            return decided() && actual.verdict() != expected;
+        }
+    }
+
+    /**
+     * Run the local validator on labelled post-action pages of every scenario.
+     */
+    public List<Case> compare(List<BenchmarkScenario> scenarios) {
+        List<Case> cases = new ArrayList<>();
+        for (BenchmarkScenario scenario : scenarios) {
+            String name = scenario.getId() + " " + scenario.getName();
+            String url = scenario.getPageUrl();
+            String html = scenario.getAfterHtml();
+            UiSnapshot page = parser.parse(html, url);
+
+            UiSnapshot confirmation = parser.parse(
+                "<html><head><title>Done</title></head><body><h1>Thank you</h1>"
+                    + "<a href=\"/\">Continue</a></body></html>", url + "/done");
+            cases.add(new Case(name, "navigated", Verdict.PASSED, validator.validate(page, confirmation,
+                Map.of(SnapshotDiffValidator.EXPECTED_NAVIGATION, "/done"))));
+
+            UiSnapshot withBanner = parser.parse(html.replace("</body>", ERROR_BANNER + "</body>"), url);
+            cases.add(new Case(name, "error banner", Verdict.FAILED, validator.validate(page, withBanner, Map.of())));
+
+            UiSnapshot errorPage = parser.parse(
+                "<html><head><title>Internal Server Error</title></head><body>Something went wrong</body></html>",
+                url.replaceFirst("(https?://[^/]+).*", "$1/error/500"));
+            cases.add(new Case(name, "error page", Verdict.FAILED, validator.validate(page, errorPage, Map.of())));
+
+            cases.add(new Case(name, "no change", null, validator.validate(page, parser.parse(html, url), Map.of())));
+        }
+        return cases;
+    }
+
+    /**
+     * Print wrong decisions and the totals to the console.
+     */
+    public static void print(List<Case> cases) {
+        System.out.println();
+        for (Case c : cases) {
+            if (c.wrong() || (c.expected() != null && !c.decided())) {
+                System.out.printf("%-40s %-14s expected %-9s got %-9s %s%n",
+                    c.scenario().length() > 40 ? c.scenario().substring(0, 37) + "..." : c.scenario(),
+                    c.action(), c.expected() != null ? c.expected() : "LLM", c.actual().verdict(),
+                    String.join("; ", c.actual().reasons()));
+            }
+        }
+        long decided = cases.stream().filter(Case::decided).count();
+        long wrong = cases.stream().filter(Case::wrong).count();
+        long labelled = cases.stream().filter(c -> c.expected() != null).count();
+        System.out.println();
+        System.out.printf("%d validations, %d decided locally (%.0f%% of LLM calls saved)%n",
+            cases.size(), decided, cases.isEmpty() ? 0 : 100.0 * decided / cases.size());
+        System.out.printf("%d of %d local decisions correct; %d of %d clear outcomes left to the LLM%n",
+            decided - wrong, decided,
+            labelled - cases.stream().filter(c -> c.expected() != null && c.decided()).count(), labelled);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Intent Healer - Self-Healing Test Automation
+ * Copyright (C) 2025 Menelaos Mamouzellos
+ *
+ * This program is dual-licensed under AGPL-3.0 and Commercial License.
+ * See LICENSE and LICENSE-COMMERCIAL.md for details.
+ */
+package io.github.glaciousm.benchmark;
+
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.UiSnapshot;
+import io.github.glaciousm.core.snapshot.StreamingHtmlSnapshotParser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Compares the streaming parser with the Jsoup parser on the same pages: whether they
+ * extract the same elements, and how long each takes.
+ *
+ * <p>Containers are not compared, since only the streaming parser resolves them.</p>
+ */
+public class ParserComparison {
+
+    private static final int MAX_REPORTED_DIFFERENCES = 5;
+
+    private final HtmlSnapshotParser jsoupParser = new HtmlSnapshotParser();
+    private final StreamingHtmlSnapshotParser streamingParser = new StreamingHtmlSnapshotParser();
+
+    /**
+     * Comparison of one page.
+     *
+     * @param page              page name
+     * @param htmlChars         page size in characters
+     * @param jsoupElements     elements the Jsoup parser extracted
+     * @param streamingElements elements the streaming parser extracted
+     * @param differences       elements that differ, with the first few described
+     * @param jsoupTime         median Jsoup parse time
+     * @param streamingTime     median streaming parse time
+     */
+    public record Result(String page, int htmlChars, int jsoupElements, int streamingElements,
+                         List<String> differences, Duration jsoupTime, Duration streamingTime) {
+
+        public boolean matches() {
+            return jsoupElements == streamingElements && differences.isEmpty();
+        }
+
+        public double speedup() {
+            return streamingTime.toNanos() > 0 ? (double) jsoupTime.toNanos() / streamingTime.toNanos() : 0;
+        }
+    }
+
+    /**
+     * Compare both parsers on each page.
+     *
+     * @param pages      page name to HTML, in report order
+     * @param iterations timed runs per parser and page; the median is reported
+     */
+    public List<Result> compare(Map<String, String> pages, int iterations) {
+        List<Result> results = new ArrayList<>();
+        pages.forEach((name, html) -> {
+            UiSnapshot jsoup = jsoupParser.parse(html, "https://example.com/page");
+            UiSnapshot streaming = streamingParser.parse(html, "https://example.com/page");
+            results.add(new Result(name, html.length(),
+                jsoup.getInteractiveElements().size(), streaming.getInteractiveElements().size(),
+                differences(jsoup.getInteractiveElements(), streaming.getInteractiveElements()),
+                medianTime(html, iterations, h -> jsoupParser.parse(h, "https://example.com/page")),
+                medianTime(html, iterations, h -> streamingParser.parse(h, "https://example.com/page"))));
+        });
+        return results;
+    }
+
+    /**
+     * Print a comparison table to the console.
+     */
+    public static void print(List<Result> results) {
+        System.out.println();
+        System.out.printf("%-40s %10s %8s %8s %10s %10s %8s%n",
+            "Page", "Chars", "Jsoup", "Stream", "Jsoup ms", "Stream ms", "Speedup");
+        for (Result r : results) {
+            System.out.printf("%-40s %10d %8d %8d %10.2f %10.2f %7.1fx %s%n",
+                r.page().length() > 40 ? r.page().substring(0, 37) + "..." : r.page(),
+                r.htmlChars(), r.jsoupElements(), r.streamingElements(),
+                r.jsoupTime().toNanos() / 1_000_000.0, r.streamingTime().toNanos() / 1_000_000.0,
+                r.speedup(), r.matches() ? "" : "MISMATCH");
+            r.differences().stream().limit(MAX_REPORTED_DIFFERENCES)
+                .forEach(d -> System.out.println("    " + d));
+        }
+        long mismatched = results.stream().filter(r -> !r.matches()).count();
+        System.out.println();
+        System.out.printf("%d of %d pages extracted identically%n", results.size() - mismatched, results.size());
+    }
+
+    private static List<String> differences(List<ElementSnapshot> expected, List<ElementSnapshot> actual) {
+        List<String> differences = new ArrayList<>();
+        for (int i = 0; i < Math.max(expected.size(), actual.size()); i++) {
+            if (i >= expected.size() || i >= actual.size()) {
+                differences.add("#" + i + " only in " + (i >= actual.size() ? "Jsoup" : "streaming"));
+                continue;
+            }
+            String difference = difference(expected.get(i), actual.get(i));
+            if (difference != null) {
+                differences.add("#" + i + " <" + expected.get(i).getTagName() + "> " + difference);
+            }
+        }
+        return differences;
+    }
+
+    private static String difference(ElementSnapshot a, ElementSnapshot b) {
+        List<String> fields = new ArrayList<>();
+        check(fields, "tag", a.getTagName(), b.getTagName());
+        check(fields, "type", a.getType(), b.getType());
+        check(fields, "id", a.getId(), b.getId());
+        check(fields, "name", a.getName(), b.getName());
+        check(fields, "classes", a.getClasses(), b.getClasses());
+        check(fields, "text", a.getText(), b.getText());
+        check(fields, "value", a.getValue(), b.getValue());
+        check(fields, "placeholder", a.getPlaceholder(), b.getPlaceholder());
+        check(fields, "ariaLabel", a.getAriaLabel(), b.getAriaLabel());
+        check(fields, "ariaRole", a.getAriaRole(), b.getAriaRole());
+        check(fields, "title", a.getTitle(), b.getTitle());
+        check(fields, "visible", a.isVisible(), b.isVisible());
+        check(fields, "enabled", a.isEnabled(), b.isEnabled());
+        check(fields, "dataAttributes", a.getDataAttributes(), b.getDataAttributes());
+        check(fields, "nearbyLabels", a.getNearbyLabels(), b.getNearbyLabels());
+        return fields.isEmpty() ? null : String.join(", ", fields);
+    }
+
+    private static void check(List<String> fields, String field, Object expected, Object actual) {
+        if (!Objects.equals(expected, actual)) {
+            fields.add(field + ": '" + expected + "' vs '" + actual + "'");
+        }
+    }
+
+    private static Duration medianTime(String html, int iterations, Function<String, UiSnapshot> parser) {
+        long[] times = new long[Math.max(1, iterations)];
+        for (int i = 0; i < times.length; i++) {
+            long start = System.nanoTime();
+            parser.apply(html);
+            times[i] = System.nanoTime() - start;
+        }
+        java.util.Arrays.sort(times);
+        return Duration.ofNanos(times[times.length / 2]);
+    }
+}
@@ -51,6 +51,7 @@ public class JsonReporter {
         metadata.put("llmProvider", summary.getLlmProvider());
         metadata.put("llmModel", summary.getLlmModel());
         metadata.put("totalScenarios", summary.getTotalScenarios());
+        metadata.put("trialsPerScenario", summary.getTrialsPerScenario());
         report.put("metadata", metadata);
 
         // Summary statistics
@@ -75,6 +76,25 @@ public class JsonReporter {
         latency.put("p99Ms", summary.getP99Latency().toMillis());
         report.put("latency", latency);
 
+        // Per-phase latency, converted from microseconds
+        Map<String, Object> phases = new LinkedHashMap<>();
+        summary.getPhaseLatencies().forEach((phase, p) -> {
+            Map<String, Object> phaseStats = new LinkedHashMap<>();
+            phaseStats.put("p50Ms", round(p.p50() / 1000.0));
+            phaseStats.put("p90Ms", round(p.p90() / 1000.0));
+            phaseStats.put("p99Ms", round(p.p99() / 1000.0));
+            phaseStats.put("meanMs", round(p.mean() / 1000.0));
+            phases.put(phase, phaseStats);
+        });
+        report.put("phases", phases);
+
+        // Estimated token usage per LLM call
+        Map<String, Object> tokens = new LinkedHashMap<>();
+        tokens.put("estimated", true);
+        tokens.put("prompt", percentiles(summary.getPromptTokens()));
+        tokens.put("completion", percentiles(summary.getCompletionTokens()));
+        report.put("tokens", tokens);
+
         // Cost metrics
         Map<String, Object> cost = new LinkedHashMap<>();
         cost.put("totalUsd", round(summary.getTotalCostUsd()));
@@ -90,21 +110,42 @@ public class JsonReporter {
             catStats.put("passed", entry.getValue().getPassed());
             catStats.put("failed", entry.getValue().getFailed());
             catStats.put("passRate", round(entry.getValue().getPassRate()));
+            catStats.put("p50Ms", entry.getValue().getLatencyMillis().p50());
+            catStats.put("p90Ms", entry.getValue().getLatencyMillis().p90());
             categories.put(entry.getKey(), catStats);
         }
         report.put("categories", categories);
 
+        // Per-scenario statistics across trials
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        summary.getScenarioStats().forEach((id, scenarioStats) -> {
+            Map<String, Object> sc = new LinkedHashMap<>();
+            sc.put("name", scenarioStats.getScenarioName());
+            sc.put("trials", scenarioStats.getTrials());
+            sc.put("passed", scenarioStats.getPassed());
+            sc.put("passRate", round(scenarioStats.getPassRate()));
+            sc.put("latencyMs", percentiles(scenarioStats.getLatencyMillis()));
+            scenarios.put(id, sc);
+        });
+        report.put("scenarios", scenarios);
+
         // Individual results
         List<Map<String, Object>> resultMaps = results.stream().map(r -> {
             Map<String, Object> rm = new LinkedHashMap<>();
             rm.put("scenarioId", r.getScenarioId());
             rm.put("scenarioName", r.getScenarioName());
             rm.put("category", r.getCategory());
+            rm.put("trial", r.getTrial());
             rm.put("passed", r.isPassed());
             rm.put("expectedOutcome", r.getExpectedOutcome().name());
             rm.put("actualOutcome", r.getActualOutcome().name());
             rm.put("confidence", round(r.getConfidence()));
             rm.put("latencyMs", r.getLatency() != null ? r.getLatency().toMillis() : null);
+            Map<String, Object> phaseMs = new LinkedHashMap<>();
+            r.getPhaseTimes().forEach((phase, time) -> phaseMs.put(phase, round(time.toNanos() / 1_000_000.0)));
+            rm.put("phasesMs", phaseMs);
+            rm.put("promptTokens", r.getPromptTokens());
+            rm.put("completionTokens", r.getCompletionTokens());
             rm.put("originalLocator", r.getOriginalLocator());
             rm.put("healedLocator", r.getHealedLocator());
             rm.put("reasoning", r.getReasoning());
@@ -134,6 +175,16 @@ public class JsonReporter {
         return input.replaceAll("[^a-zA-Z0-9.-]", "_").toLowerCase();
     }
 
+    private static Map<String, Object> percentiles(BenchmarkResult.Percentiles p) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("p50", p.p50());
+        values.put("p90", p.p90());
+        values.put("p99", p.p99());
+        values.put("max", p.max());
+        values.put("mean", round(p.mean()));
+        return values;
+    }
+
     private static double round(double value) {
         return Math.round(value * 100.0) / 100.0;
     }
@@ -10,6 +10,8 @@ package io.github.glaciousm.benchmark.reporters;
 import io.github.glaciousm.benchmark.BenchmarkResult;
 import io.github.glaciousm.benchmark.BenchmarkResult.BenchmarkSummary;
 import io.github.glaciousm.benchmark.BenchmarkResult.CategoryStats;
+import io.github.glaciousm.benchmark.BenchmarkResult.Percentiles;
+import io.github.glaciousm.benchmark.BenchmarkResult.ScenarioStats;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -47,7 +49,8 @@ public class MarkdownReporter {
             .format(summary.getRunTimestamp());
         md.append("**Generated:** ").append(timestamp).append("\n");
         md.append("**LLM Provider:** ").append(summary.getLlmProvider()).append("\n");
-        md.append("**LLM Model:** ").append(summary.getLlmModel()).append("\n\n");
+        md.append("**LLM Model:** ").append(summary.getLlmModel()).append("\n");
+        md.append("**Trials per Scenario:** ").append(summary.getTrialsPerScenario()).append("\n\n");
 
         // Summary badges (can be copied to README)
         md.append("## Summary Badges\n\n");
@@ -77,6 +80,27 @@ public class MarkdownReporter {
         md.append(String.format("| P99 | %dms |\n", summary.getP99Latency().toMillis()));
         md.append("\n");
 
+        // Per-phase latency
+        if (!summary.getPhaseLatencies().isEmpty()) {
+            md.append("### By Phase\n\n");
+            md.append("| Phase | P50 | P90 | P99 | Mean |\n");
+            md.append("|-------|-----|-----|-----|------|\n");
+            summary.getPhaseLatencies().forEach((phase, p) -> md.append(String.format(
+                "| %s | %.2fms | %.2fms | %.2fms | %.2fms |\n",
+                phase, p.p50() / 1000.0, p.p90() / 1000.0, p.p99() / 1000.0, p.mean() / 1000.0)));
+            md.append("\n");
+        }
+
+        // Token usage
+        if (summary.getPromptTokens().count() > 0) {
+            md.append("## Tokens per LLM Call (estimated)\n\n");
+            md.append("| | P50 | P90 | P99 | Mean |\n");
+            md.append("|---|-----|-----|-----|------|\n");
+            appendTokenRow(md, "Prompt", summary.getPromptTokens());
+            appendTokenRow(md, "Completion", summary.getCompletionTokens());
+            md.append("\n");
+        }
+
         // Cost metrics (if applicable)
         if (summary.getTotalCostUsd() > 0) {
             md.append("## Cost\n\n");
@@ -87,19 +111,36 @@ public class MarkdownReporter {
 
         // Category breakdown
         md.append("## Results by Category\n\n");
-        md.append("| Category | Total | Passed | Failed | Pass Rate |\n");
-        md.append("|----------|-------|--------|--------|----------|\n");
+        md.append("| Category | Total | Passed | Failed | Pass Rate | P50 | P90 |\n");
+        md.append("|----------|-------|--------|--------|-----------|-----|-----|\n");
         for (Map.Entry<String, CategoryStats> entry : summary.getCategoryStats().entrySet()) {
             CategoryStats stats = entry.getValue();
             String status = stats.getPassRate() >= 90 ? "✅" :
                            (stats.getPassRate() >= 70 ? "⚠️" : "❌");
-            md.append(String.format("| %s %s | %d | %d | %d | %.1f%% |\n",
+            md.append(String.format("| %s %s | %d | %d | %d | %.1f%% | %dms | %dms |\n",
                 status, entry.getKey(),
                 stats.getTotal(), stats.getPassed(), stats.getFailed(),
-                stats.getPassRate()));
+                stats.getPassRate(),
+                stats.getLatencyMillis().p50(), stats.getLatencyMillis().p90()));
         }
         md.append("\n");
 
+        // Per-scenario stability across trials
+        if (summary.getTrialsPerScenario() > 1) {
+            md.append("## Results by Scenario\n\n");
+            md.append("| # | Scenario | Trials | Passed | Pass Rate | P50 | P90 |\n");
+            md.append("|---|----------|--------|--------|-----------|-----|-----|\n");
+            for (Map.Entry<String, ScenarioStats> entry : summary.getScenarioStats().entrySet()) {
+                ScenarioStats stats = entry.getValue();
+                md.append(String.format("| %s | %s | %d | %d | %.1f%% | %dms | %dms |\n",
+                    entry.getKey(),
+                    truncate(stats.getScenarioName(), 30),
+                    stats.getTrials(), stats.getPassed(), stats.getPassRate(),
+                    stats.getLatencyMillis().p50(), stats.getLatencyMillis().p90()));
+            }
+            md.append("\n");
+        }
+
         // Detailed results table
         md.append("## Detailed Results\n\n");
         md.append("| # | Scenario | Category | Expected | Actual | Conf | Status |\n");
@@ -198,6 +239,11 @@ public class MarkdownReporter {
             summary.getP50Latency().toMillis());
     }
 
+    private void appendTokenRow(StringBuilder md, String label, Percentiles tokens) {
+        md.append(String.format("| %s | %d | %d | %d | %.0f |\n",
+            label, tokens.p50(), tokens.p90(), tokens.p99(), tokens.mean()));
+    }
+
     private String getBadgeColor(double percentage) {
         if (percentage >= 90) return "brightgreen";
         if (percentage >= 80) return "green";
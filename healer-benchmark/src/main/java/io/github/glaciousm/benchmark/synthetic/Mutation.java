@@ -0,0 +1,100 @@
+/*
+ * Intent Healer - Self-Healing Test Automation
+ * Copyright (C) 2025 Menelaos Mamouzellos
+ *
+ * This program is dual-licensed under AGPL-3.0 and Commercial License.
+ * See LICENSE and LICENSE-COMMERCIAL.md for details.
+ */
+package io.github.glaciousm.benchmark.synthetic;
+
+import io.github.glaciousm.benchmark.BenchmarkResult.ExpectedOutcome;
+import org.openqa.selenium.By;
+
+/**
+ * Changes applied to the target element of a synthetic page, mirroring the hand-written
+ * scenarios of the same names.
+ */
+public enum Mutation {
+
+    ID_CHANGED("ID Changed", "id", ExpectedOutcome.HEAL,
+        By.id("place-order-btn"), By.id("submit-order-button")) {
+        @Override
+        TargetElement apply(TargetElement target) {
+            return target.withId("submit-order-button");
+        }
+    },
+
+    CLASS_CHANGED("Class Changed", "class", ExpectedOutcome.HEAL,
+        By.className("checkout-submit"), By.id("place-order-btn")) {
+        @Override
+        TargetElement apply(TargetElement target) {
+            return target.withClasses("btn btn-success order-confirm");
+        }
+    },
+
+    NAME_CHANGED("Name Attribute Changed", "name", ExpectedOutcome.HEAL,
+        By.name("placeOrder"), By.name("submitOrder")) {
+        @Override
+        TargetElement apply(TargetElement target) {
+            return target.withName("submitOrder");
+        }
+    },
+
+    TEST_ID_CHANGED("data-testid Changed", "testid", ExpectedOutcome.HEAL,
+        By.cssSelector("[data-testid='place-order']"), By.id("place-order-btn")) {
+        @Override
+        TargetElement apply(TargetElement target) {
+            return target.withTestId("checkout-place-order");
+        }
+    },
+
+    TEXT_CHANGED("Button Text Changed", "text", ExpectedOutcome.HEAL,
+        By.xpath("//button[text()='Place Order']"), By.id("place-order-btn")) {
+        @Override
+        TargetElement apply(TargetElement target) {
+            return target.withText("Complete Purchase");
+        }
+    },
+
+    TEXT_TRANSLATED("Text Translated", "i18n", ExpectedOutcome.HEAL,
+        By.xpath("//button[text()='Place Order']"), By.id("place-order-btn")) {
+        @Override
+        TargetElement apply(TargetElement target) {
+            return target.withText("Realizar Pedido");
+        }
+    },
+
+    ELEMENT_REMOVED("Element Removed", "removed", ExpectedOutcome.REFUSE,
+        By.id("place-order-btn"), null) {
+        @Override
+        TargetElement apply(TargetElement target) {
+            return null;
+        }
+    };
+
+    private final String displayName;
+    private final String shortName;
+    private final ExpectedOutcome expectedOutcome;
+    private final By originalLocator;
+    private final By expectedHealedLocator;
+
+    Mutation(String displayName, String shortName, ExpectedOutcome expectedOutcome,
+             By originalLocator, By expectedHealedLocator) {
+        this.displayName = displayName;
+        this.shortName = shortName;
+        this.expectedOutcome = expectedOutcome;
+        this.originalLocator = originalLocator;
+        this.expectedHealedLocator = expectedHealedLocator;
+    }
+
+    /**
+     * The target as it appears on the "after" page, or null if the mutation removes it.
+     */
+    abstract TargetElement apply(TargetElement target);
+
+    public String getDisplayName() { return displayName; }
+    public String getShortName() { return shortName; }
+    public ExpectedOutcome getExpectedOutcome() { return expectedOutcome; }
+    public By getOriginalLocator() { return originalLocator; }
+    public By getExpectedHealedLocator() { return expectedHealedLocator; }
+}
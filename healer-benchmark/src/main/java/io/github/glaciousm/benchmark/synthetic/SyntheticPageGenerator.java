@@ -0,0 +1,224 @@
+/*
+ * Intent Healer - Self-Healing Test Automation
+ * Copyright (C) 2025 Menelaos Mamouzellos
+ *
+ * This program is dual-licensed under AGPL-3.0 and Commercial License.
+ * See LICENSE and LICENSE-COMMERCIAL.md for details.
+ */
+package io.github.glaciousm.benchmark.synthetic;
+
+import java.util.Random;
+
+/**
+ * Generates large, realistic e-commerce pages for scale benchmarking.
+ *
+ * <p>A page is built from a seeded random mix of navigation, product grids, forms,
+ * data tables, custom widgets, shadow roots and flattened iframe content, nested to a
+ * random depth, until it holds the requested number of interactive elements. The same
+ * seed and size always produce the same page, so the "before" and "after" pages of a
+ * scenario differ only in the target element.</p>
+ */
+public class SyntheticPageGenerator {
+
+    private static final String[] WORDS = {
+        "Laptop", "Monitor", "Keyboard", "Headphones", "Camera", "Speaker", "Tablet", "Charger",
+        "Backpack", "Router", "Printer", "Microphone", "Webcam", "Drive", "Adapter", "Dock"
+    };
+    private static final String[] ADJECTIVES = {
+        "Pro", "Ultra", "Compact", "Wireless", "Gaming", "Studio", "Travel", "Smart"
+    };
+    private static final String[] FIELDS = {
+        "First name", "Last name", "Street", "City", "Postal code", "Phone", "Company", "Notes"
+    };
+    private static final int MAX_NESTING = 12;
+
+    private final long seed;
+
+    public SyntheticPageGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generate a page with about {@code interactiveElements} interactive elements. The target
+     * button is placed at a seeded position inside the order summary.
+     *
+     * @param interactiveElements number of interactive elements to generate
+     * @param target              the target button, or null to leave it out
+     * @return the complete HTML document
+     */
+    public String generate(int interactiveElements, TargetElement target) {
+        Random random = new Random(seed ^ interactiveElements);
+        StringBuilder body = new StringBuilder(interactiveElements * 160);
+        int targetAt = random.nextInt(Math.max(1, interactiveElements / 2)) + interactiveElements / 4;
+        boolean targetPlaced = false;
+        int count = 0;
+        int block = 0;
+
+        count += header(body, random);
+        while (count < interactiveElements) {
+            if (!targetPlaced && count >= targetAt) {
+                orderSummary(body, random, target);
+                targetPlaced = true;
+                continue;
+            }
+            int depth = random.nextInt(MAX_NESTING);
+            String closing = openWrappers(body, random, depth, block);
+            count += switch (random.nextInt(10)) {
+                case 0, 1, 2 -> productGrid(body, random, block);
+                case 3, 4 -> form(body, random, block);
+                case 5 -> table(body, random, block);
+                case 6 -> widgets(body, random);
+                case 7 -> shadowHost(body, random, block);
+                case 8 -> iframe(body, random, block);
+                default -> linkList(body, random);
+            };
+            body.append(closing).append('\n');
+            block++;
+        }
+        if (!targetPlaced) {
+            orderSummary(body, random, target);
+        }
+        body.append("<footer><a href=\"/privacy\">Privacy</a> <a href=\"/terms\">Terms</a></footer>\n");
+
+        return """
+            <!DOCTYPE html>
+            <html lang="en">
+            <head>
+                <meta charset="UTF-8">
+                <title>Checkout - MegaStore</title>
+            </head>
+            <body>
+            """ + body + """
+            </body>
+            </html>
+            """;
+    }
+
+    private int header(StringBuilder html, Random random) {
+        html.append("<header class=\"site-header\"><nav class=\"main-nav\"><ul>\n");
+        int links = 8 + random.nextInt(8);
+        for (int i = 0; i < links; i++) {
+            html.append("<li><a href=\"/c/").append(i).append("\">").append(word(random)).append("s</a></li>\n");
+        }
+        html.append("</ul></nav><input type=\"search\" name=\"q\" placeholder=\"Search products\">")
+            .append("<button class=\"btn search-btn\">Search</button></header>\n");
+        return links + 2;
+    }
+
+    private void orderSummary(StringBuilder html, Random random, TargetElement target) {
+        html.append("<section class=\"order-summary\"><h2>Order Summary</h2>\n")
+            .append("<p class=\"total\">Total: $").append(price(random)).append("</p>\n");
+        if (target != null) {
+            html.append(target.toHtml()).append('\n');
+        }
+        html.append("</section>\n");
+    }
+
+    private int productGrid(StringBuilder html, Random random, int block) {
+        int cards = 4 + random.nextInt(9);
+        html.append("<div class=\"grid products\">\n");
+        for (int i = 0; i < cards; i++) {
+            int productId = block * 100 + i;
+            html.append("<div class=\"card product\"><h3>").append(word(random)).append(' ')
+                .append(ADJECTIVES[random.nextInt(ADJECTIVES.length)]).append("</h3>")
+                .append("<span class=\"price\">$").append(price(random)).append("</span>")
+                .append("<button class=\"btn btn-secondary add-to-cart\" data-product-id=\"").append(productId)
+                .append("\">Add to Cart</button>")
+                .append("<a href=\"/p/").append(productId).append("\">Details</a></div>\n");
+        }
+        html.append("</div>\n");
+        return cards * 2;
+    }
+
+    private int form(StringBuilder html, Random random, int block) {
+        int fields = 2 + random.nextInt(5);
+        html.append("<form class=\"address-form\" id=\"form-").append(block).append("\">\n");
+        for (int i = 0; i < fields; i++) {
+            String fieldId = "f" + block + "-" + i;
+            String label = FIELDS[random.nextInt(FIELDS.length)];
+            html.append("<div class=\"form-group\"><label for=\"").append(fieldId).append("\">").append(label)
+                .append("</label><input type=\"text\" id=\"").append(fieldId).append("\" name=\"")
+                .append(fieldId).append("\" placeholder=\"").append(label).append("\"></div>\n");
+        }
+        html.append("<button type=\"button\" class=\"btn btn-link\">Save address</button></form>\n");
+        return fields * 2 + 1;
+    }
+
+    private int table(StringBuilder html, Random random, int block) {
+        int rows = 3 + random.nextInt(8);
+        html.append("<table class=\"orders\"><thead><tr><th>Select</th><th>Item</th><th>Action</th></tr></thead><tbody>\n");
+        for (int i = 0; i < rows; i++) {
+            html.append("<tr><td><input type=\"checkbox\" name=\"sel-").append(block).append('-').append(i)
+                .append("\"></td><td>").append(word(random)).append("</td><td><a href=\"/orders/")
+                .append(block).append('/').append(i).append("\">View</a></td></tr>\n");
+        }
+        html.append("</tbody></table>\n");
+        return rows * 2;
+    }
+
+    private int widgets(StringBuilder html, Random random) {
+        int chips = 3 + random.nextInt(6);
+        html.append("<div class=\"filters\">\n");
+        for (int i = 0; i < chips; i++) {
+            html.append("<div role=\"button\" tabindex=\"0\" class=\"chip\">").append(word(random)).append("</div>\n");
+        }
+        html.append("</div>\n");
+        return chips;
+    }
+
+    private int shadowHost(StringBuilder html, Random random, int block) {
+        html.append("<product-reviews data-block=\"").append(block).append("\"><template shadowroot=\"open\">\n")
+            .append("<div class=\"reviews\"><p>").append(1 + random.nextInt(500)).append(" reviews</p>")
+            .append("<button class=\"btn helpful\">Helpful</button>")
+            .append("<button class=\"btn report\">Report</button>")
+            .append("<a href=\"/reviews/").append(block).append("\">Read all</a></div>\n")
+            .append("</template></product-reviews>\n");
+        return 3;
+    }
+
+    private int iframe(StringBuilder html, Random random, int block) {
+        // Flattened as in IframeContentScenario: the healer captures iframe content after switching to it
+        html.append("<iframe title=\"Recommendations\" src=\"/embed/").append(block).append("\"></iframe>\n")
+            .append("<div class=\"iframe-content\" data-source=\"embed-").append(block).append("\">\n");
+        int links = 2 + random.nextInt(4);
+        for (int i = 0; i < links; i++) {
+            html.append("<a href=\"/p/rec-").append(block).append('-').append(i).append("\">")
+                .append(word(random)).append("</a>\n");
+        }
+        html.append("</div>\n");
+        return links;
+    }
+
+    private int linkList(StringBuilder html, Random random) {
+        int links = 3 + random.nextInt(6);
+        html.append("<ul class=\"links\">\n");
+        for (int i = 0; i < links; i++) {
+            html.append("<li><a href=\"/help/").append(random.nextInt(1000)).append("\">")
+                .append(word(random)).append(" help</a></li>\n");
+        }
+        html.append("</ul>\n");
+        return links;
+    }
+
+    /**
+     * Open {@code depth} nested layout wrappers and return the matching closing tags.
+     */
+    private String openWrappers(StringBuilder html, Random random, int depth, int block) {
+        StringBuilder closing = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            String tag = random.nextBoolean() ? "div" : "section";
+            html.append('<').append(tag).append(" class=\"layout-").append(block).append('-').append(i).append("\">");
+            closing.insert(0, "</" + tag + ">");
+        }
+        html.append('\n');
+        return closing.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String price(Random random) {
+        return String.format("%d.%02d", 5 + random.nextInt(2000), random.nextInt(100));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Intent Healer - Self-Healing Test Automation
+ * Copyright (C) 2025 Menelaos Mamouzellos
+ *
+ * This program is dual-licensed under AGPL-3.0 and Commercial License.
+ * See LICENSE and LICENSE-COMMERCIAL.md for details.
+ */
+package io.github.glaciousm.benchmark.synthetic;
+
+import io.github.glaciousm.benchmark.BenchmarkResult.ExpectedOutcome;
+import io.github.glaciousm.benchmark.BenchmarkScenario;
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mutation applied to a generated page of a given size.
+ *
+ * <p>Scenarios of the same size share a category, so the category breakdown of a run
+ * over several sizes gives accuracy and latency against page size. Pages are generated
+ * on demand rather than held, since the largest ones run to several megabytes.</p>
+ */
+public class SyntheticPageScenario extends BenchmarkScenario {
+
+    private final int interactiveElements;
+    private final Mutation mutation;
+    private final SyntheticPageGenerator generator;
+
+    public SyntheticPageScenario(int interactiveElements, Mutation mutation, long seed) {
+        this.interactiveElements = interactiveElements;
+        this.mutation = mutation;
+        this.generator = new SyntheticPageGenerator(seed);
+    }
+
+    /**
+     * Create one scenario per mutation for each page size.
+     *
+     * @param sizes number of interactive elements per page
+     * @param seed  seed for page generation
+     */
+    public static List<BenchmarkScenario> forSizes(List<Integer> sizes, long seed) {
+        List<BenchmarkScenario> scenarios = new ArrayList<>();
+        for (int size : sizes) {
+            for (Mutation mutation : Mutation.values()) {
+                scenarios.add(new SyntheticPageScenario(size, mutation, seed));
+            }
+        }
+        return scenarios;
+    }
+
+    public int getInteractiveElements() {
+        return interactiveElements;
+    }
+
+    public Mutation getMutation() {
+        return mutation;
+    }
+
+    @Override
+    public String getId() {
+        return "syn-" + interactiveElements + "-" + mutation.getShortName();
+    }
+
+    @Override
+    public String getName() {
+        return mutation.getDisplayName() + " (" + interactiveElements + " elements)";
+    }
+
+    @Override
+    public String getCategory() {
+        return String.format("Synthetic %,d elements", interactiveElements);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Place the order from the order summary of a checkout page with "
+            + interactiveElements + " interactive elements. " + mutation.getDisplayName() + ".";
+    }
+
+    @Override
+    public ExpectedOutcome getExpectedOutcome() {
+        return mutation.getExpectedOutcome();
+    }
+
+    @Override
+    public By getOriginalLocator() {
+        return mutation.getOriginalLocator();
+    }
+
+    @Override
+    public By getExpectedHealedLocator() {
+        return mutation.getExpectedHealedLocator();
+    }
+
+    @Override
+    public String getPageUrl() {
+        return "https://shop.example.com/checkout";
+    }
+
+    @Override
+    public String getBeforeHtml() {
+        return generator.generate(interactiveElements, TargetElement.original());
+    }
+
+    @Override
+    public String getAfterHtml() {
+        return generator.generate(interactiveElements, mutation.apply(TargetElement.original()));
+    }
+}
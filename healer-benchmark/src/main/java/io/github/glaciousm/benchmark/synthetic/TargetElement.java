@@ -0,0 +1,63 @@
+/*
+ * Intent Healer - Self-Healing Test Automation
+ * Copyright (C) 2025 Menelaos Mamouzellos
+ *
+ * This program is dual-licensed under AGPL-3.0 and Commercial License.
+ * See LICENSE and LICENSE-COMMERCIAL.md for details.
+ */
+package io.github.glaciousm.benchmark.synthetic;
+
+/**
+ * The button a synthetic scenario's locator points at.
+ *
+ * @param id       id attribute
+ * @param name     name attribute
+ * @param classes  class attribute
+ * @param testId   data-testid attribute
+ * @param text     button text
+ */
+public record TargetElement(String id, String name, String classes, String testId, String text) {
+
+    /**
+     * The target as it appears on the "before" page.
+     */
+    public static TargetElement original() {
+        return new TargetElement("place-order-btn", "placeOrder", "btn btn-primary checkout-submit",
+            "place-order", "Place Order");
+    }
+
+    public TargetElement withId(String id) {
+        return new TargetElement(id, name, classes, testId, text);
+    }
+
+    public TargetElement withName(String name) {
+        return new TargetElement(id, name, classes, testId, text);
+    }
+
+    public TargetElement withClasses(String classes) {
+        return new TargetElement(id, name, classes, testId, text);
+    }
+
+    public TargetElement withTestId(String testId) {
+        return new TargetElement(id, name, classes, testId, text);
+    }
+
+    public TargetElement withText(String text) {
+        return new TargetElement(id, name, classes, testId, text);
+    }
+
+    String toHtml() {
+        StringBuilder html = new StringBuilder("<button type=\"submit\"");
+        attribute(html, "id", id);
+        attribute(html, "name", name);
+        attribute(html, "class", classes);
+        attribute(html, "data-testid", testId);
+        return html.append('>').append(text).append("</button>").toString();
+    }
+
+    private static void attribute(StringBuilder html, String attribute, String value) {
+        if (value != null) {
+            html.append(' ').append(attribute).append("=\"").append(value).append('"');
+        }
+    }
+}
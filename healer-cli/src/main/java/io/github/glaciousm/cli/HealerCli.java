@@ -3,6 +3,8 @@ package io.github.glaciousm.cli;
 import io.github.glaciousm.cli.commands.ApproveCommand;
 import io.github.glaciousm.cli.commands.CacheCommand;
 import io.github.glaciousm.cli.commands.ConfigCommand;
+import io.github.glaciousm.cli.commands.CoordinatorCommand;
+import io.github.glaciousm.cli.commands.ReplayCommand;
 import io.github.glaciousm.cli.commands.ReportCommand;
 import io.github.glaciousm.cli.commands.WatchCommand;
 import io.github.glaciousm.cli.util.CliOutput;
@@ -19,7 +21,9 @@ public class HealerCli {
     private static final CacheCommand cacheCmd = new CacheCommand();
     private static final WatchCommand watchCmd = new WatchCommand();
     private static final ApproveCommand approveCmd = new ApproveCommand();
+    private static final CoordinatorCommand coordinatorCmd = new CoordinatorCommand();
     private static ReportCommand reportCmd;
+    private static ReplayCommand replayCmd;
 
     public static void main(String[] args) {
         if (args.length == 0) {
@@ -37,6 +41,8 @@ public class HealerCli {
                 case "report" -> handleReportCommand(subArgs);
                 case "watch" -> handleWatchCommand(subArgs);
                 case "approve" -> handleApproveCommand(subArgs);
+                case "coordinator" -> handleCoordinatorCommand(subArgs);
+                case "replay" -> handleReplayCommand(subArgs);
                 case "version" -> printVersion();
                 case "help", "-h", "--help" -> printUsage();
                 default -> {
@@ -234,6 +240,40 @@ public class HealerCli {
         }
     }
 
+    private static void handleCoordinatorCommand(String[] args) throws Exception {
+        String subcommand = args.length > 0 ? args[0] : "status";
+        if (subcommand.equals("help")) {
+            printCoordinatorUsage();
+            return;
+        }
+        String dir = args.length > 1 ? args[1] : coordinatorCmd.defaultDirectory();
+
+        switch (subcommand) {
+            case "start" -> coordinatorCmd.start(dir);
+            case "status" -> coordinatorCmd.status(dir);
+            case "stop" -> coordinatorCmd.stop(dir);
+            default -> {
+                CliOutput.error("Unknown coordinator subcommand: " + subcommand);
+                printCoordinatorUsage();
+            }
+        }
+    }
+
+    private static void handleReplayCommand(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("help")) {
+            printReplayUsage();
+            return;
+        }
+        boolean hasSource = args.length > 0 && !args[0].startsWith("-");
+        String source = hasSource ? args[0] : "./healer-reports";
+        String[] options = hasSource ? java.util.Arrays.copyOfRange(args, 1, args.length) : args;
+
+        if (replayCmd == null) {
+            replayCmd = new ReplayCommand();
+        }
+        replayCmd.replay(source, ReplayCommand.Options.parse(options));
+    }
+
     private static void printVersion() {
         CliOutput.println("Intent Healer v1.0.0-SNAPSHOT");
         CliOutput.println("LLM-powered semantic test recovery for Selenium + Cucumber");
@@ -254,6 +294,8 @@ public class HealerCli {
               report    View and generate heal reports
               watch     Watch for heal events in real-time
               approve   Approve/reject heals in CONFIRM mode
+              coordinator  Run the heal coordinator shared by test forks
+              replay    Re-heal recorded failures offline, without a browser
               version   Show version information
               help      Show this help message
 
@@ -266,6 +308,8 @@ public class HealerCli {
               healer report list          List recent heal events
               healer watch                Watch for heal events live
               healer approve start        Start approval server
+              healer coordinator start    Share heals across forked test JVMs
+              healer replay --warm-cache  Re-heal last run's failures into the cache
 
             For command-specific help:
               healer <command> help
@@ -362,4 +406,49 @@ public class HealerCli {
               healer approve all           Approve all pending
             """);
     }
+
+    private static void printCoordinatorUsage() {
+        CliOutput.println("""
+            Usage: healer coordinator <subcommand> [dir]
+
+            Share one heal cache, in-flight heal de-duplication and LLM budget
+            between forked test JVMs. Test runs use it when
+            healer.coordinator.enabled is true; with auto_spawn the first fork
+            starts one automatically.
+
+            Subcommands:
+              start [dir]   Start the coordinator in the foreground
+              status [dir]  Show coordinator statistics
+              stop [dir]    Stop a running coordinator
+
+            The directory defaults to healer.coordinator.directory
+            (.healer/coordinator).
+            """);
+    }
+
+    private static void printReplayUsage() {
+        CliOutput.println("""
+            Usage: healer replay [source] [options]
+
+            Re-heal recorded failures against their recorded pages, without a
+            browser. The source is a heal-captures.jsonl journal or a report
+            directory (default: ./healer-reports); in a directory, the journal
+            and report events carrying a DOM snapshot are both read. Record
+            captures with report.capture_journal: true.
+
+            Options:
+              --provider, -p <name>   LLM provider (default: configured)
+              --model, -m <name>      Model (default: configured)
+              --parallel, -j <n>      Captures healed at once (default: CPU cores)
+              --warm-cache            Store successful heals in the heal cache
+              --output, -o <file>     Write results as JSON, e.g. to compare models
+
+            With llm.response_cache enabled, replayed LLM responses are cached too.
+
+            Examples:
+              healer replay ./healer-reports --warm-cache
+              healer replay heal-captures.jsonl -p openai -m gpt-4o -o gpt-4o.json
+              healer replay heal-captures.jsonl -p anthropic -o claude.json
+            """);
+    }
 }
@@ -0,0 +1,101 @@
+package io.github.glaciousm.cli.commands;
+
+import io.github.glaciousm.cli.util.CliOutput;
+import io.github.glaciousm.core.config.ConfigLoader;
+import io.github.glaciousm.core.config.CoordinatorConfig;
+import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.engine.coordinator.CoordinatorEndpoint;
+import io.github.glaciousm.core.engine.coordinator.CoordinatorServer;
+import io.github.glaciousm.core.engine.coordinator.HealCoordinator;
+import io.github.glaciousm.core.engine.coordinator.HealCoordinators;
+import io.github.glaciousm.core.engine.coordinator.RemoteHealCoordinator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * CLI command for the cross-fork heal coordinator.
+ */
+public class CoordinatorCommand {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * Resolve the coordinator directory, defaulting to the configured one.
+     */
+    public String defaultDirectory() {
+        HealerConfig config = new ConfigLoader().load();
+        CoordinatorConfig coordinator = config.getCoordinator() != null ? config.getCoordinator() : new CoordinatorConfig();
+        return coordinator.getDirectory();
+    }
+
+    /**
+     * Start a coordinator in the foreground. Runs until stopped.
+     */
+    public void start(String directory) throws IOException, InterruptedException {
+        CoordinatorServer server = createServer(directory);
+        CoordinatorEndpoint endpoint = server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "heal-coordinator-shutdown"));
+
+        CliOutput.success("Heal coordinator listening on " + endpoint);
+        CliOutput.println("Enable it for test runs with healer.coordinator.enabled: true");
+        CliOutput.println("Press Ctrl+C to stop.");
+        server.awaitTermination();
+    }
+
+    /**
+     * Create a coordinator server for a directory without starting it.
+     */
+    public CoordinatorServer createServer(String directory) {
+        HealerConfig config = new ConfigLoader().load();
+        CoordinatorConfig coordinator = config.getCoordinator() != null ? config.getCoordinator() : new CoordinatorConfig();
+        coordinator.setDirectory(directory);
+        // A coordinator started by hand lives until it is stopped
+        return CoordinatorServer.fromConfig(coordinator, Duration.ZERO);
+    }
+
+    /**
+     * Show coordinator statistics.
+     */
+    public void status(String directory) {
+        Optional<RemoteHealCoordinator> remote = HealCoordinators.tryConnect(Path.of(directory), CONNECT_TIMEOUT);
+        if (remote.isEmpty()) {
+            CliOutput.println("No heal coordinator running in " + directory);
+            return;
+        }
+
+        try (RemoteHealCoordinator coordinator = remote.get()) {
+            HealCoordinator.Stats stats = coordinator.getStats();
+
+            CliOutput.header("HEAL COORDINATOR");
+            CliOutput.printf("  Endpoint:         %s%n", coordinator.getEndpoint());
+            CliOutput.printf("  Cached Heals:     %d%n", stats.cachedHeals());
+            CliOutput.printf("  In Flight:        %d%n", stats.inFlight());
+            CliOutput.println();
+            CliOutput.printf("  Hits:             %d%n", stats.hits());
+            CliOutput.printf("  Heals Claimed:    %d%n", stats.claimsGranted());
+            CliOutput.printf("  Waits Reused:     %d%n", stats.waitsDeduplicated());
+            CliOutput.printf("  LLM Slots Used:   %d%n", stats.llmPermitsGranted());
+            CliOutput.println();
+            CliOutput.divider();
+        }
+    }
+
+    /**
+     * Stop a running coordinator.
+     */
+    public void stop(String directory) {
+        Optional<RemoteHealCoordinator> remote = HealCoordinators.tryConnect(Path.of(directory), CONNECT_TIMEOUT);
+        if (remote.isEmpty()) {
+            CliOutput.println("No heal coordinator running in " + directory);
+            return;
+        }
+
+        try (RemoteHealCoordinator coordinator = remote.get()) {
+            coordinator.shutdownServer();
+        }
+        CliOutput.println("Heal coordinator stopped");
+    }
+}
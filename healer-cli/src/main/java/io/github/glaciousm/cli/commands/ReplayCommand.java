@@ -0,0 +1,335 @@
+package io.github.glaciousm.cli.commands;
+
+import io.github.glaciousm.cli.util.CliOutput;
+import io.github.glaciousm.core.config.CacheConfig;
+import io.github.glaciousm.core.config.ConfigLoader;
+import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.cache.HealCache;
+import io.github.glaciousm.core.engine.replay.HealCapture;
+import io.github.glaciousm.core.engine.replay.HealJournal;
+import io.github.glaciousm.core.engine.replay.OfflineHealer;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.core.model.LocatorInfo;
+import io.github.glaciousm.core.model.UiSnapshot;
+import io.github.glaciousm.core.snapshot.StreamingHtmlSnapshotParser;
+import io.github.glaciousm.core.util.JsonUtils;
+import io.github.glaciousm.llm.LlmOrchestrator;
+import io.github.glaciousm.report.ReportAggregator;
+import io.github.glaciousm.report.model.HealEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * CLI command that re-heals recorded failures offline, without a browser.
+ *
+ * <p>Captures come from a heal journal ({@code report.capture_journal}) or from report
+ * events that carry a DOM snapshot. Each is healed against its recorded page with the
+ * configured or chosen LLM provider.</p>
+ */
+public class ReplayCommand {
+
+    private final Supplier<HealerConfig> configLoader;
+    private final LlmOrchestrator orchestrator;
+
+    /**
+     * Replay options.
+     *
+     * @param provider    LLM provider, or null for the configured one
+     * @param model       model, or null for the configured one
+     * @param parallelism captures healed at once
+     * @param warmCache   store successful heals in the heal cache
+     * @param output      JSON file to write results to, or null
+     */
+    public record Options(String provider, String model, int parallelism, boolean warmCache, String output) {
+
+        public static Options defaults() {
+            return new Options(null, null, Runtime.getRuntime().availableProcessors(), false, null);
+        }
+
+        /**
+         * Parse {@code --provider}, {@code --model}, {@code --parallel}, {@code --warm-cache}
+         * and {@code --output}.
+         */
+        public static Options parse(String[] args) {
+            Options options = defaults();
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--provider", "-p" -> { options = options.withProvider(required(args[i], value)); i++; }
+                    case "--model", "-m" -> { options = options.withModel(required(args[i], value)); i++; }
+                    case "--parallel", "-j" -> {
+                        options = options.withParallelism(Integer.parseInt(required(args[i], value)));
+                        i++;
+                    }
+                    case "--output", "-o" -> { options = options.withOutput(required(args[i], value)); i++; }
+                    case "--warm-cache" -> options = options.withWarmCache(true);
+                    default -> throw new IllegalArgumentException("Unknown replay option: " + args[i]);
+                }
+            }
+            return options;
+        }
+
+        private static String required(String option, String value) {
+            if (value == null) {
+                throw new IllegalArgumentException(option + " needs a value");
+            }
+            return value;
+        }
+
+        public Options withProvider(String provider) {
+            return new Options(provider, model, parallelism, warmCache, output);
+        }
+
+        public Options withModel(String model) {
+            return new Options(provider, model, parallelism, warmCache, output);
+        }
+
+        public Options withParallelism(int parallelism) {
+            return new Options(provider, model, Math.max(1, parallelism), warmCache, output);
+        }
+
+        public Options withWarmCache(boolean warmCache) {
+            return new Options(provider, model, parallelism, warmCache, output);
+        }
+
+        public Options withOutput(String output) {
+            return new Options(provider, model, parallelism, warmCache, output);
+        }
+    }
+
+    public ReplayCommand() {
+        this(() -> new ConfigLoader().load(), new LlmOrchestrator());
+    }
+
+    public ReplayCommand(Supplier<HealerConfig> configLoader, LlmOrchestrator orchestrator) {
+        this.configLoader = configLoader;
+        this.orchestrator = orchestrator;
+    }
+
+    /**
+     * Re-heal the captures in a journal file or report directory.
+     */
+    public List<OfflineHealer.Replay> replay(String source, Options options) throws IOException, InterruptedException {
+        Path sourcePath = Path.of(source);
+        if (!Files.exists(sourcePath)) {
+            CliOutput.error("Capture source not found: " + source);
+            return List.of();
+        }
+
+        List<HealCapture> captures = loadCaptures(sourcePath);
+        if (captures.isEmpty()) {
+            CliOutput.println("No captures found in " + source);
+            CliOutput.println("Record them with report.capture_journal: true");
+            return List.of();
+        }
+
+        HealerConfig config = configLoader.get();
+        if (options.provider() != null) {
+            config.getLlm().setProvider(options.provider());
+        }
+        if (options.model() != null) {
+            config.getLlm().setModel(options.model());
+        }
+        // Replays must not append to the journal they are reading
+        config.getReport().setCaptureJournal(false);
+
+        // The engine hands the evaluator only the failure, so look the intent up by it
+        Map<FailureContext, IntentContract> intents = new IdentityHashMap<>();
+        captures.forEach(capture -> intents.put(capture.getFailure(), capture.toReplayIntent()));
+
+        HealingEngine engine = new HealingEngine(config);
+        engine.setLlmEvaluator((failure, snapshot) -> orchestrator.evaluateCandidates(failure, snapshot,
+                intents.getOrDefault(failure, IntentContract.defaultContract(failure.getStepText())), config.getLlm()));
+
+        CliOutput.header("OFFLINE RE-HEAL");
+        CliOutput.printf("  Captures:         %d%n", captures.size());
+        CliOutput.printf("  Provider:         %s / %s%n", config.getLlm().getProvider(), config.getLlm().getModel());
+        CliOutput.printf("  Parallelism:      %d%n", options.parallelism());
+        CliOutput.println();
+
+        long start = System.nanoTime();
+        List<OfflineHealer.Replay> replays = new OfflineHealer(engine, options.parallelism()).replay(captures);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        engine.shutdown();
+
+        printReplays(replays, elapsedMillis);
+
+        if (options.warmCache()) {
+            warmCache(config.getCache(), replays);
+        }
+        if (options.output() != null) {
+            writeResults(Path.of(options.output()), config, replays);
+            CliOutput.println("Results written to: " + options.output());
+        }
+        return replays;
+    }
+
+    /**
+     * Load captures from a journal file, or from a directory's journal and the report
+     * events in it that carry a DOM snapshot.
+     */
+    public List<HealCapture> loadCaptures(Path source) throws IOException {
+        List<HealCapture> captures = new ArrayList<>();
+        if (Files.isRegularFile(source)) {
+            readJournal(source, captures);
+            return captures;
+        }
+
+        Path journal = source.resolve(HealJournal.FILE_NAME);
+        if (Files.isRegularFile(journal)) {
+            readJournal(journal, captures);
+        }
+
+        ReportAggregator aggregator = new ReportAggregator();
+        StreamingHtmlSnapshotParser parser = new StreamingHtmlSnapshotParser();
+        for (Path reportFile : aggregator.findReportFiles(source)) {
+            try {
+                aggregator.readEvents(reportFile, event ->
+                        fromReportEvent(event, reportFile, parser).ifPresent(captures::add));
+            } catch (IOException e) {
+                CliOutput.warn("Skipping " + reportFile + ": " + e.getMessage());
+            }
+        }
+        return captures;
+    }
+
+    private static void readJournal(Path journal, List<HealCapture> captures) throws IOException {
+        int skipped = HealJournal.forEach(journal, captures::add);
+        if (skipped > 0) {
+            CliOutput.warn("Skipped " + skipped + " unreadable line(s) in " + journal);
+        }
+    }
+
+    /**
+     * Rebuild a capture from a report event with a DOM snapshot, either inline HTML or
+     * a path relative to the report file.
+     */
+    static Optional<HealCapture> fromReportEvent(HealEvent event, Path reportFile, StreamingHtmlSnapshotParser parser) {
+        HealEvent.ArtifactInfo artifacts = event.getArtifacts();
+        HealEvent.FailureInfo failureInfo = event.getFailure();
+        if (artifacts == null || artifacts.getDomSnapshot() == null || failureInfo == null
+                || failureInfo.getOriginalLocator() == null || event.getStep() == null) {
+            return Optional.empty();
+        }
+
+        String html = artifacts.getDomSnapshot();
+        if (!html.stripLeading().startsWith("<")) {
+            Path htmlFile = reportFile.resolveSibling(html);
+            try {
+                html = Files.readString(htmlFile);
+            } catch (IOException e) {
+                CliOutput.warn("Missing DOM snapshot " + htmlFile + " for event " + event.getEventId());
+                return Optional.empty();
+            }
+        }
+
+        UiSnapshot snapshot = parser.parse(html, null);
+        FailureContext failure = FailureContext.builder()
+                .featureName(event.getFeature())
+                .scenarioName(event.getScenario())
+                .stepText(event.getStep())
+                .exceptionType(failureInfo.getExceptionType())
+                .exceptionMessage(failureInfo.getMessage())
+                .originalLocator(LocatorInfo.parse(failureInfo.getOriginalLocator()))
+                .timestamp(event.getTimestamp())
+                .build();
+        return Optional.of(new HealCapture(event.getEventId(), event.getTimestamp(), failure, null, snapshot));
+    }
+
+    private static void printReplays(List<OfflineHealer.Replay> replays, long elapsedMillis) {
+        int healed = 0;
+        int refused = 0;
+        int failed = 0;
+        for (OfflineHealer.Replay replay : replays) {
+            String status;
+            if (replay.result().isSuccess()) {
+                healed++;
+                status = "HEALED   " + replay.result().getHealedLocator().orElse("");
+            } else if (replay.result().isRefused()) {
+                refused++;
+                status = "REFUSED  " + replay.result().getFailureReason().orElse("");
+            } else {
+                failed++;
+                status = "FAILED   " + replay.result().getFailureReason().orElse("");
+            }
+            CliOutput.printf("  %-40s %s%n", truncate(replay.capture().getFailure().getStepText(), 40), status);
+        }
+
+        CliOutput.println();
+        CliOutput.printf("  Healed:           %d%n", healed);
+        CliOutput.printf("  Refused:          %d%n", refused);
+        CliOutput.printf("  Failed:           %d%n", failed);
+        CliOutput.printf("  Elapsed:          %d ms%n", elapsedMillis);
+        CliOutput.println();
+        CliOutput.divider();
+    }
+
+    private static void warmCache(CacheConfig cacheConfig, List<OfflineHealer.Replay> replays) {
+        CacheConfig config = cacheConfig != null ? cacheConfig : new CacheConfig();
+        // Warming only helps the next run if the heals reach disk
+        config.setPersistenceEnabled(true);
+        HealCache cache = new HealCache(config);
+
+        int stored = 0;
+        for (OfflineHealer.Replay replay : replays) {
+            FailureContext failure = replay.capture().getFailure();
+            Optional<String> healed = replay.result().getHealedLocator();
+            if (!replay.isSuccess() || healed.isEmpty() || failure.getOriginalLocator() == null) {
+                continue;
+            }
+            CacheKey key = CacheKey.builder()
+                    .pageUrl(replay.capture().getSnapshot().getUrl())
+                    .originalLocator(failure.getOriginalLocator())
+                    .actionType(failure.getActionType())
+                    .build();
+            cache.put(key, LocatorInfo.parse(healed.get()), replay.result().getConfidence(),
+                    replay.result().getReasoning().orElse(null));
+            stored++;
+        }
+        cache.shutdown();
+        CliOutput.printf("Warmed heal cache in %s with %d heal(s)%n", config.getPersistenceDir(), stored);
+    }
+
+    private static void writeResults(Path output, HealerConfig config, List<OfflineHealer.Replay> replays)
+            throws IOException {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (OfflineHealer.Replay replay : replays) {
+            FailureContext failure = replay.capture().getFailure();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("capture_id", replay.capture().getId());
+            result.put("step", failure.getStepText());
+            result.put("original_locator", failure.getOriginalLocator());
+            result.put("outcome", replay.result().getOutcome());
+            result.put("healed_locator", replay.result().getHealedLocator().orElse(null));
+            result.put("confidence", replay.result().getConfidence());
+            result.put("reason", replay.result().getFailureReason().orElse(null));
+            result.put("duration_ms", replay.duration().toMillis());
+            results.add(result);
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("provider", config.getLlm().getProvider());
+        document.put("model", config.getLlm().getModel());
+        document.put("results", results);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.writeString(output, JsonUtils.toPrettyJson(document));
+    }
+
+    private static String truncate(String text, int max) {
+        return text.length() <= max ? text : text.substring(0, max - 3) + "...";
+    }
+}
@@ -2,6 +2,7 @@ package io.github.glaciousm.cli.commands;
 
 import io.github.glaciousm.cli.util.CliOutput;
 import io.github.glaciousm.report.ExportService;
+import io.github.glaciousm.report.ReportAggregator;
 import io.github.glaciousm.report.ReportGenerator;
 import io.github.glaciousm.report.model.HealEvent;
 import io.github.glaciousm.report.model.HealReport;
@@ -282,23 +283,15 @@ public class ReportCommand {
             return;
         }
 
-        List<HealReport> reports = loadReports(dirPath);
-        if (reports.isEmpty()) {
+        int reportCount = new ReportAggregator().findReportFiles(dirPath).size();
+        if (reportCount == 0) {
             CliOutput.println("No heal reports found.");
             return;
         }
 
-        // Sort by timestamp (oldest first)
-        reports = reports.stream()
-                .sorted((a, b) -> {
-                    Instant ta = a.getTimestamp() != null ? a.getTimestamp() : Instant.MIN;
-                    Instant tb = b.getTimestamp() != null ? b.getTimestamp() : Instant.MIN;
-                    return ta.compareTo(tb);
-                })
-                .toList();
-
-        exportService.exportTrendsCsv(reports, outputPath);
-        CliOutput.success("Exported trend data for " + reports.size() + " reports to: " + outputPath);
+        // Reports are streamed and written oldest first
+        exportService.exportTrendsCsv(dirPath, outputPath);
+        CliOutput.success("Exported trend data for " + reportCount + " reports to: " + outputPath);
     }
 
     /**
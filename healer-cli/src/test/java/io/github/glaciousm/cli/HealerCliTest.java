@@ -228,4 +228,14 @@ class HealerCliTest {
         assertThat(output).contains("Documentation:");
         assertThat(output).contains("github.com");
     }
+
+    @Test
+    void testReplayHelp() {
+        HealerCli.main(new String[]{"replay", "help"});
+
+        String output = outContent.toString();
+        assertThat(output).contains("Usage: healer replay");
+        assertThat(output).contains("--warm-cache");
+        assertThat(output).contains("capture_journal");
+    }
 }
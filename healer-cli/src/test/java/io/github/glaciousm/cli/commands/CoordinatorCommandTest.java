@@ -0,0 +1,74 @@
+package io.github.glaciousm.cli.commands;
+
+import io.github.glaciousm.core.engine.coordinator.CoordinatorServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the CoordinatorCommand class.
+ */
+class CoordinatorCommandTest {
+
+    private CoordinatorCommand coordinatorCommand;
+    private ByteArrayOutputStream outContent;
+    private PrintStream originalOut;
+    private CoordinatorServer server;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        coordinatorCommand = new CoordinatorCommand();
+        outContent = new ByteArrayOutputStream();
+        originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testStatusWithoutCoordinator() {
+        coordinatorCommand.status(tempDir.toString());
+
+        assertThat(outContent.toString()).contains("No heal coordinator running");
+    }
+
+    @Test
+    void testStatusShowsStatistics() throws Exception {
+        server = coordinatorCommand.createServer(tempDir.toString());
+        server.start();
+
+        coordinatorCommand.status(tempDir.toString());
+
+        String output = outContent.toString();
+        assertThat(output).contains("HEAL COORDINATOR");
+        assertThat(output).contains("Cached Heals:");
+        assertThat(output).contains(server.getEndpoint().toString());
+    }
+
+    @Test
+    void testStopShutsDownCoordinator() throws Exception {
+        server = coordinatorCommand.createServer(tempDir.toString());
+        server.start();
+
+        coordinatorCommand.stop(tempDir.toString());
+
+        assertThat(outContent.toString()).contains("Heal coordinator stopped");
+        assertThat(server.isRunning()).isFalse();
+    }
+}
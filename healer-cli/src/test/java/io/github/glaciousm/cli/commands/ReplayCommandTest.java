@@ -0,0 +1,202 @@
+package io.github.glaciousm.cli.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.cache.HealCache;
+import io.github.glaciousm.core.engine.replay.HealCapture;
+import io.github.glaciousm.core.engine.replay.HealJournal;
+import io.github.glaciousm.core.engine.replay.OfflineHealer;
+import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.core.util.JsonUtils;
+import io.github.glaciousm.llm.LlmOrchestrator;
+import io.github.glaciousm.report.model.HealEvent;
+import io.github.glaciousm.report.model.HealReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the ReplayCommand class.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplayCommandTest {
+
+    @Mock
+    private LlmOrchestrator orchestrator;
+
+    private HealerConfig config;
+    private ReplayCommand replayCommand;
+    private ByteArrayOutputStream outContent;
+    private PrintStream originalOut;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        config = new HealerConfig();
+        config.setEnabled(true);
+        config.applyDefaults();
+        config.getCache().setPersistenceDir(tempDir.resolve("cache").toString());
+        replayCommand = new ReplayCommand(() -> config, orchestrator);
+        outContent = new ByteArrayOutputStream();
+        originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    private static UiSnapshot checkoutPage() {
+        return UiSnapshot.builder()
+                .url("https://shop.example.com/checkout?session=1")
+                .title("Checkout")
+                .interactiveElements(List.of(ElementSnapshot.builder()
+                        .index(0).tagName("button").id("submit-order").text("Place Order")
+                        .visible(true).enabled(true).build()))
+                .build();
+    }
+
+    private Path journalWith(String... steps) {
+        Path file = tempDir.resolve(HealJournal.FILE_NAME);
+        HealJournal journal = new HealJournal(file, false);
+        for (String step : steps) {
+            FailureContext failure = FailureContext.builder()
+                    .stepText(step)
+                    .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "place-order"))
+                    .actionType(ActionType.CLICK)
+                    .build();
+            IntentContract intent = IntentContract.builder().action("click").policy(HealPolicy.SUGGEST).build();
+            journal.record(HealCapture.of(failure, intent, checkoutPage()));
+        }
+        return file;
+    }
+
+    @Test
+    void testReplaysJournalWithChosenProvider() throws Exception {
+        when(orchestrator.evaluateCandidates(any(), any(), any(), any(LlmConfig.class)))
+                .thenReturn(HealDecision.canHeal(0, 0.95, "Same button, new id"));
+        Path journal = journalWith("I place the order", "I confirm the order");
+
+        List<OfflineHealer.Replay> replays = replayCommand.replay(journal.toString(),
+                ReplayCommand.Options.parse(new String[]{"--provider", "mock", "--model", "m1", "-j", "2"}));
+
+        assertThat(replays).hasSize(2).allMatch(OfflineHealer.Replay::isSuccess);
+        assertThat(replays.get(0).result().getHealedLocator()).hasValue("id=submit-order");
+        ArgumentCaptor<IntentContract> intent = ArgumentCaptor.forClass(IntentContract.class);
+        ArgumentCaptor<LlmConfig> llmConfig = ArgumentCaptor.forClass(LlmConfig.class);
+        verify(orchestrator, times(2))
+                .evaluateCandidates(any(), any(), intent.capture(), llmConfig.capture());
+        assertThat(intent.getValue().getPolicy()).isEqualTo(HealPolicy.AUTO_SAFE);
+        assertThat(llmConfig.getValue().getProvider()).isEqualTo("mock");
+        assertThat(llmConfig.getValue().getModel()).isEqualTo("m1");
+
+        String output = outContent.toString();
+        assertThat(output).contains("OFFLINE RE-HEAL");
+        assertThat(output).contains("Healed:           2");
+        assertThat(Files.readAllLines(journal)).hasSize(2);
+    }
+
+    @Test
+    void testWarmCacheAndOutput() throws Exception {
+        when(orchestrator.evaluateCandidates(any(), any(), any(), any(LlmConfig.class)))
+                .thenReturn(HealDecision.canHeal(0, 0.95, "Same button, new id"));
+        Path output = tempDir.resolve("results/replay.json");
+
+        replayCommand.replay(journalWith("I place the order").toString(),
+                ReplayCommand.Options.parse(new String[]{"--warm-cache", "--output", output.toString()}));
+
+        JsonNode results = JsonUtils.getMapper().readTree(output.toFile());
+        assertThat(results.get("results")).hasSize(1);
+        assertThat(results.get("results").get(0).get("healed_locator").asText()).isEqualTo("id=submit-order");
+        assertThat(results.get("results").get(0).get("outcome").asText()).isEqualTo("SUCCESS");
+
+        HealCache cache = new HealCache(config.getCache());
+        CacheKey key = CacheKey.builder()
+                .pageUrl("https://shop.example.com/checkout")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "place-order"))
+                .actionType(ActionType.CLICK)
+                .build();
+        assertThat(cache.get(key)).hasValue(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "submit-order"));
+        cache.shutdown();
+    }
+
+    @Test
+    void testLoadsCapturesFromReportEventsWithDomSnapshots() throws Exception {
+        Files.writeString(tempDir.resolve("checkout.html"),
+                "<html><body><button id=\"submit-order\">Place Order</button></body></html>");
+        HealReport report = new HealReport();
+        report.addEvent(reportEvent("checkout.html"));
+        report.addEvent(reportEvent(null));
+        JsonUtils.getMapper().writeValue(tempDir.resolve("heal-report.json").toFile(), report);
+        journalWith("I place the order");
+
+        List<HealCapture> captures = replayCommand.loadCaptures(tempDir);
+
+        assertThat(captures).hasSize(2);
+        HealCapture fromReport = captures.get(1);
+        assertThat(fromReport.getFailure().getStepText()).isEqualTo("I click the place order button");
+        assertThat(fromReport.getFailure().getOriginalLocator())
+                .isEqualTo(new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, "#place-order"));
+        assertThat(fromReport.getSnapshot().getElementRequired(0).getId()).isEqualTo("submit-order");
+    }
+
+    @Test
+    void testMissingSource() throws Exception {
+        List<OfflineHealer.Replay> replays = replayCommand.replay(tempDir.resolve("missing").toString(),
+                ReplayCommand.Options.defaults());
+
+        assertThat(replays).isEmpty();
+    }
+
+    @Test
+    void testParseOptions() {
+        ReplayCommand.Options options = ReplayCommand.Options.parse(new String[]{"-j", "0", "--warm-cache"});
+
+        assertThat(options.parallelism()).isEqualTo(1);
+        assertThat(options.warmCache()).isTrue();
+        assertThat(options.provider()).isNull();
+        assertThatThrownBy(() -> ReplayCommand.Options.parse(new String[]{"--model"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReplayCommand.Options.parse(new String[]{"--fast"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HealEvent reportEvent(String domSnapshot) {
+        HealEvent event = new HealEvent();
+        event.setStep("I click the place order button");
+        HealEvent.FailureInfo failure = new HealEvent.FailureInfo();
+        failure.setExceptionType("NoSuchElementException");
+        failure.setOriginalLocator("#place-order");
+        event.setFailure(failure);
+        HealEvent.ResultInfo result = new HealEvent.ResultInfo();
+        result.setStatus("FAILED");
+        event.setResult(result);
+        HealEvent.ArtifactInfo artifacts = new HealEvent.ArtifactInfo();
+        artifacts.setDomSnapshot(domSnapshot);
+        event.setArtifacts(artifacts);
+        return event;
+    }
+}
@@ -184,6 +184,10 @@ public class ConfigLoader {
             if (srcLlm.getFallback() != null && !srcLlm.getFallback().isEmpty()) {
                 llm.setFallback(srcLlm.getFallback());
             }
+            llm.setConcurrency(srcLlm.getConcurrency());
+            llm.setResponseCache(srcLlm.getResponseCache());
+            llm.setStreaming(srcLlm.isStreaming());
+            llm.setTransport(srcLlm.getTransport());
         }
 
         if (source.getGuardrails() != null) {
@@ -228,6 +232,15 @@ public class ConfigLoader {
             report.setHtmlEnabled(srcReport.isHtmlEnabled());
             report.setIncludeScreenshots(srcReport.isIncludeScreenshots());
             report.setIncludeLlmPrompts(srcReport.isIncludeLlmPrompts());
+            report.setCaptureJournal(srcReport.isCaptureJournal());
+        }
+
+        if (source.getCoordinator() != null) {
+            target.setCoordinator(source.getCoordinator());
+        }
+
+        if (source.getSpeculative() != null) {
+            target.setSpeculative(source.getSpeculative());
         }
     }
 
@@ -267,6 +280,18 @@ public class ConfigLoader {
                 logger.warn("Invalid HEALER_CONFIDENCE_THRESHOLD: {}", confidenceThreshold);
             }
         }
+
+        // HEALER_COORDINATOR_ENABLED
+        String coordinatorEnabled = env.get("HEALER_COORDINATOR_ENABLED");
+        if (coordinatorEnabled != null && !coordinatorEnabled.isEmpty()) {
+            config.getCoordinator().setEnabled(Boolean.parseBoolean(coordinatorEnabled));
+        }
+
+        // HEALER_SPECULATIVE_ENABLED
+        String speculativeEnabled = env.get("HEALER_SPECULATIVE_ENABLED");
+        if (speculativeEnabled != null && !speculativeEnabled.isEmpty()) {
+            config.getSpeculative().setEnabled(Boolean.parseBoolean(speculativeEnabled));
+        }
     }
 
     private void mergeFromSystemProperties(HealerConfig config, Properties props) {
@@ -307,6 +332,18 @@ public class ConfigLoader {
                 logger.warn("Invalid healer.confidence.threshold: {}", confidenceThreshold);
             }
         }
+
+        // healer.coordinator.enabled
+        String coordinatorEnabled = props.getProperty("healer.coordinator.enabled");
+        if (coordinatorEnabled != null && !coordinatorEnabled.isEmpty()) {
+            config.getCoordinator().setEnabled(Boolean.parseBoolean(coordinatorEnabled));
+        }
+
+        // healer.speculative.enabled
+        String speculativeEnabled = props.getProperty("healer.speculative.enabled");
+        if (speculativeEnabled != null && !speculativeEnabled.isEmpty()) {
+            config.getSpeculative().setEnabled(Boolean.parseBoolean(speculativeEnabled));
+        }
     }
 
     /**
@@ -0,0 +1,131 @@
+package io.github.glaciousm.core.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Configuration for the cross-process heal coordinator.
+ * When enabled, test JVMs forked by the same build share one heal cache,
+ * de-duplicate in-flight heals and draw LLM calls from one concurrency budget.
+ */
+public class CoordinatorConfig {
+
+    /**
+     * Transport used to reach the coordinator.
+     */
+    public enum Transport {
+        /** Unix domain socket when supported, loopback TCP otherwise */
+        AUTO,
+        /** Unix domain socket only */
+        UNIX,
+        /** Loopback TCP only */
+        TCP
+    }
+
+    @JsonProperty("enabled")
+    private boolean enabled = false;
+
+    @JsonProperty("directory")
+    private String directory = ".healer/coordinator";
+
+    @JsonProperty("transport")
+    private Transport transport = Transport.AUTO;
+
+    @JsonProperty("auto_spawn")
+    private boolean autoSpawn = true;
+
+    @JsonProperty("max_concurrent_llm_calls")
+    private int maxConcurrentLlmCalls = 4;
+
+    @JsonProperty("max_entries")
+    private int maxEntries = 10000;
+
+    @JsonProperty("claim_timeout_seconds")
+    private int claimTimeoutSeconds = 60;
+
+    @JsonProperty("connect_timeout_millis")
+    private int connectTimeoutMillis = 5000;
+
+    @JsonProperty("idle_shutdown_seconds")
+    private int idleShutdownSeconds = 300;
+
+    public CoordinatorConfig() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public boolean isAutoSpawn() {
+        return autoSpawn;
+    }
+
+    public void setAutoSpawn(boolean autoSpawn) {
+        this.autoSpawn = autoSpawn;
+    }
+
+    public int getMaxConcurrentLlmCalls() {
+        return maxConcurrentLlmCalls;
+    }
+
+    public void setMaxConcurrentLlmCalls(int maxConcurrentLlmCalls) {
+        this.maxConcurrentLlmCalls = maxConcurrentLlmCalls;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getClaimTimeoutSeconds() {
+        return claimTimeoutSeconds;
+    }
+
+    public void setClaimTimeoutSeconds(int claimTimeoutSeconds) {
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public int getIdleShutdownSeconds() {
+        return idleShutdownSeconds;
+    }
+
+    public void setIdleShutdownSeconds(int idleShutdownSeconds) {
+        this.idleShutdownSeconds = idleShutdownSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "CoordinatorConfig{enabled=" + enabled + ", directory='" + directory
+                + "', transport=" + transport + ", maxConcurrentLlmCalls=" + maxConcurrentLlmCalls + "}";
+    }
+}
@@ -55,6 +55,12 @@ public class GuardrailConfig {
     @JsonProperty("allow_js_click")
     private boolean allowJsClick = false;
 
+    @JsonProperty("heal_empty_lists")
+    private boolean healEmptyLists = false;
+
+    @JsonProperty("local_outcome_validation")
+    private boolean localOutcomeValidation = false;
+
     public GuardrailConfig() {
     }
 
@@ -114,6 +120,30 @@ public class GuardrailConfig {
         this.allowJsClick = allowJsClick;
     }
 
+    /**
+     * Whether a findElements call that returns no elements is healed, when the same locator
+     * returned elements earlier in the run. Applied by the Java agent.
+     */
+    public boolean isHealEmptyLists() {
+        return healEmptyLists;
+    }
+
+    public void setHealEmptyLists(boolean healEmptyLists) {
+        this.healEmptyLists = healEmptyLists;
+    }
+
+    /**
+     * Whether {@code LlmOutcomeValidator} compares the page before and after a heal locally
+     * and skips the LLM when the comparison shows a failure or the expected navigation.
+     */
+    public boolean isLocalOutcomeValidation() {
+        return localOutcomeValidation;
+    }
+
+    public void setLocalOutcomeValidation(boolean localOutcomeValidation) {
+        this.localOutcomeValidation = localOutcomeValidation;
+    }
+
     /**
      * Check if an action involves a destructive/forbidden keyword.
      */
@@ -43,6 +43,12 @@ public class HealerConfig {
     @JsonProperty("sharing")
     private SharingConfig sharing = SharingConfig.defaults();
 
+    @JsonProperty("coordinator")
+    private CoordinatorConfig coordinator = new CoordinatorConfig();
+
+    @JsonProperty("speculative")
+    private SpeculativeConfig speculative = new SpeculativeConfig();
+
     public HealerConfig() {
     }
 
@@ -134,6 +140,22 @@ public class HealerConfig {
         this.sharing = sharing;
     }
 
+    public CoordinatorConfig getCoordinator() {
+        return coordinator;
+    }
+
+    public void setCoordinator(CoordinatorConfig coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    public SpeculativeConfig getSpeculative() {
+        return speculative;
+    }
+
+    public void setSpeculative(SpeculativeConfig speculative) {
+        this.speculative = speculative;
+    }
+
     /**
      * Apply default configuration values.
      */
@@ -147,6 +169,8 @@ public class HealerConfig {
         if (autoUpdate == null) autoUpdate = AutoUpdateConfig.disabled();
         if (notification == null) notification = new NotificationConfig();
         if (sharing == null) sharing = SharingConfig.defaults();
+        if (coordinator == null) coordinator = new CoordinatorConfig();
+        if (speculative == null) speculative = new SpeculativeConfig();
     }
 
     /**
@@ -46,12 +46,24 @@ public class LlmConfig {
     @JsonProperty("require_reasoning")
     private boolean requireReasoning = true;
 
+    @JsonProperty("streaming")
+    private boolean streaming = false;
+
     @JsonProperty("fallback")
     private List<FallbackProvider> fallback = new ArrayList<>();
 
     @JsonProperty("vision")
     private VisionConfig vision = new VisionConfig();
 
+    @JsonProperty("concurrency")
+    private ConcurrencyConfig concurrency = new ConcurrencyConfig();
+
+    @JsonProperty("response_cache")
+    private ResponseCacheConfig responseCache = new ResponseCacheConfig();
+
+    @JsonProperty("transport")
+    private TransportConfig transport = new TransportConfig();
+
     public LlmConfig() {
     }
 
@@ -168,6 +180,17 @@ public class LlmConfig {
         this.requireReasoning = requireReasoning;
     }
 
+    /**
+     * Whether providers stream responses and stop reading once the decision JSON is complete.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     public List<FallbackProvider> getFallback() {
         return fallback;
     }
@@ -184,6 +207,30 @@ public class LlmConfig {
         this.vision = vision != null ? vision : new VisionConfig();
     }
 
+    public ConcurrencyConfig getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(ConcurrencyConfig concurrency) {
+        this.concurrency = concurrency != null ? concurrency : new ConcurrencyConfig();
+    }
+
+    public ResponseCacheConfig getResponseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(ResponseCacheConfig responseCache) {
+        this.responseCache = responseCache != null ? responseCache : new ResponseCacheConfig();
+    }
+
+    public TransportConfig getTransport() {
+        return transport;
+    }
+
+    public void setTransport(TransportConfig transport) {
+        this.transport = transport != null ? transport : new TransportConfig();
+    }
+
     /**
      * Check if vision is enabled for this configuration.
      */
@@ -283,6 +330,27 @@ public class LlmConfig {
         @JsonProperty("image_quality")
         private String imageQuality = "auto";
 
+        @JsonProperty("optimize_images")
+        private boolean optimizeImages = true;
+
+        @JsonProperty("max_image_tokens")
+        private int maxImageTokens = 1600;
+
+        @JsonProperty("image_format")
+        private String imageFormat = "jpeg";
+
+        @JsonProperty("jpeg_quality")
+        private float jpegQuality = 0.8f;
+
+        @JsonProperty("crop_to_candidates")
+        private boolean cropToCandidates = false;
+
+        @JsonProperty("crop_candidates")
+        private int cropCandidates = 5;
+
+        @JsonProperty("crop_margin")
+        private int cropMargin = 64;
+
         public VisionConfig() {
         }
 
@@ -342,12 +410,325 @@ public class LlmConfig {
             this.imageQuality = imageQuality;
         }
 
+        /**
+         * Whether to downscale, crop and re-encode screenshots before sending them. When
+         * false the captured PNG is sent as it is.
+         */
+        public boolean isOptimizeImages() {
+            return optimizeImages;
+        }
+
+        public void setOptimizeImages(boolean optimizeImages) {
+            this.optimizeImages = optimizeImages;
+        }
+
+        /**
+         * Image token budget; screenshots are downscaled until they fit it (about 750 pixels
+         * per token).
+         */
+        public int getMaxImageTokens() {
+            return maxImageTokens;
+        }
+
+        public void setMaxImageTokens(int maxImageTokens) {
+            this.maxImageTokens = maxImageTokens;
+        }
+
+        /**
+         * Encoding of optimized screenshots: {@code jpeg} or {@code png}.
+         */
+        public String getImageFormat() {
+            return imageFormat;
+        }
+
+        public void setImageFormat(String imageFormat) {
+            this.imageFormat = imageFormat;
+        }
+
+        public float getJpegQuality() {
+            return jpegQuality;
+        }
+
+        public void setJpegQuality(float jpegQuality) {
+            this.jpegQuality = jpegQuality;
+        }
+
+        /**
+         * Whether to crop screenshots to the elements that best match the failed step.
+         */
+        public boolean isCropToCandidates() {
+            return cropToCandidates;
+        }
+
+        public void setCropToCandidates(boolean cropToCandidates) {
+            this.cropToCandidates = cropToCandidates;
+        }
+
+        public int getCropCandidates() {
+            return cropCandidates;
+        }
+
+        public void setCropCandidates(int cropCandidates) {
+            this.cropCandidates = cropCandidates;
+        }
+
+        /**
+         * Pixels kept around the candidate elements when cropping.
+         */
+        public int getCropMargin() {
+            return cropMargin;
+        }
+
+        public void setCropMargin(int cropMargin) {
+            this.cropMargin = cropMargin;
+        }
+
         @Override
         public String toString() {
             return "VisionConfig{enabled=" + enabled + ", strategy=" + strategy + "}";
         }
     }
 
+    /**
+     * Adaptive concurrency limits for calls to each provider.
+     */
+    public static class ConcurrencyConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = true;
+
+        @JsonProperty("initial_limit")
+        private int initialLimit = 4;
+
+        @JsonProperty("min_limit")
+        private int minLimit = 1;
+
+        @JsonProperty("max_limit")
+        private int maxLimit = 32;
+
+        @JsonProperty("max_queue_size")
+        private int maxQueueSize = 64;
+
+        @JsonProperty("max_queue_wait_seconds")
+        private int maxQueueWaitSeconds = 30;
+
+        @JsonProperty("latency_tolerance")
+        private double latencyTolerance = 2.0;
+
+        public ConcurrencyConfig() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public int getMaxQueueWaitSeconds() {
+            return maxQueueWaitSeconds;
+        }
+
+        public void setMaxQueueWaitSeconds(int maxQueueWaitSeconds) {
+            this.maxQueueWaitSeconds = maxQueueWaitSeconds;
+        }
+
+        /**
+         * How many times slower than the fastest recent call a call may be before the
+         * limit is reduced.
+         */
+        public double getLatencyTolerance() {
+            return latencyTolerance;
+        }
+
+        public void setLatencyTolerance(double latencyTolerance) {
+            this.latencyTolerance = latencyTolerance;
+        }
+
+        @Override
+        public String toString() {
+            return "ConcurrencyConfig{enabled=" + enabled + ", limit=" + minLimit + ".." + maxLimit
+                    + ", maxQueueSize=" + maxQueueSize + "}";
+        }
+    }
+
+    /**
+     * On-disk cache of LLM responses, keyed by a fingerprint of the prompt.
+     */
+    public static class ResponseCacheConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = false;
+
+        @JsonProperty("directory")
+        private String directory = ".healer/llm-cache";
+
+        @JsonProperty("ttl_hours")
+        private int ttlHours = 168;
+
+        @JsonProperty("max_entries")
+        private int maxEntries = 5000;
+
+        public ResponseCacheConfig() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getTtlHours() {
+            return ttlHours;
+        }
+
+        public void setTtlHours(int ttlHours) {
+            this.ttlHours = ttlHours;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        public String toString() {
+            return "ResponseCacheConfig{enabled=" + enabled + ", directory='" + directory + "'}";
+        }
+    }
+
+    /**
+     * HTTP transport shared by all providers.
+     */
+    public static class TransportConfig {
+        @JsonProperty("http2")
+        private boolean http2 = true;
+
+        @JsonProperty("max_idle_connections")
+        private int maxIdleConnections = 8;
+
+        @JsonProperty("keep_alive_seconds")
+        private int keepAliveSeconds = 300;
+
+        @JsonProperty("warm_up")
+        private boolean warmUp = false;
+
+        @JsonProperty("compress_requests")
+        private boolean compressRequests = false;
+
+        @JsonProperty("compression_min_bytes")
+        private int compressionMinBytes = 1024;
+
+        public TransportConfig() {
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        public int getMaxIdleConnections() {
+            return maxIdleConnections;
+        }
+
+        public void setMaxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+        }
+
+        public int getKeepAliveSeconds() {
+            return keepAliveSeconds;
+        }
+
+        public void setKeepAliveSeconds(int keepAliveSeconds) {
+            this.keepAliveSeconds = keepAliveSeconds;
+        }
+
+        /**
+         * Whether to open a connection to the provider when the engine starts, so the first
+         * heal does not pay for DNS, TCP and TLS.
+         */
+        public boolean isWarmUp() {
+            return warmUp;
+        }
+
+        public void setWarmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+        }
+
+        /**
+         * Whether to gzip request bodies. Endpoints that answer 415 are remembered and sent
+         * plain bodies from then on.
+         */
+        public boolean isCompressRequests() {
+            return compressRequests;
+        }
+
+        public void setCompressRequests(boolean compressRequests) {
+            this.compressRequests = compressRequests;
+        }
+
+        public int getCompressionMinBytes() {
+            return compressionMinBytes;
+        }
+
+        public void setCompressionMinBytes(int compressionMinBytes) {
+            this.compressionMinBytes = compressionMinBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "TransportConfig{http2=" + http2 + ", maxIdleConnections=" + maxIdleConnections
+                    + ", warmUp=" + warmUp + ", compressRequests=" + compressRequests + "}";
+        }
+    }
+
     /**
      * Vision strategy for healing.
      */
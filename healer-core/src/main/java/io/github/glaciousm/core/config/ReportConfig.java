@@ -28,6 +28,15 @@ public class ReportConfig {
     @JsonProperty("max_artifacts_per_report")
     private int maxArtifactsPerReport = 100;
 
+    @JsonProperty("capture_journal")
+    private boolean captureJournal = false;
+
+    @JsonProperty("event_log")
+    private boolean eventLog = false;
+
+    @JsonProperty("summary_memory_cap")
+    private int summaryMemoryCap = 200;
+
     public ReportConfig() {
     }
 
@@ -87,6 +96,42 @@ public class ReportConfig {
         this.maxArtifactsPerReport = maxArtifactsPerReport;
     }
 
+    /**
+     * Whether each heal's failure and page snapshot are appended to the capture journal
+     * in the output directory, for re-healing offline with {@code healer replay}.
+     */
+    public boolean isCaptureJournal() {
+        return captureJournal;
+    }
+
+    public void setCaptureJournal(boolean captureJournal) {
+        this.captureJournal = captureJournal;
+    }
+
+    /**
+     * Whether each finished heal is appended to the heal event log in the output directory,
+     * which the IDE plugins follow for live events and history.
+     */
+    public boolean isEventLog() {
+        return eventLog;
+    }
+
+    public void setEventLog(boolean eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * How many heals the run's healing summary keeps in memory; the rest, and all
+     * screenshots, are read back from its spill file in the temp directory.
+     */
+    public int getSummaryMemoryCap() {
+        return summaryMemoryCap;
+    }
+
+    public void setSummaryMemoryCap(int summaryMemoryCap) {
+        this.summaryMemoryCap = summaryMemoryCap;
+    }
+
     /**
      * Check if reporting is enabled (at least one format enabled).
      */
@@ -0,0 +1,99 @@
+package io.github.glaciousm.core.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.glaciousm.core.engine.prediction.RegressionPredictor.RiskLevel;
+
+/**
+ * Configuration for speculative pre-healing.
+ * When enabled, the first visit to a page in a run checks the locators that heal history
+ * rates as at risk there, and heals the ones that no longer resolve in the background,
+ * before the test asks for them.
+ */
+public class SpeculativeConfig {
+
+    @JsonProperty("enabled")
+    private boolean enabled = false;
+
+    @JsonProperty("min_risk_level")
+    private RiskLevel minRiskLevel = RiskLevel.HIGH;
+
+    @JsonProperty("max_locators_per_page")
+    private int maxLocatorsPerPage = 10;
+
+    @JsonProperty("threads")
+    private int threads = 2;
+
+    @JsonProperty("wait_timeout_seconds")
+    private int waitTimeoutSeconds = 30;
+
+    @JsonProperty("history_dir")
+    private String historyDir = ".healer/prediction";
+
+    public SpeculativeConfig() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Lowest locator risk that is pre-healed. One level lower is used while heal history
+     * suggests a deployment is due.
+     */
+    public RiskLevel getMinRiskLevel() {
+        return minRiskLevel;
+    }
+
+    public void setMinRiskLevel(RiskLevel minRiskLevel) {
+        this.minRiskLevel = minRiskLevel;
+    }
+
+    public int getMaxLocatorsPerPage() {
+        return maxLocatorsPerPage;
+    }
+
+    public void setMaxLocatorsPerPage(int maxLocatorsPerPage) {
+        this.maxLocatorsPerPage = maxLocatorsPerPage;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * How long a test waits for a pre-heal of its locator that is still in flight
+     * before healing it itself.
+     */
+    public int getWaitTimeoutSeconds() {
+        return waitTimeoutSeconds;
+    }
+
+    public void setWaitTimeoutSeconds(int waitTimeoutSeconds) {
+        this.waitTimeoutSeconds = waitTimeoutSeconds;
+    }
+
+    /**
+     * Directory where heal history is kept between runs.
+     */
+    public String getHistoryDir() {
+        return historyDir;
+    }
+
+    public void setHistoryDir(String historyDir) {
+        this.historyDir = historyDir;
+    }
+
+    @Override
+    public String toString() {
+        return "SpeculativeConfig{enabled=" + enabled + ", minRiskLevel=" + minRiskLevel
+                + ", maxLocatorsPerPage=" + maxLocatorsPerPage + ", threads=" + threads + "}";
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.glaciousm.core.engine;
+
+import io.github.glaciousm.core.model.ElementSnapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Builds one locator that matches every element of a list, for healing {@code findElements}.
+ *
+ * <p>The members are the elements the LLM listed in the decision's collection indices. The
+ * locator uses what they share: their tag with up to two stable classes, else a shared
+ * test id, name or role. Locators use the engine's "strategy=value" format. The caller still
+ * has to check that the locator matches exactly the members on the page, since other
+ * elements may share the same attributes.</p>
+ */
+public final class CollectionLocatorGenerator {
+
+    /** Test id data attributes, keyed as in {@link ElementSnapshot#getDataAttributes()}. */
+    private static final List<String> TEST_ID_ATTRIBUTES = List.of("testid", "test", "qa", "cy");
+
+    private CollectionLocatorGenerator() {
+    }
+
+    /**
+     * Generate a locator matching all the given members.
+     *
+     * @param members the list elements
+     * @return the collection locator, or empty if the members do not share a tag or share
+     *         nothing else to select them by
+     */
+    public static Optional<String> generate(List<ElementSnapshot> members) {
+        if (members == null || members.isEmpty() || members.get(0).getTagName() == null) {
+            return Optional.empty();
+        }
+        String tag = members.get(0).getTagName().toLowerCase();
+        if (!members.stream().allMatch(m -> tag.equalsIgnoreCase(m.getTagName()))) {
+            return Optional.empty();
+        }
+
+        List<String> classes = sharedClasses(members);
+        if (!classes.isEmpty()) {
+            StringBuilder css = new StringBuilder(tag);
+            classes.stream().limit(2).forEach(c -> css.append('.').append(c));
+            return Optional.of("css=" + css);
+        }
+
+        for (String attribute : TEST_ID_ATTRIBUTES) {
+            String value = shared(members, m -> m.getDataAttributes().get(attribute));
+            if (value != null) {
+                return Optional.of(attributeLocator(tag, "data-" + attribute, value));
+            }
+        }
+
+        String name = shared(members, ElementSnapshot::getName);
+        if (name != null) {
+            return Optional.of(attributeLocator(tag, "name", name));
+        }
+
+        String role = shared(members, ElementSnapshot::getAriaRole);
+        if (role != null) {
+            return Optional.of(attributeLocator(tag, "role", role));
+        }
+        return Optional.empty();
+    }
+
+    private static List<String> sharedClasses(List<ElementSnapshot> members) {
+        Set<String> shared = null;
+        for (ElementSnapshot member : members) {
+            Set<String> classes = new LinkedHashSet<>();
+            if (member.getClasses() != null) {
+                member.getClasses().stream()
+                        .filter(c -> c != null && !c.isBlank() && !HealingEngine.looksLikeDynamicClass(c))
+                        .forEach(classes::add);
+            }
+            if (shared == null) {
+                shared = classes;
+            } else {
+                shared.retainAll(classes);
+            }
+        }
+        return shared == null ? List.of() : new ArrayList<>(shared);
+    }
+
+    private static String shared(List<ElementSnapshot> members,
+                                 Function<ElementSnapshot, String> attribute) {
+        String value = attribute.apply(members.get(0));
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (ElementSnapshot member : members) {
+            if (!Objects.equals(value, attribute.apply(member))) {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    private static String attributeLocator(String tag, String attribute, String value) {
+        return "css=" + tag + "[" + attribute + "=\"" + value.replace("\"", "\\\"") + "\"]";
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.glaciousm.core.engine;
 
+import io.github.glaciousm.core.model.TokenUsage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,14 +21,15 @@ public class CostProjector {
     private static final double DEFAULT_DEVELOPER_HOURLY_RATE = 75.0;
     private static final double DEFAULT_AVG_MANUAL_FIX_MINUTES = 15.0;
 
-    // Model pricing (per 1K tokens, approximate as of late 2024)
+    // Model pricing (per 1K tokens, approximate as of late 2024).
+    // Cached input costs half the input rate at OpenAI and a tenth at Anthropic.
     private static final Map<String, TokenPricing> MODEL_PRICING = Map.of(
             "gpt-4", new TokenPricing(0.03, 0.06),
             "gpt-4-turbo", new TokenPricing(0.01, 0.03),
             "gpt-3.5-turbo", new TokenPricing(0.0005, 0.0015),
-            "claude-3-opus", new TokenPricing(0.015, 0.075),
-            "claude-3-sonnet", new TokenPricing(0.003, 0.015),
-            "claude-3-haiku", new TokenPricing(0.00025, 0.00125),
+            "claude-3-opus", new TokenPricing(0.015, 0.075, 0.0015),
+            "claude-3-sonnet", new TokenPricing(0.003, 0.015, 0.0003),
+            "claude-3-haiku", new TokenPricing(0.00025, 0.00125, 0.000025),
             "llama3", new TokenPricing(0.0, 0.0),  // Local/free
             "ollama", new TokenPricing(0.0, 0.0),  // Local/free
             "mock", new TokenPricing(0.0, 0.0)    // Mock provider
@@ -301,13 +303,26 @@ public class CostProjector {
      * @return estimated cost in USD
      */
     public double estimateHealCost(String model, int inputTokens, int outputTokens) {
-        TokenPricing pricing = MODEL_PRICING.getOrDefault(
-                model.toLowerCase(),
+        return pricingFor(model).estimateCost(inputTokens, outputTokens);
+    }
+
+    /**
+     * Cost of a request from the token counts the provider reported, billing cached
+     * input tokens at the model's cached rate and cache writes at the write rate.
+     *
+     * @param usage token counts of the request
+     * @return cost in USD
+     */
+    public double estimateHealCost(TokenUsage usage) {
+        return pricingFor(usage.getModel()).estimateCost(usage.getUncachedInputTokens(),
+                usage.getCachedInputTokens(), usage.getCacheWriteInputTokens(), usage.getOutputTokens());
+    }
+
+    private static TokenPricing pricingFor(String model) {
+        return MODEL_PRICING.getOrDefault(
+                model != null ? model.toLowerCase() : "",
                 new TokenPricing(0.001, 0.002) // Default pricing
         );
-
-        return (inputTokens / 1000.0 * pricing.inputPer1K())
-                + (outputTokens / 1000.0 * pricing.outputPer1K());
     }
 
     /**
@@ -323,17 +338,45 @@ public class CostProjector {
             Instant timestamp,
             String model,
             int inputTokens,
+            int cachedInputTokens,
             int outputTokens,
             double costUsd,
             boolean wasSuccessful
-    ) {}
+    ) {
+        public HealCostRecord(Instant timestamp, String model, int inputTokens, int outputTokens,
+                              double costUsd, boolean wasSuccessful) {
+            this(timestamp, model, inputTokens, 0, outputTokens, costUsd, wasSuccessful);
+        }
+    }
 
     public record TokenPricing(
             double inputPer1K,
-            double outputPer1K
+            double outputPer1K,
+            double cachedInputPer1K
     ) {
+        /** Prompt cache writes cost this much more than uncached input. */
+        public static final double CACHE_WRITE_MULTIPLIER = 1.25;
+
+        public TokenPricing(double inputPer1K, double outputPer1K) {
+            this(inputPer1K, outputPer1K, inputPer1K / 2);
+        }
+
         public double estimateCost(int inputTokens, int outputTokens) {
-            return (inputTokens / 1000.0 * inputPer1K)
+            return estimateCost(inputTokens, 0, outputTokens);
+        }
+
+        public double estimateCost(int uncachedInputTokens, int cachedInputTokens, int outputTokens) {
+            return estimateCost(uncachedInputTokens, cachedInputTokens, 0, outputTokens);
+        }
+
+        /**
+         * Cost with cache writes billed at {@link #CACHE_WRITE_MULTIPLIER} times the input rate.
+         */
+        public double estimateCost(int uncachedInputTokens, int cachedInputTokens, int cacheWriteInputTokens,
+                                   int outputTokens) {
+            return (uncachedInputTokens / 1000.0 * inputPer1K)
+                    + (cachedInputTokens / 1000.0 * cachedInputPer1K)
+                    + (cacheWriteInputTokens / 1000.0 * inputPer1K * CACHE_WRITE_MULTIPLIER)
                     + (outputTokens / 1000.0 * outputPer1K);
         }
     }
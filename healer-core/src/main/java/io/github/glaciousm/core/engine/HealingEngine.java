@@ -1,26 +1,40 @@
 package io.github.glaciousm.core.engine;
 
 import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.config.ReportConfig;
 import io.github.glaciousm.core.engine.approval.ApprovalCallback;
 import io.github.glaciousm.core.engine.approval.ApprovalDecision;
 import io.github.glaciousm.core.engine.approval.ApprovalWorkflow;
 import io.github.glaciousm.core.engine.approval.HealProposal;
+import io.github.glaciousm.core.engine.blacklist.HealBlacklist;
+import io.github.glaciousm.core.engine.circuit.CircuitBreaker;
+import io.github.glaciousm.core.engine.classifier.FailureClassifier;
 import io.github.glaciousm.core.engine.guardrails.GuardrailChecker;
+import io.github.glaciousm.core.engine.history.HealEventLog;
+import io.github.glaciousm.core.engine.history.HealEventRecord;
 import io.github.glaciousm.core.engine.notification.NotificationConfig;
 import io.github.glaciousm.core.engine.notification.NotificationService;
 import io.github.glaciousm.core.engine.notification.NotificationService.HealNotification;
+import io.github.glaciousm.core.engine.replay.HealCapture;
+import io.github.glaciousm.core.engine.replay.HealJournal;
 import io.github.glaciousm.core.engine.sharing.PatternSharingService;
 import io.github.glaciousm.core.engine.sharing.PatternSharingService.*;
 import io.github.glaciousm.core.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -33,21 +47,36 @@ public class HealingEngine {
 
     private final HealerConfig config;
     private final GuardrailChecker guardrails;
+    private final FailureClassifier failureClassifier = new FailureClassifier();
+    private final CircuitBreaker circuitBreaker;
     private final NotificationService notificationService;
     private final PatternSharingService patternSharingService;
 
     // Pluggable components
     private Function<FailureContext, UiSnapshot> snapshotCapture;
-    private BiFunction<FailureContext, UiSnapshot, HealDecision> llmEvaluator;
+    private TriFunction<FailureContext, UiSnapshot, IntentContract, HealDecision> llmEvaluator;
+    private Function<BatchHealRequest, Map<String, HealDecision>> batchLlmEvaluator;
     private TriFunction<ActionType, ElementSnapshot, Object, Void> actionExecutor;
     private Function<ExecutionContext, OutcomeResult> outcomeValidator;
+    private TriConsumer<FailureContext, UiSnapshot, IntentContract> rejectedDecisionHandler;
+    private Consumer<BatchHealRequest> rejectedBatchHandler;
 
     // Optional approval workflow for CONFIRM mode
     private ApprovalWorkflow approvalWorkflow;
 
+    // Optional blacklist consulted during triage
+    private HealBlacklist blacklist;
+
+    // Optional journal of heal inputs for offline replay
+    private HealJournal journal;
+
+    // Optional log of finished heals followed by the IDE plugins
+    private HealEventLog eventLog;
+
     public HealingEngine(HealerConfig config) {
         this.config = Objects.requireNonNull(config, "config cannot be null");
         this.guardrails = new GuardrailChecker(config.getGuardrails());
+        this.circuitBreaker = new CircuitBreaker(config.getCircuitBreaker());
 
         // Initialize notification service if configured
         NotificationConfig notificationConfig = config.getNotification();
@@ -64,6 +93,15 @@ public class HealingEngine {
         } else {
             this.patternSharingService = new PatternSharingService();
         }
+
+        ReportConfig reportConfig = config.getReport();
+        if (reportConfig != null && reportConfig.isCaptureJournal()) {
+            this.journal = new HealJournal(Path.of(reportConfig.getOutputDir(), HealJournal.FILE_NAME),
+                    reportConfig.isIncludeScreenshots());
+        }
+        if (reportConfig != null && reportConfig.isEventLog()) {
+            this.eventLog = new HealEventLog(Path.of(reportConfig.getOutputDir()));
+        }
     }
 
     /**
@@ -74,12 +112,28 @@ public class HealingEngine {
     }
 
     /**
-     * Set the LLM evaluator function.
+     * Set the LLM evaluator function, for evaluators that do not need the step's intent.
      */
     public void setLlmEvaluator(BiFunction<FailureContext, UiSnapshot, HealDecision> llmEvaluator) {
+        this.llmEvaluator = llmEvaluator != null ? (failure, snapshot, intent) -> llmEvaluator.apply(failure, snapshot)
+                : null;
+    }
+
+    /**
+     * Set the LLM evaluator function, which is given the intent of the heal being attempted.
+     */
+    public void setLlmEvaluator(TriFunction<FailureContext, UiSnapshot, IntentContract, HealDecision> llmEvaluator) {
         this.llmEvaluator = llmEvaluator;
     }
 
+    /**
+     * Set the batched LLM evaluator used by {@link #attemptHealAll}.
+     * When not set, batched heals fall back to one LLM evaluation per failure.
+     */
+    public void setBatchLlmEvaluator(Function<BatchHealRequest, Map<String, HealDecision>> batchLlmEvaluator) {
+        this.batchLlmEvaluator = batchLlmEvaluator;
+    }
+
     /**
      * Set the action executor function.
      */
@@ -94,6 +148,38 @@ public class HealingEngine {
         this.outcomeValidator = outcomeValidator;
     }
 
+    /**
+     * Set the function told when a decision from the LLM evaluator is not used: refused by
+     * the post-LLM guardrails or approval, or its action or outcome check failed. Lets a
+     * response cache drop the decision instead of replaying it.
+     */
+    public void setRejectedDecisionHandler(BiConsumer<FailureContext, UiSnapshot> rejectedDecisionHandler) {
+        this.rejectedDecisionHandler = rejectedDecisionHandler != null
+                ? (failure, snapshot, intent) -> rejectedDecisionHandler.accept(failure, snapshot)
+                : null;
+    }
+
+    /**
+     * Set the function told when a decision from the LLM evaluator is not used, given the
+     * intent the decision was made for.
+     *
+     * @see #setRejectedDecisionHandler(BiConsumer)
+     */
+    public void setRejectedDecisionHandler(
+            TriConsumer<FailureContext, UiSnapshot, IntentContract> rejectedDecisionHandler) {
+        this.rejectedDecisionHandler = rejectedDecisionHandler;
+    }
+
+    /**
+     * Set the function told when a decision from the batched LLM evaluator is refused by the
+     * post-LLM guardrails or approval.
+     *
+     * @see #setRejectedDecisionHandler
+     */
+    public void setRejectedBatchHandler(Consumer<BatchHealRequest> rejectedBatchHandler) {
+        this.rejectedBatchHandler = rejectedBatchHandler;
+    }
+
     /**
      * Set the approval workflow for CONFIRM mode.
      * When set, heals with CONFIRM policy will require approval before execution.
@@ -102,6 +188,52 @@ public class HealingEngine {
         this.approvalWorkflow = approvalWorkflow;
     }
 
+    /**
+     * Set the blacklist consulted during triage.
+     * Originals blacklisted outright are refused before any capture work.
+     */
+    public void setBlacklist(HealBlacklist blacklist) {
+        this.blacklist = blacklist;
+    }
+
+    /**
+     * Set the journal that heal inputs are recorded to, or null to stop recording.
+     * Created from {@code report.capture_journal} by default.
+     */
+    public void setJournal(HealJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Set the log that finished heals are appended to, or null to stop logging.
+     * Created from {@code report.event_log} by default.
+     */
+    public void setEventLog(HealEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Get the circuit breaker fed by heal outcomes.
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Decide whether a failure is worth healing, using only what is known before any
+     * screenshot or snapshot is taken: the failure classification, the circuit breaker,
+     * the pre-LLM guardrails, forbidden URLs and the blacklist.
+     *
+     * <p>Integrations that capture evidence themselves should call this first and skip
+     * capturing when it refuses. It does not use up a half-open circuit attempt; the
+     * heal itself does.</p>
+     *
+     * @param pageUrl current page URL, or null if unknown
+     */
+    public GuardrailResult triage(FailureContext failure, IntentContract intent, String pageUrl) {
+        return triage(failure, intent, pageUrl, false);
+    }
+
     /**
      * Attempt to heal a test failure.
      */
@@ -112,8 +244,39 @@ public class HealingEngine {
     /**
      * Attempt to heal a test failure with a pre-captured snapshot.
      * This is useful when the snapshot has already been captured (e.g., in agent mode).
+     *
+     * <p>The circuit breaker is consulted here as in every heal, whether or not the
+     * caller ran {@link #triage} before capturing the snapshot.</p>
      */
     public HealResult attemptHeal(FailureContext failure, IntentContract intent, UiSnapshot preSnapshot) {
+        HealResult result = heal(failure, intent, preSnapshot, null);
+        recordOutcome(failure, result);
+        return result;
+    }
+
+    /**
+     * Heal a failure with a decision made ahead of time by {@link #preHealAll}, against the
+     * snapshot it was made from. Everything but the LLM call runs as in {@link #attemptHeal}:
+     * triage, guardrails, approval, the action and outcome validation, notification, pattern
+     * learning, the circuit breaker and the event log.
+     *
+     * @param snapshot the snapshot the decision's element index refers to
+     * @param decision the decision from the pre-heal
+     */
+    public HealResult applyPreHeal(FailureContext failure, IntentContract intent, UiSnapshot snapshot,
+                                   HealDecision decision) {
+        HealResult result = heal(failure, intent, Objects.requireNonNull(snapshot, "snapshot"),
+                Objects.requireNonNull(decision, "decision"));
+        recordOutcome(failure, result);
+        return result;
+    }
+
+    /**
+     * @param preDecision a decision made ahead of time, used instead of the pattern lookup
+     *                    and the LLM, or null
+     */
+    private HealResult heal(FailureContext failure, IntentContract intent, UiSnapshot preSnapshot,
+                            HealDecision preDecision) {
         Instant startTime = Instant.now();
 
         try {
@@ -122,10 +285,10 @@ public class HealingEngine {
                 return HealResult.refused("Healing is disabled");
             }
 
-            // 1. Pre-LLM guardrail check
-            GuardrailResult preCheck = guardrails.checkPreLlm(failure, intent);
+            // 1. Triage
+            GuardrailResult preCheck = triage(failure, intent, null, true);
             if (preCheck.isRefused()) {
-                logger.info("Pre-LLM guardrail refused: {}", preCheck.getReason());
+                logger.info("Triage refused: {}", preCheck.getReason());
                 return HealResult.refused(preCheck.getReason());
             }
 
@@ -147,48 +310,22 @@ public class HealingEngine {
             if (urlCheck.isRefused()) {
                 return HealResult.refused(urlCheck.getReason());
             }
-
-            // 2.5. Check for matching patterns (skip LLM if high-confidence match found)
-            if (failure.getOriginalLocator() != null) {
-                List<PatternMatch> patternMatches = patternSharingService.findMatchingPatterns(
-                        failure.getOriginalLocator(), snapshot.getUrl());
-
-                if (!patternMatches.isEmpty()) {
-                    PatternMatch bestMatch = patternMatches.get(0);
-                    // Use pattern if similarity is very high (>= 0.85)
-                    if (bestMatch.similarity() >= 0.85 && bestMatch.pattern().successRate() >= 0.8) {
-                        logger.info("Using cached pattern with {}% similarity and {}% success rate",
-                                Math.round(bestMatch.similarity() * 100),
-                                Math.round(bestMatch.pattern().successRate() * 100));
-
-                        // Create heal decision from pattern
-                        HealDecision patternDecision = HealDecision.builder()
-                                .canHeal(true)
-                                .confidence(bestMatch.pattern().avgConfidence())
-                                .reasoning("Matched existing pattern: " + bestMatch.pattern().patternId())
-                                .selectedElementIndex(-1) // Special marker for pattern-based heal
-                                .build();
-
-                        HealResult patternResult = HealResult.builder()
-                                .outcome(HealOutcome.SUCCESS)
-                                .decision(patternDecision)
-                                .healedLocator(bestMatch.pattern().healedSignature())
-                                .confidence(bestMatch.pattern().avgConfidence())
-                                .reasoning("Pattern match from " + bestMatch.source())
-                                .duration(Duration.between(startTime, Instant.now()))
-                                .build();
-
-                        sendNotification(failure, patternResult);
-                        return patternResult;
-                    }
+            recordCapture(failure, intent, snapshot);
+
+            HealDecision decision = preDecision;
+            if (decision == null) {
+                // 2.5. Check for matching patterns (skip LLM if high-confidence match found)
+                Optional<HealResult> patternResult = tryPatternHeal(failure, snapshot, startTime, false);
+                if (patternResult.isPresent()) {
+                    return patternResult.get();
                 }
-            }
 
-            // 3. Get LLM decision
-            if (llmEvaluator == null) {
-                return HealResult.failed("LLM evaluator not configured");
+                // 3. Get LLM decision
+                if (llmEvaluator == null) {
+                    return HealResult.failed("LLM evaluator not configured");
+                }
+                decision = llmEvaluator.apply(failure, snapshot, intent);
             }
-            HealDecision decision = llmEvaluator.apply(failure, snapshot);
 
             // 4. Check if LLM decided not to heal
             if (!decision.canHeal()) {
@@ -211,6 +348,7 @@ public class HealingEngine {
             GuardrailResult postCheck = guardrails.checkPostLlm(decision, chosenElement, snapshot);
             if (postCheck.isRefused()) {
                 logger.info("Post-LLM guardrail refused: {}", postCheck.getReason());
+                rejectDecision(failure, intent, snapshot);
                 return HealResult.builder()
                         .outcome(HealOutcome.REFUSED)
                         .decision(decision)
@@ -232,40 +370,10 @@ public class HealingEngine {
             }
 
             // 7.5. Handle CONFIRM mode (require approval before executing)
-            if (intent.getPolicy() == HealPolicy.CONFIRM && approvalWorkflow != null) {
-                // Generate proposed locator for the approval request
-                String proposedLocatorStr = generateLocatorFromElement(chosenElement);
-                LocatorInfo proposedLocator = parseLocatorString(proposedLocatorStr);
-
-                // Create proposal
-                HealProposal proposal = HealProposal.builder()
-                        .featureName(failure.getFeatureName())
-                        .scenarioName(failure.getScenarioName())
-                        .stepText(failure.getStepText())
-                        .originalLocator(failure.getOriginalLocator())
-                        .proposedLocator(proposedLocator)
-                        .actionType(failure.getActionType())
-                        .confidence(decision.getConfidence())
-                        .reasoning(decision.getReasoning())
-                        .pageUrl(snapshot.getUrl())
-                        .build();
-
-                logger.info("Submitting heal proposal for approval: {}", proposal.getId());
-
-                // Submit for approval - this may block waiting for human approval
-                ApprovalDecision approvalDecision = approvalWorkflow.submitForApproval(proposal, intent.getPolicy());
-
-                if (!approvalDecision.isApproved()) {
-                    logger.info("Heal proposal {} was rejected: {}", proposal.getId(), approvalDecision.getReason());
-                    return HealResult.builder()
-                            .outcome(HealOutcome.REFUSED)
-                            .decision(decision)
-                            .failureReason("Approval rejected: " + approvalDecision.getReason())
-                            .duration(Duration.between(startTime, Instant.now()))
-                            .build();
-                }
-
-                logger.info("Heal proposal {} was approved", proposal.getId());
+            Optional<HealResult> rejected = requestApproval(failure, intent, decision, chosenElement, snapshot, startTime);
+            if (rejected.isPresent()) {
+                rejectDecision(failure, intent, snapshot);
+                return rejected.get();
             }
 
             // 8. Execute the healed action
@@ -274,6 +382,7 @@ public class HealingEngine {
                     actionExecutor.apply(failure.getActionType(), chosenElement, failure.getActionData());
                 } catch (Exception e) {
                     logger.error("Action execution failed: {}", e.getMessage());
+                    rejectDecision(failure, intent, snapshot);
                     HealResult actionFailedResult = HealResult.builder()
                             .outcome(HealOutcome.FAILED)
                             .decision(decision)
@@ -290,6 +399,7 @@ public class HealingEngine {
                 ExecutionContext ctx = new ExecutionContext(null, snapshot);
                 OutcomeResult outcomeResult = outcomeValidator.apply(ctx);
                 if (outcomeResult.isFailed()) {
+                    rejectDecision(failure, intent, snapshot);
                     HealResult outcomeFailedResult = HealResult.builder()
                             .outcome(HealOutcome.OUTCOME_FAILED)
                             .decision(decision)
@@ -338,6 +448,480 @@ public class HealingEngine {
         }
     }
 
+    /**
+     * Heal several pending failures from the same page in one pass.
+     * One snapshot is captured (unless supplied) and every failure that survives the
+     * pre-LLM guardrails and pattern lookup is sent to the LLM in a single batched request.
+     *
+     * <p>Unlike {@link #attemptHeal}, no action is executed and no outcome is validated:
+     * each result carries the healed locator for the caller to re-resolve.</p>
+     *
+     * @param pending     the failures to heal, each with a caller-chosen id
+     * @param preSnapshot optional pre-captured snapshot shared by all failures
+     * @return one result per failure id, in submission order
+     */
+    public Map<String, HealResult> attemptHealAll(List<BatchHealRequest.Item> pending, UiSnapshot preSnapshot) {
+        return attemptHealAll(pending, preSnapshot, null);
+    }
+
+    /**
+     * Heal several pending failures from the same page in one pass, with context
+     * shared by all failures (e.g. a flow description) added to the batched prompt.
+     *
+     * @see #attemptHealAll(List, UiSnapshot)
+     */
+    public Map<String, HealResult> attemptHealAll(List<BatchHealRequest.Item> pending, UiSnapshot preSnapshot,
+                                                  String sharedContext) {
+        return healAll(pending, preSnapshot, sharedContext, false);
+    }
+
+    /**
+     * Heal failures that have not happened yet, for speculative healing. Works like
+     * {@link #attemptHealAll(List, UiSnapshot)}, but a pre-heal may never be used, so it
+     * takes no half-open circuit attempt, its outcome is not fed to the circuit breaker or
+     * the event log, and nothing is notified, approved or learned. A CONFIRM-policy heal comes
+     * back {@link HealOutcome#SUGGESTED} with its decision, still pending approval. A pre-heal
+     * the test ends up using goes through {@link #applyPreHeal}, which does all of that.
+     *
+     * @param pending  the at-risk locators to heal, each with a caller-chosen id
+     * @param snapshot the page they are healed against
+     * @return one result per failure id, in submission order
+     */
+    public Map<String, HealResult> preHealAll(List<BatchHealRequest.Item> pending, UiSnapshot snapshot) {
+        return healAll(pending, snapshot, null, true);
+    }
+
+    private Map<String, HealResult> healAll(List<BatchHealRequest.Item> pending, UiSnapshot preSnapshot,
+                                            String sharedContext, boolean speculative) {
+        Instant startTime = Instant.now();
+        Map<String, HealResult> results = new LinkedHashMap<>();
+        if (pending == null || pending.isEmpty()) {
+            return results;
+        }
+
+        if (!config.isEnabled()) {
+            pending.forEach(item -> results.put(item.failureId(), HealResult.refused("Healing is disabled")));
+            return results;
+        }
+
+        // 1. Triage per failure
+        List<BatchHealRequest.Item> eligible = new ArrayList<>();
+        for (BatchHealRequest.Item item : pending) {
+            GuardrailResult preCheck = triage(item.failure(), item.intent(), null, !speculative);
+            if (preCheck.isRefused()) {
+                logger.info("Triage refused {}: {}", item.failureId(), preCheck.getReason());
+                results.put(item.failureId(), HealResult.refused(preCheck.getReason()));
+            } else {
+                eligible.add(item);
+            }
+        }
+
+        if (eligible.isEmpty()) {
+            return completeBatch(pending, results, List.of(), null, speculative);
+        }
+
+        try {
+            // 2. One snapshot for the whole page
+            UiSnapshot snapshot = preSnapshot;
+            if (snapshot == null) {
+                if (snapshotCapture == null) {
+                    return completeBatch(pending, results, eligible, HealResult.failed("Snapshot capture not configured"),
+                            speculative);
+                }
+                snapshot = snapshotCapture.apply(eligible.get(0).failure());
+            }
+
+            if (snapshot == null || !snapshot.hasElements()) {
+                return completeBatch(pending, results, eligible, HealResult.failed("No interactive elements found on page"),
+                        speculative);
+            }
+
+            GuardrailResult urlCheck = guardrails.checkUrl(snapshot.getUrl());
+            if (urlCheck.isRefused()) {
+                return completeBatch(pending, results, eligible, HealResult.refused(urlCheck.getReason()), speculative);
+            }
+            if (!speculative) {
+                for (BatchHealRequest.Item item : eligible) {
+                    recordCapture(item.failure(), item.intent(), snapshot);
+                }
+            }
+
+            // 2.5. Pattern matches are resolved without the LLM
+            List<BatchHealRequest.Item> toEvaluate = new ArrayList<>();
+            for (BatchHealRequest.Item item : eligible) {
+                Optional<HealResult> patternResult = tryPatternHeal(item.failure(), snapshot, startTime,
+                        speculative);
+                if (patternResult.isPresent()) {
+                    results.put(item.failureId(), patternResult.get());
+                } else {
+                    toEvaluate.add(item);
+                }
+            }
+
+            // 3. One LLM call for everything that is left
+            if (!toEvaluate.isEmpty()) {
+                BatchHealRequest request = BatchHealRequest.builder()
+                        .snapshot(snapshot)
+                        .items(toEvaluate)
+                        .sharedContext(sharedContext)
+                        .build();
+                Map<String, HealDecision> decisions = evaluateBatch(request);
+                if (decisions == null) {
+                    return completeBatch(pending, results, toEvaluate, HealResult.failed("LLM evaluator not configured"),
+                            speculative);
+                }
+
+                boolean batchRejected = false;
+                for (BatchHealRequest.Item item : toEvaluate) {
+                    HealDecision decision = decisions.get(item.failureId());
+                    if (decision == null) {
+                        results.put(item.failureId(), HealResult.failed("No decision returned for failure"));
+                        continue;
+                    }
+                    HealResult result = resolveBatchDecision(item, decision, snapshot, startTime, speculative);
+                    results.put(item.failureId(), result);
+                    if (decision.canHeal() && result.isRefused()) {
+                        batchRejected = true;
+                        if (batchLlmEvaluator == null) {
+                            rejectDecision(item.failure(), item.intent(), snapshot);
+                        }
+                    }
+                }
+                if (batchRejected && batchLlmEvaluator != null && rejectedBatchHandler != null) {
+                    notifyRejected(() -> rejectedBatchHandler.accept(request));
+                }
+            }
+
+            return completeBatch(pending, results, List.of(), null, speculative);
+
+        } catch (Exception e) {
+            logger.error("Unexpected error during batched healing: {}", e.getMessage(), e);
+            HealResult failedResult = HealResult.builder()
+                    .outcome(HealOutcome.FAILED)
+                    .failureReason("Unexpected error: " + e.getMessage())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+            return completeBatch(pending, results, pending, failedResult, speculative);
+        }
+    }
+
+    /**
+     * Evaluate a batch with the batched evaluator, or failure by failure when only
+     * the single evaluator is configured. Returns null if no evaluator is configured.
+     */
+    private Map<String, HealDecision> evaluateBatch(BatchHealRequest request) {
+        if (batchLlmEvaluator != null) {
+            return batchLlmEvaluator.apply(request);
+        }
+        if (llmEvaluator == null) {
+            return null;
+        }
+        Map<String, HealDecision> decisions = new LinkedHashMap<>();
+        for (BatchHealRequest.Item item : request.getItems()) {
+            decisions.put(item.failureId(), llmEvaluator.apply(item.failure(), request.getSnapshot(), item.intent()));
+        }
+        return decisions;
+    }
+
+    /**
+     * Turn a batched LLM decision into a locator-only heal result.
+     */
+    private HealResult resolveBatchDecision(BatchHealRequest.Item item, HealDecision decision,
+                                            UiSnapshot snapshot, Instant startTime, boolean speculative) {
+        FailureContext failure = item.failure();
+        IntentContract intent = item.intent();
+
+        if (!decision.canHeal()) {
+            return HealResult.builder()
+                    .outcome(HealOutcome.REFUSED)
+                    .decision(decision)
+                    .failureReason(decision.getRefusalReason())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+        }
+
+        Optional<ElementSnapshot> chosenOpt = snapshot.getElement(decision.getSelectedElementIndex());
+        if (chosenOpt.isEmpty()) {
+            return HealResult.failed("Selected element index not found in snapshot");
+        }
+        ElementSnapshot chosenElement = chosenOpt.get();
+
+        GuardrailResult postCheck = guardrails.checkPostLlm(decision, chosenElement, snapshot);
+        if (postCheck.isRefused()) {
+            logger.info("Post-LLM guardrail refused {}: {}", item.failureId(), postCheck.getReason());
+            return HealResult.builder()
+                    .outcome(HealOutcome.REFUSED)
+                    .decision(decision)
+                    .failureReason(postCheck.getReason())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+        }
+
+        if (intent.getPolicy() == HealPolicy.SUGGEST) {
+            return HealResult.builder()
+                    .outcome(HealOutcome.SUGGESTED)
+                    .decision(decision)
+                    .healedElementIndex(decision.getSelectedElementIndex())
+                    .confidence(decision.getConfidence())
+                    .reasoning(decision.getReasoning())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+        }
+
+        // A pre-heal may never be used, so its approval is asked for in applyPreHeal
+        if (speculative && intent.getPolicy() == HealPolicy.CONFIRM) {
+            return HealResult.builder()
+                    .outcome(HealOutcome.SUGGESTED)
+                    .decision(decision)
+                    .healedElementIndex(decision.getSelectedElementIndex())
+                    .healedLocator(generateLocatorFromElement(chosenElement))
+                    .confidence(decision.getConfidence())
+                    .reasoning(decision.getReasoning())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+        }
+
+        Optional<HealResult> rejected = requestApproval(failure, intent, decision, chosenElement, snapshot, startTime);
+        if (rejected.isPresent()) {
+            return rejected.get();
+        }
+
+        String healedLocator = generateLocatorFromElement(chosenElement);
+        logger.info("Generated healed locator for {}: {}", item.failureId(), healedLocator);
+
+        HealResult successResult = HealResult.builder()
+                .outcome(HealOutcome.SUCCESS)
+                .decision(decision)
+                .healedElementIndex(decision.getSelectedElementIndex())
+                .healedLocator(healedLocator)
+                .confidence(decision.getConfidence())
+                .reasoning(decision.getReasoning())
+                .duration(Duration.between(startTime, Instant.now()))
+                .build();
+
+        if (!speculative) {
+            sendNotification(failure, successResult);
+            storeHealPattern(failure, healedLocator, decision.getConfidence(), intent);
+        }
+        return successResult;
+    }
+
+    /**
+     * Fill in a result for every unresolved item and return results in submission order.
+     */
+    private Map<String, HealResult> completeBatch(List<BatchHealRequest.Item> pending,
+                                                  Map<String, HealResult> results,
+                                                  List<BatchHealRequest.Item> unresolved,
+                                                  HealResult unresolvedResult,
+                                                  boolean speculative) {
+        for (BatchHealRequest.Item item : unresolved) {
+            results.putIfAbsent(item.failureId(), unresolvedResult);
+        }
+        Map<String, HealResult> ordered = new LinkedHashMap<>();
+        for (BatchHealRequest.Item item : pending) {
+            HealResult result = results.get(item.failureId());
+            if (!speculative) {
+                recordOutcome(item.failure(), result);
+            }
+            ordered.put(item.failureId(), result);
+        }
+        return ordered;
+    }
+
+    /**
+     * @param consumeAttempt whether passing the circuit breaker uses up a half-open attempt
+     */
+    private GuardrailResult triage(FailureContext failure, IntentContract intent, String pageUrl,
+                                   boolean consumeAttempt) {
+        if (!config.isEnabled()) {
+            return GuardrailResult.refuse("Healing is disabled");
+        }
+
+        // Refuse only failures positively known to be unhealable (e.g. assertions);
+        // an unrecognized exception still gets a heal attempt
+        FailureKind kind = failure.getFailureKind();
+        if (kind == FailureKind.UNKNOWN) {
+            kind = failureClassifier.classify(failure.getExceptionType(), failure.getExceptionMessage());
+        }
+        if (kind != FailureKind.UNKNOWN && !failureClassifier.isHealable(kind)) {
+            return GuardrailResult.refuse(GuardrailResult.GuardrailType.NOT_HEALABLE,
+                    "Failure is not healable: " + kind);
+        }
+
+        boolean circuitAllows = consumeAttempt
+                ? circuitBreaker.isHealingAllowed()
+                : circuitBreaker.wouldAllowHealing();
+        if (!circuitAllows) {
+            return circuitBreaker.isOpenedDueToCost()
+                    ? GuardrailResult.refuse(GuardrailResult.GuardrailType.COST_LIMIT, "Daily LLM cost limit reached")
+                    : GuardrailResult.refuse(GuardrailResult.GuardrailType.CIRCUIT_BREAKER,
+                            "Circuit breaker is open after repeated heal failures");
+        }
+
+        GuardrailResult preCheck = guardrails.checkPreLlm(failure, intent);
+        if (preCheck.isRefused()) {
+            return preCheck;
+        }
+
+        if (pageUrl != null) {
+            GuardrailResult urlCheck = guardrails.checkUrl(pageUrl);
+            if (urlCheck.isRefused()) {
+                return urlCheck;
+            }
+        }
+
+        if (blacklist != null && failure.getOriginalLocator() != null
+                && blacklist.isBlacklisted(pageUrl, failure.getOriginalLocator(), null)) {
+            return GuardrailResult.refuse(GuardrailResult.GuardrailType.BLACKLISTED,
+                    "Locator is blacklisted: " + failure.getOriginalLocator());
+        }
+
+        return GuardrailResult.proceed();
+    }
+
+    /**
+     * Append what a heal is about to be decided from to the journal, when one is enabled.
+     */
+    private void recordCapture(FailureContext failure, IntentContract intent, UiSnapshot snapshot) {
+        if (journal != null) {
+            journal.record(HealCapture.of(failure, intent, snapshot));
+        }
+    }
+
+    /**
+     * Feed a heal outcome to the circuit breaker, and append attempted heals to the event
+     * log. Refusals say nothing about heal quality and are not logged.
+     */
+    private void recordOutcome(FailureContext failure, HealResult result) {
+        if (result == null) {
+            return;
+        }
+        switch (result.getOutcome()) {
+            case SUCCESS, SUGGESTED -> circuitBreaker.recordSuccess();
+            case FAILED, OUTCOME_FAILED -> circuitBreaker.recordFailure();
+            default -> circuitBreaker.recordRefusal();
+        }
+        if (eventLog != null && result.getOutcome() != HealOutcome.REFUSED) {
+            eventLog.append(HealEventRecord.of(failure, result));
+        }
+    }
+
+    /**
+     * Tell the rejected decision handler, if any, that the LLM decision for this failure
+     * was not used.
+     */
+    private void rejectDecision(FailureContext failure, IntentContract intent, UiSnapshot snapshot) {
+        if (rejectedDecisionHandler != null) {
+            notifyRejected(() -> rejectedDecisionHandler.accept(failure, snapshot, intent));
+        }
+    }
+
+    private void notifyRejected(Runnable handler) {
+        try {
+            handler.run();
+        } catch (RuntimeException e) {
+            logger.debug("Rejected decision handler failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Look up a shared heal pattern with very high similarity and, if found, build a
+     * successful result from it so the LLM call can be skipped.
+     *
+     * @param speculative whether this is a pre-heal, which is not notified
+     */
+    private Optional<HealResult> tryPatternHeal(FailureContext failure, UiSnapshot snapshot, Instant startTime,
+                                                boolean speculative) {
+        if (failure.getOriginalLocator() == null) {
+            return Optional.empty();
+        }
+
+        List<PatternMatch> patternMatches = patternSharingService.findMatchingPatterns(
+                failure.getOriginalLocator(), snapshot.getUrl());
+        if (patternMatches.isEmpty()) {
+            return Optional.empty();
+        }
+
+        PatternMatch bestMatch = patternMatches.get(0);
+        // Use pattern if similarity is very high (>= 0.85)
+        if (bestMatch.similarity() < 0.85 || bestMatch.pattern().successRate() < 0.8) {
+            return Optional.empty();
+        }
+
+        logger.info("Using cached pattern with {}% similarity and {}% success rate",
+                Math.round(bestMatch.similarity() * 100),
+                Math.round(bestMatch.pattern().successRate() * 100));
+
+        // Create heal decision from pattern
+        HealDecision patternDecision = HealDecision.builder()
+                .canHeal(true)
+                .confidence(bestMatch.pattern().avgConfidence())
+                .reasoning("Matched existing pattern: " + bestMatch.pattern().patternId())
+                .selectedElementIndex(-1) // Special marker for pattern-based heal
+                .build();
+
+        HealResult patternResult = HealResult.builder()
+                .outcome(HealOutcome.SUCCESS)
+                .decision(patternDecision)
+                .healedLocator(bestMatch.pattern().healedSignature())
+                .confidence(bestMatch.pattern().avgConfidence())
+                .reasoning("Pattern match from " + bestMatch.source())
+                .duration(Duration.between(startTime, Instant.now()))
+                .build();
+
+        if (!speculative) {
+            sendNotification(failure, patternResult);
+        }
+        return Optional.of(patternResult);
+    }
+
+    /**
+     * Submit a CONFIRM-policy heal for approval.
+     * Returns a refused result if the proposal was rejected, empty otherwise.
+     */
+    private Optional<HealResult> requestApproval(FailureContext failure, IntentContract intent,
+                                                 HealDecision decision, ElementSnapshot chosenElement,
+                                                 UiSnapshot snapshot, Instant startTime) {
+        if (intent.getPolicy() != HealPolicy.CONFIRM || approvalWorkflow == null) {
+            return Optional.empty();
+        }
+
+        // Generate proposed locator for the approval request
+        String proposedLocatorStr = generateLocatorFromElement(chosenElement);
+        LocatorInfo proposedLocator = LocatorInfo.parse(proposedLocatorStr);
+
+        // Create proposal
+        HealProposal proposal = HealProposal.builder()
+                .featureName(failure.getFeatureName())
+                .scenarioName(failure.getScenarioName())
+                .stepText(failure.getStepText())
+                .originalLocator(failure.getOriginalLocator())
+                .proposedLocator(proposedLocator)
+                .actionType(failure.getActionType())
+                .confidence(decision.getConfidence())
+                .reasoning(decision.getReasoning())
+                .pageUrl(snapshot.getUrl())
+                .build();
+
+        logger.info("Submitting heal proposal for approval: {}", proposal.getId());
+
+        // Submit for approval - this may block waiting for human approval
+        ApprovalDecision approvalDecision = approvalWorkflow.submitForApproval(proposal, intent.getPolicy());
+
+        if (!approvalDecision.isApproved()) {
+            logger.info("Heal proposal {} was rejected: {}", proposal.getId(), approvalDecision.getReason());
+            return Optional.of(HealResult.builder()
+                    .outcome(HealOutcome.REFUSED)
+                    .decision(decision)
+                    .failureReason("Approval rejected: " + approvalDecision.getReason())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build());
+        }
+
+        logger.info("Heal proposal {} was approved", proposal.getId());
+        return Optional.empty();
+    }
+
     /**
      * Generate a locator string from an ElementSnapshot.
      * Format: "strategy=value" (e.g., "id=login-btn", "css=button.submit")
@@ -408,7 +992,7 @@ public class HealingEngine {
     /**
      * Check if a class name looks dynamically generated.
      */
-    private boolean looksLikeDynamicClass(String className) {
+    static boolean looksLikeDynamicClass(String className) {
         return className.matches(".*[0-9a-f]{6,}.*") ||       // Long hex strings
                className.matches(".*\\d{4,}.*") ||            // 4+ digit numbers
                className.contains("_");                        // Often dynamic separators
@@ -481,10 +1065,7 @@ public class HealingEngine {
 
         try {
             // Parse the healed locator back into a LocatorInfo
-            LocatorInfo healedLocatorInfo = parseLocatorString(healedLocator);
-            if (healedLocatorInfo == null) {
-                return;
-            }
+            LocatorInfo healedLocatorInfo = LocatorInfo.parse(healedLocator);
 
             // Determine page URL pattern from failure context
             String pageUrlPattern = null;
@@ -512,36 +1093,6 @@ public class HealingEngine {
         }
     }
 
-    /**
-     * Parse a locator string (e.g., "id=button", "css=.class") into LocatorInfo.
-     */
-    private LocatorInfo parseLocatorString(String locatorStr) {
-        if (locatorStr == null || !locatorStr.contains("=")) {
-            return null;
-        }
-
-        int eqIndex = locatorStr.indexOf('=');
-        String strategy = locatorStr.substring(0, eqIndex).toUpperCase();
-        String value = locatorStr.substring(eqIndex + 1);
-
-        try {
-            LocatorInfo.LocatorStrategy locatorStrategy = switch (strategy) {
-                case "ID" -> LocatorInfo.LocatorStrategy.ID;
-                case "NAME" -> LocatorInfo.LocatorStrategy.NAME;
-                case "CSS" -> LocatorInfo.LocatorStrategy.CSS;
-                case "XPATH" -> LocatorInfo.LocatorStrategy.XPATH;
-                case "CLASSNAME", "CLASS" -> LocatorInfo.LocatorStrategy.CLASS_NAME;
-                case "TAGNAME", "TAG" -> LocatorInfo.LocatorStrategy.TAG_NAME;
-                case "LINKTEXT", "LINK" -> LocatorInfo.LocatorStrategy.LINK_TEXT;
-                case "PARTIALLINKTEXT" -> LocatorInfo.LocatorStrategy.PARTIAL_LINK_TEXT;
-                default -> LocatorInfo.LocatorStrategy.CSS;
-            };
-            return new LocatorInfo(locatorStrategy, value);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     /**
      * Determine trust level based on confidence score.
      */
@@ -572,4 +1123,12 @@ public class HealingEngine {
     public interface TriFunction<A, B, C, R> {
         R apply(A a, B b, C c);
     }
+
+    /**
+     * Functional interface for three-argument consumers.
+     */
+    @FunctionalInterface
+    public interface TriConsumer<A, B, C> {
+        void accept(A a, B b, C c);
+    }
 }
@@ -1,5 +1,6 @@
 package io.github.glaciousm.core.engine;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -8,14 +9,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Generates HTML and JSON reports from healing summary data.
@@ -42,13 +42,21 @@ public class HealingReportGenerator {
      * @return Path to the generated HTML report, or null if no heals occurred
      */
     public Path generateReports() {
-        HealingSummary summary = HealingSummary.getInstance();
+        return generateReports(HealingSummary.getInstance());
+    }
+
+    /**
+     * Generate reports from the given summary. Heals are streamed from the summary's spill
+     * file into the reports one at a time, so the run's screenshots are never all in memory.
+     *
+     * @return Path to the generated HTML report, or null if no heals occurred
+     */
+    public Path generateReports(HealingSummary summary) {
         if (!summary.hasHeals()) {
             logger.debug("No heals to report");
             return null;
         }
 
-        List<HealingSummary.HealedLocator> heals = summary.getHealedLocators();
         LocalDateTime timestamp = LocalDateTime.now();
         String timestampStr = timestamp.format(TIMESTAMP_FORMAT);
 
@@ -66,7 +74,7 @@ public class HealingReportGenerator {
         if (config.isJsonEnabled()) {
             Path jsonPath = outputDir.resolve("healer-report-" + timestampStr + ".json");
             try {
-                generateJsonReport(heals, timestamp, jsonPath);
+                generateJsonReport(summary, timestamp, jsonPath);
                 logger.info("JSON report generated: {}", jsonPath.toAbsolutePath());
             } catch (IOException e) {
                 logger.error("Failed to generate JSON report", e);
@@ -77,7 +85,7 @@ public class HealingReportGenerator {
         if (config.isHtmlEnabled()) {
             htmlPath = outputDir.resolve("healer-report-" + timestampStr + ".html");
             try {
-                generateHtmlReport(heals, timestamp, htmlPath);
+                generateHtmlReport(summary, timestamp, htmlPath);
                 logger.info("HTML report generated: {}", htmlPath.toAbsolutePath());
                 System.out.println("\n  Report generated: " + htmlPath.toAbsolutePath());
             } catch (IOException e) {
@@ -88,29 +96,38 @@ public class HealingReportGenerator {
         return htmlPath;
     }
 
-    private void generateJsonReport(List<HealingSummary.HealedLocator> heals, LocalDateTime timestamp, Path path) throws IOException {
-        Map<String, Object> report = new HashMap<>();
-        report.put("generated", timestamp.format(DISPLAY_FORMAT));
-        report.put("totalHeals", heals.size());
-        report.put("heals", heals.stream().map(h -> {
-            Map<String, Object> heal = new HashMap<>();
-            heal.put("stepText", h.stepText());
-            heal.put("originalLocator", h.originalLocator());
-            heal.put("healedLocator", h.healedLocator());
-            heal.put("confidence", h.confidence());
-            if (h.sourceFile() != null) {
-                heal.put("sourceFile", h.sourceFile());
-                heal.put("lineNumber", h.lineNumber());
-            }
-            return heal;
-        }).toList());
+    private void generateJsonReport(HealingSummary summary, LocalDateTime timestamp, Path path) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(Files.newBufferedWriter(path))) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeStringField("generated", timestamp.format(DISPLAY_FORMAT));
+            json.writeNumberField("totalHeals", summary.getHealCount());
+            json.writeArrayFieldStart("heals");
+            forEachHeal(summary, h -> {
+                json.writeStartObject();
+                json.writeStringField("stepText", h.stepText());
+                json.writeStringField("originalLocator", h.originalLocator());
+                json.writeStringField("healedLocator", h.healedLocator());
+                json.writeNumberField("confidence", h.confidence());
+                if (h.sourceFile() != null) {
+                    json.writeStringField("sourceFile", h.sourceFile());
+                    json.writeNumberField("lineNumber", h.lineNumber());
+                }
+                json.writeEndObject();
+            });
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
 
-        objectMapper.writeValue(path.toFile(), report);
+    private void generateHtmlReport(HealingSummary summary, LocalDateTime timestamp, Path path) throws IOException {
+        try (Writer html = Files.newBufferedWriter(path)) {
+            writeHtmlReport(summary, timestamp, html);
+        }
     }
 
-    private void generateHtmlReport(List<HealingSummary.HealedLocator> heals, LocalDateTime timestamp, Path path) throws IOException {
-        StringBuilder html = new StringBuilder();
-        html.append("""
+    private void writeHtmlReport(HealingSummary summary, LocalDateTime timestamp, Writer html) throws IOException {
+        html.write("""
                 <!DOCTYPE html>
                 <html lang="en">
                 <head>
@@ -306,19 +323,20 @@ public class HealingReportGenerator {
                         <h2 style="margin-bottom: 1rem;">Healed Locators</h2>
                 """.formatted(
                 timestamp.format(DISPLAY_FORMAT),
-                heals.size(),
-                heals.stream().mapToDouble(HealingSummary.HealedLocator::confidence).average().orElse(0) * 100
+                summary.getHealCount(),
+                summary.getAverageConfidence() * 100
         ));
 
-        int index = 1;
-        for (HealingSummary.HealedLocator heal : heals) {
+        int[] counter = {1};
+        forEachHeal(summary, heal -> {
+            int index = counter[0]++;
             String confidenceClass = heal.confidence() >= 0.9 ? "high" : heal.confidence() >= 0.75 ? "medium" : "low";
             // Escape for HTML first, then escape % for String.format
             String stepText = escapeForFormat(escapeHtml(heal.stepText() != null ? heal.stepText() : "Unknown step"));
             String originalLocator = escapeForFormat(escapeHtml(heal.originalLocator()));
             String healedLocator = escapeForFormat(escapeHtml(heal.healedLocator()));
 
-            html.append("""
+            html.write("""
                     <div class="heal-card">
                         <h3><span class="number">%d</span>%s</h3>
                         <div class="label">Original Locator</div>
@@ -336,14 +354,14 @@ public class HealingReportGenerator {
             ));
 
             if (heal.sourceFile() != null && !heal.sourceFile().isEmpty()) {
-                html.append("""
+                html.write("""
                         <div class="source-location">Location: %s:%d</div>
                         """.formatted(escapeForFormat(escapeHtml(heal.sourceFile())), heal.lineNumber()));
             }
 
             // Add screenshots if available
             if (heal.hasVisualEvidence()) {
-                html.append("""
+                html.write("""
                         <div class="screenshots">
                             <button class="screenshots-toggle" onclick="toggleScreenshots('screenshots-%d')">Show/Hide Screenshots</button>
                             <div class="screenshots-content" id="screenshots-%d">
@@ -362,11 +380,10 @@ public class HealingReportGenerator {
                         """.formatted(index, index, heal.beforeScreenshotBase64(), heal.afterScreenshotBase64()));
             }
 
-            html.append("</div>\n");
-            index++;
-        }
+            html.write("</div>\n");
+        });
 
-        html.append("""
+        html.write("""
                         <footer>
                             <p>Generated by Intent Healer - Self-Healing Selenium Tests</p>
                             <p>Update your Page Objects with the healed locators above to prevent repeated healing.</p>
@@ -389,8 +406,28 @@ public class HealingReportGenerator {
                 </body>
                 </html>
                 """);
+    }
+
+    /**
+     * Stream the summary's heals, with screenshots, to a writer that may throw {@link IOException}.
+     */
+    private void forEachHeal(HealingSummary summary, HealWriter writer) throws IOException {
+        try {
+            summary.forEachHeal(heal -> {
+                try {
+                    writer.write(heal);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-        Files.writeString(path, html.toString());
+    @FunctionalInterface
+    private interface HealWriter {
+        void write(HealingSummary.HealedLocator heal) throws IOException;
     }
 
     private String escapeHtml(String text) {
@@ -1,26 +1,74 @@
 package io.github.glaciousm.core.engine;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Tracks healing events during test execution and provides a summary.
  *
  * This class collects all healed locators so users know exactly what
  * to update in their source code after a test run.
+ *
+ * <p>Heals are serialized when recorded and appended to a binary spill file in the temp
+ * directory, so screenshots do not stay on the heap until the run ends. Recording only
+ * enqueues; whichever thread gets the spill lock writes the queue out. At most
+ * {@link #setMaxInMemory(int) maxInMemory} heals are also kept in memory, without their
+ * screenshots, for the console summary. Reports read the spill back one heal at a time
+ * through {@link #forEachHeal(Consumer)}.</p>
  */
 public class HealingSummary {
 
+    private static final Logger logger = LoggerFactory.getLogger(HealingSummary.class);
+
     private static final HealingSummary INSTANCE = new HealingSummary();
 
-    private final List<HealedLocator> healedLocators = new CopyOnWriteArrayList<>();
+    /** Default number of heals kept in memory, without screenshots. */
+    public static final int DEFAULT_MAX_IN_MEMORY = 200;
+
+    private static final byte IMAGE_NONE = 0;
+    private static final byte IMAGE_BASE64 = 1;
+    private static final byte IMAGE_TEXT = 2;
+
+    private final Queue<PendingHeal> pending = new ConcurrentLinkedQueue<>();
     private final Set<String> recordedLocators = ConcurrentHashMap.newKeySet(); // For deduplication
-    private boolean enabled = true;
+    private final AtomicInteger healCount = new AtomicInteger();
+    private final DoubleAdder confidenceSum = new DoubleAdder();
+    private volatile boolean enabled = true;
+    private volatile int maxInMemory = DEFAULT_MAX_IN_MEMORY;
+
+    // Guarded by spillLock
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final List<HealedLocator> inMemory = new ArrayList<>();
+    private Path spillFile;
+    private DataOutputStream spillOut;
+    private int spilledCount;
+    private boolean spillFailed;
+    private List<HealedLocator> unspilled = new ArrayList<>();
 
     public static HealingSummary getInstance() {
         return INSTANCE;
@@ -31,16 +79,10 @@ public class HealingSummary {
      */
     public void recordHeal(String stepText, String originalLocator, String healedLocator,
                            double confidence, String sourceFile, int lineNumber) {
-        if (enabled) {
-            // Deduplicate based on original locator to avoid recording same heal multiple times
-            String key = originalLocator;
-            if (recordedLocators.add(key)) {
-                healedLocators.add(new HealedLocator(
-                    stepText, originalLocator, healedLocator, confidence, sourceFile, lineNumber,
-                    null, null  // No screenshots
-                ));
-            }
-        }
+        record(new HealedLocator(
+            stepText, originalLocator, healedLocator, confidence, sourceFile, lineNumber,
+            null, null  // No screenshots
+        ));
     }
 
     /**
@@ -56,45 +98,98 @@ public class HealingSummary {
     public void recordHealWithScreenshots(String stepText, String originalLocator, String healedLocator,
                                           double confidence, String sourceFile, int lineNumber,
                                           String beforeScreenshotBase64, String afterScreenshotBase64) {
-        if (enabled) {
-            // Deduplicate based on original locator to avoid recording same heal multiple times
-            String key = originalLocator;
-            if (recordedLocators.add(key)) {
-                healedLocators.add(new HealedLocator(
-                    stepText, originalLocator, healedLocator, confidence, sourceFile, lineNumber,
-                    beforeScreenshotBase64, afterScreenshotBase64
-                ));
+        record(new HealedLocator(
+            stepText, originalLocator, healedLocator, confidence, sourceFile, lineNumber,
+            beforeScreenshotBase64, afterScreenshotBase64
+        ));
+    }
+
+    private void record(HealedLocator heal) {
+        // Deduplicate based on original locator to avoid recording same heal multiple times
+        if (!enabled || !recordedLocators.add(heal.originalLocator())) {
+            return;
+        }
+        pending.offer(new PendingHeal(heal.withoutScreenshots(), serialize(heal)));
+        healCount.incrementAndGet();
+        confidenceSum.add(heal.confidence());
+
+        // Never wait here: if another thread holds the lock, the heal is written on a later drain
+        if (spillLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                spillLock.unlock();
             }
         }
     }
 
     /**
-     * Get all healed locators.
+     * Call {@code consumer} with every heal, screenshots included, in the order recorded.
+     * Heals are read back from the spill file one at a time.
+     */
+    public void forEachHeal(Consumer<HealedLocator> consumer) {
+        forEachHeal(0, true, consumer);
+    }
+
+    /**
+     * Get all healed locators, screenshots included.
+     *
+     * <p>This loads every screenshot of the run; prefer {@link #forEachHeal(Consumer)}.</p>
      */
     public List<HealedLocator> getHealedLocators() {
-        return new ArrayList<>(healedLocators);
+        List<HealedLocator> heals = new ArrayList<>();
+        forEachHeal(heals::add);
+        return heals;
+    }
+
+    /**
+     * Get the healed locators recorded from {@code fromIndex} on, without screenshots.
+     */
+    public List<HealedLocator> getHealedLocators(int fromIndex) {
+        List<HealedLocator> heals = new ArrayList<>();
+        forEachHeal(fromIndex, false, heals::add);
+        return heals;
     }
 
     /**
      * Check if any healing occurred.
      */
     public boolean hasHeals() {
-        return !healedLocators.isEmpty();
+        return healCount.get() > 0;
     }
 
     /**
      * Get count of healed locators.
      */
     public int getHealCount() {
-        return healedLocators.size();
+        return healCount.get();
+    }
+
+    /**
+     * Average confidence of the recorded heals, or 0 if there are none.
+     */
+    public double getAverageConfidence() {
+        int count = healCount.get();
+        return count == 0 ? 0 : confidenceSum.sum() / count;
     }
 
     /**
-     * Clear all recorded heals.
+     * Clear all recorded heals and delete the spill file.
      */
     public void clear() {
-        healedLocators.clear();
-        recordedLocators.clear();
+        spillLock.lock();
+        try {
+            pending.clear();
+            recordedLocators.clear();
+            healCount.set(0);
+            confidenceSum.reset();
+            inMemory.clear();
+            unspilled = new ArrayList<>();
+            closeSpill();
+            spillFailed = false;
+        } finally {
+            spillLock.unlock();
+        }
     }
 
     /**
@@ -104,6 +199,214 @@ public class HealingSummary {
         this.enabled = enabled;
     }
 
+    /**
+     * Set how many heals are kept in memory, without screenshots, in addition to the spill file.
+     * Reads beyond this come from the spill file.
+     */
+    public void setMaxInMemory(int maxInMemory) {
+        this.maxInMemory = Math.max(0, maxInMemory);
+    }
+
+    /**
+     * Number of heals currently held in memory, pending or kept for the console summary.
+     */
+    int getInMemoryCount() {
+        spillLock.lock();
+        try {
+            return inMemory.size() + pending.size() + unspilled.size();
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private void forEachHeal(int fromIndex, boolean withScreenshots, Consumer<HealedLocator> consumer) {
+        spillLock.lock();
+        try {
+            drain();
+            if (spillFailed) {
+                // The spill file could not be written; what was recorded since is held in memory
+                readSpill(fromIndex, withScreenshots, consumer);
+                for (int i = Math.max(0, fromIndex - spilledCount); i < unspilled.size(); i++) {
+                    HealedLocator heal = unspilled.get(i);
+                    consumer.accept(withScreenshots ? heal : heal.withoutScreenshots());
+                }
+            } else if (!withScreenshots && spilledCount <= inMemory.size()) {
+                for (int i = fromIndex; i < inMemory.size(); i++) {
+                    consumer.accept(inMemory.get(i));
+                }
+            } else {
+                readSpill(fromIndex, withScreenshots, consumer);
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Write queued heals to the spill file. Caller holds {@code spillLock}.
+     */
+    private void drain() {
+        PendingHeal heal;
+        boolean wrote = false;
+        while ((heal = pending.poll()) != null) {
+            if (inMemory.size() < maxInMemory) {
+                inMemory.add(heal.summary());
+            }
+            if (!spillFailed) {
+                try {
+                    openSpill().write(heal.bytes());
+                    spilledCount++;
+                    wrote = true;
+                    continue;
+                } catch (IOException e) {
+                    logger.warn("Failed to write healing summary spill file, keeping heals in memory: {}",
+                        e.getMessage());
+                    spillFailed = true;
+                }
+            }
+            unspilled.add(deserialize(heal.bytes()));
+        }
+        if (wrote) {
+            try {
+                spillOut.flush();
+            } catch (IOException e) {
+                logger.warn("Failed to flush healing summary spill file: {}", e.getMessage());
+            }
+        }
+    }
+
+    private DataOutputStream openSpill() throws IOException {
+        if (spillOut == null) {
+            spillFile = Files.createTempFile("intent-healer-summary-", ".bin");
+            spillFile.toFile().deleteOnExit();
+            spillOut = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(spillFile, StandardOpenOption.APPEND)));
+            spilledCount = 0;
+        }
+        return spillOut;
+    }
+
+    private void closeSpill() {
+        if (spillOut != null) {
+            try {
+                spillOut.close();
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                logger.debug("Failed to delete healing summary spill file {}: {}", spillFile, e.getMessage());
+            }
+        }
+        spillOut = null;
+        spillFile = null;
+        spilledCount = 0;
+    }
+
+    private void readSpill(int fromIndex, boolean withScreenshots, Consumer<HealedLocator> consumer) {
+        if (spillFile == null || fromIndex >= spilledCount) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)))) {
+            for (int i = 0; i < spilledCount; i++) {
+                HealedLocator heal = read(in, withScreenshots && i >= fromIndex);
+                if (i >= fromIndex) {
+                    consumer.accept(heal);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read healing summary spill file " + spillFile, e);
+        }
+    }
+
+    private static byte[] serialize(HealedLocator heal) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, heal.stepText());
+            writeString(out, heal.originalLocator());
+            writeString(out, heal.healedLocator());
+            out.writeDouble(heal.confidence());
+            writeString(out, heal.sourceFile());
+            out.writeInt(heal.lineNumber());
+            writeImage(out, heal.beforeScreenshotBase64());
+            writeImage(out, heal.afterScreenshotBase64());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static HealedLocator deserialize(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return read(in, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static HealedLocator read(DataInputStream in, boolean withScreenshots) throws IOException {
+        String stepText = readString(in);
+        String originalLocator = readString(in);
+        String healedLocator = readString(in);
+        double confidence = in.readDouble();
+        String sourceFile = readString(in);
+        int lineNumber = in.readInt();
+        String before = readImage(in, withScreenshots);
+        String after = readImage(in, withScreenshots);
+        return new HealedLocator(stepText, originalLocator, healedLocator, confidence, sourceFile, lineNumber,
+            before, after);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        return length < 0 ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Screenshots are stored as the decoded image bytes, a quarter smaller than their Base64.
+     */
+    private static void writeImage(DataOutputStream out, String base64) throws IOException {
+        if (base64 == null) {
+            out.writeByte(IMAGE_NONE);
+            return;
+        }
+        byte[] bytes;
+        byte type;
+        try {
+            bytes = Base64.getDecoder().decode(base64);
+            type = IMAGE_BASE64;
+        } catch (IllegalArgumentException e) {
+            bytes = base64.getBytes(StandardCharsets.UTF_8);
+            type = IMAGE_TEXT;
+        }
+        out.writeByte(type);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readImage(DataInputStream in, boolean load) throws IOException {
+        byte type = in.readByte();
+        if (type == IMAGE_NONE) {
+            return null;
+        }
+        int length = in.readInt();
+        if (!load) {
+            in.skipNBytes(length);
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        return type == IMAGE_BASE64
+            ? Base64.getEncoder().encodeToString(bytes)
+            : new String(bytes, StandardCharsets.UTF_8);
+    }
+
     // ANSI color codes
     private static final String RESET = "\u001B[0m";
     private static final String BOLD = "\u001B[1m";
@@ -117,7 +420,7 @@ public class HealingSummary {
      * Uses ASCII characters, ANSI colors, and single print to avoid Surefire stream fragmentation.
      */
     public void printSummary() {
-        if (healedLocators.isEmpty()) {
+        if (!hasHeals()) {
             return;
         }
 
@@ -129,7 +432,7 @@ public class HealingSummary {
         sb.append("+----------------------------------------------------------------------------+\n");
         sb.append(RESET);
         sb.append(CYAN);
-        sb.append(String.format("|  Total healed locators: %-52d |\n", healedLocators.size()));
+        sb.append(String.format("|  Total healed locators: %-52d |\n", getHealCount()));
         sb.append("|                                                                            |\n");
         sb.append("|  The following locators were automatically healed during this test run.   |\n");
         sb.append("|  Consider updating your source code with the healed locators below:       |\n");
@@ -138,7 +441,7 @@ public class HealingSummary {
         sb.append("\n");
 
         int index = 1;
-        for (HealedLocator heal : healedLocators) {
+        for (HealedLocator heal : getHealedLocators(0)) {
             sb.append(String.format("  [%d] %s\n", index++, truncate(heal.stepText(), 70)));
             sb.append("      +-----------------------------------------------------------------------\n");
             sb.append(YELLOW);
@@ -208,5 +511,20 @@ public class HealingSummary {
         public boolean hasVisualEvidence() {
             return beforeScreenshotBase64 != null && afterScreenshotBase64 != null;
         }
+
+        HealedLocator withoutScreenshots() {
+            return beforeScreenshotBase64 == null && afterScreenshotBase64 == null ? this
+                : new HealedLocator(stepText, originalLocator, healedLocator, confidence, sourceFile, lineNumber,
+                    null, null);
+        }
+    }
+
+    /**
+     * A recorded heal waiting to be written to the spill file.
+     *
+     * @param summary the heal without screenshots
+     * @param bytes   the serialized heal, screenshots included
+     */
+    private record PendingHeal(HealedLocator summary, byte[] bytes) {
     }
 }
@@ -1,6 +1,8 @@
 package io.github.glaciousm.core.engine.calibration;
 
 import io.github.glaciousm.core.feedback.FeedbackApi;
+import io.github.glaciousm.core.store.ColumnFamily;
+import io.github.glaciousm.core.store.StateStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,6 +10,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Calibrates confidence scores based on historical outcomes.
@@ -29,6 +32,11 @@ public class ConfidenceCalibrator {
     private final Map<Integer, CalibrationBucket> buckets = new ConcurrentHashMap<>();
     private final List<CalibrationSample> samples = Collections.synchronizedList(new ArrayList<>());
     private final Map<String, Double> modelAdjustments = new ConcurrentHashMap<>();
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private ColumnFamily<CalibrationSample> storedSamples;
+    private ColumnFamily<Double> storedAdjustments;
+    private volatile boolean restorePending;
 
     public ConfidenceCalibrator() {
         // Initialize buckets
@@ -37,6 +45,42 @@ public class ConfidenceCalibrator {
         }
     }
 
+    /**
+     * Persist calibration data in a state store. What the store already holds is
+     * restored the first time the calibrator is used.
+     */
+    public synchronized void setStateStore(StateStore store) {
+        storedSamples = store.family("calibration.samples", CalibrationSample.class);
+        storedAdjustments = store.family("calibration.models", Double.class);
+        restorePending = true;
+    }
+
+    private void ensureRestored() {
+        if (!restorePending) {
+            return;
+        }
+        synchronized (this) {
+            if (restorePending) {
+                restore();
+                restorePending = false;
+            }
+        }
+    }
+
+    private void restore() {
+        Map<String, CalibrationSample> restored = storedSamples.load();
+        samples.addAll(restored.values());
+        restored.keySet().stream()
+                .mapToLong(Long::parseLong)
+                .max()
+                .ifPresent(last -> sampleSequence.set(last + 1));
+        modelAdjustments.putAll(storedAdjustments.load());
+        recalibrateBuckets();
+
+        logger.debug("Restored {} calibration samples and {} model adjustments",
+                restored.size(), modelAdjustments.size());
+    }
+
     /**
      * Calibrate a raw confidence score based on historical accuracy.
      */
@@ -48,6 +92,7 @@ public class ConfidenceCalibrator {
      * Calibrate a raw confidence score with model-specific adjustment.
      */
     public double calibrate(double rawConfidence, String model) {
+        ensureRestored();
         // Clamp to valid range
         rawConfidence = Math.max(0.0, Math.min(1.0, rawConfidence));
 
@@ -83,6 +128,7 @@ public class ConfidenceCalibrator {
      * Record an outcome with model information.
      */
     public void recordOutcome(double reportedConfidence, boolean wasCorrect, String model) {
+        ensureRestored();
         // Clamp confidence
         reportedConfidence = Math.max(0.0, Math.min(1.0, reportedConfidence));
 
@@ -94,6 +140,9 @@ public class ConfidenceCalibrator {
                 Instant.now()
         );
         samples.add(sample);
+        if (storedSamples != null) {
+            storedSamples.put(sampleKey(sampleSequence.getAndIncrement()), sample);
+        }
 
         // Update bucket
         int bucketIndex = getBucketIndex(reportedConfidence);
@@ -112,6 +161,7 @@ public class ConfidenceCalibrator {
      * Get calibration statistics.
      */
     public CalibrationStats getStats() {
+        ensureRestored();
         int totalSamples = samples.size();
         int correctPredictions = 0;
         double totalConfidence = 0;
@@ -153,6 +203,7 @@ public class ConfidenceCalibrator {
      * Check if the system is well-calibrated.
      */
     public boolean isWellCalibrated() {
+        ensureRestored();
         // A system is well-calibrated if predicted probabilities match actual frequencies
         double totalError = 0;
         int evaluatedBuckets = 0;
@@ -179,6 +230,7 @@ public class ConfidenceCalibrator {
      * Get the recommended minimum confidence threshold based on calibration.
      */
     public double getRecommendedThreshold(double targetAccuracy) {
+        ensureRestored();
         // Find the bucket where accuracy meets target
         for (int i = NUM_BUCKETS - 1; i >= 0; i--) {
             CalibrationBucket bucket = buckets.get(i);
@@ -195,6 +247,7 @@ public class ConfidenceCalibrator {
      * Get calibration data for visualization.
      */
     public List<CalibrationPoint> getCalibrationCurve() {
+        ensureRestored();
         List<CalibrationPoint> points = new ArrayList<>();
 
         for (int i = 0; i < NUM_BUCKETS; i++) {
@@ -216,6 +269,7 @@ public class ConfidenceCalibrator {
      * Clear old samples to prevent memory growth.
      */
     public int clearOldSamples(Duration olderThan) {
+        ensureRestored();
         Instant cutoff = Instant.now().minus(olderThan);
         int removed = 0;
 
@@ -230,6 +284,15 @@ public class ConfidenceCalibrator {
         // Recalibrate buckets
         recalibrateBuckets();
 
+        if (storedSamples != null && removed > 0) {
+            storedSamples.clear();
+            synchronized (samples) {
+                for (CalibrationSample sample : samples) {
+                    storedSamples.put(sampleKey(sampleSequence.getAndIncrement()), sample);
+                }
+            }
+        }
+
         logger.info("Cleared {} old calibration samples", removed);
         return removed;
     }
@@ -238,11 +301,16 @@ public class ConfidenceCalibrator {
      * Reset all calibration data.
      */
     public void reset() {
+        restorePending = false;
         samples.clear();
         modelAdjustments.clear();
         for (CalibrationBucket bucket : buckets.values()) {
             bucket.reset();
         }
+        if (storedSamples != null) {
+            storedSamples.clear();
+            storedAdjustments.clear();
+        }
         logger.info("Calibration data reset");
     }
 
@@ -253,6 +321,11 @@ public class ConfidenceCalibrator {
         return Math.min(index, NUM_BUCKETS - 1);
     }
 
+    private static String sampleKey(long sequence) {
+        // Zero-padded so samples replay in the order they were recorded
+        return String.format("%012d", sequence);
+    }
+
     private void updateModelAdjustment(String model, double confidence, boolean wasCorrect) {
         double current = modelAdjustments.getOrDefault(model, 1.0);
 
@@ -267,6 +340,9 @@ public class ConfidenceCalibrator {
         newValue = Math.max(0.8, Math.min(1.2, newValue));
 
         modelAdjustments.put(model, newValue);
+        if (storedAdjustments != null) {
+            storedAdjustments.put(model, newValue);
+        }
     }
 
     private void recalibrateBuckets() {
@@ -88,6 +88,28 @@ public class CircuitBreaker {
         }
     }
 
+    /**
+     * Check whether healing would be allowed, without using up a half-open attempt.
+     * Lets callers skip capture work for a heal {@link #isHealingAllowed()} would refuse.
+     */
+    public boolean wouldAllowHealing() {
+        if (!config.isEnabled()) {
+            return true;
+        }
+
+        updateState();
+        resetDailyCostIfNeeded();
+
+        if (dailyCost >= config.getDailyCostLimitUsd() && config.getDailyCostLimitUsd() > 0) {
+            return false;
+        }
+        return switch (state.get()) {
+            case OPEN -> false;
+            case HALF_OPEN -> halfOpenAttempts.get() < config.getHalfOpenMaxAttempts();
+            default -> true;
+        };
+    }
+
     /**
      * Record a successful heal.
      */
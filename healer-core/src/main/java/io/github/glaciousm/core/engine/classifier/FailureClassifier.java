@@ -103,6 +103,20 @@ public class FailureClassifier {
         return FailureKind.UNKNOWN;
     }
 
+    /**
+     * Classify a failure from its exception type name and message, for when only
+     * a description of the exception is at hand.
+     */
+    public FailureKind classify(String exceptionType, String message) {
+        if (exceptionType != null && EXCEPTION_MAPPING.containsKey(exceptionType)) {
+            return EXCEPTION_MAPPING.get(exceptionType);
+        }
+        if (message != null) {
+            return classifyByMessage(message);
+        }
+        return FailureKind.UNKNOWN;
+    }
+
     /**
      * Classify an exception into a failure kind with step text context.
      */
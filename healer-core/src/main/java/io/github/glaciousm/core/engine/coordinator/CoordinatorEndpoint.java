@@ -0,0 +1,150 @@
+package io.github.glaciousm.core.engine.coordinator;
+
+import io.github.glaciousm.core.config.CoordinatorConfig.Transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Address of a running {@link CoordinatorServer}.
+ * The server publishes its endpoint in a small file inside the coordinator directory,
+ * so forks only need to agree on the directory. The file also holds a random token the
+ * server expects in every {@code hello}; it is readable by the owner only, so other local
+ * users cannot talk to the coordinator even over loopback TCP.
+ *
+ * @param transport {@link Transport#UNIX} or {@link Transport#TCP}
+ * @param address   socket path for UNIX, {@code host:port} for TCP
+ * @param token     secret clients present when connecting; null if unknown
+ */
+public record CoordinatorEndpoint(Transport transport, String address, String token) {
+
+    static final String ENDPOINT_FILE = "coordinator.endpoint";
+    static final String SOCKET_FILE = "healer.sock";
+
+    public CoordinatorEndpoint {
+        Objects.requireNonNull(transport, "transport cannot be null");
+        Objects.requireNonNull(address, "address cannot be null");
+        if (transport == Transport.AUTO) {
+            throw new IllegalArgumentException("An endpoint needs a concrete transport");
+        }
+    }
+
+    public static CoordinatorEndpoint unix(Path socketPath, String token) {
+        return new CoordinatorEndpoint(Transport.UNIX, socketPath.toAbsolutePath().toString(), token);
+    }
+
+    public static CoordinatorEndpoint tcp(InetSocketAddress address, String token) {
+        return new CoordinatorEndpoint(Transport.TCP, address.getHostString() + ":" + address.getPort(), token);
+    }
+
+    /**
+     * Parse the {@code unix:<path>} / {@code tcp:<host>:<port>} form written by {@link #toString()}.
+     */
+    public static CoordinatorEndpoint parse(String value, String token) {
+        String trimmed = value.trim();
+        if (trimmed.startsWith("unix:")) {
+            return new CoordinatorEndpoint(Transport.UNIX, trimmed.substring("unix:".length()), token);
+        }
+        if (trimmed.startsWith("tcp:")) {
+            return new CoordinatorEndpoint(Transport.TCP, trimmed.substring("tcp:".length()), token);
+        }
+        throw new IllegalArgumentException("Unrecognized coordinator endpoint: " + value);
+    }
+
+    /**
+     * Read the endpoint published in a coordinator directory: the address on the first
+     * line, the token on the second.
+     */
+    public static Optional<CoordinatorEndpoint> read(Path directory) {
+        Path file = directory.resolve(ENDPOINT_FILE);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.isEmpty()) {
+                return Optional.empty();
+            }
+            String token = lines.size() > 1 && !lines.get(1).isBlank() ? lines.get(1).trim() : null;
+            return Optional.of(parse(lines.get(0), token));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Publish this endpoint in a coordinator directory.
+     * Written through a temp file, which is created owner-only, so readers never see a
+     * partial address and other users cannot read the token.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, ENDPOINT_FILE, ".tmp");
+        Files.writeString(temp, toString() + "\n" + (token != null ? token : "") + "\n", StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, directory.resolve(ENDPOINT_FILE),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.move(temp, directory.resolve(ENDPOINT_FILE), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The socket address to connect or bind to.
+     */
+    public SocketAddress socketAddress() {
+        if (transport == Transport.UNIX) {
+            return UnixDomainSocketAddress.of(address);
+        }
+        int colon = address.lastIndexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("TCP endpoint needs host:port: " + address);
+        }
+        return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+    }
+
+    /**
+     * Open a blocking connection to this endpoint.
+     */
+    public SocketChannel connect(Duration timeout) throws IOException {
+        if (transport == Transport.UNIX) {
+            SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                channel.connect(socketAddress());
+                return channel;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.socket().connect(socketAddress(), (int) Math.max(1, timeout.toMillis()));
+            channel.socket().setTcpNoDelay(true);
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The address only; the token is left out so it does not end up in logs.
+     */
+    @Override
+    public String toString() {
+        return (transport == Transport.UNIX ? "unix:" : "tcp:") + address;
+    }
+}
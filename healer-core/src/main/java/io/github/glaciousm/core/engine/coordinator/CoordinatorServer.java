@@ -0,0 +1,420 @@
+package io.github.glaciousm.core.engine.coordinator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.glaciousm.core.config.CoordinatorConfig;
+import io.github.glaciousm.core.config.CoordinatorConfig.Transport;
+import io.github.glaciousm.core.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heal coordinator daemon shared by forked test JVMs.
+ *
+ * <p>Serves a {@link LocalHealCoordinator} over a Unix domain socket, or loopback TCP
+ * where Unix sockets are unavailable. The protocol is one JSON object per line in each
+ * direction; every connection starts with a {@code hello} naming its client so that
+ * claims and LLM permits held by a client that dies are released when its last
+ * connection closes. The {@code hello} must carry the token published with the
+ * endpoint, or the connection is refused; TCP binds to loopback only.</p>
+ *
+ * <p>The server is either started by {@code healer coordinator start} or spawned by
+ * the first fork (see {@link HealCoordinators}); a spawned server exits after it has
+ * had no connections for the configured idle period.</p>
+ */
+public class CoordinatorServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoordinatorServer.class);
+
+    /** Unix socket paths longer than this do not fit in sockaddr_un on all platforms */
+    private static final int MAX_UNIX_PATH_LENGTH = 100;
+
+    private final LocalHealCoordinator state;
+    private final Path directory;
+    private final Transport transport;
+    private final Duration idleShutdown;
+    private final ObjectMapper mapper = JsonUtils.getMapper();
+
+    private final Map<String, ClientState> clients = new ConcurrentHashMap<>();
+    private final Map<String, String> owners = new ConcurrentHashMap<>();
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final AtomicLong lastActivity = new AtomicLong(System.nanoTime());
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private volatile ServerSocketChannel serverChannel;
+    private volatile CoordinatorEndpoint endpoint;
+    private volatile boolean running;
+
+    /**
+     * @param state        coordinator state to serve
+     * @param directory    coordinator directory holding the socket and endpoint file
+     * @param transport    transport to bind
+     * @param idleShutdown stop after this long without connections; zero keeps running
+     */
+    public CoordinatorServer(LocalHealCoordinator state, Path directory, Transport transport, Duration idleShutdown) {
+        this.state = state;
+        this.directory = directory.toAbsolutePath().normalize();
+        this.transport = transport != null ? transport : Transport.AUTO;
+        this.idleShutdown = idleShutdown != null ? idleShutdown : Duration.ZERO;
+    }
+
+    public static CoordinatorServer fromConfig(CoordinatorConfig config, Duration idleShutdown) {
+        return new CoordinatorServer(
+                new LocalHealCoordinator(config.getMaxEntries(), config.getMaxConcurrentLlmCalls()),
+                Paths.get(config.getDirectory()), config.getTransport(), idleShutdown);
+    }
+
+    /**
+     * Bind the socket, publish the endpoint and start serving.
+     *
+     * @throws IOException if binding fails or another coordinator already serves the directory
+     */
+    public synchronized CoordinatorEndpoint start() throws IOException {
+        if (running) {
+            return endpoint;
+        }
+        Files.createDirectories(directory);
+        CoordinatorEndpoint existing = CoordinatorEndpoint.read(directory).orElse(null);
+        if (existing != null && HealCoordinators.isReachable(existing, Duration.ofSeconds(1))) {
+            throw new IOException("A heal coordinator is already running at " + existing);
+        }
+
+        bind(newToken());
+        endpoint.write(directory);
+        running = true;
+
+        startDaemon("heal-coordinator-accept", this::acceptLoop);
+        if (!idleShutdown.isZero() && !idleShutdown.isNegative()) {
+            startDaemon("heal-coordinator-idle", this::idleWatch);
+        }
+        logger.info("Heal coordinator listening on {}", endpoint);
+        return endpoint;
+    }
+
+    public CoordinatorEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public HealCoordinator.Stats getStats() {
+        return state.getStats();
+    }
+
+    /**
+     * Block until the server stops.
+     */
+    public void awaitTermination() throws InterruptedException {
+        terminated.await();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            logger.debug("Error closing coordinator socket: {}", e.getMessage());
+        }
+        for (SocketChannel connection : connections) {
+            closeQuietly(connection);
+        }
+        state.close();
+        try {
+            Files.deleteIfExists(directory.resolve(CoordinatorEndpoint.ENDPOINT_FILE));
+            if (endpoint.transport() == Transport.UNIX) {
+                Files.deleteIfExists(Paths.get(endpoint.address()));
+            }
+        } catch (IOException e) {
+            logger.debug("Error removing coordinator files: {}", e.getMessage());
+        }
+        logger.info("Heal coordinator stopped");
+        terminated.countDown();
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private boolean validToken(String presented) {
+        return presented != null && MessageDigest.isEqual(
+                endpoint.token().getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void bind(String token) throws IOException {
+        if (transport != Transport.TCP) {
+            Path socketPath = directory.resolve(CoordinatorEndpoint.SOCKET_FILE);
+            try {
+                if (socketPath.toString().length() > MAX_UNIX_PATH_LENGTH) {
+                    throw new IOException("Socket path too long: " + socketPath);
+                }
+                // A socket file without a live coordinator is left over from a crash
+                Files.deleteIfExists(socketPath);
+                ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+                channel.bind(UnixDomainSocketAddress.of(socketPath));
+                serverChannel = channel;
+                endpoint = CoordinatorEndpoint.unix(socketPath, token);
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                if (transport == Transport.UNIX) {
+                    throw e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+                }
+                logger.debug("Unix domain socket unavailable ({}), using loopback TCP", e.getMessage());
+            }
+        }
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        serverChannel = channel;
+        endpoint = CoordinatorEndpoint.tcp((InetSocketAddress) channel.getLocalAddress(), token);
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel connection = serverChannel.accept();
+                connections.add(connection);
+                lastActivity.set(System.nanoTime());
+                startDaemon("heal-coordinator-conn-" + threadCounter.incrementAndGet(), () -> serve(connection));
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Coordinator accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void idleWatch() {
+        while (running) {
+            try {
+                Thread.sleep(Math.min(1000, Math.max(10, idleShutdown.toMillis() / 4)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long idleNanos = System.nanoTime() - lastActivity.get();
+            if (connections.isEmpty() && idleNanos >= idleShutdown.toNanos()) {
+                logger.info("Heal coordinator idle for {}s, shutting down", idleShutdown.toSeconds());
+                close();
+            }
+        }
+    }
+
+    private void serve(SocketChannel connection) {
+        ClientState client = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Channels.newInputStream(connection), StandardCharsets.UTF_8))) {
+            OutputStream out = Channels.newOutputStream(connection);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lastActivity.set(System.nanoTime());
+                JsonNode request = mapper.readTree(line);
+                ObjectNode response = mapper.createObjectNode();
+                if ("hello".equals(request.path("op").asText())) {
+                    if (client != null || !validToken(request.path("token").asText(null))) {
+                        response.put("ok", false).put("error", "invalid token");
+                        out.write((mapper.writeValueAsString(response) + "\n").getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                        return;
+                    }
+                    client = clients.computeIfAbsent(request.path("client").asText(), ClientState::new);
+                    client.connections.incrementAndGet();
+                    response.put("ok", true);
+                } else if (client == null) {
+                    response.put("ok", false).put("error", "hello required");
+                } else {
+                    handle(client, request, response);
+                }
+                boolean shutdown = "shutdown".equals(request.path("op").asText());
+                if (shutdown) {
+                    // Stop before acknowledging so the caller sees a stopped server; this
+                    // connection stays open just long enough to send the reply
+                    connections.remove(connection);
+                    close();
+                }
+                out.write((mapper.writeValueAsString(response) + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                if (shutdown) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Coordinator connection closed: {}", e.getMessage());
+        } finally {
+            connections.remove(connection);
+            closeQuietly(connection);
+            lastActivity.set(System.nanoTime());
+            if (client != null && client.connections.decrementAndGet() == 0) {
+                release(client);
+            }
+        }
+    }
+
+    private void handle(ClientState client, JsonNode request, ObjectNode response) {
+        String op = request.path("op").asText();
+        String key = request.path("key").asText(null);
+        Duration wait = Duration.ofMillis(request.path("waitMillis").asLong(0));
+        response.put("ok", true);
+        switch (op) {
+            case "ping", "shutdown" -> { }
+            case "lookup" -> state.lookup(key).ifPresent(value -> response.put("value", value));
+            case "claim" -> {
+                HealCoordinator.Claim claim = state.claim(key, wait);
+                if (claim.isOwner()) {
+                    owners.put(key, client.id);
+                    client.keys.add(key);
+                }
+                response.put("status", claim.status().name());
+                if (claim.isHit()) {
+                    response.put("value", claim.healedLocator());
+                }
+            }
+            case "complete" -> {
+                releaseOwnership(key);
+                state.complete(key, request.path("value").asText());
+            }
+            case "abandon" -> {
+                releaseOwnership(key);
+                state.abandon(key);
+            }
+            case "invalidate" -> state.invalidate(key);
+            case "acquire" -> {
+                boolean granted = state.acquireLlmPermit(wait);
+                if (granted) {
+                    client.permits.incrementAndGet();
+                }
+                response.put("granted", granted);
+            }
+            case "release" -> {
+                if (client.permits.getAndUpdate(p -> Math.max(0, p - 1)) > 0) {
+                    state.releaseLlmPermit();
+                }
+            }
+            case "stats" -> {
+                HealCoordinator.Stats stats = state.getStats();
+                response.put("cachedHeals", stats.cachedHeals())
+                        .put("inFlight", stats.inFlight())
+                        .put("hits", stats.hits())
+                        .put("claimsGranted", stats.claimsGranted())
+                        .put("waitsDeduplicated", stats.waitsDeduplicated())
+                        .put("llmPermitsGranted", stats.llmPermitsGranted())
+                        .put("clients", clients.size());
+            }
+            default -> response.put("ok", false).put("error", "unknown op: " + op);
+        }
+    }
+
+    private void releaseOwnership(String key) {
+        String owner = owners.remove(key);
+        if (owner != null) {
+            ClientState ownerState = clients.get(owner);
+            if (ownerState != null) {
+                ownerState.keys.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Release everything a disconnected client still held.
+     */
+    private void release(ClientState client) {
+        clients.remove(client.id, client);
+        for (String key : client.keys) {
+            if (owners.remove(key, client.id)) {
+                state.abandon(key);
+            }
+        }
+        int permits = client.permits.getAndSet(0);
+        for (int i = 0; i < permits; i++) {
+            state.releaseLlmPermit();
+        }
+        if (!client.keys.isEmpty() || permits > 0) {
+            logger.debug("Released {} claims and {} LLM permits of disconnected client {}",
+                    client.keys.size(), permits, client.id);
+        }
+    }
+
+    private void startDaemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+
+    private static final class ClientState {
+        private final String id;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger permits = new AtomicInteger();
+
+        private ClientState(String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Entry point of a spawned coordinator process.
+     * Arguments: {@code <directory> <transport> <maxEntries> <maxConcurrentLlmCalls> <idleShutdownSeconds>}.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("Usage: CoordinatorServer <directory> <transport> <maxEntries> "
+                    + "<maxConcurrentLlmCalls> <idleShutdownSeconds>");
+            System.exit(2);
+        }
+        CoordinatorServer server = new CoordinatorServer(
+                new LocalHealCoordinator(Integer.parseInt(args[2]), Integer.parseInt(args[3])),
+                Paths.get(args[0]),
+                Transport.valueOf(args[1].toUpperCase()),
+                Duration.ofSeconds(Long.parseLong(args[4])));
+        try {
+            server.start();
+        } catch (IOException e) {
+            System.err.println("Heal coordinator not started: " + e.getMessage());
+            System.exit(1);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "heal-coordinator-shutdown"));
+        server.awaitTermination();
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.glaciousm.core.engine.coordinator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Uses a shared coordinator while it is reachable and degrades to an in-process one
+ * the first time it is not, so a coordinator crash never fails a heal.
+ * The switch is one-way; the fork keeps healing in-process for the rest of the run.
+ */
+public class FailoverHealCoordinator implements HealCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailoverHealCoordinator.class);
+
+    private final HealCoordinator primary;
+    private final HealCoordinator fallback;
+    private final AtomicInteger primaryPermits = new AtomicInteger();
+    private volatile boolean degraded;
+
+    public FailoverHealCoordinator(HealCoordinator primary, HealCoordinator fallback) {
+        this.primary = primary;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Whether the shared coordinator has been given up on.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    @Override
+    public Optional<String> lookup(String key) {
+        return route(c -> c.lookup(key));
+    }
+
+    @Override
+    public Claim claim(String key, Duration maxWait) {
+        return route(c -> c.claim(key, maxWait));
+    }
+
+    @Override
+    public void complete(String key, String healedLocator) {
+        // Keep the local copy warm so a later failover still has the heal
+        fallback.complete(key, healedLocator);
+        route(c -> {
+            if (c != fallback) {
+                c.complete(key, healedLocator);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void abandon(String key) {
+        route(c -> {
+            c.abandon(key);
+            return null;
+        });
+    }
+
+    @Override
+    public void invalidate(String key) {
+        fallback.invalidate(key);
+        route(c -> {
+            if (c != fallback) {
+                c.invalidate(key);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean acquireLlmPermit(Duration maxWait) {
+        if (!degraded) {
+            try {
+                boolean granted = primary.acquireLlmPermit(maxWait);
+                if (granted) {
+                    primaryPermits.incrementAndGet();
+                }
+                return granted;
+            } catch (UncheckedIOException e) {
+                degrade(e);
+            }
+        }
+        return fallback.acquireLlmPermit(maxWait);
+    }
+
+    @Override
+    public void releaseLlmPermit() {
+        if (primaryPermits.getAndUpdate(p -> Math.max(0, p - 1)) > 0) {
+            // Permits of a lost coordinator are reclaimed by the server when the client disconnects
+            if (!degraded) {
+                try {
+                    primary.releaseLlmPermit();
+                } catch (UncheckedIOException e) {
+                    degrade(e);
+                }
+            }
+            return;
+        }
+        fallback.releaseLlmPermit();
+    }
+
+    @Override
+    public Stats getStats() {
+        return route(HealCoordinator::getStats);
+    }
+
+    @Override
+    public boolean isShared() {
+        return !degraded && primary.isShared();
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+        fallback.close();
+    }
+
+    private <T> T route(Function<HealCoordinator, T> operation) {
+        if (!degraded) {
+            try {
+                return operation.apply(primary);
+            } catch (UncheckedIOException e) {
+                degrade(e);
+            }
+        }
+        return operation.apply(fallback);
+    }
+
+    private void degrade(UncheckedIOException e) {
+        if (!degraded) {
+            degraded = true;
+            logger.warn("Heal coordinator unreachable ({}); continuing with in-process healing",
+                    e.getCause().getMessage());
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.glaciousm.core.engine.coordinator;
+
+import io.github.glaciousm.core.engine.cache.CacheKey;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Coordinates heals between concurrent callers that would otherwise heal the same
+ * broken locator independently.
+ *
+ * <p>A coordinator owns three pieces of shared state: a cache of healed locators,
+ * the set of heals currently in flight (so a second caller waits for the first
+ * instead of capturing its own snapshot and calling the LLM again), and a budget
+ * of concurrent LLM calls. {@link LocalHealCoordinator} shares this state between
+ * threads of one JVM; {@link RemoteHealCoordinator} shares it between forked test
+ * JVMs through a {@link CoordinatorServer}.</p>
+ */
+public interface HealCoordinator extends AutoCloseable {
+
+    /**
+     * Look up a previously published heal.
+     *
+     * @param key coordination key, see {@link #key(String, String)}
+     * @return the healed locator, if one has been published
+     */
+    Optional<String> lookup(String key);
+
+    /**
+     * Claim the right to heal a key.
+     * Returns immediately with a hit when a heal is already published, or with
+     * ownership when nobody else is healing the key. When another caller is healing
+     * it, blocks up to {@code maxWait} for that heal to finish.
+     * An owner must eventually call {@link #complete} or {@link #abandon}.
+     *
+     * @param key     coordination key
+     * @param maxWait how long to wait for an in-flight heal by another caller
+     * @return the claim outcome
+     */
+    Claim claim(String key, Duration maxWait);
+
+    /**
+     * Publish a successful heal and release the claim on its key.
+     */
+    void complete(String key, String healedLocator);
+
+    /**
+     * Release the claim on a key without publishing a heal, waking any waiters.
+     */
+    void abandon(String key);
+
+    /**
+     * Remove a published heal that no longer works.
+     */
+    void invalidate(String key);
+
+    /**
+     * Acquire one slot of the shared LLM concurrency budget.
+     *
+     * @return true if a slot was acquired; false if none became free within {@code maxWait}
+     */
+    boolean acquireLlmPermit(Duration maxWait);
+
+    /**
+     * Return a slot acquired with {@link #acquireLlmPermit}.
+     */
+    void releaseLlmPermit();
+
+    /**
+     * Get coordinator statistics.
+     */
+    Stats getStats();
+
+    /**
+     * Whether the state is shared with other processes.
+     */
+    boolean isShared();
+
+    @Override
+    void close();
+
+    /**
+     * Build the coordination key for a locator on a page.
+     * Dynamic path segments of the URL are normalized so that the same broken locator
+     * on {@code /orders/17} and {@code /orders/42} shares one heal.
+     */
+    static String key(String pageUrl, String originalLocator) {
+        String page = pageUrl != null ? CacheKey.extractPagePattern(pageUrl) : "";
+        return page + "|" + Objects.requireNonNull(originalLocator, "originalLocator cannot be null");
+    }
+
+    /**
+     * Outcome of {@link #claim}.
+     *
+     * @param status        what the caller should do next
+     * @param healedLocator the published heal when {@code status} is {@link Status#HIT}
+     */
+    record Claim(Status status, String healedLocator) {
+
+        public enum Status {
+            /** A heal is already published; use it */
+            HIT,
+            /** The caller owns the heal and must complete or abandon it */
+            OWNER,
+            /** Another caller is still healing; proceed without coordination */
+            TIMED_OUT
+        }
+
+        public static Claim hit(String healedLocator) {
+            return new Claim(Status.HIT, Objects.requireNonNull(healedLocator));
+        }
+
+        public static Claim owner() {
+            return new Claim(Status.OWNER, null);
+        }
+
+        public static Claim timedOut() {
+            return new Claim(Status.TIMED_OUT, null);
+        }
+
+        public boolean isHit() {
+            return status == Status.HIT;
+        }
+
+        public boolean isOwner() {
+            return status == Status.OWNER;
+        }
+    }
+
+    /**
+     * Coordinator statistics.
+     *
+     * @param cachedHeals       published heals currently held
+     * @param inFlight          heals currently claimed
+     * @param hits              lookups and claims answered from published heals
+     * @param claimsGranted     claims that made the caller the owner
+     * @param waitsDeduplicated claims that waited for another caller's heal and reused it
+     * @param llmPermitsGranted LLM slots handed out
+     */
+    record Stats(int cachedHeals, int inFlight, long hits, long claimsGranted,
+                 long waitsDeduplicated, long llmPermitsGranted) {
+    }
+}
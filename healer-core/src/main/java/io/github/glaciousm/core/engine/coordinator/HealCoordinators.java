@@ -0,0 +1,180 @@
+package io.github.glaciousm.core.engine.coordinator;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.glaciousm.core.config.CoordinatorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Creates the heal coordinator for a test JVM.
+ *
+ * <p>With coordination disabled this is a {@link LocalHealCoordinator}. With it enabled,
+ * the JVM connects to the coordinator published in the configured directory, spawning
+ * one first if none is running and auto-spawn is on. Forks race for a file lock so only
+ * one of them spawns. If no coordinator can be reached the JVM heals in-process.</p>
+ */
+public final class HealCoordinators {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealCoordinators.class);
+
+    private static final String SPAWN_LOCK_FILE = "spawn.lock";
+    private static final String LOG_FILE = "coordinator.log";
+    private static final Duration SPAWN_TIMEOUT = Duration.ofSeconds(15);
+
+    private HealCoordinators() {
+    }
+
+    /**
+     * Create the coordinator described by the configuration.
+     */
+    public static HealCoordinator create(CoordinatorConfig config) {
+        // In-process LLM concurrency is left to the provider's adaptive limiter; the
+        // budget only applies across forks, through the coordinator server
+        if (config == null) {
+            return new LocalHealCoordinator(new CoordinatorConfig().getMaxEntries(), 0);
+        }
+        LocalHealCoordinator local = new LocalHealCoordinator(config.getMaxEntries(), 0);
+        if (!config.isEnabled()) {
+            return local;
+        }
+
+        Path directory = Paths.get(config.getDirectory()).toAbsolutePath().normalize();
+        Duration connectTimeout = Duration.ofMillis(config.getConnectTimeoutMillis());
+        Optional<RemoteHealCoordinator> remote = tryConnect(directory, connectTimeout);
+        if (remote.isEmpty() && config.isAutoSpawn()) {
+            remote = spawnAndConnect(config, directory, connectTimeout);
+        }
+        if (remote.isEmpty()) {
+            logger.warn("No heal coordinator reachable in {}; healing in-process", directory);
+            return local;
+        }
+        logger.info("Connected to heal coordinator at {}", remote.get().getEndpoint());
+        return new FailoverHealCoordinator(remote.get(), local);
+    }
+
+    /**
+     * Connect to the coordinator published in a directory, if one is running.
+     */
+    public static Optional<RemoteHealCoordinator> tryConnect(Path directory, Duration connectTimeout) {
+        Optional<CoordinatorEndpoint> endpoint = CoordinatorEndpoint.read(directory);
+        if (endpoint.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(RemoteHealCoordinator.connect(endpoint.get(), connectTimeout));
+        } catch (IOException | UncheckedIOException e) {
+            logger.debug("Coordinator at {} not reachable: {}", endpoint.get(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static boolean isReachable(CoordinatorEndpoint endpoint, Duration timeout) {
+        try (RemoteHealCoordinator ignored = RemoteHealCoordinator.connect(endpoint, timeout)) {
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            return false;
+        }
+    }
+
+    private static synchronized Optional<RemoteHealCoordinator> spawnAndConnect(CoordinatorConfig config,
+                                                                                Path directory,
+                                                                                Duration connectTimeout) {
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel lockChannel = FileChannel.open(directory.resolve(SPAWN_LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                // Another fork may have spawned it while we waited for the lock
+                Optional<RemoteHealCoordinator> existing = tryConnect(directory, connectTimeout);
+                if (existing.isPresent()) {
+                    return existing;
+                }
+                Process process = spawn(config, directory);
+                long deadline = System.nanoTime() + SPAWN_TIMEOUT.toNanos();
+                while (System.nanoTime() < deadline && process.isAlive()) {
+                    Optional<RemoteHealCoordinator> spawned = tryConnect(directory, connectTimeout);
+                    if (spawned.isPresent()) {
+                        return spawned;
+                    }
+                    Thread.sleep(50);
+                }
+                // The process may have lost a bind race yet another coordinator serves the directory
+                Optional<RemoteHealCoordinator> last = tryConnect(directory, connectTimeout);
+                if (last.isEmpty()) {
+                    logger.warn("Spawned heal coordinator did not come up; see {}", directory.resolve(LOG_FILE));
+                }
+                return last;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not spawn heal coordinator: {}", e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private static Process spawn(CoordinatorConfig config, Path directory) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(List.of(
+                java,
+                "-Xmx64m",
+                "-cp", classPath(),
+                CoordinatorServer.class.getName(),
+                directory.toString(),
+                config.getTransport().name(),
+                String.valueOf(config.getMaxEntries()),
+                String.valueOf(config.getMaxConcurrentLlmCalls()),
+                String.valueOf(config.getIdleShutdownSeconds())));
+        logger.info("Spawning heal coordinator in {}", directory);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(directory.resolve(LOG_FILE).toFile()))
+                .start();
+    }
+
+    /**
+     * Class path for the coordinator process. The test JVM may load the healer from a
+     * java agent jar that is not on {@code java.class.path}, so the locations of the
+     * classes the server needs come first.
+     */
+    private static String classPath() {
+        Set<String> entries = new LinkedHashSet<>();
+        for (Class<?> type : List.of(CoordinatorServer.class, ObjectMapper.class, JsonParser.class,
+                JsonProperty.class, LoggerFactory.class)) {
+            CodeSource source = type.getProtectionDomain().getCodeSource();
+            if (source != null && source.getLocation() != null) {
+                try {
+                    entries.add(Paths.get(source.getLocation().toURI()).toString());
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    logger.debug("Skipping class path entry {}: {}", source.getLocation(), e.getMessage());
+                }
+            }
+        }
+        String inherited = System.getProperty("java.class.path");
+        if (inherited != null && !inherited.isEmpty()) {
+            entries.add(inherited);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+}
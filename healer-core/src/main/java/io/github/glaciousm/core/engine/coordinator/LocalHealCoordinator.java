@@ -0,0 +1,183 @@
+package io.github.glaciousm.core.engine.coordinator;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process heal coordinator.
+ * Used directly when cross-process coordination is disabled or unavailable, and as
+ * the state behind {@link CoordinatorServer}.
+ */
+public class LocalHealCoordinator implements HealCoordinator {
+
+    private final Map<String, String> healed;
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Semaphore llmPermits;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong claimsGranted = new AtomicLong();
+    private final AtomicLong waitsDeduplicated = new AtomicLong();
+    private final AtomicLong llmPermitsGranted = new AtomicLong();
+
+    /**
+     * @param maxEntries            maximum published heals kept; least recently used are evicted
+     * @param maxConcurrentLlmCalls LLM concurrency budget; zero or less means unlimited
+     */
+    public LocalHealCoordinator(int maxEntries, int maxConcurrentLlmCalls) {
+        int capacity = Math.max(1, maxEntries);
+        this.healed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.llmPermits = maxConcurrentLlmCalls > 0 ? new Semaphore(maxConcurrentLlmCalls, true) : null;
+    }
+
+    @Override
+    public Optional<String> lookup(String key) {
+        String value = cached(key);
+        if (value != null) {
+            hits.incrementAndGet();
+        }
+        return Optional.ofNullable(value);
+    }
+
+    @Override
+    public Claim claim(String key, Duration maxWait) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            String value = cached(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                return Claim.hit(value);
+            }
+
+            CompletableFuture<String> mine = new CompletableFuture<>();
+            CompletableFuture<String> existing = inFlight.putIfAbsent(key, mine);
+            if (existing == null) {
+                // A heal may have been published between the cache check and the claim
+                String raced = cached(key);
+                if (raced != null) {
+                    inFlight.remove(key, mine);
+                    mine.complete(raced);
+                    hits.incrementAndGet();
+                    return Claim.hit(raced);
+                }
+                claimsGranted.incrementAndGet();
+                return Claim.owner();
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return Claim.timedOut();
+            }
+            try {
+                String result = existing.get(remaining, TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    waitsDeduplicated.incrementAndGet();
+                    return Claim.hit(result);
+                }
+                // The owner abandoned the heal; try to take it over
+            } catch (TimeoutException e) {
+                return Claim.timedOut();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Claim.timedOut();
+            } catch (ExecutionException e) {
+                // Treated like an abandoned heal
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, String healedLocator) {
+        synchronized (healed) {
+            healed.put(key, healedLocator);
+        }
+        CompletableFuture<String> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.complete(healedLocator);
+        }
+    }
+
+    @Override
+    public void abandon(String key) {
+        CompletableFuture<String> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.complete(null);
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        synchronized (healed) {
+            healed.remove(key);
+        }
+    }
+
+    @Override
+    public boolean acquireLlmPermit(Duration maxWait) {
+        if (llmPermits == null) {
+            llmPermitsGranted.incrementAndGet();
+            return true;
+        }
+        try {
+            if (llmPermits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                llmPermitsGranted.incrementAndGet();
+                return true;
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void releaseLlmPermit() {
+        if (llmPermits != null) {
+            llmPermits.release();
+        }
+    }
+
+    @Override
+    public Stats getStats() {
+        int size;
+        synchronized (healed) {
+            size = healed.size();
+        }
+        return new Stats(size, inFlight.size(), hits.get(), claimsGranted.get(),
+                waitsDeduplicated.get(), llmPermitsGranted.get());
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    /**
+     * Wake every waiter; in-flight heals are abandoned.
+     */
+    @Override
+    public void close() {
+        for (String key : inFlight.keySet()) {
+            abandon(key);
+        }
+    }
+
+    private String cached(String key) {
+        synchronized (healed) {
+            return healed.get(key);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.glaciousm.core.engine.coordinator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.glaciousm.core.util.JsonUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Client of a {@link CoordinatorServer}.
+ *
+ * <p>Requests are synchronous; a claim may block on the server while another fork
+ * heals the same key, so connections are pooled and each concurrent caller uses its
+ * own. All connections identify as the same client, so claims and permits can be
+ * released on any of them. Transport failures surface as {@link UncheckedIOException};
+ * {@link FailoverHealCoordinator} turns them into a fallback to in-process mode.</p>
+ */
+public class RemoteHealCoordinator implements HealCoordinator {
+
+    private final CoordinatorEndpoint endpoint;
+    private final Duration connectTimeout;
+    private final String clientId = UUID.randomUUID().toString();
+    private final ObjectMapper mapper = JsonUtils.getMapper();
+    private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    private RemoteHealCoordinator(CoordinatorEndpoint endpoint, Duration connectTimeout) {
+        this.endpoint = endpoint;
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Connect to a coordinator and verify it answers.
+     */
+    public static RemoteHealCoordinator connect(CoordinatorEndpoint endpoint, Duration connectTimeout)
+            throws IOException {
+        RemoteHealCoordinator coordinator = new RemoteHealCoordinator(endpoint, connectTimeout);
+        try {
+            coordinator.call(coordinator.request("ping"));
+        } catch (UncheckedIOException e) {
+            coordinator.close();
+            throw e.getCause();
+        }
+        return coordinator;
+    }
+
+    public CoordinatorEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public Optional<String> lookup(String key) {
+        JsonNode response = call(request("lookup").put("key", key));
+        return Optional.ofNullable(response.path("value").asText(null));
+    }
+
+    @Override
+    public Claim claim(String key, Duration maxWait) {
+        JsonNode response = call(request("claim").put("key", key).put("waitMillis", maxWait.toMillis()));
+        return switch (Claim.Status.valueOf(response.path("status").asText())) {
+            case HIT -> Claim.hit(response.path("value").asText());
+            case OWNER -> Claim.owner();
+            case TIMED_OUT -> Claim.timedOut();
+        };
+    }
+
+    @Override
+    public void complete(String key, String healedLocator) {
+        call(request("complete").put("key", key).put("value", healedLocator));
+    }
+
+    @Override
+    public void abandon(String key) {
+        call(request("abandon").put("key", key));
+    }
+
+    @Override
+    public void invalidate(String key) {
+        call(request("invalidate").put("key", key));
+    }
+
+    @Override
+    public boolean acquireLlmPermit(Duration maxWait) {
+        return call(request("acquire").put("waitMillis", maxWait.toMillis())).path("granted").asBoolean();
+    }
+
+    @Override
+    public void releaseLlmPermit() {
+        call(request("release"));
+    }
+
+    @Override
+    public Stats getStats() {
+        JsonNode response = call(request("stats"));
+        return new Stats(
+                response.path("cachedHeals").asInt(),
+                response.path("inFlight").asInt(),
+                response.path("hits").asLong(),
+                response.path("claimsGranted").asLong(),
+                response.path("waitsDeduplicated").asLong(),
+                response.path("llmPermitsGranted").asLong());
+    }
+
+    /**
+     * Ask the coordinator process to stop.
+     */
+    public void shutdownServer() {
+        call(request("shutdown"));
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    /**
+     * Close all connections. Claims and permits still held are released by the server.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private ObjectNode request(String op) {
+        return mapper.createObjectNode().put("op", op);
+    }
+
+    private JsonNode call(ObjectNode request) {
+        if (closed) {
+            throw new UncheckedIOException(new IOException("Coordinator client is closed"));
+        }
+        Connection connection = idle.poll();
+        try {
+            if (connection == null) {
+                connection = open();
+            }
+            JsonNode response = connection.exchange(request);
+            if (!response.path("ok").asBoolean()) {
+                throw new IOException("Coordinator rejected " + request.path("op").asText()
+                        + ": " + response.path("error").asText());
+            }
+            if (closed) {
+                connection.close();
+            } else {
+                idle.offer(connection);
+            }
+            return response;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.close();
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Connection open() throws IOException {
+        Connection connection = new Connection(endpoint.connect(connectTimeout));
+        JsonNode hello = connection.exchange(request("hello").put("client", clientId).put("token", endpoint.token()));
+        if (!hello.path("ok").asBoolean()) {
+            connection.close();
+            throw new IOException("Coordinator refused connection");
+        }
+        return connection;
+    }
+
+    private final class Connection {
+        private final SocketChannel channel;
+        private final BufferedReader reader;
+        private final OutputStream out;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            this.out = Channels.newOutputStream(channel);
+        }
+
+        private JsonNode exchange(ObjectNode request) throws IOException {
+            out.write((mapper.writeValueAsString(request) + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Coordinator closed the connection");
+            }
+            return mapper.readTree(line);
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+    }
+}
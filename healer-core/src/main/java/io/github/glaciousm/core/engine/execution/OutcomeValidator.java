@@ -7,26 +7,69 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Validates outcomes after heal execution.
  * Runs outcome checks and invariant checks to verify the heal was successful.
+ *
+ * <p>The checks of an intent are instantiated once and reused, so check classes must be
+ * stateless. Each check declares the {@link PageFact}s it reads; with a
+ * {@link PageFactCollector} all of them are gathered in one round trip and the checks
+ * then run in memory against the result.</p>
  */
 public class OutcomeValidator {
 
     private static final Logger logger = LoggerFactory.getLogger(OutcomeValidator.class);
 
+    private static final Set<PageFact> ERROR_INDICATOR_FACTS =
+            Collections.unmodifiableSet(EnumSet.of(PageFact.URL, PageFact.TITLE, PageFact.ALERTS));
+
+    private final Map<CheckKey, CompiledChecks> compiled = new ConcurrentHashMap<>();
+
     /**
      * Validate the outcome of a healed action.
      */
     public ValidationResult validate(ExecutionContext context, IntentContract intent) {
+        return evaluate(context, compile(intent));
+    }
+
+    /**
+     * Validate the outcome of a healed action, reading the page state the intent's checks
+     * need with a single call to the collector.
+     */
+    public ValidationResult validate(Object driver, UiSnapshot beforeSnapshot,
+                                     PageFactCollector collector, IntentContract intent) {
+        CompiledChecks checks = compile(intent);
+        UiSnapshot afterSnapshot;
+        try {
+            afterSnapshot = collector.collect(checks.facts());
+        } catch (RuntimeException e) {
+            logger.warn("Could not read page state for validation: {}", e.getMessage());
+            return new ValidationResult(false, List.of("Could not read page state: " + e.getMessage()), List.of());
+        }
+        return evaluate(new ExecutionContext(driver, beforeSnapshot, afterSnapshot), checks);
+    }
+
+    /**
+     * Page facts needed to validate an intent, including the error indicator scan.
+     */
+    public Set<PageFact> requiredFacts(IntentContract intent) {
+        return compile(intent).facts();
+    }
+
+    private ValidationResult evaluate(ExecutionContext context, CompiledChecks checks) {
         List<String> failures = new ArrayList<>();
         List<String> warnings = new ArrayList<>();
 
         // Run outcome check if defined
-        if (intent.getOutcomeCheck() != null) {
-            OutcomeResult outcomeResult = runOutcomeCheck(context, intent.getOutcomeCheck());
+        if (checks.outcome() != null) {
+            OutcomeResult outcomeResult = runOutcomeCheck(context, checks.outcome());
             if (!outcomeResult.isPassed()) {
                 failures.add("Outcome check failed: " + outcomeResult.getMessage());
                 logger.warn("Outcome check failed: {}", outcomeResult.getMessage());
@@ -36,8 +79,8 @@ public class OutcomeValidator {
         }
 
         // Run invariant checks
-        for (Class<? extends InvariantCheck> invariantClass : intent.getInvariants()) {
-            InvariantResult invariantResult = runInvariantCheck(context, invariantClass);
+        for (InvariantCheck invariant : checks.invariants()) {
+            InvariantResult invariantResult = runInvariantCheck(context, invariant);
             if (invariantResult.isViolated()) {
                 failures.add("Invariant violated: " + invariantResult.getMessage());
                 logger.warn("Invariant violated: {}", invariantResult.getMessage());
@@ -67,15 +110,91 @@ public class OutcomeValidator {
         return new ValidationResult(success, failures, warnings);
     }
 
+    /**
+     * Resolve the checks of an intent, once per combination of check classes.
+     */
+    private CompiledChecks compile(IntentContract intent) {
+        return compiled.computeIfAbsent(new CheckKey(intent.getOutcomeCheck(), intent.getInvariants()), key -> {
+            Set<PageFact> facts = EnumSet.copyOf(ERROR_INDICATOR_FACTS);
+            OutcomeCheck outcome = null;
+            if (key.outcomeCheck() != null) {
+                outcome = instantiateOutcomeCheck(key.outcomeCheck());
+                facts.addAll(outcome.requiredFacts());
+            }
+            List<InvariantCheck> invariants = new ArrayList<>(key.invariants().size());
+            for (Class<? extends InvariantCheck> invariantClass : key.invariants()) {
+                InvariantCheck invariant = instantiateInvariantCheck(invariantClass);
+                facts.addAll(invariant.requiredFacts());
+                invariants.add(invariant);
+            }
+            return new CompiledChecks(outcome, List.copyOf(invariants), Collections.unmodifiableSet(facts));
+        });
+    }
+
+    /**
+     * Create an outcome check, or a stand-in that reports why it could not be created.
+     */
+    private OutcomeCheck instantiateOutcomeCheck(Class<? extends OutcomeCheck> checkClass) {
+        try {
+            return checkClass.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            logger.error("Failed to create outcome check: {}", checkClass.getName(), e);
+            String message = "Error running check: " + e.getMessage();
+            return new OutcomeCheck() {
+                @Override
+                public OutcomeResult verify(ExecutionContext ctx) {
+                    return OutcomeResult.failed(message);
+                }
+
+                @Override
+                public String getDescription() {
+                    return checkClass.getName();
+                }
+
+                @Override
+                public Set<PageFact> requiredFacts() {
+                    return Set.of();
+                }
+            };
+        }
+    }
+
+    /**
+     * Create an invariant check, or a stand-in that reports why it could not be created.
+     */
+    private InvariantCheck instantiateInvariantCheck(Class<? extends InvariantCheck> checkClass) {
+        try {
+            return checkClass.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            logger.error("Failed to create invariant check: {}", checkClass.getName(), e);
+            String message = "Error running check: " + e.getMessage();
+            return new InvariantCheck() {
+                @Override
+                public InvariantResult verify(ExecutionContext ctx) {
+                    return InvariantResult.violated(message);
+                }
+
+                @Override
+                public String getDescription() {
+                    return checkClass.getName();
+                }
+
+                @Override
+                public Set<PageFact> requiredFacts() {
+                    return Set.of();
+                }
+            };
+        }
+    }
+
     /**
      * Run the outcome check.
      */
-    private OutcomeResult runOutcomeCheck(ExecutionContext context, Class<? extends OutcomeCheck> checkClass) {
+    private OutcomeResult runOutcomeCheck(ExecutionContext context, OutcomeCheck check) {
         try {
-            OutcomeCheck check = checkClass.getDeclaredConstructor().newInstance();
             return check.verify(context);
         } catch (Exception e) {
-            logger.error("Failed to run outcome check: {}", checkClass.getName(), e);
+            logger.error("Failed to run outcome check: {}", check.getDescription(), e);
             return OutcomeResult.failed("Error running check: " + e.getMessage());
         }
     }
@@ -83,12 +202,11 @@ public class OutcomeValidator {
     /**
      * Run an invariant check.
      */
-    private InvariantResult runInvariantCheck(ExecutionContext context, Class<? extends InvariantCheck> checkClass) {
+    private InvariantResult runInvariantCheck(ExecutionContext context, InvariantCheck check) {
         try {
-            InvariantCheck check = checkClass.getDeclaredConstructor().newInstance();
             return check.verify(context);
         } catch (Exception e) {
-            logger.error("Failed to run invariant check: {}", checkClass.getName(), e);
+            logger.error("Failed to run invariant check: {}", check.getDescription(), e);
             return InvariantResult.violated("Error running check: " + e.getMessage());
         }
     }
@@ -175,5 +293,19 @@ public class OutcomeValidator {
                 return "Validation failed: " + String.join("; ", failures);
             }
         }
+
+        /**
+         * The result as a single outcome, for {@code HealingEngine#setOutcomeValidator}.
+         */
+        public OutcomeResult toOutcomeResult() {
+            return success ? OutcomeResult.passed(getSummary()) : OutcomeResult.failed(getSummary());
+        }
+    }
+
+    private record CheckKey(Class<? extends OutcomeCheck> outcomeCheck,
+                            List<Class<? extends InvariantCheck>> invariants) {
+    }
+
+    private record CompiledChecks(OutcomeCheck outcome, List<InvariantCheck> invariants, Set<PageFact> facts) {
     }
 }
@@ -0,0 +1,19 @@
+package io.github.glaciousm.core.engine.execution;
+
+import io.github.glaciousm.core.model.PageFact;
+import io.github.glaciousm.core.model.UiSnapshot;
+
+import java.util.Set;
+
+/**
+ * Reads the page state that outcome and invariant checks need, in one round trip.
+ */
+@FunctionalInterface
+public interface PageFactCollector {
+
+    /**
+     * Collect the requested facts from the current page.
+     * Parts of the snapshot for facts that were not requested may be left empty.
+     */
+    UiSnapshot collect(Set<PageFact> facts);
+}
@@ -101,6 +101,79 @@ public class MultiStepFlowHealer {
             case CONTEXTUAL -> stepResults = healWithContext(execution, healer);
         }
 
+        return summarize(execution, stepResults);
+    }
+
+    /**
+     * Heal all accumulated failures of a flow with one batched call.
+     * Every failed step is handed to the batch healer at once, together with the full
+     * flow context, so a form whose locators all changed in one release costs a single
+     * snapshot and LLM round-trip instead of one per step.
+     *
+     * @param executionId the flow execution to heal
+     * @param batchHealer heals all requests together and returns results keyed by step id
+     */
+    public FlowHealResult healFlowBatched(String executionId,
+                                         Function<List<HealRequest>, Map<String, HealResult>> batchHealer) {
+        FlowExecution execution = activeExecutions.get(executionId);
+        if (execution == null) {
+            return FlowHealResult.notFound(executionId);
+        }
+
+        if (execution.getFailures().isEmpty()) {
+            return FlowHealResult.noFailures(executionId);
+        }
+
+        logger.info("Healing flow {} with {} failures in one batch",
+                executionId, execution.getFailures().size());
+
+        String fullContext = buildFlowContext(execution);
+        List<HealRequest> requests = new ArrayList<>();
+        for (FlowStep step : execution.getDefinition().steps()) {
+            StepFailure failure = execution.getFailure(step.stepId());
+            if (failure == null) continue;
+
+            requests.add(new HealRequest(
+                    step.stepId(),
+                    failure.failedLocator(),
+                    step.intent(),
+                    step.expectedOutcome(),
+                    Map.of(),
+                    fullContext
+            ));
+        }
+
+        Map<String, HealResult> healResults = batchHealer.apply(List.copyOf(requests));
+
+        List<StepHealResult> stepResults = new ArrayList<>();
+        for (HealRequest request : requests) {
+            HealResult healResult = healResults != null ? healResults.get(request.stepId()) : null;
+            if (healResult == null) {
+                healResult = HealResult.failed("No heal result returned for step " + request.stepId());
+            }
+            LocatorInfo healedLocator = healResult.getHealedLocator()
+                    .map(loc -> new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, loc))
+                    .orElse(null);
+
+            stepResults.add(new StepHealResult(
+                    request.stepId(),
+                    request.failedLocator(),
+                    healedLocator,
+                    healResult.isSuccess(),
+                    healResult.getConfidence(),
+                    healResult.getReasoning().orElse(null)
+            ));
+        }
+
+        return summarize(execution, stepResults);
+    }
+
+    /**
+     * Build the flow-level result, releasing the execution once every step healed.
+     */
+    private FlowHealResult summarize(FlowExecution execution, List<StepHealResult> stepResults) {
+        String executionId = execution.getExecutionId();
+
         // Calculate overall success
         long successCount = stepResults.stream().filter(StepHealResult::success).count();
         boolean overallSuccess = successCount == stepResults.size();
@@ -217,18 +290,7 @@ public class MultiStepFlowHealer {
                                                   Function<HealRequest, HealResult> healer) {
         List<StepHealResult> results = new ArrayList<>();
 
-        // Build complete flow context
-        StringBuilder flowContextBuilder = new StringBuilder();
-        flowContextBuilder.append("Flow: ").append(execution.getDefinition().flowId()).append("\n");
-        flowContextBuilder.append("Description: ").append(execution.getDefinition().description()).append("\n");
-        flowContextBuilder.append("Steps in flow:\n");
-
-        for (FlowStep step : execution.getDefinition().steps()) {
-            flowContextBuilder.append("  - ").append(step.stepId())
-                    .append(": ").append(step.intent()).append("\n");
-        }
-
-        String fullContext = flowContextBuilder.toString();
+        String fullContext = buildFlowContext(execution);
 
         // First pass: gather all information
         List<LocatorInfo> allFailedLocators = execution.getFailures().values().stream()
@@ -274,6 +336,23 @@ public class MultiStepFlowHealer {
         return results;
     }
 
+    /**
+     * Describe the whole flow (id, description and every step intent) for the LLM.
+     */
+    private String buildFlowContext(FlowExecution execution) {
+        StringBuilder flowContextBuilder = new StringBuilder();
+        flowContextBuilder.append("Flow: ").append(execution.getDefinition().flowId()).append("\n");
+        flowContextBuilder.append("Description: ").append(execution.getDefinition().description()).append("\n");
+        flowContextBuilder.append("Steps in flow:\n");
+
+        for (FlowStep step : execution.getDefinition().steps()) {
+            flowContextBuilder.append("  - ").append(step.stepId())
+                    .append(": ").append(step.intent()).append("\n");
+        }
+
+        return flowContextBuilder.toString();
+    }
+
     /**
      * Clean up expired executions.
      */
@@ -0,0 +1,267 @@
+package io.github.glaciousm.core.engine.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.glaciousm.core.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of finished heals, read by the IDE plugins.
+ *
+ * <p>Each heal is one JSON line in {@value #FILE_NAME}. A second file, {@value #INDEX_FILE_NAME},
+ * holds the byte offset of every line as a big-endian long, so record {@code n} starts at the
+ * offset stored at byte {@code 8 * n}. Readers follow new heals by reading the log from the
+ * last offset they saw, and page back through history by seeking in the index, so neither
+ * ever parses the whole log.</p>
+ *
+ * <p>Appends take an exclusive file lock, so forked test JVMs can share one log.</p>
+ */
+public class HealEventLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealEventLog.class);
+
+    /** File name of the log in the report output directory. */
+    public static final String FILE_NAME = "heal-events.jsonl";
+
+    /** File name of the offset index next to the log. */
+    public static final String INDEX_FILE_NAME = "heal-events.idx";
+
+    private static final int OFFSET_BYTES = Long.BYTES;
+    private static final int READ_CHUNK = 64 * 1024;
+
+    /** File locks are held per JVM, so appends within one JVM are serialized here first. */
+    private static final Object APPEND_LOCK = new Object();
+
+    private final Path file;
+    private final Path indexFile;
+    private final ObjectMapper objectMapper = JsonUtils.getMapper();
+
+    /**
+     * A run of consecutive records read through the index.
+     *
+     * @param first     index of the first record
+     * @param records   the records, oldest first
+     * @param endOffset log offset just after the last record, where following a tail continues
+     */
+    public record Page(long first, List<HealEventRecord> records, long endOffset) {
+    }
+
+    /**
+     * @param directory directory holding the log, normally the report output directory
+     */
+    public HealEventLog(Path directory) {
+        this.file = directory.resolve(FILE_NAME);
+        this.indexFile = directory.resolve(INDEX_FILE_NAME);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Path getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * Append a record. Failures are logged rather than thrown, so logging never breaks a heal.
+     */
+    public void append(HealEventRecord record) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            synchronized (APPEND_LOCK) {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                try (FileChannel log = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+                     FileLock ignored = log.lock();
+                     FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                             StandardOpenOption.WRITE)) {
+                    long offset = log.size();
+                    if (offset > 0 && !endsWithNewline(log, offset)) {
+                        // A JVM died mid-append; end its partial line so this one stays readable
+                        writeFully(log, ByteBuffer.wrap(new byte[]{'\n'}), offset);
+                        offset++;
+                    }
+                    writeFully(log, ByteBuffer.wrap(line), offset);
+
+                    // Drop a torn index entry, if any, by writing over it
+                    long indexEnd = index.size() - index.size() % OFFSET_BYTES;
+                    writeFully(index, ByteBuffer.allocate(OFFSET_BYTES).putLong(0, offset), indexEnd);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to append heal event to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Number of records in the index.
+     */
+    public long count() throws IOException {
+        return Files.exists(indexFile) ? Files.size(indexFile) / OFFSET_BYTES : 0;
+    }
+
+    /**
+     * Read up to {@code limit} records starting at index {@code first}, through the index.
+     */
+    public Page read(long first, int limit) throws IOException {
+        long total = count();
+        long start = Math.max(0, Math.min(first, total));
+        int n = (int) Math.max(0, Math.min(limit, total - start));
+        List<HealEventRecord> records = new ArrayList<>(n);
+        if (n == 0) {
+            return new Page(start, records, 0);
+        }
+
+        ByteBuffer offsets = ByteBuffer.allocate(n * OFFSET_BYTES);
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            readFully(index, offsets, start * OFFSET_BYTES);
+        }
+        long endOffset = 0;
+        try (FileChannel log = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = log.size();
+            for (int i = 0; i < n; i++) {
+                long offset = offsets.getLong(i * OFFSET_BYTES);
+                if (offset >= size) {
+                    break;
+                }
+                byte[] line = readLine(log, offset, size);
+                endOffset = offset + line.length + 1;
+                HealEventRecord record = parse(line);
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+        }
+        return new Page(start, records, endOffset);
+    }
+
+    /**
+     * Read the records appended since {@code offset}, oldest first.
+     *
+     * <p>Only complete lines are read, so a record being written is picked up on the next
+     * call. If the log is shorter than {@code offset} it was cleared or replaced, and reading
+     * starts again from the beginning.</p>
+     *
+     * @return the offset to pass next time; smaller than {@code offset} when the log restarted
+     */
+    public long tail(long offset, Consumer<HealEventRecord> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel log = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = log.size();
+            long position = size < offset ? 0 : offset;
+            ByteArrayOutputStream pending = new ByteArrayOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK);
+            long consumed = position;
+            while (position < size) {
+                buffer.clear();
+                int read = log.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                position += read;
+                byte[] chunk = buffer.array();
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (chunk[i] == '\n') {
+                        pending.write(chunk, lineStart, i - lineStart);
+                        byte[] line = pending.toByteArray();
+                        pending.reset();
+                        consumed += line.length + 1;
+                        HealEventRecord record = parse(line);
+                        if (record != null) {
+                            consumer.accept(record);
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+                pending.write(chunk, lineStart, read - lineStart);
+            }
+            return consumed;
+        }
+    }
+
+    /**
+     * Delete the log and its index.
+     */
+    public void clear() throws IOException {
+        synchronized (APPEND_LOCK) {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private HealEventRecord parse(byte[] line) {
+        if (line.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, HealEventRecord.class);
+        } catch (JsonProcessingException e) {
+            logger.debug("Skipping unreadable heal event in {}: {}", file, e.getOriginalMessage());
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] readLine(FileChannel log, long offset, long size) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = offset;
+        while (position < size) {
+            buffer.clear();
+            int read = log.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    line.write(buffer.array(), 0, i);
+                    return line.toByteArray();
+                }
+            }
+            line.write(buffer.array(), 0, read);
+            position += read;
+        }
+        return line.toByteArray();
+    }
+
+    private static boolean endsWithNewline(FileChannel channel, long size) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        return channel.read(last, size - 1) == 1 && last.get(0) == '\n';
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of " + channel);
+            }
+            position += read;
+        }
+    }
+}
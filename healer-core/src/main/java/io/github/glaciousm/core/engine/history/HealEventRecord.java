@@ -0,0 +1,55 @@
+package io.github.glaciousm.core.engine.history;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.HealOutcome;
+import io.github.glaciousm.core.model.HealResult;
+
+import java.time.Instant;
+
+/**
+ * One line of the heal event log: what the IDE plugins show for a heal.
+ *
+ * @param id              heal result id
+ * @param timestamp       when the heal finished
+ * @param featureName     feature or test class, if known
+ * @param scenarioName    scenario or test method, if known
+ * @param stepText        the failed step
+ * @param originalLocator the locator that failed
+ * @param healedLocator   the locator the heal chose, or null
+ * @param confidence      confidence of the heal
+ * @param reasoning       the heal's reasoning, or why it failed
+ * @param outcome         how the heal ended
+ * @param fromCache       whether the heal came from the heal cache
+ */
+public record HealEventRecord(
+        @JsonProperty("id") String id,
+        @JsonProperty("timestamp") Instant timestamp,
+        @JsonProperty("featureName") String featureName,
+        @JsonProperty("scenarioName") String scenarioName,
+        @JsonProperty("stepText") String stepText,
+        @JsonProperty("originalLocator") String originalLocator,
+        @JsonProperty("healedLocator") String healedLocator,
+        @JsonProperty("confidence") double confidence,
+        @JsonProperty("reasoning") String reasoning,
+        @JsonProperty("outcome") HealOutcome outcome,
+        @JsonProperty("fromCache") boolean fromCache) {
+
+    /**
+     * Build the record for a finished heal.
+     */
+    public static HealEventRecord of(FailureContext failure, HealResult result) {
+        return new HealEventRecord(
+                result.getId(),
+                result.getTimestamp(),
+                failure.getFeatureName(),
+                failure.getScenarioName(),
+                failure.getStepText(),
+                failure.getOriginalLocator() != null ? failure.getOriginalLocator().toString() : null,
+                result.getHealedLocator().orElse(null),
+                result.getConfidence(),
+                result.getReasoning().or(result::getFailureReason).orElse(null),
+                result.getOutcome(),
+                result.isFromCache());
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.glaciousm.core.engine.learning;
 
 import io.github.glaciousm.core.feedback.FeedbackApi;
+import io.github.glaciousm.core.store.ColumnFamily;
+import io.github.glaciousm.core.store.StateStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,11 +32,54 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
     private int totalCorrections = 0;
     private int patternsApplied = 0;
 
+    // Durable copies, when a state store is attached
+    private ColumnFamily<LocatorPattern> storedPatterns;
+    private ColumnFamily<ElementAssociation> storedAssociations;
+    private ColumnFamily<FailurePattern> storedFailures;
+    private ColumnFamily<Integer> storedCounters;
+    private volatile boolean restorePending;
+
+    /**
+     * Persist learned patterns in a state store. What the store already holds is
+     * restored the first time the learner is used.
+     */
+    public synchronized void setStateStore(StateStore store) {
+        storedPatterns = store.family("patterns.locator", LocatorPattern.class);
+        storedAssociations = store.family("patterns.association", ElementAssociation.class);
+        storedFailures = store.family("patterns.failure", FailurePattern.class);
+        storedCounters = store.family("patterns.counters", Integer.class);
+        restorePending = true;
+    }
+
+    private void ensureRestored() {
+        if (!restorePending) {
+            return;
+        }
+        synchronized (this) {
+            if (restorePending) {
+                restore();
+                restorePending = false;
+            }
+        }
+    }
+
+    private void restore() {
+        locatorPatterns.putAll(storedPatterns.load());
+        elementAssociations.putAll(storedAssociations.load());
+        failurePatterns.putAll(storedFailures.load());
+        totalCorrections = storedCounters.get("totalCorrections").orElse(totalCorrections);
+        patternsApplied = storedCounters.get("patternsApplied").orElse(patternsApplied);
+
+        logger.debug("Restored {} locator patterns, {} associations, {} failure patterns",
+                locatorPatterns.size(), elementAssociations.size(), failurePatterns.size());
+    }
+
     /**
      * Process feedback and learn patterns.
      */
     @Override
     public void onFeedback(FeedbackApi.FeedbackRecord record) {
+        ensureRestored();
         switch (record.getFeedbackType()) {
             case CORRECTION -> learnFromCorrection(record);
             case NEGATIVE -> learnFromNegative(record);
@@ -47,6 +92,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
      * Suggest a healed locator based on learned patterns.
      */
     public Optional<PatternSuggestion> suggestHeal(String originalLocator, String context) {
+        ensureRestored();
         List<PatternSuggestion> suggestions = new ArrayList<>();
 
         // Check direct locator patterns
@@ -96,6 +142,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
      * Check if a proposed heal matches a known failure pattern.
      */
     public boolean isKnownBadHeal(String originalLocator, String proposedLocator) {
+        ensureRestored();
         String key = createFailureKey(originalLocator, proposedLocator);
         FailurePattern pattern = failurePatterns.get(key);
         return pattern != null && pattern.getFailureCount() >= 2;
@@ -105,6 +152,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
      * Get confidence adjustment based on learned patterns.
      */
     public double getConfidenceAdjustment(String originalLocator, String proposedLocator) {
+        ensureRestored();
         // Check if this exact transformation has worked before
         LocatorPattern pattern = locatorPatterns.get(originalLocator);
         if (pattern != null && pattern.getTargetLocator().equals(proposedLocator)) {
@@ -127,6 +175,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
      * Get learned patterns statistics.
      */
     public PatternStats getStats() {
+        ensureRestored();
         return new PatternStats(
                 locatorPatterns.size(),
                 elementAssociations.size(),
@@ -141,6 +190,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
      * Export patterns for persistence.
      */
     public PatternExport exportPatterns() {
+        ensureRestored();
         return new PatternExport(
                 new ArrayList<>(locatorPatterns.values()),
                 new ArrayList<>(elementAssociations.values()),
@@ -153,19 +203,23 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
      * Import patterns from persistence.
      */
     public void importPatterns(PatternExport export) {
+        ensureRestored();
         if (export.locatorPatterns() != null) {
             for (LocatorPattern p : export.locatorPatterns()) {
                 locatorPatterns.put(p.getSourceLocator(), p);
+                persistPattern(p.getSourceLocator());
             }
         }
         if (export.elementAssociations() != null) {
             for (ElementAssociation a : export.elementAssociations()) {
                 elementAssociations.put(a.getId(), a);
+                persistAssociation(a.getId());
             }
         }
         if (export.failurePatterns() != null) {
             for (FailurePattern f : export.failurePatterns()) {
                 failurePatterns.put(f.getKey(), f);
+                persistFailure(f.getKey());
             }
         }
         logger.info("Imported {} locator patterns, {} associations, {} failure patterns",
@@ -176,11 +230,18 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
      * Clear all learned patterns.
      */
     public void reset() {
+        restorePending = false;
         locatorPatterns.clear();
         elementAssociations.clear();
         failurePatterns.clear();
         totalCorrections = 0;
         patternsApplied = 0;
+        if (storedPatterns != null) {
+            storedPatterns.clear();
+            storedAssociations.clear();
+            storedFailures.clear();
+            storedCounters.clear();
+        }
         logger.info("Pattern learner reset");
     }
 
@@ -188,6 +249,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
 
     private void learnFromCorrection(FeedbackApi.FeedbackRecord record) {
         totalCorrections++;
+        persistCounters();
 
         String originalLocator = record.getOriginalLocator();
         String healedLocator = record.getHealedLocator();
@@ -204,6 +266,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
         );
         pattern.recordSuccess();
         pattern.setTargetLocator(correctLocator);
+        persistPattern(originalLocator);
 
         // If healed was wrong, record failure pattern
         if (healedLocator != null && !healedLocator.equals(correctLocator)) {
@@ -213,6 +276,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
                     k -> new FailurePattern(originalLocator, healedLocator)
             );
             failure.recordFailure();
+            persistFailure(failureKey);
         }
 
         // Try to learn transformation pattern
@@ -238,11 +302,13 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
                     k -> new FailurePattern(originalLocator, healedLocator)
             );
             failure.recordFailure();
+            persistFailure(failureKey);
 
             // Also reduce confidence in any matching pattern
             LocatorPattern pattern = locatorPatterns.get(originalLocator);
             if (pattern != null && pattern.getTargetLocator().equals(healedLocator)) {
                 pattern.recordFailure();
+                persistPattern(originalLocator);
             }
         }
     }
@@ -256,6 +322,8 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
             if (pattern != null && pattern.getTargetLocator().equals(healedLocator)) {
                 pattern.recordSuccess();
                 patternsApplied++;
+                persistPattern(originalLocator);
+                persistCounters();
             }
         }
     }
@@ -269,6 +337,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
             LocatorPattern pattern = new LocatorPattern(originalLocator, correctLocator);
             pattern.setConfidence(0.5); // Start lower for false negatives
             locatorPatterns.put(originalLocator, pattern);
+            persistPattern(originalLocator);
 
             learnTransformationPattern(originalLocator, correctLocator);
         }
@@ -290,7 +359,9 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
                 LocatorPattern transform = new LocatorPattern(source, target);
                 transform.setTransformPattern(true);
                 transform.setDescription("ID transformation: " + sourceId + " -> " + targetId);
-                locatorPatterns.putIfAbsent(source + "_transform", transform);
+                if (locatorPatterns.putIfAbsent(source + "_transform", transform) == null) {
+                    persistPattern(source + "_transform");
+                }
             }
         }
 
@@ -314,6 +385,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
                         }
                 );
                 transform.recordSuccess();
+                persistPattern(key);
             }
         }
     }
@@ -330,6 +402,7 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
             );
             assoc.addLocatorVariant(originalLocator);
             assoc.recordSuccess();
+            persistAssociation(id);
         }
     }
 
@@ -348,6 +421,34 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
         return Optional.empty();
     }
 
+    private void persistPattern(String key) {
+        LocatorPattern pattern = locatorPatterns.get(key);
+        if (storedPatterns != null && pattern != null) {
+            storedPatterns.put(key, pattern);
+        }
+    }
+
+    private void persistAssociation(String id) {
+        ElementAssociation assoc = elementAssociations.get(id);
+        if (storedAssociations != null && assoc != null) {
+            storedAssociations.put(id, assoc);
+        }
+    }
+
+    private void persistFailure(String key) {
+        FailurePattern failure = failurePatterns.get(key);
+        if (storedFailures != null && failure != null) {
+            storedFailures.put(key, failure);
+        }
+    }
+
+    private void persistCounters() {
+        if (storedCounters != null) {
+            storedCounters.put("totalCorrections", totalCorrections);
+            storedCounters.put("patternsApplied", patternsApplied);
+        }
+    }
+
     private String createFailureKey(String original, String healed) {
         return original + "|||" + healed;
     }
@@ -405,6 +506,9 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
                     .map(Map.Entry::getKey)
                     .toList();
             toRemove.forEach(locatorPatterns::remove);
+            if (storedPatterns != null) {
+                toRemove.forEach(storedPatterns::delete);
+            }
         }
     }
 
@@ -451,6 +555,9 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
         private String targetClass;
         private Instant lastUsed;
 
+        private LocatorPattern() {
+        }
+
         public LocatorPattern(String source, String target) {
             this.sourceLocator = source;
             this.targetLocator = target;
@@ -493,6 +600,9 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
         private double confidence = 0.5;
         private int useCount = 0;
 
+        private ElementAssociation() {
+        }
+
         public ElementAssociation(String id, Set<String> keywords, String locator) {
             this.id = id;
             this.keywords = keywords;
@@ -534,6 +644,9 @@ public class PatternLearner implements FeedbackApi.FeedbackListener {
         private int failureCount = 0;
         private Instant lastFailure;
 
+        private FailurePattern() {
+        }
+
         public FailurePattern(String original, String failed) {
             this.key = original + "|||" + failed;
             this.originalLocator = original;
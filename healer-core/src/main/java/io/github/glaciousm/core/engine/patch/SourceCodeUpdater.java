@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -20,6 +21,15 @@ public class SourceCodeUpdater {
 
     private static final Logger logger = LoggerFactory.getLogger(SourceCodeUpdater.class);
 
+    /**
+     * How many lines above and below the recorded line are searched when the
+     * locator has moved since the failure was captured.
+     */
+    private static final int DRIFT_WINDOW = 25;
+
+    /** Returned by the drift search when several lines in the window hold the locator. */
+    private static final int AMBIGUOUS = -2;
+
     private final AutoUpdateConfig config;
     private final LocatorPatternMatcher patternMatcher;
     private final Path projectRoot;
@@ -122,43 +132,51 @@ public class SourceCodeUpdater {
      * @return UpdateResult indicating success or failure
      */
     public UpdateResult updateSource(ValidatedHeal heal) {
-        if (!config.isEnabled()) {
-            return UpdateResult.skipped(heal.getSourceLocation() != null ?
-                    heal.getSourceLocation().getFilePath() : "unknown", "Auto-update is disabled");
+        UpdateResult rejection = checkEligibility(heal);
+        if (rejection != null) {
+            return rejection;
         }
-
-        if (heal == null || !heal.canAutoUpdate()) {
-            return UpdateResult.skipped("unknown", "Heal has no valid source location");
-        }
-
-        if (!heal.meetsConfidenceThreshold(config.getMinConfidence())) {
-            return UpdateResult.skipped(heal.getSourceLocation().getFilePath(),
-                    String.format("Confidence %.2f below threshold %.2f",
-                            heal.getConfidence(), config.getMinConfidence()));
-        }
-
-        String filePath = heal.getSourceLocation().getFilePath();
-        if (config.isExcluded(filePath)) {
-            return UpdateResult.skipped(filePath, "File matches exclude pattern");
-        }
-
-        return performUpdate(heal);
+        Path path = Paths.get(heal.getSourceLocation().getFilePath());
+        return applyToFile(path, List.of(heal)).get(0);
     }
 
     /**
      * Applies all validated heals that meet the criteria.
+     * Heals are grouped by source file so that each file is read once, backed up once
+     * and written once (atomically). Independent files are patched in parallel.
      *
      * @param heals list of validated heals
-     * @return list of UpdateResults
+     * @return list of UpdateResults, in the same order as the given heals
      */
     public List<UpdateResult> applyAllValidated(List<ValidatedHeal> heals) {
         if (heals == null || heals.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return heals.stream()
-                .map(this::updateSource)
-                .collect(Collectors.toList());
+        UpdateResult[] results = new UpdateResult[heals.size()];
+        Map<Path, List<Integer>> indicesByFile = new LinkedHashMap<>();
+        for (int i = 0; i < heals.size(); i++) {
+            ValidatedHeal heal = heals.get(i);
+            UpdateResult rejection = checkEligibility(heal);
+            if (rejection != null) {
+                results[i] = rejection;
+                continue;
+            }
+            Path path = Paths.get(heal.getSourceLocation().getFilePath()).toAbsolutePath().normalize();
+            indicesByFile.computeIfAbsent(path, k -> new ArrayList<>()).add(i);
+        }
+
+        (indicesByFile.size() > 1 ? indicesByFile.entrySet().parallelStream() : indicesByFile.entrySet().stream())
+                .forEach(entry -> {
+                    List<Integer> indices = entry.getValue();
+                    List<ValidatedHeal> fileHeals = indices.stream().map(heals::get).toList();
+                    List<UpdateResult> fileResults = applyToFile(entry.getKey(), fileHeals);
+                    for (int j = 0; j < indices.size(); j++) {
+                        results[indices.get(j)] = fileResults.get(j);
+                    }
+                });
+
+        return Arrays.asList(results);
     }
 
     /**
@@ -201,80 +219,256 @@ public class SourceCodeUpdater {
             return 0;
         }
 
-        return (int) results.stream()
-                .filter(UpdateResult::isSuccess)
-                .filter(this::rollback)
-                .count();
+        // Heals applied to the same file share one backup; restore it only once
+        Map<String, Boolean> restored = new HashMap<>();
+        int count = 0;
+        for (UpdateResult result : results) {
+            if (!result.isSuccess()) {
+                continue;
+            }
+            boolean ok = result.getBackupPath() != null
+                    ? restored.computeIfAbsent(result.getBackupPath(), k -> rollback(result))
+                    : rollback(result);
+            if (ok) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
-     * Performs the actual source code update.
+     * Returns a skipped result if the heal must not be applied, or null if it is eligible.
      */
-    private UpdateResult performUpdate(ValidatedHeal heal) {
+    private UpdateResult checkEligibility(ValidatedHeal heal) {
+        if (!config.isEnabled()) {
+            return UpdateResult.skipped(heal != null && heal.getSourceLocation() != null ?
+                    heal.getSourceLocation().getFilePath() : "unknown", "Auto-update is disabled");
+        }
+
+        if (heal == null || !heal.canAutoUpdate()) {
+            return UpdateResult.skipped("unknown", "Heal has no valid source location");
+        }
+
+        if (!heal.meetsConfidenceThreshold(config.getMinConfidence())) {
+            return UpdateResult.skipped(heal.getSourceLocation().getFilePath(),
+                    String.format("Confidence %.2f below threshold %.2f",
+                            heal.getConfidence(), config.getMinConfidence()));
+        }
+
         String filePath = heal.getSourceLocation().getFilePath();
-        int lineNumber = heal.getSourceLocation().getLineNumber();
+        if (config.isExcluded(filePath)) {
+            return UpdateResult.skipped(filePath, "File matches exclude pattern");
+        }
+        return null;
+    }
 
-        try {
-            Path path = Paths.get(filePath);
-            if (!Files.exists(path)) {
-                return UpdateResult.failure(filePath, lineNumber, "Source file not found");
+    /**
+     * Applies all heals targeting one file in a single read-modify-write.
+     * Heals are applied in order against the in-memory copy, so several heals on the
+     * same line compose. If a recorded line no longer holds the locator (the file was
+     * edited since the failure was captured), nearby lines are searched.
+     */
+    private List<UpdateResult> applyToFile(Path path, List<ValidatedHeal> heals) {
+        List<UpdateResult> results = new ArrayList<>(heals.size());
+
+        if (!Files.exists(path)) {
+            for (ValidatedHeal heal : heals) {
+                results.add(UpdateResult.failure(heal.getSourceLocation().getFilePath(),
+                        heal.getSourceLocation().getLineNumber(), "Source file not found"));
             }
+            return results;
+        }
 
-            // Read all lines
-            List<String> lines = Files.readAllLines(path);
-            if (lineNumber < 1 || lineNumber > lines.size()) {
-                return UpdateResult.failure(filePath, lineNumber,
-                        "Line number out of range (file has " + lines.size() + " lines)");
+        String content;
+        try {
+            content = Files.readString(path);
+        } catch (IOException e) {
+            logger.error("Failed to read {}: {}", path, e.getMessage());
+            for (ValidatedHeal heal : heals) {
+                results.add(UpdateResult.failure(heal.getSourceLocation().getFilePath(),
+                        heal.getSourceLocation().getLineNumber(), "IO error: " + e.getMessage()));
             }
+            return results;
+        }
 
-            // Get the line to update (0-indexed)
-            String originalLine = lines.get(lineNumber - 1);
+        // Each line keeps its own terminator, so files with mixed line endings are written back as they were
+        List<String> lines = new ArrayList<>();
+        List<String> terminators = new ArrayList<>();
+        splitLines(content, lines, terminators);
+        int lineCount = content.endsWith("\n") ? lines.size() - 1 : lines.size();
+
+        // Line at which each successful heal was applied, keyed by "original -> healed"
+        Map<String, Integer> applied = new HashMap<>();
+        List<Integer> appliedIndices = new ArrayList<>();
+
+        for (ValidatedHeal heal : heals) {
+            String filePath = heal.getSourceLocation().getFilePath();
+            int lineNumber = heal.getSourceLocation().getLineNumber();
+            String key = heal.getOriginalLocator() + " -> " + heal.getHealedLocator();
+
+            int index = findLocatorLine(lines, lineCount, lineNumber - 1, heal);
+            if (index == AMBIGUOUS) {
+                results.add(UpdateResult.failure(filePath, lineNumber,
+                        "Locator '" + heal.getOriginalLocator() + "' moved and appears on several lines within "
+                                + DRIFT_WINDOW + " lines of line " + lineNumber));
+                continue;
+            }
+            if (index < 0) {
+                Integer previous = applied.get(key);
+                if (previous != null) {
+                    // Same heal recorded by several tests; already applied in this pass
+                    results.add(UpdateResult.success(filePath, previous + 1,
+                            heal.getOriginalLocator(), heal.getHealedLocator(), null));
+                    appliedIndices.add(results.size() - 1);
+                } else if (lineNumber < 1 || lineNumber > lineCount) {
+                    results.add(UpdateResult.failure(filePath, lineNumber,
+                            "Line number out of range (file has " + lineCount + " lines)"));
+                } else {
+                    results.add(UpdateResult.failure(filePath, lineNumber,
+                            "Could not find locator '" + heal.getOriginalLocator() + "' in line"));
+                }
+                continue;
+            }
 
-            // Try to replace the locator
             LocatorPatternMatcher.MatchResult matchResult = patternMatcher.replaceLocator(
-                    originalLine,
-                    heal.getOriginalLocator(),
-                    heal.getHealedLocator(),
-                    heal.getLocatorStrategy()
-            );
-
-            if (!matchResult.isFound()) {
-                return UpdateResult.failure(filePath, lineNumber,
-                        "Could not find locator '" + heal.getOriginalLocator() + "' in line");
+                    lines.get(index), heal.getOriginalLocator(), heal.getHealedLocator(),
+                    heal.getLocatorStrategy());
+            lines.set(index, matchResult.getUpdatedLine());
+            applied.putIfAbsent(key, index);
+
+            if (index != lineNumber - 1) {
+                logger.debug("Locator '{}' drifted from line {} to {} in {}",
+                        heal.getOriginalLocator(), lineNumber, index + 1, filePath);
             }
+            results.add(UpdateResult.success(filePath, index + 1,
+                    heal.getOriginalLocator(), heal.getHealedLocator(), null));
+            appliedIndices.add(results.size() - 1);
+        }
 
-            // Check if it's a dry run
-            if (config.isDryRun()) {
+        if (appliedIndices.isEmpty()) {
+            return results;
+        }
+
+        if (config.isDryRun()) {
+            for (int i : appliedIndices) {
+                UpdateResult r = results.get(i);
                 logger.info("[DRY RUN] Would update {}:{} - '{}' -> '{}'",
-                        filePath, lineNumber, heal.getOriginalLocator(), heal.getHealedLocator());
-                return UpdateResult.success(filePath, lineNumber,
-                        heal.getOriginalLocator(), heal.getHealedLocator(), null);
+                        r.getFilePath(), r.getLineNumber(), r.getOldValue(), r.getNewValue());
+            }
+            return results;
+        }
+
+        String backupPath = null;
+        if (config.isBackupEnabled()) {
+            backupPath = createBackup(path);
+            if (backupPath == null) {
+                return failApplied(results, appliedIndices, "Failed to create backup");
             }
+        }
+
+        try {
+            writeAtomically(path, joinLines(lines, terminators));
+        } catch (IOException e) {
+            logger.error("Failed to update {}: {}", path, e.getMessage());
+            return failApplied(results, appliedIndices, "IO error: " + e.getMessage());
+        }
 
-            // Create backup if enabled
-            String backupPath = null;
-            if (config.isBackupEnabled()) {
-                backupPath = createBackup(path);
-                if (backupPath == null) {
-                    return UpdateResult.failure(filePath, lineNumber, "Failed to create backup");
+        for (int i : appliedIndices) {
+            UpdateResult r = results.get(i);
+            logger.info("Updated {}:{} - '{}' -> '{}'",
+                    r.getFilePath(), r.getLineNumber(), r.getOldValue(), r.getNewValue());
+            results.set(i, UpdateResult.success(r.getFilePath(), r.getLineNumber(),
+                    r.getOldValue(), r.getNewValue(), backupPath));
+        }
+        return results;
+    }
+
+    /**
+     * Finds the line holding the heal's original locator: the recorded line first,
+     * then the lines up to {@link #DRIFT_WINDOW} above and below it. A drifted locator
+     * is only accepted when exactly one line in the window holds it.
+     *
+     * @return zero-based line index, -1 if not found, or {@link #AMBIGUOUS}
+     */
+    private int findLocatorLine(List<String> lines, int lineCount, int recordedIndex, ValidatedHeal heal) {
+        if (recordedIndex >= 0 && recordedIndex < lineCount && holdsLocator(lines.get(recordedIndex), heal)) {
+            return recordedIndex;
+        }
+        int found = -1;
+        int from = Math.max(0, recordedIndex - DRIFT_WINDOW);
+        int to = Math.min(lineCount - 1, recordedIndex + DRIFT_WINDOW);
+        for (int index = from; index <= to; index++) {
+            if (index != recordedIndex && holdsLocator(lines.get(index), heal)) {
+                if (found >= 0) {
+                    return AMBIGUOUS;
                 }
+                found = index;
             }
+        }
+        return found;
+    }
 
-            // Update the line
-            lines.set(lineNumber - 1, matchResult.getUpdatedLine());
+    private boolean holdsLocator(String line, ValidatedHeal heal) {
+        return patternMatcher.replaceLocator(line, heal.getOriginalLocator(),
+                heal.getHealedLocator(), heal.getLocatorStrategy()).isFound();
+    }
 
-            // Write the updated file
-            Files.write(path, lines);
+    /**
+     * Splits content into lines and the terminator that ended each one. The last
+     * element holds whatever follows the final line break, with an empty terminator.
+     */
+    private static void splitLines(String content, List<String> lines, List<String> terminators) {
+        int start = 0;
+        for (int i = 0; i < content.length(); i++) {
+            if (content.charAt(i) == '\n') {
+                boolean crlf = i > start && content.charAt(i - 1) == '\r';
+                lines.add(content.substring(start, crlf ? i - 1 : i));
+                terminators.add(crlf ? "\r\n" : "\n");
+                start = i + 1;
+            }
+        }
+        lines.add(content.substring(start));
+        terminators.add("");
+    }
 
-            logger.info("Updated {}:{} - '{}' -> '{}'",
-                    filePath, lineNumber, heal.getOriginalLocator(), heal.getHealedLocator());
+    private static String joinLines(List<String> lines, List<String> terminators) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            content.append(lines.get(i)).append(terminators.get(i));
+        }
+        return content.toString();
+    }
 
-            return UpdateResult.success(filePath, lineNumber,
-                    heal.getOriginalLocator(), heal.getHealedLocator(), backupPath);
+    private List<UpdateResult> failApplied(List<UpdateResult> results, List<Integer> appliedIndices,
+                                           String errorMessage) {
+        for (int i : appliedIndices) {
+            UpdateResult r = results.get(i);
+            results.set(i, UpdateResult.failure(r.getFilePath(), r.getLineNumber(), errorMessage));
+        }
+        return results;
+    }
 
-        } catch (IOException e) {
-            logger.error("Failed to update {}: {}", filePath, e.getMessage());
-            return UpdateResult.failure(filePath, lineNumber, "IO error: " + e.getMessage());
+    /**
+     * Writes content to a temp file next to the target and moves it into place, so a
+     * crash or concurrent reader never sees a partially written source file.
+     */
+    private void writeAtomically(Path path, String content) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, "." + path.getFileName(), ".tmp");
+        try {
+            Files.writeString(temp, content);
+            // The temp file is created owner-only; give it the source file's permissions before it replaces it
+            PosixFileAttributeView target = Files.getFileAttributeView(path, PosixFileAttributeView.class);
+            if (target != null) {
+                Files.setPosixFilePermissions(temp, target.readAttributes().permissions());
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
         }
     }
 
@@ -294,7 +488,8 @@ public class SourceCodeUpdater {
             String backupFileName = fileName + "." + timestamp + ".bak";
 
             // Preserve directory structure in backup
-            Path relativePath = projectRoot.relativize(originalPath.getParent());
+            Path relativePath = projectRoot.toAbsolutePath().normalize()
+                    .relativize(originalPath.toAbsolutePath().normalize().getParent());
             Path backupSubDir = backupDir.resolve(relativePath);
             Files.createDirectories(backupSubDir);
 
@@ -1,6 +1,8 @@
 package io.github.glaciousm.core.engine.prediction;
 
 import io.github.glaciousm.core.model.LocatorInfo;
+import io.github.glaciousm.core.store.ColumnFamily;
+import io.github.glaciousm.core.store.StateStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,6 +12,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +31,15 @@ public class RegressionPredictor {
     private final Map<String, LocatorHistory> locatorHistories;
     private final Map<String, PageHistory> pageHistories;
     private final List<FailureEvent> recentFailures;
+    /** Store keys of {@link #recentFailures}, in the same order; guarded by recentFailures */
+    private final Deque<String> recentFailureKeys = new ArrayDeque<>();
     private final PredictionConfig config;
+    private final AtomicLong failureSequence = new AtomicLong();
+
+    private ColumnFamily<LocatorHistory> storedLocators;
+    private ColumnFamily<PageHistory> storedPages;
+    private ColumnFamily<FailureEvent> storedFailures;
+    private volatile boolean restorePending;
 
     public RegressionPredictor() {
         this(PredictionConfig.defaults());
@@ -41,24 +52,78 @@ public class RegressionPredictor {
         this.recentFailures = Collections.synchronizedList(new ArrayList<>());
     }
 
+    /**
+     * Persist heal history in a state store. What the store already holds is
+     * restored the first time the predictor is used.
+     */
+    public synchronized void setStateStore(StateStore store) {
+        storedLocators = store.family("prediction.locators", LocatorHistory.class);
+        storedPages = store.family("prediction.pages", PageHistory.class);
+        storedFailures = store.family("prediction.failures", FailureEvent.class);
+        restorePending = true;
+    }
+
+    private void ensureRestored() {
+        if (!restorePending) {
+            return;
+        }
+        synchronized (this) {
+            if (restorePending) {
+                restore();
+                restorePending = false;
+            }
+        }
+    }
+
+    private void restore() {
+        locatorHistories.putAll(storedLocators.load());
+        pageHistories.putAll(storedPages.load());
+        // Keys start with the failure time, so sorting them restores time order
+        synchronized (recentFailures) {
+            new TreeMap<>(storedFailures.load()).forEach((key, failure) -> {
+                recentFailures.add(failure);
+                recentFailureKeys.add(key);
+            });
+        }
+        trimRecentFailures();
+
+        logger.debug("Restored history for {} locators, {} pages and {} recent failures",
+                locatorHistories.size(), pageHistories.size(), recentFailures.size());
+    }
+
     /**
      * Record a heal event for learning.
      */
     public void recordHealEvent(HealEvent event) {
+        ensureRestored();
         String locatorKey = locatorKey(event.originalLocator());
         String pageKey = event.pageUrl();
 
         // Update locator history
-        locatorHistories.computeIfAbsent(locatorKey, k -> new LocatorHistory(event.originalLocator()))
-                .recordEvent(event);
+        LocatorHistory locatorHistory = locatorHistories.computeIfAbsent(locatorKey,
+                k -> new LocatorHistory(event.originalLocator()));
+        locatorHistory.recordEvent(event);
 
         // Update page history
-        pageHistories.computeIfAbsent(pageKey, k -> new PageHistory(pageKey))
-                .recordEvent(event);
+        PageHistory pageHistory = pageHistories.computeIfAbsent(pageKey, k -> new PageHistory(pageKey));
+        pageHistory.recordEvent(event);
+
+        if (storedLocators != null) {
+            storedLocators.put(locatorKey, locatorHistory);
+            storedPages.put(pageKey, pageHistory);
+        }
 
         // Track recent failures
         if (!event.success()) {
-            recentFailures.add(new FailureEvent(event, Instant.now()));
+            FailureEvent failure = new FailureEvent(event, Instant.now());
+            String key = failureKey(failure.timestamp());
+            synchronized (recentFailures) {
+                recentFailures.add(failure);
+                recentFailureKeys.add(key);
+            }
+            if (storedFailures != null) {
+                storedFailures.put(key, failure);
+            }
             trimRecentFailures();
         }
     }
@@ -67,6 +132,7 @@ public class RegressionPredictor {
      * Predict risk for a specific locator.
      */
     public RiskPrediction predictLocatorRisk(LocatorInfo locator) {
+        ensureRestored();
         String key = locatorKey(locator);
         LocatorHistory history = locatorHistories.get(key);
 
@@ -92,6 +158,7 @@ public class RegressionPredictor {
      * Get all high-risk locators.
      */
     public List<RiskPrediction> getHighRiskLocators() {
+        ensureRestored();
         return locatorHistories.values().stream()
                 .map(h -> predictLocatorRisk(h.getLocator()))
                 .filter(p -> p.level() == RiskLevel.HIGH || p.level() == RiskLevel.CRITICAL)
@@ -100,10 +167,31 @@ public class RegressionPredictor {
                 .toList();
     }
 
+    /**
+     * Get locators that failed on a page and are rated at least the given risk, riskiest first.
+     */
+    public List<RiskPrediction> getHighRiskLocators(String pageUrl, RiskLevel minimum, int limit) {
+        ensureRestored();
+        PageHistory history = pageHistories.get(pageUrl);
+        if (history == null) {
+            return List.of();
+        }
+
+        return history.getMostFailedLocators(Integer.MAX_VALUE).stream()
+                .map(locatorHistories::get)
+                .filter(Objects::nonNull)
+                .map(h -> predictLocatorRisk(h.getLocator()))
+                .filter(p -> p.level().compareTo(minimum) >= 0)
+                .sorted(Comparator.comparingDouble(RiskPrediction::riskScore).reversed())
+                .limit(limit)
+                .toList();
+    }
+
     /**
      * Predict risk for a page.
      */
     public PageRiskPrediction predictPageRisk(String pageUrl) {
+        ensureRestored();
         PageHistory history = pageHistories.get(pageUrl);
 
         if (history == null) {
@@ -128,6 +216,7 @@ public class RegressionPredictor {
      * Detect deployment-related failure patterns.
      */
     public DeploymentPattern detectDeploymentPattern() {
+        ensureRestored();
         if (recentFailures.size() < 5) {
             return DeploymentPattern.none();
         }
@@ -166,10 +255,18 @@ public class RegressionPredictor {
         );
     }
 
+    /**
+     * Check whether heal history suggests a deployment-related failure spike is due.
+     */
+    public boolean isDeploymentDue() {
+        return isNearSpike(detectDeploymentPattern());
+    }
+
     /**
      * Generate predictions report.
      */
     public PredictionReport generateReport() {
+        ensureRestored();
         List<RiskPrediction> highRiskLocators = getHighRiskLocators();
 
         List<PageRiskPrediction> highRiskPages = pageHistories.values().stream()
@@ -198,6 +295,7 @@ public class RegressionPredictor {
      * Check if a heal is likely to fail.
      */
     public HealPrediction predictHealOutcome(LocatorInfo original, LocatorInfo proposed, double confidence) {
+        ensureRestored();
         RiskPrediction originalRisk = predictLocatorRisk(original);
         String proposedKey = locatorKey(proposed);
         LocatorHistory proposedHistory = locatorHistories.get(proposedKey);
@@ -410,9 +508,29 @@ public class RegressionPredictor {
         return recommendations;
     }
 
+    /**
+     * Drop failures older than 30 days. Failures are kept in time order, so only the
+     * expired ones at the front are looked at.
+     */
     private void trimRecentFailures() {
         Instant threshold = Instant.now().minus(Duration.ofDays(30));
-        recentFailures.removeIf(f -> f.timestamp().isBefore(threshold));
+        List<String> expiredKeys = new ArrayList<>();
+        synchronized (recentFailures) {
+            int expired = 0;
+            while (expired < recentFailures.size() && recentFailures.get(expired).timestamp().isBefore(threshold)) {
+                expiredKeys.add(recentFailureKeys.poll());
+                expired++;
+            }
+            recentFailures.subList(0, expired).clear();
+        }
+        if (storedFailures != null) {
+            expiredKeys.forEach(storedFailures::delete);
+        }
+    }
+
+    private String failureKey(Instant timestamp) {
+        // Zero-padded epoch millis first, so keys sort by time
+        return String.format("%013d-%06d", timestamp.toEpochMilli(), failureSequence.getAndIncrement() % 1_000_000);
     }
 
     private String locatorKey(LocatorInfo locator) {
@@ -429,6 +547,10 @@ public class RegressionPredictor {
         private Instant lastFailureTime;
         private final List<Double> recentFailureRates = new ArrayList<>();
 
+        private LocatorHistory() {
+            this(null);
+        }
+
         public LocatorHistory(LocatorInfo locator) {
             this.locator = locator;
         }
@@ -487,6 +609,10 @@ public class RegressionPredictor {
         private final Map<String, Integer> locatorFailures = new HashMap<>();
         private final List<Instant> recentFailureTimes = new ArrayList<>();
 
+        private PageHistory() {
+            this(null);
+        }
+
         public PageHistory(String pageUrl) {
             this.pageUrl = pageUrl;
         }
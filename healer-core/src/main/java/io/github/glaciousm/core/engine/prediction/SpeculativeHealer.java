@@ -0,0 +1,277 @@
+package io.github.glaciousm.core.engine.prediction;
+
+import io.github.glaciousm.core.config.SpeculativeConfig;
+import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.prediction.RegressionPredictor.RiskLevel;
+import io.github.glaciousm.core.engine.prediction.RegressionPredictor.RiskPrediction;
+import io.github.glaciousm.core.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heals at-risk locators before the test asks for them.
+ *
+ * <p>On the first visit to a page in a run, the locators that the {@link RegressionPredictor}
+ * rates as at risk on that page are checked in one batched probe. The ones that no longer
+ * resolve are healed in the background with a single batched LLM request. A test that then
+ * fails on one of them finds the pre-heal with {@link #lookup}, waiting for it if it is still
+ * in flight, instead of asking the LLM inline.</p>
+ *
+ * <p>Background heals go through {@link HealingEngine#preHealAll}, which never acts on the
+ * page and leaves the circuit breaker alone. A pre-heal is only a decision and the snapshot
+ * it was made from; the caller completes it with {@link HealingEngine#applyPreHeal}, so it is
+ * validated and reported like any other heal.</p>
+ */
+public class SpeculativeHealer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpeculativeHealer.class);
+
+    /**
+     * Access to the page being visited. Called on the thread that drives the browser.
+     */
+    public interface PageProbe {
+
+        /**
+         * Check which locators resolve on the page, in one round trip.
+         *
+         * @return one flag per locator, in the same order
+         */
+        List<Boolean> resolve(List<LocatorInfo> locators);
+
+        /**
+         * Capture the page for healing.
+         */
+        UiSnapshot capture();
+    }
+
+    private final HealingEngine engine;
+    private final RegressionPredictor predictor;
+    private final SpeculativeConfig config;
+    private final ExecutorService executor;
+    private final Set<String> visitedPages = ConcurrentHashMap.newKeySet();
+    private final Map<CacheKey, Future<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<CacheKey, PreHeal> preHeals = new ConcurrentHashMap<>();
+
+    private final AtomicLong pagesProbed = new AtomicLong();
+    private final AtomicLong locatorsProbed = new AtomicLong();
+    private final AtomicLong healsScheduled = new AtomicLong();
+    private final AtomicLong healsSucceeded = new AtomicLong();
+    private final AtomicLong lookupHits = new AtomicLong();
+
+    public SpeculativeHealer(HealingEngine engine, RegressionPredictor predictor, SpeculativeConfig config) {
+        this.engine = engine;
+        this.predictor = predictor;
+        this.config = config;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, config.getThreads()), r -> {
+            Thread t = new Thread(r, "speculative-heal-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Probe a page the test has navigated to. Only the first visit to each page in a run
+     * is probed; broken at-risk locators are healed in the background.
+     *
+     * @return number of heals scheduled
+     */
+    public int onPageVisit(String pageUrl, PageProbe probe) {
+        if (pageUrl == null || !visitedPages.add(CacheKey.extractPagePattern(pageUrl))) {
+            return 0;
+        }
+
+        List<LocatorInfo> atRisk = new ArrayList<>();
+        for (RiskPrediction risk : predictor.getHighRiskLocators(
+                CacheKey.extractPagePattern(pageUrl), minimumRisk(), config.getMaxLocatorsPerPage())) {
+            if (!inFlight.containsKey(key(pageUrl, risk.locator()))) {
+                atRisk.add(risk.locator());
+            }
+        }
+        if (atRisk.isEmpty()) {
+            return 0;
+        }
+
+        List<Boolean> resolved;
+        try {
+            resolved = probe.resolve(atRisk);
+        } catch (RuntimeException e) {
+            logger.debug("Could not probe at-risk locators on {}: {}", pageUrl, e.getMessage());
+            return 0;
+        }
+        pagesProbed.incrementAndGet();
+        locatorsProbed.addAndGet(atRisk.size());
+
+        IntentContract intent = IntentContract.defaultContract("find element");
+        List<BatchHealRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < atRisk.size(); i++) {
+            if (i < resolved.size() && Boolean.TRUE.equals(resolved.get(i))) {
+                continue;
+            }
+            LocatorInfo locator = atRisk.get(i);
+            FailureContext failure = FailureContext.builder()
+                    .exceptionType("NoSuchElementException")
+                    .originalLocator(locator)
+                    .stepText("find element: " + locator)
+                    .pageUrl(pageUrl)
+                    .build();
+            if (engine.triage(failure, intent, pageUrl).isRefused()) {
+                continue;
+            }
+            items.add(new BatchHealRequest.Item("speculative-" + i, failure, intent));
+        }
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        UiSnapshot snapshot;
+        try {
+            snapshot = probe.capture();
+        } catch (RuntimeException e) {
+            logger.debug("Could not capture {} for speculative healing: {}", pageUrl, e.getMessage());
+            return 0;
+        }
+
+        // Register before submitting so a lookup racing the submit still waits for the heal
+        CompletableFuture<Void> registered = new CompletableFuture<>();
+        Map<CacheKey, BatchHealRequest.Item> byKey = new LinkedHashMap<>();
+        for (BatchHealRequest.Item item : items) {
+            CacheKey key = key(pageUrl, item.failure().getOriginalLocator());
+            byKey.put(key, item);
+            inFlight.put(key, registered);
+        }
+        try {
+            executor.submit(() -> {
+                try {
+                    heal(byKey, snapshot);
+                } finally {
+                    byKey.keySet().forEach(key -> inFlight.remove(key, registered));
+                    registered.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            byKey.keySet().forEach(key -> inFlight.remove(key, registered));
+            registered.complete(null);
+            return 0;
+        }
+
+        healsScheduled.addAndGet(items.size());
+        logger.info("Speculatively healing {} of {} at-risk locators on {}", items.size(), atRisk.size(), pageUrl);
+        return items.size();
+    }
+
+    /**
+     * Take the pre-heal for a locator that failed on a page, waiting for a speculative heal
+     * of it that is still in flight. Each pre-heal is handed out once; if it does not work
+     * out, the next failure heals as usual.
+     */
+    public Optional<PreHeal> lookup(String pageUrl, LocatorInfo original) {
+        CacheKey key = key(pageUrl, original);
+        Future<?> pending = inFlight.get(key);
+        if (pending != null) {
+            try {
+                pending.get(config.getWaitTimeoutSeconds(), TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            } catch (ExecutionException | TimeoutException e) {
+                logger.debug("Speculative heal of {} not available: {}", original, e.getMessage());
+                return Optional.empty();
+            }
+        }
+
+        PreHeal preHeal = preHeals.remove(key);
+        if (preHeal != null) {
+            lookupHits.incrementAndGet();
+        }
+        return Optional.ofNullable(preHeal);
+    }
+
+    /**
+     * Record how a heal of a locator turned out, so later runs know which locators are at risk.
+     */
+    public void recordOutcome(String pageUrl, LocatorInfo original, HealResult result) {
+        if (pageUrl == null || original == null || result == null || result.isRefused()) {
+            return;
+        }
+        LocatorInfo healed = result.getHealedLocator().map(LocatorInfo::parse).orElse(null);
+        predictor.recordHealEvent(new RegressionPredictor.HealEvent(
+                original, healed, CacheKey.extractPagePattern(pageUrl),
+                result.getConfidence(), result.isSuccess(), Instant.now()));
+    }
+
+    public Stats getStats() {
+        return new Stats(pagesProbed.get(), locatorsProbed.get(), healsScheduled.get(),
+                healsSucceeded.get(), lookupHits.get());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        preHeals.clear();
+        logger.debug("Speculative healer stopped: {}", getStats());
+    }
+
+    private void heal(Map<CacheKey, BatchHealRequest.Item> byKey, UiSnapshot snapshot) {
+        Map<String, HealResult> results = engine.preHealAll(new ArrayList<>(byKey.values()), snapshot);
+        for (Map.Entry<CacheKey, BatchHealRequest.Item> entry : byKey.entrySet()) {
+            BatchHealRequest.Item item = entry.getValue();
+            HealResult result = results.get(item.failureId());
+            // Only what the test goes on to use is recorded, through recordOutcome
+            if (result == null || !isUsable(result, item.intent()) || result.getDecision().isEmpty()) {
+                continue;
+            }
+            preHeals.put(entry.getKey(), new PreHeal(result.getDecision().get(), snapshot));
+            healsSucceeded.incrementAndGet();
+            logger.info("Speculatively healed {} -> {}", item.failure().getOriginalLocator(),
+                    result.getHealedLocator().orElse(null));
+        }
+    }
+
+    /**
+     * A CONFIRM-policy pre-heal comes back suggested, and is approved when it is applied.
+     */
+    private static boolean isUsable(HealResult result, IntentContract intent) {
+        return result.isSuccess()
+                || (result.getOutcome() == HealOutcome.SUGGESTED && intent.getPolicy() == HealPolicy.CONFIRM);
+    }
+
+    private RiskLevel minimumRisk() {
+        RiskLevel minimum = config.getMinRiskLevel();
+        // Failures cluster around deployments, so look at more locators when one is due
+        if (minimum.ordinal() > 0 && predictor.isDeploymentDue()) {
+            return RiskLevel.values()[minimum.ordinal() - 1];
+        }
+        return minimum;
+    }
+
+    private static CacheKey key(String pageUrl, LocatorInfo locator) {
+        return CacheKey.builder().pageUrl(pageUrl).originalLocator(locator).build();
+    }
+
+    /**
+     * A heal made ahead of time: the LLM decision and the snapshot its element index refers to.
+     * Complete it with {@link HealingEngine#applyPreHeal}.
+     */
+    public record PreHeal(HealDecision decision, UiSnapshot snapshot) {
+    }
+
+    /**
+     * Speculative healing counters for the run.
+     */
+    public record Stats(long pagesProbed, long locatorsProbed, long healsScheduled,
+                        long healsSucceeded, long lookupHits) {
+    }
+}
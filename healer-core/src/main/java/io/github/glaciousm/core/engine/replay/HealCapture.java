@@ -0,0 +1,97 @@
+package io.github.glaciousm.core.engine.replay;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.HealPolicy;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.core.model.IntentMetadata;
+import io.github.glaciousm.core.model.UiSnapshot;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Everything a heal needed from the live run: the failure, the step's intent and the
+ * page snapshot. Enough to run the heal again without a browser.
+ */
+public final class HealCapture {
+    private final String id;
+    private final Instant capturedAt;
+    private final FailureContext failure;
+    private final IntentMetadata intent;
+    private final UiSnapshot snapshot;
+
+    @JsonCreator
+    public HealCapture(
+            @JsonProperty("id") String id,
+            @JsonProperty("capturedAt") Instant capturedAt,
+            @JsonProperty("failure") FailureContext failure,
+            @JsonProperty("intent") IntentMetadata intent,
+            @JsonProperty("snapshot") UiSnapshot snapshot) {
+        this.id = id != null ? id : UUID.randomUUID().toString();
+        this.capturedAt = capturedAt != null ? capturedAt : Instant.now();
+        this.failure = Objects.requireNonNull(failure, "failure cannot be null");
+        this.intent = intent;
+        this.snapshot = Objects.requireNonNull(snapshot, "snapshot cannot be null");
+    }
+
+    /**
+     * Capture a heal as it is attempted.
+     */
+    public static HealCapture of(FailureContext failure, IntentContract intent, UiSnapshot snapshot) {
+        return new HealCapture(null, Instant.now(), failure,
+                intent != null ? intent.toMetadata() : null, snapshot);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    public FailureContext getFailure() {
+        return failure;
+    }
+
+    public IntentMetadata getIntent() {
+        return intent;
+    }
+
+    public UiSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuild the intent contract for a replay.
+     *
+     * <p>Replays never execute actions, so SUGGEST and CONFIRM steps are replayed as
+     * AUTO_SAFE to get a healed locator back. OFF stays OFF.</p>
+     */
+    @JsonIgnore
+    public IntentContract toReplayIntent() {
+        if (intent == null) {
+            return IntentContract.defaultContract(failure.getStepText());
+        }
+        HealPolicy policy = intent.getPolicy();
+        if (policy == HealPolicy.SUGGEST || policy == HealPolicy.CONFIRM) {
+            policy = HealPolicy.AUTO_SAFE;
+        }
+        return IntentContract.builder()
+                .action(intent.getAction())
+                .description(intent.getDescription() != null ? intent.getDescription() : failure.getStepText())
+                .policy(policy)
+                .destructive(intent.isDestructive())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "HealCapture{id='" + id + "', step='" + failure.getStepText() +
+               "', elements=" + snapshot.getElementCount() + "}";
+    }
+}
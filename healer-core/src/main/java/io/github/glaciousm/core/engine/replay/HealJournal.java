@@ -0,0 +1,133 @@
+package io.github.glaciousm.core.engine.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.glaciousm.core.model.UiSnapshot;
+import io.github.glaciousm.core.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of heal captures, one JSON object per line.
+ *
+ * <p>Each capture is appended with a single write to a file opened in append mode, so
+ * forked test JVMs can share one journal. A line torn by a killed JVM is skipped on read.</p>
+ */
+public class HealJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealJournal.class);
+
+    /** File name of the journal in the report output directory. */
+    public static final String FILE_NAME = "heal-captures.jsonl";
+
+    private final Path file;
+    private final boolean keepScreenshots;
+    private final ObjectMapper objectMapper = JsonUtils.getMapper();
+
+    /**
+     * @param file            journal file, created on first write
+     * @param keepScreenshots whether snapshot screenshots are written; they dominate the
+     *                        size of an entry and only vision replays need them
+     */
+    public HealJournal(Path file, boolean keepScreenshots) {
+        this.file = file;
+        this.keepScreenshots = keepScreenshots;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Append a capture. Failures are logged rather than thrown, so journaling never
+     * breaks a heal.
+     */
+    public void record(HealCapture capture) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(stripScreenshot(capture)) + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            synchronized (this) {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                try (FileChannel channel = FileChannel.open(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(line);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to record heal capture to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Stream the captures in a journal in the order they were recorded.
+     *
+     * @return number of lines skipped because they could not be parsed
+     */
+    public static int forEach(Path file, Consumer<HealCapture> consumer) throws IOException {
+        ObjectMapper mapper = JsonUtils.getMapper();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                HealCapture capture;
+                try {
+                    capture = mapper.readValue(line, HealCapture.class);
+                } catch (JsonProcessingException e) {
+                    logger.warn("Skipping unreadable capture at {}:{}: {}", file, lineNumber, e.getOriginalMessage());
+                    skipped++;
+                    continue;
+                }
+                consumer.accept(capture);
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Read all captures in a journal.
+     */
+    public static List<HealCapture> read(Path file) throws IOException {
+        List<HealCapture> captures = new ArrayList<>();
+        forEach(file, captures::add);
+        return captures;
+    }
+
+    private HealCapture stripScreenshot(HealCapture capture) {
+        UiSnapshot snapshot = capture.getSnapshot();
+        if (keepScreenshots || snapshot.getScreenshotBase64().isEmpty()) {
+            return capture;
+        }
+        UiSnapshot stripped = UiSnapshot.builder()
+                .url(snapshot.getUrl())
+                .title(snapshot.getTitle())
+                .detectedLanguage(snapshot.getDetectedLanguage())
+                .interactiveElements(snapshot.getInteractiveElements())
+                .timestamp(snapshot.getTimestamp())
+                .domSnapshot(snapshot.getDomSnapshot().orElse(null))
+                .build();
+        return new HealCapture(capture.getId(), capture.getCapturedAt(), capture.getFailure(),
+                capture.getIntent(), stripped);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.glaciousm.core.engine.replay;
+
+import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.model.HealResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Re-heals recorded captures without a browser, in parallel.
+ *
+ * <p>Each capture goes through {@link HealingEngine#attemptHeal} with its recorded
+ * snapshot, so triage, guardrails, pattern lookup and the LLM call all run as they
+ * would live. The engine should have an LLM evaluator and no action executor or
+ * outcome validator: there is no page to act on.</p>
+ */
+public class OfflineHealer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfflineHealer.class);
+
+    private final HealingEngine engine;
+    private final int parallelism;
+
+    /**
+     * Result of re-healing one capture.
+     */
+    public record Replay(HealCapture capture, HealResult result, Duration duration) {
+
+        public boolean isSuccess() {
+            return result.isSuccess();
+        }
+    }
+
+    /**
+     * @param engine      engine to heal with
+     * @param parallelism number of captures healed at once
+     */
+    public OfflineHealer(HealingEngine engine, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.engine = engine;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Re-heal captures, returning results in capture order.
+     */
+    public List<Replay> replay(List<HealCapture> captures) throws InterruptedException {
+        return replay(captures, replay -> { });
+    }
+
+    /**
+     * Re-heal captures, returning results in capture order.
+     *
+     * @param listener called as each replay completes, from the worker thread
+     */
+    public List<Replay> replay(List<HealCapture> captures, Consumer<Replay> listener) throws InterruptedException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, captures.size())), r -> {
+            Thread t = new Thread(r, "offline-heal-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Replay>> futures = new ArrayList<>(captures.size());
+            for (HealCapture capture : captures) {
+                futures.add(executor.submit(() -> {
+                    Replay replay = heal(capture);
+                    listener.accept(replay);
+                    return replay;
+                }));
+            }
+
+            List<Replay> replays = new ArrayList<>(captures.size());
+            for (Future<Replay> future : futures) {
+                try {
+                    replays.add(future.get());
+                } catch (ExecutionException e) {
+                    // heal() does not throw; only a failing listener gets here
+                    throw new IllegalStateException("Replay listener failed", e.getCause());
+                }
+            }
+            return replays;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Replay heal(HealCapture capture) {
+        long start = System.nanoTime();
+        HealResult result;
+        try {
+            result = engine.attemptHeal(capture.getFailure(), capture.toReplayIntent(), capture.getSnapshot());
+        } catch (RuntimeException e) {
+            logger.warn("Replay of capture {} failed: {}", capture.getId(), e.getMessage());
+            result = HealResult.failed("Replay failed: " + e.getMessage());
+        }
+        return new Replay(capture, result, Duration.ofNanos(System.nanoTime() - start));
+    }
+}
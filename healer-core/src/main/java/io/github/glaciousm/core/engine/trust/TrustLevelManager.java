@@ -1,6 +1,8 @@
 package io.github.glaciousm.core.engine.trust;
 
 import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.store.ColumnFamily;
+import io.github.glaciousm.core.store.StateStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +18,9 @@ import java.util.concurrent.atomic.AtomicReference;
  * - Promote after N consecutive successes
  * - Demote after M failures within a time window
  * - Can be manually overridden
+ *
+ * With a state store configured, the level and counters survive restarts. What the
+ * store already holds is restored the first time the manager is used.
  */
 public class TrustLevelManager {
 
@@ -38,6 +43,10 @@ public class TrustLevelManager {
     private final boolean autoPromote;
     private final boolean autoDemote;
 
+    private static final String STATE_KEY = "state";
+    private final ColumnFamily<TrustState> storedState;
+    private volatile boolean restorePending;
+
     private TrustLevelManager(Builder builder) {
         this.currentLevel = new AtomicReference<>(builder.initialLevel);
         this.consecutiveSuccesses = new AtomicInteger(0);
@@ -53,6 +62,10 @@ public class TrustLevelManager {
         this.minLevel = builder.minLevel;
         this.autoPromote = builder.autoPromote;
         this.autoDemote = builder.autoDemote;
+        this.storedState = builder.stateStore != null
+                ? builder.stateStore.family("trust.state", TrustState.class)
+                : null;
+        this.restorePending = storedState != null;
     }
 
     public static Builder builder() {
@@ -63,6 +76,7 @@ public class TrustLevelManager {
      * Get the current trust level.
      */
     public TrustLevel getCurrentLevel() {
+        ensureRestored();
         return currentLevel.get();
     }
 
@@ -70,6 +84,7 @@ public class TrustLevelManager {
      * Check if healing is allowed at the current trust level.
      */
     public boolean isHealingAllowed() {
+        ensureRestored();
         return currentLevel.get() != TrustLevel.L0_SHADOW;
     }
 
@@ -77,6 +92,7 @@ public class TrustLevelManager {
      * Check if auto-apply is allowed for a given action type.
      */
     public boolean canAutoApply(ActionType actionType) {
+        ensureRestored();
         TrustLevel level = currentLevel.get();
         if (!level.canAutoApply()) {
             return false;
@@ -90,6 +106,7 @@ public class TrustLevelManager {
      * Check if manual approval is required for a heal.
      */
     public boolean requiresApproval() {
+        ensureRestored();
         return currentLevel.get().requiresApproval();
     }
 
@@ -97,6 +114,7 @@ public class TrustLevelManager {
      * Check if heals can be auto-committed to source control.
      */
     public boolean canAutoCommit() {
+        ensureRestored();
         return currentLevel.get().canAutoCommit();
     }
 
@@ -104,6 +122,7 @@ public class TrustLevelManager {
      * Record a successful heal.
      */
     public void recordSuccess() {
+        ensureRestored();
         totalSuccesses.incrementAndGet();
         consecutiveFailures.set(0);
         int successes = consecutiveSuccesses.incrementAndGet();
@@ -112,12 +131,14 @@ public class TrustLevelManager {
         if (autoPromote && successes >= successesToPromote) {
             promote();
         }
+        persistState();
     }
 
     /**
      * Record a failed heal.
      */
     public void recordFailure() {
+        ensureRestored();
         totalFailures.incrementAndGet();
         consecutiveSuccesses.set(0);
         consecutiveFailures.incrementAndGet();
@@ -138,6 +159,7 @@ public class TrustLevelManager {
             failuresInWindow.set(0);
             windowStart = now;
         }
+        persistState();
     }
 
     /**
@@ -152,6 +174,7 @@ public class TrustLevelManager {
      * Promote to the next trust level.
      */
     public TrustLevel promote() {
+        ensureRestored();
         while (true) {
             TrustLevel current = currentLevel.get();
             if (current.getLevel() >= maxLevel.getLevel()) {
@@ -168,6 +191,7 @@ public class TrustLevelManager {
                 consecutiveSuccesses.set(0);
                 consecutiveFailures.set(0);
                 logger.info("Trust level promoted: {} -> {}", current, next);
+                persistState();
                 return next;
             }
         }
@@ -177,6 +201,7 @@ public class TrustLevelManager {
      * Demote to the previous trust level.
      */
     public TrustLevel demote() {
+        ensureRestored();
         while (true) {
             TrustLevel current = currentLevel.get();
             if (current.getLevel() <= minLevel.getLevel()) {
@@ -193,6 +218,7 @@ public class TrustLevelManager {
                 consecutiveSuccesses.set(0);
                 consecutiveFailures.set(0);
                 logger.warn("Trust level demoted: {} -> {}", current, prev);
+                persistState();
                 return prev;
             }
         }
@@ -202,6 +228,7 @@ public class TrustLevelManager {
      * Set trust level directly (manual override).
      */
     public void setLevel(TrustLevel level) {
+        ensureRestored();
         if (level.getLevel() < minLevel.getLevel()) {
             level = minLevel;
         } else if (level.getLevel() > maxLevel.getLevel()) {
@@ -215,23 +242,27 @@ public class TrustLevelManager {
         windowStart = Instant.now();
 
         logger.info("Trust level manually set: {} -> {}", previous, level);
+        persistState();
     }
 
     /**
      * Reset trust statistics without changing level.
      */
     public void resetStats() {
+        ensureRestored();
         consecutiveSuccesses.set(0);
         consecutiveFailures.set(0);
         failuresInWindow.set(0);
         windowStart = Instant.now();
         logger.debug("Trust statistics reset");
+        persistState();
     }
 
     /**
      * Reset all statistics including totals.
      */
     public void resetAllStats() {
+        ensureRestored();
         consecutiveSuccesses.set(0);
         consecutiveFailures.set(0);
         failuresInWindow.set(0);
@@ -239,12 +270,14 @@ public class TrustLevelManager {
         totalFailures.set(0);
         windowStart = Instant.now();
         logger.debug("All trust statistics reset");
+        persistState();
     }
 
     /**
      * Get statistics about trust progression.
      */
     public TrustStats getStats() {
+        ensureRestored();
         return new TrustStats(
                 currentLevel.get(),
                 consecutiveSuccesses.get(),
@@ -262,6 +295,7 @@ public class TrustLevelManager {
      * Get total number of successful heals.
      */
     public int getTotalSuccesses() {
+        ensureRestored();
         return totalSuccesses.get();
     }
 
@@ -269,6 +303,7 @@ public class TrustLevelManager {
      * Get total number of failed heals.
      */
     public int getTotalFailures() {
+        ensureRestored();
         return totalFailures.get();
     }
 
@@ -276,6 +311,7 @@ public class TrustLevelManager {
      * Get consecutive failures count.
      */
     public int getConsecutiveFailures() {
+        ensureRestored();
         return consecutiveFailures.get();
     }
 
@@ -283,6 +319,7 @@ public class TrustLevelManager {
      * Get consecutive successes count.
      */
     public int getConsecutiveSuccesses() {
+        ensureRestored();
         return consecutiveSuccesses.get();
     }
 
@@ -290,11 +327,61 @@ public class TrustLevelManager {
      * Get the success rate as a percentage.
      */
     public double getSuccessRate() {
+        ensureRestored();
         int total = totalSuccesses.get() + totalFailures.get();
         if (total == 0) return 0.0;
         return (double) totalSuccesses.get() / total * 100.0;
     }
 
+    private void ensureRestored() {
+        if (!restorePending) {
+            return;
+        }
+        synchronized (this) {
+            if (restorePending) {
+                restoreState();
+                restorePending = false;
+            }
+        }
+    }
+
+    private void restoreState() {
+        storedState.get(STATE_KEY).ifPresent(state -> {
+            TrustLevel level = state.level();
+            if (level.getLevel() < minLevel.getLevel()) {
+                level = minLevel;
+            } else if (level.getLevel() > maxLevel.getLevel()) {
+                level = maxLevel;
+            }
+            currentLevel.set(level);
+            consecutiveSuccesses.set(state.consecutiveSuccesses());
+            consecutiveFailures.set(state.consecutiveFailures());
+            failuresInWindow.set(state.failuresInWindow());
+            totalSuccesses.set(state.totalSuccesses());
+            totalFailures.set(state.totalFailures());
+            windowStart = state.windowStart();
+            logger.debug("Restored trust level {}", level);
+        });
+    }
+
+    private void persistState() {
+        if (storedState != null) {
+            storedState.put(STATE_KEY, new TrustState(currentLevel.get(), consecutiveSuccesses.get(),
+                    consecutiveFailures.get(), failuresInWindow.get(), totalSuccesses.get(),
+                    totalFailures.get(), windowStart));
+        }
+    }
+
+    private record TrustState(
+            TrustLevel level,
+            int consecutiveSuccesses,
+            int consecutiveFailures,
+            int failuresInWindow,
+            int totalSuccesses,
+            int totalFailures,
+            Instant windowStart
+    ) {}
+
     /**
      * Trust level statistics.
      */
@@ -326,6 +413,7 @@ public class TrustLevelManager {
         private TrustLevel minLevel = TrustLevel.L0_SHADOW;
         private boolean autoPromote = true;
         private boolean autoDemote = true;
+        private StateStore stateStore;
 
         public Builder initialLevel(TrustLevel level) {
             this.initialLevel = level;
@@ -367,6 +455,14 @@ public class TrustLevelManager {
             return this;
         }
 
+        /**
+         * Persist the trust level and counters in a state store, restoring any saved state.
+         */
+        public Builder stateStore(StateStore store) {
+            this.stateStore = store;
+            return this;
+        }
+
         public TrustLevelManager build() {
             return new TrustLevelManager(this);
         }
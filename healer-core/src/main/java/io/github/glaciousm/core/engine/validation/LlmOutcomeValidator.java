@@ -1,5 +1,6 @@
 package io.github.glaciousm.core.engine.validation;
 
+import io.github.glaciousm.core.config.GuardrailConfig;
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.model.OutcomeResult;
 import io.github.glaciousm.core.model.UiSnapshot;
@@ -7,24 +8,51 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
  * LLM-based outcome validator that uses semantic understanding
  * to determine if expected test outcomes were achieved after healing.
+ *
+ * <p>With {@code guardrails.local_outcome_validation}, the before and after snapshots are
+ * first compared with a {@link SnapshotDiffValidator}; the LLM is only asked when that
+ * comparison is ambiguous.</p>
  */
 public class LlmOutcomeValidator {
 
     private static final Logger logger = LoggerFactory.getLogger(LlmOutcomeValidator.class);
 
     private final Function<ValidationRequest, OutcomeResult> llmValidator;
+    private final SnapshotDiffValidator localValidator;
     private final List<OutcomeCheck> customChecks = new ArrayList<>();
+    private final AtomicLong localDecisions = new AtomicLong();
+    private final AtomicLong llmCalls = new AtomicLong();
 
     /**
      * Create validator with LLM validation function.
      */
     public LlmOutcomeValidator(Function<ValidationRequest, OutcomeResult> llmValidator) {
+        this(llmValidator, (SnapshotDiffValidator) null);
+    }
+
+    /**
+     * Create validator with LLM validation function, comparing snapshots locally first
+     * if {@link GuardrailConfig#isLocalOutcomeValidation()} is set.
+     */
+    public LlmOutcomeValidator(Function<ValidationRequest, OutcomeResult> llmValidator, GuardrailConfig config) {
+        this(llmValidator, config != null && config.isLocalOutcomeValidation() ? new SnapshotDiffValidator() : null);
+    }
+
+    /**
+     * Create validator with LLM validation function and local snapshot comparison.
+     *
+     * @param localValidator compares snapshots before the LLM is asked; null to always ask
+     */
+    public LlmOutcomeValidator(Function<ValidationRequest, OutcomeResult> llmValidator,
+                               SnapshotDiffValidator localValidator) {
         this.llmValidator = llmValidator;
+        this.localValidator = localValidator;
     }
 
     /**
@@ -59,9 +87,32 @@ public class LlmOutcomeValidator {
             }
         }
 
+        // Compare the snapshots locally; a clear result saves the LLM call
+        if (localValidator != null) {
+            SnapshotDiffValidator.Result local = localValidator.validate(beforeHeal, afterHeal, context);
+            checkResults.add(new CheckResult(
+                    "Local Snapshot Diff",
+                    local.verdict() != SnapshotDiffValidator.Verdict.FAILED,
+                    String.join("; ", local.reasons())
+            ));
+            if (local.isDecided()) {
+                localDecisions.incrementAndGet();
+                boolean passed = local.verdict() == SnapshotDiffValidator.Verdict.PASSED;
+                return ValidationResult.builder()
+                        .passed(passed)
+                        .reason((passed ? "Page change confirms outcome: " : "Page change shows failure: ")
+                                + String.join("; ", local.reasons()))
+                        .checkResults(checkResults)
+                        .confidence(local.confidence())
+                        .latencyMs(System.currentTimeMillis() - startTime)
+                        .build();
+            }
+        }
+
         // Use LLM for semantic validation
         if (llmValidator != null && expectedOutcome != null && !expectedOutcome.isEmpty()) {
             try {
+                llmCalls.incrementAndGet();
                 ValidationRequest request = new ValidationRequest(
                         expectedOutcome,
                         beforeHeal,
@@ -132,6 +183,20 @@ public class LlmOutcomeValidator {
         return validate(expectedOutcome, before, after, Map.of());
     }
 
+    /**
+     * Validations decided by the local snapshot comparison, without asking the LLM.
+     */
+    public long getLocalDecisions() {
+        return localDecisions.get();
+    }
+
+    /**
+     * Validations that asked the LLM.
+     */
+    public long getLlmCalls() {
+        return llmCalls.get();
+    }
+
     /**
      * Register a custom outcome check.
      */
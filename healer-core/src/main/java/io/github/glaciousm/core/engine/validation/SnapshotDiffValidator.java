@@ -0,0 +1,264 @@
+package io.github.glaciousm.core.engine.validation;
+
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.UiSnapshot;
+
+import java.util.*;
+
+/**
+ * Rule-based outcome validator that compares the page before and after a healed action.
+ *
+ * <p>It looks at URL and title transitions, error banners that became visible, form fields
+ * whose value changed and the target disappearing. A clear failure signal fails the action.
+ * It only passes when the caller stated the navigation it expects ({@link #EXPECTED_NAVIGATION})
+ * and that navigation happened, since other page changes say nothing about whether the
+ * expected outcome was reached. Everything else is {@link Verdict#AMBIGUOUS}, for the LLM to
+ * judge, with the score as a hint.</p>
+ */
+public class SnapshotDiffValidator {
+
+    /** Context key: URL fragment the action is expected to navigate to, taken from the step's intent. */
+    public static final String EXPECTED_NAVIGATION = "expectedNavigation";
+
+    /** Context key: text the action typed into a field. */
+    public static final String TYPED_VALUE = "typedValue";
+
+    /** Context key: the {@link ElementSnapshot} the action was performed on. */
+    public static final String TARGET_ELEMENT = "targetElement";
+
+    private static final double BASELINE = 0.5;
+    private static final List<String> ERROR_URL_PARTS = List.of("/error", "/500", "/404", "/403", "/forbidden");
+    private static final List<String> ERROR_TITLE_WORDS = List.of(
+            "error", "not found", "forbidden", "internal server", "access denied");
+    private static final List<String> ERROR_CLASS_PARTS = List.of("error", "alert-danger", "invalid");
+    private static final Set<String> ERROR_ROLES = Set.of("alert", "alertdialog");
+
+    private final double passThreshold;
+
+    public SnapshotDiffValidator() {
+        this(0.8);
+    }
+
+    /**
+     * @param passThreshold score from which a matched expected navigation is taken to mean the action worked
+     */
+    public SnapshotDiffValidator(double passThreshold) {
+        this.passThreshold = passThreshold;
+    }
+
+    /**
+     * Compare the page before and after an action.
+     *
+     * @param context optional hints, see {@link #EXPECTED_NAVIGATION}, {@link #TYPED_VALUE}
+     *                and {@link #TARGET_ELEMENT}
+     */
+    public Result validate(UiSnapshot before, UiSnapshot after, Map<String, Object> context) {
+        if (before == null || after == null) {
+            return new Result(Verdict.AMBIGUOUS, BASELINE, List.of("Before or after snapshot missing"));
+        }
+        Map<String, Object> ctx = context != null ? context : Map.of();
+        List<String> failures = new ArrayList<>();
+        List<String> reasons = new ArrayList<>();
+        double score = BASELINE;
+
+        // URL transition
+        String beforeUrl = Objects.toString(before.getUrl(), "");
+        String afterUrl = Objects.toString(after.getUrl(), "");
+        boolean urlChanged = !beforeUrl.equals(afterUrl);
+        boolean expectedNavigationMatched = false;
+        Object expectedNavigation = ctx.get(EXPECTED_NAVIGATION);
+        if (urlChanged && isErrorUrl(afterUrl) && !isErrorUrl(beforeUrl)) {
+            failures.add("Navigated to error page: " + afterUrl);
+        } else if (expectedNavigation != null) {
+            if (afterUrl.contains(expectedNavigation.toString())) {
+                expectedNavigationMatched = true;
+                score += 0.4;
+                reasons.add("Navigated to expected URL: " + afterUrl);
+            } else if (urlChanged) {
+                failures.add("Navigated to " + afterUrl + " instead of " + expectedNavigation);
+            } else {
+                score -= 0.2;
+                reasons.add("Expected navigation to " + expectedNavigation + " has not happened");
+            }
+        } else if (urlChanged) {
+            score += 0.25;
+            reasons.add("URL changed: " + beforeUrl + " -> " + afterUrl);
+        }
+
+        // Title transition
+        String beforeTitle = Objects.toString(before.getTitle(), "");
+        String afterTitle = Objects.toString(after.getTitle(), "");
+        if (!beforeTitle.equals(afterTitle)) {
+            if (isErrorTitle(afterTitle) && !isErrorTitle(beforeTitle)) {
+                failures.add("Error page title: " + afterTitle);
+            } else {
+                score += 0.15;
+                reasons.add("Title changed to '" + afterTitle + "'");
+            }
+        }
+
+        // Error banners that were not visible before
+        Set<String> visibleErrorsBefore = new HashSet<>();
+        for (ElementSnapshot element : before.getInteractiveElements()) {
+            if (element.isVisible() && isErrorElement(element)) {
+                visibleErrorsBefore.add(key(element) + "|" + text(element));
+            }
+        }
+        for (ElementSnapshot element : after.getInteractiveElements()) {
+            if (element.isVisible() && isErrorElement(element)
+                    && !visibleErrorsBefore.contains(key(element) + "|" + text(element))) {
+                String text = text(element);
+                failures.add("Error banner appeared" + (text.isEmpty() ? "" : ": " + text));
+            }
+        }
+
+        // Form fields and element set
+        Map<String, ElementSnapshot> beforeElements = index(before.getInteractiveElements());
+        Map<String, ElementSnapshot> afterElements = index(after.getInteractiveElements());
+        List<String> changedFields = new ArrayList<>();
+        for (Map.Entry<String, ElementSnapshot> entry : afterElements.entrySet()) {
+            ElementSnapshot previous = beforeElements.get(entry.getKey());
+            if (previous != null && isField(entry.getValue())
+                    && !Objects.equals(previous.getValue(), entry.getValue().getValue())) {
+                changedFields.add(entry.getKey());
+            }
+        }
+        Object typedValue = ctx.get(TYPED_VALUE);
+        if (typedValue != null && !typedValue.toString().isEmpty()) {
+            boolean landed = after.getInteractiveElements().stream()
+                    .filter(SnapshotDiffValidator::isField)
+                    .anyMatch(e -> e.getValue() != null && e.getValue().contains(typedValue.toString()));
+            if (landed) {
+                score += 0.4;
+                reasons.add("Typed value is in a form field");
+            } else if (!urlChanged) {
+                failures.add("Typed value is not in any form field");
+            }
+        } else if (!changedFields.isEmpty()) {
+            score += 0.15;
+            reasons.add("Form field value changed: " + String.join(", ", changedFields));
+        }
+
+        Object target = ctx.get(TARGET_ELEMENT);
+        if (target instanceof ElementSnapshot targetElement && !urlChanged) {
+            ElementSnapshot afterTarget = afterElements.get(key(targetElement));
+            if (afterTarget == null || !afterTarget.isVisible()) {
+                score += 0.2;
+                reasons.add("Target element is gone");
+            }
+        }
+
+        int appeared = 0;
+        int disappeared = 0;
+        for (String key : afterElements.keySet()) {
+            if (!beforeElements.containsKey(key)) {
+                appeared++;
+            }
+        }
+        for (String key : beforeElements.keySet()) {
+            if (!afterElements.containsKey(key)) {
+                disappeared++;
+            }
+        }
+        if (appeared + disappeared > 0) {
+            score += 0.1;
+            reasons.add(appeared + " elements appeared, " + disappeared + " disappeared");
+        }
+
+        if (!failures.isEmpty()) {
+            return new Result(Verdict.FAILED, 0.9, failures);
+        }
+        score = Math.max(0.0, Math.min(1.0, score));
+        if (reasons.isEmpty()) {
+            reasons.add("No visible change");
+        }
+        boolean passed = expectedNavigationMatched && score >= passThreshold;
+        return new Result(passed ? Verdict.PASSED : Verdict.AMBIGUOUS, score, reasons);
+    }
+
+    private static boolean isErrorUrl(String url) {
+        String lower = url.toLowerCase();
+        return ERROR_URL_PARTS.stream().anyMatch(lower::contains);
+    }
+
+    private static boolean isErrorTitle(String title) {
+        String lower = title.toLowerCase();
+        return ERROR_TITLE_WORDS.stream().anyMatch(lower::contains);
+    }
+
+    private static boolean isErrorElement(ElementSnapshot element) {
+        String role = element.getAriaRole();
+        if (role != null && ERROR_ROLES.contains(role.toLowerCase())) {
+            return true;
+        }
+        // Buttons and links styled as errors ("btn-danger", "error-retry") are controls, not messages
+        String tag = element.getTagName();
+        if (element.getClasses() == null || "button".equalsIgnoreCase(tag) || "a".equalsIgnoreCase(tag)) {
+            return false;
+        }
+        for (String cls : element.getClasses()) {
+            String lower = cls.toLowerCase();
+            if (ERROR_CLASS_PARTS.stream().anyMatch(lower::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isField(ElementSnapshot element) {
+        String tag = element.getTagName();
+        return tag != null && (tag.equalsIgnoreCase("input") || tag.equalsIgnoreCase("textarea")
+                || tag.equalsIgnoreCase("select"));
+    }
+
+    private static Map<String, ElementSnapshot> index(List<ElementSnapshot> elements) {
+        Map<String, ElementSnapshot> byKey = new LinkedHashMap<>();
+        for (ElementSnapshot element : elements) {
+            byKey.putIfAbsent(key(element), element);
+        }
+        return byKey;
+    }
+
+    /**
+     * Identity of an element across snapshots: id, else name, else tag and text.
+     */
+    private static String key(ElementSnapshot element) {
+        if (element.getId() != null && !element.getId().isEmpty()) {
+            return "#" + element.getId();
+        }
+        if (element.getName() != null && !element.getName().isEmpty()) {
+            return element.getTagName() + "[name=" + element.getName() + "]";
+        }
+        return element.getTagName() + ":" + text(element);
+    }
+
+    private static String text(ElementSnapshot element) {
+        String text = element.getNormalizedText();
+        return text != null ? text : "";
+    }
+
+    /**
+     * Local verdict on an action.
+     */
+    public enum Verdict {
+        PASSED,
+        FAILED,
+        /** The page change does not say either way. */
+        AMBIGUOUS
+    }
+
+    /**
+     * Result of comparing two snapshots.
+     *
+     * @param verdict    what the page change says about the action
+     * @param confidence for a failure, how sure the verdict is; otherwise the estimated
+     *                   likelihood that the action worked
+     * @param reasons    the signals behind the verdict
+     */
+    public record Result(Verdict verdict, double confidence, List<String> reasons) {
+
+        public boolean isDecided() {
+            return verdict != Verdict.AMBIGUOUS;
+        }
+    }
+}
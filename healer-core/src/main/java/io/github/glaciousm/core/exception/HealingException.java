@@ -95,6 +95,11 @@ public class HealingException extends RuntimeException {
          */
         COST_LIMIT_EXCEEDED,
 
+        /**
+         * LLM call was shed by the concurrency limiter.
+         */
+        LLM_OVERLOADED,
+
         /**
          * Unknown or unclassified error.
          */
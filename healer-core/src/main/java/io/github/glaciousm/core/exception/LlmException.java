@@ -107,6 +107,24 @@ public class LlmException extends HealingException {
                 provider, model);
     }
 
+    /**
+     * Creates an exception for a call shed by the concurrency limiter.
+     */
+    public static LlmException overloaded(String provider, String model, String details) {
+        return new LlmException(
+                "LLM call to " + provider + "/" + model + " shed: " + details,
+                null, provider, model, HealingFailureReason.LLM_OVERLOADED);
+    }
+
+    /**
+     * Creates an exception for a call refused because the cost limit is reached.
+     */
+    public static LlmException costLimitExceeded(String provider, String model) {
+        return new LlmException(
+                "LLM cost limit reached, not calling " + provider + "/" + model,
+                null, provider, model, HealingFailureReason.COST_LIMIT_EXCEEDED);
+    }
+
     /**
      * Checks if this exception indicates rate limiting.
      */
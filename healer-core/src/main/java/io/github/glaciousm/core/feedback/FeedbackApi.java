@@ -3,6 +3,8 @@ package io.github.glaciousm.core.feedback;
 import io.github.glaciousm.core.engine.blacklist.HealBlacklist;
 import io.github.glaciousm.core.engine.trust.TrustLevelManager;
 import io.github.glaciousm.core.engine.blacklist.BlacklistEntry;
+import io.github.glaciousm.core.store.ColumnFamily;
+import io.github.glaciousm.core.store.StateStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,12 +26,36 @@ public class FeedbackApi {
     private final TrustLevelManager trustManager;
     private final List<FeedbackListener> listeners = new ArrayList<>();
     private final Map<String, FeedbackRecord> feedbackHistory = new ConcurrentHashMap<>();
+    private ColumnFamily<FeedbackRecord> storedFeedback;
+    private volatile boolean restorePending;
 
     public FeedbackApi(HealBlacklist blacklist, TrustLevelManager trustManager) {
         this.blacklist = blacklist;
         this.trustManager = trustManager;
     }
 
+    /**
+     * Persist feedback history in a state store. What the store already holds is
+     * restored the first time feedback is read or written.
+     */
+    public synchronized void setStateStore(StateStore store) {
+        storedFeedback = store.family("feedback.records", FeedbackRecord.class);
+        restorePending = true;
+    }
+
+    private Map<String, FeedbackRecord> history() {
+        if (restorePending) {
+            synchronized (this) {
+                if (restorePending) {
+                    feedbackHistory.putAll(storedFeedback.load());
+                    restorePending = false;
+                    logger.debug("Restored {} feedback records", feedbackHistory.size());
+                }
+            }
+        }
+        return feedbackHistory;
+    }
+
     /**
      * Submit feedback that a heal was correct.
      */
@@ -40,7 +66,7 @@ public class FeedbackApi {
         record.setTimestamp(Instant.now());
         record.setComment(comment);
 
-        feedbackHistory.put(healId, record);
+        storeRecord(record);
 
         // Reward trust level
         if (trustManager != null) {
@@ -69,7 +95,7 @@ public class FeedbackApi {
         record.setComment(reason);
         record.setCorrectLocator(correctLocator);
 
-        feedbackHistory.put(healId, record);
+        storeRecord(record);
 
         // Penalize trust level
         if (trustManager != null) {
@@ -100,7 +126,7 @@ public class FeedbackApi {
         record.setCorrectLocator(correction.getCorrectLocator());
         record.setComment(correction.getReason());
 
-        feedbackHistory.put(correction.getHealId(), record);
+        storeRecord(record);
 
         // If healed locator was wrong, blacklist it
         if (correction.shouldBlacklist() && blacklist != null) {
@@ -182,7 +208,7 @@ public class FeedbackApi {
         record.setComment(comment);
         record.setStepText(stepText);
 
-        feedbackHistory.put(record.getHealId(), record);
+        storeRecord(record);
         notifyListeners(record);
 
         logger.info("False negative reported for step: {}", stepText);
@@ -197,7 +223,7 @@ public class FeedbackApi {
 
         for (FeedbackRecord record : records) {
             record.setTimestamp(Instant.now());
-            feedbackHistory.put(record.getHealId(), record);
+            storeRecord(record);
 
             switch (record.getFeedbackType()) {
                 case POSITIVE -> {
@@ -225,7 +251,7 @@ public class FeedbackApi {
         int corrections = 0;
         int falseNegatives = 0;
 
-        for (FeedbackRecord record : feedbackHistory.values()) {
+        for (FeedbackRecord record : history().values()) {
             switch (record.getFeedbackType()) {
                 case POSITIVE -> positive++;
                 case NEGATIVE -> negative++;
@@ -235,7 +261,7 @@ public class FeedbackApi {
         }
 
         return new FeedbackStats(
-                feedbackHistory.size(),
+                history().size(),
                 positive,
                 negative,
                 corrections,
@@ -247,7 +273,7 @@ public class FeedbackApi {
      * Get recent feedback records.
      */
     public List<FeedbackRecord> getRecentFeedback(int limit) {
-        return feedbackHistory.values().stream()
+        return history().values().stream()
                 .sorted(Comparator.comparing(FeedbackRecord::getTimestamp).reversed())
                 .limit(limit)
                 .toList();
@@ -257,7 +283,7 @@ public class FeedbackApi {
      * Get feedback for a specific heal.
      */
     public Optional<FeedbackRecord> getFeedback(String healId) {
-        return Optional.ofNullable(feedbackHistory.get(healId));
+        return Optional.ofNullable(history().get(healId));
     }
 
     /**
@@ -278,7 +304,7 @@ public class FeedbackApi {
      * Export feedback data for analysis.
      */
     public List<FeedbackRecord> exportFeedback(Instant since) {
-        return feedbackHistory.values().stream()
+        return history().values().stream()
                 .filter(r -> r.getTimestamp().isAfter(since))
                 .sorted(Comparator.comparing(FeedbackRecord::getTimestamp))
                 .toList();
@@ -291,10 +317,14 @@ public class FeedbackApi {
         Instant cutoff = Instant.now().minus(olderThan);
         int removed = 0;
 
-        Iterator<Map.Entry<String, FeedbackRecord>> it = feedbackHistory.entrySet().iterator();
+        Iterator<Map.Entry<String, FeedbackRecord>> it = history().entrySet().iterator();
         while (it.hasNext()) {
-            if (it.next().getValue().getTimestamp().isBefore(cutoff)) {
+            Map.Entry<String, FeedbackRecord> entry = it.next();
+            if (entry.getValue().getTimestamp().isBefore(cutoff)) {
                 it.remove();
+                if (storedFeedback != null) {
+                    storedFeedback.delete(entry.getKey());
+                }
                 removed++;
             }
         }
@@ -303,6 +333,13 @@ public class FeedbackApi {
         return removed;
     }
 
+    private void storeRecord(FeedbackRecord record) {
+        history().put(record.getHealId(), record);
+        if (storedFeedback != null) {
+            storedFeedback.put(record.getHealId(), record);
+        }
+    }
+
     private void notifyListeners(FeedbackRecord record) {
         for (FeedbackListener listener : listeners) {
             try {
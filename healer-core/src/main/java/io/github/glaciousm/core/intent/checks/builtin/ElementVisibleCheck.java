@@ -4,9 +4,11 @@ import io.github.glaciousm.core.model.ElementSnapshot;
 import io.github.glaciousm.core.model.ExecutionContext;
 import io.github.glaciousm.core.model.IntentContract.OutcomeCheck;
 import io.github.glaciousm.core.model.OutcomeResult;
+import io.github.glaciousm.core.model.PageFact;
 import io.github.glaciousm.core.model.UiSnapshot;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Outcome check that verifies an element is visible on the page.
@@ -87,6 +89,11 @@ public class ElementVisibleCheck implements OutcomeCheck {
         return elementId != null || elementText != null;
     }
 
+    @Override
+    public Set<PageFact> requiredFacts() {
+        return Set.of(PageFact.ELEMENTS);
+    }
+
     @Override
     public String getDescription() {
         return description;
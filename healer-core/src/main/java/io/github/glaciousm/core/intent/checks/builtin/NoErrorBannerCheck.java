@@ -4,11 +4,13 @@ import io.github.glaciousm.core.model.ElementSnapshot;
 import io.github.glaciousm.core.model.ExecutionContext;
 import io.github.glaciousm.core.model.IntentContract.InvariantCheck;
 import io.github.glaciousm.core.model.InvariantResult;
+import io.github.glaciousm.core.model.PageFact;
 import io.github.glaciousm.core.model.UiSnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -71,9 +73,9 @@ public class NoErrorBannerCheck implements InvariantCheck {
 
         if (errorFound.isPresent()) {
             ErrorInfo error = errorFound.get();
+            // Concatenated: violated(String, String) would take the text as details, not a format argument
             return InvariantResult.violated(
-                    "Error banner detected: %s",
-                    error.text != null ? error.text : error.reason);
+                    "Error banner detected: " + (error.text != null ? error.text : error.reason));
         }
 
         return InvariantResult.satisfied("No error banners detected");
@@ -125,6 +127,16 @@ public class NoErrorBannerCheck implements InvariantCheck {
                         .anyMatch(ec -> cls.toLowerCase().contains(ec.toLowerCase())));
     }
 
+    @Override
+    public Set<PageFact> requiredFacts() {
+        // Custom classes or keywords can match elements the alert query does not pick up
+        if (errorKeywords.isEmpty() && DEFAULT_ERROR_CLASSES.containsAll(errorClasses)
+                && DEFAULT_ERROR_ROLES.containsAll(errorRoles)) {
+            return Set.of(PageFact.ALERTS);
+        }
+        return Set.of(PageFact.ALERTS, PageFact.ELEMENTS);
+    }
+
     @Override
     public String getDescription() {
         return "Verify no error banners are visible";
@@ -3,9 +3,11 @@ package io.github.glaciousm.core.intent.checks.builtin;
 import io.github.glaciousm.core.model.ExecutionContext;
 import io.github.glaciousm.core.model.IntentContract.InvariantCheck;
 import io.github.glaciousm.core.model.InvariantResult;
+import io.github.glaciousm.core.model.PageFact;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -88,6 +90,11 @@ public class NoForbiddenUrlCheck implements InvariantCheck {
         return InvariantResult.satisfied("URL is not forbidden");
     }
 
+    @Override
+    public Set<PageFact> requiredFacts() {
+        return Set.of(PageFact.URL);
+    }
+
     @Override
     public String getDescription() {
         return "Verify URL is not in forbidden list: " + patternStrings;
@@ -3,6 +3,9 @@ package io.github.glaciousm.core.intent.checks.builtin;
 import io.github.glaciousm.core.model.ExecutionContext;
 import io.github.glaciousm.core.model.IntentContract.OutcomeCheck;
 import io.github.glaciousm.core.model.OutcomeResult;
+import io.github.glaciousm.core.model.PageFact;
+
+import java.util.Set;
 
 /**
  * Outcome check that verifies the page title contains expected text.
@@ -59,6 +62,11 @@ public class TitleContainsCheck implements OutcomeCheck {
         }
     }
 
+    @Override
+    public Set<PageFact> requiredFacts() {
+        return Set.of(PageFact.TITLE);
+    }
+
     @Override
     public String getDescription() {
         return "Verify page title contains: " + expectedText;
@@ -3,7 +3,9 @@ package io.github.glaciousm.core.intent.checks.builtin;
 import io.github.glaciousm.core.model.ExecutionContext;
 import io.github.glaciousm.core.model.IntentContract.OutcomeCheck;
 import io.github.glaciousm.core.model.OutcomeResult;
+import io.github.glaciousm.core.model.PageFact;
 
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -62,6 +64,11 @@ public class UrlChangedCheck implements OutcomeCheck {
         }
     }
 
+    @Override
+    public Set<PageFact> requiredFacts() {
+        return Set.of(PageFact.URL);
+    }
+
     @Override
     public String getDescription() {
         return "Verify URL matches pattern: " + patternString;
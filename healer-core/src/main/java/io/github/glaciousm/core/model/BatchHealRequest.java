@@ -0,0 +1,121 @@
+package io.github.glaciousm.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A request to heal several failed locators against a single UI snapshot.
+ * The snapshot (and its element list) is sent to the LLM once, together with
+ * every failure, and one decision is returned per failure.
+ */
+public final class BatchHealRequest {
+    private final UiSnapshot snapshot;
+    private final List<Item> items;
+    private final String sharedContext;
+
+    private BatchHealRequest(Builder builder) {
+        this.snapshot = Objects.requireNonNull(builder.snapshot, "snapshot cannot be null");
+        this.items = List.copyOf(builder.items);
+        this.sharedContext = builder.sharedContext;
+    }
+
+    /**
+     * The page snapshot all failures are evaluated against.
+     */
+    public UiSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * The failures to heal, in submission order.
+     */
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * Optional context shared by all failures (e.g. a flow description).
+     */
+    public String getSharedContext() {
+        return sharedContext;
+    }
+
+    /**
+     * Ids of all items, in submission order.
+     */
+    public List<String> getFailureIds() {
+        return items.stream().map(Item::failureId).toList();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchHealRequest{url='" + snapshot.getUrl() + "', failures=" + items.size() + "}";
+    }
+
+    /**
+     * A single failed locator inside a batch.
+     *
+     * @param failureId caller-chosen id used to correlate the returned decision
+     * @param failure   the failure context
+     * @param intent    the intent contract of the failing step
+     */
+    public record Item(String failureId, FailureContext failure, IntentContract intent) {
+        public Item {
+            Objects.requireNonNull(failureId, "failureId cannot be null");
+            Objects.requireNonNull(failure, "failure cannot be null");
+            if (intent == null) {
+                intent = IntentContract.defaultContract(failure.getStepText());
+            }
+        }
+    }
+
+    public static final class Builder {
+        private UiSnapshot snapshot;
+        private final List<Item> items = new ArrayList<>();
+        private String sharedContext;
+
+        private Builder() {
+        }
+
+        public Builder snapshot(UiSnapshot snapshot) {
+            this.snapshot = snapshot;
+            return this;
+        }
+
+        public Builder item(String failureId, FailureContext failure, IntentContract intent) {
+            this.items.add(new Item(failureId, failure, intent));
+            return this;
+        }
+
+        public Builder items(List<Item> items) {
+            this.items.addAll(items);
+            return this;
+        }
+
+        public Builder sharedContext(String sharedContext) {
+            this.sharedContext = sharedContext;
+            return this;
+        }
+
+        public BatchHealRequest build() {
+            long distinct = items.stream().map(Item::failureId).distinct().count();
+            if (distinct != items.size()) {
+                throw new IllegalArgumentException("Batch failure ids must be unique");
+            }
+            return new BatchHealRequest(this);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.glaciousm.core.model;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -10,9 +12,13 @@ import java.util.Objects;
 /**
  * Snapshot of a single interactive element on the page.
  * Contains all attributes needed for LLM to understand the element's purpose.
+ * Serialized from its fields, so snapshots round-trip through JSON.
  */
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+        isGetterVisibility = Visibility.NONE)
 public final class ElementSnapshot {
     private final int index;
+    @JsonProperty("tag")
     private final String tagName;
     private final String type;
     private final String id;
@@ -21,9 +27,13 @@ public final class ElementSnapshot {
     private final String text;
     private final String value;
     private final String placeholder;
+    @JsonProperty("aria_label")
     private final String ariaLabel;
+    @JsonProperty("aria_labelledby")
     private final String ariaLabelledBy;
+    @JsonProperty("aria_describedby")
     private final String ariaDescribedBy;
+    @JsonProperty("aria_role")
     private final String ariaRole;
     private final String title;
     private final boolean visible;
@@ -31,7 +41,9 @@ public final class ElementSnapshot {
     private final boolean selected;
     private final ElementRect rect;
     private final String container;
+    @JsonProperty("nearby_labels")
     private final List<String> nearbyLabels;
+    @JsonProperty("data_attributes")
     private final Map<String, String> dataAttributes;
 
     @JsonCreator
@@ -178,7 +190,27 @@ public final class ElementSnapshot {
         if (text == null || text.isEmpty()) {
             return "";
         }
-        return text.trim().replaceAll("\\s+", " ");
+        return isNormalized(text) ? text : text.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Whether the text has no leading, trailing or repeated whitespace and only plain spaces,
+     * which is how the snapshot parsers already store it.
+     */
+    private static boolean isNormalized(String text) {
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c <= ' ' || Character.isWhitespace(c)) {
+                if (space || c != ' ') {
+                    return false;
+                }
+                space = true;
+            } else {
+                space = false;
+            }
+        }
+        return !space;
     }
 
     /**
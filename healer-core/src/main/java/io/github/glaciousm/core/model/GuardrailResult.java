@@ -142,6 +142,8 @@ public final class GuardrailResult {
         POLICY_OFF,
         NOT_INTERACTABLE,
         COST_LIMIT,
-        CIRCUIT_BREAKER
+        CIRCUIT_BREAKER,
+        NOT_HEALABLE,
+        BLACKLISTED
     }
 }
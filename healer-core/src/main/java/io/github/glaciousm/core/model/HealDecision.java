@@ -18,6 +18,13 @@ public final class HealDecision {
     private final List<Integer> alternativeIndices;
     private final List<String> warnings;
     private final String refusalReason;
+    private final List<Integer> collectionIndices;
+
+    public HealDecision(boolean canHeal, double confidence, Integer selectedElementIndex, String reasoning,
+                        List<Integer> alternativeIndices, List<String> warnings, String refusalReason) {
+        this(canHeal, confidence, selectedElementIndex, reasoning, alternativeIndices, warnings, refusalReason,
+                null);
+    }
 
     @JsonCreator
     public HealDecision(
@@ -27,7 +34,8 @@ public final class HealDecision {
             @JsonProperty("reasoning") String reasoning,
             @JsonProperty("alternative_indices") List<Integer> alternativeIndices,
             @JsonProperty("warnings") List<String> warnings,
-            @JsonProperty("refusal_reason") String refusalReason) {
+            @JsonProperty("refusal_reason") String refusalReason,
+            @JsonProperty("collection_indices") List<Integer> collectionIndices) {
         this.canHeal = canHeal;
         this.confidence = confidence;
         this.selectedElementIndex = selectedElementIndex;
@@ -35,6 +43,7 @@ public final class HealDecision {
         this.alternativeIndices = alternativeIndices != null ? List.copyOf(alternativeIndices) : List.of();
         this.warnings = warnings != null ? List.copyOf(warnings) : List.of();
         this.refusalReason = refusalReason;
+        this.collectionIndices = collectionIndices != null ? List.copyOf(collectionIndices) : List.of();
     }
 
     /**
@@ -86,6 +95,13 @@ public final class HealDecision {
         return refusalReason;
     }
 
+    /**
+     * For a list lookup, the indices of every element in the list; empty otherwise.
+     */
+    public List<Integer> getCollectionIndices() {
+        return collectionIndices;
+    }
+
     /**
      * Creates a decision indicating healing is possible.
      */
@@ -119,13 +135,14 @@ public final class HealDecision {
                Objects.equals(reasoning, that.reasoning) &&
                Objects.equals(alternativeIndices, that.alternativeIndices) &&
                Objects.equals(warnings, that.warnings) &&
-               Objects.equals(refusalReason, that.refusalReason);
+               Objects.equals(refusalReason, that.refusalReason) &&
+               Objects.equals(collectionIndices, that.collectionIndices);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(canHeal, confidence, selectedElementIndex, reasoning,
-                alternativeIndices, warnings, refusalReason);
+                alternativeIndices, warnings, refusalReason, collectionIndices);
     }
 
     @Override
@@ -150,6 +167,7 @@ public final class HealDecision {
         private List<Integer> alternativeIndices;
         private List<String> warnings;
         private String refusalReason;
+        private List<Integer> collectionIndices;
 
         private Builder() {
         }
@@ -189,9 +207,14 @@ public final class HealDecision {
             return this;
         }
 
+        public Builder collectionIndices(List<Integer> collectionIndices) {
+            this.collectionIndices = collectionIndices;
+            return this;
+        }
+
         public HealDecision build() {
             return new HealDecision(canHeal, confidence, selectedElementIndex, reasoning,
-                    alternativeIndices, warnings, refusalReason);
+                    alternativeIndices, warnings, refusalReason, collectionIndices);
         }
     }
 }
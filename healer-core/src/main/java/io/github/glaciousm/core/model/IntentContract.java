@@ -2,6 +2,7 @@ package io.github.glaciousm.core.model;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Full intent contract for a test step.
@@ -189,6 +190,13 @@ public final class IntentContract {
          * Human-readable description of this check.
          */
         String getDescription();
+
+        /**
+         * Page facts this check reads from the context. Defaults to all of them.
+         */
+        default Set<PageFact> requiredFacts() {
+            return PageFact.ALL;
+        }
     }
 
     /**
@@ -204,5 +212,12 @@ public final class IntentContract {
          * Human-readable description of this invariant.
          */
         String getDescription();
+
+        /**
+         * Page facts this invariant reads from the context. Defaults to all of them.
+         */
+        default Set<PageFact> requiredFacts() {
+            return PageFact.ALL;
+        }
     }
 }
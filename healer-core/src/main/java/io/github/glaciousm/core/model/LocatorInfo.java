@@ -4,11 +4,16 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Represents a Selenium locator with its strategy and value.
  */
 public final class LocatorInfo {
+    private static final Pattern BY_LOCATOR = Pattern.compile("^By\\.(\\w+):\\s*(.+)$", Pattern.DOTALL);
+    private static final Pattern PREFIXED_LOCATOR = Pattern.compile("^(\\w+)\\s*=(.+)$", Pattern.DOTALL);
+
     private final LocatorStrategy strategy;
     private final String value;
 
@@ -27,20 +32,52 @@ public final class LocatorInfo {
         this(parseStrategy(strategyStr), value);
     }
 
-    private static LocatorStrategy parseStrategy(String strategyStr) {
-        if (strategyStr == null) {
-            return LocatorStrategy.CSS;
+    /**
+     * Parse a locator as the engine writes it ({@code css=.btn}, see {@link #toString()}) or
+     * as Selenium prints it ({@code By.id: login}). Anything else is an XPath if it starts
+     * with {@code //} or {@code (//}, otherwise a CSS selector.
+     *
+     * @throws IllegalArgumentException if the locator is null or blank
+     */
+    public static LocatorInfo parse(String locator) {
+        if (locator == null || locator.isBlank()) {
+            throw new IllegalArgumentException("Locator string cannot be null or empty");
+        }
+        String trimmed = locator.trim();
+        Matcher by = BY_LOCATOR.matcher(trimmed);
+        if (by.matches() && strategyNamed(by.group(1)) != null) {
+            return new LocatorInfo(strategyNamed(by.group(1)), by.group(2).trim());
+        }
+        Matcher prefixed = PREFIXED_LOCATOR.matcher(trimmed);
+        if (prefixed.matches() && strategyNamed(prefixed.group(1)) != null) {
+            return new LocatorInfo(strategyNamed(prefixed.group(1)), prefixed.group(2).trim());
+        }
+        if (trimmed.startsWith("//") || trimmed.startsWith("(//")) {
+            return new LocatorInfo(LocatorStrategy.XPATH, trimmed);
         }
-        return switch (strategyStr.toLowerCase()) {
+        return new LocatorInfo(LocatorStrategy.CSS, trimmed);
+    }
+
+    private static LocatorStrategy parseStrategy(String strategyStr) {
+        LocatorStrategy strategy = strategyStr != null ? strategyNamed(strategyStr) : null;
+        return strategy != null ? strategy : LocatorStrategy.CSS;
+    }
+
+    /**
+     * The strategy with this name, in any of the spellings Selenium and the engine use,
+     * or null if there is none.
+     */
+    private static LocatorStrategy strategyNamed(String name) {
+        return switch (name.toLowerCase()) {
             case "id" -> LocatorStrategy.ID;
             case "name" -> LocatorStrategy.NAME;
-            case "classname", "class_name" -> LocatorStrategy.CLASS_NAME;
+            case "classname", "class_name", "class" -> LocatorStrategy.CLASS_NAME;
             case "css", "cssselector" -> LocatorStrategy.CSS;
             case "xpath" -> LocatorStrategy.XPATH;
-            case "linktext", "link_text" -> LocatorStrategy.LINK_TEXT;
+            case "linktext", "link_text", "link" -> LocatorStrategy.LINK_TEXT;
             case "partiallinktext", "partial_link_text" -> LocatorStrategy.PARTIAL_LINK_TEXT;
-            case "tagname", "tag_name" -> LocatorStrategy.TAG_NAME;
-            default -> LocatorStrategy.CSS;
+            case "tagname", "tag_name", "tag" -> LocatorStrategy.TAG_NAME;
+            default -> null;
         };
     }
 
@@ -0,0 +1,37 @@
+package io.github.glaciousm.core.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A piece of page state that outcome and invariant checks read after a healed action.
+ * Checks declare the facts they need so they can all be gathered in one round trip.
+ */
+public enum PageFact {
+
+    /**
+     * The current URL.
+     */
+    URL,
+
+    /**
+     * The page title.
+     */
+    TITLE,
+
+    /**
+     * Elements flagged as errors or alerts, by class or ARIA role.
+     */
+    ALERTS,
+
+    /**
+     * All interactive elements on the page.
+     */
+    ELEMENTS;
+
+    /**
+     * Every fact, for checks that do not say what they read.
+     */
+    public static final Set<PageFact> ALL = Collections.unmodifiableSet(EnumSet.allOf(PageFact.class));
+}
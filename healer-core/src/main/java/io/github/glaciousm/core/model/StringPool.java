@@ -0,0 +1,96 @@
+package io.github.glaciousm.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interns the strings of one snapshot while it is built, so the tag names, classes, roles
+ * and other values that repeat across hundreds of elements are stored once.
+ *
+ * <p>{@link #intern(CharSequence)} compares characters in place, so a value that is already
+ * pooled costs no allocation. A pool is meant for a single capture and is not thread-safe;
+ * the snapshot does not keep it.</p>
+ */
+public final class StringPool {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private String[] table = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Return the pooled string with these characters, adding it if it is new.
+     */
+    public String intern(CharSequence chars) {
+        if (chars == null) {
+            return null;
+        }
+        if (chars.isEmpty()) {
+            return "";
+        }
+        int hash = hash(chars);
+        int mask = table.length - 1;
+        for (int slot = (hash ^ hash >>> 16) & mask; ; slot = (slot + 1) & mask) {
+            String existing = table[slot];
+            if (existing == null) {
+                String added = chars.toString();
+                table[slot] = added;
+                if (++size * 2 > table.length) {
+                    grow();
+                }
+                return added;
+            }
+            if (existing.hashCode() == hash && existing.contentEquals(chars)) {
+                return existing;
+            }
+        }
+    }
+
+    /**
+     * Pool every string in a list.
+     */
+    public List<String> internAll(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return values;
+        }
+        List<String> pooled = new ArrayList<>(values.size());
+        for (String value : values) {
+            pooled.add(intern(value));
+        }
+        return pooled;
+    }
+
+    /**
+     * Number of distinct strings in the pool.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Same as {@link String#hashCode()}, so pooled strings can be compared by hash first.
+     */
+    private static int hash(CharSequence chars) {
+        int hash = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return hash;
+    }
+
+    private void grow() {
+        String[] old = table;
+        table = new String[old.length * 2];
+        int mask = table.length - 1;
+        for (String value : old) {
+            if (value != null) {
+                int hash = value.hashCode();
+                int slot = (hash ^ hash >>> 16) & mask;
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.glaciousm.core.model;
+
+/**
+ * Token counts reported by an LLM provider for one request.
+ * Input tokens include the cached ones and those written to the cache; cached tokens are billed
+ * at a discount and cache writes at a premium.
+ */
+public final class TokenUsage {
+    private final String model;
+    private final int inputTokens;
+    private final int cachedInputTokens;
+    private final int cacheWriteInputTokens;
+    private final int outputTokens;
+
+    public TokenUsage(String model, int inputTokens, int cachedInputTokens, int outputTokens) {
+        this(model, inputTokens, cachedInputTokens, 0, outputTokens);
+    }
+
+    public TokenUsage(String model, int inputTokens, int cachedInputTokens, int cacheWriteInputTokens,
+                      int outputTokens) {
+        this.model = model;
+        this.inputTokens = Math.max(0, inputTokens);
+        this.cachedInputTokens = Math.max(0, Math.min(cachedInputTokens, this.inputTokens));
+        this.cacheWriteInputTokens = Math.max(0, Math.min(cacheWriteInputTokens,
+                this.inputTokens - this.cachedInputTokens));
+        this.outputTokens = Math.max(0, outputTokens);
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public int getInputTokens() {
+        return inputTokens;
+    }
+
+    public int getCachedInputTokens() {
+        return cachedInputTokens;
+    }
+
+    /**
+     * Input tokens written to the provider's prompt cache.
+     */
+    public int getCacheWriteInputTokens() {
+        return cacheWriteInputTokens;
+    }
+
+    /**
+     * Input tokens billed at the full rate.
+     */
+    public int getUncachedInputTokens() {
+        return inputTokens - cachedInputTokens - cacheWriteInputTokens;
+    }
+
+    public int getOutputTokens() {
+        return outputTokens;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenUsage{model=" + model + ", input=" + inputTokens + ", cached=" + cachedInputTokens
+                + ", cacheWrite=" + cacheWriteInputTokens + ", output=" + outputTokens + "}";
+    }
+}
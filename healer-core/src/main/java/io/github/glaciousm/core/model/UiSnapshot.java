@@ -1,5 +1,7 @@
 package io.github.glaciousm.core.model;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -11,15 +13,28 @@ import java.util.Optional;
 /**
  * Complete snapshot of the current page state.
  * Contains all information needed for the LLM to make a healing decision.
+ * Serialized from its fields, so snapshots round-trip through JSON.
  */
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+        isGetterVisibility = Visibility.NONE)
 public final class UiSnapshot {
     private final String url;
     private final String title;
+    @JsonProperty("language_detected")
     private final String detectedLanguage;
+    @JsonProperty("interactive_elements")
     private final List<ElementSnapshot> interactiveElements;
     private final Instant timestamp;
+    @JsonProperty("screenshot")
     private final String screenshotBase64;
+    @JsonProperty("dom_snapshot")
     private final String domSnapshot;
+    private final Viewport viewport;
+
+    public UiSnapshot(String url, String title, String detectedLanguage, List<ElementSnapshot> interactiveElements,
+                      Instant timestamp, String screenshotBase64, String domSnapshot) {
+        this(url, title, detectedLanguage, interactiveElements, timestamp, screenshotBase64, domSnapshot, null);
+    }
 
     @JsonCreator
     public UiSnapshot(
@@ -29,7 +44,8 @@ public final class UiSnapshot {
             @JsonProperty("interactive_elements") List<ElementSnapshot> interactiveElements,
             @JsonProperty("timestamp") Instant timestamp,
             @JsonProperty("screenshot") String screenshotBase64,
-            @JsonProperty("dom_snapshot") String domSnapshot) {
+            @JsonProperty("dom_snapshot") String domSnapshot,
+            @JsonProperty("viewport") Viewport viewport) {
         this.url = url;
         this.title = title;
         this.detectedLanguage = detectedLanguage;
@@ -37,6 +53,7 @@ public final class UiSnapshot {
         this.timestamp = timestamp != null ? timestamp : Instant.now();
         this.screenshotBase64 = screenshotBase64;
         this.domSnapshot = domSnapshot;
+        this.viewport = viewport;
     }
 
     public String getUrl() {
@@ -67,6 +84,13 @@ public final class UiSnapshot {
         return Optional.ofNullable(domSnapshot);
     }
 
+    /**
+     * Gets where the screenshot sits relative to the element rectangles, when it was recorded.
+     */
+    public Optional<Viewport> getViewport() {
+        return Optional.ofNullable(viewport);
+    }
+
     /**
      * Gets the HTML/DOM snapshot.
      * Alias for getDomSnapshot() that returns String (null if not present).
@@ -157,6 +181,7 @@ public final class UiSnapshot {
         private Instant timestamp;
         private String screenshotBase64;
         private String domSnapshot;
+        private Viewport viewport;
 
         private Builder() {
         }
@@ -196,9 +221,14 @@ public final class UiSnapshot {
             return this;
         }
 
+        public Builder viewport(Viewport viewport) {
+            this.viewport = viewport;
+            return this;
+        }
+
         public UiSnapshot build() {
             return new UiSnapshot(url, title, detectedLanguage, interactiveElements,
-                    timestamp, screenshotBase64, domSnapshot);
+                    timestamp, screenshotBase64, domSnapshot, viewport);
         }
     }
 }
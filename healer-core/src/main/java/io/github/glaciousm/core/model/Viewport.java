@@ -0,0 +1,107 @@
+package io.github.glaciousm.core.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Where a viewport screenshot sits relative to the element rectangles of a snapshot.
+ *
+ * <p>Sizes and offsets are in CSS pixels, in the coordinate space of the element rectangles:
+ * the offset is where the screenshot's top-left corner lies in that space (the scroll
+ * position when rectangles are page coordinates, zero when they are viewport coordinates).
+ * The screenshot itself is {@code width * devicePixelRatio} by
+ * {@code height * devicePixelRatio} image pixels.</p>
+ */
+public final class Viewport {
+    private final int width;
+    private final int height;
+    private final double offsetX;
+    private final double offsetY;
+    private final double devicePixelRatio;
+
+    @JsonCreator
+    public Viewport(
+            @JsonProperty("width") int width,
+            @JsonProperty("height") int height,
+            @JsonProperty("offset_x") double offsetX,
+            @JsonProperty("offset_y") double offsetY,
+            @JsonProperty("device_pixel_ratio") double devicePixelRatio) {
+        this.width = width;
+        this.height = height;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.devicePixelRatio = devicePixelRatio > 0 ? devicePixelRatio : 1.0;
+    }
+
+    @JsonProperty("width")
+    public int getWidth() {
+        return width;
+    }
+
+    @JsonProperty("height")
+    public int getHeight() {
+        return height;
+    }
+
+    @JsonProperty("offset_x")
+    public double getOffsetX() {
+        return offsetX;
+    }
+
+    @JsonProperty("offset_y")
+    public double getOffsetY() {
+        return offsetY;
+    }
+
+    @JsonProperty("device_pixel_ratio")
+    public double getDevicePixelRatio() {
+        return devicePixelRatio;
+    }
+
+    /**
+     * Whether an image of this size is a capture of this viewport, allowing a pixel for rounding.
+     */
+    public boolean matchesImage(int imageWidth, int imageHeight) {
+        return width > 0 && height > 0
+                && Math.abs(imageWidth - width * devicePixelRatio) <= 1
+                && Math.abs(imageHeight - height * devicePixelRatio) <= 1;
+    }
+
+    /**
+     * Maps an element rectangle to screenshot image pixels.
+     */
+    public ElementRect toImagePixels(ElementRect rect) {
+        int x = (int) Math.floor((rect.getX() - offsetX) * devicePixelRatio);
+        int y = (int) Math.floor((rect.getY() - offsetY) * devicePixelRatio);
+        int right = (int) Math.ceil((rect.getX() + rect.getWidth() - offsetX) * devicePixelRatio);
+        int bottom = (int) Math.ceil((rect.getY() + rect.getHeight() - offsetY) * devicePixelRatio);
+        return new ElementRect(x, y, right - x, bottom - y);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Viewport that = (Viewport) o;
+        return width == that.width && height == that.height
+                && Double.compare(offsetX, that.offsetX) == 0
+                && Double.compare(offsetY, that.offsetY) == 0
+                && Double.compare(devicePixelRatio, that.devicePixelRatio) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = width;
+        result = 31 * result + height;
+        result = 31 * result + Double.hashCode(offsetX);
+        result = 31 * result + Double.hashCode(offsetY);
+        result = 31 * result + Double.hashCode(devicePixelRatio);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Viewport{width=" + width + ", height=" + height + ", offsetX=" + offsetX
+                + ", offsetY=" + offsetY + ", devicePixelRatio=" + devicePixelRatio + "}";
+    }
+}
@@ -0,0 +1,913 @@
+package io.github.glaciousm.core.snapshot;
+
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.StringPool;
+import io.github.glaciousm.core.model.UiSnapshot;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Extracts interactive elements from captured HTML in a single streaming pass, without
+ * building a DOM.
+ *
+ * <p>Tags are tokenized as they are read and kept on a stack of open ancestors, so memory
+ * grows with nesting depth and the number of interactive elements rather than page size.
+ * Element text is collected only for interactive elements and labels. Labels referenced by
+ * {@code for} are indexed by id and resolved after the pass, as are labels that close after
+ * the element they describe. Containers (the nearest form, dialog, section or nav) come
+ * from the ancestor stack.</p>
+ *
+ * <p>Tree construction follows the HTML parsing rules that matter for well-formed and
+ * typical real-world pages: void and raw text elements, implied end tags for {@code p},
+ * {@code li}, {@code option} and table parts, and end tags that close unclosed children.
+ * Nesting beyond {@value #MAX_DEPTH} levels is flattened.</p>
+ *
+ * <p>The raw HTML is only kept in {@link UiSnapshot#getDomSnapshot()} when the parser is
+ * created with {@code retainDom}.</p>
+ */
+public final class StreamingHtmlSnapshotParser {
+
+    static final int MAX_DEPTH = 512;
+    private static final int MAX_TEXT_LENGTH = 1024;
+    /** Longer values are mostly unique, so they are not worth pooling. */
+    private static final int MAX_POOLED_LENGTH = 64;
+
+    private static final Set<String> INTERACTIVE_TAGS = Set.of(
+            "a", "button", "input", "select", "textarea", "label",
+            "option", "details", "summary");
+
+    private static final Set<String> INTERACTIVE_ROLES = Set.of(
+            "button", "link", "checkbox", "radio", "textbox", "combobox",
+            "listbox", "menu", "menuitem", "tab", "switch", "slider");
+
+    private static final Set<String> VOID_TAGS = Set.of(
+            "area", "base", "basefont", "bgsound", "br", "col", "embed", "frame", "hr", "img",
+            "input", "keygen", "link", "meta", "param", "source", "track", "wbr");
+
+    /** Content is not markup and not text. */
+    private static final Set<String> RAW_TEXT_TAGS = Set.of(
+            "script", "style", "iframe", "noembed", "noframes", "xmp");
+
+    /** Content is text only. */
+    private static final Set<String> RCDATA_TAGS = Set.of("textarea", "title");
+
+    /** Elements whose boundaries separate words in element text. */
+    private static final Set<String> BLOCK_TAGS = Set.of(
+            "html", "head", "body", "frameset", "script", "noscript", "style", "meta", "link", "title",
+            "frame", "noframes", "section", "nav", "aside", "hgroup", "header", "footer", "p",
+            "h1", "h2", "h3", "h4", "h5", "h6", "ul", "ol", "pre", "div", "blockquote", "hr",
+            "address", "figure", "figcaption", "form", "fieldset", "ins", "del", "dl", "dt", "dd",
+            "li", "table", "caption", "thead", "tfoot", "tbody", "colgroup", "col", "tr", "th", "td",
+            "video", "audio", "canvas", "details", "menu", "plaintext", "template", "article", "main",
+            "svg", "math", "center", "dir", "applet", "marquee", "listing");
+
+    /** Start tags that close an open paragraph. */
+    private static final Set<String> PARAGRAPH_CLOSERS = Set.of(
+            "address", "article", "aside", "blockquote", "center", "details", "dialog", "dir", "div",
+            "dl", "fieldset", "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5",
+            "h6", "header", "hgroup", "hr", "main", "menu", "nav", "ol", "p", "section", "summary",
+            "table", "ul", "pre", "listing", "li", "dd", "dt", "plaintext", "xmp");
+
+    /** Known inline elements, for which self-closing syntax is ignored as browsers do. */
+    private static final Set<String> INLINE_TAGS = Set.of(
+            "span", "b", "i", "em", "strong", "small", "code", "abbr", "cite", "q", "s", "u", "sub",
+            "sup", "mark", "font", "big", "tt", "kbd", "samp", "var", "time", "bdi", "bdo", "ruby",
+            "data", "output", "progress", "meter", "object", "picture", "dialog", "slot");
+
+    private static final Set<String> HEADINGS = Set.of("h1", "h2", "h3", "h4", "h5", "h6");
+
+    private static final Set<String> SCOPE_BOUNDARIES = Set.of(
+            "applet", "caption", "html", "marquee", "object", "table", "td", "th", "template");
+
+    private static final Set<String> CONTAINER_TAGS = Set.of("form", "dialog", "section", "nav");
+
+    private static final Map<String, String> ENTITIES = Map.ofEntries(
+            Map.entry("amp", "&"), Map.entry("lt", "<"), Map.entry("gt", ">"),
+            Map.entry("quot", "\""), Map.entry("apos", "'"), Map.entry("nbsp", "\u00a0"),
+            Map.entry("copy", "©"), Map.entry("reg", "®"), Map.entry("trade", "™"),
+            Map.entry("hellip", "…"), Map.entry("mdash", "—"), Map.entry("ndash", "–"),
+            Map.entry("laquo", "«"), Map.entry("raquo", "»"), Map.entry("lsquo", "‘"),
+            Map.entry("rsquo", "’"), Map.entry("ldquo", "“"), Map.entry("rdquo", "”"),
+            Map.entry("euro", "€"), Map.entry("pound", "£"), Map.entry("yen", "¥"),
+            Map.entry("cent", "¢"), Map.entry("times", "×"), Map.entry("middot", "·"),
+            Map.entry("bull", "•"), Map.entry("deg", "°"), Map.entry("para", "¶"),
+            Map.entry("sect", "§"), Map.entry("larr", "←"), Map.entry("rarr", "→"),
+            Map.entry("uarr", "↑"), Map.entry("darr", "↓"), Map.entry("check", "✓"));
+
+    private final boolean retainDom;
+
+    public StreamingHtmlSnapshotParser() {
+        this(false);
+    }
+
+    /**
+     * @param retainDom whether to keep the raw HTML in the snapshot
+     */
+    public StreamingHtmlSnapshotParser(boolean retainDom) {
+        this.retainDom = retainDom;
+    }
+
+    /**
+     * Parse HTML content into a UiSnapshot.
+     *
+     * @param html The HTML content to parse
+     * @param url  The URL to associate with this snapshot
+     */
+    public UiSnapshot parse(String html, String url) {
+        try {
+            Pass pass = new Pass(new StringReader(html), null);
+            pass.run();
+            return pass.toSnapshot(url, retainDom ? html : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parse HTML from a reader, such as a captured page on disk, without loading it whole
+     * unless the DOM is retained.
+     *
+     * @param reader The HTML source; not closed
+     * @param url    The URL to associate with this snapshot
+     */
+    public UiSnapshot parse(Reader reader, String url) throws IOException {
+        StringBuilder dom = retainDom ? new StringBuilder() : null;
+        Pass pass = new Pass(reader, dom);
+        pass.run();
+        return pass.toSnapshot(url, dom != null ? dom.toString() : null);
+    }
+
+    /**
+     * One open element.
+     */
+    private static final class Frame {
+        final String tag;
+        final Frame parent;
+        final Pending pending;
+        final boolean label;
+        final boolean block;
+        /** Nearest frame at or above this one that collects text, or null. */
+        final Frame collecting;
+        /** Container description for this element's descendants. */
+        final String childContainer;
+        final StringBuilder ownText;
+        final StringBuilder allText;
+        Frame lastChildLabel;
+        boolean blockChildJustClosed;
+
+        Frame(String tag, Frame parent, Pending pending, String childContainer) {
+            this.tag = tag;
+            this.parent = parent;
+            this.pending = pending;
+            this.label = "label".equals(tag);
+            this.block = BLOCK_TAGS.contains(tag);
+            boolean collects = pending != null || label;
+            this.collecting = collects ? this : (parent != null ? parent.collecting : null);
+            this.childContainer = childContainer;
+            this.ownText = collects ? new StringBuilder() : null;
+            this.allText = collects ? new StringBuilder() : null;
+        }
+
+        Frame parentCollecting() {
+            return parent != null ? parent.collecting : null;
+        }
+    }
+
+    /**
+     * An interactive element whose text and labels are not known yet.
+     */
+    private static final class Pending {
+        final int index;
+        final String tag;
+        final Map<String, String> attributes;
+        final String container;
+        final Frame ancestorLabel;
+        final Frame previousLabel;
+        String text;
+        String value;
+
+        Pending(int index, String tag, Map<String, String> attributes, String container,
+                Frame ancestorLabel, Frame previousLabel) {
+            this.index = index;
+            this.tag = tag;
+            this.attributes = attributes;
+            this.container = container;
+            this.ancestorLabel = ancestorLabel;
+            this.previousLabel = previousLabel;
+        }
+
+        String attr(String name) {
+            String value = attributes.get(name);
+            return value != null ? value : "";
+        }
+    }
+
+    /**
+     * State of a single parse.
+     */
+    private static final class Pass {
+        private final Reader reader;
+        private final StringBuilder dom;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        private final Frame root = new Frame("#root", null, null, "body");
+        private final StringBuilder textRun = new StringBuilder();
+        private final List<Pending> pending = new ArrayList<>();
+        private final Map<String, List<Frame>> labelsFor = new HashMap<>();
+        private final StringPool strings = new StringPool();
+        private final StringBuilder scratch = new StringBuilder();
+        /** Attributes of the tag being read; copied only for interactive elements. */
+        private final Map<String, String> tagAttributes = new LinkedHashMap<>();
+        private String title;
+
+        Pass(Reader reader, StringBuilder dom) {
+            this.reader = reader;
+            this.dom = dom;
+            stack.push(root);
+        }
+
+        // ---- Tokenizer ----
+
+        void run() throws IOException {
+            int c;
+            while ((c = read()) != -1) {
+                if (c == '<') {
+                    int next = peek();
+                    if (isLetter(next)) {
+                        flushText();
+                        readStartTag();
+                    } else if (next == '/') {
+                        read();
+                        if (isLetter(peek())) {
+                            flushText();
+                            handleEnd(readName());
+                            skipPast('>');
+                        } else {
+                            skipPast('>');
+                        }
+                    } else if (next == '!') {
+                        read();
+                        readMarkupDeclaration();
+                    } else if (next == '?') {
+                        skipPast('>');
+                    } else {
+                        textRun.append('<');
+                    }
+                } else if (c == '&') {
+                    readEntity(textRun, false);
+                } else {
+                    textRun.append((char) c);
+                }
+            }
+            flushText();
+            while (stack.peek() != root) {
+                pop();
+            }
+        }
+
+        private void readStartTag() throws IOException {
+            String tag = readName();
+            Map<String, String> attributes = tagAttributes;
+            attributes.clear();
+            boolean selfClosing = false;
+            while (true) {
+                skipWhitespace();
+                int c = read();
+                if (c == -1 || c == '>') {
+                    break;
+                }
+                if (c == '/') {
+                    if (peek() == '>') {
+                        read();
+                        selfClosing = true;
+                        break;
+                    }
+                    continue;
+                }
+                scratch.setLength(0);
+                scratch.append(Character.toLowerCase((char) c));
+                int n;
+                while ((n = peek()) != -1 && !isWhitespace(n) && n != '=' && n != '>' && n != '/') {
+                    scratch.append(Character.toLowerCase((char) read()));
+                }
+                String name = strings.intern(scratch);
+                skipWhitespace();
+                String value = "";
+                if (peek() == '=') {
+                    read();
+                    skipWhitespace();
+                    value = readAttributeValue();
+                }
+                attributes.putIfAbsent(name, value);
+            }
+
+            if (RAW_TEXT_TAGS.contains(tag)) {
+                handleStart(tag, attributes, false);
+                readRawText(tag, null);
+                handleEnd(tag);
+            } else if (RCDATA_TAGS.contains(tag)) {
+                handleStart(tag, attributes, false);
+                StringBuilder text = new StringBuilder();
+                readRawText(tag, text);
+                if ("title".equals(tag) && title == null) {
+                    title = normalize(text);
+                }
+                textRun.append(text);
+                flushText();
+                handleEnd(tag);
+            } else {
+                handleStart(tag, attributes, selfClosing);
+            }
+        }
+
+        private String readAttributeValue() throws IOException {
+            StringBuilder value = scratch;
+            value.setLength(0);
+            int quote = peek();
+            if (quote == '"' || quote == '\'') {
+                read();
+                int c;
+                while ((c = read()) != -1 && c != quote) {
+                    if (c == '&') {
+                        readEntity(value, true);
+                    } else {
+                        value.append((char) c);
+                    }
+                }
+            } else {
+                int c;
+                while ((c = peek()) != -1 && !isWhitespace(c) && c != '>') {
+                    read();
+                    if (c == '&') {
+                        readEntity(value, true);
+                    } else {
+                        value.append((char) c);
+                    }
+                }
+            }
+            return pooled(value);
+        }
+
+        /**
+         * Read up to the end tag of a raw text or RCDATA element, keeping the content only if
+         * a target is given.
+         */
+        private void readRawText(String tag, StringBuilder target) throws IOException {
+            int c;
+            while ((c = read()) != -1) {
+                if (c == '<' && peek() == '/') {
+                    read();
+                    StringBuilder name = new StringBuilder();
+                    while (isLetter(peek()) || isDigit(peek())) {
+                        name.append(Character.toLowerCase((char) read()));
+                    }
+                    int after = peek();
+                    if (tag.contentEquals(name) && (after == -1 || after == '>' || after == '/' || isWhitespace(after))) {
+                        skipPast('>');
+                        return;
+                    }
+                    if (target != null) {
+                        target.append("</").append(name);
+                    }
+                } else if (target != null) {
+                    if (c == '&') {
+                        readEntity(target, false);
+                    } else {
+                        target.append((char) c);
+                    }
+                }
+            }
+        }
+
+        private void readMarkupDeclaration() throws IOException {
+            if (peek() == '-') {
+                read();
+                if (peek() == '-') {
+                    read();
+                    // Comment: skip to -->
+                    int dashes = 0;
+                    int c;
+                    while ((c = read()) != -1) {
+                        if (c == '>' && dashes >= 2) {
+                            return;
+                        }
+                        dashes = c == '-' ? dashes + 1 : 0;
+                    }
+                    return;
+                }
+            }
+            // Doctype, CDATA and other declarations carry nothing we extract
+            skipPast('>');
+        }
+
+        private void readEntity(StringBuilder target, boolean inAttribute) throws IOException {
+            StringBuilder name = new StringBuilder();
+            int c;
+            while (name.length() < 32 && ((c = peek()) == '#' && name.isEmpty() || isLetter(c) || isDigit(c))) {
+                name.append((char) read());
+            }
+            boolean terminated = peek() == ';';
+            if (terminated) {
+                read();
+            }
+            String decoded = decode(name.toString());
+            if (decoded != null && (terminated || !inAttribute)) {
+                target.append(decoded);
+            } else {
+                target.append('&').append(name);
+                if (terminated) {
+                    target.append(';');
+                }
+            }
+        }
+
+        private static String decode(String name) {
+            if (name.isEmpty()) {
+                return null;
+            }
+            if (name.charAt(0) == '#') {
+                try {
+                    int codePoint = name.length() > 1 && (name.charAt(1) == 'x' || name.charAt(1) == 'X')
+                            ? Integer.parseInt(name.substring(2), 16)
+                            : Integer.parseInt(name.substring(1));
+                    return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : null;
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return ENTITIES.get(name);
+        }
+
+        private String readName() throws IOException {
+            scratch.setLength(0);
+            int c;
+            while ((c = peek()) != -1 && !isWhitespace(c) && c != '>' && c != '/') {
+                scratch.append(Character.toLowerCase((char) read()));
+            }
+            return strings.intern(scratch);
+        }
+
+        private String pooled(CharSequence chars) {
+            return chars.length() <= MAX_POOLED_LENGTH ? strings.intern(chars) : chars.toString();
+        }
+
+        private void skipWhitespace() throws IOException {
+            while (isWhitespace(peek())) {
+                read();
+            }
+        }
+
+        private void skipPast(char terminator) throws IOException {
+            int c;
+            while ((c = read()) != -1 && c != terminator) {
+                // skip
+            }
+        }
+
+        private int read() throws IOException {
+            if (position >= limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            if (position >= limit && !fill()) {
+                return -1;
+            }
+            return buffer[position];
+        }
+
+        private boolean fill() throws IOException {
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                limit = 0;
+                position = 0;
+                return false;
+            }
+            if (dom != null) {
+                dom.append(buffer, 0, read);
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+
+        private static boolean isLetter(int c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        private static boolean isDigit(int c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+        }
+
+        // ---- Tree construction ----
+
+        private void handleStart(String tag, Map<String, String> attributes, boolean selfClosing) {
+            closeImplied(tag);
+            Frame parent = stack.peek();
+            parent.blockChildJustClosed = false;
+            if (BLOCK_TAGS.contains(tag) || "br".equals(tag)) {
+                separateWords(parent);
+            }
+            if ("br".equals(tag) && parent.ownText != null) {
+                appendCapped(parent.ownText, " ");
+            }
+
+            Pending element = null;
+            if (isInteractive(tag, attributes)) {
+                element = new Pending(pending.size(), tag, new LinkedHashMap<>(attributes), parent.childContainer,
+                        nearestLabel(parent), parent.lastChildLabel);
+                pending.add(element);
+            }
+            String childContainer = isContainer(tag, attributes)
+                    ? describeContainer(tag, attributes)
+                    : parent.childContainer;
+            Frame frame = new Frame(tag, parent, element, childContainer);
+            parent.lastChildLabel = frame.label ? frame : null;
+            if (frame.label && attributes.containsKey("for")) {
+                labelsFor.computeIfAbsent(attributes.get("for"), k -> new ArrayList<>()).add(frame);
+            }
+
+            boolean isVoid = VOID_TAGS.contains(tag)
+                    || (selfClosing && !BLOCK_TAGS.contains(tag) && !INTERACTIVE_TAGS.contains(tag)
+                        && !INLINE_TAGS.contains(tag))
+                    || stack.size() > MAX_DEPTH;
+            if (isVoid) {
+                finish(frame);
+            } else {
+                stack.push(frame);
+            }
+        }
+
+        private void handleEnd(String tag) {
+            for (Frame frame : stack) {
+                if (frame == root) {
+                    break;
+                }
+                if (frame.tag.equals(tag)) {
+                    while (stack.peek() != frame) {
+                        pop();
+                    }
+                    pop();
+                    return;
+                }
+            }
+            if ("br".equals(tag)) {
+                handleStart("br", Map.of(), true);
+            }
+        }
+
+        /**
+         * Close elements whose end tag is implied by the start of {@code tag}.
+         */
+        private void closeImplied(String tag) {
+            if (PARAGRAPH_CLOSERS.contains(tag)) {
+                closeInScope("p", Set.of("button"));
+            }
+            switch (tag) {
+                case "li" -> closeInScope("li", Set.of("ul", "ol"));
+                case "dt", "dd" -> {
+                    closeInScope("dt", Set.of("dl"));
+                    closeInScope("dd", Set.of("dl"));
+                }
+                case "option" -> closeIfTop("option");
+                case "optgroup" -> {
+                    closeIfTop("option");
+                    closeIfTop("optgroup");
+                }
+                case "tr" -> {
+                    closeInScope("td", Set.of("tr"));
+                    closeInScope("th", Set.of("tr"));
+                    closeInScope("tr", Set.of("tbody", "thead", "tfoot"));
+                }
+                case "td", "th" -> {
+                    closeInScope("td", Set.of("tr"));
+                    closeInScope("th", Set.of("tr"));
+                }
+                case "thead", "tbody", "tfoot" -> {
+                    closeInScope("thead", Set.of());
+                    closeInScope("tbody", Set.of());
+                    closeInScope("tfoot", Set.of());
+                }
+                case "a", "button" -> closeInScope(tag, Set.of());
+                default -> {
+                    if (HEADINGS.contains(tag) && HEADINGS.contains(stack.peek().tag)) {
+                        pop();
+                    }
+                }
+            }
+        }
+
+        private void closeIfTop(String tag) {
+            if (stack.peek().tag.equals(tag)) {
+                pop();
+            }
+        }
+
+        private void closeInScope(String tag, Set<String> extraBoundaries) {
+            for (Frame frame : stack) {
+                if (frame == root) {
+                    return;
+                }
+                if (frame.tag.equals(tag)) {
+                    while (stack.peek() != frame) {
+                        pop();
+                    }
+                    pop();
+                    return;
+                }
+                if (SCOPE_BOUNDARIES.contains(frame.tag) || extraBoundaries.contains(frame.tag)) {
+                    return;
+                }
+            }
+        }
+
+        private void pop() {
+            finish(stack.pop());
+        }
+
+        private void finish(Frame frame) {
+            if (frame.block && frame.parent != null) {
+                frame.parent.blockChildJustClosed = true;
+            }
+            Pending element = frame.pending;
+            if (element != null) {
+                String own = normalize(frame.ownText);
+                String all = normalize(frame.allText);
+                element.text = own.isEmpty() ? all : own;
+                element.value = "textarea".equals(element.tag) ? all : element.attr("value");
+            }
+        }
+
+        // ---- Text ----
+
+        private void flushText() {
+            if (textRun.isEmpty()) {
+                return;
+            }
+            Frame top = stack.peek();
+            if (top.blockChildJustClosed) {
+                separateWords(top);
+                top.blockChildJustClosed = false;
+            }
+            if (top.ownText != null) {
+                appendCapped(top.ownText, textRun);
+            }
+            for (Frame f = top.collecting; f != null; f = f.parentCollecting()) {
+                appendCapped(f.allText, textRun);
+            }
+            textRun.setLength(0);
+        }
+
+        /**
+         * Block boundaries separate words in the text of enclosing elements.
+         */
+        private static void separateWords(Frame frame) {
+            for (Frame f = frame.collecting; f != null; f = f.parentCollecting()) {
+                StringBuilder text = f.allText;
+                if (!text.isEmpty() && !isTextWhitespace(text.charAt(text.length() - 1))) {
+                    appendCapped(text, " ");
+                }
+            }
+        }
+
+        private static void appendCapped(StringBuilder target, CharSequence text) {
+            int room = MAX_TEXT_LENGTH - target.length();
+            if (room > 0) {
+                target.append(text, 0, Math.min(room, text.length()));
+            }
+        }
+
+        // ---- Element data ----
+
+        private static boolean isInteractive(String tag, Map<String, String> attributes) {
+            if (INTERACTIVE_TAGS.contains(tag)) {
+                return true;
+            }
+            if (attributes.containsKey("onclick") || attributes.containsKey("href")) {
+                return true;
+            }
+            String role = attributes.get("role");
+            if (role != null && INTERACTIVE_ROLES.contains(role.toLowerCase())) {
+                return true;
+            }
+            String tabindex = attributes.get("tabindex");
+            if (tabindex != null && !"-1".equals(tabindex)) {
+                return true;
+            }
+            return attributes.containsKey("data-testid");
+        }
+
+        private static boolean isContainer(String tag, Map<String, String> attributes) {
+            String role = attributes.get("role");
+            return CONTAINER_TAGS.contains(tag) || "dialog".equals(role) || "form".equals(role);
+        }
+
+        /**
+         * Same format as the browser-side container lookup: TAG#id.firstClass.
+         */
+        private static String describeContainer(String tag, Map<String, String> attributes) {
+            StringBuilder description = new StringBuilder(tag.toUpperCase());
+            String id = attributes.get("id");
+            if (id != null && !id.isEmpty()) {
+                description.append('#').append(id);
+            }
+            String classes = attributes.get("class");
+            if (classes != null && !classes.isEmpty()) {
+                description.append('.').append(classes.split(" ", -1)[0]);
+            }
+            return description.toString();
+        }
+
+        private static Frame nearestLabel(Frame parent) {
+            for (Frame f = parent; f != null; f = f.parent) {
+                if (f.label) {
+                    return f;
+                }
+            }
+            return null;
+        }
+
+        // ---- Result ----
+
+        UiSnapshot toSnapshot(String url, String domSnapshot) {
+            List<ElementSnapshot> elements = new ArrayList<>(pending.size());
+            for (Pending element : pending) {
+                elements.add(toElement(element));
+            }
+            return UiSnapshot.builder()
+                    .url(url)
+                    .title(title != null ? title : "")
+                    .interactiveElements(elements)
+                    .domSnapshot(domSnapshot)
+                    .timestamp(Instant.now())
+                    .build();
+        }
+
+        private ElementSnapshot toElement(Pending element) {
+            Map<String, String> attributes = element.attributes;
+
+            List<String> classes = splitClasses(attributes.get("class"));
+
+            Map<String, String> dataAttributes = null;
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                if (attribute.getKey().startsWith("data-")) {
+                    if (dataAttributes == null) {
+                        dataAttributes = new HashMap<>();
+                    }
+                    dataAttributes.put(strings.intern(attribute.getKey().substring(5)), attribute.getValue());
+                }
+            }
+
+            String style = compactStyle(element.attr("style"));
+            boolean visible = !attributes.containsKey("hidden")
+                    && !"hidden".equals(element.attr("type"))
+                    && !style.contains("display:none")
+                    && !style.contains("visibility:hidden");
+
+            List<String> labels = resolveLabels(element);
+            String text = element.text != null ? element.text : "";
+            String value = element.value != null ? element.value : element.attr("value");
+
+            return ElementSnapshot.builder()
+                    .index(element.index)
+                    .tagName(element.tag)
+                    .type(element.attr("type"))
+                    .id(emptyToNull(element.attr("id")))
+                    .name(emptyToNull(element.attr("name")))
+                    .classes(classes)
+                    .text(emptyToNull(text))
+                    .value(emptyToNull(value))
+                    .placeholder(emptyToNull(element.attr("placeholder")))
+                    .ariaLabel(emptyToNull(element.attr("aria-label")))
+                    .ariaLabelledBy(emptyToNull(element.attr("aria-labelledby")))
+                    .ariaDescribedBy(emptyToNull(element.attr("aria-describedby")))
+                    .ariaRole(emptyToNull(element.attr("role")))
+                    .title(emptyToNull(element.attr("title")))
+                    .visible(visible)
+                    .enabled(!attributes.containsKey("disabled"))
+                    .container(element.container)
+                    .dataAttributes(dataAttributes)
+                    .nearbyLabels(labels.isEmpty() ? null : labels)
+                    .build();
+        }
+
+        /**
+         * Labels pointing at the element by id, else the enclosing label, plus a label
+         * directly before it.
+         */
+        private List<String> resolveLabels(Pending element) {
+            List<String> labels = new ArrayList<>();
+            String id = element.attr("id");
+            if (!id.isEmpty()) {
+                for (Frame label : labelsFor.getOrDefault(id, List.of())) {
+                    String text = normalize(label.allText);
+                    if (!text.isEmpty()) {
+                        labels.add(text);
+                    }
+                }
+            }
+            if (labels.isEmpty() && element.ancestorLabel != null) {
+                String text = normalize(element.ancestorLabel.ownText);
+                if (!text.isEmpty()) {
+                    labels.add(text);
+                }
+            }
+            if (element.previousLabel != null) {
+                String text = normalize(element.previousLabel.allText);
+                if (!text.isEmpty() && !labels.contains(text)) {
+                    labels.add(text);
+                }
+            }
+            return labels;
+        }
+
+        /**
+         * Class names, pooled; null when there are none.
+         */
+        private List<String> splitClasses(String classAttr) {
+            if (classAttr == null || classAttr.isEmpty()) {
+                return null;
+            }
+            List<String> classes = new ArrayList<>(4);
+            int start = -1;
+            for (int i = 0; i <= classAttr.length(); i++) {
+                boolean boundary = i == classAttr.length() || Character.isWhitespace(classAttr.charAt(i));
+                if (boundary && start >= 0) {
+                    classes.add(strings.intern(classAttr.subSequence(start, i)));
+                    start = -1;
+                } else if (!boundary && start < 0) {
+                    start = i;
+                }
+            }
+            return classes.isEmpty() ? null : classes;
+        }
+
+        /**
+         * Inline style in lower case without whitespace, for the visibility checks.
+         */
+        private static String compactStyle(String style) {
+            if (style.isEmpty()) {
+                return style;
+            }
+            StringBuilder compact = new StringBuilder(style.length());
+            for (int i = 0; i < style.length(); i++) {
+                char c = style.charAt(i);
+                if (!Character.isWhitespace(c)) {
+                    compact.append(Character.toLowerCase(c));
+                }
+            }
+            return compact.toString();
+        }
+
+        private static String emptyToNull(String value) {
+            return value == null || value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Collapse whitespace (including non-breaking spaces) and trim, as browsers render text.
+         */
+        private String normalize(CharSequence text) {
+            StringBuilder normalized = scratch;
+            normalized.setLength(0);
+            boolean pendingSpace = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (isTextWhitespace(c)) {
+                    pendingSpace = !normalized.isEmpty();
+                } else if (c != '\u200b' && c != '\u00ad') {
+                    if (pendingSpace) {
+                        normalized.append(' ');
+                        pendingSpace = false;
+                    }
+                    normalized.append(c);
+                }
+            }
+            return pooled(normalized);
+        }
+
+        private static boolean isTextWhitespace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u00a0';
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package io.github.glaciousm.core.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * A typed key/value collection inside a {@link StateStore}.
+ *
+ * <p>Each family is a directory of numbered segment files holding length-prefixed,
+ * checksummed records:</p>
+ * <pre>
+ * int length | int crc32c | byte op | int keyLength | key (UTF-8) | value (JSON)
+ * </pre>
+ * <p>Records are replayed in order on load; a torn record at the end of the last segment
+ * (a crash during a write) is truncated away. Compaction rewrites the live entries into a
+ * new segment that starts with a {@code CLEAR} record, so replaying older segments that
+ * could not be deleted still yields the same state.</p>
+ *
+ * <p>Several JVMs may share a store directory. Loading, appending and compacting run
+ * under the store's directory lock, and each append first checks which segment is the
+ * newest on disk, since another process may have rolled or compacted the family.</p>
+ *
+ * @param <V> value type
+ */
+public final class ColumnFamily<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnFamily.class);
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final byte OP_CLEAR = 3;
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final StateStore store;
+    private final String name;
+    private final Class<V> type;
+    private final Path directory;
+
+    // Guarded by this
+    private Map<String, byte[]> live;
+    private long liveBytes;
+    private long garbageBytes;
+
+    // Only touched by the store's writer thread (and close)
+    private FileChannel active;
+    private Path activePath;
+    private long activeSize;
+    private long nextSegmentId;
+
+    ColumnFamily(StateStore store, String name, Class<V> type, Path directory) {
+        this.store = store;
+        this.name = name;
+        this.type = type;
+        this.directory = directory;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<V> getType() {
+        return type;
+    }
+
+    /**
+     * Whether the segments of this family have been read.
+     */
+    public synchronized boolean isLoaded() {
+        return live != null;
+    }
+
+    /**
+     * Read and decode all entries, loading the family on first use.
+     * Entries that can no longer be decoded (e.g. after an incompatible class change)
+     * are skipped with a warning.
+     *
+     * @return entries in key insertion order
+     */
+    public Map<String, V> load() {
+        Map<String, byte[]> snapshot;
+        synchronized (this) {
+            ensureLoaded();
+            snapshot = new LinkedHashMap<>(live);
+        }
+        Map<String, V> decoded = new LinkedHashMap<>();
+        snapshot.forEach((key, bytes) -> decode(key, bytes).ifPresent(value -> decoded.put(key, value)));
+        return decoded;
+    }
+
+    /**
+     * Get one entry.
+     */
+    public Optional<V> get(String key) {
+        byte[] bytes;
+        synchronized (this) {
+            ensureLoaded();
+            bytes = live.get(key);
+        }
+        return bytes != null ? decode(key, bytes) : Optional.empty();
+    }
+
+    /**
+     * Keys of all entries, without decoding their values.
+     */
+    public synchronized List<String> keys() {
+        ensureLoaded();
+        return new ArrayList<>(live.keySet());
+    }
+
+    /**
+     * Store an entry. The value is serialized immediately, so later changes to the
+     * object are not persisted until it is put again; the disk write is asynchronous.
+     */
+    public void put(String key, V value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = encode(value);
+        byte[] record = encodeRecord(OP_PUT, keyBytes, valueBytes);
+        synchronized (this) {
+            ensureLoaded();
+            byte[] previous = live.put(key, valueBytes);
+            liveBytes += valueBytes.length + keyBytes.length;
+            if (previous != null) {
+                liveBytes -= previous.length + keyBytes.length;
+                garbageBytes += previous.length + keyBytes.length;
+            }
+            store.enqueue(StateStore.WriteOp.record(this, record));
+        }
+    }
+
+    /**
+     * Remove an entry.
+     */
+    public void delete(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            ensureLoaded();
+            byte[] previous = live.remove(key);
+            if (previous == null) {
+                return;
+            }
+            liveBytes -= previous.length + keyBytes.length;
+            garbageBytes += previous.length + keyBytes.length;
+            store.enqueue(StateStore.WriteOp.record(this, encodeRecord(OP_DELETE, keyBytes, new byte[0])));
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        synchronized (this) {
+            ensureLoaded();
+            garbageBytes += liveBytes;
+            liveBytes = 0;
+            live.clear();
+            store.enqueue(StateStore.WriteOp.record(this, encodeRecord(OP_CLEAR, new byte[0], new byte[0])));
+        }
+    }
+
+    /**
+     * Number of live entries.
+     */
+    public synchronized int size() {
+        ensureLoaded();
+        return live.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnFamily{name='" + name + "', type=" + type.getSimpleName() + "}";
+    }
+
+    // Loading
+
+    private void ensureLoaded() {
+        if (live != null) {
+            return;
+        }
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        long[] accounting = new long[2];
+        try {
+            store.withDirectoryLock(() -> {
+                List<Path> segments = replayAll(entries, accounting);
+                nextSegmentId = segments.isEmpty() ? 1 : segmentId(segments.get(segments.size() - 1)) + 1;
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load column family '" + name + "'", e);
+        }
+        live = entries;
+        liveBytes = accounting[0];
+        garbageBytes = accounting[1];
+        logger.debug("Loaded column family '{}': {} entries", name, entries.size());
+    }
+
+    /**
+     * Replay every segment on disk into {@code entries}.
+     *
+     * @return the segments, oldest first
+     */
+    private List<Path> replayAll(Map<String, byte[]> entries, long[] accounting) throws IOException {
+        List<Path> segments = listSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            replay(segments.get(i), entries, accounting, i == segments.size() - 1);
+        }
+        return segments;
+    }
+
+    private void replay(Path segment, Map<String, byte[]> entries, long[] accounting, boolean last)
+            throws IOException {
+        long validEnd;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            validEnd = replay(buffer, entries, accounting);
+            if (validEnd < size) {
+                logger.warn("Column family '{}': ignoring {} corrupt bytes at the end of {}",
+                        name, size - validEnd, segment.getFileName());
+            }
+            if (validEnd == size || !last) {
+                return;
+            }
+        }
+        // Drop a torn tail so new records are appended after the last good one
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(validEnd);
+        }
+    }
+
+    private long replay(ByteBuffer buffer, Map<String, byte[]> entries, long[] accounting) {
+        CRC32C crc = new CRC32C();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 5 || length > buffer.remaining()) {
+                return start;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                return start;
+            }
+
+            ByteBuffer record = ByteBuffer.wrap(payload);
+            byte op = record.get();
+            int keyLength = record.getInt();
+            if (keyLength < 0 || keyLength > record.remaining()) {
+                return start;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            record.get(keyBytes);
+            byte[] value = new byte[record.remaining()];
+            record.get(value);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+
+            switch (op) {
+                case OP_PUT -> {
+                    byte[] previous = entries.put(key, value);
+                    accounting[0] += keyLength + value.length;
+                    if (previous != null) {
+                        accounting[0] -= keyLength + previous.length;
+                        accounting[1] += keyLength + previous.length;
+                    }
+                }
+                case OP_DELETE -> {
+                    byte[] previous = entries.remove(key);
+                    if (previous != null) {
+                        accounting[0] -= keyLength + previous.length;
+                        accounting[1] += keyLength + previous.length;
+                    }
+                }
+                case OP_CLEAR -> {
+                    accounting[1] += accounting[0];
+                    accounting[0] = 0;
+                    entries.clear();
+                }
+                default -> {
+                    return start;
+                }
+            }
+        }
+        return buffer.position();
+    }
+
+    // Writer-thread operations
+
+    /**
+     * Append queued records to the newest segment, rolling it over when full.
+     * Called with the directory lock held.
+     *
+     * @return bytes written
+     */
+    long append(List<StateStore.WriteOp> ops) throws IOException {
+        synchronized (this) {
+            ensureLoaded();
+        }
+        int total = 0;
+        for (StateStore.WriteOp op : ops) {
+            if (op.record() != null) {
+                total += op.record().length;
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+        // Another process may have rolled or compacted the family since this one last wrote
+        List<Path> segments = listSegments();
+        Path newest = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (active != null && !activePath.equals(newest)) {
+            closeActive();
+        }
+        if (newest != null) {
+            nextSegmentId = Math.max(nextSegmentId, segmentId(newest) + 1);
+            if (active == null && Files.size(newest) + total <= store.segmentBytes()) {
+                openActive(newest);
+            }
+        }
+        if (active != null) {
+            activeSize = active.size();
+        }
+        if (active == null || (activeSize > 0 && activeSize + total > store.segmentBytes())) {
+            roll();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (StateStore.WriteOp op : ops) {
+            if (op.record() != null) {
+                buffer.put(op.record());
+            }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            active.write(buffer);
+        }
+        activeSize += total;
+        return total;
+    }
+
+    /**
+     * Whether most of the log is overwritten or deleted records.
+     */
+    synchronized boolean needsCompaction() {
+        return live != null && garbageBytes > store.segmentBytes() / 4 && garbageBytes > liveBytes;
+    }
+
+    /**
+     * Rewrite the live entries into a fresh segment and delete the older ones.
+     * Called with the directory lock held. The entries are read back from disk rather
+     * than taken from memory, so records other processes appended are kept.
+     */
+    void compactFiles() throws IOException {
+        synchronized (this) {
+            ensureLoaded();
+            garbageBytes = 0;
+        }
+        closeActive();
+        Map<String, byte[]> snapshot = new LinkedHashMap<>();
+        List<Path> old = replayAll(snapshot, new long[2]);
+        if (!old.isEmpty()) {
+            nextSegmentId = Math.max(nextSegmentId, segmentId(old.get(old.size() - 1)) + 1);
+        }
+
+        long id = nextSegmentId++;
+        Path target = directory.resolve(segmentName(id));
+        Path temp = directory.resolve(segmentName(id) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel, encodeRecord(OP_CLEAR, new byte[0], new byte[0]));
+            for (Map.Entry<String, byte[]> entry : snapshot.entrySet()) {
+                write(channel, encodeRecord(OP_PUT, entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue()));
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        for (Path segment : old) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                // Still mapped on some platforms; the CLEAR record makes it harmless
+                logger.debug("Could not delete compacted segment {}: {}", segment, e.getMessage());
+            }
+        }
+        openActive(target);
+        store.recordCompaction();
+        logger.debug("Compacted column family '{}' into {} ({} entries)", name, target.getFileName(), snapshot.size());
+    }
+
+    void force() throws IOException {
+        if (active != null) {
+            active.force(false);
+        }
+    }
+
+    void closeFiles() {
+        try {
+            closeActive();
+        } catch (IOException e) {
+            logger.debug("Error closing column family '{}': {}", name, e.getMessage());
+        }
+    }
+
+    private void roll() throws IOException {
+        closeActive();
+        Files.createDirectories(directory);
+        openActive(directory.resolve(segmentName(nextSegmentId++)));
+    }
+
+    private void openActive(Path segment) throws IOException {
+        active = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        activePath = segment;
+        activeSize = active.size();
+    }
+
+    private void closeActive() throws IOException {
+        if (active != null) {
+            active.force(false);
+            active.close();
+            active = null;
+            activePath = null;
+            activeSize = 0;
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(SEGMENT_SUFFIX + ".tmp")) {
+                    // Left over from an interrupted compaction
+                    Files.deleteIfExists(file);
+                } else if (fileName.endsWith(SEGMENT_SUFFIX)) {
+                    segments.add(file);
+                }
+            }
+        }
+        segments.sort((a, b) -> Long.compare(segmentId(a), segmentId(b)));
+        return segments;
+    }
+
+    private static void write(FileChannel channel, byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String segmentName(long id) {
+        return String.format("%010d%s", id, SEGMENT_SUFFIX);
+    }
+
+    private static long segmentId(Path segment) {
+        String fileName = segment.getFileName().toString();
+        try {
+            return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Encoding
+
+    private static byte[] encodeRecord(byte op, byte[] key, byte[] value) {
+        int length = 1 + 4 + key.length + value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length);
+        buffer.putInt(length);
+        buffer.putInt(0);
+        buffer.put(op);
+        buffer.putInt(key.length);
+        buffer.put(key);
+        buffer.put(value);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_BYTES, length);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    private byte[] encode(V value) {
+        try {
+            return store.codec().writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize " + type.getSimpleName()
+                    + " for column family '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    private Optional<V> decode(String key, byte[] bytes) {
+        try {
+            return Optional.of(store.codec().readValue(bytes, type));
+        } catch (IOException e) {
+            logger.warn("Skipping undecodable entry '{}' in column family '{}': {}", key, name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package io.github.glaciousm.core.store;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded, log-structured store for state that should outlive a JVM, such as what the
+ * learning subsystems have learned.
+ *
+ * <p>State is organized in typed {@link ColumnFamily column families}, one directory of
+ * append-only segment files each. Opening the store only creates its directory; a family
+ * reads its segments (memory-mapped) the first time it is accessed. Writes update the
+ * family's in-memory index immediately and are appended to disk by a single background
+ * writer, which also compacts a family once most of its log is overwritten records.</p>
+ *
+ * <p>Forked test JVMs may open the same directory. Reading, appending and compacting
+ * segments take an exclusive {@link FileLock} on {@value #LOCK_FILE}, so appends from
+ * different processes never interleave. Each JVM keeps its own in-memory view, loaded
+ * once; it does not see what other processes write after that.</p>
+ *
+ * <p>Values are serialized field by field, so a stored class needs a no-argument
+ * constructor (it may be private) or a Jackson creator; records work as they are.</p>
+ */
+public final class StateStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StateStore.class);
+
+    /** Default size at which the active segment of a family is rolled over */
+    public static final long DEFAULT_SEGMENT_BYTES = 4L * 1024 * 1024;
+
+    private static final int MAX_BATCH = 1024;
+
+    static final String LOCK_FILE = "store.lock";
+
+    /** A JVM may hold one file lock per file, so threads and stores in a JVM queue here first */
+    private static final Map<Path, ReentrantLock> DIRECTORY_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ObjectMapper codec = createCodec();
+    private final Map<String, ColumnFamily<?>> families = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<WriteOp> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong recordsWritten = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+
+    private volatile Thread writer;
+    private volatile boolean closed;
+
+    private StateStore(Path directory, long segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Open (or create) a store. No state is read until a family is accessed.
+     */
+    public static StateStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Open (or create) a store with a custom segment size.
+     */
+    public static StateStore open(Path directory, long segmentBytes) throws IOException {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("segmentBytes must be at least 1024");
+        }
+        Path normalized = directory.toAbsolutePath().normalize();
+        Files.createDirectories(normalized);
+        return new StateStore(normalized, segmentBytes);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Get the column family with the given name, creating it on first use.
+     *
+     * @param name family name; letters, digits, '.', '-' and '_' only
+     * @param type value type
+     * @throws IllegalArgumentException if the family is already open with a different type
+     */
+    @SuppressWarnings("unchecked")
+    public <V> ColumnFamily<V> family(String name, Class<V> type) {
+        if (!name.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Invalid column family name: " + name);
+        }
+        ColumnFamily<?> family = families.computeIfAbsent(name,
+                n -> new ColumnFamily<>(this, n, type, directory.resolve(n)));
+        if (family.getType() != type) {
+            throw new IllegalArgumentException("Column family '" + name + "' holds "
+                    + family.getType().getName() + ", not " + type.getName());
+        }
+        return (ColumnFamily<V>) family;
+    }
+
+    /**
+     * Block until every write issued so far is on disk.
+     */
+    public void flush() {
+        if (writer == null) {
+            return;
+        }
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        queue.add(WriteOp.barrier(barrier));
+        try {
+            barrier.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException(new IOException("State store flush failed", e.getCause()));
+        }
+    }
+
+    /**
+     * Compact every loaded family now, regardless of its garbage ratio.
+     */
+    public void compact() {
+        for (ColumnFamily<?> family : families.values()) {
+            if (family.isLoaded()) {
+                enqueue(WriteOp.compact(family));
+            }
+        }
+        flush();
+    }
+
+    public Stats getStats() {
+        int loaded = (int) families.values().stream().filter(ColumnFamily::isLoaded).count();
+        return new Stats(families.size(), loaded, recordsWritten.get(), bytesWritten.get(),
+                compactions.get(), queue.size());
+    }
+
+    /**
+     * Flush pending writes and release all files.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        Thread current = writer;
+        if (current != null) {
+            queue.add(WriteOp.stop());
+            try {
+                current.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (ColumnFamily<?> family : families.values()) {
+            family.closeFiles();
+        }
+    }
+
+    // Package-private plumbing for ColumnFamily
+
+    ObjectMapper codec() {
+        return codec;
+    }
+
+    long segmentBytes() {
+        return segmentBytes;
+    }
+
+    void enqueue(WriteOp op) {
+        if (closed) {
+            throw new IllegalStateException("State store is closed: " + directory);
+        }
+        ensureWriter();
+        queue.add(op);
+    }
+
+    void recordCompaction() {
+        compactions.incrementAndGet();
+    }
+
+    /**
+     * Run an action holding the store's directory lock, shared with other processes.
+     * Reentrant within a thread.
+     */
+    <T> T withDirectoryLock(IOAction<T> action) throws IOException {
+        ReentrantLock lock = DIRECTORY_LOCKS.computeIfAbsent(directory, d -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (lock.getHoldCount() > 1) {
+                return action.run();
+            }
+            try (FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                return action.run();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    interface IOAction<T> {
+        T run() throws IOException;
+    }
+
+    private void ensureWriter() {
+        if (writer == null) {
+            synchronized (this) {
+                if (writer == null) {
+                    Thread thread = new Thread(this::writeLoop, "healer-state-store");
+                    thread.setDaemon(true);
+                    thread.start();
+                    writer = thread;
+                }
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<WriteOp> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            boolean stop = batch.stream().anyMatch(WriteOp::isStop);
+            writeBatch(batch);
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(List<WriteOp> batch) {
+        // Group records per family so each family gets one write per batch
+        Map<ColumnFamily<?>, List<WriteOp>> byFamily = new LinkedHashMap<>();
+        List<CompletableFuture<Void>> barriers = new ArrayList<>();
+        Throwable failure = null;
+        for (WriteOp op : batch) {
+            if (op.isStop()) {
+                continue;
+            }
+            if (op.barrier() != null) {
+                barriers.add(op.barrier());
+            } else {
+                byFamily.computeIfAbsent(op.family(), f -> new ArrayList<>()).add(op);
+            }
+        }
+        if (!byFamily.isEmpty()) {
+            try {
+                failure = withDirectoryLock(() -> appendAll(byFamily));
+            } catch (IOException e) {
+                failure = e;
+                logger.warn("Failed to lock state store {}: {}", directory, e.getMessage());
+            }
+        }
+        if (!barriers.isEmpty()) {
+            for (ColumnFamily<?> family : families.values()) {
+                try {
+                    family.force();
+                } catch (IOException e) {
+                    failure = e;
+                    logger.warn("Failed to sync column family '{}': {}", family.getName(), e.getMessage());
+                }
+            }
+            for (CompletableFuture<Void> barrier : barriers) {
+                if (failure != null) {
+                    barrier.completeExceptionally(failure);
+                } else {
+                    barrier.complete(null);
+                }
+            }
+        }
+    }
+
+    private Throwable appendAll(Map<ColumnFamily<?>, List<WriteOp>> byFamily) {
+        Throwable failure = null;
+        for (Map.Entry<ColumnFamily<?>, List<WriteOp>> entry : byFamily.entrySet()) {
+            ColumnFamily<?> family = entry.getKey();
+            try {
+                long written = family.append(entry.getValue());
+                bytesWritten.addAndGet(written);
+                recordsWritten.addAndGet(entry.getValue().stream().filter(op -> !op.isCompaction()).count());
+                boolean forced = entry.getValue().stream().anyMatch(WriteOp::isCompaction);
+                if (forced || family.needsCompaction()) {
+                    family.compactFiles();
+                }
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+                logger.warn("Failed to write state for column family '{}': {}", family.getName(), e.getMessage());
+            }
+        }
+        return failure;
+    }
+
+    private static ObjectMapper createCodec() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        // Persist what the object holds, not what its getters compute
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        mapper.setVisibility(PropertyAccessor.CREATOR, JsonAutoDetect.Visibility.ANY);
+        return mapper;
+    }
+
+    /**
+     * A queued write, compaction request, flush barrier or stop signal.
+     */
+    record WriteOp(ColumnFamily<?> family, byte[] record, boolean isCompaction, CompletableFuture<Void> barrier) {
+
+        static WriteOp record(ColumnFamily<?> family, byte[] record) {
+            return new WriteOp(family, record, false, null);
+        }
+
+        static WriteOp compact(ColumnFamily<?> family) {
+            return new WriteOp(family, null, true, null);
+        }
+
+        static WriteOp barrier(CompletableFuture<Void> barrier) {
+            return new WriteOp(null, null, false, barrier);
+        }
+
+        static WriteOp stop() {
+            return new WriteOp(null, null, false, null);
+        }
+
+        boolean isStop() {
+            return family == null && barrier == null;
+        }
+    }
+
+    /**
+     * Store statistics.
+     *
+     * @param families       column families opened in this JVM
+     * @param loadedFamilies families whose segments have been read
+     * @param recordsWritten records appended since open
+     * @param bytesWritten   bytes appended since open, including compactions
+     * @param compactions    compactions run since open
+     * @param pendingWrites  writes queued but not yet on disk
+     */
+    public record Stats(int families, int loadedFamilies, long recordsWritten, long bytesWritten,
+                        long compactions, int pendingWrites) {
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.glaciousm.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Index of Java source files under a set of project roots.
+ * <p>
+ * The source directories are scanned once on a background thread, mapping each
+ * package-relative path (e.g. {@code com/acme/LoginPage.java}) to its file. Until the
+ * scan finishes, {@link #find(String)} returns empty and callers fall back to probing
+ * the file system. Source files read through {@link #readLine(String, int)} are kept in
+ * a small LRU with their line offsets, so repeated context lookups for the same page
+ * object do not re-read the file.
+ * <p>
+ * Instances are shared per set of roots; obtain one with {@link #forRoots(List, List)}.
+ */
+public final class SourceFileIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceFileIndex.class);
+
+    /**
+     * Maximum number of source files kept in the line cache.
+     */
+    private static final int MAX_CACHED_FILES = 64;
+
+    private static final Map<List<String>, SourceFileIndex> INSTANCES = new ConcurrentHashMap<>();
+
+    private final List<String> roots;
+    private final List<String> sourcePaths;
+    private final Map<String, Path> index = new ConcurrentHashMap<>();
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private final Map<Path, IndexedFile> files = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, IndexedFile> eldest) {
+            return size() > MAX_CACHED_FILES;
+        }
+    };
+
+    private SourceFileIndex(List<String> roots, List<String> sourcePaths) {
+        this.roots = roots;
+        this.sourcePaths = sourcePaths;
+    }
+
+    /**
+     * Returns the shared index for the given roots, starting its background scan on first use.
+     *
+     * @param roots       project root directories
+     * @param sourcePaths source directories relative to each root
+     */
+    public static SourceFileIndex forRoots(List<String> roots, List<String> sourcePaths) {
+        return INSTANCES.computeIfAbsent(List.copyOf(roots), key -> {
+            SourceFileIndex sourceIndex = new SourceFileIndex(key, List.copyOf(sourcePaths));
+            Thread scanner = new Thread(sourceIndex::scan, "source-file-index");
+            scanner.setDaemon(true);
+            scanner.start();
+            return sourceIndex;
+        });
+    }
+
+    /**
+     * Returns true once the background scan has completed.
+     */
+    public boolean isReady() {
+        return ready.getCount() == 0;
+    }
+
+    /**
+     * Waits for the background scan to complete.
+     *
+     * @return true if the scan completed within the timeout
+     */
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        return ready.await(timeout, unit);
+    }
+
+    /**
+     * Looks up a source file by package-relative path.
+     *
+     * @param relativePath path such as {@code com/acme/LoginPage.java}, using '/' or the platform separator
+     * @return the indexed file, or empty if unknown or the scan has not finished
+     */
+    public Optional<Path> find(String relativePath) {
+        if (relativePath == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(index.get(relativePath.replace('\\', '/')));
+    }
+
+    /**
+     * Number of indexed source files.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Reads a single line from a source file, using the cached copy when the file is unchanged.
+     *
+     * @param filePath   absolute source file path
+     * @param lineNumber 1-based line number
+     * @return the line, or null if the file cannot be read or the line is out of range
+     */
+    public String readLine(String filePath, int lineNumber) {
+        if (filePath == null || lineNumber < 1) {
+            return null;
+        }
+
+        Path path = Paths.get(filePath);
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            IndexedFile file;
+            synchronized (files) {
+                file = files.get(path);
+            }
+            if (file == null || !file.modified().equals(modified)) {
+                file = IndexedFile.of(Files.readString(path), modified);
+                synchronized (files) {
+                    files.put(path, file);
+                }
+            }
+            return file.line(lineNumber);
+        } catch (IOException e) {
+            logger.debug("Could not read line {} from file {}: {}", lineNumber, filePath, e.getMessage());
+            return null;
+        }
+    }
+
+    private void scan() {
+        long start = System.currentTimeMillis();
+        try {
+            for (String root : roots) {
+                for (String sourcePath : sourcePaths) {
+                    Path dir = Paths.get(root, sourcePath);
+                    if (!Files.isDirectory(dir)) {
+                        continue;
+                    }
+                    try (Stream<Path> paths = Files.walk(dir)) {
+                        paths.filter(p -> p.toString().endsWith(".java"))
+                                .forEach(p -> index.putIfAbsent(
+                                        dir.relativize(p).toString().replace('\\', '/'),
+                                        p.toAbsolutePath().normalize()));
+                    } catch (IOException | RuntimeException e) {
+                        logger.debug("Failed to scan source directory {}: {}", dir, e.getMessage());
+                    }
+                }
+            }
+            logger.debug("Indexed {} source files in {}ms", index.size(), System.currentTimeMillis() - start);
+        } finally {
+            ready.countDown();
+        }
+    }
+
+    /**
+     * A source file held in memory with the start offset of each line.
+     */
+    private record IndexedFile(String content, int[] lineStarts, FileTime modified) {
+
+        static IndexedFile of(String content, FileTime modified) {
+            int count = 1;
+            for (int i = 0; i < content.length(); i++) {
+                if (content.charAt(i) == '\n') {
+                    count++;
+                }
+            }
+            int[] starts = new int[count];
+            int line = 1;
+            for (int i = 0; i < content.length(); i++) {
+                if (content.charAt(i) == '\n') {
+                    starts[line++] = i + 1;
+                }
+            }
+            return new IndexedFile(content, starts, modified);
+        }
+
+        String line(int lineNumber) {
+            if (lineNumber > lineStarts.length) {
+                return null;
+            }
+            int start = lineStarts[lineNumber - 1];
+            int end = lineNumber < lineStarts.length ? lineStarts[lineNumber] - 1 : content.length();
+            if (start > content.length() || (start == content.length() && lineNumber == lineStarts.length)) {
+                // Trailing newline: there is no line after it
+                return null;
+            }
+            if (end > start && content.charAt(end - 1) == '\r') {
+                end--;
+            }
+            return content.substring(start, end);
+        }
+    }
+}
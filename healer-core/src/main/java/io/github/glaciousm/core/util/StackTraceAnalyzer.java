@@ -11,8 +11,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Analyzes exception stack traces to extract source code location information.
@@ -53,14 +55,23 @@ public class StackTraceAnalyzer {
     );
 
     private final List<String> projectRoots;
+    private final SourceFileIndex sourceIndex;
+
+    /**
+     * Resolved file paths keyed by class-derived relative path (empty if unresolvable).
+     */
+    private final Map<String, Optional<String>> resolvedPaths = new ConcurrentHashMap<>();
 
     /**
      * Creates a StackTraceAnalyzer with the specified project roots.
+     * The source roots are indexed in the background, shared with other analyzers
+     * using the same roots.
      *
      * @param projectRoots directories to search for source files
      */
     public StackTraceAnalyzer(List<String> projectRoots) {
         this.projectRoots = projectRoots != null ? projectRoots : List.of(System.getProperty("user.dir"));
+        this.sourceIndex = SourceFileIndex.forRoots(this.projectRoots, SOURCE_PATHS);
     }
 
     /**
@@ -156,7 +167,7 @@ public class StackTraceAnalyzer {
         String locatorCode = null;
 
         if (filePath != null) {
-            locatorCode = readLineFromFile(filePath, lineNumber);
+            locatorCode = sourceIndex.readLine(filePath, lineNumber);
         }
 
         SourceLocation location = SourceLocation.builder()
@@ -172,6 +183,8 @@ public class StackTraceAnalyzer {
 
     /**
      * Resolves the full file path from a class name and file name.
+     * Results are cached per class; the background source index is consulted
+     * before falling back to probing each root.
      */
     private String resolveFilePath(String className, String fileName) {
         // Convert class name to relative path
@@ -184,8 +197,25 @@ public class StackTraceAnalyzer {
         }
 
         // Add .java extension
-        relativePath = relativePath + ".java";
+        String sourcePath = relativePath + ".java";
+
+        String cacheKey = sourcePath + "|" + fileName;
+        Optional<String> cached = resolvedPaths.get(cacheKey);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
 
+        String resolved = sourceIndex.find(sourcePath)
+                .map(Path::toString)
+                .orElseGet(() -> probeFilePath(className, fileName, sourcePath));
+        resolvedPaths.put(cacheKey, Optional.ofNullable(resolved));
+        return resolved;
+    }
+
+    /**
+     * Probes each project root for the source file.
+     */
+    private String probeFilePath(String className, String fileName, String relativePath) {
         // Search in project roots
         for (String root : projectRoots) {
             for (String srcPath : SOURCE_PATHS) {
@@ -235,27 +265,6 @@ public class StackTraceAnalyzer {
         return null;
     }
 
-    /**
-     * Reads a specific line from a file.
-     */
-    private String readLineFromFile(String filePath, int lineNumber) {
-        if (filePath == null || lineNumber < 1) {
-            return null;
-        }
-
-        try {
-            Path path = Paths.get(filePath);
-            List<String> lines = Files.readAllLines(path);
-            if (lineNumber <= lines.size()) {
-                return lines.get(lineNumber - 1); // Convert to 0-indexed
-            }
-        } catch (IOException e) {
-            logger.debug("Could not read line {} from file {}: {}", lineNumber, filePath, e.getMessage());
-        }
-
-        return null;
-    }
-
     /**
      * Checks if the specified package should be considered user code.
      */
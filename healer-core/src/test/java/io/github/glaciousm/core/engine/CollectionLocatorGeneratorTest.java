@@ -0,0 +1,71 @@
+package io.github.glaciousm.core.engine;
+
+import io.github.glaciousm.core.model.ElementSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CollectionLocatorGenerator")
+class CollectionLocatorGeneratorTest {
+
+    private static ElementSnapshot element(int index, String tag, List<String> classes) {
+        return ElementSnapshot.builder().index(index).tagName(tag).classes(classes).visible(true).build();
+    }
+
+    @Test
+    @DisplayName("should select the list by the classes its members share")
+    void sharedClasses() {
+        List<ElementSnapshot> members = List.of(
+                element(0, "LI", List.of("product-card", "featured", "in-stock")),
+                element(1, "li", List.of("product-card", "in-stock")),
+                element(2, "li", List.of("in-stock", "product-card", "sale")));
+
+        assertThat(CollectionLocatorGenerator.generate(members)).contains("css=li.product-card.in-stock");
+    }
+
+    @Test
+    @DisplayName("should ignore generated class names")
+    void skipsDynamicClasses() {
+        List<ElementSnapshot> members = List.of(
+                element(0, "div", List.of("css-1a2b3c4d", "row")),
+                element(1, "div", List.of("css-1a2b3c4d", "row")));
+
+        assertThat(CollectionLocatorGenerator.generate(members)).contains("css=div.row");
+    }
+
+    @Test
+    @DisplayName("should fall back to a shared test id")
+    void sharedTestId() {
+        List<ElementSnapshot> members = List.of(
+                ElementSnapshot.builder().index(0).tagName("tr").dataAttributes(Map.of("testid", "order-row")).build(),
+                ElementSnapshot.builder().index(1).tagName("tr").dataAttributes(Map.of("testid", "order-row")).build());
+
+        assertThat(CollectionLocatorGenerator.generate(members)).contains("css=tr[data-testid=\"order-row\"]");
+    }
+
+    @Test
+    @DisplayName("should give up when the members have different tags")
+    void mixedTags() {
+        List<ElementSnapshot> members = List.of(
+                element(0, "a", List.of("nav-link")),
+                element(1, "button", List.of("menu-toggle")),
+                element(2, "a", List.of("nav-link", "active")));
+
+        assertThat(CollectionLocatorGenerator.generate(members)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should give up when the members share nothing")
+    void nothingShared() {
+        List<ElementSnapshot> members = List.of(
+                element(0, "span", List.of("price")),
+                element(1, "span", List.of("label")));
+
+        assertThat(CollectionLocatorGenerator.generate(members)).isEmpty();
+        assertThat(CollectionLocatorGenerator.generate(List.of())).isEmpty();
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.glaciousm.core.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.glaciousm.core.config.ReportConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("HealingSummary")
+class HealingSummaryTest {
+
+    private HealingSummary summary;
+
+    @BeforeEach
+    void setUp() {
+        summary = new HealingSummary();
+    }
+
+    @AfterEach
+    void tearDown() {
+        summary.clear();
+    }
+
+    private static String screenshot(Random random, int bytes) {
+        byte[] image = new byte[bytes];
+        random.nextBytes(image);
+        return Base64.getEncoder().encodeToString(image);
+    }
+
+    @Nested
+    @DisplayName("recording")
+    class Recording {
+
+        @Test
+        @DisplayName("should read heals back with their screenshots")
+        void roundTripsScreenshots() {
+            String before = screenshot(new Random(1), 2048);
+            summary.recordHealWithScreenshots("I click login", "By.id: login", "By.id: sign-in", 0.93,
+                    "LoginPage.java", 42, before, "not base64 %");
+            summary.recordHeal("I open the menu", "By.id: menu", "By.css: nav button", 0.8);
+
+            List<HealingSummary.HealedLocator> heals = summary.getHealedLocators();
+
+            assertThat(heals).hasSize(2);
+            assertThat(heals.get(0)).isEqualTo(new HealingSummary.HealedLocator("I click login", "By.id: login",
+                    "By.id: sign-in", 0.93, "LoginPage.java", 42, before, "not base64 %"));
+            assertThat(heals.get(1).hasVisualEvidence()).isFalse();
+            assertThat(summary.getAverageConfidence()).isCloseTo(0.865, within(1e-9));
+        }
+
+        @Test
+        @DisplayName("should record each original locator once")
+        void deduplicates() {
+            summary.recordHeal("step", "By.id: login", "By.id: sign-in", 0.9);
+            summary.recordHeal("step again", "By.id: login", "By.id: other", 0.7);
+
+            assertThat(summary.getHealCount()).isEqualTo(1);
+            assertThat(summary.getHealedLocators(0)).extracting(HealingSummary.HealedLocator::healedLocator)
+                    .containsExactly("By.id: sign-in");
+        }
+
+        @Test
+        @DisplayName("should keep heals past the memory cap readable from the spill file")
+        void overflowsToSpill() {
+            summary.setMaxInMemory(3);
+            for (int i = 0; i < 10; i++) {
+                summary.recordHealWithScreenshots("step " + i, "By.id: old-" + i, "By.id: new-" + i, 0.9,
+                        null, 0, "AAAA", "BBBB");
+            }
+
+            assertThat(summary.getInMemoryCount()).isEqualTo(3);
+            assertThat(summary.getHealedLocators(7)).extracting(HealingSummary.HealedLocator::stepText)
+                    .containsExactly("step 7", "step 8", "step 9");
+            assertThat(summary.getHealedLocators(7)).noneMatch(HealingSummary.HealedLocator::hasVisualEvidence);
+            assertThat(summary.getHealedLocators()).hasSize(10).allMatch(HealingSummary.HealedLocator::hasVisualEvidence);
+        }
+
+        @Test
+        @DisplayName("should not lose heals recorded concurrently")
+        void concurrentRecording() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 250; i++) {
+                            summary.recordHeal("step", "By.id: " + thread + "-" + i, "By.id: healed", 0.9);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(summary.getHealCount()).isEqualTo(2000);
+            assertThat(summary.getHealedLocators(0)).hasSize(2000);
+            assertThat(summary.getHealedLocators().stream().map(HealingSummary.HealedLocator::originalLocator)
+                    .distinct().count()).isEqualTo(2000);
+        }
+
+        @Test
+        @DisplayName("should forget everything when cleared")
+        void clears() {
+            summary.recordHeal("step", "By.id: login", "By.id: sign-in", 0.9);
+            summary.clear();
+
+            assertThat(summary.hasHeals()).isFalse();
+            assertThat(summary.getHealedLocators()).isEmpty();
+            summary.recordHeal("step", "By.id: login", "By.id: sign-in", 0.9);
+            assertThat(summary.getHealedLocators()).hasSize(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("1,000-heal run")
+    class LargeRun {
+
+        private static final int HEALS = 1000;
+        private static final int SCREENSHOT_BYTES = 64 * 1024;
+
+        private void recordRun() {
+            Random random = new Random(7);
+            for (int i = 0; i < HEALS; i++) {
+                summary.recordHealWithScreenshots("I click button " + i, "By.id: button-" + i,
+                        "By.css: [data-test='button-" + i + "']", 0.9, "Steps.java", i,
+                        screenshot(random, SCREENSHOT_BYTES), screenshot(random, SCREENSHOT_BYTES));
+            }
+        }
+
+        private static long usedHeapAfterGc() throws InterruptedException {
+            Runtime runtime = Runtime.getRuntime();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+                Thread.sleep(50);
+            }
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
+        @Test
+        @DisplayName("should not keep the run's screenshots on the heap")
+        void boundedHeap() throws InterruptedException {
+            long before = usedHeapAfterGc();
+            recordRun();
+            long retained = usedHeapAfterGc() - before;
+
+            // Holding the Base64 screenshots would retain over 170 MB
+            assertThat(summary.getHealCount()).isEqualTo(HEALS);
+            assertThat(summary.getInMemoryCount()).isEqualTo(HealingSummary.DEFAULT_MAX_IN_MEMORY);
+            assertThat(retained).isLessThan(32L * 1024 * 1024);
+        }
+
+        @Test
+        @DisplayName("should stream every heal into the reports")
+        void streamsReports(@TempDir Path tempDir) throws IOException {
+            recordRun();
+            ReportConfig config = new ReportConfig();
+            config.setOutputDir(tempDir.toString());
+
+            Path html = new HealingReportGenerator(config).generateReports(summary);
+
+            assertThat(html).exists();
+            assertThat(Files.readString(html)).contains("button-999", "data:image/png;base64,");
+            Path json;
+            try (Stream<Path> files = Files.list(tempDir)) {
+                json = files.filter(p -> p.toString().endsWith(".json")).findFirst().orElseThrow();
+            }
+            JsonNode report = new ObjectMapper().readTree(json.toFile());
+            assertThat(report.get("totalHeals").asInt()).isEqualTo(HEALS);
+            assertThat(report.get("heals")).hasSize(HEALS);
+            assertThat(report.get("heals").get(HEALS - 1).get("lineNumber").asInt()).isEqualTo(HEALS - 1);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package io.github.glaciousm.core.engine.coordinator;
+
+import io.github.glaciousm.core.config.CoordinatorConfig;
+import io.github.glaciousm.core.config.CoordinatorConfig.Transport;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HealCoordinator")
+class HealCoordinatorTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("should normalize dynamic URL segments in keys")
+    void keyNormalizesUrl() {
+        assertEquals(HealCoordinator.key("https://shop.test/orders/17", "By.id: buy"),
+                HealCoordinator.key("https://shop.test/orders/42", "By.id: buy"));
+        assertNotEquals(HealCoordinator.key("https://shop.test/orders", "By.id: buy"),
+                HealCoordinator.key("https://shop.test/cart", "By.id: buy"));
+    }
+
+    @Test
+    @DisplayName("should not limit LLM calls when coordination is disabled")
+    void disabledHasNoLlmBudget() {
+        CoordinatorConfig config = new CoordinatorConfig();
+        config.setMaxConcurrentLlmCalls(1);
+
+        try (HealCoordinator coordinator = HealCoordinators.create(config)) {
+            assertTrue(coordinator.acquireLlmPermit(Duration.ZERO));
+            assertTrue(coordinator.acquireLlmPermit(Duration.ZERO));
+        }
+    }
+
+    @Nested
+    @DisplayName("in-process")
+    class Local {
+
+        private LocalHealCoordinator coordinator;
+
+        @BeforeEach
+        void setUp() {
+            coordinator = new LocalHealCoordinator(100, 1);
+        }
+
+        @Test
+        @DisplayName("should grant ownership once and answer later claims from the published heal")
+        void claimThenHit() {
+            assertTrue(coordinator.claim("k", WAIT).isOwner());
+            coordinator.complete("k", "css=#buy");
+
+            HealCoordinator.Claim claim = coordinator.claim("k", WAIT);
+            assertTrue(claim.isHit());
+            assertEquals("css=#buy", claim.healedLocator());
+            assertEquals("css=#buy", coordinator.lookup("k").orElseThrow());
+        }
+
+        @Test
+        @DisplayName("should make a second caller wait for the in-flight heal")
+        void waiterReceivesHeal() throws Exception {
+            assertTrue(coordinator.claim("k", WAIT).isOwner());
+            CompletableFuture<HealCoordinator.Claim> waiter =
+                    CompletableFuture.supplyAsync(() -> coordinator.claim("k", WAIT));
+
+            Thread.sleep(50);
+            assertFalse(waiter.isDone());
+            coordinator.complete("k", "css=#buy");
+
+            HealCoordinator.Claim claim = waiter.get(5, TimeUnit.SECONDS);
+            assertTrue(claim.isHit());
+            assertEquals(1, coordinator.getStats().waitsDeduplicated());
+        }
+
+        @Test
+        @DisplayName("should hand ownership to a waiter when the owner abandons")
+        void abandonTransfersOwnership() throws Exception {
+            assertTrue(coordinator.claim("k", WAIT).isOwner());
+            CompletableFuture<HealCoordinator.Claim> waiter =
+                    CompletableFuture.supplyAsync(() -> coordinator.claim("k", WAIT));
+
+            Thread.sleep(50);
+            coordinator.abandon("k");
+
+            assertTrue(waiter.get(5, TimeUnit.SECONDS).isOwner());
+        }
+
+        @Test
+        @DisplayName("should time out instead of waiting forever")
+        void claimTimesOut() {
+            assertTrue(coordinator.claim("k", WAIT).isOwner());
+            assertEquals(HealCoordinator.Claim.Status.TIMED_OUT,
+                    coordinator.claim("k", Duration.ofMillis(20)).status());
+        }
+
+        @Test
+        @DisplayName("should forget invalidated heals")
+        void invalidate() {
+            coordinator.claim("k", WAIT);
+            coordinator.complete("k", "css=#buy");
+            coordinator.invalidate("k");
+
+            assertTrue(coordinator.lookup("k").isEmpty());
+            assertTrue(coordinator.claim("k", WAIT).isOwner());
+        }
+
+        @Test
+        @DisplayName("should bound concurrent LLM calls")
+        void llmPermits() {
+            assertTrue(coordinator.acquireLlmPermit(WAIT));
+            assertFalse(coordinator.acquireLlmPermit(Duration.ofMillis(20)));
+
+            coordinator.releaseLlmPermit();
+            assertTrue(coordinator.acquireLlmPermit(WAIT));
+        }
+    }
+
+    @Nested
+    @DisplayName("cross-process")
+    class Remote {
+
+        @TempDir
+        Path tempDir;
+
+        private CoordinatorServer server;
+        private final List<HealCoordinator> clients = new ArrayList<>();
+
+        @AfterEach
+        void tearDown() {
+            clients.forEach(HealCoordinator::close);
+            if (server != null) {
+                server.close();
+            }
+        }
+
+        private RemoteHealCoordinator startAndConnect(Transport transport) throws Exception {
+            server = new CoordinatorServer(new LocalHealCoordinator(100, 2), tempDir, transport, Duration.ZERO);
+            server.start();
+            return connect();
+        }
+
+        private RemoteHealCoordinator connect() {
+            RemoteHealCoordinator client = HealCoordinators.tryConnect(tempDir, WAIT).orElseThrow();
+            clients.add(client);
+            return client;
+        }
+
+        @Test
+        @DisplayName("should share heals between clients over a Unix domain socket")
+        void sharesHealsOverUnixSocket() throws Exception {
+            RemoteHealCoordinator first = startAndConnect(Transport.AUTO);
+            RemoteHealCoordinator second = connect();
+
+            assertTrue(first.claim("k", WAIT).isOwner());
+            first.complete("k", "css=#buy");
+
+            assertEquals("css=#buy", second.claim("k", WAIT).healedLocator());
+            assertEquals(1, second.getStats().cachedHeals());
+        }
+
+        @Test
+        @DisplayName("should fall back to loopback TCP")
+        void tcpTransport() throws Exception {
+            RemoteHealCoordinator client = startAndConnect(Transport.TCP);
+
+            assertEquals(Transport.TCP, server.getEndpoint().transport());
+            assertTrue(client.claim("k", WAIT).isOwner());
+        }
+
+        @Test
+        @DisplayName("should refuse clients without the published token")
+        void rejectsWrongToken() throws Exception {
+            startAndConnect(Transport.TCP);
+            CoordinatorEndpoint published = server.getEndpoint();
+
+            CoordinatorEndpoint forged = new CoordinatorEndpoint(published.transport(), published.address(), "guess");
+            assertThrows(IOException.class, () -> RemoteHealCoordinator.connect(forged, WAIT));
+            CoordinatorEndpoint anonymous = new CoordinatorEndpoint(published.transport(), published.address(), null);
+            assertThrows(IOException.class, () -> RemoteHealCoordinator.connect(anonymous, WAIT));
+        }
+
+        @Test
+        @DisplayName("should release claims and permits of a client that disconnects")
+        void releasesOnDisconnect() throws Exception {
+            RemoteHealCoordinator crashed = startAndConnect(Transport.AUTO);
+            RemoteHealCoordinator survivor = connect();
+
+            assertTrue(crashed.claim("k", WAIT).isOwner());
+            assertTrue(crashed.acquireLlmPermit(WAIT));
+            assertTrue(crashed.acquireLlmPermit(WAIT));
+            crashed.close();
+
+            assertTrue(survivor.claim("k", WAIT).isOwner());
+            assertTrue(survivor.acquireLlmPermit(WAIT));
+        }
+
+        @Test
+        @DisplayName("should refuse to start a second coordinator in the same directory")
+        void singleServerPerDirectory() throws Exception {
+            startAndConnect(Transport.AUTO);
+
+            CoordinatorServer second = new CoordinatorServer(
+                    new LocalHealCoordinator(100, 2), tempDir, Transport.AUTO, Duration.ZERO);
+            assertThrows(IOException.class, second::start);
+        }
+
+        @Test
+        @DisplayName("should continue in-process when the coordinator dies")
+        void failsOverWhenServerStops() throws Exception {
+            FailoverHealCoordinator coordinator = new FailoverHealCoordinator(
+                    startAndConnect(Transport.AUTO), new LocalHealCoordinator(100, 2));
+            clients.add(coordinator);
+            coordinator.claim("a", WAIT);
+            coordinator.complete("a", "css=#a");
+
+            server.close();
+
+            assertTrue(coordinator.claim("b", WAIT).isOwner());
+            assertTrue(coordinator.isDegraded());
+            assertFalse(coordinator.isShared());
+            assertEquals("css=#a", coordinator.lookup("a").orElseThrow());
+        }
+
+        @Test
+        @DisplayName("should heal each locator once across forks instead of once per fork")
+        void deduplicatesHealsAcrossForks() throws Exception {
+            startAndConnect(Transport.AUTO);
+            int forks = 4;
+            int locators = 5;
+
+            AtomicInteger perForkCalls = new AtomicInteger();
+            runForks(forks, locators, () -> new LocalHealCoordinator(100, 0), perForkCalls);
+
+            AtomicInteger sharedCalls = new AtomicInteger();
+            runForks(forks, locators, this::connect, sharedCalls);
+
+            assertEquals(forks * locators, perForkCalls.get());
+            assertEquals(locators, sharedCalls.get());
+        }
+
+        /**
+         * Each simulated fork heals the same locators concurrently with its own coordinator
+         * client; {@code llmCalls} counts heals that were not answered by the coordinator.
+         */
+        private void runForks(int forks, int locators, Supplier<HealCoordinator> coordinators,
+                              AtomicInteger llmCalls) throws Exception {
+            ExecutorService pool = Executors.newFixedThreadPool(forks);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int f = 0; f < forks; f++) {
+                HealCoordinator coordinator = coordinators.get();
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int l = 0; l < locators; l++) {
+                        String key = HealCoordinator.key("https://shop.test/page", "By.id: old-" + l);
+                        HealCoordinator.Claim claim = coordinator.claim(key, WAIT);
+                        if (!claim.isHit()) {
+                            llmCalls.incrementAndGet();
+                            Thread.sleep(20);
+                            coordinator.complete(key, "css=#new-" + l);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.glaciousm.core.engine.execution;
+
+import io.github.glaciousm.core.intent.checks.builtin.NoErrorBannerCheck;
+import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.core.model.IntentContract.InvariantCheck;
+import io.github.glaciousm.core.model.IntentContract.OutcomeCheck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OutcomeValidator")
+class OutcomeValidatorTest {
+
+    private OutcomeValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new OutcomeValidator();
+        CountingCheck.created.set(0);
+    }
+
+    /**
+     * Outcome check that counts how often it is instantiated and reads only the URL.
+     */
+    public static class CountingCheck implements OutcomeCheck {
+        static final AtomicInteger created = new AtomicInteger();
+
+        public CountingCheck() {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public OutcomeResult verify(ExecutionContext ctx) {
+            return ctx.getCurrentUrl() != null && ctx.getCurrentUrl().endsWith("/done")
+                    ? OutcomeResult.passed("On the done page")
+                    : OutcomeResult.failed("Not on the done page");
+        }
+
+        @Override
+        public String getDescription() {
+            return "On the done page";
+        }
+
+        @Override
+        public Set<PageFact> requiredFacts() {
+            return Set.of(PageFact.URL);
+        }
+    }
+
+    /**
+     * Invariant that does not declare its facts.
+     */
+    public static class UndeclaredInvariant implements InvariantCheck {
+        @Override
+        public InvariantResult verify(ExecutionContext ctx) {
+            return InvariantResult.satisfied("Fine");
+        }
+
+        @Override
+        public String getDescription() {
+            return "Fine";
+        }
+    }
+
+    /**
+     * Check without a no-argument constructor.
+     */
+    public static class UnconstructibleCheck extends CountingCheck {
+        public UnconstructibleCheck(String unused) {
+        }
+    }
+
+    private static IntentContract intent(Class<? extends OutcomeCheck> outcome,
+                                         List<Class<? extends InvariantCheck>> invariants) {
+        return IntentContract.builder()
+                .action("submit")
+                .description("Submit the form")
+                .outcomeCheck(outcome)
+                .invariants(invariants)
+                .build();
+    }
+
+    private static UiSnapshot page(String url, ElementSnapshot... elements) {
+        return UiSnapshot.builder()
+                .url(url)
+                .title("Orders")
+                .interactiveElements(List.of(elements))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("check resolution")
+    class CheckResolution {
+
+        @Test
+        @DisplayName("should create each check once and reuse it across validations")
+        void reusesCheckInstances() {
+            IntentContract intent = intent(CountingCheck.class, List.of());
+            ExecutionContext context = new ExecutionContext(null, page("https://shop.example.com/done"));
+
+            assertThat(validator.validate(context, intent).success()).isTrue();
+            assertThat(validator.validate(context, intent).success()).isTrue();
+            assertThat(validator.validate(context, intent(CountingCheck.class, List.of())).success()).isTrue();
+
+            assertThat(CountingCheck.created).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("should report a check that cannot be created as a failure")
+        void reportsUnconstructibleCheck() {
+            IntentContract intent = intent(UnconstructibleCheck.class, List.of());
+            ExecutionContext context = new ExecutionContext(null, page("https://shop.example.com/done"));
+
+            OutcomeValidator.ValidationResult first = validator.validate(context, intent);
+            OutcomeValidator.ValidationResult second = validator.validate(context, intent);
+
+            assertThat(first.success()).isFalse();
+            assertThat(first.failures()).singleElement().asString().contains("Error running check");
+            assertThat(second.failures()).isEqualTo(first.failures());
+        }
+    }
+
+    @Nested
+    @DisplayName("page facts")
+    class PageFacts {
+
+        @Test
+        @DisplayName("should only ask for what the checks and error scan read")
+        void collectsDeclaredFacts() {
+            assertThat(validator.requiredFacts(intent(CountingCheck.class, List.of(NoErrorBannerCheck.class))))
+                    .containsExactlyInAnyOrder(PageFact.URL, PageFact.TITLE, PageFact.ALERTS);
+        }
+
+        @Test
+        @DisplayName("should ask for everything when a check does not declare its facts")
+        void undeclaredCheckNeedsAllFacts() {
+            assertThat(validator.requiredFacts(intent(null, List.of(UndeclaredInvariant.class))))
+                    .isEqualTo(PageFact.ALL);
+        }
+
+        @Test
+        @DisplayName("should collect the page once for all checks")
+        void collectsOnce() {
+            List<Set<PageFact>> requests = new ArrayList<>();
+            PageFactCollector collector = facts -> {
+                requests.add(facts);
+                return page("https://shop.example.com/done", ElementSnapshot.builder()
+                        .index(0).tagName("div").classes(List.of("alert-danger"))
+                        .text("Payment failed").visible(true).build());
+            };
+            IntentContract intent = intent(CountingCheck.class, List.of(NoErrorBannerCheck.class));
+
+            OutcomeValidator.ValidationResult result =
+                    validator.validate(null, page("https://shop.example.com/cart"), collector, intent);
+
+            assertThat(requests).hasSize(1);
+            assertThat(result.success()).isFalse();
+            assertThat(result.failures()).singleElement().asString().contains("Payment failed");
+            assertThat(result.toOutcomeResult().isFailed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should fail validation when the page cannot be read")
+        void failsWhenCollectorFails() {
+            PageFactCollector collector = facts -> {
+                throw new IllegalStateException("browser closed");
+            };
+
+            OutcomeValidator.ValidationResult result = validator.validate(
+                    null, page("https://shop.example.com/cart"), collector, intent(CountingCheck.class, List.of()));
+
+            assertThat(result.success()).isFalse();
+            assertThat(result.failures()).singleElement().asString().contains("browser closed");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.glaciousm.core.engine.history;
+
+import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HealEventLog")
+class HealEventLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static HealEventRecord record(String id) {
+        return new HealEventRecord(id, Instant.parse("2026-01-05T10:15:30Z"), "Checkout", "Place order",
+                "I place the order", "id=place-order", "#submit-order", 0.92, "Same button, new id",
+                HealOutcome.SUCCESS, false);
+    }
+
+    private static List<String> ids(List<HealEventRecord> records) {
+        return records.stream().map(HealEventRecord::id).toList();
+    }
+
+    @Nested
+    @DisplayName("reading")
+    class Reading {
+
+        @Test
+        @DisplayName("should page through records by index")
+        void pagesThroughIndex() throws IOException {
+            HealEventLog log = new HealEventLog(tempDir.resolve("reports"));
+            for (int i = 0; i < 5; i++) {
+                log.append(record("heal-" + i));
+            }
+
+            assertThat(log.count()).isEqualTo(5);
+            HealEventLog.Page newest = log.read(3, 10);
+            assertThat(newest.first()).isEqualTo(3);
+            assertThat(ids(newest.records())).containsExactly("heal-3", "heal-4");
+            assertThat(newest.endOffset()).isEqualTo(Files.size(log.getFile()));
+            assertThat(ids(log.read(1, 2).records())).containsExactly("heal-1", "heal-2");
+            assertThat(log.read(0, 1).records().get(0)).isEqualTo(record("heal-0"));
+        }
+
+        @Test
+        @DisplayName("should follow the log from the last offset read")
+        void tailsFromOffset() throws IOException {
+            HealEventLog log = new HealEventLog(tempDir);
+            log.append(record("heal-0"));
+            log.append(record("heal-1"));
+
+            List<HealEventRecord> seen = new ArrayList<>();
+            long offset = log.tail(0, seen::add);
+            assertThat(ids(seen)).containsExactly("heal-0", "heal-1");
+
+            seen.clear();
+            log.append(record("heal-2"));
+            offset = log.tail(offset, seen::add);
+            assertThat(ids(seen)).containsExactly("heal-2");
+            assertThat(offset).isEqualTo(Files.size(log.getFile()));
+
+            seen.clear();
+            assertThat(log.tail(offset, seen::add)).isEqualTo(offset);
+            assertThat(seen).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should leave a line being written for the next read")
+        void waitsForCompleteLines() throws IOException {
+            HealEventLog log = new HealEventLog(tempDir);
+            log.append(record("heal-0"));
+            long offset = log.tail(0, r -> { });
+            Files.writeString(log.getFile(), "{\"id\":\"heal-1\",\"step", StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND);
+
+            List<HealEventRecord> seen = new ArrayList<>();
+            assertThat(log.tail(offset, seen::add)).isEqualTo(offset);
+            assertThat(seen).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should start again from the beginning when the log was cleared")
+        void restartsAfterClear() throws IOException {
+            HealEventLog log = new HealEventLog(tempDir);
+            log.append(record("heal-0"));
+            log.append(record("heal-1"));
+            long offset = log.tail(0, r -> { });
+
+            log.clear();
+            assertThat(log.count()).isZero();
+            log.append(record("heal-2"));
+
+            List<HealEventRecord> seen = new ArrayList<>();
+            assertThat(log.tail(offset, seen::add)).isLessThan(offset);
+            assertThat(ids(seen)).containsExactly("heal-2");
+        }
+    }
+
+    @Nested
+    @DisplayName("writing")
+    class Writing {
+
+        @Test
+        @DisplayName("should keep records after a line torn by a killed process readable")
+        void recoversFromTornLine() throws IOException {
+            HealEventLog log = new HealEventLog(tempDir);
+            log.append(record("heal-0"));
+            Files.writeString(log.getFile(), "{\"id\":\"torn\",\"step", StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND);
+            Files.write(log.getIndexFile(), new byte[]{0, 0, 0}, StandardOpenOption.APPEND);
+
+            log.append(record("heal-1"));
+
+            assertThat(log.count()).isEqualTo(2);
+            assertThat(ids(log.read(0, 2).records())).containsExactly("heal-0", "heal-1");
+            List<HealEventRecord> seen = new ArrayList<>();
+            log.tail(0, seen::add);
+            assertThat(ids(seen)).containsExactly("heal-0", "heal-1");
+        }
+    }
+
+    @Nested
+    @DisplayName("engine integration")
+    class EngineIntegration {
+
+        private FailureContext failure() {
+            return FailureContext.builder()
+                    .featureName("Checkout")
+                    .scenarioName("Place order")
+                    .stepText("I place the order")
+                    .exceptionType("NoSuchElementException")
+                    .originalLocator(new LocatorInfo("id", "place-order"))
+                    .actionType(ActionType.CLICK)
+                    .build();
+        }
+
+        private UiSnapshot snapshot() {
+            return UiSnapshot.builder()
+                    .url("https://shop.example.com/checkout")
+                    .interactiveElements(List.of(ElementSnapshot.builder()
+                            .index(0).tagName("button").id("submit-order").text("Place Order")
+                            .visible(true).enabled(true).build()))
+                    .build();
+        }
+
+        private HealerConfig config(boolean eventLog) {
+            HealerConfig config = new HealerConfig();
+            config.setEnabled(true);
+            config.applyDefaults();
+            config.getReport().setOutputDir(tempDir.toString());
+            config.getReport().setEventLog(eventLog);
+            return config;
+        }
+
+        @Test
+        @DisplayName("should log attempted heals but not refusals")
+        void engineLogsHeals() throws IOException {
+            HealingEngine engine = new HealingEngine(config(true));
+            engine.setLlmEvaluator((f, s) -> HealDecision.canHeal(0, 0.95, "Same button, new id"));
+
+            HealResult healed = engine.attemptHeal(failure(), IntentContract.defaultContract("I place the order"),
+                    snapshot());
+            engine.attemptHeal(failure(), IntentContract.builder().action("click").policy(HealPolicy.OFF).build(),
+                    snapshot());
+
+            HealEventLog log = new HealEventLog(tempDir);
+            assertThat(log.count()).isEqualTo(1);
+            HealEventRecord logged = log.read(0, 1).records().get(0);
+            assertThat(logged.id()).isEqualTo(healed.getId());
+            assertThat(logged.outcome()).isEqualTo(healed.getOutcome());
+            assertThat(logged.featureName()).isEqualTo("Checkout");
+            assertThat(logged.stepText()).isEqualTo("I place the order");
+            assertThat(logged.confidence()).isEqualTo(healed.getConfidence());
+        }
+
+        @Test
+        @DisplayName("should not log anything when disabled")
+        void disabled() {
+            HealingEngine engine = new HealingEngine(config(false));
+            engine.setLlmEvaluator((f, s) -> HealDecision.canHeal(0, 0.95, "Same button, new id"));
+
+            engine.attemptHeal(failure(), IntentContract.defaultContract("I place the order"), snapshot());
+
+            assertThat(tempDir.resolve(HealEventLog.FILE_NAME)).doesNotExist();
+        }
+    }
+}
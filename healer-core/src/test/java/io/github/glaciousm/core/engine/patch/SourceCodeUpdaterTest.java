@@ -0,0 +1,213 @@
+package io.github.glaciousm.core.engine.patch;
+
+import io.github.glaciousm.core.config.AutoUpdateConfig;
+import io.github.glaciousm.core.model.LocatorInfo;
+import io.github.glaciousm.core.model.SourceLocation;
+import io.github.glaciousm.core.model.ValidatedHeal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("SourceCodeUpdater")
+class SourceCodeUpdaterTest {
+
+    @TempDir
+    Path projectRoot;
+
+    private SourceCodeUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        AutoUpdateConfig config = AutoUpdateConfig.builder()
+                .enabled(true)
+                .minConfidence(0.8)
+                .backupEnabled(true)
+                .build();
+        updater = new SourceCodeUpdater(config, projectRoot);
+    }
+
+    @Nested
+    @DisplayName("Grouped application")
+    class GroupedApplicationTests {
+
+        @Test
+        @DisplayName("should apply all heals in a file with a single backup")
+        void appliesAllHealsWithOneBackup() throws IOException {
+            Path page = writeSource("LoginPage.java",
+                    "class LoginPage {",
+                    "    By user = By.id(\"user\");",
+                    "    By pass = By.id(\"pass\");",
+                    "}");
+
+            List<SourceCodeUpdater.UpdateResult> results = updater.applyAllValidated(List.of(
+                    heal(page, 2, "user", "username"),
+                    heal(page, 3, "pass", "password")));
+
+            assertThat(results).allMatch(SourceCodeUpdater.UpdateResult::isSuccess);
+            assertThat(Files.readString(page))
+                    .contains("By.id(\"username\")")
+                    .contains("By.id(\"password\")");
+            assertThat(results).extracting(SourceCodeUpdater.UpdateResult::getBackupPath)
+                    .doesNotContainNull()
+                    .containsOnly(results.get(0).getBackupPath());
+            assertThat(updater.listBackups()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should patch several files and keep result order")
+        void patchesSeveralFilesInOrder() throws IOException {
+            Path login = writeSource("LoginPage.java", "By user = By.id(\"user\");");
+            Path cart = writeSource("CartPage.java", "By buy = By.id(\"buy\");");
+
+            List<SourceCodeUpdater.UpdateResult> results = updater.applyAllValidated(List.of(
+                    heal(cart, 1, "buy", "checkout"),
+                    heal(login, 1, "user", "username"),
+                    heal(cart, 1, "missing", "other")));
+
+            assertThat(results).extracting(SourceCodeUpdater.UpdateResult::isSuccess)
+                    .containsExactly(true, true, false);
+            assertThat(results.get(0).getFilePath()).isEqualTo(cart.toString());
+            assertThat(Files.readString(cart)).contains("checkout");
+            assertThat(Files.readString(login)).contains("username");
+        }
+
+        @Test
+        @DisplayName("should preserve line endings and trailing newline")
+        void preservesLineEndings() throws IOException {
+            Path page = projectRoot.resolve("Page.java");
+            Files.writeString(page, "class Page {\r\n    By a = By.id(\"a\");\r\n}\r\n");
+
+            updater.applyAllValidated(List.of(heal(page, 2, "a", "b")));
+
+            assertThat(Files.readString(page))
+                    .isEqualTo("class Page {\r\n    By a = By.id(\"b\");\r\n}\r\n");
+        }
+
+        @Test
+        @DisplayName("should keep each line's own terminator in a file with mixed line endings")
+        void preservesMixedLineEndings() throws IOException {
+            Path page = projectRoot.resolve("Page.java");
+            Files.writeString(page, "class Page {\n    By a = By.id(\"a\");\r\n}");
+
+            updater.applyAllValidated(List.of(heal(page, 2, "a", "b")));
+
+            assertThat(Files.readString(page)).isEqualTo("class Page {\n    By a = By.id(\"b\");\r\n}");
+        }
+
+        @Test
+        @DisplayName("should keep the source file's permissions")
+        void preservesPermissions() throws IOException {
+            Path page = writeSource("Page.java", "By a = By.id(\"a\");");
+            assumeTrue(Files.getFileAttributeView(page, PosixFileAttributeView.class) != null);
+            Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+            Files.setPosixFilePermissions(page, permissions);
+
+            updater.applyAllValidated(List.of(heal(page, 1, "a", "b")));
+
+            assertThat(Files.readString(page)).contains("By.id(\"b\")");
+            assertThat(Files.getPosixFilePermissions(page)).isEqualTo(permissions);
+        }
+    }
+
+    @Nested
+    @DisplayName("Line drift")
+    class LineDriftTests {
+
+        @Test
+        @DisplayName("should find locator that moved since the failure was recorded")
+        void findsDriftedLocator() throws IOException {
+            Path page = writeSource("Page.java",
+                    "class Page {",
+                    "    // added after the run",
+                    "    // another comment",
+                    "    By submit = By.cssSelector(\"#submit\");",
+                    "}");
+
+            SourceCodeUpdater.UpdateResult result = updater.applyAllValidated(List.of(
+                    heal(page, 2, "#submit", "button[type=submit]"))).get(0);
+
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.getLineNumber()).isEqualTo(4);
+            assertThat(Files.readString(page)).contains("By.cssSelector(\"button[type=submit]\")");
+        }
+
+        @Test
+        @DisplayName("should not patch a drifted locator found on several nearby lines")
+        void rejectsAmbiguousDrift() throws IOException {
+            Path page = writeSource("Page.java",
+                    "class Page {",
+                    "    // added after the run",
+                    "    By first = By.id(\"save\");",
+                    "    By second = By.id(\"save\");",
+                    "}");
+            String original = Files.readString(page);
+
+            SourceCodeUpdater.UpdateResult result = updater.applyAllValidated(List.of(
+                    heal(page, 2, "save", "save-button"))).get(0);
+
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getErrorMessage()).contains("several lines");
+            assertThat(Files.readString(page)).isEqualTo(original);
+        }
+
+        @Test
+        @DisplayName("should treat a duplicate heal as already applied")
+        void treatsDuplicateHealAsApplied() throws IOException {
+            Path page = writeSource("Page.java", "By a = By.id(\"a\");");
+
+            List<SourceCodeUpdater.UpdateResult> results = updater.applyAllValidated(List.of(
+                    heal(page, 1, "a", "b"),
+                    heal(page, 1, "a", "b")));
+
+            assertThat(results).allMatch(SourceCodeUpdater.UpdateResult::isSuccess);
+            assertThat(Files.readString(page)).isEqualTo("By a = By.id(\"b\");\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("Rollback")
+    class RollbackTests {
+
+        @Test
+        @DisplayName("should restore the original file from the shared backup")
+        void restoresFromSharedBackup() throws IOException {
+            Path page = writeSource("Page.java", "By a = By.id(\"a\");", "By c = By.id(\"c\");");
+            String original = Files.readString(page);
+
+            List<SourceCodeUpdater.UpdateResult> results = updater.applyAllValidated(List.of(
+                    heal(page, 1, "a", "b"),
+                    heal(page, 2, "c", "d")));
+
+            assertThat(updater.rollbackAll(results)).isEqualTo(2);
+            assertThat(Files.readString(page)).isEqualTo(original);
+        }
+    }
+
+    private Path writeSource(String name, String... lines) throws IOException {
+        Path file = projectRoot.resolve(name);
+        Files.writeString(file, String.join("\n", lines) + "\n");
+        return file;
+    }
+
+    private ValidatedHeal heal(Path file, int line, String original, String healed) {
+        SourceLocation location = new SourceLocation(file.toString(), "Page", "find", line, null);
+        return new ValidatedHeal(UUID.randomUUID().toString(), location, original, healed,
+                null, 0.95, "test", "scenario", Instant.now(), null);
+    }
+}
@@ -0,0 +1,283 @@
+package io.github.glaciousm.core.engine.prediction;
+
+import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.config.SpeculativeConfig;
+import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.engine.approval.ApprovalDecision;
+import io.github.glaciousm.core.engine.approval.ApprovalWorkflow;
+import io.github.glaciousm.core.engine.notification.NotificationService;
+import io.github.glaciousm.core.engine.prediction.RegressionPredictor.RiskLevel;
+import io.github.glaciousm.core.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SpeculativeHealer")
+class SpeculativeHealerTest {
+
+    private static final String PAGE = "https://shop.example.com/checkout?session=42";
+    private static final LocatorInfo BROKEN = new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "place-order");
+    private static final LocatorInfo WORKING = new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, ".cart-total");
+    private static final LocatorInfo SAFE = new LocatorInfo(LocatorInfo.LocatorStrategy.NAME, "coupon");
+
+    private HealingEngine engine;
+    private RegressionPredictor predictor;
+    private SpeculativeHealer healer;
+    private final AtomicInteger llmCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        HealerConfig config = new HealerConfig();
+        config.setEnabled(true);
+        config.applyDefaults();
+        engine = new HealingEngine(config);
+        engine.setLlmEvaluator((f, s) -> {
+            llmCalls.incrementAndGet();
+            return HealDecision.canHeal(0, 0.95, "Same button, new id");
+        });
+        predictor = new RegressionPredictor();
+        healer = new SpeculativeHealer(engine, predictor, new SpeculativeConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        healer.close();
+    }
+
+    private void failedBefore(LocatorInfo locator, int failures, int successes) {
+        for (int i = 0; i < failures; i++) {
+            predictor.recordHealEvent(new RegressionPredictor.HealEvent(
+                    locator, null, "https://shop.example.com/checkout", 0.3, false, Instant.now()));
+        }
+        for (int i = 0; i < successes; i++) {
+            predictor.recordHealEvent(new RegressionPredictor.HealEvent(
+                    locator, null, "https://shop.example.com/checkout", 0.95, true, Instant.now()));
+        }
+    }
+
+    private static UiSnapshot checkoutPage() {
+        return UiSnapshot.builder()
+                .url(PAGE)
+                .title("Checkout")
+                .interactiveElements(List.of(ElementSnapshot.builder()
+                        .index(0).tagName("button").id("submit-order").text("Place Order")
+                        .visible(true).enabled(true).build()))
+                .build();
+    }
+
+    /**
+     * Probe reporting only {@link #BROKEN} as missing, recording what it was asked.
+     */
+    private static final class FakeProbe implements SpeculativeHealer.PageProbe {
+        final List<List<LocatorInfo>> probes = new ArrayList<>();
+        int captures;
+
+        @Override
+        public List<Boolean> resolve(List<LocatorInfo> locators) {
+            probes.add(locators);
+            return locators.stream().map(l -> !l.equals(BROKEN)).toList();
+        }
+
+        @Override
+        public UiSnapshot capture() {
+            captures++;
+            return checkoutPage();
+        }
+    }
+
+    @Nested
+    @DisplayName("page visits")
+    class PageVisits {
+
+        @Test
+        @DisplayName("should heal only at-risk locators that no longer resolve and keep the pre-heal")
+        void healsBrokenAtRiskLocators() {
+            failedBefore(BROKEN, 3, 0);
+            failedBefore(WORKING, 2, 0);
+            failedBefore(SAFE, 1, 20);
+            FakeProbe probe = new FakeProbe();
+
+            int scheduled = healer.onPageVisit(PAGE, probe);
+
+            assertThat(scheduled).isEqualTo(1);
+            assertThat(probe.probes).singleElement()
+                    .satisfies(locators -> assertThat(locators).containsExactlyInAnyOrder(BROKEN, WORKING));
+            assertThat(probe.captures).isEqualTo(1);
+            SpeculativeHealer.PreHeal preHeal = healer.lookup(PAGE, BROKEN).orElseThrow();
+            assertThat(preHeal.decision().getSelectedElementIndex()).isZero();
+            assertThat(preHeal.snapshot().getTitle()).isEqualTo("Checkout");
+            assertThat(healer.lookup(PAGE, BROKEN)).as("a pre-heal is handed out once").isEmpty();
+            assertThat(healer.lookup(PAGE, WORKING)).isEmpty();
+            assertThat(healer.getStats().healsSucceeded()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should probe each page once per run")
+        void probesPageOnce() {
+            failedBefore(BROKEN, 3, 0);
+            FakeProbe probe = new FakeProbe();
+
+            healer.onPageVisit(PAGE, probe);
+            healer.onPageVisit("https://shop.example.com/checkout?session=43", probe);
+
+            assertThat(probe.probes).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should not touch the page without at-risk history")
+        void skipsPagesWithoutHistory() {
+            FakeProbe probe = new FakeProbe();
+
+            assertThat(healer.onPageVisit(PAGE, probe)).isZero();
+
+            assertThat(probe.probes).isEmpty();
+            assertThat(probe.captures).isZero();
+            assertThat(llmCalls).hasValue(0);
+        }
+
+        @Test
+        @DisplayName("should not capture when every at-risk locator still resolves")
+        void skipsCaptureWhenNothingIsBroken() {
+            failedBefore(WORKING, 3, 0);
+            FakeProbe probe = new FakeProbe();
+
+            assertThat(healer.onPageVisit(PAGE, probe)).isZero();
+
+            assertThat(probe.captures).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("should wait for a heal still in flight instead of healing again")
+        void waitsForInFlightHeal() throws InterruptedException {
+            CountDownLatch llmStarted = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            engine.setLlmEvaluator((f, s) -> {
+                llmStarted.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return HealDecision.canHeal(0, 0.95, "Same button, new id");
+            });
+            failedBefore(BROKEN, 3, 0);
+            healer.onPageVisit(PAGE, new FakeProbe());
+            assertThat(llmStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.countDown();
+            }).start();
+
+            assertThat(healer.lookup(PAGE, BROKEN)).isPresent();
+            assertThat(healer.getStats().lookupHits()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("pre-heals")
+    class PreHeals {
+
+        @Test
+        @DisplayName("should heal with a used pre-heal like any other heal")
+        void appliesPreHeal() {
+            failedBefore(BROKEN, 3, 0);
+            healer.onPageVisit(PAGE, new FakeProbe());
+            SpeculativeHealer.PreHeal preHeal = healer.lookup(PAGE, BROKEN).orElseThrow();
+            llmCalls.set(0);
+
+            FailureContext failure = FailureContext.builder()
+                    .exceptionType("NoSuchElementException")
+                    .originalLocator(BROKEN)
+                    .stepText("I place the order")
+                    .build();
+            HealResult result = engine.applyPreHeal(failure, IntentContract.defaultContract("I place the order"),
+                    preHeal.snapshot(), preHeal.decision());
+
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.getHealedLocator()).hasValue("id=submit-order");
+            assertThat(llmCalls).hasValue(0);
+
+            engine.getCircuitBreaker().forceOpen();
+            assertThat(engine.applyPreHeal(failure, IntentContract.defaultContract("I place the order"),
+                    preHeal.snapshot(), preHeal.decision()).isRefused()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should leave approval and notification to the pre-heal that is used")
+        void approvesAndNotifiesOnlyUsedPreHeal() throws Exception {
+            ApprovalWorkflow approvals = mock(ApprovalWorkflow.class);
+            when(approvals.submitForApproval(any(), any())).thenReturn(ApprovalDecision.approve());
+            engine.setApprovalWorkflow(approvals);
+            NotificationService notifications = mock(NotificationService.class);
+            Field field = HealingEngine.class.getDeclaredField("notificationService");
+            field.setAccessible(true);
+            field.set(engine, notifications);
+
+            IntentContract confirm = IntentContract.builder()
+                    .action("click").description("I place the order").policy(HealPolicy.CONFIRM).build();
+            FailureContext failure = FailureContext.builder()
+                    .exceptionType("NoSuchElementException")
+                    .originalLocator(BROKEN)
+                    .stepText("I place the order")
+                    .build();
+            List<BatchHealRequest.Item> items = List.of(new BatchHealRequest.Item("place-order", failure, confirm));
+
+            HealResult preHeal = engine.preHealAll(items, checkoutPage()).get("place-order");
+
+            assertThat(preHeal.getOutcome()).isEqualTo(HealOutcome.SUGGESTED);
+            assertThat(preHeal.getDecision()).isPresent();
+            verify(approvals, never()).submitForApproval(any(), any());
+            verify(notifications, never()).notifyHeal(any());
+
+            HealResult used = engine.applyPreHeal(failure, confirm, checkoutPage(), preHeal.getDecision().get());
+
+            assertThat(used.isSuccess()).isTrue();
+            verify(approvals).submitForApproval(any(), eq(HealPolicy.CONFIRM));
+            verify(notifications).notifyHeal(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("history")
+    class History {
+
+        @Test
+        @DisplayName("should feed heal outcomes to the predictor by page pattern")
+        void recordsOutcomes() {
+            healer.recordOutcome("https://shop.example.com/orders/123?tab=items", BROKEN,
+                    HealResult.failed("No matching element"));
+            healer.recordOutcome("https://shop.example.com/orders/456", BROKEN,
+                    HealResult.failed("No matching element"));
+            healer.recordOutcome("https://shop.example.com/orders/456", SAFE, HealResult.refused("Healing is off"));
+
+            assertThat(predictor.getHighRiskLocators("https://shop.example.com/orders/{id}", RiskLevel.HIGH, 10))
+                    .extracting(RegressionPredictor.RiskPrediction::locator)
+                    .containsExactly(BROKEN);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.glaciousm.core.engine.replay;
+
+import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HealJournal")
+class HealJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    static FailureContext failure(String step) {
+        return FailureContext.builder()
+                .featureName("Checkout")
+                .scenarioName("Place order")
+                .stepText(step)
+                .stepKeyword("When")
+                .exceptionType("NoSuchElementException")
+                .exceptionMessage("no such element: #place-order")
+                .originalLocator(new LocatorInfo("id", "place-order"))
+                .actionType(ActionType.CLICK)
+                .pageUrl("https://shop.example.com/checkout")
+                .build();
+    }
+
+    static UiSnapshot snapshot(String screenshot) {
+        return UiSnapshot.builder()
+                .url("https://shop.example.com/checkout")
+                .title("Checkout")
+                .detectedLanguage("en")
+                .interactiveElements(List.of(
+                        ElementSnapshot.builder()
+                                .index(0).tagName("button").id("submit-order").text("Place Order")
+                                .classes(List.of("btn", "btn-primary"))
+                                .ariaLabel("Place your order")
+                                .nearbyLabels(List.of("Order summary"))
+                                .dataAttributes(java.util.Map.of("testid", "place-order"))
+                                .rect(new ElementRect(10, 20, 120, 40))
+                                .visible(true).enabled(true).build(),
+                        ElementSnapshot.builder()
+                                .index(1).tagName("a").text("Back to cart")
+                                .visible(true).enabled(true).build()))
+                .screenshotBase64(screenshot)
+                .domSnapshot("<html><body><button id=\"submit-order\">Place Order</button></body></html>")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("recording")
+    class Recording {
+
+        @Test
+        @DisplayName("should read captures back as they were recorded")
+        void roundTrips() throws IOException {
+            Path file = tempDir.resolve("journal/" + HealJournal.FILE_NAME);
+            HealJournal journal = new HealJournal(file, true);
+            IntentContract intent = IntentContract.builder()
+                    .action("click").description("Place the order").policy(HealPolicy.CONFIRM).build();
+
+            HealCapture recorded = HealCapture.of(failure("I place the order"), intent, snapshot("c2NyZWVu"));
+            journal.record(recorded);
+            journal.record(HealCapture.of(failure("I go back"), null, snapshot(null)));
+
+            List<HealCapture> captures = HealJournal.read(file);
+
+            assertThat(captures).hasSize(2);
+            HealCapture first = captures.get(0);
+            assertThat(first.getId()).isEqualTo(recorded.getId());
+            assertThat(first.getFailure().getStepText()).isEqualTo("I place the order");
+            assertThat(first.getFailure().getOriginalLocator()).isEqualTo(new LocatorInfo("id", "place-order"));
+            assertThat(first.getFailure().getActionType()).isEqualTo(ActionType.CLICK);
+            assertThat(first.getFailure().getAdditionalContext()).containsEntry("pageUrl", "https://shop.example.com/checkout");
+            assertThat(first.getIntent().getPolicy()).isEqualTo(HealPolicy.CONFIRM);
+            assertThat(first.getSnapshot()).isEqualTo(recorded.getSnapshot());
+            assertThat(first.getSnapshot().getDetectedLanguage()).isEqualTo("en");
+            assertThat(first.getSnapshot().getScreenshotBase64()).hasValue("c2NyZWVu");
+            assertThat(first.getSnapshot().getDomSnapshot()).isPresent();
+
+            ElementSnapshot button = first.getSnapshot().getElementRequired(0);
+            assertThat(button.getTagName()).isEqualTo("button");
+            assertThat(button.getAriaLabel()).isEqualTo("Place your order");
+            assertThat(button.getNearbyLabels()).containsExactly("Order summary");
+            assertThat(button.getDataTestId()).isEqualTo("place-order");
+            assertThat(button.getRect().getWidth()).isEqualTo(120);
+            assertThat(captures.get(1).getIntent()).isNull();
+        }
+
+        @Test
+        @DisplayName("should drop screenshots unless asked to keep them")
+        void dropsScreenshots() throws IOException {
+            Path file = tempDir.resolve(HealJournal.FILE_NAME);
+            new HealJournal(file, false).record(HealCapture.of(failure("I place the order"), null, snapshot("c2NyZWVu")));
+
+            UiSnapshot snapshot = HealJournal.read(file).get(0).getSnapshot();
+
+            assertThat(snapshot.getScreenshotBase64()).isEmpty();
+            assertThat(snapshot.getElementCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should skip a line torn by a killed process")
+        void skipsTornLines() throws IOException {
+            Path file = tempDir.resolve(HealJournal.FILE_NAME);
+            HealJournal journal = new HealJournal(file, false);
+            journal.record(HealCapture.of(failure("first"), null, snapshot(null)));
+            Files.writeString(file, "{\"id\":\"torn\",\"failure\":{\"stepT\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            journal.record(HealCapture.of(failure("last"), null, snapshot(null)));
+
+            List<HealCapture> captures = new ArrayList<>();
+            int skipped = HealJournal.forEach(file, captures::add);
+
+            assertThat(skipped).isEqualTo(1);
+            assertThat(captures).extracting(c -> c.getFailure().getStepText()).containsExactly("first", "last");
+        }
+    }
+
+    @Nested
+    @DisplayName("engine integration")
+    class EngineIntegration {
+
+        @Test
+        @DisplayName("should record heals that reach the LLM when the journal is enabled")
+        void engineRecordsCaptures() throws IOException {
+            HealerConfig config = new HealerConfig();
+            config.setEnabled(true);
+            config.applyDefaults();
+            config.getReport().setOutputDir(tempDir.toString());
+            config.getReport().setCaptureJournal(true);
+            HealingEngine engine = new HealingEngine(config);
+            engine.setLlmEvaluator((f, s) -> HealDecision.canHeal(0, 0.95, "Same button, new id"));
+
+            engine.attemptHeal(failure("I place the order"), IntentContract.defaultContract("I place the order"), snapshot(null));
+            engine.attemptHeal(failure("I place the order"), IntentContract.defaultContract("I place the order"),
+                    UiSnapshot.builder().url("https://shop.example.com/checkout").build());
+
+            List<HealCapture> captures = HealJournal.read(tempDir.resolve(HealJournal.FILE_NAME));
+            assertThat(captures).singleElement()
+                    .satisfies(c -> assertThat(c.getSnapshot().getElementCount()).isEqualTo(2));
+        }
+
+        @Test
+        @DisplayName("should not record anything by default")
+        void disabledByDefault() {
+            HealerConfig config = new HealerConfig();
+            config.setEnabled(true);
+            config.applyDefaults();
+            config.getReport().setOutputDir(tempDir.toString());
+            HealingEngine engine = new HealingEngine(config);
+            engine.setLlmEvaluator((f, s) -> HealDecision.canHeal(0, 0.95, "Same button, new id"));
+
+            engine.attemptHeal(failure("I place the order"), IntentContract.defaultContract("I place the order"), snapshot(null));
+
+            assertThat(tempDir.resolve(HealJournal.FILE_NAME)).doesNotExist();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.glaciousm.core.engine.replay;
+
+import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static io.github.glaciousm.core.engine.replay.HealJournalTest.failure;
+import static io.github.glaciousm.core.engine.replay.HealJournalTest.snapshot;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OfflineHealer")
+class OfflineHealerTest {
+
+    private HealingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        HealerConfig config = new HealerConfig();
+        config.setEnabled(true);
+        config.applyDefaults();
+        engine = new HealingEngine(config);
+    }
+
+    private HealCapture capture(String step, HealPolicy policy) {
+        IntentContract intent = IntentContract.builder().action("click").description(step).policy(policy).build();
+        return HealCapture.of(failure(step), intent, snapshot(null));
+    }
+
+    @Test
+    @DisplayName("should heal recorded captures without capturing or acting")
+    void healsFromRecordedSnapshots() throws InterruptedException {
+        engine.setLlmEvaluator((f, s) -> HealDecision.canHeal(0, 0.95, "Same button, new id"));
+
+        List<OfflineHealer.Replay> replays = new OfflineHealer(engine, 2)
+                .replay(List.of(capture("I place the order", HealPolicy.AUTO_SAFE)));
+
+        assertThat(replays).singleElement().satisfies(replay -> {
+            assertThat(replay.isSuccess()).isTrue();
+            assertThat(replay.result().getHealedLocator()).hasValue("id=submit-order");
+            assertThat(replay.duration()).isPositive();
+        });
+    }
+
+    @Test
+    @DisplayName("should replay suggest and confirm steps as auto heals but keep OFF refused")
+    void mapsPolicies() throws InterruptedException {
+        engine.setLlmEvaluator((f, s) -> HealDecision.canHeal(0, 0.95, "Same button, new id"));
+
+        List<OfflineHealer.Replay> replays = new OfflineHealer(engine, 1).replay(List.of(
+                capture("suggest", HealPolicy.SUGGEST),
+                capture("confirm", HealPolicy.CONFIRM),
+                capture("off", HealPolicy.OFF)));
+
+        assertThat(replays).extracting(r -> r.result().getOutcome())
+                .containsExactly(HealOutcome.SUCCESS, HealOutcome.SUCCESS, HealOutcome.REFUSED);
+    }
+
+    @Test
+    @DisplayName("should heal in parallel and return results in capture order")
+    void parallelInOrder() throws InterruptedException {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        engine.setLlmEvaluator((f, s) -> {
+            threads.add(Thread.currentThread().getName());
+            bothStarted.countDown();
+            try {
+                bothStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return f.getStepText().endsWith("3")
+                    ? HealDecision.cannotHeal("No matching element")
+                    : HealDecision.canHeal(0, 0.95, "Same button");
+        });
+        List<HealCapture> captures = IntStream.range(0, 6)
+                .mapToObj(i -> capture("step " + i, HealPolicy.AUTO_SAFE))
+                .toList();
+
+        List<OfflineHealer.Replay> replays = new OfflineHealer(engine, 2).replay(captures);
+
+        assertThat(replays).extracting(OfflineHealer.Replay::capture).containsExactlyElementsOf(captures);
+        assertThat(replays).extracting(OfflineHealer.Replay::isSuccess)
+                .containsExactly(true, true, true, false, true, true);
+        assertThat(threads).hasSize(2).allMatch(name -> name.startsWith("offline-heal-"));
+    }
+
+    @Test
+    @DisplayName("should turn evaluator errors into failed replays")
+    void evaluatorErrors() throws InterruptedException {
+        engine.setLlmEvaluator((f, s) -> {
+            throw new IllegalStateException("provider unavailable");
+        });
+
+        List<OfflineHealer.Replay> replays = new OfflineHealer(engine, 1)
+                .replay(List.of(capture("I place the order", HealPolicy.AUTO_SAFE)));
+
+        assertThat(replays.get(0).result().isFailed()).isTrue();
+        assertThat(replays.get(0).result().getFailureReason()).hasValueSatisfying(r -> assertThat(r).contains("provider unavailable"));
+    }
+
+    @Test
+    @DisplayName("should reject a parallelism below one")
+    void rejectsZeroParallelism() {
+        assertThatThrownBy(() -> new OfflineHealer(engine, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,10 +1,14 @@
 package io.github.glaciousm.core.engine.trust;
 
 import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.store.StateStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -142,6 +146,36 @@ class TrustLevelManagerTest {
         assertEquals(2, stats.consecutiveSuccesses());
         assertEquals(1, stats.successesUntilPromotion());
     }
+
+    @Test
+    @DisplayName("should restore level and counters from a state store")
+    void restoresFromStateStore(@TempDir Path storeDir) throws IOException {
+        try (StateStore store = StateStore.open(storeDir)) {
+            TrustLevelManager persistent = TrustLevelManager.builder()
+                    .initialLevel(TrustLevel.L1_MANUAL)
+                    .successesToPromote(3)
+                    .stateStore(store)
+                    .build();
+            for (int i = 0; i < 4; i++) {
+                persistent.recordSuccess();
+            }
+        }
+
+        try (StateStore store = StateStore.open(storeDir)) {
+            TrustLevelManager restored = TrustLevelManager.builder()
+                    .initialLevel(TrustLevel.L1_MANUAL)
+                    .maxLevel(TrustLevel.L3_AUTO)
+                    .stateStore(store)
+                    .build();
+            // Nothing is read until the manager is first used
+            assertEquals(0, store.getStats().loadedFamilies());
+
+            assertEquals(TrustLevel.L2_SAFE, restored.getCurrentLevel());
+            assertEquals(1, store.getStats().loadedFamilies());
+            assertEquals(4, restored.getTotalSuccesses());
+            assertEquals(1, restored.getConsecutiveSuccesses());
+        }
+    }
 }
 
 @DisplayName("TrustLevel")
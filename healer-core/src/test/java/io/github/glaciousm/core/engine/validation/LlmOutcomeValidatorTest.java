@@ -0,0 +1,104 @@
+package io.github.glaciousm.core.engine.validation;
+
+import io.github.glaciousm.core.config.GuardrailConfig;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.OutcomeResult;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LlmOutcomeValidator")
+class LlmOutcomeValidatorTest {
+
+    private final AtomicInteger llmCalls = new AtomicInteger();
+    private final LlmOutcomeValidator validator = new LlmOutcomeValidator(request -> {
+        llmCalls.incrementAndGet();
+        return OutcomeResult.passed("Cart updated", 0.7);
+    }, localValidation(true));
+
+    private static GuardrailConfig localValidation(boolean enabled) {
+        GuardrailConfig config = new GuardrailConfig();
+        config.setLocalOutcomeValidation(enabled);
+        return config;
+    }
+
+    private static UiSnapshot page(String url, ElementSnapshot... elements) {
+        return UiSnapshot.builder().url(url).title("Shop").interactiveElements(List.of(elements)).build();
+    }
+
+    @Test
+    @DisplayName("should decide locally without asking the LLM when the page change is clear")
+    void decidesLocally() {
+        LlmOutcomeValidator.ValidationResult result = validator.validate("Order is placed",
+                page("https://shop.example.com/cart"), page("https://shop.example.com/orders/42"),
+                Map.of(SnapshotDiffValidator.EXPECTED_NAVIGATION, "/orders/"));
+
+        assertThat(result.isPassed()).isTrue();
+        assertThat(llmCalls).hasValue(0);
+        assertThat(validator.getLocalDecisions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should ask the LLM when the page change is ambiguous")
+    void asksLlmWhenAmbiguous() {
+        ElementSnapshot add = ElementSnapshot.builder().index(0).tagName("button").id("add").visible(true).build();
+
+        LlmOutcomeValidator.ValidationResult result = validator.validate("Item is added to the cart",
+                page("https://shop.example.com/cart", add), page("https://shop.example.com/cart", add));
+
+        assertThat(result.isPassed()).isTrue();
+        assertThat(result.getLlmReasoning()).isNotNull();
+        assertThat(llmCalls).hasValue(1);
+        assertThat(validator.getLlmCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should ask the LLM about a page change it was not told to expect")
+    void asksLlmWithoutExpectation() {
+        LlmOutcomeValidator.ValidationResult result = validator.validate("Order is placed",
+                page("https://shop.example.com/cart"), page("https://shop.example.com/orders/42"));
+
+        assertThat(result.getLlmReasoning()).isNotNull();
+        assertThat(llmCalls).hasValue(1);
+        assertThat(validator.getLocalDecisions()).isZero();
+    }
+
+    @Test
+    @DisplayName("should fail locally when an error banner appears")
+    void failsLocally() {
+        ElementSnapshot banner = ElementSnapshot.builder()
+                .index(1).tagName("div").ariaRole("alert").text("Payment declined").visible(true).build();
+
+        LlmOutcomeValidator.ValidationResult result = validator.validate("Order is placed",
+                page("https://shop.example.com/cart"), page("https://shop.example.com/cart", banner));
+
+        assertThat(result.isPassed()).isFalse();
+        assertThat(llmCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("should always ask the LLM unless local validation is enabled")
+    void alwaysAsksWithoutLocalValidation() {
+        Function<LlmOutcomeValidator.ValidationRequest, OutcomeResult> llm = request -> {
+            llmCalls.incrementAndGet();
+            return OutcomeResult.passed("Order placed", 0.9);
+        };
+
+        for (LlmOutcomeValidator llmOnly : List.of(new LlmOutcomeValidator(llm),
+                new LlmOutcomeValidator(llm, new GuardrailConfig()))) {
+            llmOnly.validate("Order is placed", page("https://shop.example.com/cart"),
+                    page("https://shop.example.com/orders/42"),
+                    Map.of(SnapshotDiffValidator.EXPECTED_NAVIGATION, "/orders/"));
+            assertThat(llmOnly.getLocalDecisions()).isZero();
+        }
+
+        assertThat(llmCalls).hasValue(2);
+    }
+}
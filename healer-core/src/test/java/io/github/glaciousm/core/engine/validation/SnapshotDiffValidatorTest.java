@@ -0,0 +1,154 @@
+package io.github.glaciousm.core.engine.validation;
+
+import io.github.glaciousm.core.engine.validation.SnapshotDiffValidator.Result;
+import io.github.glaciousm.core.engine.validation.SnapshotDiffValidator.Verdict;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SnapshotDiffValidator")
+class SnapshotDiffValidatorTest {
+
+    private final SnapshotDiffValidator validator = new SnapshotDiffValidator();
+
+    private static final ElementSnapshot SUBMIT = ElementSnapshot.builder()
+            .index(0).tagName("button").id("submit").text("Place Order").visible(true).build();
+
+    private static ElementSnapshot field(String id, String value) {
+        return ElementSnapshot.builder().index(1).tagName("input").id(id).value(value).visible(true).build();
+    }
+
+    private static UiSnapshot page(String url, String title, ElementSnapshot... elements) {
+        return UiSnapshot.builder().url(url).title(title).interactiveElements(List.of(elements)).build();
+    }
+
+    @Nested
+    @DisplayName("clear outcomes")
+    class ClearOutcomes {
+
+        @Test
+        @DisplayName("should pass when the expected navigation happened")
+        void passesOnExpectedNavigation() {
+            Result result = validator.validate(
+                    page("https://shop.example.com/cart", "Cart", SUBMIT),
+                    page("https://shop.example.com/orders/42", "Order placed"),
+                    Map.of(SnapshotDiffValidator.EXPECTED_NAVIGATION, "/orders/"));
+
+            assertThat(result.verdict()).isEqualTo(Verdict.PASSED);
+            assertThat(result.confidence()).isGreaterThanOrEqualTo(0.8);
+            assertThat(result.reasons()).anyMatch(r -> r.contains("expected URL"));
+        }
+
+        @Test
+        @DisplayName("should fail when an error banner became visible")
+        void failsOnNewErrorBanner() {
+            ElementSnapshot banner = ElementSnapshot.builder()
+                    .index(2).tagName("div").ariaRole("alert").text("Payment declined").visible(true).build();
+
+            Result result = validator.validate(
+                    page("https://shop.example.com/cart", "Cart", SUBMIT),
+                    page("https://shop.example.com/cart", "Cart", SUBMIT, banner),
+                    Map.of());
+
+            assertThat(result.verdict()).isEqualTo(Verdict.FAILED);
+            assertThat(result.reasons()).containsExactly("Error banner appeared: Payment declined");
+        }
+
+        @Test
+        @DisplayName("should not count a banner that was already showing")
+        void ignoresExistingBanner() {
+            ElementSnapshot banner = ElementSnapshot.builder()
+                    .index(2).tagName("div").classes(List.of("alert-danger")).text("Session expiring").visible(true)
+                    .build();
+
+            Result result = validator.validate(
+                    page("https://shop.example.com/cart", "Cart", SUBMIT, banner),
+                    page("https://shop.example.com/cart", "Cart", SUBMIT, banner),
+                    Map.of());
+
+            assertThat(result.verdict()).isNotEqualTo(Verdict.FAILED);
+        }
+
+        @Test
+        @DisplayName("should fail when the page navigated to an error page")
+        void failsOnErrorPage() {
+            Result result = validator.validate(
+                    page("https://shop.example.com/cart", "Cart"),
+                    page("https://shop.example.com/error/500", "Internal Server Error"),
+                    Map.of());
+
+            assertThat(result.verdict()).isEqualTo(Verdict.FAILED);
+            assertThat(result.reasons()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("should not treat a danger-styled button as an error banner")
+        void ignoresDangerButtons() {
+            ElementSnapshot delete = ElementSnapshot.builder()
+                    .index(3).tagName("button").classes(List.of("btn-danger", "error-retry")).text("Delete")
+                    .visible(true).build();
+
+            Result result = validator.validate(
+                    page("https://shop.example.com/cart", "Cart", SUBMIT),
+                    page("https://shop.example.com/cart", "Cart", SUBMIT, delete),
+                    Map.of());
+
+            assertThat(result.verdict()).isNotEqualTo(Verdict.FAILED);
+        }
+    }
+
+    @Nested
+    @DisplayName("unclear outcomes")
+    class UnclearOutcomes {
+
+        @Test
+        @DisplayName("should be ambiguous when nothing on the page changed")
+        void ambiguousWithoutChange() {
+            Result result = validator.validate(
+                    page("https://shop.example.com/cart", "Cart", SUBMIT),
+                    page("https://shop.example.com/cart", "Cart", SUBMIT),
+                    Map.of());
+
+            assertThat(result.verdict()).isEqualTo(Verdict.AMBIGUOUS);
+            assertThat(result.reasons()).containsExactly("No visible change");
+        }
+
+        @Test
+        @DisplayName("should leave a typed value that landed in a field to the LLM")
+        void ambiguousOnTypedValue() {
+            Result result = validator.validate(
+                    page("https://shop.example.com/login", "Login", field("email", "")),
+                    page("https://shop.example.com/login", "Login", field("email", "a@b.com")),
+                    Map.of(SnapshotDiffValidator.TYPED_VALUE, "a@b.com"));
+
+            assertThat(result.verdict()).isEqualTo(Verdict.AMBIGUOUS);
+            assertThat(result.confidence()).isGreaterThanOrEqualTo(0.8);
+        }
+
+        @Test
+        @DisplayName("should not pass a page change without an expected navigation")
+        void ambiguousWithoutExpectation() {
+            Result result = validator.validate(
+                    page("https://shop.example.com/cart", "Cart", SUBMIT),
+                    page("https://shop.example.com/orders/42", "Order placed"),
+                    Map.of(SnapshotDiffValidator.TARGET_ELEMENT, SUBMIT));
+
+            assertThat(result.verdict()).isEqualTo(Verdict.AMBIGUOUS);
+            assertThat(result.confidence()).isGreaterThanOrEqualTo(0.8);
+        }
+
+        @Test
+        @DisplayName("should be ambiguous without both snapshots")
+        void ambiguousWithoutSnapshots() {
+            assertThat(validator.validate(null, page("https://shop.example.com", "Shop"), null).isDecided())
+                    .isFalse();
+        }
+    }
+}
@@ -78,6 +78,7 @@ class ExceptionHierarchyTest {
                     HealingException.HealingFailureReason.CONFIGURATION_ERROR,
                     HealingException.HealingFailureReason.CIRCUIT_BREAKER_OPEN,
                     HealingException.HealingFailureReason.COST_LIMIT_EXCEEDED,
+                    HealingException.HealingFailureReason.LLM_OVERLOADED,
                     HealingException.HealingFailureReason.UNKNOWN
             );
         }
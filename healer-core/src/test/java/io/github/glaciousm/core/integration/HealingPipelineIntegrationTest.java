@@ -3,8 +3,11 @@ package io.github.glaciousm.core.integration;
 import io.github.glaciousm.core.config.GuardrailConfig;
 import io.github.glaciousm.core.config.HealerConfig;
 import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.engine.blacklist.HealBlacklist;
 import io.github.glaciousm.core.engine.cache.HealCache;
+import io.github.glaciousm.core.engine.flow.MultiStepFlowHealer;
 import io.github.glaciousm.core.engine.circuit.CircuitBreaker;
+import io.github.glaciousm.core.engine.circuit.CircuitState;
 import io.github.glaciousm.core.config.CircuitBreakerConfig;
 import io.github.glaciousm.core.model.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -345,6 +349,27 @@ class HealingPipelineIntegrationTest {
             assertThat(result.getFailureReason()).isPresent();
             assertThat(result.getFailureReason().get()).contains("Expected page navigation");
         }
+
+        @Test
+        @DisplayName("should report the decision as rejected when outcome validation fails")
+        void reportRejectedDecision() {
+            List<FailureContext> rejected = new ArrayList<>();
+            engine.setSnapshotCapture(failure -> createSnapshot(testElements));
+            engine.setLlmEvaluator((failure, snapshot) ->
+                HealDecision.canHeal(0, 0.9, "Found element"));
+            engine.setRejectedDecisionHandler((failure, snapshot) -> rejected.add(failure));
+            engine.setActionExecutor((actionType, element, data) -> null);
+
+            FailureContext failure = createFailureContext("Click login");
+            IntentContract intent = IntentContract.defaultContract("Click login");
+            assertThat(engine.attemptHeal(failure, intent).isSuccess()).isTrue();
+            assertThat(rejected).isEmpty();
+
+            engine.setOutcomeValidator(ctx -> OutcomeResult.failed("Stayed on the same page"));
+            engine.attemptHeal(failure, intent);
+
+            assertThat(rejected).containsExactly(failure);
+        }
     }
 
     @Nested
@@ -427,6 +452,109 @@ class HealingPipelineIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Triage")
+    class TriageTests {
+
+        @Test
+        @DisplayName("should refuse assertion failures without capturing a snapshot")
+        void refuseAssertionFailureBeforeCapture() {
+            AtomicInteger captures = new AtomicInteger();
+            engine.setSnapshotCapture(failure -> {
+                captures.incrementAndGet();
+                return createSnapshot(testElements);
+            });
+
+            FailureContext failure = FailureContext.builder()
+                .stepText("I click the login button")
+                .exceptionType("AssertionFailedError")
+                .originalLocator(new LocatorInfo("id", "login-btn"))
+                .build();
+
+            GuardrailResult triage = engine.triage(failure, IntentContract.defaultContract("Click login"), null);
+            HealResult result = engine.attemptHeal(failure, IntentContract.defaultContract("Click login"));
+
+            assertThat(triage.getType()).isEqualTo(GuardrailResult.GuardrailType.NOT_HEALABLE);
+            assertThat(result.isRefused()).isTrue();
+            assertThat(captures.get()).isZero();
+        }
+
+        @Test
+        @DisplayName("should refuse once the circuit breaker opens after repeated failures")
+        void refuseWhileCircuitOpen() {
+            AtomicInteger captures = new AtomicInteger();
+            engine.setSnapshotCapture(failure -> {
+                captures.incrementAndGet();
+                return createSnapshot(testElements);
+            });
+            engine.setLlmEvaluator((failure, snapshot) -> HealDecision.canHeal(99, 0.9, "Missing element"));
+
+            int threshold = config.getCircuitBreaker().getFailureThreshold();
+            for (int i = 0; i < threshold; i++) {
+                assertThat(engine.attemptHeal(createFailureContext("Click login"),
+                    IntentContract.defaultContract("Click login")).isFailed()).isTrue();
+            }
+
+            GuardrailResult triage = engine.triage(createFailureContext("Click login"),
+                IntentContract.defaultContract("Click login"), null);
+
+            assertThat(triage.getType()).isEqualTo(GuardrailResult.GuardrailType.CIRCUIT_BREAKER);
+            assertThat(engine.attemptHeal(createFailureContext("Click login"),
+                IntentContract.defaultContract("Click login")).isRefused()).isTrue();
+            assertThat(captures.get()).isEqualTo(threshold);
+        }
+
+        @Test
+        @DisplayName("should refuse a heal with a supplied snapshot while the circuit is open")
+        void refuseSuppliedSnapshotWhileCircuitOpen() {
+            AtomicInteger evaluations = new AtomicInteger();
+            engine.setLlmEvaluator((failure, snapshot) -> {
+                evaluations.incrementAndGet();
+                return HealDecision.canHeal(0, 0.9, "Found element");
+            });
+            engine.getCircuitBreaker().forceOpen();
+
+            HealResult result = engine.attemptHeal(createFailureContext("Click login"),
+                IntentContract.defaultContract("Click login"), createSnapshot(testElements));
+
+            assertThat(result.isRefused()).isTrue();
+            assertThat(evaluations.get()).isZero();
+        }
+
+        @Test
+        @DisplayName("should not use up a half-open trial when only triaging")
+        void triageDoesNotConsumeHalfOpenTrial() {
+            config.getCircuitBreaker().setOpenDurationSeconds(0);
+            engine = new HealingEngine(config);
+            CircuitBreaker breaker = engine.getCircuitBreaker();
+            breaker.forceOpen();
+
+            for (int i = 0; i < config.getCircuitBreaker().getHalfOpenMaxAttempts() + 1; i++) {
+                assertThat(engine.triage(createFailureContext("Click login"),
+                    IntentContract.defaultContract("Click login"), null).isRefused()).isFalse();
+            }
+            assertThat(breaker.isHealingAllowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should refuse blacklisted locators and forbidden URLs")
+        void refuseBlacklistedAndForbidden() {
+            HealBlacklist blacklist = new HealBlacklist();
+            blacklist.addLocator(new LocatorInfo("id", "login-btn"), "Known flaky heal");
+            engine.setBlacklist(blacklist);
+
+            GuardrailResult blacklisted = engine.triage(createFailureContext("Click login"),
+                IntentContract.defaultContract("Click login"), "https://example.com/login");
+            assertThat(blacklisted.getType()).isEqualTo(GuardrailResult.GuardrailType.BLACKLISTED);
+
+            config.getGuardrails().setForbiddenUrlPatterns(List.of(".*admin.*"));
+            engine = new HealingEngine(config);
+            GuardrailResult forbidden = engine.triage(createFailureContext("Click login"),
+                IntentContract.defaultContract("Click login"), "https://example.com/admin");
+            assertThat(forbidden.isRefused()).isTrue();
+        }
+    }
+
     @Nested
     @DisplayName("Multi-step Healing")
     class MultiStepTests {
@@ -457,6 +585,106 @@ class HealingPipelineIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batched Healing")
+    class BatchedHealingTests {
+
+        @Test
+        @DisplayName("should heal all pending failures with one snapshot and one LLM call")
+        void healAllPendingInOneCall() {
+            AtomicInteger snapshotCount = new AtomicInteger(0);
+            AtomicInteger batchCalls = new AtomicInteger(0);
+            engine.setSnapshotCapture(failure -> {
+                snapshotCount.incrementAndGet();
+                return createSnapshot(testElements);
+            });
+            engine.setBatchLlmEvaluator(request -> {
+                batchCalls.incrementAndGet();
+                return Map.of(
+                    "user", HealDecision.canHeal(1, 0.92, "Username field"),
+                    "pass", HealDecision.canHeal(2, 0.9, "Password field"),
+                    "submit", HealDecision.cannotHeal("No submit button"));
+            });
+
+            List<BatchHealRequest.Item> pending = List.of(
+                new BatchHealRequest.Item("user", createFailureContext("Enter username"), null),
+                new BatchHealRequest.Item("pass", createFailureContext("Enter password"), null),
+                new BatchHealRequest.Item("submit", createFailureContext("Submit form"), null));
+
+            Map<String, HealResult> results = engine.attemptHealAll(pending, null);
+
+            assertThat(results.keySet()).containsExactly("user", "pass", "submit");
+            assertThat(results.get("user").getHealedLocator()).hasValue("name=username");
+            assertThat(results.get("pass").getHealedLocator()).hasValue("name=password");
+            assertThat(results.get("submit").isRefused()).isTrue();
+            assertThat(snapshotCount.get()).isEqualTo(1);
+            assertThat(batchCalls.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should leave the circuit breaker alone for speculative heals")
+        void speculativeHealsSkipCircuitBreaker() {
+            engine.setLlmEvaluator((failure, snapshot) -> HealDecision.canHeal(99, 0.9, "Missing element"));
+            List<BatchHealRequest.Item> pending = List.of(
+                new BatchHealRequest.Item("f1", createFailureContext("Click login"),
+                    IntentContract.defaultContract("Click login")));
+
+            for (int i = 0; i < config.getCircuitBreaker().getFailureThreshold() + 1; i++) {
+                assertThat(engine.preHealAll(pending, createSnapshot(testElements)).get("f1").isFailed()).isTrue();
+            }
+
+            assertThat(engine.getCircuitBreaker().getFailureCount()).isZero();
+            assertThat(engine.getCircuitBreaker().getState()).isEqualTo(CircuitState.CLOSED);
+        }
+
+        @Test
+        @DisplayName("should fall back to per-failure evaluation without a batch evaluator")
+        void fallBackToSingleEvaluator() {
+            AtomicInteger llmCalls = new AtomicInteger(0);
+            engine.setLlmEvaluator((failure, snapshot) -> {
+                llmCalls.incrementAndGet();
+                return HealDecision.canHeal(0, 0.9, "Found element");
+            });
+
+            List<BatchHealRequest.Item> pending = List.of(
+                new BatchHealRequest.Item("a", createFailureContext("Click login"), null),
+                new BatchHealRequest.Item("b", createFailureContext("Click login again"), null));
+
+            Map<String, HealResult> results = engine.attemptHealAll(pending, createSnapshot(testElements));
+
+            assertThat(results.values()).allMatch(HealResult::isSuccess);
+            assertThat(llmCalls.get()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should heal a flow's failures in a single batch")
+        void healFlowBatched() {
+            MultiStepFlowHealer flowHealer = new MultiStepFlowHealer();
+            flowHealer.registerFlow(MultiStepFlowHealer.FlowDefinition.builder("login")
+                .step("username", "enter username", null)
+                .step("password", "enter password", null)
+                .build());
+            flowHealer.startFlow("login", "exec-1");
+            flowHealer.recordStepFailure("exec-1", "username", new LocatorInfo("id", "user"));
+            flowHealer.recordStepFailure("exec-1", "password", new LocatorInfo("id", "pass"));
+
+            AtomicInteger batchCalls = new AtomicInteger(0);
+            MultiStepFlowHealer.FlowHealResult result = flowHealer.healFlowBatched("exec-1", requests -> {
+                batchCalls.incrementAndGet();
+                assertThat(requests).extracting(MultiStepFlowHealer.HealRequest::stepId)
+                    .containsExactly("username", "password");
+                return Map.of(
+                    "username", HealResult.success(1, 0.9, "ok", "name=username"),
+                    "password", HealResult.success(2, 0.9, "ok", "name=password"));
+            });
+
+            assertThat(result.success()).isTrue();
+            assertThat(result.successCount()).isEqualTo(2);
+            assertThat(batchCalls.get()).isEqualTo(1);
+            assertThat(flowHealer.getActiveExecutionCount()).isZero();
+        }
+    }
+
     @Nested
     @DisplayName("Circuit Breaker Integration")
     class CircuitBreakerIntegrationTests {
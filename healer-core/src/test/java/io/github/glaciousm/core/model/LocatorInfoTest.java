@@ -0,0 +1,53 @@
+package io.github.glaciousm.core.model;
+
+import io.github.glaciousm.core.model.LocatorInfo.LocatorStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for LocatorInfo parsing.
+ */
+@DisplayName("LocatorInfo")
+class LocatorInfoTest {
+
+    @Test
+    @DisplayName("should parse engine locators")
+    void parsesEngineFormat() {
+        assertThat(LocatorInfo.parse("xpath=//button[contains(text(),'Go')]"))
+                .isEqualTo(new LocatorInfo(LocatorStrategy.XPATH, "//button[contains(text(),'Go')]"));
+        assertThat(LocatorInfo.parse("name=q")).isEqualTo(new LocatorInfo(LocatorStrategy.NAME, "q"));
+        assertThat(LocatorInfo.parse("css=input[name=q]")).isEqualTo(new LocatorInfo(LocatorStrategy.CSS, "input[name=q]"));
+        assertThat(LocatorInfo.parse("class=btn")).isEqualTo(new LocatorInfo(LocatorStrategy.CLASS_NAME, "btn"));
+        assertThat(LocatorInfo.parse("partialLinkText=More")).isEqualTo(new LocatorInfo(LocatorStrategy.PARTIAL_LINK_TEXT, "More"));
+    }
+
+    @Test
+    @DisplayName("should round-trip toString")
+    void roundTrips() {
+        for (LocatorStrategy strategy : LocatorStrategy.values()) {
+            LocatorInfo locator = new LocatorInfo(strategy, "a=b");
+            assertThat(LocatorInfo.parse(locator.toString())).isEqualTo(locator);
+        }
+    }
+
+    @Test
+    @DisplayName("should parse Selenium's By strings")
+    void parsesByFormat() {
+        assertThat(LocatorInfo.parse("By.id: login")).isEqualTo(new LocatorInfo(LocatorStrategy.ID, "login"));
+        assertThat(LocatorInfo.parse("By.cssSelector: .btn[type='submit']"))
+                .isEqualTo(new LocatorInfo(LocatorStrategy.CSS, ".btn[type='submit']"));
+    }
+
+    @Test
+    @DisplayName("should take bare values as XPath or CSS")
+    void parsesBareValues() {
+        assertThat(LocatorInfo.parse("//a[@href='/']")).isEqualTo(new LocatorInfo(LocatorStrategy.XPATH, "//a[@href='/']"));
+        assertThat(LocatorInfo.parse("(//a)[2]")).isEqualTo(new LocatorInfo(LocatorStrategy.XPATH, "(//a)[2]"));
+        assertThat(LocatorInfo.parse("input[name=q]")).isEqualTo(new LocatorInfo(LocatorStrategy.CSS, "input[name=q]"));
+        assertThat(LocatorInfo.parse("data=x")).isEqualTo(new LocatorInfo(LocatorStrategy.CSS, "data=x"));
+        assertThatThrownBy(() -> LocatorInfo.parse(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.glaciousm.core.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StringPool")
+class StringPoolTest {
+
+    private final StringPool pool = new StringPool();
+
+    @Test
+    @DisplayName("should return the same instance for equal characters")
+    void returnsPooledInstance() {
+        String first = pool.intern(new StringBuilder("btn-primary"));
+        String second = pool.intern(new StringBuilder("btn-primary"));
+
+        assertThat(second).isEqualTo("btn-primary").isSameAs(first);
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should keep distinct strings apart while growing")
+    void growsWithoutLosingStrings() {
+        for (int i = 0; i < 1000; i++) {
+            pool.intern("class-" + i);
+        }
+
+        assertThat(pool.size()).isEqualTo(1000);
+        assertThat(pool.intern("class-500")).isEqualTo("class-500");
+        assertThat(pool.size()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("should pass through null and empty values")
+    void handlesNullAndEmpty() {
+        assertThat(pool.intern(null)).isNull();
+        assertThat(pool.intern("")).isEmpty();
+        assertThat(pool.internAll(List.of())).isEmpty();
+        assertThat(pool.size()).isZero();
+    }
+}
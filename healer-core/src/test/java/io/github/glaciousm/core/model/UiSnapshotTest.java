@@ -296,6 +296,23 @@ class UiSnapshotTest {
 
             assertThat(snapshot.getDomSnapshot()).isEmpty();
         }
+
+        @Test
+        @DisplayName("viewport should survive a JSON round trip")
+        void viewportShouldRoundTrip() throws Exception {
+            Viewport viewport = new Viewport(1280, 720, 0, 640.5, 2.0);
+            UiSnapshot snapshot = UiSnapshot.builder()
+                    .url("https://example.com")
+                    .viewport(viewport)
+                    .build();
+            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper()
+                    .findAndRegisterModules();
+
+            UiSnapshot read = mapper.readValue(mapper.writeValueAsString(snapshot), UiSnapshot.class);
+
+            assertThat(read.getViewport()).contains(viewport);
+            assertThat(UiSnapshot.builder().url("https://example.com").build().getViewport()).isEmpty();
+        }
     }
 
     @Nested
@@ -0,0 +1,178 @@
+package io.github.glaciousm.core.snapshot;
+
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StreamingHtmlSnapshotParser")
+class StreamingHtmlSnapshotParserTest {
+
+    private final StreamingHtmlSnapshotParser parser = new StreamingHtmlSnapshotParser();
+
+    private List<ElementSnapshot> parse(String body) {
+        return parser.parse("<html><head><title>Test</title></head><body>" + body + "</body></html>",
+                "https://example.com").getInteractiveElements();
+    }
+
+    @Nested
+    @DisplayName("element extraction")
+    class Extraction {
+
+        @Test
+        @DisplayName("should extract interactive elements in document order with their attributes")
+        void extractsAttributes() {
+            List<ElementSnapshot> elements = parse("""
+                    <div class="toolbar">
+                      <button id="save" class="btn  btn-primary" data-testid="save-btn" data-row="3">Save</button>
+                      <span>not interactive</span>
+                      <input type="text" name="q" placeholder="Search" value="shoes" disabled>
+                      <div role="button" tabindex="0" style="display: none">Hidden chip</div>
+                    </div>
+                    """);
+
+            assertThat(elements).extracting(ElementSnapshot::getTagName).containsExactly("button", "input", "div");
+            ElementSnapshot button = elements.get(0);
+            assertThat(button.getIndex()).isZero();
+            assertThat(button.getId()).isEqualTo("save");
+            assertThat(button.getClasses()).containsExactly("btn", "btn-primary");
+            assertThat(button.getText()).isEqualTo("Save");
+            assertThat(button.getDataAttributes()).isEqualTo(Map.of("testid", "save-btn", "row", "3"));
+            assertThat(elements.get(1).getValue()).isEqualTo("shoes");
+            assertThat(elements.get(1).isEnabled()).isFalse();
+            assertThat(elements.get(2).isVisible()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should use descendant text when an element has no text of its own")
+        void usesDescendantText() {
+            List<ElementSnapshot> elements = parse("""
+                    <a href="/cart"><span class="icon"></span><span>Cart</span> <b>(3)</b></a>
+                    <button>Add <i>to</i> basket</button>
+                    <a href="/help"><div>Help</div><div>Center</div></a>
+                    """);
+
+            assertThat(elements).extracting(ElementSnapshot::getText)
+                    .containsExactly("Cart (3)", "Add basket", "Help Center");
+        }
+
+        @Test
+        @DisplayName("should skip scripts, styles, comments and iframe markup and decode entities")
+        void skipsNonContent() {
+            UiSnapshot snapshot = parser.parse("""
+                    <html><head><title>Fish &amp; Chips</title>
+                    <script>document.write('<button>fake</button>');</script>
+                    <style>button::after { content: "<a href='x'>"; }</style></head>
+                    <body><!-- <button>commented</button> -->
+                    <iframe src="/frame"><button>fallback</button></iframe>
+                    <button title="Say &quot;hi&quot;">&euro;5&nbsp;off &#8211; today</button>
+                    </body></html>
+                    """, "https://example.com");
+
+            assertThat(snapshot.getTitle()).isEqualTo("Fish & Chips");
+            assertThat(snapshot.getInteractiveElements()).hasSize(1);
+            ElementSnapshot button = snapshot.getInteractiveElements().get(0);
+            assertThat(button.getTitle()).isEqualTo("Say \"hi\"");
+            assertThat(button.getText()).isEqualTo("€5 off – today");
+        }
+
+        @Test
+        @DisplayName("should close elements with implied end tags")
+        void impliedEndTags() {
+            List<ElementSnapshot> elements = parse("""
+                    <ul><li><a href="/1">One<li><a href="/2">Two</ul>
+                    <select name="size"><option>S<option>M<option>L</select>
+                    <p><a href="/3">Three<p>after
+                    """);
+
+            assertThat(elements).extracting(ElementSnapshot::getText)
+                    .containsExactly("One", "Two", "SML", "S", "M", "L", "Three");
+        }
+    }
+
+    @Nested
+    @DisplayName("context")
+    class Context {
+
+        @Test
+        @DisplayName("should resolve labels by for attribute, enclosing label and preceding label")
+        void resolvesLabels() {
+            List<ElementSnapshot> elements = parse("""
+                    <input id="email" type="email">
+                    <label for="email">Email address</label>
+                    <label>Remember me <input type="checkbox" name="remember"></label>
+                    <div><label>Phone</label><input name="phone"></div>
+                    """);
+
+            ElementSnapshot email = elements.get(0);
+            assertThat(email.getNearbyLabels()).containsExactly("Email address");
+            ElementSnapshot remember = elements.stream().filter(e -> "remember".equals(e.getName())).findFirst().orElseThrow();
+            assertThat(remember.getNearbyLabels()).containsExactly("Remember me");
+            ElementSnapshot phone = elements.stream().filter(e -> "phone".equals(e.getName())).findFirst().orElseThrow();
+            assertThat(phone.getNearbyLabels()).containsExactly("Phone");
+        }
+
+        @Test
+        @DisplayName("should describe the nearest form, dialog, section or nav as the container")
+        void resolvesContainers() {
+            List<ElementSnapshot> elements = parse("""
+                    <a href="/">Home</a>
+                    <form id="checkout" class="main wide"><div><button>Pay</button></div></form>
+                    <div role="dialog"><button>Close</button></div>
+                    """);
+
+            assertThat(elements).extracting(ElementSnapshot::getContainer)
+                    .containsExactly("body", "FORM#checkout.main", "DIV");
+        }
+    }
+
+    @Nested
+    @DisplayName("DOM retention")
+    class Retention {
+
+        @Test
+        @DisplayName("should keep the HTML only when asked")
+        void retainsDomOnRequest() throws IOException {
+            String html = "<html><body><button>Go</button></body></html>";
+
+            assertThat(parser.parse(html, "https://example.com").getDomSnapshot()).isEmpty();
+            UiSnapshot retained = new StreamingHtmlSnapshotParser(true)
+                    .parse(new StringReader(html), "https://example.com");
+            assertThat(retained.getDomSnapshot()).contains(html);
+            assertThat(retained.getInteractiveElements()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should flatten nesting beyond the depth limit")
+        void boundsDepth() {
+            int depth = StreamingHtmlSnapshotParser.MAX_DEPTH + 100;
+            String body = "<div>".repeat(depth) + "<button>Deep</button>" + "</div>".repeat(depth);
+
+            assertThat(parse(body)).singleElement()
+                    .satisfies(button -> assertThat(button.getTagName()).isEqualTo("button"));
+        }
+
+        @Test
+        @DisplayName("should share repeated strings between elements")
+        void sharesRepeatedStrings() {
+            List<ElementSnapshot> elements = parse("""
+                    <button class="btn btn-primary" role="tab">One</button>
+                    <button class="btn  btn-primary" role="tab">Two</button>
+                    """);
+
+            ElementSnapshot first = elements.get(0);
+            ElementSnapshot second = elements.get(1);
+            assertThat(second.getTagName()).isSameAs(first.getTagName());
+            assertThat(second.getAriaRole()).isSameAs(first.getAriaRole());
+            assertThat(second.getClasses().get(1)).isSameAs(first.getClasses().get(1));
+        }
+    }
+}
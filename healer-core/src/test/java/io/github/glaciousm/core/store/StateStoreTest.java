@@ -0,0 +1,298 @@
+package io.github.glaciousm.core.store;
+
+import io.github.glaciousm.core.engine.calibration.ConfidenceCalibrator;
+import io.github.glaciousm.core.engine.learning.PatternLearner;
+import io.github.glaciousm.core.engine.prediction.RegressionPredictor;
+import io.github.glaciousm.core.feedback.FeedbackApi;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StateStore")
+class StateStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    record Sample(String name, int count, Instant seenAt) {
+    }
+
+    private static List<Path> segments(Path familyDir) throws IOException {
+        try (Stream<Path> files = Files.list(familyDir)) {
+            return files.filter(p -> p.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("column families")
+    class Families {
+
+        @Test
+        @DisplayName("should read nothing until a family is accessed")
+        void opensLazily() throws IOException {
+            try (StateStore store = StateStore.open(tempDir)) {
+                store.family("samples", Sample.class).put("a", new Sample("a", 1, Instant.now()));
+            }
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                ColumnFamily<Sample> family = store.family("samples", Sample.class);
+                assertEquals(0, store.getStats().loadedFamilies());
+                assertFalse(family.isLoaded());
+
+                assertEquals(1, family.size());
+                assertEquals(1, store.getStats().loadedFamilies());
+            }
+        }
+
+        @Test
+        @DisplayName("should restore puts, deletes and clears after reopening")
+        void survivesReopen() throws IOException {
+            Instant seen = Instant.parse("2024-05-01T10:15:30Z");
+            try (StateStore store = StateStore.open(tempDir)) {
+                ColumnFamily<Sample> samples = store.family("samples", Sample.class);
+                samples.put("a", new Sample("a", 1, seen));
+                samples.put("b", new Sample("b", 2, seen));
+                samples.put("a", new Sample("a", 3, seen));
+                samples.delete("b");
+
+                ColumnFamily<Integer> counters = store.family("counters", Integer.class);
+                counters.put("x", 1);
+                counters.clear();
+                counters.put("y", 2);
+            }
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                Map<String, Sample> samples = store.family("samples", Sample.class).load();
+                assertEquals(Map.of("a", new Sample("a", 3, seen)), samples);
+                assertEquals(Map.of("y", 2), store.family("counters", Integer.class).load());
+            }
+        }
+
+        @Test
+        @DisplayName("should reject a family reopened with another type")
+        void rejectsTypeMismatch() throws IOException {
+            try (StateStore store = StateStore.open(tempDir)) {
+                store.family("samples", Sample.class);
+                assertThrows(IllegalArgumentException.class, () -> store.family("samples", String.class));
+                assertThrows(IllegalArgumentException.class, () -> store.family("../escape", String.class));
+            }
+        }
+
+        @Test
+        @DisplayName("should drop a torn record at the end of the log")
+        void truncatesTornTail() throws IOException {
+            try (StateStore store = StateStore.open(tempDir)) {
+                store.family("counters", Integer.class).put("x", 1);
+            }
+            Path segment = segments(tempDir.resolve("counters")).get(0);
+            long goodSize = Files.size(segment);
+            Files.write(segment, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                ColumnFamily<Integer> counters = store.family("counters", Integer.class);
+                assertEquals(Map.of("x", 1), counters.load());
+                assertEquals(goodSize, Files.size(segment));
+                counters.put("y", 2);
+            }
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                assertEquals(Map.of("x", 1, "y", 2), store.family("counters", Integer.class).load());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("compaction")
+    class Compaction {
+
+        @Test
+        @DisplayName("should rewrite overwritten records into a single segment")
+        void compactsOverwrites() throws IOException {
+            try (StateStore store = StateStore.open(tempDir, 1024)) {
+                ColumnFamily<Sample> samples = store.family("samples", Sample.class);
+                for (int i = 0; i < 500; i++) {
+                    samples.put("k" + (i % 5), new Sample("k", i, Instant.EPOCH));
+                }
+                store.compact();
+
+                assertTrue(store.getStats().compactions() > 0);
+                assertEquals(1, segments(tempDir.resolve("samples")).size());
+            }
+
+            try (StateStore store = StateStore.open(tempDir, 1024)) {
+                Map<String, Sample> samples = store.family("samples", Sample.class).load();
+                assertEquals(5, samples.size());
+                assertEquals(499, samples.get("k4").count());
+            }
+        }
+
+        @Test
+        @DisplayName("should keep every writer's records when stores share a directory")
+        void sharedDirectory() throws IOException {
+            try (StateStore first = StateStore.open(tempDir, 1024);
+                 StateStore second = StateStore.open(tempDir, 1024)) {
+                ColumnFamily<Integer> a = first.family("counters", Integer.class);
+                ColumnFamily<Integer> b = second.family("counters", Integer.class);
+                for (int i = 0; i < 50; i++) {
+                    a.put("a" + i, i);
+                    b.put("b" + i, i);
+                }
+                first.flush();
+                second.flush();
+                first.compact();
+                b.put("late", 1);
+                second.flush();
+            }
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                Map<String, Integer> merged = store.family("counters", Integer.class).load();
+                assertEquals(101, merged.size());
+                assertEquals(1, merged.get("late"));
+            }
+        }
+
+        @Test
+        @DisplayName("should keep many records across segment rollovers")
+        void bulkWrite() throws IOException {
+            int records = 10_000;
+            try (StateStore store = StateStore.open(tempDir, 64 * 1024)) {
+                ColumnFamily<Sample> samples = store.family("samples", Sample.class);
+                for (int i = 0; i < records; i++) {
+                    samples.put(String.format("%05d", i), new Sample("s" + i, i, Instant.EPOCH));
+                }
+                store.flush();
+
+                assertEquals(records, store.getStats().recordsWritten());
+                assertTrue(segments(tempDir.resolve("samples")).size() > 1);
+            }
+
+            try (StateStore store = StateStore.open(tempDir, 64 * 1024)) {
+                ColumnFamily<Sample> samples = store.family("samples", Sample.class);
+                assertEquals(records, samples.size());
+                assertEquals(new Sample("s1234", 1234, Instant.EPOCH), samples.get("01234").orElseThrow());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("learning subsystems")
+    class Subsystems {
+
+        @Test
+        @DisplayName("should restore calibration samples and model adjustments")
+        void calibrator() throws IOException {
+            try (StateStore store = StateStore.open(tempDir)) {
+                ConfidenceCalibrator calibrator = new ConfidenceCalibrator();
+                calibrator.setStateStore(store);
+                for (int i = 0; i < 12; i++) {
+                    calibrator.recordOutcome(0.85, i % 4 != 0, "model-a");
+                }
+            }
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                ConfidenceCalibrator restored = new ConfidenceCalibrator();
+                restored.setStateStore(store);
+
+                assertEquals(12, restored.getStats().totalSamples());
+                assertEquals(0.75, restored.calibrate(0.85), 0.0001);
+                assertNotEquals(restored.calibrate(0.85), restored.calibrate(0.85, "model-a"));
+            }
+        }
+
+        @Test
+        @DisplayName("should restore learned locator patterns")
+        void patternLearner() throws IOException {
+            try (StateStore store = StateStore.open(tempDir)) {
+                PatternLearner learner = new PatternLearner();
+                learner.setStateStore(store);
+                FeedbackApi.FeedbackRecord correction = new FeedbackApi.FeedbackRecord();
+                correction.setFeedbackType(FeedbackApi.FeedbackType.CORRECTION);
+                correction.setOriginalLocator("#submit-old");
+                correction.setHealedLocator("#cancel");
+                correction.setCorrectLocator("#submit-new");
+                correction.setStepText("When the user clicks the submit button");
+                learner.onFeedback(correction);
+                learner.onFeedback(correction);
+            }
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                PatternLearner restored = new PatternLearner();
+                restored.setStateStore(store);
+
+                assertEquals("#submit-new", restored.suggestHeal("#submit-old", null).orElseThrow().suggestedLocator());
+                assertTrue(restored.isKnownBadHeal("#submit-old", "#cancel"));
+                assertEquals(2, restored.getStats().totalCorrections());
+                assertEquals(1, restored.getStats().associationCount());
+            }
+        }
+
+        @Test
+        @DisplayName("should restore heal history for risk prediction")
+        void regressionPredictor() throws IOException {
+            LocatorInfo locator = new LocatorInfo("id", "checkout");
+            RegressionPredictor.RiskPrediction before;
+            try (StateStore store = StateStore.open(tempDir)) {
+                RegressionPredictor predictor = new RegressionPredictor();
+                predictor.setStateStore(store);
+                for (int i = 0; i < 4; i++) {
+                    predictor.recordHealEvent(new RegressionPredictor.HealEvent(
+                            locator, null, "https://shop.test/cart", 0.6, i % 2 == 0, Instant.now()));
+                }
+                before = predictor.predictLocatorRisk(locator);
+            }
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                RegressionPredictor restored = new RegressionPredictor();
+                restored.setStateStore(store);
+
+                RegressionPredictor.RiskPrediction after = restored.predictLocatorRisk(locator);
+                assertEquals(before.riskScore(), after.riskScore(), 0.0001);
+                assertEquals(2, restored.predictPageRisk("https://shop.test/cart").totalFailures());
+            }
+        }
+
+        @Test
+        @DisplayName("should not read the store until the subsystem is used")
+        void restoresLazily() throws IOException {
+            try (StateStore store = StateStore.open(tempDir)) {
+                RegressionPredictor predictor = new RegressionPredictor();
+                predictor.setStateStore(store);
+
+                assertEquals(0, store.getStats().loadedFamilies());
+                predictor.predictPageRisk("https://shop.test/cart");
+                assertEquals(3, store.getStats().loadedFamilies());
+            }
+        }
+
+        @Test
+        @DisplayName("should restore feedback history")
+        void feedbackApi() throws IOException {
+            try (StateStore store = StateStore.open(tempDir)) {
+                FeedbackApi api = new FeedbackApi(null, null);
+                api.setStateStore(store);
+                api.submitPositive("heal-1", "looks right");
+                api.submitNegative("heal-2", "wrong button", "#ok");
+            }
+
+            try (StateStore store = StateStore.open(tempDir)) {
+                FeedbackApi restored = new FeedbackApi(null, null);
+                restored.setStateStore(store);
+
+                assertEquals(FeedbackApi.FeedbackType.NEGATIVE,
+                        restored.getFeedback("heal-2").orElseThrow().getFeedbackType());
+                assertEquals(2, restored.getRecentFeedback(10).size());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.glaciousm.core.util;
+
+import io.github.glaciousm.core.model.SourceLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SourceFileIndex")
+class SourceFileIndexTest {
+
+    @TempDir
+    Path root;
+
+    private Path pageFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path dir = root.resolve("src/test/java/com/acme/pages");
+        Files.createDirectories(dir);
+        pageFile = dir.resolve("LoginPage.java");
+        Files.writeString(pageFile, "package com.acme.pages;\r\n\r\nclass LoginPage {\r\n    By user = By.id(\"user\");\r\n}\r\n");
+    }
+
+    @Nested
+    @DisplayName("Indexing")
+    class IndexingTests {
+
+        @Test
+        @DisplayName("should index source files by package-relative path")
+        void indexesByRelativePath() throws InterruptedException {
+            SourceFileIndex index = SourceFileIndex.forRoots(List.of(root.toString()), List.of("src/test/java"));
+
+            assertThat(index.awaitReady(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(index.size()).isEqualTo(1);
+            assertThat(index.find("com/acme/pages/LoginPage.java"))
+                    .contains(pageFile.toAbsolutePath().normalize());
+            assertThat(index.find("com/acme/pages/Missing.java")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should share one index per set of roots")
+        void sharesIndexPerRoots() {
+            SourceFileIndex first = SourceFileIndex.forRoots(List.of(root.toString()), List.of("src/test/java"));
+            SourceFileIndex second = SourceFileIndex.forRoots(List.of(root.toString()), List.of("src/test/java"));
+
+            assertThat(first).isSameAs(second);
+        }
+    }
+
+    @Nested
+    @DisplayName("Line lookup")
+    class LineLookupTests {
+
+        @Test
+        @DisplayName("should read lines without line terminators")
+        void readsLines() {
+            SourceFileIndex index = SourceFileIndex.forRoots(List.of(root.toString()), List.of("src/test/java"));
+
+            assertThat(index.readLine(pageFile.toString(), 4)).isEqualTo("    By user = By.id(\"user\");");
+            assertThat(index.readLine(pageFile.toString(), 2)).isEmpty();
+            assertThat(index.readLine(pageFile.toString(), 6)).isNull();
+            assertThat(index.readLine(pageFile.toString(), 0)).isNull();
+        }
+
+        @Test
+        @DisplayName("should reload a file after it changes")
+        void reloadsChangedFile() throws IOException {
+            SourceFileIndex index = SourceFileIndex.forRoots(List.of(root.toString()), List.of("src/test/java"));
+            assertThat(index.readLine(pageFile.toString(), 1)).isEqualTo("package com.acme.pages;");
+
+            Files.writeString(pageFile, "package com.acme.other;\n");
+            Files.setLastModifiedTime(pageFile, FileTime.from(Instant.now().plusSeconds(60)));
+
+            assertThat(index.readLine(pageFile.toString(), 1)).isEqualTo("package com.acme.other;");
+        }
+    }
+
+    @Nested
+    @DisplayName("StackTraceAnalyzer integration")
+    class AnalyzerTests {
+
+        @Test
+        @DisplayName("should resolve file and locator code for a user frame")
+        void resolvesUserFrame() {
+            StackTraceAnalyzer analyzer = new StackTraceAnalyzer(List.of(root.toString()));
+            Exception exception = new Exception("not found");
+            exception.setStackTrace(new StackTraceElement[]{
+                    new StackTraceElement("org.openqa.selenium.By", "findElement", "By.java", 10),
+                    new StackTraceElement("com.acme.pages.LoginPage$Inner", "login", "LoginPage.java", 4)
+            });
+
+            Optional<SourceLocation> location = analyzer.extractSourceLocation(exception);
+
+            assertThat(location).isPresent();
+            assertThat(Path.of(location.get().getFilePath()).getFileName().toString()).isEqualTo("LoginPage.java");
+            assertThat(location.get().getLocatorCode()).isEqualTo("    By user = By.id(\"user\");");
+        }
+    }
+}
@@ -4,13 +4,18 @@ import io.github.glaciousm.core.config.AutoUpdateConfig;
 import io.github.glaciousm.core.config.ConfigLoader;
 import io.github.glaciousm.core.config.HealerConfig;
 import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.engine.coordinator.HealCoordinator;
+import io.github.glaciousm.core.engine.coordinator.HealCoordinators;
+import io.github.glaciousm.core.engine.execution.OutcomeValidator;
 import io.github.glaciousm.core.engine.patch.SourceCodeUpdater;
 import io.github.glaciousm.core.engine.patch.ValidatedHealRegistry;
 import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.cucumber.annotations.Intent;
 import io.github.glaciousm.cucumber.annotations.Outcome;
+import io.github.glaciousm.cucumber.intent.IntentExtractor;
 import io.github.glaciousm.llm.LlmOrchestrator;
 import io.github.glaciousm.selenium.actions.ActionExecutor;
+import io.github.glaciousm.selenium.snapshot.PageFactScript;
 import io.github.glaciousm.selenium.snapshot.SnapshotBuilder;
 import io.cucumber.plugin.ConcurrentEventListener;
 import io.cucumber.plugin.event.*;
@@ -19,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,9 +44,12 @@ public class HealerCucumberPlugin implements ConcurrentEventListener {
     private final HealerConfig config;
     private final HealingEngine healingEngine;
     private final LlmOrchestrator llmOrchestrator;
+    private final HealCoordinator coordinator;
     private final Map<String, ScenarioContext> scenarioContexts = new ConcurrentHashMap<>();
     private final ValidatedHealRegistry healRegistry;
     private final SourceCodeUpdater sourceCodeUpdater;
+    private final IntentExtractor intentExtractor = new IntentExtractor();
+    private final OutcomeValidator outcomeValidator = new OutcomeValidator();
 
     // These need to be set by the test framework
     private static Supplier<WebDriver> webDriverSupplier;
@@ -50,6 +59,10 @@ public class HealerCucumberPlugin implements ConcurrentEventListener {
         this.config = new ConfigLoader().load();
         this.healingEngine = new HealingEngine(config);
         this.llmOrchestrator = new LlmOrchestrator();
+        this.llmOrchestrator.setCircuitBreaker(healingEngine.getCircuitBreaker());
+        this.llmOrchestrator.warmUp(config.getLlm());
+        // Step heals have no locator to share, but draw on the LLM budget shared by forks
+        this.coordinator = HealCoordinators.create(config.getCoordinator());
         this.healRegistry = new ValidatedHealRegistry();
 
         // Initialize source code updater if auto-update is enabled
@@ -245,11 +258,12 @@ public class HealerCucumberPlugin implements ConcurrentEventListener {
     }
 
     private IntentContract getIntentContract(PickleStepTestStep step) {
-        // Try to get the step definition method and its annotations
-        // This is a simplified version - real implementation would use Cucumber internals
+        // Register the glue class behind this step so its @Intent annotations are indexed
+        intentExtractor.registerFromCodeLocation(step.getCodeLocation());
 
-        // For now, return default contract
-        return IntentContract.defaultContract(step.getStep().getText());
+        String stepText = step.getStep().getText();
+        return intentExtractor.extractIntentByStepText(stepText)
+                .orElseGet(() -> IntentContract.defaultContract(stepText));
     }
 
     private void attemptHealing(FailureContext failure, IntentContract intent, ScenarioContext context) {
@@ -263,14 +277,33 @@ public class HealerCucumberPlugin implements ConcurrentEventListener {
         healingEngine.setSnapshotCapture(f ->
                 new SnapshotBuilder(driver, config.getSnapshot()).capture(f));
 
-        healingEngine.setLlmEvaluator((f, s) ->
-                llmOrchestrator.evaluateCandidates(f, s, intent, config.getLlm()));
+        healingEngine.setLlmEvaluator((f, s) -> withLlmPermit(() -> llmOrchestrator.evaluateCandidates(
+                f, s, intent, config.getLlm(), LlmOrchestrator.deadlineFor(f, config.getLlm()))));
+
+        healingEngine.setBatchLlmEvaluator(request -> withLlmPermit(() -> llmOrchestrator.evaluateCandidatesBatch(
+                request, config.getLlm(), LlmOrchestrator.deadlineFor(request, config.getLlm()))));
+
+        healingEngine.setRejectedDecisionHandler((f, s) ->
+                llmOrchestrator.evictCachedDecision(f, s, intent, config.getLlm()));
+
+        healingEngine.setRejectedBatchHandler(request ->
+                llmOrchestrator.evictCachedBatch(request, config.getLlm()));
 
         healingEngine.setActionExecutor((action, element, data) -> {
             new ActionExecutor(driver, config.getGuardrails()).execute(action, element, data);
             return null;
         });
 
+        // Run the step's declared checks after the healed action, reading the page once for all of them
+        if (intent.getOutcomeCheck() != null || !intent.getInvariants().isEmpty()) {
+            PageFactScript pageFacts = new PageFactScript(driver);
+            healingEngine.setOutcomeValidator(ctx -> outcomeValidator
+                    .validate(driver, ctx.getBeforeSnapshot(), pageFacts, intent)
+                    .toOutcomeResult());
+        } else {
+            healingEngine.setOutcomeValidator(null);
+        }
+
         // Attempt the heal
         HealResult result = healingEngine.attemptHeal(failure, intent);
 
@@ -287,6 +320,25 @@ public class HealerCucumberPlugin implements ConcurrentEventListener {
         }
     }
 
+    /**
+     * Run an LLM call inside the LLM concurrency budget shared with other forks.
+     * When no slot frees up in time the call proceeds anyway rather than failing the heal.
+     */
+    private <T> T withLlmPermit(Supplier<T> call) {
+        Duration maxWait = Duration.ofSeconds(config.getCoordinator().getClaimTimeoutSeconds());
+        boolean granted = coordinator.acquireLlmPermit(maxWait);
+        if (!granted) {
+            logger.debug("No LLM slot free within {}s, calling without one", maxWait.toSeconds());
+        }
+        try {
+            return call.get();
+        } finally {
+            if (granted) {
+                coordinator.releaseLlmPermit();
+            }
+        }
+    }
+
     private WebDriver getWebDriver() {
         WebDriver driver = currentDriver.get();
         if (driver != null) {
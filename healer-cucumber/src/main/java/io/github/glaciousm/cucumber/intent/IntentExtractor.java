@@ -11,10 +11,15 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Extracts intent contracts from step definition methods annotated with @Intent.
@@ -26,19 +31,83 @@ public class IntentExtractor {
     // Cache of extracted intents by method signature
     private final Map<String, IntentContract> intentCache = new ConcurrentHashMap<>();
 
+    // Maximum number of step texts kept in the step text cache
+    private static final int MAX_STEP_TEXT_CACHE_SIZE = 1024;
+
     // Step definition class registry
-    private final List<Class<?>> stepDefinitionClasses = new ArrayList<>();
+    private final List<Class<?>> stepDefinitionClasses = new CopyOnWriteArrayList<>();
+
+    // Compiled step patterns of all registered classes
+    private final StepPatternIndex stepPatternIndex = new StepPatternIndex();
+
+    // Code locations already resolved by registerFromCodeLocation
+    private final Set<String> resolvedCodeLocations = ConcurrentHashMap.newKeySet();
+
+    // Bounded cache of lookups by step text (empty when no step definition matched)
+    private final Map<String, Optional<IntentContract>> stepTextCache =
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Optional<IntentContract>> eldest) {
+                    return size() > MAX_STEP_TEXT_CACHE_SIZE;
+                }
+            };
 
     public IntentExtractor() {
     }
 
     /**
      * Register step definition classes for intent extraction.
+     * The step patterns of the class are compiled once and added to the dispatch index.
      */
-    public void registerStepDefinitionClass(Class<?> clazz) {
-        if (!stepDefinitionClasses.contains(clazz)) {
-            stepDefinitionClasses.add(clazz);
-            logger.debug("Registered step definition class: {}", clazz.getName());
+    public synchronized void registerStepDefinitionClass(Class<?> clazz) {
+        if (stepDefinitionClasses.contains(clazz)) {
+            return;
+        }
+        stepDefinitionClasses.add(clazz);
+
+        for (Method method : clazz.getDeclaredMethods()) {
+            String pattern = extractStepPattern(method);
+            if (pattern == null) {
+                continue;
+            }
+            try {
+                stepPatternIndex.add(pattern, Pattern.compile(cucumberPatternToRegex(pattern)), method);
+            } catch (PatternSyntaxException e) {
+                logger.debug("Skipping step pattern '{}' of {}: {}", pattern, method.getName(), e.getMessage());
+            }
+        }
+
+        // Earlier misses may now match
+        synchronized (stepTextCache) {
+            stepTextCache.clear();
+        }
+        logger.debug("Registered step definition class: {}", clazz.getName());
+    }
+
+    /**
+     * Register the step definition class behind a Cucumber code location,
+     * e.g. {@code com.acme.steps.LoginSteps.login(java.lang.String)}.
+     * Each location is resolved only once; unknown classes are ignored.
+     */
+    public void registerFromCodeLocation(String codeLocation) {
+        if (codeLocation == null || !resolvedCodeLocations.add(codeLocation)) {
+            return;
+        }
+
+        int paren = codeLocation.indexOf('(');
+        String qualifiedMethod = paren > 0 ? codeLocation.substring(0, paren) : codeLocation;
+        int lastDot = qualifiedMethod.lastIndexOf('.');
+        if (lastDot <= 0) {
+            return;
+        }
+
+        String className = qualifiedMethod.substring(0, lastDot);
+        try {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            registerStepDefinitionClass(Class.forName(className, false,
+                    loader != null ? loader : IntentExtractor.class.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.debug("Could not load step definition class {}: {}", className, e.getMessage());
         }
     }
 
@@ -120,29 +189,22 @@ public class IntentExtractor {
      * Extract intent from step text by searching registered step definitions.
      */
     public Optional<IntentContract> extractIntentByStepText(String stepText) {
-        for (Class<?> clazz : stepDefinitionClasses) {
-            for (Method method : clazz.getDeclaredMethods()) {
-                if (matchesStepText(method, stepText)) {
-                    return extractIntent(method);
-                }
-            }
+        if (stepText == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
-    }
 
-    /**
-     * Check if a method matches a step text based on Cucumber annotations.
-     */
-    private boolean matchesStepText(Method method, String stepText) {
-        // Check common Cucumber step annotations
-        String pattern = extractStepPattern(method);
-        if (pattern == null) {
-            return false;
+        synchronized (stepTextCache) {
+            Optional<IntentContract> cached = stepTextCache.get(stepText);
+            if (cached != null) {
+                return cached;
+            }
         }
 
-        // Convert Cucumber pattern to regex
-        String regex = cucumberPatternToRegex(pattern);
-        return stepText.matches(regex);
+        Optional<IntentContract> intent = stepPatternIndex.find(stepText).flatMap(this::extractIntent);
+        synchronized (stepTextCache) {
+            stepTextCache.put(stepText, intent);
+        }
+        return intent;
     }
 
     /**
@@ -229,6 +291,9 @@ public class IntentExtractor {
      */
     public void clearCache() {
         intentCache.clear();
+        synchronized (stepTextCache) {
+            stepTextCache.clear();
+        }
     }
 
     /**
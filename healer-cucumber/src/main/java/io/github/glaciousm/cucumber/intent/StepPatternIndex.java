@@ -0,0 +1,122 @@
+package io.github.glaciousm.cucumber.intent;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Dispatch index from step text to step definition method.
+ * <p>
+ * Each step pattern is compiled once when it is added. Patterns are stored in a
+ * character trie keyed by their literal prefix (the text before the first regex
+ * construct), so a lookup only runs the compiled patterns whose prefix
+ * matches the start of the step text. When several patterns match, the one added
+ * first wins, as with a linear scan over the registered methods.
+ */
+class StepPatternIndex {
+
+    private static final String REGEX_META = "\\^$.|?*+()[]{}";
+
+    private final Node root = new Node();
+    private int nextOrdinal;
+    private int size;
+
+    /**
+     * A compiled step pattern and the method it dispatches to.
+     */
+    record Entry(int ordinal, String pattern, Pattern compiled, Method method) {
+    }
+
+    /**
+     * Adds a compiled pattern for the given method.
+     *
+     * @param pattern  the original step pattern (Cucumber expression or regex)
+     * @param compiled the compiled regex the pattern was converted to
+     * @param method   the step definition method
+     */
+    synchronized void add(String pattern, Pattern compiled, Method method) {
+        Node node = root;
+        for (char c : literalPrefix(compiled.pattern()).toCharArray()) {
+            node = node.children.computeIfAbsent(c, k -> new Node());
+        }
+        node.entries.add(new Entry(nextOrdinal++, pattern, compiled, method));
+        size++;
+    }
+
+    /**
+     * Finds the first-added method whose pattern fully matches the step text.
+     */
+    Optional<Method> find(String stepText) {
+        if (stepText == null) {
+            return Optional.empty();
+        }
+
+        List<Entry> candidates = new ArrayList<>(root.entries);
+        Node node = root;
+        for (int i = 0; i < stepText.length(); i++) {
+            node = node.children.get(stepText.charAt(i));
+            if (node == null) {
+                break;
+            }
+            candidates.addAll(node.entries);
+        }
+
+        return candidates.stream()
+                .sorted(Comparator.comparingInt(Entry::ordinal))
+                .filter(entry -> entry.compiled().matcher(stepText).matches())
+                .map(Entry::method)
+                .findFirst();
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the literal text every string matched by the regex must start with.
+     * Stops at the first regex construct; a regex with top-level alternation has no
+     * common prefix.
+     */
+    static String literalPrefix(String regex) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return "";
+            }
+        }
+
+        String body = regex.startsWith("^") ? regex.substring(1) : regex;
+        int end = 0;
+        while (end < body.length() && REGEX_META.indexOf(body.charAt(end)) < 0) {
+            end++;
+        }
+        // A quantifier applies to the preceding literal character, so exclude it
+        if (end > 0 && end < body.length() && "*+?{".indexOf(body.charAt(end)) >= 0) {
+            end--;
+        }
+        return body.substring(0, end);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new ConcurrentHashMap<>();
+        private final List<Entry> entries = new CopyOnWriteArrayList<>();
+    }
+}
@@ -79,9 +79,8 @@ public class HealerCucumberReportPlugin implements ConcurrentEventListener {
             info.duration = event.getResult().getDuration().toMillis();
 
             // Capture heals for this scenario
-            List<HealedLocator> allHeals = HealingSummary.getInstance().getHealedLocators();
-            if (info.startHealsCount < allHeals.size()) {
-                info.heals = new ArrayList<>(allHeals.subList(info.startHealsCount, allHeals.size()));
+            if (info.startHealsCount < endHealsCount) {
+                info.heals = HealingSummary.getInstance().getHealedLocators(info.startHealsCount);
             }
 
             scenarioResults.add(new ScenarioResult(info));
@@ -101,7 +100,7 @@ public class HealerCucumberReportPlugin implements ConcurrentEventListener {
         Path outputFile = Path.of(outputPath);
         Files.createDirectories(outputFile.getParent());
 
-        List<HealedLocator> allHeals = HealingSummary.getInstance().getHealedLocators();
+        List<HealedLocator> allHeals = HealingSummary.getInstance().getHealedLocators(0);
 
         String html = generateHtml(allHeals);
 
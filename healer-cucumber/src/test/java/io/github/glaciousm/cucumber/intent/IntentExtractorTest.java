@@ -0,0 +1,129 @@
+package io.github.glaciousm.cucumber.intent;
+
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.cucumber.annotations.Intent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IntentExtractorTest {
+
+    private IntentExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        extractor = new IntentExtractor();
+    }
+
+    // ===== Test matching step text against registered patterns =====
+
+    @Test
+    void extractIntentByStepText_matchesCucumberExpression() {
+        extractor.registerStepDefinitionClass(LoginSteps.class);
+
+        Optional<IntentContract> intent = extractor.extractIntentByStepText("I log in as \"alice\" with pin 1234");
+
+        assertThat(intent).isPresent();
+        assertThat(intent.get().getAction()).isEqualTo("login");
+    }
+
+    @Test
+    void extractIntentByStepText_matchesAnchoredRegex() {
+        extractor.registerStepDefinitionClass(LoginSteps.class);
+
+        Optional<IntentContract> intent = extractor.extractIntentByStepText("I click the Submit button");
+
+        assertThat(intent).isPresent();
+        assertThat(intent.get().getAction()).isEqualTo("click");
+    }
+
+    @Test
+    void extractIntentByStepText_matchesPatternWithoutLiteralPrefix() {
+        extractor.registerStepDefinitionClass(LoginSteps.class);
+
+        Optional<IntentContract> intent = extractor.extractIntentByStepText("\"Dashboard\" page is shown");
+
+        assertThat(intent).isPresent();
+        assertThat(intent.get().getAction()).isEqualTo("verify_page");
+    }
+
+    @Test
+    void extractIntentByStepText_returnsEmptyForUnknownStep() {
+        extractor.registerStepDefinitionClass(LoginSteps.class);
+
+        assertThat(extractor.extractIntentByStepText("I log out")).isEmpty();
+        assertThat(extractor.extractIntentByStepText("I log in as alice")).isEmpty();
+    }
+
+    @Test
+    void extractIntentByStepText_returnsEmptyForMethodWithoutIntent() {
+        extractor.registerStepDefinitionClass(LoginSteps.class);
+
+        assertThat(extractor.extractIntentByStepText("I am on the home page")).isEmpty();
+    }
+
+    @Test
+    void extractIntentByStepText_findsClassRegisteredAfterMiss() {
+        assertThat(extractor.extractIntentByStepText("I click the Submit button")).isEmpty();
+
+        extractor.registerStepDefinitionClass(LoginSteps.class);
+
+        assertThat(extractor.extractIntentByStepText("I click the Submit button")).isPresent();
+    }
+
+    // ===== Test registration from Cucumber code locations =====
+
+    @Test
+    void registerFromCodeLocation_registersGlueClass() {
+        extractor.registerFromCodeLocation(LoginSteps.class.getName() + ".login(java.lang.String,int)");
+
+        assertThat(extractor.extractIntentByStepText("I log in as \"bob\" with pin 42")).isPresent();
+    }
+
+    @Test
+    void registerFromCodeLocation_ignoresUnknownClass() {
+        assertThatCode(() -> extractor.registerFromCodeLocation("com.example.Missing.step()"))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> extractor.registerFromCodeLocation("not a location"))
+                .doesNotThrowAnyException();
+    }
+
+    // ===== Test literal prefix extraction =====
+
+    @Test
+    void literalPrefix_stopsAtFirstRegexConstruct() {
+        assertThat(StepPatternIndex.literalPrefix("I log in as \"([^\"]*)\"")).isEqualTo("I log in as \"");
+        assertThat(StepPatternIndex.literalPrefix("^I click the (.*) button$")).isEqualTo("I click the ");
+        assertThat(StepPatternIndex.literalPrefix("I see items?")).isEqualTo("I see item");
+        assertThat(StepPatternIndex.literalPrefix("I click|I press")).isEmpty();
+        assertThat(StepPatternIndex.literalPrefix("I (click|press) it")).isEqualTo("I ");
+    }
+
+    static class LoginSteps {
+
+        @Given("I am on the home page")
+        public void onHomePage() {
+        }
+
+        @When("I log in as {string} with pin {int}")
+        @Intent(action = "login", description = "Log in with credentials")
+        public void login(String user, int pin) {
+        }
+
+        @When("^I click the (.*) button$")
+        @Intent(action = "click", description = "Click a button")
+        public void clickButton(String name) {
+        }
+
+        @Then("{string} page is shown")
+        @Intent(action = "verify_page", description = "Verify the page")
+        public void pageShown(String page) {
+        }
+    }
+}
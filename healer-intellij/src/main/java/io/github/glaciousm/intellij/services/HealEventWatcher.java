@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
+import io.github.glaciousm.core.engine.history.HealEventLog;
 import io.github.glaciousm.intellij.settings.HealerSettings;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -18,8 +19,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Watches for new heal events from the healing engine in real-time.
- * Monitors the healer-reports directory for new JSON report files and
- * pushes heal events to the IntelliJ plugin UI.
+ * Follows the engine's heal event log in the healer-reports directory, reading only what
+ * was appended since the last read, and pushes heal events to the IntelliJ plugin UI.
+ *
+ * <p>Engines that do not write the event log ({@code report.event_log: false}) are still
+ * followed through their JSON report files, which are parsed whole as they appear.</p>
  */
 public class HealEventWatcher implements Disposable {
 
@@ -93,6 +97,11 @@ public class HealEventWatcher implements Disposable {
 
         logger.info("Started watching for heal events in: {}", watchedDirectory);
         notifyWatchingStarted();
+
+        // Pick up heals logged since the history was loaded
+        if (hasEventLog()) {
+            watcherExecutor.submit(this::processEventLog);
+        }
     }
 
     /**
@@ -178,7 +187,9 @@ public class HealEventWatcher implements Disposable {
                     Path fileName = pathEvent.context();
                     Path filePath = watchedDirectory.resolve(fileName);
 
-                    if (isHealReportFile(filePath)) {
+                    if (HealEventLog.FILE_NAME.equals(fileName.toString())) {
+                        processEventLog();
+                    } else if (isHealReportFile(filePath) && !hasEventLog()) {
                         processHealReportFile(filePath);
                     }
                 }
@@ -200,6 +211,10 @@ public class HealEventWatcher implements Disposable {
         if (!watching.get() || !Files.exists(watchedDirectory)) {
             return;
         }
+        if (hasEventLog()) {
+            processEventLog();
+            return;
+        }
 
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(watchedDirectory, "healer-report-*.json")) {
             for (Path file : stream) {
@@ -212,6 +227,19 @@ public class HealEventWatcher implements Disposable {
         }
     }
 
+    private boolean hasEventLog() {
+        return Files.exists(watchedDirectory.resolve(HealEventLog.FILE_NAME));
+    }
+
+    /**
+     * Read the heals appended to the event log since the last read.
+     */
+    private synchronized void processEventLog() {
+        for (HealerProjectService.HealHistoryEntry entry : healerService.pollEvents()) {
+            notifyHealEventReceived(entry);
+        }
+    }
+
     /**
      * Check if a file is a heal report file.
      */
@@ -6,41 +6,66 @@ import com.intellij.notification.NotificationGroupManager;
 import com.intellij.notification.NotificationType;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
+import io.github.glaciousm.core.engine.history.HealEventLog;
+import io.github.glaciousm.core.engine.history.HealEventRecord;
 import io.github.glaciousm.intellij.settings.HealerSettings;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.File;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Project-level service for Intent Healer.
  * Manages heal history, cache, and project-specific state.
+ *
+ * <p>Heal history is read from the engine's heal event log in the reports directory. Only
+ * the newest page is loaded up front; older pages are read through the log's index when
+ * asked for, and new heals are picked up by {@link #pollEvents()} from the last byte offset
+ * read. Accept, reject and blacklist decisions are appended to a small status file in the
+ * cache directory instead of rewriting the history.</p>
  */
 public class HealerProjectService implements Disposable {
 
+    /** Heals read from the event log at a time. */
+    public static final int PAGE_SIZE = 100;
+
+    /** Above this many new heals in one poll, a single summary notification is shown. */
+    private static final int MAX_NOTIFICATIONS_PER_POLL = 3;
+
     private final Project project;
     private final ObjectMapper objectMapper;
     private final List<HealHistoryEntry> healHistory;
+    private final Map<String, StatusChange> statusChanges;
     private final List<HealHistoryListener> listeners;
     private final List<BlacklistEntry> blacklistEntries;
     private final List<LocatorStabilityEntry> stabilityEntries;
     private volatile TrustLevelInfo currentTrustLevel;
 
+    // Position in the event log, guarded by this
+    private long tailOffset;
+    private long oldestLoadedIndex;
+    private long legacyEntries;
+
     public HealerProjectService(@NotNull Project project) {
         this.project = project;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
         this.healHistory = new CopyOnWriteArrayList<>();
+        this.statusChanges = new ConcurrentHashMap<>();
         this.listeners = new CopyOnWriteArrayList<>();
         this.blacklistEntries = new CopyOnWriteArrayList<>();
         this.stabilityEntries = new CopyOnWriteArrayList<>();
         this.currentTrustLevel = new TrustLevelInfo("L0_SHADOW", 0, 0, 0.0);
 
+        loadStatusChanges();
         loadHistory();
         loadBlacklist();
         loadStability();
@@ -51,40 +76,123 @@ public class HealerProjectService implements Disposable {
     }
 
     /**
-     * Get recent heal history.
+     * Get the loaded heal history, newest first.
      */
     public List<HealHistoryEntry> getHealHistory() {
         return Collections.unmodifiableList(healHistory);
     }
 
     /**
-     * Get heal history with pagination.
+     * Get heal history with pagination, newest first. Older pages are read from the event
+     * log as they are asked for.
      */
     public List<HealHistoryEntry> getHealHistory(int offset, int limit) {
+        while (offset + limit > healHistory.size()) {
+            if (loadOlder(PAGE_SIZE) == 0) {
+                break;
+            }
+        }
         int start = Math.min(offset, healHistory.size());
         int end = Math.min(start + limit, healHistory.size());
-        return healHistory.subList(start, end);
+        return List.copyOf(healHistory.subList(start, end));
     }
 
     /**
-     * Add a heal history entry.
+     * Whether the event log holds heals older than those loaded.
      */
-    public void addHealEntry(HealHistoryEntry entry) {
-        healHistory.add(0, entry);
+    public synchronized boolean hasOlderHistory() {
+        return oldestLoadedIndex > 0;
+    }
 
-        HealerSettings settings = HealerSettings.getInstance();
-        while (healHistory.size() > settings.maxHistoryEntries) {
-            healHistory.remove(healHistory.size() - 1);
+    /**
+     * Number of heals in the event log, plus heals read from report files.
+     */
+    public long getTotalHealCount() {
+        try {
+            return getEventLog().count() + legacyEntries;
+        } catch (IOException e) {
+            return healHistory.size();
         }
+    }
 
-        notifyListeners(entry);
+    /**
+     * Number of heals nobody has accepted, rejected or blacklisted yet.
+     */
+    public long getPendingHealCount() {
+        return Math.max(0, getTotalHealCount() - statusChanges.size());
+    }
+
+    /**
+     * Read the heals appended to the event log since the last poll, add them to the history
+     * and notify listeners.
+     *
+     * @return the new heals, oldest first
+     */
+    public List<HealHistoryEntry> pollEvents() {
+        List<HealHistoryEntry> added = new ArrayList<>();
+        boolean restarted;
+        synchronized (this) {
+            long previous = tailOffset;
+            try {
+                tailOffset = getEventLog().tail(previous, record -> added.add(toEntry(record)));
+            } catch (IOException e) {
+                return List.of();
+            }
+            restarted = tailOffset < previous;
+            if (!restarted) {
+                for (HealHistoryEntry entry : added) {
+                    prepend(entry);
+                }
+            }
+        }
+
+        if (restarted) {
+            // The log was cleared or replaced; start over from its newest page
+            refresh();
+            return List.of();
+        }
+        for (HealHistoryEntry entry : added) {
+            notifyListeners(entry);
+        }
+        notifyNewHeals(added);
+        return added;
+    }
 
-        if (settings.persistHealHistory) {
-            saveHistory();
+    /**
+     * Add a heal history entry that did not come from the event log, such as one read from
+     * a report file.
+     */
+    public void addHealEntry(HealHistoryEntry entry) {
+        synchronized (this) {
+            prepend(entry);
+            legacyEntries++;
         }
+        notifyListeners(entry);
+        notifyNewHeals(List.of(entry));
+    }
 
-        if (settings.enableNotifications) {
-            showNotification(entry);
+    /**
+     * Read the page of heals just older than those loaded.
+     *
+     * @return number of heals read
+     */
+    public synchronized int loadOlder(int limit) {
+        if (oldestLoadedIndex <= 0) {
+            return 0;
+        }
+        long first = Math.max(0, oldestLoadedIndex - limit);
+        try {
+            HealEventLog.Page page = getEventLog().read(first, (int) (oldestLoadedIndex - first));
+            List<HealHistoryEntry> older = new ArrayList<>(page.records().size());
+            for (HealEventRecord record : page.records()) {
+                older.add(toEntry(record));
+            }
+            Collections.reverse(older);
+            healHistory.addAll(older);
+            oldestLoadedIndex = first;
+            return older.size();
+        } catch (IOException e) {
+            return 0;
         }
     }
 
@@ -106,61 +214,40 @@ public class HealerProjectService implements Disposable {
     }
 
     /**
-     * Clear heal history.
+     * Clear heal history. This deletes the event log and the recorded accept, reject and
+     * blacklist decisions.
      */
     public void clearHistory() {
-        healHistory.clear();
-        saveHistory();
+        synchronized (this) {
+            healHistory.clear();
+            statusChanges.clear();
+            tailOffset = 0;
+            oldestLoadedIndex = 0;
+            legacyEntries = 0;
+            try {
+                getEventLog().clear();
+                Files.deleteIfExists(getStatusPath());
+            } catch (IOException e) {
+                // Log but don't fail
+            }
+        }
+        for (HealHistoryListener listener : listeners) {
+            listener.onHistoryRefreshed();
+        }
     }
 
     /**
      * Accept a heal (mark as confirmed correct).
      */
     public void acceptHeal(String healId) {
-        for (HealHistoryEntry entry : healHistory) {
-            if (entry.id().equals(healId)) {
-                HealHistoryEntry updated = new HealHistoryEntry(
-                        entry.id(),
-                        entry.timestamp(),
-                        entry.featureName(),
-                        entry.scenarioName(),
-                        entry.stepText(),
-                        entry.originalLocator(),
-                        entry.healedLocator(),
-                        entry.confidence(),
-                        entry.reasoning(),
-                        HealStatus.ACCEPTED
-                );
-                healHistory.set(healHistory.indexOf(entry), updated);
-                saveHistory();
-                break;
-            }
-        }
+        recordStatus(new StatusChange(healId, HealStatus.ACCEPTED, null));
     }
 
     /**
      * Reject a heal (mark as incorrect).
      */
     public void rejectHeal(String healId) {
-        for (HealHistoryEntry entry : healHistory) {
-            if (entry.id().equals(healId)) {
-                HealHistoryEntry updated = new HealHistoryEntry(
-                        entry.id(),
-                        entry.timestamp(),
-                        entry.featureName(),
-                        entry.scenarioName(),
-                        entry.stepText(),
-                        entry.originalLocator(),
-                        entry.healedLocator(),
-                        entry.confidence(),
-                        entry.reasoning(),
-                        HealStatus.REJECTED
-                );
-                healHistory.set(healHistory.indexOf(entry), updated);
-                saveHistory();
-                break;
-            }
-        }
+        recordStatus(new StatusChange(healId, HealStatus.REJECTED, null));
     }
 
     /**
@@ -171,28 +258,42 @@ public class HealerProjectService implements Disposable {
      * @param reason the reason for blacklisting
      */
     public void blacklistHeal(String healId, String reason) {
-        for (HealHistoryEntry entry : healHistory) {
-            if (entry.id().equals(healId)) {
-                String updatedReasoning = entry.reasoning() +
-                    "\n[BLACKLISTED: " + reason + "]";
-                HealHistoryEntry updated = new HealHistoryEntry(
-                        entry.id(),
-                        entry.timestamp(),
-                        entry.featureName(),
-                        entry.scenarioName(),
-                        entry.stepText(),
-                        entry.originalLocator(),
-                        entry.healedLocator(),
-                        entry.confidence(),
-                        updatedReasoning,
-                        HealStatus.BLACKLISTED
-                );
-                healHistory.set(healHistory.indexOf(entry), updated);
-                saveHistory();
-                saveToBlacklistFile(entry.originalLocator(), entry.healedLocator(), reason);
-                break;
+        HealHistoryEntry entry = recordStatus(new StatusChange(healId, HealStatus.BLACKLISTED, reason));
+        if (entry != null) {
+            saveToBlacklistFile(entry.originalLocator(), entry.healedLocator(), reason);
+        }
+    }
+
+    /**
+     * Apply a status change to the loaded entry, append it to the status file and notify
+     * listeners.
+     *
+     * @return the original entry, or null if it is not loaded
+     */
+    private HealHistoryEntry recordStatus(StatusChange change) {
+        HealHistoryEntry original = null;
+        HealHistoryEntry updated = null;
+        synchronized (this) {
+            for (int i = 0; i < healHistory.size(); i++) {
+                HealHistoryEntry entry = healHistory.get(i);
+                if (entry.id().equals(change.id())) {
+                    original = entry;
+                    updated = change.applyTo(entry);
+                    healHistory.set(i, updated);
+                    break;
+                }
             }
+            statusChanges.put(change.id(), change);
         }
+        if (HealerSettings.getInstance().persistHealHistory) {
+            appendStatusChange(change);
+        }
+        if (updated != null) {
+            for (HealHistoryListener listener : listeners) {
+                listener.onHealUpdated(updated);
+            }
+        }
+        return original;
     }
 
     /**
@@ -352,39 +453,107 @@ public class HealerProjectService implements Disposable {
         }
     }
 
-    private void loadHistory() {
-        Path historyPath = getHistoryPath();
-        if (!Files.exists(historyPath)) {
-            return;
-        }
+    /**
+     * The engine's heal event log in the configured reports directory.
+     */
+    public HealEventLog getEventLog() {
+        return new HealEventLog(Path.of(getBasePath(), HealerSettings.getInstance().healReportsDirectory));
+    }
 
+    /**
+     * Load the newest page of the event log and continue following it from there.
+     */
+    private synchronized void loadHistory() {
+        healHistory.clear();
+        legacyEntries = 0;
+        HealEventLog log = getEventLog();
         try {
-            HealHistoryEntry[] entries = objectMapper.readValue(
-                    historyPath.toFile(), HealHistoryEntry[].class);
-            healHistory.clear();
-            healHistory.addAll(Arrays.asList(entries));
+            long total = log.count();
+            long first = Math.max(0, total - PAGE_SIZE);
+            HealEventLog.Page page = log.read(first, PAGE_SIZE);
+            for (HealEventRecord record : page.records()) {
+                healHistory.add(0, toEntry(record));
+            }
+            oldestLoadedIndex = first;
+            tailOffset = page.endOffset();
+        } catch (IOException e) {
+            oldestLoadedIndex = 0;
+            tailOffset = 0;
+        }
+    }
+
+    /**
+     * Add a new entry to the front, dropping the oldest loaded entries beyond the limit.
+     * Dropped entries can be read from the log again.
+     */
+    private void prepend(HealHistoryEntry entry) {
+        healHistory.add(0, entry);
+        int max = HealerSettings.getInstance().maxHistoryEntries;
+        while (healHistory.size() > max) {
+            healHistory.remove(healHistory.size() - 1);
+            oldestLoadedIndex++;
+        }
+    }
+
+    private HealHistoryEntry toEntry(HealEventRecord record) {
+        HealHistoryEntry entry = new HealHistoryEntry(
+                record.id(),
+                record.timestamp() != null ? record.timestamp() : Instant.now(),
+                Objects.requireNonNullElse(record.featureName(), ""),
+                Objects.requireNonNullElse(record.scenarioName(), ""),
+                Objects.requireNonNullElse(record.stepText(), ""),
+                Objects.requireNonNullElse(record.originalLocator(), ""),
+                Objects.requireNonNullElse(record.healedLocator(), ""),
+                record.confidence(),
+                Objects.requireNonNullElse(record.reasoning(), ""),
+                HealStatus.PENDING
+        );
+        StatusChange change = statusChanges.get(entry.id());
+        return change != null ? change.applyTo(entry) : entry;
+    }
+
+    private void loadStatusChanges() {
+        Path statusPath = getStatusPath();
+        if (!Files.exists(statusPath)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(statusPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    StatusChange change = objectMapper.readValue(line, StatusChange.class);
+                    statusChanges.put(change.id(), change);
+                } catch (IOException e) {
+                    // Skip a torn line
+                }
+            }
         } catch (IOException e) {
             // Log but don't fail
         }
     }
 
-    private void saveHistory() {
-        Path historyPath = getHistoryPath();
+    private void appendStatusChange(StatusChange change) {
+        Path statusPath = getStatusPath();
         try {
-            Files.createDirectories(historyPath.getParent());
-            objectMapper.writeValue(historyPath.toFile(), healHistory);
+            Files.createDirectories(statusPath.getParent());
+            Files.writeString(statusPath, objectMapper.writeValueAsString(change) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
         } catch (IOException e) {
             // Log but don't fail
         }
     }
 
-    private Path getHistoryPath() {
-        String basePath = project.getBasePath();
-        if (basePath == null) {
-            basePath = System.getProperty("user.home");
-        }
+    private Path getStatusPath() {
         HealerSettings settings = HealerSettings.getInstance();
-        return Path.of(basePath, settings.healCacheDirectory, "heal-history.json");
+        return Path.of(getBasePath(), settings.healCacheDirectory, "heal-status.jsonl");
+    }
+
+    private String getBasePath() {
+        String basePath = project.getBasePath();
+        return basePath != null ? basePath : System.getProperty("user.home");
     }
 
     private void notifyListeners(HealHistoryEntry entry) {
@@ -393,6 +562,20 @@ public class HealerProjectService implements Disposable {
         }
     }
 
+    private void notifyNewHeals(List<HealHistoryEntry> added) {
+        if (added.isEmpty() || !HealerSettings.getInstance().enableNotifications) {
+            return;
+        }
+        if (added.size() > MAX_NOTIFICATIONS_PER_POLL) {
+            NotificationGroupManager.getInstance()
+                    .getNotificationGroup("Intent Healer Notifications")
+                    .createNotification("Heals Applied", added.size() + " new heals", NotificationType.INFORMATION)
+                    .notify(project);
+            return;
+        }
+        added.forEach(this::showNotification);
+    }
+
     private void showNotification(HealHistoryEntry entry) {
         String title = "Heal Applied";
         String content = String.format(
@@ -450,11 +633,39 @@ public class HealerProjectService implements Disposable {
             double successRate
     ) {}
 
+    /**
+     * An accept, reject or blacklist decision, one line of the status file.
+     */
+    public record StatusChange(
+            String id,
+            HealStatus status,
+            String reason
+    ) {
+        HealHistoryEntry applyTo(HealHistoryEntry entry) {
+            String reasoning = status == HealStatus.BLACKLISTED && reason != null
+                    ? entry.reasoning() + "\n[BLACKLISTED: " + reason + "]"
+                    : entry.reasoning();
+            return new HealHistoryEntry(
+                    entry.id(),
+                    entry.timestamp(),
+                    entry.featureName(),
+                    entry.scenarioName(),
+                    entry.stepText(),
+                    entry.originalLocator(),
+                    entry.healedLocator(),
+                    entry.confidence(),
+                    reasoning,
+                    status
+            );
+        }
+    }
+
     /**
      * Listener for heal history changes.
      */
     public interface HealHistoryListener {
         default void onHealAdded(HealHistoryEntry entry) {}
+        default void onHealUpdated(HealHistoryEntry entry) {}
         default void onTrustLevelChanged(TrustLevelInfo trustLevel) {}
         default void onHistoryRefreshed() {}
     }
@@ -1,7 +1,10 @@
 package io.github.glaciousm.intellij.ui;
 
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.ui.JBColor;
+import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBPanel;
 import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.table.JBTable;
@@ -17,10 +20,15 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Panel showing heal history with actions.
+ *
+ * <p>Shows the newest page of heals first and reads older pages as the table is scrolled to
+ * the bottom. New heals and status changes update single rows.</p>
  */
 public class HealHistoryPanel extends JBPanel<HealHistoryPanel> implements Disposable,
         HealerProjectService.HealHistoryListener {
@@ -29,6 +37,8 @@ public class HealHistoryPanel extends JBPanel<HealHistoryPanel> implements Dispo
     private final HealerProjectService service;
     private final JBTable historyTable;
     private final HistoryTableModel tableModel;
+    private final AtomicBoolean loadingPage = new AtomicBoolean(false);
+    private JBLabel countLabel;
 
     private static final DateTimeFormatter TIME_FORMAT =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
@@ -97,13 +107,55 @@ public class HealHistoryPanel extends JBPanel<HealHistoryPanel> implements Dispo
         clearBtn.addActionListener(e -> clearHistory());
         toolbar.add(clearBtn);
 
+        toolbar.add(Box.createHorizontalGlue());
+
+        countLabel = new JBLabel();
+        countLabel.setForeground(JBColor.GRAY);
+        toolbar.add(countLabel);
+
+        // Read the next page when scrolled near the bottom
+        JBScrollPane scrollPane = new JBScrollPane(historyTable);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = scrollPane.getVerticalScrollBar();
+            if (!e.getValueIsAdjusting()
+                    && bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - historyTable.getRowHeight() * 5) {
+                loadNextPage();
+            }
+        });
+
         // Layout
         add(toolbar, BorderLayout.NORTH);
-        add(new JBScrollPane(historyTable), BorderLayout.CENTER);
+        add(scrollPane, BorderLayout.CENTER);
     }
 
     private void refresh() {
-        tableModel.setData(service.getHealHistory());
+        tableModel.setData(service.getHealHistory(0, HealerProjectService.PAGE_SIZE));
+        updateCount();
+    }
+
+    private void loadNextPage() {
+        if (!service.hasOlderHistory() && tableModel.getRowCount() >= service.getHealHistory().size()) {
+            return;
+        }
+        if (!loadingPage.compareAndSet(false, true)) {
+            return;
+        }
+        int loaded = tableModel.getRowCount();
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            List<HealerProjectService.HealHistoryEntry> page =
+                    service.getHealHistory(loaded, HealerProjectService.PAGE_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                if (tableModel.getRowCount() == loaded) {
+                    tableModel.append(page);
+                    updateCount();
+                }
+                loadingPage.set(false);
+            });
+        });
+    }
+
+    private void updateCount() {
+        countLabel.setText(tableModel.getRowCount() + " of " + service.getTotalHealCount() + " heals");
     }
 
     private void acceptSelected() {
@@ -111,7 +163,6 @@ public class HealHistoryPanel extends JBPanel<HealHistoryPanel> implements Dispo
         if (row >= 0) {
             var entry = tableModel.getEntry(row);
             service.acceptHeal(entry.id());
-            refresh();
         }
     }
 
@@ -120,7 +171,6 @@ public class HealHistoryPanel extends JBPanel<HealHistoryPanel> implements Dispo
         if (row >= 0) {
             var entry = tableModel.getEntry(row);
             service.rejectHeal(entry.id());
-            refresh();
         }
     }
 
@@ -141,7 +191,6 @@ public class HealHistoryPanel extends JBPanel<HealHistoryPanel> implements Dispo
 
             if (reason != null && !reason.trim().isEmpty()) {
                 service.blacklistHeal(entry.id(), reason.trim());
-                refresh();
                 JOptionPane.showMessageDialog(this,
                         "Heal has been blacklisted. This locator mapping will not be suggested again.",
                         "Blacklisted",
@@ -194,7 +243,15 @@ public class HealHistoryPanel extends JBPanel<HealHistoryPanel> implements Dispo
 
     @Override
     public void onHealAdded(HealerProjectService.HealHistoryEntry entry) {
-        SwingUtilities.invokeLater(this::refresh);
+        SwingUtilities.invokeLater(() -> {
+            tableModel.prepend(entry);
+            updateCount();
+        });
+    }
+
+    @Override
+    public void onHealUpdated(HealerProjectService.HealHistoryEntry entry) {
+        SwingUtilities.invokeLater(() -> tableModel.replace(entry));
     }
 
     @Override
@@ -212,13 +269,38 @@ public class HealHistoryPanel extends JBPanel<HealHistoryPanel> implements Dispo
      */
     private class HistoryTableModel extends AbstractTableModel {
         private final String[] columns = {"Time", "Step", "Original", "Healed", "Confidence", "Status"};
-        private List<HealerProjectService.HealHistoryEntry> data = List.of();
+        private final List<HealerProjectService.HealHistoryEntry> data = new ArrayList<>();
 
-        public void setData(List<HealerProjectService.HealHistoryEntry> data) {
-            this.data = data;
+        public void setData(List<HealerProjectService.HealHistoryEntry> entries) {
+            data.clear();
+            data.addAll(entries);
             fireTableDataChanged();
         }
 
+        public void prepend(HealerProjectService.HealHistoryEntry entry) {
+            data.add(0, entry);
+            fireTableRowsInserted(0, 0);
+        }
+
+        public void append(List<HealerProjectService.HealHistoryEntry> entries) {
+            if (entries.isEmpty()) {
+                return;
+            }
+            int first = data.size();
+            data.addAll(entries);
+            fireTableRowsInserted(first, data.size() - 1);
+        }
+
+        public void replace(HealerProjectService.HealHistoryEntry entry) {
+            for (int row = 0; row < data.size(); row++) {
+                if (data.get(row).id().equals(entry.id())) {
+                    data.set(row, entry);
+                    fireTableRowsUpdated(row, row);
+                    return;
+                }
+            }
+        }
+
         public HealerProjectService.HealHistoryEntry getEntry(int row) {
             return data.get(row);
         }
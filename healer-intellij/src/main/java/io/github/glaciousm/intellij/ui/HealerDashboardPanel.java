@@ -161,13 +161,8 @@ public class HealerDashboardPanel extends JBPanel<HealerDashboardPanel> implemen
 
         // Update statistics
         var history = service.getHealHistory();
-        int total = history.size();
-        long pending = history.stream()
-                .filter(h -> h.status() == HealerProjectService.HealStatus.PENDING)
-                .count();
-        long accepted = history.stream()
-                .filter(h -> h.status() == HealerProjectService.HealStatus.ACCEPTED)
-                .count();
+        long total = service.getTotalHealCount();
+        long pending = service.getPendingHealCount();
 
         totalHealsLabel.setText(String.valueOf(total));
         pendingHealsLabel.setText(String.valueOf(pending));
@@ -21,6 +21,7 @@ import java.util.LinkedList;
 /**
  * Panel showing real-time heal events as they occur.
  * Displays a live feed of healing activity from the test runner.
+ * Each event adds one card at the top and drops the oldest beyond {@value #MAX_EVENTS}.
  */
 public class LiveEventsPanel extends JBPanel<LiveEventsPanel> implements Disposable,
         HealEventWatcher.HealEventListener {
@@ -99,36 +100,45 @@ public class LiveEventsPanel extends JBPanel<LiveEventsPanel> implements Disposa
     }
 
     private void clearEvents() {
-        events.clear();
-        updateEventsDisplay();
-    }
-
-    private void updateEventsDisplay() {
         SwingUtilities.invokeLater(() -> {
+            events.clear();
             eventsContainer.removeAll();
-
-            if (events.isEmpty()) {
-                JBLabel emptyLabel = new JBLabel("<html><center><i>No heal events yet.</i></center></html>");
-                emptyLabel.setForeground(JBColor.GRAY);
-                emptyLabel.setHorizontalAlignment(SwingConstants.CENTER);
-                eventsContainer.add(emptyLabel);
-            } else {
-                for (EventEntry entry : events) {
-                    eventsContainer.add(createEventCard(entry));
-                    eventsContainer.add(Box.createVerticalStrut(5));
-                }
-            }
-
+            JBLabel emptyLabel = new JBLabel("<html><center><i>No heal events yet.</i></center></html>");
+            emptyLabel.setForeground(JBColor.GRAY);
+            emptyLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            eventsContainer.add(emptyLabel);
             eventsContainer.revalidate();
             eventsContainer.repaint();
         });
     }
 
+    /**
+     * Add a card for the event at the top, dropping the oldest card beyond the limit.
+     * Must run on the event dispatch thread.
+     */
+    private void addEventCard(EventEntry entry) {
+        if (events.isEmpty()) {
+            eventsContainer.removeAll();
+        }
+        events.addFirst(entry);
+        eventsContainer.add(createEventCard(entry), 0);
+        while (events.size() > MAX_EVENTS) {
+            events.removeLast();
+            eventsContainer.remove(eventsContainer.getComponentCount() - 1);
+        }
+
+        eventsContainer.revalidate();
+        eventsContainer.repaint();
+    }
+
     private JPanel createEventCard(EventEntry entry) {
         JPanel card = new JPanel(new BorderLayout());
         card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(getStatusColor(entry), 1),
-                JBUI.Borders.empty(8)
+                JBUI.Borders.emptyBottom(5),
+                BorderFactory.createCompoundBorder(
+                        BorderFactory.createLineBorder(getStatusColor(entry), 1),
+                        JBUI.Borders.empty(8)
+                )
         ));
         card.setMaximumSize(new Dimension(Integer.MAX_VALUE, 100));
         card.setBackground(JBColor.background());
@@ -222,16 +232,10 @@ public class LiveEventsPanel extends JBPanel<LiveEventsPanel> implements Disposa
                 entry.status() == HealerProjectService.HealStatus.ACCEPTED
         );
 
-        // Add to front, keep limited size
-        events.addFirst(eventEntry);
-        while (events.size() > MAX_EVENTS) {
-            events.removeLast();
-        }
-
-        updateEventsDisplay();
-
-        // Scroll to top
         SwingUtilities.invokeLater(() -> {
+            addEventCard(eventEntry);
+
+            // Scroll to top
             JScrollPane scrollPane = (JScrollPane) eventsContainer.getParent().getParent();
             scrollPane.getVerticalScrollBar().setValue(0);
         });
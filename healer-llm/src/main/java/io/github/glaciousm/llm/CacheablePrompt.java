@@ -0,0 +1,27 @@
+package io.github.glaciousm.llm;
+
+/**
+ * A prompt split into a prefix that is identical across requests, the page it is about, and a
+ * request-specific suffix.
+ *
+ * Providers with prompt caching send the prefix and the page first (marked cacheable where the API
+ * needs it), so repeated requests only pay full input cost and latency for what changed: heals on
+ * the same page reuse the element list as well as the instructions.
+ *
+ * @param prefix the shared instructions
+ * @param page   the page state and element list, or empty
+ * @param suffix the request-specific context
+ */
+public record CacheablePrompt(String prefix, String page, String suffix) {
+
+    public CacheablePrompt(String prefix, String suffix) {
+        this(prefix, "", suffix);
+    }
+
+    /**
+     * The whole prompt as one text.
+     */
+    public String text() {
+        return prefix + page + suffix;
+    }
+}
@@ -1,8 +1,14 @@
 package io.github.glaciousm.llm;
 
 import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.engine.CostProjector;
+import io.github.glaciousm.core.engine.circuit.CircuitBreaker;
+import io.github.glaciousm.core.exception.HealingException.HealingFailureReason;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.llm.cache.LlmResponseCache;
+import io.github.glaciousm.llm.cache.PromptFingerprint;
+import io.github.glaciousm.llm.concurrency.AdaptiveConcurrencyLimiter;
 import io.github.glaciousm.llm.providers.AnthropicProvider;
 import io.github.glaciousm.llm.providers.AzureOpenAiProvider;
 import io.github.glaciousm.llm.providers.BedrockProvider;
@@ -12,12 +18,33 @@ import io.github.glaciousm.llm.providers.OpenAiProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 /**
  * Orchestrates LLM calls with fallback support and error handling.
+ *
+ * <p>Calls to each provider pass through an {@link AdaptiveConcurrencyLimiter} shared by
+ * all threads using this orchestrator, so a burst of parallel failures queues (or is
+ * shed) here instead of hitting the provider's rate limit all at once.</p>
+ *
+ * <p>When {@code llm.response_cache} is enabled, responses are cached on disk by a
+ * fingerprint of the prompt each provider would send, and repeated prompts are answered
+ * from the cache without taking a slot or spending tokens.</p>
  */
 public class LlmOrchestrator {
 
@@ -26,6 +53,17 @@ public class LlmOrchestrator {
     private final Map<String, LlmProvider> providers = new HashMap<>();
     private final PromptBuilder promptBuilder;
     private final ResponseParser responseParser;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile LlmResponseCache responseCache;
+    private volatile boolean responseCacheUnavailable;
+    private final CostProjector costProjector = new CostProjector();
+    private final LongAdder usageRequests = new LongAdder();
+    private final LongAdder inputTokens = new LongAdder();
+    private final LongAdder cachedInputTokens = new LongAdder();
+    private final LongAdder outputTokens = new LongAdder();
+    private final DoubleAdder costUsd = new DoubleAdder();
+    private final Set<LlmProvider> reportingUsage = ConcurrentHashMap.newKeySet();
 
     public LlmOrchestrator() {
         this.promptBuilder = new PromptBuilder();
@@ -52,6 +90,77 @@ public class LlmOrchestrator {
         providers.put(name.toLowerCase(), provider);
     }
 
+    /**
+     * Get token usage and cost of the provider calls made so far.
+     */
+    public UsageStats getUsageStats() {
+        return new UsageStats(usageRequests.sum(), inputTokens.sum(), cachedInputTokens.sum(),
+                outputTokens.sum(), costUsd.sum());
+    }
+
+    /**
+     * Subscribe to a provider's token usage the first time it is called.
+     */
+    private LlmProvider reportingUsage(LlmProvider provider) {
+        if (reportingUsage.add(provider)) {
+            provider.setUsageListener(this::recordUsage);
+        }
+        return provider;
+    }
+
+    /**
+     * Price a provider call from its reported tokens, billing cached input at the cached rate,
+     * and charge it to the circuit breaker's daily cost.
+     */
+    private void recordUsage(TokenUsage usage) {
+        double cost = costProjector.estimateHealCost(usage);
+        usageRequests.increment();
+        inputTokens.add(usage.getInputTokens());
+        cachedInputTokens.add(usage.getCachedInputTokens());
+        outputTokens.add(usage.getOutputTokens());
+        costUsd.add(cost);
+        logger.debug("LLM usage: {} tokens in ({} cached), {} out, ${}", usage.getInputTokens(),
+                usage.getCachedInputTokens(), usage.getOutputTokens(), String.format("%.5f", cost));
+
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker != null) {
+            breaker.addCost(cost);
+        }
+    }
+
+    /**
+     * Set the circuit breaker whose cost tracking gates LLM calls. Calls are shed while
+     * it reports the daily cost limit as reached.
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        limiters.clear();
+    }
+
+    /**
+     * Use the given response cache instead of opening the configured one.
+     */
+    public void setResponseCache(LlmResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Get response cache statistics, if a cache is in use.
+     */
+    public Optional<LlmResponseCache.Stats> getResponseCacheStats() {
+        LlmResponseCache cache = responseCache;
+        return cache != null ? Optional.of(cache.getStats()) : Optional.empty();
+    }
+
+    /**
+     * Get concurrency limiter statistics per provider, for providers called so far.
+     */
+    public Map<String, AdaptiveConcurrencyLimiter.Stats> getLimiterStats() {
+        Map<String, AdaptiveConcurrencyLimiter.Stats> stats = new LinkedHashMap<>();
+        limiters.forEach((name, limiter) -> stats.put(name, limiter.getStats()));
+        return stats;
+    }
+
     /**
      * Check if a provider is available (has required API keys, etc.).
      *
@@ -80,6 +189,35 @@ public class LlmOrchestrator {
         return provider.isAvailable(config);
     }
 
+    /**
+     * Open connections to the configured provider and its fallbacks in the background, so the
+     * first heal does not pay for DNS, TCP and TLS. Does nothing unless transport warm-up is
+     * enabled.
+     *
+     * @param config the LLM configuration
+     */
+    public void warmUp(LlmConfig config) {
+        if (config == null || config.getTransport() == null || !config.getTransport().isWarmUp()) {
+            return;
+        }
+        warmUp(config.getProvider(), config);
+        for (LlmConfig.FallbackProvider fallback : config.getFallback()) {
+            warmUp(fallback.getProvider(), createFallbackConfig(config, fallback));
+        }
+    }
+
+    private void warmUp(String providerName, LlmConfig config) {
+        LlmProvider provider = providerName != null ? getProvider(providerName) : null;
+        if (provider == null) {
+            return;
+        }
+        try {
+            provider.warmUp(config);
+        } catch (RuntimeException e) {
+            logger.debug("Could not warm up provider {}: {}", providerName, e.getMessage());
+        }
+    }
+
     /**
      * Evaluate candidates using the configured LLM provider with fallback support.
      */
@@ -89,16 +227,128 @@ public class LlmOrchestrator {
             IntentContract intent,
             LlmConfig config) {
 
+        return evaluateCandidates(failure, snapshot, intent, config, defaultDeadline(config));
+    }
+
+    /**
+     * Evaluate candidates, giving the call priority by deadline when providers are busy.
+     *
+     * @param deadline when the heal must be done, e.g. {@link #deadlineFor(FailureContext, LlmConfig)}
+     */
+    public HealDecision evaluateCandidates(
+            FailureContext failure,
+            UiSnapshot snapshot,
+            IntentContract intent,
+            LlmConfig config,
+            Instant deadline) {
+
+        return executeWithFallback(config, deadline,
+                (provider, providerConfig) -> provider.evaluateCandidates(failure, snapshot, intent, providerConfig),
+                decisionCacheSpec(failure, snapshot, intent));
+    }
+
+    /**
+     * Drop the cached decision for this failure, so a heal that was rejected or failed its
+     * outcome check is not replayed from the response cache. Does nothing without a cache.
+     */
+    public void evictCachedDecision(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                    LlmConfig config) {
+        evictFromCache(config, decisionCacheSpec(failure, snapshot, intent));
+    }
+
+    /**
+     * Evaluate several failed locators against one snapshot in a single LLM call,
+     * with the same retry and fallback behaviour as {@link #evaluateCandidates}.
+     *
+     * @return decisions keyed by failure id, in request order
+     */
+    public Map<String, HealDecision> evaluateCandidatesBatch(BatchHealRequest request, LlmConfig config) {
+        return evaluateCandidatesBatch(request, config, defaultDeadline(config));
+    }
+
+    /**
+     * Evaluate several failed locators in one call, giving it priority by deadline.
+     *
+     * @param deadline when the heals must be done, e.g. {@link #deadlineFor(BatchHealRequest, LlmConfig)}
+     */
+    public Map<String, HealDecision> evaluateCandidatesBatch(BatchHealRequest request, LlmConfig config,
+                                                             Instant deadline) {
+        if (request.isEmpty()) {
+            return Map.of();
+        }
+        logger.debug("Evaluating {} failures in one batched request", request.size());
+        return executeWithFallback(config, deadline,
+                (provider, providerConfig) -> provider.evaluateCandidatesBatch(request, providerConfig),
+                batchCacheSpec(request));
+    }
+
+    /**
+     * Drop the cached decisions for this batch, so a batch with a rejected heal is not
+     * replayed from the response cache. Does nothing without a cache.
+     */
+    public void evictCachedBatch(BatchHealRequest request, LlmConfig config) {
+        evictFromCache(config, batchCacheSpec(request));
+    }
+
+    private CacheSpec<HealDecision> decisionCacheSpec(FailureContext failure, UiSnapshot snapshot,
+                                                      IntentContract intent) {
+        return new CacheSpec<>(
+                (provider, providerConfig) -> usesVision(provider, providerConfig, snapshot)
+                        ? PromptFingerprint.of(promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent),
+                                snapshot.getScreenshotBase64().orElse(null),
+                                providerConfig.getModel(), providerConfig.getTemperature())
+                        : PromptFingerprint.of(promptBuilder.buildHealingPrompt(failure, snapshot, intent),
+                                providerConfig.getModel(), providerConfig.getTemperature()),
+                LlmResponseCache::getDecision,
+                LlmResponseCache::putDecision,
+                LlmResponseCache::evictDecision);
+    }
+
+    private CacheSpec<Map<String, HealDecision>> batchCacheSpec(BatchHealRequest request) {
+        return new CacheSpec<>(
+                (provider, providerConfig) -> PromptFingerprint.of(promptBuilder.buildBatchHealingPrompt(request),
+                        providerConfig.getModel(), providerConfig.getTemperature()),
+                (cache, key) -> cache.getBatch(key).flatMap(cached -> remap(cached, request.getFailureIds())),
+                LlmResponseCache::putBatch,
+                LlmResponseCache::evictBatch);
+    }
+
+    /**
+     * Evict a call's cache entry for the primary provider and every fallback, since any of
+     * them may have answered it.
+     */
+    private void evictFromCache(LlmConfig config, CacheSpec<?> cacheSpec) {
+        LlmResponseCache cache = responseCache(config);
+        if (cache == null) {
+            return;
+        }
+        evictFromCache(cache, config, cacheSpec);
+        for (LlmConfig.FallbackProvider fallback : config.getFallback()) {
+            evictFromCache(cache, createFallbackConfig(config, fallback), cacheSpec);
+        }
+    }
+
+    private void evictFromCache(LlmResponseCache cache, LlmConfig providerConfig, CacheSpec<?> cacheSpec) {
+        LlmProvider provider = providerConfig.getProvider() != null ? getProvider(providerConfig.getProvider()) : null;
+        if (provider != null) {
+            cacheSpec.evict().accept(cache, cacheSpec.key().apply(provider, providerConfig));
+        }
+    }
+
+    /**
+     * Run a provider call against the primary provider, then each fallback in order.
+     */
+    private <T> T executeWithFallback(LlmConfig config, Instant deadline,
+                                      BiFunction<LlmProvider, LlmConfig, T> call, CacheSpec<T> cacheSpec) {
         // Try primary provider with retry
         LlmProvider primaryProvider = getProvider(config.getProvider());
         if (primaryProvider != null) {
             try {
-                return executeWithRetry(
-                        () -> primaryProvider.evaluateCandidates(failure, snapshot, intent, config),
-                        config.getMaxRetries(),
-                        config.getProvider()
-                );
+                return callProvider(primaryProvider, config, deadline, call, cacheSpec);
             } catch (LlmException e) {
+                if (e.getReason() == HealingFailureReason.COST_LIMIT_EXCEEDED) {
+                    throw e;
+                }
                 logger.warn("Primary LLM provider failed after retries: {}", e.getMessage());
                 // Fall through to try fallbacks
             }
@@ -113,12 +363,11 @@ public class LlmOrchestrator {
                             fallbackConfig.getProvider(), fallbackConfig.getModel());
 
                     LlmConfig fallbackLlmConfig = createFallbackConfig(config, fallbackConfig);
-                    return executeWithRetry(
-                            () -> fallbackProvider.evaluateCandidates(failure, snapshot, intent, fallbackLlmConfig),
-                            fallbackLlmConfig.getMaxRetries(),
-                            fallbackConfig.getProvider()
-                    );
+                    return callProvider(fallbackProvider, fallbackLlmConfig, deadline, call, cacheSpec);
                 } catch (LlmException e) {
+                    if (e.getReason() == HealingFailureReason.COST_LIMIT_EXCEEDED) {
+                        throw e;
+                    }
                     logger.warn("Fallback provider {} failed: {}",
                             fallbackConfig.getProvider(), e.getMessage());
                     // Continue to next fallback
@@ -144,7 +393,25 @@ public class LlmOrchestrator {
                     config.getProvider(), config.getModel());
         }
 
-        return provider.validateOutcome(expectedOutcome, before, after, config);
+        LlmResponseCache cache = responseCache(config);
+        String key = cache != null
+                ? PromptFingerprint.of(promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after),
+                        config.getModel(), config.getTemperature())
+                : null;
+        if (key != null) {
+            Optional<OutcomeResult> cached = cache.getOutcome(key);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        OutcomeResult result = callWithPermit(
+                () -> reportingUsage(provider).validateOutcome(expectedOutcome, before, after, config),
+                limiter(config.getProvider(), config), defaultDeadline(config));
+        if (key != null) {
+            cache.putOutcome(key, result);
+        }
+        return result;
     }
 
     /**
@@ -175,19 +442,171 @@ public class LlmOrchestrator {
         config.setConfidenceThreshold(original.getConfidenceThreshold());
         config.setMaxTokensPerRequest(original.getMaxTokensPerRequest());
         config.setRequireReasoning(original.isRequireReasoning());
+        config.setConcurrency(original.getConcurrency());
+        config.setResponseCache(original.getResponseCache());
+        config.setStreaming(original.isStreaming());
+        config.setTransport(original.getTransport());
         return config;
     }
 
+    /**
+     * Call one provider, answering from the response cache when the same prompt was sent
+     * to the same model before.
+     */
+    private <T> T callProvider(LlmProvider provider, LlmConfig providerConfig, Instant deadline,
+                               BiFunction<LlmProvider, LlmConfig, T> call, CacheSpec<T> cacheSpec) {
+        String providerName = providerConfig.getProvider();
+        LlmResponseCache cache = responseCache(providerConfig);
+        String key = null;
+        if (cache != null) {
+            key = cacheSpec.key().apply(provider, providerConfig);
+            Optional<T> cached = cacheSpec.get().apply(cache, key);
+            if (cached.isPresent()) {
+                logger.debug("Answered {}/{} call from the response cache", providerName, providerConfig.getModel());
+                return cached.get();
+            }
+        }
+
+        T result = executeWithRetry(
+                () -> call.apply(reportingUsage(provider), providerConfig),
+                providerConfig.getMaxRetries(),
+                providerName,
+                limiter(providerName, providerConfig),
+                deadline
+        );
+        if (key != null) {
+            cacheSpec.put().put(cache, key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Get the response cache, opening the configured one on first use, or null when caching
+     * is disabled or the cache cannot be opened.
+     */
+    private LlmResponseCache responseCache(LlmConfig config) {
+        LlmResponseCache cache = responseCache;
+        if (cache != null) {
+            return cache;
+        }
+        LlmConfig.ResponseCacheConfig cacheConfig = config.getResponseCache();
+        if (cacheConfig == null || !cacheConfig.isEnabled() || responseCacheUnavailable) {
+            return null;
+        }
+        synchronized (this) {
+            if (responseCache == null && !responseCacheUnavailable) {
+                try {
+                    responseCache = LlmResponseCache.open(cacheConfig);
+                } catch (IOException | RuntimeException e) {
+                    responseCacheUnavailable = true;
+                    logger.warn("LLM response cache disabled, cannot open {}: {}",
+                            cacheConfig.getDirectory(), e.getMessage());
+                }
+            }
+            return responseCache;
+        }
+    }
+
+    private static boolean usesVision(LlmProvider provider, LlmConfig config, UiSnapshot snapshot) {
+        return config.isVisionEnabled() && provider.isVisionModel(config.getModel())
+                && snapshot.getScreenshotBase64().isPresent();
+    }
+
+    /**
+     * Re-key cached batch decisions to this request's failure ids, which may differ between
+     * runs while the prompt does not.
+     */
+    private static Optional<Map<String, HealDecision>> remap(Map<String, HealDecision> cached,
+                                                             List<String> failureIds) {
+        if (cached.size() != failureIds.size()) {
+            return Optional.empty();
+        }
+        Map<String, HealDecision> decisions = new LinkedHashMap<>();
+        Iterator<HealDecision> values = cached.values().iterator();
+        for (String failureId : failureIds) {
+            decisions.put(failureId, values.next());
+        }
+        return Optional.of(decisions);
+    }
+
+    /**
+     * Get the shared limiter for a provider, or null when limiting is disabled.
+     */
+    private AdaptiveConcurrencyLimiter limiter(String providerName, LlmConfig config) {
+        LlmConfig.ConcurrencyConfig concurrency = config.getConcurrency();
+        if (concurrency == null || !concurrency.isEnabled()) {
+            return null;
+        }
+        return limiters.computeIfAbsent(providerName.toLowerCase(),
+                name -> new AdaptiveConcurrencyLimiter(name, concurrency, circuitBreaker));
+    }
+
+    private Instant defaultDeadline(LlmConfig config) {
+        return deadlineFrom(Instant.now(), config);
+    }
+
+    /**
+     * The deadline for healing a failure: the queue wait and call timeout, counted from when
+     * the failure happened instead of from the LLM call, so that when providers are busy a heal
+     * that has already spent longer on triage and snapshot capture is served first.
+     */
+    public static Instant deadlineFor(FailureContext failure, LlmConfig config) {
+        return deadlineFrom(failure.getTimestamp(), config);
+    }
+
+    /**
+     * The deadline for a batch of heals, counted from its earliest failure.
+     *
+     * @see #deadlineFor(FailureContext, LlmConfig)
+     */
+    public static Instant deadlineFor(BatchHealRequest request, LlmConfig config) {
+        Instant earliest = request.getItems().stream()
+                .map(item -> item.failure().getTimestamp())
+                .min(Instant::compareTo)
+                .orElseGet(Instant::now);
+        return deadlineFrom(earliest, config);
+    }
+
+    private static Instant deadlineFrom(Instant start, LlmConfig config) {
+        int queueWait = config.getConcurrency() != null ? config.getConcurrency().getMaxQueueWaitSeconds() : 0;
+        return start.plusSeconds((long) queueWait + config.getTimeoutSeconds());
+    }
+
+    /**
+     * Run one call holding a limiter slot, reporting its outcome to the limiter.
+     */
+    private <T> T callWithPermit(Supplier<T> operation, AdaptiveConcurrencyLimiter limiter, Instant deadline) {
+        if (limiter == null) {
+            return operation.get();
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(deadline);
+        try {
+            T result = operation.get();
+            permit.success();
+            return result;
+        } catch (LlmException e) {
+            if (e.isRateLimited()) {
+                permit.rateLimited();
+            }
+            throw e;
+        } finally {
+            permit.close();
+        }
+    }
+
     /**
      * Execute an LLM operation with exponential backoff retry on rate limiting.
      *
      * @param operation   The LLM operation to execute
      * @param maxRetries  Maximum number of retry attempts (0 = no retries)
      * @param providerName Provider name for logging
+     * @param limiter     Concurrency limiter for the provider, or null
+     * @param deadline    No retry is scheduled past this instant
      * @return The result of the operation
      * @throws LlmException if all attempts fail
      */
-    private <T> T executeWithRetry(Supplier<T> operation, int maxRetries, String providerName) {
+    private <T> T executeWithRetry(Supplier<T> operation, int maxRetries, String providerName,
+                                   AdaptiveConcurrencyLimiter limiter, Instant deadline) {
         int attempts = 0;
         int maxAttempts = Math.max(1, maxRetries + 1); // At least 1 attempt
         long baseDelayMs = 1000; // Start with 1 second
@@ -196,7 +615,7 @@ public class LlmOrchestrator {
 
         while (attempts < maxAttempts) {
             try {
-                return operation.get();
+                return callWithPermit(operation, limiter, deadline);
             } catch (LlmException e) {
                 lastException = e;
                 attempts++;
@@ -212,10 +631,15 @@ public class LlmOrchestrator {
                     throw e;
                 }
 
-                // Calculate exponential backoff delay with jitter
-                long delay = Math.min(baseDelayMs * (1L << (attempts - 1)), maxDelayMs);
-                long jitter = (long) (delay * 0.1 * Math.random()); // Add 0-10% jitter
-                delay += jitter;
+                // Exponential backoff with wide jitter, so threads rate limited together
+                // do not all retry together
+                long ceiling = Math.min(baseDelayMs * (1L << (attempts - 1)), maxDelayMs);
+                long delay = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+
+                if (Instant.now().plusMillis(delay).isAfter(deadline)) {
+                    logger.warn("Not retrying {}: next attempt would pass the deadline", providerName);
+                    throw e;
+                }
 
                 logger.info("Rate limited by {}. Attempt {}/{}, retrying in {}ms...",
                         providerName, attempts, maxAttempts, delay);
@@ -234,10 +658,48 @@ public class LlmOrchestrator {
                 new LlmException("Operation failed with no exception", providerName, "unknown");
     }
 
+    /**
+     * Token usage of provider calls, as reported by the providers.
+     *
+     * @param requests          calls that reported usage
+     * @param inputTokens       input tokens, including cached ones
+     * @param cachedInputTokens input tokens served from the provider's prompt cache
+     * @param outputTokens      generated tokens
+     * @param costUsd           estimated cost, with cached input at the cached rate
+     */
+    public record UsageStats(long requests, long inputTokens, long cachedInputTokens, long outputTokens,
+                             double costUsd) {
+
+        /**
+         * Share of input tokens that came from the prompt cache.
+         */
+        public double cachedShare() {
+            return inputTokens > 0 ? (double) cachedInputTokens / inputTokens : 0.0;
+        }
+    }
+
+    /**
+     * How to fingerprint, look up, store and evict one kind of provider call in the response cache.
+     */
+    private record CacheSpec<T>(BiFunction<LlmProvider, LlmConfig, String> key,
+                                BiFunction<LlmResponseCache, String, Optional<T>> get,
+                                CachePut<T> put,
+                                BiConsumer<LlmResponseCache, String> evict) {
+    }
+
+    @FunctionalInterface
+    private interface CachePut<T> {
+        void put(LlmResponseCache cache, String key, T value);
+    }
+
     /**
      * Determines if an exception is retryable (rate limiting or transient errors).
      */
     private boolean isRetryable(LlmException e) {
+        if (e.getReason() == HealingFailureReason.LLM_OVERLOADED
+                || e.getReason() == HealingFailureReason.COST_LIMIT_EXCEEDED) {
+            return false;
+        }
         if (e.isRateLimited()) {
             return true;
         }
@@ -3,6 +3,11 @@ package io.github.glaciousm.llm;
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.model.*;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 /**
  * Interface for LLM provider implementations.
  * Providers communicate with external LLM services to make healing decisions.
@@ -24,6 +29,24 @@ public interface LlmProvider {
             IntentContract intent,
             LlmConfig config);
 
+    /**
+     * Evaluate several failed locators against one snapshot and return one decision per failure.
+     * Providers that can send a single batched prompt should override this; the default
+     * implementation evaluates each failure separately.
+     *
+     * @param request The batch of failures sharing one snapshot
+     * @param config  LLM configuration
+     * @return Decisions keyed by failure id, in request order
+     */
+    default Map<String, HealDecision> evaluateCandidatesBatch(BatchHealRequest request, LlmConfig config) {
+        Map<String, HealDecision> decisions = new LinkedHashMap<>();
+        for (BatchHealRequest.Item item : request.getItems()) {
+            decisions.put(item.failureId(),
+                    evaluateCandidates(item.failure(), request.getSnapshot(), item.intent(), config));
+        }
+        return decisions;
+    }
+
     /**
      * Validate outcome using LLM reasoning.
      *
@@ -108,4 +131,22 @@ public interface LlmProvider {
     default double getCostPerToken() {
         return 0.0;
     }
+
+    /**
+     * Set the listener told about the token counts of each request, including cached input
+     * tokens, for cost tracking. Providers that cannot report usage ignore it.
+     */
+    default void setUsageListener(Consumer<TokenUsage> listener) {
+    }
+
+    /**
+     * Open a connection to the provider in the background, so the first heal does not wait
+     * for DNS, TCP and TLS. Providers without a remote endpoint complete immediately.
+     *
+     * @param config the provider configuration
+     * @return completes when the connection attempt has finished, successfully or not
+     */
+    default CompletableFuture<Void> warmUp(LlmConfig config) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -1,5 +1,6 @@
 package io.github.glaciousm.llm;
 
+import io.github.glaciousm.core.model.BatchHealRequest;
 import io.github.glaciousm.core.model.ElementRect;
 import io.github.glaciousm.core.model.ElementSnapshot;
 import io.github.glaciousm.core.model.FailureContext;
@@ -17,54 +18,15 @@ public class PromptBuilder {
     private static final int MAX_TEXT_LENGTH = 100;
 
     /**
-     * Build the system prompt for healing operations.
-     */
-    public String buildSystemPrompt() {
-        return "You are an expert test automation engineer helping to fix broken UI test selectors.";
-    }
-
-    /**
-     * Build the healing prompt from failure context and UI snapshot.
-     * Alias for buildEvaluationPrompt.
+     * Instructions shared by every healing prompt. They come first and never vary, so
+     * providers with prompt caching only process the failure-specific part after them.
      */
-    public String buildEvaluationPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
-        return buildHealingPrompt(failure, snapshot, intent);
-    }
-
-    /**
-     * Build the healing prompt from failure context and UI snapshot.
-     */
-    public String buildHealingPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
-        return """
+    private static final String HEALING_INSTRUCTIONS = """
             You are an expert test automation engineer analyzing a UI test failure.
 
-            ## Test Context
-
-            **Feature:** %s
-            **Scenario:** %s
-            **Step:** %s %s
-            **Intent:** %s
-            **Intent Description:** %s
-
-            ## Failure Information
-
-            **Exception:** %s
-            **Original Locator:** %s (strategy: %s)
-            **Action:** %s
-
-            ## Current Page State
-
-            **URL:** %s
-            **Title:** %s
-            **Detected Language:** %s
-
-            ## Available Interactive Elements
-
-            %s
-
             ## Your Task
 
-            Analyze the test step's intent and the current page state. Determine if there is an element on the current page that serves the same purpose as the original target.
+            The current page state, test context and failure follow these instructions. Analyze the test step's intent and the current page state. Determine if there is an element on the current page that serves the same purpose as the original target.
 
             **Important Guidelines:**
             - Focus on SEMANTIC PURPOSE, not exact text matching
@@ -86,7 +48,56 @@ public class PromptBuilder {
               "reasoning": "<2-3 sentences explaining your decision>",
               "alternative_indices": [<other possible indices>],
               "warnings": ["<any concerns about this heal>"],
-              "refusal_reason": "<if can_heal is false, explain why>"|null
+              "refusal_reason": "<if can_heal is false, explain why>"|null,
+              "collection_indices": [<only when asked for a list: the index of every element in it>]
+            }
+            ```
+
+            Confidence guide:
+            - 0.95+: Nearly certain match (same text, clear purpose)
+            - 0.85-0.94: High confidence (semantic match, clear context)
+            - 0.75-0.84: Moderate confidence (likely match, some ambiguity)
+            - Below 0.75: Do not heal, set can_heal to false
+
+            """;
+
+    /**
+     * Instructions shared by every batched healing prompt.
+     */
+    private static final String BATCH_HEALING_INSTRUCTIONS = """
+            You are an expert test automation engineer analyzing several UI test failures that happened on the same page.
+
+            ## Your Task
+
+            The page state and the failed locators follow these instructions. For EACH failure, determine if there is an element on the current page that serves the same purpose as the original target.
+
+            **Important Guidelines:**
+            - Decide every failure independently, but use the other failures as context (they usually come from the same renamed form or component)
+            - Focus on SEMANTIC PURPOSE, not exact text matching
+            - Consider that the UI may be in any language
+            - Two different failures should rarely resolve to the same element
+            - If no element clearly matches an intent, set can_heal to false for that failure
+            - NEVER suggest elements that could cause destructive actions (delete, remove, cancel) unless the original intent was destructive
+
+            ## Response Format
+
+            Respond with ONLY a JSON object in this exact format, with exactly one entry per failure id:
+
+            ```json
+            {
+              "decisions": [
+                {
+                  "failure_id": "<id of the failure>",
+                  "can_heal": true|false,
+                  "confidence": 0.0-1.0,
+                  "selected_element_index": <index>|null,
+                  "reasoning": "<1-2 sentences explaining your decision>",
+                  "alternative_indices": [<other possible indices>],
+                  "warnings": ["<any concerns about this heal>"],
+                  "refusal_reason": "<if can_heal is false, explain why>"|null,
+                  "collection_indices": [<only when asked for a list: the index of every element in it>]
+                }
+              ]
             }
             ```
 
@@ -95,6 +106,53 @@ public class PromptBuilder {
             - 0.85-0.94: High confidence (semantic match, clear context)
             - 0.75-0.84: Moderate confidence (likely match, some ambiguity)
             - Below 0.75: Do not heal, set can_heal to false
+
+            """;
+
+    /**
+     * Build the system prompt for healing operations.
+     */
+    public String buildSystemPrompt() {
+        return "You are an expert test automation engineer helping to fix broken UI test selectors.";
+    }
+
+    /**
+     * Build the healing prompt from failure context and UI snapshot.
+     * Alias for buildEvaluationPrompt.
+     */
+    public String buildEvaluationPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
+        return buildHealingPrompt(failure, snapshot, intent);
+    }
+
+    /**
+     * Build the healing prompt from failure context and UI snapshot.
+     */
+    public String buildHealingPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
+        return buildHealingPromptParts(failure, snapshot, intent).text();
+    }
+
+    /**
+     * Build the healing prompt split into the shared instructions, the page and the failure-specific
+     * part, so providers can cache the instructions and the page.
+     */
+    public CacheablePrompt buildHealingPromptParts(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
+        // Page state goes before the failure, so heals on the same page share a longer prefix
+        String suffix = """
+            ## Test Context
+
+            **Feature:** %s
+            **Scenario:** %s
+            **Step:** %s %s
+            **Intent:** %s
+            **Intent Description:** %s
+
+            ## Failure Information
+
+            **Exception:** %s
+            **Original Locator:** %s (strategy: %s)
+            **Action:** %s
+
+            Respond with ONLY the JSON object described above.
             """.formatted(
                 nullSafe(failure.getFeatureName()),
                 nullSafe(failure.getScenarioName()),
@@ -105,7 +163,27 @@ public class PromptBuilder {
                 nullSafe(failure.getExceptionType()),
                 failure.getOriginalLocator() != null ? failure.getOriginalLocator().getValue() : "unknown",
                 failure.getOriginalLocator() != null ? failure.getOriginalLocator().getStrategy() : "unknown",
-                failure.getActionType(),
+                failure.getActionType()
+        );
+        return new CacheablePrompt(HEALING_INSTRUCTIONS, formatPage(snapshot), suffix);
+    }
+
+    /**
+     * The page state and element list, shared by every prompt about the same page.
+     */
+    private String formatPage(UiSnapshot snapshot) {
+        return """
+            ## Current Page State
+
+            **URL:** %s
+            **Title:** %s
+            **Detected Language:** %s
+
+            ## Available Interactive Elements
+
+            %s
+
+            """.formatted(
                 nullSafe(snapshot.getUrl()),
                 nullSafe(snapshot.getTitle()),
                 nullSafe(snapshot.getDetectedLanguage()),
@@ -113,6 +191,59 @@ public class PromptBuilder {
         );
     }
 
+    /**
+     * Build a single prompt that heals several failed locators against one snapshot.
+     * The page state and element list are included once; each failure is listed
+     * with its own id, locator and intent, and the LLM returns one decision per id.
+     */
+    public String buildBatchHealingPrompt(BatchHealRequest request) {
+        return buildBatchHealingPromptParts(request).text();
+    }
+
+    /**
+     * Build the batched healing prompt split into the shared instructions, the page and the
+     * failures, so providers can cache the instructions and the page.
+     */
+    public CacheablePrompt buildBatchHealingPromptParts(BatchHealRequest request) {
+        String sharedContext = request.getSharedContext() != null && !request.getSharedContext().isBlank()
+                ? "## Shared Context\n\n" + request.getSharedContext().strip() + "\n\n"
+                : "";
+
+        String suffix = """
+            ## Failed Locators (%d)
+
+            %s
+            Respond with ONLY the JSON object described above, with exactly one entry per failure id.
+            """.formatted(
+                request.size(),
+                formatBatchFailures(request.getItems())
+        );
+        return new CacheablePrompt(BATCH_HEALING_INSTRUCTIONS, sharedContext + formatPage(request.getSnapshot()),
+                suffix);
+    }
+
+    /**
+     * Format each failure of a batch as its own sub-section.
+     */
+    private String formatBatchFailures(List<BatchHealRequest.Item> items) {
+        StringBuilder sb = new StringBuilder();
+        for (BatchHealRequest.Item item : items) {
+            FailureContext failure = item.failure();
+            IntentContract intent = item.intent();
+            sb.append("### Failure `%s`\n\n".formatted(item.failureId()));
+            sb.append("- **Step:** %s %s\n".formatted(
+                    nullSafe(failure.getStepKeyword()), nullSafe(failure.getStepText())));
+            sb.append("- **Intent:** %s\n".formatted(nullSafe(intent.getAction())));
+            sb.append("- **Intent Description:** %s\n".formatted(nullSafe(intent.getDescription())));
+            sb.append("- **Exception:** %s\n".formatted(nullSafe(failure.getExceptionType())));
+            sb.append("- **Original Locator:** %s (strategy: %s)\n".formatted(
+                    failure.getOriginalLocator() != null ? failure.getOriginalLocator().getValue() : "unknown",
+                    failure.getOriginalLocator() != null ? failure.getOriginalLocator().getStrategy() : "unknown"));
+            sb.append("- **Action:** %s\n\n".formatted(failure.getActionType()));
+        }
+        return sb.toString();
+    }
+
     /**
      * Build a vision-enhanced healing prompt for multimodal LLMs.
      * This prompt works alongside a screenshot for visual analysis.
@@ -178,7 +309,8 @@ public class PromptBuilder {
               "reasoning": "<2-3 sentences explaining your decision, referencing visual cues>",
               "alternative_indices": [<other possible indices>],
               "warnings": ["<any concerns about this heal>"],
-              "refusal_reason": "<if can_heal is false, explain why>"|null
+              "refusal_reason": "<if can_heal is false, explain why>"|null,
+              "collection_indices": [<only when asked for a list: the index of every element in it>]
             }
             ```
 
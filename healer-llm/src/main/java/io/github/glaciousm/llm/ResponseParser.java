@@ -9,7 +9,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -47,6 +50,72 @@ public class ResponseParser {
         return parseHealDecisionFromJson(json, provider, model);
     }
 
+    /**
+     * Parse the decisions of a batched heal response (no provider/model info).
+     */
+    public Map<String, HealDecision> parseBatchHealDecisions(String response, List<String> failureIds) {
+        return parseBatchHealDecisions(response, failureIds, "unknown", "unknown");
+    }
+
+    /**
+     * Parse the decisions of a batched heal response.
+     * Accepts either {@code {"decisions": [...]}} or a bare array. The result contains
+     * exactly one decision per requested failure id, in request order; ids the LLM
+     * did not answer are returned as refusals rather than failing the whole batch.
+     */
+    public Map<String, HealDecision> parseBatchHealDecisions(String response, List<String> failureIds,
+                                                             String provider, String model) {
+        if (response == null || response.isEmpty()) {
+            throw LlmException.invalidResponse(provider, model, "Empty response");
+        }
+
+        String jsonContent = JsonUtils.extractJsonFromMarkdown(response);
+
+        Optional<JsonNode> jsonOpt = JsonUtils.tryParseJson(jsonContent);
+        if (jsonOpt.isEmpty()) {
+            logger.warn("Failed to parse batched LLM response as JSON: {}", truncate(response, 200));
+            throw LlmException.invalidResponse(provider, model, "Invalid JSON: " + truncate(response, 100));
+        }
+
+        JsonNode json = jsonOpt.get();
+        JsonNode decisionsNode = json.isArray() ? json : json.get("decisions");
+        if (decisionsNode == null || !decisionsNode.isArray()) {
+            throw LlmException.invalidResponse(provider, model, "Missing 'decisions' array");
+        }
+
+        Map<String, HealDecision> parsed = new HashMap<>();
+        int position = 0;
+        for (JsonNode entry : decisionsNode) {
+            String failureId;
+            if (entry.has("failure_id") && !entry.get("failure_id").isNull()) {
+                failureId = entry.get("failure_id").asText();
+            } else if (position < failureIds.size()) {
+                // Fall back to positional matching when the model omitted the id
+                failureId = failureIds.get(position);
+            } else {
+                failureId = null;
+            }
+            position++;
+
+            if (failureId == null || !failureIds.contains(failureId)) {
+                logger.debug("Ignoring batch decision for unknown failure id: {}", failureId);
+                continue;
+            }
+            try {
+                parsed.putIfAbsent(failureId, parseHealDecisionFromJson(entry, provider, model));
+            } catch (LlmException e) {
+                logger.warn("Invalid decision for failure {} in batch response: {}", failureId, e.getMessage());
+            }
+        }
+
+        Map<String, HealDecision> decisions = new LinkedHashMap<>();
+        for (String failureId : failureIds) {
+            decisions.put(failureId, parsed.getOrDefault(failureId,
+                    HealDecision.cannotHeal("No decision returned for this failure in batch response")));
+        }
+        return decisions;
+    }
+
     private HealDecision parseHealDecisionFromJson(JsonNode json, String provider, String model) {
         HealDecision.Builder builder = HealDecision.builder();
 
@@ -82,6 +151,15 @@ public class ResponseParser {
             builder.alternativeIndices(alternatives);
         }
 
+        // collection_indices
+        if (json.has("collection_indices") && json.get("collection_indices").isArray()) {
+            List<Integer> members = new ArrayList<>();
+            for (JsonNode idx : json.get("collection_indices")) {
+                members.add(idx.asInt());
+            }
+            builder.collectionIndices(members);
+        }
+
         // warnings
         if (json.has("warnings") && json.get("warnings").isArray()) {
             List<String> warnings = new ArrayList<>();
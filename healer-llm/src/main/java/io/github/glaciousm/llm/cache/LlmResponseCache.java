@@ -0,0 +1,222 @@
+package io.github.glaciousm.llm.cache;
+
+import io.github.glaciousm.core.config.LlmConfig.ResponseCacheConfig;
+import io.github.glaciousm.core.model.HealDecision;
+import io.github.glaciousm.core.model.OutcomeResult;
+import io.github.glaciousm.core.store.ColumnFamily;
+import io.github.glaciousm.core.store.StateStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of parsed LLM responses, persisted in a {@link StateStore}.
+ *
+ * <p>Entries are keyed by a {@link PromptFingerprint}, so the same prompt sent to the same
+ * model at the same temperature is answered from disk in later runs, at no token cost.
+ * Entries expire after the configured TTL; when a kind of response exceeds the entry
+ * limit, the oldest tenth is evicted and the store compacts the freed space away. A
+ * decision whose heal was rejected is evicted so the next run asks the model again.</p>
+ */
+public final class LlmResponseCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmResponseCache.class);
+
+    private final StateStore store;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final ColumnFamily<CachedDecision> decisions;
+    private final ColumnFamily<CachedBatch> batches;
+    private final ColumnFamily<CachedOutcome> outcomes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public LlmResponseCache(StateStore store, Duration ttl, int maxEntries) {
+        this.store = store;
+        this.ttl = ttl;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.decisions = store.family("llm.decisions", CachedDecision.class);
+        this.batches = store.family("llm.batches", CachedBatch.class);
+        this.outcomes = store.family("llm.outcomes", CachedOutcome.class);
+    }
+
+    /**
+     * Open the cache in the configured directory.
+     */
+    public static LlmResponseCache open(ResponseCacheConfig config) throws IOException {
+        StateStore store = StateStore.open(Path.of(config.getDirectory()));
+        LlmResponseCache cache = new LlmResponseCache(store, Duration.ofHours(config.getTtlHours()),
+                config.getMaxEntries());
+        Runtime.getRuntime().addShutdownHook(new Thread(cache::close, "llm-response-cache-shutdown"));
+        logger.info("LLM response cache opened in {}", store.getDirectory());
+        return cache;
+    }
+
+    public Optional<HealDecision> getDecision(String key) {
+        return lookup(decisions, key).map(entry -> entry.decision().toDecision());
+    }
+
+    public void putDecision(String key, HealDecision decision) {
+        store(decisions, key, new CachedDecision(StoredDecision.of(decision), Instant.now()));
+    }
+
+    /**
+     * Drop a cached decision, e.g. because the heal it led to was rejected.
+     */
+    public void evictDecision(String key) {
+        evict(decisions, key);
+    }
+
+    public Optional<Map<String, HealDecision>> getBatch(String key) {
+        return lookup(batches, key).map(entry -> {
+            Map<String, HealDecision> batch = new LinkedHashMap<>();
+            entry.decisions().forEach((id, decision) -> batch.put(id, decision.toDecision()));
+            return batch;
+        });
+    }
+
+    public void putBatch(String key, Map<String, HealDecision> batch) {
+        Map<String, StoredDecision> stored = new LinkedHashMap<>();
+        batch.forEach((id, decision) -> stored.put(id, StoredDecision.of(decision)));
+        store(batches, key, new CachedBatch(stored, Instant.now()));
+    }
+
+    /**
+     * Drop a cached batch of decisions, e.g. because a heal from it was rejected.
+     */
+    public void evictBatch(String key) {
+        evict(batches, key);
+    }
+
+    public Optional<OutcomeResult> getOutcome(String key) {
+        return lookup(outcomes, key).map(CachedOutcome::toResult);
+    }
+
+    public void putOutcome(String key, OutcomeResult result) {
+        store(outcomes, key, new CachedOutcome(result.isPassed(), result.getMessage(), result.getConfidence(),
+                Instant.now()));
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), stores.get(), evictions.get());
+    }
+
+    /**
+     * Flush pending writes and release the store.
+     */
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private <V extends Timestamped> Optional<V> lookup(ColumnFamily<V> family, String key) {
+        Optional<V> entry = family.get(key);
+        if (entry.isPresent() && isExpired(entry.get())) {
+            family.delete(key);
+            entry = Optional.empty();
+        }
+        (entry.isPresent() ? hits : misses).incrementAndGet();
+        return entry;
+    }
+
+    private <V extends Timestamped> void store(ColumnFamily<V> family, String key, V value) {
+        family.put(key, value);
+        stores.incrementAndGet();
+        if (family.size() > maxEntries) {
+            evictOldest(family);
+        }
+    }
+
+    private <V extends Timestamped> void evict(ColumnFamily<V> family, String key) {
+        if (family.get(key).isPresent()) {
+            family.delete(key);
+            evictions.incrementAndGet();
+            logger.debug("Evicted rejected response {} from LLM response cache family {}", key, family.getName());
+        }
+    }
+
+    private synchronized <V extends Timestamped> void evictOldest(ColumnFamily<V> family) {
+        int excess = family.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        // Evict a tenth at once so eviction does not run on every put
+        int count = Math.max(excess, maxEntries / 10);
+        List<String> oldest = family.load().entrySet().stream()
+                .sorted(Comparator.comparing(e -> e.getValue().createdAt()))
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .toList();
+        oldest.forEach(family::delete);
+        evictions.addAndGet(oldest.size());
+        logger.debug("Evicted {} entries from LLM response cache family {}", oldest.size(), family.getName());
+    }
+
+    private boolean isExpired(Timestamped entry) {
+        return entry.createdAt() == null || entry.createdAt().plus(ttl).isBefore(Instant.now());
+    }
+
+    private interface Timestamped {
+        Instant createdAt();
+    }
+
+    private record CachedDecision(StoredDecision decision, Instant createdAt) implements Timestamped {
+    }
+
+    private record CachedBatch(Map<String, StoredDecision> decisions, Instant createdAt) implements Timestamped {
+    }
+
+    /**
+     * Field-for-field copy of a {@link HealDecision}, so the stored form does not depend on
+     * how the model class maps to JSON.
+     */
+    private record StoredDecision(boolean canHeal, double confidence, Integer selectedElementIndex,
+                                  String reasoning, List<Integer> alternativeIndices, List<String> warnings,
+                                  String refusalReason, List<Integer> collectionIndices) {
+
+        static StoredDecision of(HealDecision decision) {
+            return new StoredDecision(decision.canHeal(), decision.getConfidence(),
+                    decision.getSelectedElementIndex(), decision.getReasoning(),
+                    decision.getAlternativeIndices(), decision.getWarnings(), decision.getRefusalReason(),
+                    decision.getCollectionIndices());
+        }
+
+        HealDecision toDecision() {
+            return new HealDecision(canHeal, confidence, selectedElementIndex, reasoning,
+                    alternativeIndices, warnings, refusalReason, collectionIndices);
+        }
+    }
+
+    private record CachedOutcome(boolean passed, String message, double confidence, Instant createdAt)
+            implements Timestamped {
+
+        OutcomeResult toResult() {
+            return passed ? OutcomeResult.passed(message, confidence) : OutcomeResult.failed(message);
+        }
+    }
+
+    /**
+     * Cache statistics since open.
+     *
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups not found or expired
+     * @param stores    responses stored
+     * @param evictions entries evicted to stay within the entry limit, or because the heal
+     *                  they led to was rejected
+     */
+    public record Stats(long hits, long misses, long stores, long evictions) {
+    }
+}
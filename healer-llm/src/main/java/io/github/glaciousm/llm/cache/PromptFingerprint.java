@@ -0,0 +1,78 @@
+package io.github.glaciousm.llm.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Stable fingerprint of an LLM request, used as the response cache key.
+ *
+ * <p>The prompt is normalized first so values that change on every run without changing
+ * the page (timestamps, UUIDs, epoch values, whitespace) do not change the key.</p>
+ */
+public final class PromptFingerprint {
+
+    private static final Pattern UUID = Pattern.compile(
+            "\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b");
+    private static final Pattern ISO_TIMESTAMP = Pattern.compile(
+            "\\b\\d{4}-\\d{2}-\\d{2}[T ]\\d{2}:\\d{2}(:\\d{2}(\\.\\d+)?)?(Z|[+-]\\d{2}:?\\d{2})?");
+    private static final Pattern CLOCK_TIME = Pattern.compile("\\b\\d{1,2}:\\d{2}(:\\d{2})?\\b");
+    private static final Pattern LONG_NUMBER = Pattern.compile("\\b\\d{10,}\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private PromptFingerprint() {
+    }
+
+    /**
+     * Fingerprint a prompt for a model and temperature.
+     *
+     * @return lowercase hex SHA-256
+     */
+    public static String of(String prompt, String model, double temperature) {
+        return of(prompt, null, model, temperature);
+    }
+
+    /**
+     * Fingerprint a prompt sent with an image. Vision prompts describe the page but not what
+     * it looks like, so the image is hashed as is; without it, two pages that only differ in
+     * rendering would share a cached answer.
+     *
+     * @param imageBase64 the Base64 screenshot sent with the prompt, or null if none
+     * @return lowercase hex SHA-256
+     */
+    public static String of(String prompt, String imageBase64, String model, double temperature) {
+        String content = String.join("\n",
+                model != null ? model : "",
+                Double.toString(temperature),
+                normalize(prompt));
+        if (imageBase64 != null) {
+            content += "\nimage:" + sha256(imageBase64);
+        }
+        return sha256(content);
+    }
+
+    /**
+     * Replace volatile values with placeholders and collapse whitespace.
+     */
+    public static String normalize(String prompt) {
+        if (prompt == null) {
+            return "";
+        }
+        String normalized = UUID.matcher(prompt).replaceAll("<uuid>");
+        normalized = ISO_TIMESTAMP.matcher(normalized).replaceAll("<timestamp>");
+        normalized = CLOCK_TIME.matcher(normalized).replaceAll("<time>");
+        normalized = LONG_NUMBER.matcher(normalized).replaceAll("<number>");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").strip();
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
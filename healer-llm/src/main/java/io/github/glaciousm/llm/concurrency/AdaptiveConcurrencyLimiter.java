@@ -0,0 +1,357 @@
+package io.github.glaciousm.llm.concurrency;
+
+import io.github.glaciousm.core.config.LlmConfig.ConcurrencyConfig;
+import io.github.glaciousm.core.engine.circuit.CircuitBreaker;
+import io.github.glaciousm.core.exception.LlmException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive limit on concurrent calls to one LLM provider.
+ *
+ * <p>The limit follows AIMD: it grows by roughly one slot per round of successful calls
+ * while calls stay fast, is cut by 10% when a call takes longer than
+ * {@code latency_tolerance} times the fastest recent call, and is halved on a rate limit
+ * response. Decreases happen at most once per average call latency, so one burst of 429s
+ * counts once.</p>
+ *
+ * <p>Callers that find no free slot wait in a bounded queue ordered by deadline, so heals
+ * whose test is about to time out go first. A call is shed instead of queued when its
+ * deadline cannot be met at the current throughput, when the queue is full and every
+ * waiter is more urgent, or while the circuit breaker reports the cost limit as reached.</p>
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final double RATE_LIMIT_BACKOFF = 0.5;
+    private static final double LATENCY_BACKOFF = 0.9;
+    private static final int BASELINE_WINDOW = 50;
+
+    private final String provider;
+    private final ConcurrencyConfig config;
+    private final CircuitBreaker circuitBreaker;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+            Comparator.comparingLong(Waiter::deadlineNanos).thenComparingLong(Waiter::sequence));
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private long sequence;
+    private double smoothedLatencyNanos;
+    private long baselineLatencyNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private long lastDecreaseNanos;
+    private long admitted;
+    private long shed;
+    private long rateLimited;
+
+    /**
+     * @param provider       provider name, used in log messages and exceptions
+     * @param config         limits and queue settings
+     * @param circuitBreaker breaker whose cost tracking gates calls, or null
+     */
+    public AdaptiveConcurrencyLimiter(String provider, ConcurrencyConfig config, CircuitBreaker circuitBreaker) {
+        this.provider = provider;
+        this.config = config != null ? config : new ConcurrencyConfig();
+        this.circuitBreaker = circuitBreaker;
+        this.limit = clamp(this.config.getInitialLimit());
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    /**
+     * Wait for a slot. The returned permit must be released exactly once.
+     *
+     * @param deadline when the caller needs the call to have finished
+     * @throws LlmException if the call is shed or the cost limit is reached
+     */
+    public Permit acquire(Instant deadline) {
+        if (costLimitReached()) {
+            lock.lock();
+            try {
+                shed++;
+            } finally {
+                lock.unlock();
+            }
+            throw LlmException.costLimitExceeded(provider, "unknown");
+        }
+
+        long now = System.nanoTime();
+        long deadlineNanos = now + Math.max(0, Duration.between(Instant.now(), deadline).toNanos());
+        long waitUntil = Math.min(deadlineNanos, now + TimeUnit.SECONDS.toNanos(config.getMaxQueueWaitSeconds()));
+
+        lock.lock();
+        try {
+            if (queue.isEmpty() && inFlight < currentLimit()) {
+                return grant();
+            }
+            if (wouldMissDeadline(deadlineNanos, now)) {
+                throw shedLocked("no slot expected before the deadline");
+            }
+            if (queue.size() >= Math.max(0, config.getMaxQueueSize())) {
+                Waiter latest = latestWaiter();
+                if (latest == null || latest.deadlineNanos() <= deadlineNanos) {
+                    throw shedLocked("wait queue is full");
+                }
+                queue.remove(latest);
+                latest.displaced = true;
+                latest.condition.signal();
+            }
+
+            Waiter waiter = new Waiter(deadlineNanos, sequence++, lock.newCondition());
+            queue.add(waiter);
+            while (true) {
+                if (waiter.permit != null) {
+                    return waiter.permit;
+                }
+                if (waiter.displaced) {
+                    throw shedLocked("displaced from the wait queue by a more urgent call");
+                }
+                long remaining = waitUntil - System.nanoTime();
+                if (remaining <= 0) {
+                    queue.remove(waiter);
+                    throw shedLocked("no slot became free in time");
+                }
+                try {
+                    waiter.condition.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    queue.remove(waiter);
+                    if (waiter.permit != null) {
+                        release(waiter.permit, Outcome.IGNORED);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new LlmException("Interrupted waiting for an LLM call slot", e, provider, "unknown");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        lock.lock();
+        try {
+            return new Stats(currentLimit(), inFlight, queue.size(), admitted, shed, rateLimited,
+                    Duration.ofNanos((long) smoothedLatencyNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean costLimitReached() {
+        if (circuitBreaker == null) {
+            return false;
+        }
+        CircuitBreaker.CircuitStats stats = circuitBreaker.getStats();
+        return stats.openedDueToCost()
+                || (stats.dailyCostLimit() > 0 && stats.dailyCost() >= stats.dailyCostLimit());
+    }
+
+    /**
+     * Estimate whether a new waiter would get a slot and finish before its deadline, given
+     * the waiters ahead of it and the current limit. Without latency samples there is
+     * nothing to estimate from, so nothing is shed.
+     */
+    private boolean wouldMissDeadline(long deadlineNanos, long now) {
+        if (deadlineNanos <= now) {
+            return true;
+        }
+        if (smoothedLatencyNanos <= 0) {
+            return false;
+        }
+        long ahead = queue.stream().filter(w -> w.deadlineNanos() <= deadlineNanos).count();
+        double rounds = Math.floor((double) ahead / currentLimit()) + 1;
+        double expectedFinish = (rounds + 1) * smoothedLatencyNanos;
+        return expectedFinish > deadlineNanos - now;
+    }
+
+    private Waiter latestWaiter() {
+        return queue.stream().max(Comparator.comparingLong(Waiter::deadlineNanos)
+                .thenComparingLong(Waiter::sequence)).orElse(null);
+    }
+
+    private LlmException shedLocked(String reason) {
+        shed++;
+        logger.debug("Shedding LLM call to {} ({} in flight, {} queued, limit {}): {}",
+                provider, inFlight, queue.size(), currentLimit(), reason);
+        return LlmException.overloaded(provider, "unknown", reason);
+    }
+
+    private Permit grant() {
+        inFlight++;
+        admitted++;
+        return new Permit(inFlight);
+    }
+
+    private void dispatch() {
+        while (inFlight < currentLimit() && !queue.isEmpty()) {
+            Waiter next = queue.poll();
+            next.permit = grant();
+            next.condition.signal();
+        }
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        long latency = System.nanoTime() - permit.startNanos;
+        lock.lock();
+        try {
+            inFlight--;
+            switch (outcome) {
+                case SUCCESS -> onSuccess(latency, permit.inFlightAtStart);
+                case RATE_LIMITED -> {
+                    rateLimited++;
+                    decrease(RATE_LIMIT_BACKOFF, "rate limited");
+                }
+                case IGNORED -> {
+                }
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(long latencyNanos, int inFlightAtStart) {
+        smoothedLatencyNanos = smoothedLatencyNanos <= 0
+                ? latencyNanos
+                : smoothedLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - smoothedLatencyNanos);
+
+        // The baseline is the fastest call of the previous window, so it follows the
+        // provider when its normal latency drifts
+        windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+        baselineLatencyNanos = Math.min(baselineLatencyNanos, latencyNanos);
+        if (++windowSamples >= BASELINE_WINDOW) {
+            baselineLatencyNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+
+        if (latencyNanos > config.getLatencyTolerance() * baselineLatencyNanos) {
+            decrease(LATENCY_BACKOFF, "latency above baseline");
+        } else if (inFlightAtStart * 2 >= currentLimit()) {
+            // Only grow while the limit is actually in use
+            limit = Math.min(config.getMaxLimit(), limit + 1.0 / limit);
+        }
+    }
+
+    private void decrease(double factor, String reason) {
+        long now = System.nanoTime();
+        if (smoothedLatencyNanos > 0 && now - lastDecreaseNanos < smoothedLatencyNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        double previous = limit;
+        limit = clamp(limit * factor);
+        if ((int) previous != (int) limit) {
+            logger.debug("LLM concurrency limit for {} lowered to {} ({})", provider, (int) limit, reason);
+        }
+    }
+
+    private int currentLimit() {
+        return Math.max(1, (int) limit);
+    }
+
+    private double clamp(double value) {
+        int min = Math.max(1, config.getMinLimit());
+        int max = Math.max(min, config.getMaxLimit());
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private enum Outcome {
+        SUCCESS, RATE_LIMITED, IGNORED
+    }
+
+    /**
+     * A slot for one call. Report how the call went with {@link #success()} or
+     * {@link #rateLimited()}; {@link #close()} releases without adjusting the limit.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * The call completed; its latency feeds the limit.
+         */
+        public void success() {
+            releaseOnce(Outcome.SUCCESS);
+        }
+
+        /**
+         * The provider rejected the call with a rate limit.
+         */
+        public void rateLimited() {
+            releaseOnce(Outcome.RATE_LIMITED);
+        }
+
+        @Override
+        public void close() {
+            releaseOnce(Outcome.IGNORED);
+        }
+
+        private synchronized void releaseOnce(Outcome outcome) {
+            if (!released) {
+                released = true;
+                release(this, outcome);
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final long deadlineNanos;
+        private final long sequence;
+        private final Condition condition;
+        private Permit permit;
+        private boolean displaced;
+
+        private Waiter(long deadlineNanos, long sequence, Condition condition) {
+            this.deadlineNanos = deadlineNanos;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        long deadlineNanos() {
+            return deadlineNanos;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * Limiter statistics.
+     *
+     * @param limit          current concurrency limit
+     * @param inFlight       calls holding a slot
+     * @param queueDepth     calls waiting for a slot
+     * @param admitted       calls given a slot since creation
+     * @param shed           calls rejected instead of queued or after waiting
+     * @param rateLimited    calls the provider rejected with a rate limit
+     * @param averageLatency smoothed latency of successful calls
+     */
+    public record Stats(int limit, int inFlight, int queueDepth, long admitted, long shed,
+                        long rateLimited, Duration averageLatency) {
+    }
+}
@@ -7,16 +7,24 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.llm.CacheablePrompt;
 import io.github.glaciousm.llm.LlmProvider;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
 import io.github.glaciousm.llm.util.HttpClientFactory;
 import io.github.glaciousm.llm.util.SecurityUtils;
+import io.github.glaciousm.llm.util.JsonCompletionScanner.Shape;
+import io.github.glaciousm.llm.util.StreamingCompletion;
+import io.github.glaciousm.llm.vision.PreparedImage;
+import io.github.glaciousm.llm.vision.VisionImagePipeline;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Anthropic Claude LLM provider implementation.
@@ -30,7 +38,9 @@ public class AnthropicProvider implements LlmProvider {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final PromptBuilder promptBuilder = new PromptBuilder();
+    private final VisionImagePipeline imagePipeline = new VisionImagePipeline();
     private final ResponseParser responseParser = new ResponseParser();
+    private volatile Consumer<TokenUsage> usageListener = usage -> { };
 
     @Override
     public HealDecision evaluateCandidates(
@@ -47,22 +57,34 @@ public class AnthropicProvider implements LlmProvider {
         }
 
         // Build prompt - use vision-enhanced prompt if vision is enabled
-        String prompt;
-        String screenshotBase64 = null;
+        CacheablePrompt prompt;
+        PreparedImage screenshot = null;
 
         if (config.isVisionEnabled() && isVisionModel(config.getModel()) && snapshot.getScreenshotBase64().isPresent()) {
-            prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent);
-            screenshotBase64 = snapshot.getScreenshotBase64().orElse(null);
+            prompt = new CacheablePrompt("", promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent));
+            screenshot = imagePipeline.prepare(snapshot, failure, intent, config.getVision()).orElse(null);
             logger.debug("Using vision-enhanced healing with Anthropic model: {}", config.getModel());
         } else {
-            prompt = promptBuilder.buildHealingPrompt(failure, snapshot, intent);
+            prompt = promptBuilder.buildHealingPromptParts(failure, snapshot, intent);
             logger.debug("Using text-only healing with Anthropic model: {}", config.getModel());
         }
 
-        String response = callApi(prompt, screenshotBase64, config, apiKey);
+        String response = callApi(prompt, screenshot, config, apiKey, Shape.DECISION);
         return responseParser.parseHealDecision(response, getProviderName(), config.getModel());
     }
 
+    @Override
+    public Map<String, HealDecision> evaluateCandidatesBatch(BatchHealRequest request, LlmConfig config) {
+        String apiKey = getApiKey(config);
+        CacheablePrompt prompt = promptBuilder.buildBatchHealingPromptParts(request);
+        logger.debug("Using batched healing with Anthropic model: {} ({} failures)",
+                config.getModel(), request.size());
+
+        String response = callApi(prompt, null, config, apiKey, Shape.BATCH);
+        return responseParser.parseBatchHealDecisions(response, request.getFailureIds(),
+                getProviderName(), config.getModel());
+    }
+
     @Override
     public OutcomeResult validateOutcome(
             String expectedOutcome,
@@ -73,7 +95,7 @@ public class AnthropicProvider implements LlmProvider {
         String apiKey = getApiKey(config);
         String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
 
-        String response = callApi(prompt, config, apiKey);
+        String response = callApi(prompt, config, apiKey, Shape.OUTCOME);
         return responseParser.parseOutcomeResult(response, getProviderName(), config.getModel());
     }
 
@@ -82,12 +104,23 @@ public class AnthropicProvider implements LlmProvider {
         return "anthropic";
     }
 
+    @Override
+    public CompletableFuture<Void> warmUp(LlmConfig config) {
+        String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : DEFAULT_BASE_URL;
+        return HttpClientFactory.warmUp(HttpClientFactory.getClient(config), baseUrl);
+    }
+
     @Override
     public boolean isAvailable() {
         String apiKey = System.getenv("ANTHROPIC_API_KEY");
         return apiKey != null && !apiKey.isEmpty();
     }
 
+    @Override
+    public void setUsageListener(Consumer<TokenUsage> listener) {
+        this.usageListener = listener != null ? listener : usage -> { };
+    }
+
     @Override
     public boolean supportsVision() {
         return true;
@@ -102,25 +135,28 @@ public class AnthropicProvider implements LlmProvider {
                lowerModel.contains("claude-3.5");
     }
 
-    private String callApi(String prompt, LlmConfig config, String apiKey) {
-        return callApi(prompt, null, config, apiKey);
+    private String callApi(String prompt, LlmConfig config, String apiKey, Shape shape) {
+        return callApi(new CacheablePrompt("", prompt), null, config, apiKey, shape);
     }
 
-    private String callApi(String prompt, String screenshotBase64, LlmConfig config, String apiKey) {
+    private String callApi(CacheablePrompt prompt, PreparedImage screenshot, LlmConfig config, String apiKey,
+                           Shape shape) {
         String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : DEFAULT_BASE_URL;
         String url = baseUrl + "/messages";
 
         ObjectNode requestBody = objectMapper.createObjectNode();
         requestBody.put("model", config.getModel());
         requestBody.put("max_tokens", config.getMaxTokensPerRequest());
+        if (config.isStreaming()) {
+            requestBody.put("stream", true);
+        }
 
         ArrayNode messages = requestBody.putArray("messages");
         ObjectNode userMessage = messages.addObject();
         userMessage.put("role", "user");
 
         // Check if we should use vision (multimodal) format
-        boolean useVision = screenshotBase64 != null &&
-                           !screenshotBase64.isEmpty() &&
+        boolean useVision = screenshot != null &&
                            config.isVisionEnabled() &&
                            isVisionModel(config.getModel());
 
@@ -133,18 +169,38 @@ public class AnthropicProvider implements LlmProvider {
             imageContent.put("type", "image");
             ObjectNode source = imageContent.putObject("source");
             source.put("type", "base64");
-            source.put("media_type", "image/png");
-            source.put("data", screenshotBase64);
+            source.put("media_type", screenshot.mediaType());
+            source.put("data", screenshot.base64());
 
             // Add text content
             ObjectNode textContent = contentArray.addObject();
             textContent.put("type", "text");
-            textContent.put("text", prompt);
+            textContent.put("text", prompt.text());
 
             logger.debug("Using vision mode with screenshot for model: {}", config.getModel());
+        } else if (!prompt.prefix().isEmpty()) {
+            // Mark the shared instructions, and the page after them, as cacheable so repeated heals
+            // only pay for the rest
+            ArrayNode contentArray = userMessage.putArray("content");
+
+            ObjectNode instructions = contentArray.addObject();
+            instructions.put("type", "text");
+            instructions.put("text", prompt.prefix());
+            instructions.putObject("cache_control").put("type", "ephemeral");
+
+            if (!prompt.page().isEmpty()) {
+                ObjectNode page = contentArray.addObject();
+                page.put("type", "text");
+                page.put("text", prompt.page());
+                page.putObject("cache_control").put("type", "ephemeral");
+            }
+
+            ObjectNode context = contentArray.addObject();
+            context.put("type", "text");
+            context.put("text", prompt.suffix());
         } else {
             // Standard text-only message
-            userMessage.put("content", prompt);
+            userMessage.put("content", prompt.text());
         }
 
         Request request = new Request.Builder()
@@ -160,11 +216,12 @@ public class AnthropicProvider implements LlmProvider {
         Exception lastException = null;
 
         // Get a cached client with the configured timeout
-        OkHttpClient client = HttpClientFactory.getClientWithReadTimeout(config.getTimeoutSeconds());
+        OkHttpClient client = HttpClientFactory.getClient(config);
 
         while (retries <= maxRetries) {
             try {
-                try (Response response = client.newCall(request).execute()) {
+                Call call = client.newCall(request);
+                try (Response response = call.execute()) {
                     if (!response.isSuccessful()) {
                         String errorBody = response.body() != null ? response.body().string() : "unknown";
                         int statusCode = response.code();
@@ -176,8 +233,23 @@ public class AnthropicProvider implements LlmProvider {
                                 getProviderName(), config.getModel());
                     }
 
+                    if (StreamingCompletion.isStream(response.header("Content-Type"))) {
+                        ObjectNode usage = objectMapper.createObjectNode();
+                        StreamingCompletion.Result streamed = StreamingCompletion.read(
+                                response.body().charStream(), StreamingCompletion.Format.SSE, shape, event -> {
+                                    collectUsage(event, usage);
+                                    return streamedText(event);
+                                });
+                        if (streamed.complete()) {
+                            // Stop the generation instead of draining the text after the decision
+                            call.cancel();
+                        }
+                        reportUsage(usage, config.getModel());
+                        return streamed.text();
+                    }
+
                     String responseBody = response.body().string();
-                    return extractContentFromResponse(responseBody);
+                    return extractContentFromResponse(responseBody, config.getModel());
                 }
             } catch (IOException e) {
                 lastException = e;
@@ -197,9 +269,10 @@ public class AnthropicProvider implements LlmProvider {
         throw LlmException.unavailable(getProviderName(), config.getModel(), lastException);
     }
 
-    private String extractContentFromResponse(String responseBody) {
+    private String extractContentFromResponse(String responseBody, String model) {
         try {
             JsonNode json = objectMapper.readTree(responseBody);
+            reportUsage(json.get("usage"), model);
             JsonNode content = json.get("content");
             if (content != null && content.isArray() && content.size() > 0) {
                 JsonNode firstContent = content.get(0);
@@ -215,6 +288,46 @@ public class AnthropicProvider implements LlmProvider {
         }
     }
 
+    /**
+     * Report token counts. Anthropic counts cache reads and writes apart from the other input.
+     */
+    private void reportUsage(JsonNode usage, String model) {
+        if (usage == null || !usage.isObject() || usage.isEmpty()) {
+            return;
+        }
+        int cacheRead = usage.path("cache_read_input_tokens").asInt();
+        int cacheWrite = usage.path("cache_creation_input_tokens").asInt();
+        int input = usage.path("input_tokens").asInt() + cacheRead + cacheWrite;
+        usageListener.accept(new TokenUsage(model, input, cacheRead, cacheWrite, usage.path("output_tokens").asInt()));
+    }
+
+    /**
+     * Gather token counts from a streamed event. {@code message_start} carries the input counts and
+     * {@code message_delta} the running output count; a stream cut off after the decision only
+     * counts the output seen so far.
+     */
+    private static void collectUsage(JsonNode event, ObjectNode usage) {
+        JsonNode counts = switch (event.path("type").asText()) {
+            case "message_start" -> event.path("message").path("usage");
+            case "message_delta" -> event.path("usage");
+            default -> null;
+        };
+        if (counts != null && counts.isObject()) {
+            usage.setAll((ObjectNode) counts);
+        }
+    }
+
+    /**
+     * Generated text of one streamed message event; only text deltas carry any.
+     */
+    private static String streamedText(JsonNode event) {
+        if (!"content_block_delta".equals(event.path("type").asText())) {
+            return null;
+        }
+        JsonNode text = event.path("delta").path("text");
+        return text.isTextual() ? text.asText() : null;
+    }
+
     private String getApiKey(LlmConfig config) {
         // Try config-specified env var, fall back to ANTHROPIC_API_KEY
         String envVar = "ANTHROPIC_API_KEY";
@@ -10,16 +10,21 @@ import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.llm.LlmProvider;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
+import io.github.glaciousm.llm.util.HttpClientFactory;
 import io.github.glaciousm.llm.util.SecurityUtils;
+import io.github.glaciousm.llm.util.JsonCompletionScanner.Shape;
+import io.github.glaciousm.llm.util.StreamingCompletion;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * LLM provider implementation for Azure OpenAI Service.
@@ -30,16 +35,14 @@ public class AzureOpenAiProvider implements LlmProvider {
     private static final Logger logger = LoggerFactory.getLogger(AzureOpenAiProvider.class);
 
     private static final String DEFAULT_API_VERSION = "2024-02-15-preview";
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
-    private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final PromptBuilder promptBuilder;
     private final ResponseParser responseParser;
+    private volatile Consumer<TokenUsage> usageListener = usage -> { };
 
     public AzureOpenAiProvider() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
         this.objectMapper = new ObjectMapper();
         this.promptBuilder = new PromptBuilder();
         this.responseParser = new ResponseParser();
@@ -55,6 +58,20 @@ public class AzureOpenAiProvider implements LlmProvider {
         return isAvailable(null);
     }
 
+    @Override
+    public void setUsageListener(Consumer<TokenUsage> listener) {
+        this.usageListener = listener != null ? listener : usage -> { };
+    }
+
+    @Override
+    public CompletableFuture<Void> warmUp(LlmConfig config) {
+        String endpoint = getEndpoint(config);
+        if (endpoint == null || endpoint.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return HttpClientFactory.warmUp(HttpClientFactory.getClient(config), endpoint);
+    }
+
     @Override
     public boolean isAvailable(LlmConfig config) {
         // Check config first, then fall back to environment variables
@@ -82,7 +99,7 @@ public class AzureOpenAiProvider implements LlmProvider {
             String prompt = promptBuilder.buildEvaluationPrompt(failure, snapshot, intent);
             String systemPrompt = promptBuilder.buildSystemPrompt();
 
-            AzureResponse response = callAzure(systemPrompt, prompt, config);
+            AzureResponse response = callAzure(systemPrompt, prompt, config, Shape.DECISION);
 
             HealDecision decision = responseParser.parseHealDecision(response.content);
             logger.debug("Azure OpenAI response: latency={}ms, tokens={}/{}",
@@ -92,9 +109,29 @@ public class AzureOpenAiProvider implements LlmProvider {
 
         } catch (IOException e) {
             throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw LlmException.connectionError(getProviderName(), "Request interrupted");
+        }
+    }
+
+    @Override
+    public Map<String, HealDecision> evaluateCandidatesBatch(BatchHealRequest request, LlmConfig config) {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            String prompt = promptBuilder.buildBatchHealingPrompt(request);
+            String systemPrompt = promptBuilder.buildSystemPrompt();
+
+            AzureResponse response = callAzure(systemPrompt, prompt, config, Shape.BATCH);
+
+            Map<String, HealDecision> decisions = responseParser.parseBatchHealDecisions(
+                    response.content, request.getFailureIds(), getProviderName(), config.getModel());
+            logger.debug("Azure OpenAI batch response: failures={}, latency={}ms, tokens={}/{}",
+                    request.size(), System.currentTimeMillis() - startTime,
+                    response.promptTokens, response.completionTokens);
+
+            return decisions;
+
+        } catch (IOException e) {
+            throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
         }
     }
 
@@ -109,20 +146,17 @@ public class AzureOpenAiProvider implements LlmProvider {
             String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
             String systemPrompt = "You are a test outcome validator. Determine if the expected outcome was achieved.";
 
-            AzureResponse response = callAzure(systemPrompt, prompt, config);
+            AzureResponse response = callAzure(systemPrompt, prompt, config, Shape.OUTCOME);
 
             return responseParser.parseOutcomeResult(response.content);
 
         } catch (IOException e) {
             throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw LlmException.connectionError(getProviderName(), "Request interrupted");
         }
     }
 
-    private AzureResponse callAzure(String systemPrompt, String userPrompt, LlmConfig config)
-            throws IOException, InterruptedException {
+    private AzureResponse callAzure(String systemPrompt, String userPrompt, LlmConfig config, Shape shape)
+            throws IOException {
 
         String endpoint = getEndpoint(config);
         String apiKey = getApiKey(config);
@@ -164,30 +198,44 @@ public class AzureOpenAiProvider implements LlmProvider {
         if (config != null && config.getMaxTokensPerRequest() > 0) {
             requestBody.put("max_tokens", config.getMaxTokensPerRequest());
         }
+        if (config != null && config.isStreaming()) {
+            requestBody.put("stream", true);
+        }
 
         String requestJson = objectMapper.writeValueAsString(requestBody);
-        int timeoutSeconds = config != null && config.getTimeoutSeconds() > 0 ? config.getTimeoutSeconds() : 30;
 
         logger.debug("Azure OpenAI request to deployment: {}", deployment);
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Content-Type", "application/json")
+        Request request = new Request.Builder()
+                .url(url)
                 .header("api-key", apiKey)
-                .timeout(Duration.ofSeconds(timeoutSeconds))
-                .POST(HttpRequest.BodyPublishers.ofString(requestJson))
+                .post(RequestBody.create(requestJson, JSON))
                 .build();
 
-        HttpResponse<String> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        // Closing the response before the end of a stream cancels the rest of the generation
+        try (Response httpResponse = HttpClientFactory.getClient(config).newCall(request).execute()) {
+            if (httpResponse.code() != 200) {
+                String errorBody = httpResponse.body() != null ? httpResponse.body().string() : "unknown";
+                logger.error("Azure OpenAI API error: {} - {}", httpResponse.code(), SecurityUtils.sanitizeErrorMessage(errorBody));
+                throw new LlmException(SecurityUtils.sanitizeErrorMessage("Azure OpenAI API error: " + httpResponse.code()),
+                        getProviderName(), deployment);
+            }
 
-        if (httpResponse.statusCode() != 200) {
-            logger.error("Azure OpenAI API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(httpResponse.body()));
-            throw new LlmException(SecurityUtils.sanitizeErrorMessage("Azure OpenAI API error: " + httpResponse.statusCode()),
-                    getProviderName(), deployment);
+            if (StreamingCompletion.isStream(httpResponse.header("Content-Type"))) {
+                AzureResponse response = new AzureResponse();
+                response.content = StreamingCompletion.read(httpResponse.body().charStream(),
+                        StreamingCompletion.Format.SSE, shape, AzureOpenAiProvider::streamedText).text();
+                return response;
+            }
+            AzureResponse response = parseResponse(objectMapper.readTree(httpResponse.body().charStream()));
+            // Azure applies the same automatic prefix caching as OpenAI
+            usageListener.accept(new TokenUsage(deployment, response.promptTokens, response.cachedTokens,
+                    response.completionTokens));
+            return response;
         }
+    }
 
-        JsonNode responseJson = objectMapper.readTree(httpResponse.body());
-
+    private AzureResponse parseResponse(JsonNode responseJson) {
         AzureResponse response = new AzureResponse();
 
         // Extract content
@@ -203,12 +251,21 @@ public class AzureOpenAiProvider implements LlmProvider {
         JsonNode usage = responseJson.get("usage");
         if (usage != null) {
             response.promptTokens = usage.has("prompt_tokens") ? usage.get("prompt_tokens").asInt() : 0;
+            response.cachedTokens = usage.path("prompt_tokens_details").path("cached_tokens").asInt();
             response.completionTokens = usage.has("completion_tokens") ? usage.get("completion_tokens").asInt() : 0;
         }
 
         return response;
     }
 
+    /**
+     * Generated text of one streamed chat completion chunk.
+     */
+    private static String streamedText(JsonNode chunk) {
+        JsonNode content = chunk.path("choices").path(0).path("delta").path("content");
+        return content.isTextual() ? content.asText() : null;
+    }
+
     private String getEndpoint(LlmConfig config) {
         if (config != null && config.getEndpoint() != null && !config.getEndpoint().isEmpty()) {
             return config.getEndpoint();
@@ -274,6 +331,7 @@ public class AzureOpenAiProvider implements LlmProvider {
     private static class AzureResponse {
         String content;
         int promptTokens;
+        int cachedTokens;
         int completionTokens;
     }
 }
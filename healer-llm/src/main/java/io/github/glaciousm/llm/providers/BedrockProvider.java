@@ -10,24 +10,26 @@ import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.llm.LlmProvider;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
+import io.github.glaciousm.llm.util.HttpClientFactory;
 import io.github.glaciousm.llm.util.SecurityUtils;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * LLM provider implementation for AWS Bedrock.
@@ -40,16 +42,13 @@ public class BedrockProvider implements LlmProvider {
     private static final String SERVICE = "bedrock";
     private static final String DEFAULT_REGION = "us-east-1";
     private static final String DEFAULT_MODEL = "anthropic.claude-3-5-sonnet-20241022-v2:0";
+    private static final MediaType JSON = MediaType.get("application/json");
 
-    private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final PromptBuilder promptBuilder;
     private final ResponseParser responseParser;
 
     public BedrockProvider() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
         this.objectMapper = new ObjectMapper();
         this.promptBuilder = new PromptBuilder();
         this.responseParser = new ResponseParser();
@@ -94,6 +93,31 @@ public class BedrockProvider implements LlmProvider {
         }
     }
 
+    @Override
+    public Map<String, HealDecision> evaluateCandidatesBatch(BatchHealRequest request, LlmConfig config) {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            String prompt = promptBuilder.buildBatchHealingPrompt(request);
+            String systemPrompt = promptBuilder.buildSystemPrompt();
+
+            BedrockResponse response = invokeModel(systemPrompt, prompt, config);
+
+            Map<String, HealDecision> decisions = responseParser.parseBatchHealDecisions(
+                    response.content, request.getFailureIds(), getProviderName(), getModel(config));
+            logger.debug("Bedrock batch response: failures={}, latency={}ms, tokens={}/{}",
+                    request.size(), System.currentTimeMillis() - startTime,
+                    response.inputTokens, response.outputTokens);
+
+            return decisions;
+
+        } catch (LlmException e) {
+            throw e;
+        } catch (Exception e) {
+            throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
+        }
+    }
+
     @Override
     public OutcomeResult validateOutcome(
             String expectedOutcome,
@@ -114,14 +138,18 @@ public class BedrockProvider implements LlmProvider {
         }
     }
 
-    private BedrockResponse invokeModel(String systemPrompt, String userPrompt, LlmConfig config)
-            throws IOException, InterruptedException {
+    @Override
+    public CompletableFuture<Void> warmUp(LlmConfig config) {
+        return HttpClientFactory.warmUp(HttpClientFactory.getClient(config), "https://" + runtimeHost(getRegion(config)));
+    }
+
+    private BedrockResponse invokeModel(String systemPrompt, String userPrompt, LlmConfig config) throws IOException {
 
         String region = getRegion(config);
         String modelId = getModel(config);
 
         // Determine endpoint based on model
-        String host = String.format("bedrock-runtime.%s.amazonaws.com", region);
+        String host = runtimeHost(region);
         String endpoint = String.format("https://%s/model/%s/invoke", host, modelId);
 
         // Build request body based on model type
@@ -137,8 +165,6 @@ public class BedrockProvider implements LlmProvider {
             requestBody = buildAnthropicRequest(systemPrompt, userPrompt, config);
         }
 
-        int timeoutSeconds = config != null && config.getTimeoutSeconds() > 0 ? config.getTimeoutSeconds() : 60;
-
         // Sign request with AWS Signature V4
         ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
         String amzDate = now.format(DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'"));
@@ -176,14 +202,13 @@ public class BedrockProvider implements LlmProvider {
 
         logger.debug("Bedrock request to model: {}", modelId);
 
-        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                .uri(URI.create(endpoint))
-                .header("Content-Type", "application/json")
+        // The signature covers the exact content type, so the body must not add a charset to it
+        Request.Builder requestBuilder = new Request.Builder()
+                .url(endpoint)
                 .header("X-Amz-Date", amzDate)
                 .header("X-Amz-Content-Sha256", contentHash)
                 .header("Authorization", authorizationHeader)
-                .timeout(Duration.ofSeconds(timeoutSeconds))
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody));
+                .post(RequestBody.create(requestBody.getBytes(StandardCharsets.UTF_8), JSON));
 
         // Add session token if using temporary credentials
         String sessionToken = getSessionToken();
@@ -191,16 +216,20 @@ public class BedrockProvider implements LlmProvider {
             requestBuilder.header("X-Amz-Security-Token", sessionToken);
         }
 
-        HttpRequest request = requestBuilder.build();
-        HttpResponse<String> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        try (Response httpResponse = HttpClientFactory.getClient(config).newCall(requestBuilder.build()).execute()) {
+            String responseBody = httpResponse.body() != null ? httpResponse.body().string() : "";
+            if (httpResponse.code() != 200) {
+                logger.error("Bedrock API error: {} - {}", httpResponse.code(), SecurityUtils.sanitizeErrorMessage(responseBody));
+                throw new LlmException(SecurityUtils.sanitizeErrorMessage("Bedrock API error: " + httpResponse.code()),
+                        getProviderName(), modelId);
+            }
 
-        if (httpResponse.statusCode() != 200) {
-            logger.error("Bedrock API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(httpResponse.body()));
-            throw new LlmException(SecurityUtils.sanitizeErrorMessage("Bedrock API error: " + httpResponse.statusCode()),
-                    getProviderName(), modelId);
+            return parseResponse(responseBody, modelId);
         }
+    }
 
-        return parseResponse(httpResponse.body(), modelId);
+    private static String runtimeHost(String region) {
+        return String.format("bedrock-runtime.%s.amazonaws.com", region);
     }
 
     private String buildAnthropicRequest(String systemPrompt, String userPrompt, LlmConfig config) throws IOException {
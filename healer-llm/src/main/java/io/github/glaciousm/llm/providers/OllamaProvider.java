@@ -10,18 +10,27 @@ import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.llm.LlmProvider;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
+import io.github.glaciousm.llm.util.HttpClientFactory;
 import io.github.glaciousm.llm.util.SecurityUtils;
+import io.github.glaciousm.llm.util.JsonCompletionScanner.Shape;
+import io.github.glaciousm.llm.util.StreamingCompletion;
+import io.github.glaciousm.llm.vision.PreparedImage;
+import io.github.glaciousm.llm.vision.VisionImagePipeline;
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * LLM provider implementation for Ollama (local models).
@@ -41,15 +50,14 @@ public class OllamaProvider implements LlmProvider {
      */
     public static final String DEFAULT_MODEL = "llama3.1";
 
-    private final HttpClient httpClient;
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
     private final ObjectMapper objectMapper;
     private final PromptBuilder promptBuilder;
+    private final VisionImagePipeline imagePipeline = new VisionImagePipeline();
     private final ResponseParser responseParser;
 
     public OllamaProvider() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
         this.objectMapper = new ObjectMapper();
         this.promptBuilder = new PromptBuilder();
         this.responseParser = new ResponseParser();
@@ -64,20 +72,20 @@ public class OllamaProvider implements LlmProvider {
     public boolean isAvailable() {
         try {
             String endpoint = getEndpoint(null);
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(endpoint + "/api/tags"))
-                    .timeout(Duration.ofSeconds(5))
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            return response.statusCode() == 200;
+            try (Response response = get(endpoint + "/api/tags")) {
+                return response.code() == 200;
+            }
         } catch (Exception e) {
             logger.debug("Ollama not available: {}", e.getMessage());
             return false;
         }
     }
 
+    @Override
+    public CompletableFuture<Void> warmUp(LlmConfig config) {
+        return HttpClientFactory.warmUp(HttpClientFactory.getClient(config), getEndpoint(config));
+    }
+
     @Override
     public boolean supportsVision() {
         return true;
@@ -113,7 +121,9 @@ public class OllamaProvider implements LlmProvider {
 
             if (config.isVisionEnabled() && isVisionModel(model) && snapshot.getScreenshotBase64().isPresent()) {
                 prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent);
-                screenshotBase64 = snapshot.getScreenshotBase64().orElse(null);
+                screenshotBase64 = imagePipeline.prepare(snapshot, failure, intent, config.getVision())
+                        .map(PreparedImage::base64)
+                        .orElse(null);
                 logger.debug("Using vision-enhanced healing with Ollama model: {}", model);
             } else {
                 prompt = promptBuilder.buildEvaluationPrompt(failure, snapshot, intent);
@@ -122,7 +132,8 @@ public class OllamaProvider implements LlmProvider {
             String systemPrompt = promptBuilder.buildSystemPrompt();
 
             // Make API call
-            OllamaResponse response = callOllama(endpoint, model, prompt, systemPrompt, screenshotBase64, config);
+            OllamaResponse response = callOllama(endpoint, model, prompt, systemPrompt, screenshotBase64, config,
+                    Shape.DECISION);
 
             // Parse response
             HealDecision decision = responseParser.parseHealDecision(response.response);
@@ -135,9 +146,32 @@ public class OllamaProvider implements LlmProvider {
 
         } catch (IOException e) {
             throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw LlmException.connectionError(getProviderName(), "Request interrupted");
+        }
+    }
+
+    @Override
+    public Map<String, HealDecision> evaluateCandidatesBatch(BatchHealRequest request, LlmConfig config) {
+        long startTime = System.currentTimeMillis();
+        String endpoint = getEndpoint(config);
+        String model = getModel(config);
+
+        try {
+            String prompt = promptBuilder.buildBatchHealingPrompt(request);
+            String systemPrompt = promptBuilder.buildSystemPrompt();
+
+            OllamaResponse response = callOllama(endpoint, model, prompt, systemPrompt, null, config, Shape.BATCH);
+
+            Map<String, HealDecision> decisions = responseParser.parseBatchHealDecisions(
+                    response.response, request.getFailureIds(), getProviderName(), model);
+            int promptTokens = response.promptEvalCount != null ? response.promptEvalCount : 0;
+            int completionTokens = response.evalCount != null ? response.evalCount : 0;
+            logger.debug("Ollama batch response: failures={}, latency={}ms, tokens={}/{}",
+                    request.size(), System.currentTimeMillis() - startTime, promptTokens, completionTokens);
+
+            return decisions;
+
+        } catch (IOException e) {
+            throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
         }
     }
 
@@ -155,15 +189,12 @@ public class OllamaProvider implements LlmProvider {
             String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
             String systemPrompt = "You are a test outcome validator. Determine if the expected outcome was achieved.";
 
-            OllamaResponse response = callOllama(endpoint, model, prompt, systemPrompt, null, config);
+            OllamaResponse response = callOllama(endpoint, model, prompt, systemPrompt, null, config, Shape.OUTCOME);
 
             return responseParser.parseOutcomeResult(response.response);
 
         } catch (IOException e) {
             throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw LlmException.connectionError(getProviderName(), "Request interrupted");
         }
     }
 
@@ -173,13 +204,14 @@ public class OllamaProvider implements LlmProvider {
             String prompt,
             String systemPrompt,
             String screenshotBase64,
-            LlmConfig config) throws IOException, InterruptedException {
+            LlmConfig config,
+            Shape shape) throws IOException {
 
         OllamaRequest request = new OllamaRequest();
         request.model = model;
         request.prompt = prompt;
         request.system = systemPrompt;
-        request.stream = false;
+        request.stream = config != null && config.isStreaming();
         request.options = new OllamaOptions();
         request.options.temperature = config != null && config.getTemperature() > 0
                 ? config.getTemperature() : 0.1;
@@ -191,44 +223,41 @@ public class OllamaProvider implements LlmProvider {
         }
 
         String requestBody = objectMapper.writeValueAsString(request);
-        int timeoutSeconds = config != null && config.getTimeoutSeconds() > 0
-                ? config.getTimeoutSeconds() : 60;
 
         logger.debug("Ollama request to {}: model={}", endpoint, model);
 
-        HttpRequest httpRequest = HttpRequest.newBuilder()
-                .uri(URI.create(endpoint + "/api/generate"))
-                .header("Content-Type", "application/json")
-                .timeout(Duration.ofSeconds(timeoutSeconds))
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+        Request httpRequest = new Request.Builder()
+                .url(endpoint + "/api/generate")
+                .post(RequestBody.create(requestBody, JSON))
                 .build();
 
-        HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+        // Closing the response before the end of a stream cancels the rest of the generation
+        try (Response httpResponse = HttpClientFactory.getClient(config).newCall(httpRequest).execute()) {
+            if (httpResponse.code() != 200) {
+                String errorBody = httpResponse.body() != null ? httpResponse.body().string() : "unknown";
+                logger.error("Ollama API error: {} - {}", httpResponse.code(), SecurityUtils.sanitizeErrorMessage(errorBody));
+                throw new LlmException(SecurityUtils.sanitizeErrorMessage("Ollama API error: " + httpResponse.code()),
+                        getProviderName(), model);
+            }
 
-        if (httpResponse.statusCode() != 200) {
-            logger.error("Ollama API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(httpResponse.body()));
-            throw new LlmException(SecurityUtils.sanitizeErrorMessage("Ollama API error: " + httpResponse.statusCode()),
-                    getProviderName(), model);
+            if (request.stream && StreamingCompletion.isStream(httpResponse.header("Content-Type"))) {
+                OllamaResponse response = new OllamaResponse();
+                response.model = model;
+                response.response = StreamingCompletion.read(httpResponse.body().charStream(),
+                        StreamingCompletion.Format.NDJSON, shape, chunk -> chunk.path("response").asText(null)).text();
+                return response;
+            }
+            return objectMapper.readValue(httpResponse.body().charStream(), OllamaResponse.class);
         }
-
-        return objectMapper.readValue(httpResponse.body(), OllamaResponse.class);
     }
 
     /**
      * List available models on the Ollama server.
      */
     public List<String> listModels(String endpoint) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(endpoint + "/api/tags"))
-                    .timeout(Duration.ofSeconds(5))
-                    .GET()
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                JsonNode root = objectMapper.readTree(response.body());
+        try (Response response = get(endpoint + "/api/tags")) {
+            if (response.code() == 200) {
+                JsonNode root = objectMapper.readTree(response.body().charStream());
                 JsonNode models = root.get("models");
                 if (models != null && models.isArray()) {
                     return java.util.stream.StreamSupport.stream(models.spliterator(), false)
@@ -251,23 +280,31 @@ public class OllamaProvider implements LlmProvider {
             Map<String, Object> body = Map.of("name", modelName, "stream", false);
             String requestBody = objectMapper.writeValueAsString(body);
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(endpoint + "/api/pull"))
-                    .header("Content-Type", "application/json")
-                    .timeout(Duration.ofMinutes(30))
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+            Request request = new Request.Builder()
+                    .url(endpoint + "/api/pull")
+                    .post(RequestBody.create(requestBody, JSON))
                     .build();
 
             logger.info("Pulling model {}...", modelName);
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            return response.statusCode() == 200;
+            // A pull without streaming answers only when the download has finished
+            OkHttpClient client = HttpClientFactory.getDefault().newBuilder()
+                    .readTimeout(Duration.ofMinutes(30))
+                    .build();
+            try (Response response = client.newCall(request).execute()) {
+                return response.code() == 200;
+            }
         } catch (Exception e) {
             logger.error("Error pulling model: {}", SecurityUtils.sanitizeErrorMessage(e.getMessage()));
             return false;
         }
     }
 
+    private static Response get(String url) throws IOException {
+        Call call = HttpClientFactory.getDefault().newCall(new Request.Builder().url(url).get().build());
+        call.timeout().timeout(5, TimeUnit.SECONDS);
+        return call.execute();
+    }
+
     private String getEndpoint(LlmConfig config) {
         if (config != null && config.getEndpoint() != null && !config.getEndpoint().isEmpty()) {
             return config.getEndpoint();
@@ -12,11 +12,18 @@ import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
 import io.github.glaciousm.llm.util.HttpClientFactory;
 import io.github.glaciousm.llm.util.SecurityUtils;
+import io.github.glaciousm.llm.util.JsonCompletionScanner.Shape;
+import io.github.glaciousm.llm.util.StreamingCompletion;
+import io.github.glaciousm.llm.vision.PreparedImage;
+import io.github.glaciousm.llm.vision.VisionImagePipeline;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * OpenAI LLM provider implementation.
@@ -29,7 +36,9 @@ public class OpenAiProvider implements LlmProvider {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final PromptBuilder promptBuilder = new PromptBuilder();
+    private final VisionImagePipeline imagePipeline = new VisionImagePipeline();
     private final ResponseParser responseParser = new ResponseParser();
+    private volatile Consumer<TokenUsage> usageListener = usage -> { };
 
     @Override
     public HealDecision evaluateCandidates(
@@ -47,21 +56,33 @@ public class OpenAiProvider implements LlmProvider {
 
         // Build prompt - use vision-enhanced prompt if vision is enabled
         String prompt;
-        String screenshotBase64 = null;
+        PreparedImage screenshot = null;
 
         if (config.isVisionEnabled() && isVisionModel(config.getModel()) && snapshot.getScreenshotBase64().isPresent()) {
             prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent);
-            screenshotBase64 = snapshot.getScreenshotBase64().orElse(null);
+            screenshot = imagePipeline.prepare(snapshot, failure, intent, config.getVision()).orElse(null);
             logger.debug("Using vision-enhanced healing with OpenAI model: {}", config.getModel());
         } else {
             prompt = promptBuilder.buildHealingPrompt(failure, snapshot, intent);
             logger.debug("Using text-only healing with OpenAI model: {}", config.getModel());
         }
 
-        String response = callApi(prompt, screenshotBase64, config, apiKey);
+        String response = callApi(prompt, screenshot, config, apiKey, Shape.DECISION);
         return responseParser.parseHealDecision(response, getProviderName(), config.getModel());
     }
 
+    @Override
+    public Map<String, HealDecision> evaluateCandidatesBatch(BatchHealRequest request, LlmConfig config) {
+        String apiKey = getApiKey(config);
+        String prompt = promptBuilder.buildBatchHealingPrompt(request);
+        logger.debug("Using batched healing with OpenAI model: {} ({} failures)",
+                config.getModel(), request.size());
+
+        String response = callApi(prompt, config, apiKey, Shape.BATCH);
+        return responseParser.parseBatchHealDecisions(response, request.getFailureIds(),
+                getProviderName(), config.getModel());
+    }
+
     @Override
     public OutcomeResult validateOutcome(
             String expectedOutcome,
@@ -72,7 +93,7 @@ public class OpenAiProvider implements LlmProvider {
         String apiKey = getApiKey(config);
         String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
 
-        String response = callApi(prompt, config, apiKey);
+        String response = callApi(prompt, config, apiKey, Shape.OUTCOME);
         return responseParser.parseOutcomeResult(response, getProviderName(), config.getModel());
     }
 
@@ -81,12 +102,23 @@ public class OpenAiProvider implements LlmProvider {
         return "openai";
     }
 
+    @Override
+    public CompletableFuture<Void> warmUp(LlmConfig config) {
+        String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : DEFAULT_BASE_URL;
+        return HttpClientFactory.warmUp(HttpClientFactory.getClient(config), baseUrl);
+    }
+
     @Override
     public boolean isAvailable() {
         String apiKey = System.getenv("OPENAI_API_KEY");
         return apiKey != null && !apiKey.isEmpty();
     }
 
+    @Override
+    public void setUsageListener(Consumer<TokenUsage> listener) {
+        this.usageListener = listener != null ? listener : usage -> { };
+    }
+
     @Override
     public boolean supportsVision() {
         return true;
@@ -102,11 +134,12 @@ public class OpenAiProvider implements LlmProvider {
                lowerModel.contains("gpt-4-turbo");
     }
 
-    private String callApi(String prompt, LlmConfig config, String apiKey) {
-        return callApi(prompt, null, config, apiKey);
+    private String callApi(String prompt, LlmConfig config, String apiKey, Shape shape) {
+        return callApi(prompt, null, config, apiKey, shape);
     }
 
-    private String callApi(String prompt, String screenshotBase64, LlmConfig config, String apiKey) {
+    private String callApi(String prompt, PreparedImage screenshot, LlmConfig config, String apiKey,
+                           Shape shape) {
         String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : DEFAULT_BASE_URL;
         String url = baseUrl + "/chat/completions";
 
@@ -114,14 +147,16 @@ public class OpenAiProvider implements LlmProvider {
         requestBody.put("model", config.getModel());
         requestBody.put("temperature", config.getTemperature());
         requestBody.put("max_tokens", config.getMaxTokensPerRequest());
+        if (config.isStreaming()) {
+            requestBody.put("stream", true);
+        }
 
         ArrayNode messages = requestBody.putArray("messages");
         ObjectNode userMessage = messages.addObject();
         userMessage.put("role", "user");
 
         // Check if we should use vision (multimodal) format
-        boolean useVision = screenshotBase64 != null &&
-                           !screenshotBase64.isEmpty() &&
+        boolean useVision = screenshot != null &&
                            config.isVisionEnabled() &&
                            isVisionModel(config.getModel());
 
@@ -138,7 +173,7 @@ public class OpenAiProvider implements LlmProvider {
             ObjectNode imageContent = contentArray.addObject();
             imageContent.put("type", "image_url");
             ObjectNode imageUrl = imageContent.putObject("image_url");
-            imageUrl.put("url", "data:image/png;base64," + screenshotBase64);
+            imageUrl.put("url", screenshot.dataUrl());
 
             // Set image detail level based on config
             String detail = config.getVision() != null ? config.getVision().getImageQuality() : "auto";
@@ -162,11 +197,12 @@ public class OpenAiProvider implements LlmProvider {
         Exception lastException = null;
 
         // Get a cached client with the configured timeout
-        OkHttpClient client = HttpClientFactory.getClientWithReadTimeout(config.getTimeoutSeconds());
+        OkHttpClient client = HttpClientFactory.getClient(config);
 
         while (retries <= maxRetries) {
             try {
-                try (Response response = client.newCall(request).execute()) {
+                Call call = client.newCall(request);
+                try (Response response = call.execute()) {
                     if (!response.isSuccessful()) {
                         String errorBody = response.body() != null ? response.body().string() : "unknown";
                         int statusCode = response.code();
@@ -178,8 +214,19 @@ public class OpenAiProvider implements LlmProvider {
                                 getProviderName(), config.getModel());
                     }
 
+                    if (StreamingCompletion.isStream(response.header("Content-Type"))) {
+                        StreamingCompletion.Result streamed = StreamingCompletion.read(
+                                response.body().charStream(), StreamingCompletion.Format.SSE, shape,
+                                OpenAiProvider::streamedText);
+                        if (streamed.complete()) {
+                            // Stop the generation instead of draining the text after the decision
+                            call.cancel();
+                        }
+                        return streamed.text();
+                    }
+
                     String responseBody = response.body().string();
-                    return extractContentFromResponse(responseBody);
+                    return extractContentFromResponse(responseBody, config.getModel());
                 }
             } catch (IOException e) {
                 lastException = e;
@@ -199,9 +246,10 @@ public class OpenAiProvider implements LlmProvider {
         throw LlmException.unavailable(getProviderName(), config.getModel(), lastException);
     }
 
-    private String extractContentFromResponse(String responseBody) {
+    private String extractContentFromResponse(String responseBody, String model) {
         try {
             JsonNode json = objectMapper.readTree(responseBody);
+            reportUsage(json.get("usage"), model);
             JsonNode choices = json.get("choices");
             if (choices != null && choices.isArray() && choices.size() > 0) {
                 JsonNode message = choices.get(0).get("message");
@@ -217,6 +265,27 @@ public class OpenAiProvider implements LlmProvider {
         }
     }
 
+    /**
+     * Report token counts. Prompts longer than 1024 tokens are cached automatically; the cached
+     * part of the prompt is reported under prompt_tokens_details.
+     */
+    private void reportUsage(JsonNode usage, String model) {
+        if (usage == null || !usage.isObject()) {
+            return;
+        }
+        usageListener.accept(new TokenUsage(model, usage.path("prompt_tokens").asInt(),
+                usage.path("prompt_tokens_details").path("cached_tokens").asInt(),
+                usage.path("completion_tokens").asInt()));
+    }
+
+    /**
+     * Generated text of one streamed chat completion chunk.
+     */
+    private static String streamedText(JsonNode chunk) {
+        JsonNode content = chunk.path("choices").path(0).path("delta").path("content");
+        return content.isTextual() ? content.asText() : null;
+    }
+
     private String getApiKey(LlmConfig config) {
         String envVar = config.getApiKeyEnv() != null ? config.getApiKeyEnv() : "OPENAI_API_KEY";
         // Check environment variable first, then system property (for tests)
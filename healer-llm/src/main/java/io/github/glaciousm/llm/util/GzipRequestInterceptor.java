@@ -0,0 +1,75 @@
+package io.github.glaciousm.llm.util;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gzips request bodies of at least a minimum size.
+ *
+ * Not every endpoint accepts compressed requests. A host that answers 415 Unsupported Media
+ * Type gets the request again uncompressed and is sent plain bodies from then on.
+ */
+class GzipRequestInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(GzipRequestInterceptor.class);
+    private static final int UNSUPPORTED_MEDIA_TYPE = 415;
+
+    /** Shared by all clients, since whether a host accepts gzip does not depend on the client. */
+    private static final Set<String> plainHosts = ConcurrentHashMap.newKeySet();
+
+    private final int minBytes;
+
+    GzipRequestInterceptor(int minBytes) {
+        this.minBytes = minBytes;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestBody body = request.body();
+        String host = request.url().host();
+        // A signed payload (AWS SigV4) must be sent exactly as it was hashed
+        if (body == null || request.header("Content-Encoding") != null || request.header("X-Amz-Content-Sha256") != null
+                || plainHosts.contains(host) || body.contentLength() < minBytes) {
+            return chain.proceed(request);
+        }
+
+        Response response = chain.proceed(request.newBuilder()
+                .header("Content-Encoding", "gzip")
+                .method(request.method(), gzip(body))
+                .build());
+        if (response.code() != UNSUPPORTED_MEDIA_TYPE) {
+            return response;
+        }
+        logger.debug("{} does not accept gzip request bodies, sending them uncompressed", host);
+        plainHosts.add(host);
+        response.close();
+        return chain.proceed(request);
+    }
+
+    static void forgetPlainHosts() {
+        plainHosts.clear();
+    }
+
+    private static RequestBody gzip(RequestBody body) throws IOException {
+        Buffer compressed = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(compressed))) {
+            body.writeTo(sink);
+        }
+        MediaType contentType = body.contentType();
+        return RequestBody.create(compressed.readByteString(), contentType);
+    }
+}
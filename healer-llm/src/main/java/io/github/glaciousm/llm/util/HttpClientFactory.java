@@ -1,10 +1,23 @@
 package io.github.glaciousm.llm.util;
 
+import io.github.glaciousm.core.config.LlmConfig;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Factory for creating and caching OkHttpClient instances.
@@ -14,12 +27,18 @@ import java.util.concurrent.TimeUnit;
  * - Reusing clients enables HTTP/2 connection multiplexing
  * - Connection keep-alive and pooling dramatically improve performance
  *
- * This factory provides thread-safe access to shared client instances
- * with configurable timeouts.
+ * Every provider gets its client here, so all LLM traffic shares one transport: HTTP/2
+ * where the server offers it, an explicitly sized connection pool, optional gzip request
+ * bodies, and per-phase timing of each call (see {@link #setTimingListener(Consumer)}).
  */
 public class HttpClientFactory {
 
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientFactory.class);
+
     private static final ConcurrentHashMap<String, OkHttpClient> clientCache = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, ConnectionPool> poolCache = new ConcurrentHashMap<>();
+
+    private static volatile Consumer<PhaseTimings> timingListener = timings -> { };
 
     // Default shared client for most use cases
     private static final OkHttpClient DEFAULT_CLIENT = new OkHttpClient.Builder()
@@ -27,6 +46,9 @@ public class HttpClientFactory {
             .readTimeout(60, TimeUnit.SECONDS)
             .writeTimeout(30, TimeUnit.SECONDS)
             .retryOnConnectionFailure(true)
+            .connectionPool(pool(new LlmConfig.TransportConfig()))
+            .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .eventListenerFactory(call -> new PhaseTimingListener(timings -> timingListener.accept(timings)))
             .build();
 
     private HttpClientFactory() {
@@ -41,6 +63,36 @@ public class HttpClientFactory {
         return DEFAULT_CLIENT;
     }
 
+    /**
+     * Get the client for a provider configuration: its timeout as the read timeout, and the
+     * pool size, protocols and compression from its transport settings.
+     * Clients are cached by configuration and share a connection pool per pool size.
+     *
+     * @param config the provider configuration, or null for the defaults
+     * @return a configured OkHttpClient instance
+     */
+    public static OkHttpClient getClient(LlmConfig config) {
+        int readTimeoutSeconds = config != null && config.getTimeoutSeconds() > 0 ? config.getTimeoutSeconds() : 60;
+        LlmConfig.TransportConfig transport = config != null && config.getTransport() != null
+                ? config.getTransport() : new LlmConfig.TransportConfig();
+        String cacheKey = String.format("%d-%d-%d-%b-%d-%d-%b-%d", 30, readTimeoutSeconds, 30,
+                transport.isHttp2(), transport.getMaxIdleConnections(), transport.getKeepAliveSeconds(),
+                transport.isCompressRequests(), transport.getCompressionMinBytes());
+
+        return clientCache.computeIfAbsent(cacheKey, key -> {
+            OkHttpClient.Builder builder = DEFAULT_CLIENT.newBuilder()
+                    .readTimeout(Duration.ofSeconds(readTimeoutSeconds))
+                    .connectionPool(pool(transport))
+                    .protocols(transport.isHttp2()
+                            ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                            : List.of(Protocol.HTTP_1_1));
+            if (transport.isCompressRequests()) {
+                builder.addInterceptor(new GzipRequestInterceptor(transport.getCompressionMinBytes()));
+            }
+            return builder.build();
+        });
+    }
+
     /**
      * Get a client with custom timeouts.
      * Clients are cached by timeout configuration for reuse.
@@ -73,12 +125,61 @@ public class HttpClientFactory {
         return getClient(30, readTimeoutSeconds, 30);
     }
 
+    /**
+     * Open a connection to a provider in the background, so the first real request finds
+     * DNS, TCP and TLS already done. Any response, including an error status, leaves the
+     * connection in the pool; failures are only logged.
+     *
+     * @param client the client whose pool should hold the connection
+     * @param url    any URL on the provider's host
+     * @return completes when the warm-up request has finished, successfully or not
+     */
+    public static CompletableFuture<Void> warmUp(OkHttpClient client, String url) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Request request;
+        try {
+            request = new Request.Builder().url(url).head().build();
+        } catch (IllegalArgumentException e) {
+            logger.debug("Skipping warm-up of invalid URL {}", url);
+            done.complete(null);
+            return done;
+        }
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                logger.debug("Warmed up connection to {} ({})", request.url().host(), response.protocol());
+                done.complete(null);
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                logger.debug("Warm-up of {} failed: {}", request.url().host(),
+                        SecurityUtils.sanitizeErrorMessage(e.getMessage()));
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    /**
+     * Receive the phase timings of every call made through these clients.
+     *
+     * @param listener the listener, or null to stop reporting
+     */
+    public static void setTimingListener(Consumer<PhaseTimings> listener) {
+        timingListener = listener != null ? listener : timings -> { };
+    }
+
     /**
      * Clear all cached clients.
      * Should only be used in tests or when shutting down.
      */
     public static void clearCache() {
         clientCache.clear();
+        poolCache.values().forEach(ConnectionPool::evictAll);
+        poolCache.clear();
+        GzipRequestInterceptor.forgetPlainHosts();
     }
 
     /**
@@ -89,4 +190,11 @@ public class HttpClientFactory {
     public static int getCacheSize() {
         return clientCache.size();
     }
+
+    private static ConnectionPool pool(LlmConfig.TransportConfig transport) {
+        int maxIdle = Math.max(1, transport.getMaxIdleConnections());
+        int keepAlive = Math.max(1, transport.getKeepAliveSeconds());
+        return poolCache.computeIfAbsent(maxIdle + "-" + keepAlive,
+                key -> new ConnectionPool(maxIdle, keepAlive, TimeUnit.SECONDS));
+    }
 }
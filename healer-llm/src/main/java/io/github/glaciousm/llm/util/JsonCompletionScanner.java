@@ -0,0 +1,149 @@
+package io.github.glaciousm.llm.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Incrementally scans streamed model output for the first complete JSON value of the expected shape.
+ *
+ * Text before the JSON value (such as a markdown fence) is skipped, braces inside strings
+ * are ignored, and everything after the value is never needed, so a streamed response can be
+ * cut off as soon as {@link #isComplete()} turns true. A value only completes once it parses
+ * and has the expected key; anything else, such as a bracketed aside in the reasoning, is
+ * skipped and scanning goes on after its opening bracket.
+ */
+public class JsonCompletionScanner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Shape shape;
+    private final StringBuilder text = new StringBuilder();
+    private int scanned;
+    private int start = -1;
+    private int end = -1;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * Scanner accepting any JSON object or array.
+     */
+    public JsonCompletionScanner() {
+        this(Shape.ANY);
+    }
+
+    public JsonCompletionScanner(Shape shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * Append the next chunk of output.
+     *
+     * @return true once a complete JSON value of the expected shape has been seen
+     */
+    public boolean append(CharSequence chunk) {
+        if (chunk == null || isComplete()) {
+            return isComplete();
+        }
+        text.append(chunk);
+        for (; scanned < text.length() && end < 0; scanned++) {
+            char c = text.charAt(scanned);
+            if (start < 0) {
+                if (c == '{' || (c == '[' && !shape.objectOnly())) {
+                    start = scanned;
+                    depth = 1;
+                }
+            } else if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                if (shape.accepts(text.substring(start, scanned + 1))) {
+                    end = scanned + 1;
+                } else {
+                    // Not the answer; look for the next value inside or after this one
+                    scanned = start;
+                    start = -1;
+                }
+            }
+        }
+        return isComplete();
+    }
+
+    public boolean isComplete() {
+        return end >= 0;
+    }
+
+    /**
+     * The complete JSON value, or null while it is still incomplete.
+     */
+    public String json() {
+        return isComplete() ? text.substring(start, end) : null;
+    }
+
+    /**
+     * All output received so far.
+     */
+    public String text() {
+        return text.toString();
+    }
+
+    /**
+     * The JSON value a call is waiting for.
+     *
+     * @param objectOnly  whether only an object is accepted; otherwise an array is too
+     * @param requiredKey key an object must have, or null for any object
+     * @param itemKey     key every element of an array must have, or null for any array
+     */
+    public record Shape(boolean objectOnly, String requiredKey, String itemKey) {
+
+        /** Any object or array. */
+        public static final Shape ANY = new Shape(false, null, null);
+
+        /** A single heal decision. */
+        public static final Shape DECISION = new Shape(true, "can_heal", null);
+
+        /** Batch heal decisions: an array of them, or an object holding them. */
+        public static final Shape BATCH = new Shape(false, "decisions", "can_heal");
+
+        /** An outcome validation. */
+        public static final Shape OUTCOME = new Shape(true, "outcome_achieved", null);
+
+        boolean accepts(String json) {
+            JsonNode node;
+            try {
+                node = MAPPER.readTree(json);
+            } catch (IOException e) {
+                return false;
+            }
+            if (node.isArray()) {
+                if (objectOnly) {
+                    return false;
+                }
+                if (itemKey == null) {
+                    return true;
+                }
+                if (node.isEmpty()) {
+                    return false;
+                }
+                for (JsonNode item : node) {
+                    if (!item.has(itemKey)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return node.isObject() && (requiredKey == null || node.has(requiredKey));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.glaciousm.llm.util;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Records the phases of one call and reports them as {@link PhaseTimings} when it ends.
+ * OkHttp creates one listener per call, so no state is shared between calls.
+ */
+class PhaseTimingListener extends EventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhaseTimingListener.class);
+
+    private final Consumer<PhaseTimings> sink;
+
+    private long callStart;
+    private long dnsStart;
+    private long dnsMillis;
+    private long connectStart;
+    private long connectMillis;
+    private long tlsStart;
+    private long tlsMillis;
+    private long requestStart;
+    private long headersReceived;
+    private long bodyEnd;
+    private boolean connected;
+    private String protocol = "unknown";
+
+    PhaseTimingListener(Consumer<PhaseTimings> sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        dnsMillis += millisSince(dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        connectStart = System.nanoTime();
+        connected = true;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        tlsMillis += millisSince(tlsStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        connectMillis += millisSince(connectStart);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol,
+                              IOException ioe) {
+        connectMillis += millisSince(connectStart);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        protocol = connection.protocol().toString();
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        headersReceived = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        bodyEnd = System.nanoTime();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        report(call, false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        report(call, true);
+    }
+
+    @Override
+    public void canceled(Call call) {
+        // A stream closed after the decision arrived ends in callFailed, which reports it
+    }
+
+    private void report(Call call, boolean failed) {
+        long end = System.nanoTime();
+        long ttfb = requestStart > 0 && headersReceived > 0 ? (headersReceived - requestStart) / 1_000_000 : 0;
+        long body = headersReceived > 0 ? ((bodyEnd > 0 ? bodyEnd : end) - headersReceived) / 1_000_000 : 0;
+        PhaseTimings timings = new PhaseTimings(call.request().url().host(), protocol, !connected,
+                dnsMillis, connectMillis, tlsMillis, ttfb, body, (end - callStart) / 1_000_000, failed);
+        logger.debug("{} {} over {}: dns={}ms connect={}ms tls={}ms ttfb={}ms body={}ms total={}ms{}",
+                call.request().method(), timings.host(), timings.protocol(), timings.dnsMillis(),
+                timings.connectMillis(), timings.tlsMillis(), timings.ttfbMillis(), timings.bodyMillis(),
+                timings.totalMillis(), timings.reusedConnection() ? " (reused connection)" : "");
+        try {
+            sink.accept(timings);
+        } catch (RuntimeException e) {
+            logger.debug("Timing listener failed: {}", e.getMessage());
+        }
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.glaciousm.llm.util;
+
+/**
+ * Where the time of one HTTP call to a provider went.
+ *
+ * Connect and TLS are zero when the call reused a pooled connection.
+ *
+ * @param host             the host that was called
+ * @param protocol         the negotiated protocol, such as {@code h2} or {@code http/1.1}
+ * @param reusedConnection whether the call ran on an already open connection
+ * @param dnsMillis        time spent resolving the host
+ * @param connectMillis    time spent opening the connection, including the TLS handshake
+ * @param tlsMillis        time spent in the TLS handshake
+ * @param ttfbMillis       time from sending the request until the response headers arrived
+ * @param bodyMillis       time spent reading the response body
+ * @param totalMillis      time from the start of the call until it ended
+ * @param failed           whether the call failed or was cancelled before it completed
+ */
+public record PhaseTimings(String host, String protocol, boolean reusedConnection,
+                           long dnsMillis, long connectMillis, long tlsMillis,
+                           long ttfbMillis, long bodyMillis, long totalMillis, boolean failed) {
+}
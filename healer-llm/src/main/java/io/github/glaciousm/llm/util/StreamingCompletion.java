@@ -0,0 +1,117 @@
+package io.github.glaciousm.llm.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Function;
+
+/**
+ * Reads a streamed LLM completion and stops as soon as the output holds a complete JSON value
+ * of the expected {@link JsonCompletionScanner.Shape}.
+ *
+ * Supports server-sent events (OpenAI, Azure OpenAI, Anthropic) and newline-delimited JSON
+ * (Ollama). Models often follow the decision object with more reasoning text; the caller closes
+ * the response once this returns, which cancels the rest of the generation.
+ */
+public final class StreamingCompletion {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingCompletion.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Wire format of the stream.
+     */
+    public enum Format {
+        /** {@code data: {...}} lines, ended by {@code data: [DONE]} or the end of the body. */
+        SSE,
+        /** One JSON object per line. */
+        NDJSON
+    }
+
+    /**
+     * Output of a streamed completion.
+     *
+     * @param text     the complete JSON value, or all text received when the stream ended without one
+     * @param complete whether a complete JSON value was found
+     * @param millis   time from the start of reading until the value was complete or the stream ended
+     */
+    public record Result(String text, boolean complete, long millis) {
+    }
+
+    private StreamingCompletion() {
+        // Utility class
+    }
+
+    /**
+     * Read events until a complete JSON object or array has been generated.
+     *
+     * @see #read(Reader, Format, JsonCompletionScanner.Shape, Function)
+     */
+    public static Result read(Reader body, Format format, Function<JsonNode, String> textOf) throws IOException {
+        return read(body, format, JsonCompletionScanner.Shape.ANY, textOf);
+    }
+
+    /**
+     * Read events until a complete JSON value of the expected shape has been generated.
+     *
+     * @param body   the response body
+     * @param format how events are framed
+     * @param shape  the value the call is waiting for
+     * @param textOf extracts the generated text from one event, or null when the event carries none
+     * @throws IOException when reading fails or the stream reports an error
+     */
+    public static Result read(Reader body, Format format, JsonCompletionScanner.Shape shape,
+                              Function<JsonNode, String> textOf) throws IOException {
+        long start = System.nanoTime();
+        JsonCompletionScanner scanner = new JsonCompletionScanner(shape);
+        BufferedReader reader = body instanceof BufferedReader buffered ? buffered : new BufferedReader(body);
+        int events = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String data = format == Format.SSE ? sseData(line) : line.trim();
+            if (data == null || data.isEmpty()) {
+                continue;
+            }
+            if ("[DONE]".equals(data)) {
+                break;
+            }
+            JsonNode event = MAPPER.readTree(data);
+            if (event.hasNonNull("error")) {
+                JsonNode error = event.get("error");
+                throw new IOException("Stream error: "
+                        + (error.isTextual() ? error.asText() : error.path("message").asText(error.toString())));
+            }
+            events++;
+            String text = textOf.apply(event);
+            if (text != null && scanner.append(text)) {
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                logger.debug("Streamed decision complete after {} events in {}ms; closing stream", events, millis);
+                return new Result(scanner.json(), true, millis);
+            }
+        }
+        return new Result(scanner.text(), false, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Whether a response with this content type is a stream this class can read.
+     * Servers that ignore the stream flag answer with a plain JSON body instead.
+     */
+    public static boolean isStream(String contentType) {
+        return contentType != null
+                && (contentType.startsWith("text/event-stream") || contentType.startsWith("application/x-ndjson"));
+    }
+
+    private static String sseData(String line) {
+        if (!line.startsWith("data:")) {
+            // event names, comments and ids carry no generated text
+            return null;
+        }
+        return line.substring(5).trim();
+    }
+}
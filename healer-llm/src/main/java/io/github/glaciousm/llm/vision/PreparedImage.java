@@ -0,0 +1,27 @@
+package io.github.glaciousm.llm.vision;
+
+/**
+ * A screenshot ready to attach to a vision prompt.
+ *
+ * @param base64    the encoded image
+ * @param mediaType the image type, such as {@code image/jpeg}
+ * @param width     width in pixels, or 0 when the screenshot is sent unchanged
+ * @param height    height in pixels, or 0 when the screenshot is sent unchanged
+ * @param cropped   whether the image was cropped to the candidate elements
+ */
+public record PreparedImage(String base64, String mediaType, int width, int height, boolean cropped) {
+
+    /**
+     * The image as a {@code data:} URL.
+     */
+    public String dataUrl() {
+        return "data:" + mediaType + ";base64," + base64;
+    }
+
+    /**
+     * Approximate number of image tokens, at about 750 pixels per token.
+     */
+    public int estimatedTokens() {
+        return (int) Math.ceil(width * (double) height / VisionImagePipeline.PIXELS_PER_TOKEN);
+    }
+}
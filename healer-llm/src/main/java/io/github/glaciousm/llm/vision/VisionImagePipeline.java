@@ -0,0 +1,379 @@
+package io.github.glaciousm.llm.vision;
+
+import io.github.glaciousm.core.config.LlmConfig.VisionConfig;
+import io.github.glaciousm.core.model.ElementRect;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.core.model.UiSnapshot;
+import io.github.glaciousm.core.model.Viewport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns a captured screenshot into the smallest image that still shows the model what it
+ * needs: downscaled to the image token budget, re-encoded as JPEG and, when enabled, cropped
+ * to the elements that best match the failed step.
+ *
+ * <p>A full-page PNG of a long page is several megabytes, which slows the upload and costs
+ * far more image tokens than the decision needs. Results are cached by a hash of the
+ * screenshot and the settings, so retries, fallback providers and repeated heals on the same
+ * page encode it once.</p>
+ *
+ * <p>Element rectangles are CSS pixels in the snapshot's own coordinates, while the screenshot
+ * is the viewport in device pixels. Rectangles are mapped through the snapshot's
+ * {@link Viewport} (scroll offset and device pixel ratio), and the image is only cropped when
+ * the snapshot recorded one and the image is exactly that viewport's size; otherwise it is
+ * sent uncropped.</p>
+ */
+public class VisionImagePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisionImagePipeline.class);
+
+    /** Roughly how many pixels make one image token for current vision models. */
+    static final int PIXELS_PER_TOKEN = 750;
+
+    /** Crops smaller than this are widened, so the model still sees the surrounding layout. */
+    private static final int MIN_CROP_WIDTH = 640;
+    private static final int MIN_CROP_HEIGHT = 400;
+
+    /** Only crop when it removes a meaningful part of the image. */
+    private static final double MAX_CROP_AREA_SHARE = 0.75;
+
+    private static final int DEFAULT_CACHE_SIZE = 32;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "into", "click", "button", "should", "when", "then", "given",
+            "user", "page", "field", "link", "input", "css", "xpath", "div", "span");
+
+    private final Map<String, PreparedImage> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public VisionImagePipeline() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public VisionImagePipeline(int cacheSize) {
+        int maxEntries = Math.max(1, cacheSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedImage> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Cache statistics.
+     */
+    public record Stats(long hits, long misses) {
+    }
+
+    /**
+     * Prepare the snapshot's screenshot for a vision prompt about this failure.
+     *
+     * @return the image to send, or empty when the snapshot has no screenshot
+     */
+    public Optional<PreparedImage> prepare(UiSnapshot snapshot, FailureContext failure, IntentContract intent,
+                                           VisionConfig config) {
+        String screenshot = snapshot.getScreenshotBase64().orElse(null);
+        if (screenshot == null || screenshot.isEmpty()) {
+            return Optional.empty();
+        }
+        if (config == null || !config.isOptimizeImages()) {
+            return Optional.of(original(screenshot));
+        }
+        List<ElementRect> candidates = config.isCropToCandidates()
+                ? candidateRects(snapshot, failure, intent, config.getCropCandidates())
+                : List.of();
+        return Optional.of(prepare(screenshot, candidates, snapshot.getViewport().orElse(null), config));
+    }
+
+    /**
+     * Prepare a screenshot, cropping to the given element rectangles when they allow it.
+     *
+     * @param candidates element rectangles in the coordinates of the viewport's snapshot
+     * @param viewport   where the screenshot sits relative to the rectangles, or null when
+     *                   unknown, in which case the image is not cropped
+     */
+    public PreparedImage prepare(String screenshotBase64, List<ElementRect> candidates, Viewport viewport,
+                                 VisionConfig config) {
+        String key = cacheKey(screenshotBase64, candidates, viewport, config);
+        synchronized (cache) {
+            PreparedImage cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        PreparedImage prepared;
+        try {
+            prepared = encode(screenshotBase64, candidates, viewport, config);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not optimize screenshot, sending it unchanged: {}", e.getMessage());
+            prepared = original(screenshotBase64);
+        }
+        synchronized (cache) {
+            cache.put(key, prepared);
+        }
+        return prepared;
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get());
+    }
+
+    /**
+     * Pick the rectangles of the visible elements whose text, labels and attributes share the
+     * most words with the failed locator, the step and the intent.
+     */
+    static List<ElementRect> candidateRects(UiSnapshot snapshot, FailureContext failure, IntentContract intent,
+                                            int limit) {
+        Set<String> query = new HashSet<>();
+        if (failure != null) {
+            addWords(query, failure.getStepText());
+            if (failure.getOriginalLocator() != null) {
+                addWords(query, failure.getOriginalLocator().getValue());
+            }
+        }
+        if (intent != null) {
+            addWords(query, intent.getDescription());
+        }
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        record Scored(ElementRect rect, int score, int index) {
+        }
+        List<Scored> scored = new ArrayList<>();
+        for (ElementSnapshot element : snapshot.getInteractiveElements()) {
+            ElementRect rect = element.getRect();
+            if (rect == null || !element.isVisible() || rect.getWidth() <= 0 || rect.getHeight() <= 0) {
+                continue;
+            }
+            Set<String> words = new HashSet<>();
+            addWords(words, element.getText());
+            addWords(words, element.getAriaLabel());
+            addWords(words, element.getId());
+            addWords(words, element.getName());
+            addWords(words, element.getPlaceholder());
+            addWords(words, element.getTitle());
+            if (element.getNearbyLabels() != null) {
+                element.getNearbyLabels().forEach(label -> addWords(words, label));
+            }
+            words.retainAll(query);
+            if (!words.isEmpty()) {
+                scored.add(new Scored(rect, words.size(), element.getIndex()));
+            }
+        }
+        return scored.stream()
+                .sorted(Comparator.comparingInt(Scored::score).reversed().thenComparingInt(Scored::index))
+                .limit(limit)
+                .map(Scored::rect)
+                .toList();
+    }
+
+    private PreparedImage encode(String screenshotBase64, List<ElementRect> candidates, Viewport viewport,
+                                 VisionConfig config) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(Base64.getMimeDecoder().decode(screenshotBase64)));
+        if (image == null) {
+            throw new IOException("unsupported image format");
+        }
+
+        Rectangle crop = null;
+        if (!candidates.isEmpty() && viewport != null && viewport.matchesImage(image.getWidth(), image.getHeight())) {
+            crop = cropArea(candidates.stream().map(viewport::toImagePixels).toList(), config.getCropMargin(),
+                    image.getWidth(), image.getHeight());
+        }
+        if (crop != null) {
+            image = image.getSubimage(crop.x, crop.y, crop.width, crop.height);
+        }
+
+        double scale = scaleFor(image.getWidth(), image.getHeight(), config);
+        if (scale < 1.0) {
+            image = downscale(image, (int) Math.max(1, Math.round(image.getWidth() * scale)),
+                    (int) Math.max(1, Math.round(image.getHeight() * scale)));
+        }
+
+        boolean png = "png".equalsIgnoreCase(config.getImageFormat());
+        byte[] bytes = png ? writePng(image) : writeJpeg(image, config.getJpegQuality());
+        return new PreparedImage(Base64.getEncoder().encodeToString(bytes), png ? "image/png" : "image/jpeg",
+                image.getWidth(), image.getHeight(), crop != null);
+    }
+
+    /**
+     * The union of the candidate rectangles (in image pixels) plus the margin, widened to the
+     * minimum size and clamped to the image, or null when cropping would not help or the
+     * rectangles do not fit.
+     */
+    static Rectangle cropArea(List<ElementRect> candidates, int margin, int imageWidth, int imageHeight) {
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        Rectangle union = null;
+        for (ElementRect rect : candidates) {
+            Rectangle r = new Rectangle(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
+            union = union == null ? r : union.union(r);
+        }
+        if (union.x < 0 || union.y < 0 || union.x + union.width > imageWidth || union.y + union.height > imageHeight) {
+            return null;
+        }
+
+        union.grow(Math.max(0, margin), Math.max(0, margin));
+        widen(union, MIN_CROP_WIDTH, MIN_CROP_HEIGHT);
+        Rectangle crop = union.intersection(new Rectangle(0, 0, imageWidth, imageHeight));
+        if (crop.isEmpty() || (double) crop.width * crop.height > MAX_CROP_AREA_SHARE * imageWidth * imageHeight) {
+            return null;
+        }
+        return crop;
+    }
+
+    private static void widen(Rectangle area, int minWidth, int minHeight) {
+        if (area.width < minWidth) {
+            area.x -= (minWidth - area.width) / 2;
+            area.width = minWidth;
+        }
+        if (area.height < minHeight) {
+            area.y -= (minHeight - area.height) / 2;
+            area.height = minHeight;
+        }
+    }
+
+    /**
+     * Scale factor that fits the image into the token budget and the maximum edge length.
+     */
+    static double scaleFor(int width, int height, VisionConfig config) {
+        double scale = 1.0;
+        if (config.getMaxImageTokens() > 0) {
+            double maxPixels = (double) config.getMaxImageTokens() * PIXELS_PER_TOKEN;
+            scale = Math.min(scale, Math.sqrt(maxPixels / ((double) width * height)));
+        }
+        if (config.getMaxImageSize() > 0) {
+            scale = Math.min(scale, (double) config.getMaxImageSize() / Math.max(width, height));
+        }
+        return scale;
+    }
+
+    /**
+     * Downscale in halving steps, so large reductions stay sharp without an area filter.
+     */
+    private static BufferedImage downscale(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] writeJpeg(BufferedImage image, float quality) throws IOException {
+        // JPEG has no alpha channel; flatten onto white
+        BufferedImage rgb = image;
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rgb.createGraphics();
+            try {
+                g.drawImage(image, 0, 0, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.max(0.1f, Math.min(1.0f, quality)));
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static PreparedImage original(String screenshotBase64) {
+        return new PreparedImage(screenshotBase64, "image/png", 0, 0, false);
+    }
+
+    private static String cacheKey(String screenshotBase64, List<ElementRect> candidates, Viewport viewport,
+                                   VisionConfig config) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(screenshotBase64.getBytes(StandardCharsets.ISO_8859_1));
+            StringBuilder key = new StringBuilder(HexFormat.of().formatHex(digest.digest()));
+            for (ElementRect rect : candidates) {
+                key.append('|').append(rect.getX()).append(',').append(rect.getY())
+                        .append(',').append(rect.getWidth()).append(',').append(rect.getHeight());
+            }
+            return key.append('|').append(viewport).append('|').append(config.getCropMargin()).append('|').append(config.getMaxImageTokens())
+                    .append('|').append(config.getMaxImageSize()).append('|').append(config.getImageFormat())
+                    .append('|').append(config.getJpegQuality()).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void addWords(Set<String> words, String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        // Split camelCase and kebab-case identifiers as well as prose
+        String spaced = text.replaceAll("([a-z])([A-Z])", "$1 $2").toLowerCase(Locale.ROOT);
+        for (String word : spaced.split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= 3 && !STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+    }
+}
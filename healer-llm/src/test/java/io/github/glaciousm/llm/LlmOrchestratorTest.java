@@ -1,13 +1,23 @@
 package io.github.glaciousm.llm;
 
+import io.github.glaciousm.core.config.CircuitBreakerConfig;
 import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.engine.circuit.CircuitBreaker;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -371,6 +381,185 @@ class LlmOrchestratorTest {
                 .hasMessageContaining("All LLM providers failed");
     }
 
+    @Test
+    void evaluateCandidatesBatch_withPrimaryProviderFailure_usesFallback() {
+        orchestrator.registerProvider("primary", mockProvider);
+        orchestrator.registerProvider("fallback", mockFallbackProvider);
+
+        LlmConfig config = createTestConfig("primary");
+        LlmConfig.FallbackProvider fallback = new LlmConfig.FallbackProvider();
+        fallback.setProvider("fallback");
+        fallback.setModel("fallback-model");
+        config.setFallback(List.of(fallback));
+
+        BatchHealRequest request = BatchHealRequest.builder()
+                .snapshot(createSampleSnapshot())
+                .item("f1", createSampleFailure(), createSampleIntent())
+                .build();
+
+        when(mockProvider.evaluateCandidatesBatch(eq(request), any()))
+                .thenThrow(new LlmException("Provider unavailable", "primary", "test-model"));
+        Map<String, HealDecision> expected = Map.of("f1", HealDecision.canHeal(0, 0.9, "Batch match"));
+        when(mockFallbackProvider.evaluateCandidatesBatch(eq(request), any())).thenReturn(expected);
+
+        Map<String, HealDecision> result = orchestrator.evaluateCandidatesBatch(request, config);
+
+        assertThat(result).isEqualTo(expected);
+        verify(mockProvider, never()).evaluateCandidates(any(), any(), any(), any());
+    }
+
+    @Test
+    void evaluateCandidatesBatch_withDefaultProviderImplementation_evaluatesEachFailure() {
+        LlmProvider singleOnly = mock(LlmProvider.class, CALLS_REAL_METHODS);
+        orchestrator.registerProvider("single", singleOnly);
+        LlmConfig config = createTestConfig("single");
+
+        FailureContext first = createSampleFailure();
+        FailureContext second = FailureContext.builder().stepText("second").build();
+        UiSnapshot snapshot = createSampleSnapshot();
+        BatchHealRequest request = BatchHealRequest.builder()
+                .snapshot(snapshot)
+                .item("f1", first, createSampleIntent())
+                .item("f2", second, createSampleIntent())
+                .build();
+
+        doReturn(HealDecision.canHeal(0, 0.9, "first")).when(singleOnly)
+                .evaluateCandidates(eq(first), eq(snapshot), any(), any());
+        doReturn(HealDecision.cannotHeal("none")).when(singleOnly)
+                .evaluateCandidates(eq(second), eq(snapshot), any(), any());
+
+        Map<String, HealDecision> result = orchestrator.evaluateCandidatesBatch(request, config);
+
+        assertThat(result.keySet()).containsExactly("f1", "f2");
+        assertThat(result.get("f1").canHeal()).isTrue();
+        assertThat(result.get("f2").canHeal()).isFalse();
+    }
+
+    @Test
+    void evaluateCandidates_withConcurrencyLimit_boundsParallelProviderCalls() throws Exception {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getConcurrency().setInitialLimit(2);
+        config.getConcurrency().setMaxLimit(2);
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(mockProvider.evaluateCandidates(any(), any(), any(), any())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            active.decrementAndGet();
+            return HealDecision.canHeal(0, 0.9, "ok");
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<HealDecision>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> orchestrator.evaluateCandidates(
+                    createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config)));
+        }
+        for (Future<HealDecision> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS).canHeal()).isTrue();
+        }
+        pool.shutdown();
+
+        assertThat(peak.get()).isLessThanOrEqualTo(2);
+        assertThat(orchestrator.getLimiterStats().get("test-provider").admitted()).isEqualTo(8);
+    }
+
+    @Test
+    void evaluateCandidates_overCostLimit_doesNotTryFallbacks() {
+        orchestrator.registerProvider("primary", mockProvider);
+        orchestrator.registerProvider("fallback", mockFallbackProvider);
+        CircuitBreakerConfig breakerConfig = new CircuitBreakerConfig();
+        breakerConfig.setDailyCostLimitUsd(1.0);
+        CircuitBreaker breaker = new CircuitBreaker(breakerConfig);
+        breaker.addCost(2.0);
+        orchestrator.setCircuitBreaker(breaker);
+
+        LlmConfig config = createTestConfig("primary");
+        config.setFallback(List.of(new LlmConfig.FallbackProvider("fallback", "fallback-model")));
+
+        assertThatThrownBy(() -> orchestrator.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config))
+                .isInstanceOf(LlmException.class)
+                .hasMessageContaining("cost limit");
+        verifyNoInteractions(mockProvider, mockFallbackProvider);
+    }
+
+    @Test
+    void evaluateCandidates_chargesReportedUsageWithCachedDiscountAndWritePremium() {
+        LlmProvider reporting = new LlmProvider() {
+            private java.util.function.Consumer<TokenUsage> listener = usage -> { };
+
+            @Override
+            public HealDecision evaluateCandidates(FailureContext failure, UiSnapshot snapshot,
+                                                   IntentContract intent, LlmConfig config) {
+                listener.accept(new TokenUsage("gpt-4", 10_000, 8_000, 1_000, 1_000));
+                return HealDecision.canHeal(1, 0.9, "Match");
+            }
+
+            @Override
+            public OutcomeResult validateOutcome(String expectedOutcome, UiSnapshot before, UiSnapshot after,
+                                                 LlmConfig config) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String getProviderName() {
+                return "reporting";
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return true;
+            }
+
+            @Override
+            public void setUsageListener(java.util.function.Consumer<TokenUsage> listener) {
+                this.listener = listener;
+            }
+        };
+        orchestrator.registerProvider("reporting", reporting);
+        CircuitBreaker breaker = new CircuitBreaker(new CircuitBreakerConfig());
+        orchestrator.setCircuitBreaker(breaker);
+
+        orchestrator.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), createSampleIntent(),
+                createTestConfig("reporting"));
+
+        // 1K uncached at $0.03/1K, 8K cached at $0.015/1K, 1K written to the cache at $0.0375/1K,
+        // 1K output at $0.06/1K
+        LlmOrchestrator.UsageStats stats = orchestrator.getUsageStats();
+        assertThat(stats.requests()).isEqualTo(1);
+        assertThat(stats.cachedShare()).isEqualTo(0.8);
+        assertThat(stats.costUsd()).isCloseTo(0.2475, within(1e-9));
+        assertThat(breaker.getDailyCost()).isCloseTo(0.2475, within(1e-9));
+    }
+
+    @Test
+    void deadlineFor_countsFromTheEarliestFailure() {
+        LlmConfig config = createTestConfig("primary");
+        config.getConcurrency().setMaxQueueWaitSeconds(10);
+        Instant failedAt = Instant.parse("2026-01-01T10:00:00Z");
+        FailureContext earlier = FailureContext.builder()
+                .exceptionType("NoSuchElementException")
+                .stepText("I click the button")
+                .timestamp(failedAt)
+                .build();
+        FailureContext later = FailureContext.builder()
+                .exceptionType("NoSuchElementException")
+                .stepText("I click the button")
+                .timestamp(failedAt.plusSeconds(5))
+                .build();
+        BatchHealRequest request = BatchHealRequest.builder()
+                .snapshot(createSampleSnapshot())
+                .item("f1", later, createSampleIntent())
+                .item("f2", earlier, createSampleIntent())
+                .build();
+
+        assertThat(LlmOrchestrator.deadlineFor(earlier, config)).isEqualTo(failedAt.plusSeconds(40));
+        assertThat(LlmOrchestrator.deadlineFor(request, config)).isEqualTo(failedAt.plusSeconds(40));
+    }
+
     // Helper methods
 
     private LlmConfig createTestConfig(String provider) {
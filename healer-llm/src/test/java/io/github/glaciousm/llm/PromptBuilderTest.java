@@ -301,6 +301,68 @@ class PromptBuilderTest {
 
     // Helper methods
 
+    @Test
+    void buildBatchHealingPrompt_includesSnapshotOnceAndEveryFailure() {
+        UiSnapshot snapshot = createSampleSnapshot();
+        FailureContext usernameFailure = FailureContext.builder()
+                .stepText("enter the username")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "user-old"))
+                .actionType(ActionType.TYPE)
+                .build();
+        BatchHealRequest request = BatchHealRequest.builder()
+                .snapshot(snapshot)
+                .item("f1", createSampleFailureContext(), createSampleIntent())
+                .item("f2", usernameFailure, null)
+                .sharedContext("Flow: login")
+                .build();
+
+        String prompt = promptBuilder.buildBatchHealingPrompt(request);
+
+        assertThat(prompt).contains("Failed Locators (2)");
+        assertThat(prompt).contains("Failure `f1`").contains("#login-btn");
+        assertThat(prompt).contains("Failure `f2`").contains("user-old");
+        assertThat(prompt).contains("Flow: login");
+        assertThat(prompt).contains("\"decisions\"").contains("failure_id");
+        assertThat(prompt.indexOf("https://example.com/login"))
+                .isEqualTo(prompt.lastIndexOf("https://example.com/login"));
+    }
+
+    @Test
+    void buildHealingPromptParts_sharesPrefixAcrossFailures() {
+        FailureContext other = FailureContext.builder()
+                .stepText("enter the password")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "pwd"))
+                .actionType(ActionType.TYPE)
+                .build();
+
+        CacheablePrompt first = promptBuilder.buildHealingPromptParts(
+                createSampleFailureContext(), createSampleSnapshot(), createSampleIntent());
+        CacheablePrompt second = promptBuilder.buildHealingPromptParts(
+                other, createSnapshotWithMultipleElements(), createSampleIntent());
+
+        assertThat(second.prefix()).isEqualTo(first.prefix()).contains("can_heal");
+        assertThat(first.prefix()).doesNotContain("#login-btn", "https://example.com/login");
+        assertThat(first.page()).contains("https://example.com/login", "Available Interactive Elements")
+                .doesNotContain("Failure Information");
+        assertThat(first.suffix()).contains("#login-btn").doesNotContain("https://example.com/login");
+        assertThat(first.text()).isEqualTo(promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), createSampleSnapshot(), createSampleIntent()));
+    }
+
+    @Test
+    void buildBatchHealingPromptParts_keepsFailuresOutOfPrefix() {
+        BatchHealRequest request = BatchHealRequest.builder()
+                .snapshot(createSampleSnapshot())
+                .item("f1", createSampleFailureContext(), createSampleIntent())
+                .build();
+
+        CacheablePrompt prompt = promptBuilder.buildBatchHealingPromptParts(request);
+
+        assertThat(prompt.prefix()).contains("failure_id").doesNotContain("Failure `f1`");
+        assertThat(prompt.page()).contains("Available Interactive Elements").doesNotContain("Failure `f1`");
+        assertThat(prompt.suffix()).contains("Failure `f1`");
+    }
+
     private FailureContext createSampleFailureContext() {
         return FailureContext.builder()
                 .featureName("Login Feature")
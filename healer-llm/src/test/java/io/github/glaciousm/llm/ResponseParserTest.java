@@ -6,6 +6,9 @@ import io.github.glaciousm.core.model.OutcomeResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.*;
 
 class ResponseParserTest {
@@ -40,6 +43,28 @@ class ResponseParserTest {
         assertThat(decision.getAlternativeIndices()).containsExactly(7, 12);
         assertThat(decision.getWarnings()).containsExactly("Element is in a different container");
         assertThat(decision.getRefusalReason()).isNull();
+        assertThat(decision.getCollectionIndices()).isEmpty();
+    }
+
+    @Test
+    void parseHealDecision_withCollectionIndices_returnsListMembers() {
+        String response = """
+            {
+              "can_heal": true,
+              "confidence": 0.9,
+              "selected_element_index": 4,
+              "reasoning": "The product cards were renamed",
+              "alternative_indices": [9],
+              "warnings": [],
+              "refusal_reason": null,
+              "collection_indices": [4, 5, 6]
+            }
+            """;
+
+        HealDecision decision = parser.parseHealDecision(response);
+
+        assertThat(decision.getCollectionIndices()).containsExactly(4, 5, 6);
+        assertThat(decision.getAlternativeIndices()).containsExactly(9);
     }
 
     @Test
@@ -433,4 +458,65 @@ class ResponseParserTest {
 
         assertThat(decision.getReasoning()).contains("Match found based on:");
     }
+
+    @Test
+    void parseBatchHealDecisions_withDecisionsObject_returnsDecisionPerId() {
+        String response = """
+            ```json
+            {
+              "decisions": [
+                {"failure_id": "f2", "can_heal": false, "confidence": 0.2, "refusal_reason": "No match"},
+                {"failure_id": "f1", "can_heal": true, "confidence": 0.91, "selected_element_index": 4}
+              ]
+            }
+            ```
+            """;
+
+        Map<String, HealDecision> decisions = parser.parseBatchHealDecisions(response, List.of("f1", "f2"));
+
+        assertThat(decisions).containsOnlyKeys("f1", "f2");
+        assertThat(decisions.keySet()).containsExactly("f1", "f2");
+        assertThat(decisions.get("f1").canHeal()).isTrue();
+        assertThat(decisions.get("f1").getSelectedElementIndex()).isEqualTo(4);
+        assertThat(decisions.get("f2").canHeal()).isFalse();
+        assertThat(decisions.get("f2").getRefusalReason()).isEqualTo("No match");
+    }
+
+    @Test
+    void parseBatchHealDecisions_withMissingAndUnknownIds_refusesMissing() {
+        String response = """
+            [
+              {"failure_id": "f1", "can_heal": true, "confidence": 0.9, "selected_element_index": 1},
+              {"failure_id": "other", "can_heal": true, "confidence": 0.9, "selected_element_index": 2}
+            ]
+            """;
+
+        Map<String, HealDecision> decisions = parser.parseBatchHealDecisions(response, List.of("f1", "f2"));
+
+        assertThat(decisions).containsOnlyKeys("f1", "f2");
+        assertThat(decisions.get("f1").canHeal()).isTrue();
+        assertThat(decisions.get("f2").canHeal()).isFalse();
+    }
+
+    @Test
+    void parseBatchHealDecisions_withoutIds_matchesByPosition() {
+        String response = """
+            {"decisions": [
+              {"can_heal": true, "confidence": 0.9, "selected_element_index": 1},
+              {"can_heal": true, "confidence": 0.8, "selected_element_index": 2}
+            ]}
+            """;
+
+        Map<String, HealDecision> decisions = parser.parseBatchHealDecisions(response, List.of("a", "b"));
+
+        assertThat(decisions.get("a").getSelectedElementIndex()).isEqualTo(1);
+        assertThat(decisions.get("b").getSelectedElementIndex()).isEqualTo(2);
+    }
+
+    @Test
+    void parseBatchHealDecisions_withoutDecisionsArray_throwsException() {
+        assertThatThrownBy(() -> parser.parseBatchHealDecisions("{\"can_heal\": true}", List.of("f1")))
+                .isInstanceOf(LlmException.class)
+                .hasMessageContaining("decisions");
+    }
 }
@@ -0,0 +1,186 @@
+package io.github.glaciousm.llm.cache;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.core.store.StateStore;
+import io.github.glaciousm.llm.LlmOrchestrator;
+import io.github.glaciousm.llm.LlmProvider;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LlmResponseCache and PromptFingerprint.
+ */
+@DisplayName("LlmResponseCache")
+class LlmResponseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("PromptFingerprint")
+    class Fingerprint {
+
+        @Test
+        @DisplayName("should ignore timestamps, UUIDs and whitespace")
+        void ignoresVolatileValues() {
+            String first = "Page at 2024-05-01T10:15:30Z\n  session 3f2b8c1e-9a4d-4e7b-8c2a-1b2c3d4e5f60 ts=1714558530123";
+            String second = "Page at 2025-11-20T08:00:01Z session 9d8c7b6a-5f4e-4d3c-8b2a-0f1e2d3c4b5a ts=1763625601000";
+
+            assertThat(PromptFingerprint.of(first, "gpt-4o-mini", 0.1))
+                    .isEqualTo(PromptFingerprint.of(second, "gpt-4o-mini", 0.1));
+        }
+
+        @Test
+        @DisplayName("should distinguish prompt content, model and temperature")
+        void distinguishesInputs() {
+            String key = PromptFingerprint.of("click element 3", "gpt-4o-mini", 0.1);
+
+            assertThat(PromptFingerprint.of("click element 4", "gpt-4o-mini", 0.1)).isNotEqualTo(key);
+            assertThat(PromptFingerprint.of("click element 3", "gpt-4o", 0.1)).isNotEqualTo(key);
+            assertThat(PromptFingerprint.of("click element 3", "gpt-4o-mini", 0.7)).isNotEqualTo(key);
+        }
+
+        @Test
+        @DisplayName("should distinguish the image sent with a prompt")
+        void distinguishesImages() {
+            String key = PromptFingerprint.of("click element 3", "iVBORw0KGgoAAA", "gpt-4o", 0.1);
+
+            assertThat(PromptFingerprint.of("click element 3", "iVBORw0KGgoBBB", "gpt-4o", 0.1)).isNotEqualTo(key);
+            assertThat(PromptFingerprint.of("click element 3", null, "gpt-4o", 0.1))
+                    .isNotEqualTo(key)
+                    .isEqualTo(PromptFingerprint.of("click element 3", "gpt-4o", 0.1));
+        }
+    }
+
+    @Nested
+    @DisplayName("storage")
+    class Storage {
+
+        @Test
+        @DisplayName("should return stored responses after reopening")
+        void survivesReopen() throws IOException {
+            HealDecision decision = new HealDecision(true, 0.92, 3, "Same button",
+                    List.of(4), List.of("moved"), null);
+            try (LlmResponseCache cache = new LlmResponseCache(StateStore.open(tempDir), Duration.ofHours(1), 100)) {
+                cache.putDecision("k1", decision);
+                cache.putBatch("k2", Map.of("f1", HealDecision.cannotHeal("none")));
+                cache.putOutcome("k3", OutcomeResult.passed("done", 0.8));
+            }
+
+            try (LlmResponseCache cache = new LlmResponseCache(StateStore.open(tempDir), Duration.ofHours(1), 100)) {
+                assertThat(cache.getDecision("k1")).contains(decision);
+                assertThat(cache.getBatch("k2").orElseThrow().get("f1").canHeal()).isFalse();
+                assertThat(cache.getOutcome("k3").orElseThrow().getConfidence()).isEqualTo(0.8);
+                assertThat(cache.getDecision("missing")).isEmpty();
+                assertThat(cache.getStats().hits()).isEqualTo(3);
+                assertThat(cache.getStats().misses()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("should drop expired entries")
+        void expiresEntries() throws IOException {
+            try (LlmResponseCache cache = new LlmResponseCache(StateStore.open(tempDir), Duration.ZERO, 100)) {
+                cache.putDecision("k1", HealDecision.canHeal(1, 0.9, "ok"));
+
+                assertThat(cache.getDecision("k1")).isEmpty();
+            }
+        }
+
+        @Test
+        @DisplayName("should evict the oldest entries beyond the entry limit")
+        void evictsOldest() throws IOException {
+            try (LlmResponseCache cache = new LlmResponseCache(StateStore.open(tempDir), Duration.ofHours(1), 10)) {
+                for (int i = 0; i < 11; i++) {
+                    cache.putDecision("k" + i, HealDecision.canHeal(i, 0.9, "ok"));
+                }
+
+                assertThat(cache.getDecision("k0")).isEmpty();
+                assertThat(cache.getDecision("k10")).isPresent();
+                assertThat(cache.getStats().evictions()).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should evict a rejected decision")
+    void evictsRejectedDecision() throws IOException {
+        try (LlmResponseCache cache = new LlmResponseCache(StateStore.open(tempDir), Duration.ofHours(1), 100)) {
+            cache.putDecision("k1", HealDecision.canHeal(1, 0.9, "ok"));
+            cache.putBatch("k2", Map.of("f1", HealDecision.canHeal(2, 0.9, "ok")));
+
+            cache.evictDecision("k1");
+            cache.evictBatch("k2");
+            cache.evictDecision("missing");
+
+            assertThat(cache.getDecision("k1")).isEmpty();
+            assertThat(cache.getBatch("k2")).isEmpty();
+            assertThat(cache.getStats().evictions()).isEqualTo(2);
+        }
+    }
+
+    private final FailureContext failure = FailureContext.builder()
+            .stepText("user submits the form")
+            .exceptionType("NoSuchElementException")
+            .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "submit"))
+            .actionType(ActionType.CLICK)
+            .build();
+    private final UiSnapshot snapshot = UiSnapshot.builder()
+            .url("https://shop.test/checkout")
+            .interactiveElements(List.of(ElementSnapshot.builder().index(0).tagName("button").text("Submit").build()))
+            .build();
+    private final IntentContract intent = IntentContract.defaultContract("click");
+
+    private LlmConfig cachedConfig() {
+        LlmConfig config = new LlmConfig();
+        config.setProvider("cached");
+        config.getResponseCache().setEnabled(true);
+        config.getResponseCache().setDirectory(tempDir.toString());
+        return config;
+    }
+
+    @Test
+    @DisplayName("should ask the provider again after a decision is evicted")
+    void orchestratorEvictsDecision() {
+        LlmProvider provider = mock(LlmProvider.class);
+        when(provider.evaluateCandidates(any(), any(), any(), any()))
+                .thenReturn(HealDecision.canHeal(0, 0.95, "Submit button"));
+        LlmConfig config = cachedConfig();
+
+        LlmOrchestrator orchestrator = new LlmOrchestrator();
+        orchestrator.registerProvider("cached", provider);
+        orchestrator.evaluateCandidates(failure, snapshot, intent, config);
+        orchestrator.evictCachedDecision(failure, snapshot, intent, config);
+        orchestrator.evaluateCandidates(failure, snapshot, intent, config);
+
+        verify(provider, times(2)).evaluateCandidates(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should answer a repeated prompt without calling the provider")
+    void orchestratorUsesCache() throws IOException {
+        LlmProvider provider = mock(LlmProvider.class);
+        when(provider.evaluateCandidates(any(), any(), any(), any()))
+                .thenReturn(HealDecision.canHeal(0, 0.95, "Submit button"));
+        LlmConfig config = cachedConfig();
+
+        LlmOrchestrator orchestrator = new LlmOrchestrator();
+        orchestrator.registerProvider("cached", provider);
+        orchestrator.evaluateCandidates(failure, snapshot, intent, config);
+        orchestrator.evaluateCandidates(failure, snapshot, intent, config);
+
+        verify(provider, times(1)).evaluateCandidates(any(), any(), any(), any());
+        assertThat(orchestrator.getResponseCacheStats().orElseThrow().hits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.glaciousm.llm.concurrency;
+
+import io.github.glaciousm.core.config.CircuitBreakerConfig;
+import io.github.glaciousm.core.config.LlmConfig.ConcurrencyConfig;
+import io.github.glaciousm.core.engine.circuit.CircuitBreaker;
+import io.github.glaciousm.core.exception.HealingException.HealingFailureReason;
+import io.github.glaciousm.core.exception.LlmException;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ */
+@DisplayName("AdaptiveConcurrencyLimiter")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static ConcurrencyConfig config(int initial, int min, int max, int queue) {
+        ConcurrencyConfig config = new ConcurrencyConfig();
+        config.setInitialLimit(initial);
+        config.setMinLimit(min);
+        config.setMaxLimit(max);
+        config.setMaxQueueSize(queue);
+        return config;
+    }
+
+    private static Instant in(int seconds) {
+        return Instant.now().plusSeconds(seconds);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not reached in time").isLessThan(until);
+            Thread.sleep(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("queueing")
+    class Queueing {
+
+        @Test
+        @DisplayName("should hand a free slot to the waiter with the earliest deadline")
+        void earliestDeadlineFirst() throws Exception {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config(1, 1, 1, 10), null);
+            List<String> order = new CopyOnWriteArrayList<>();
+            AdaptiveConcurrencyLimiter.Permit held = limiter.acquire(in(30));
+
+            CompletableFuture<Void> relaxed = CompletableFuture.runAsync(() -> {
+                try (AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(in(20))) {
+                    order.add("relaxed");
+                }
+            });
+            await(() -> limiter.getStats().queueDepth() == 1);
+            CompletableFuture<Void> urgent = CompletableFuture.runAsync(() -> {
+                try (AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(in(5))) {
+                    order.add("urgent");
+                }
+            });
+            await(() -> limiter.getStats().queueDepth() == 2);
+
+            held.close();
+            CompletableFuture.allOf(relaxed, urgent).get(5, TimeUnit.SECONDS);
+
+            assertThat(order).containsExactly("urgent", "relaxed");
+            assertThat(limiter.getStats().admitted()).isEqualTo(3);
+            assertThat(limiter.getStats().inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("should shed the least urgent call when the queue is full")
+        void shedsLeastUrgent() throws Exception {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config(1, 1, 1, 1), null);
+            AdaptiveConcurrencyLimiter.Permit held = limiter.acquire(in(30));
+
+            CompletableFuture<AdaptiveConcurrencyLimiter.Permit> relaxed =
+                    CompletableFuture.supplyAsync(() -> limiter.acquire(in(20)));
+            await(() -> limiter.getStats().queueDepth() == 1);
+
+            // A later deadline than everything queued is rejected outright
+            assertThatThrownBy(() -> limiter.acquire(in(25)))
+                    .isInstanceOf(LlmException.class)
+                    .satisfies(e -> assertThat(((LlmException) e).getReason())
+                            .isEqualTo(HealingFailureReason.LLM_OVERLOADED));
+
+            // An earlier deadline displaces the least urgent waiter
+            CompletableFuture<AdaptiveConcurrencyLimiter.Permit> urgent =
+                    CompletableFuture.supplyAsync(() -> limiter.acquire(in(5)));
+            assertThatThrownBy(() -> relaxed.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(LlmException.class);
+
+            held.close();
+            urgent.get(5, TimeUnit.SECONDS).close();
+            assertThat(limiter.getStats().shed()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should shed a waiter that gets no slot before its deadline")
+        void shedsAtDeadline() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config(1, 1, 1, 10), null);
+            AdaptiveConcurrencyLimiter.Permit held = limiter.acquire(in(30));
+
+            assertThatThrownBy(() -> limiter.acquire(Instant.now().plusMillis(50)))
+                    .isInstanceOf(LlmException.class);
+            assertThat(limiter.getStats().queueDepth()).isZero();
+            held.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("limit adjustment")
+    class Adjustment {
+
+        @Test
+        @DisplayName("should halve the limit on a rate limit response")
+        void halvesOnRateLimit() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config(8, 1, 16, 10), null);
+
+            limiter.acquire(in(30)).rateLimited();
+
+            assertThat(limiter.getStats().limit()).isEqualTo(4);
+            assertThat(limiter.getStats().rateLimited()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should grow the limit while calls succeed at full use")
+        void growsOnSuccess() {
+            ConcurrencyConfig config = config(2, 1, 4, 10);
+            config.setLatencyTolerance(1e9);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config, null);
+
+            for (int round = 0; round < 20; round++) {
+                AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(in(30));
+                AdaptiveConcurrencyLimiter.Permit second = limiter.acquire(in(30));
+                first.success();
+                second.success();
+            }
+
+            assertThat(limiter.getStats().limit()).isEqualTo(4);
+            assertThat(limiter.getStats().averageLatency()).isGreaterThanOrEqualTo(Duration.ZERO);
+        }
+
+        @Test
+        @DisplayName("should refuse calls while the circuit breaker reports the cost limit")
+        void refusesOverCostLimit() {
+            CircuitBreakerConfig breakerConfig = new CircuitBreakerConfig();
+            breakerConfig.setDailyCostLimitUsd(1.0);
+            CircuitBreaker breaker = new CircuitBreaker(breakerConfig);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config(4, 1, 8, 10), breaker);
+
+            limiter.acquire(in(30)).success();
+            breaker.addCost(1.5);
+
+            assertThatThrownBy(() -> limiter.acquire(in(30)))
+                    .isInstanceOf(LlmException.class)
+                    .satisfies(e -> assertThat(((LlmException) e).getReason())
+                            .isEqualTo(HealingFailureReason.COST_LIMIT_EXCEEDED));
+            assertThat(limiter.getStats().shed()).isEqualTo(1);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.glaciousm.llm.providers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
@@ -11,7 +13,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -462,6 +467,127 @@ class AnthropicProviderTest {
 
     // Helper methods
 
+    @Test
+    void evaluateCandidates_withStreaming_stopsReadingAtCompleteDecision() throws InterruptedException {
+        config.setStreaming(true);
+
+        StringBuilder stream = new StringBuilder()
+                .append("event: message_start\ndata: {\"type\": \"message_start\", \"message\": {}}\n\n")
+                .append(textDelta("{\"can_heal\": true, \"confidence\": 0.9, "))
+                .append(textDelta("\"selected_element_index\": 1, \"reasoning\": \"Same \\\"Submit\\\" label\"}"));
+        for (int i = 0; i < 300; i++) {
+            stream.append(textDelta(" More reasoning after the decision, part " + i + "."));
+        }
+        stream.append("event: message_stop\ndata: {\"type\": \"message_stop\"}\n\n");
+
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "text/event-stream; charset=utf-8")
+                .setBody(stream.toString())
+                .throttleBody(512, 100, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        HealDecision decision = provider.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(decision.getSelectedElementIndex()).isEqualTo(1);
+        assertThat(decision.getReasoning()).isEqualTo("Same \"Submit\" label");
+        assertThat(millis).isLessThan(3000);
+        assertThat(mockServer.takeRequest().getBody().readUtf8()).contains("\"stream\":true");
+    }
+
+    @Test
+    void evaluateCandidates_marksInstructionsCacheableAndReportsCachedTokens() throws InterruptedException {
+        List<TokenUsage> usages = new ArrayList<>();
+        provider.setUsageListener(usages::add);
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                    {
+                      "content": [{"type": "text", "text": "{\\"can_heal\\": false, \\"confidence\\": 0.1}"}],
+                      "usage": {"input_tokens": 300, "cache_read_input_tokens": 1200,
+                                "cache_creation_input_tokens": 500, "output_tokens": 40}
+                    }
+                    """));
+
+        provider.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        String requestBody = mockServer.takeRequest().getBody().readUtf8();
+        assertThat(requestBody).contains("\"cache_control\":{\"type\":\"ephemeral\"}");
+        // The last breakpoint closes the element list, so heals on the same page reuse it
+        int lastBreakpoint = requestBody.lastIndexOf("cache_control");
+        assertThat(lastBreakpoint).isGreaterThan(requestBody.indexOf("Available Interactive Elements"));
+        assertThat(lastBreakpoint).isLessThan(requestBody.indexOf("Failure Information"));
+        assertThat(usages).singleElement().satisfies(usage -> {
+            assertThat(usage.getInputTokens()).isEqualTo(2000);
+            assertThat(usage.getCachedInputTokens()).isEqualTo(1200);
+            assertThat(usage.getCacheWriteInputTokens()).isEqualTo(500);
+            assertThat(usage.getUncachedInputTokens()).isEqualTo(300);
+            assertThat(usage.getOutputTokens()).isEqualTo(40);
+        });
+    }
+
+    @Test
+    void evaluateCandidates_withStreaming_reportsInputTokensFromMessageStart() {
+        config.setStreaming(true);
+        List<TokenUsage> usages = new ArrayList<>();
+        provider.setUsageListener(usages::add);
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "text/event-stream")
+                .setBody("event: message_start\ndata: {\"type\": \"message_start\", \"message\": {\"usage\": "
+                        + "{\"input_tokens\": 300, \"cache_read_input_tokens\": 1200, "
+                        + "\"cache_creation_input_tokens\": 0, \"output_tokens\": 1}}}\n\n"
+                        + textDelta("{\"can_heal\": false, \"confidence\": 0.1}")
+                        + "event: message_stop\ndata: {\"type\": \"message_stop\"}\n\n"));
+
+        provider.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThat(usages).singleElement().satisfies(usage -> {
+            assertThat(usage.getInputTokens()).isEqualTo(1500);
+            assertThat(usage.getCachedInputTokens()).isEqualTo(1200);
+        });
+    }
+
+    @Test
+    void evaluateCandidatesBatch_withStreaming_reportsOutputTokensFromMessageDelta() {
+        config.setStreaming(true);
+        List<TokenUsage> usages = new ArrayList<>();
+        provider.setUsageListener(usages::add);
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "text/event-stream")
+                .setBody("event: message_start\ndata: {\"type\": \"message_start\", \"message\": {\"usage\": "
+                        + "{\"input_tokens\": 900, \"output_tokens\": 1}}}\n\n"
+                        + textDelta("[]")
+                        + "event: message_delta\ndata: {\"type\": \"message_delta\", "
+                        + "\"delta\": {\"stop_reason\": \"end_turn\"}, \"usage\": {\"output_tokens\": 12}}\n\n"
+                        + "event: message_stop\ndata: {\"type\": \"message_stop\"}\n\n"));
+        BatchHealRequest request = BatchHealRequest.builder()
+                .snapshot(createSampleSnapshot())
+                .item("f1", createSampleFailure(), createSampleIntent())
+                .build();
+
+        Map<String, HealDecision> decisions = provider.evaluateCandidatesBatch(request, config);
+
+        assertThat(decisions.get("f1").canHeal()).isFalse();
+        assertThat(usages).singleElement().satisfies(usage -> {
+            assertThat(usage.getInputTokens()).isEqualTo(900);
+            assertThat(usage.getOutputTokens()).isEqualTo(12);
+        });
+    }
+
+    private static String textDelta(String text) {
+        try {
+            return "event: content_block_delta\ndata: {\"type\": \"content_block_delta\", \"index\": 0, "
+                    + "\"delta\": {\"type\": \"text_delta\", \"text\": "
+                    + new ObjectMapper().writeValueAsString(text) + "}}\n\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private FailureContext createSampleFailure() {
         return FailureContext.builder()
                 .featureName("Test Feature")
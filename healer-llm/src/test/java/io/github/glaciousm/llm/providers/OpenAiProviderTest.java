@@ -1,5 +1,7 @@
 package io.github.glaciousm.llm.providers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
@@ -11,7 +13,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -389,6 +393,90 @@ class OpenAiProviderTest {
 
     // Helper methods
 
+    @Test
+    void evaluateCandidates_withStreaming_stopsReadingAtCompleteDecision() throws InterruptedException {
+        config.setStreaming(true);
+
+        StringBuilder stream = new StringBuilder()
+                .append(sseChunk("```json\n{\"can_heal\": true, \"confidence\": 0.92, "))
+                .append(sseChunk("\"selected_element_index\": 3, \"reasoning\": \"Label {Submit} matches\", "))
+                .append(sseChunk("\"alternative_indices\": [], \"warnings\": []}\n```\n"));
+        for (int i = 0; i < 300; i++) {
+            stream.append(sseChunk("Further explanation of the choice that nobody reads, part " + i + ". "));
+        }
+        stream.append("data: [DONE]\n\n");
+
+        // About six seconds for the whole body, well under a second for the decision
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "text/event-stream")
+                .setBody(stream.toString())
+                .throttleBody(512, 100, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        HealDecision decision = provider.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(decision.canHeal()).isTrue();
+        assertThat(decision.getSelectedElementIndex()).isEqualTo(3);
+        assertThat(decision.getReasoning()).isEqualTo("Label {Submit} matches");
+        assertThat(millis).isLessThan(3000);
+        assertThat(mockServer.takeRequest().getBody().readUtf8()).contains("\"stream\":true");
+    }
+
+    @Test
+    void evaluateCandidates_withStreamingIgnoredByServer_parsesPlainBody() {
+        config.setStreaming(true);
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("""
+                    {"choices": [{"message": {"content": "{\\"can_heal\\": false, \\"confidence\\": 0.2, \\"refusal_reason\\": \\"No match\\"}"}}]}
+                    """));
+
+        HealDecision decision = provider.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThat(decision.canHeal()).isFalse();
+    }
+
+    @Test
+    void evaluateCandidates_reportsCachedPromptTokens() {
+        List<TokenUsage> usages = new ArrayList<>();
+        provider.setUsageListener(usages::add);
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                    {
+                      "choices": [{"message": {"content": "{\\"can_heal\\": false, \\"confidence\\": 0.1}"}}],
+                      "usage": {"prompt_tokens": 2048, "completion_tokens": 60,
+                                "prompt_tokens_details": {"cached_tokens": 1024}}
+                    }
+                    """));
+
+        provider.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThat(usages).singleElement().satisfies(usage -> {
+            assertThat(usage.getModel()).isEqualTo("gpt-4");
+            assertThat(usage.getInputTokens()).isEqualTo(2048);
+            assertThat(usage.getCachedInputTokens()).isEqualTo(1024);
+            assertThat(usage.getUncachedInputTokens()).isEqualTo(1024);
+        });
+    }
+
+    private static String sseChunk(String content) {
+        return "data: {\"choices\": [{\"delta\": {\"content\": " + jsonString(content) + "}}]}\n\n";
+    }
+
+    private static String jsonString(String value) {
+        try {
+            return new ObjectMapper().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private FailureContext createSampleFailure() {
         return FailureContext.builder()
                 .featureName("Test Feature")
@@ -0,0 +1,216 @@
+package io.github.glaciousm.llm.util;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.GzipSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HttpClientFactory")
+class HttpClientFactoryTest {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private final List<PhaseTimings> timings = new CopyOnWriteArrayList<>();
+    private MockWebServer server;
+    private SSLContext serverTls;
+    private SSLContext clientTls;
+    private X509TrustManager trustManager;
+    private LlmConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = getClass().getResourceAsStream("/tls/localhost.p12")) {
+            keyStore.load(in, PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        serverTls = SSLContext.getInstance("TLS");
+        serverTls.init(keyManagers.getKeyManagers(), null, null);
+
+        KeyStore trusted = KeyStore.getInstance(KeyStore.getDefaultType());
+        trusted.load(null, null);
+        trusted.setCertificateEntry("localhost", keyStore.getCertificate("localhost"));
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(trusted);
+        trustManager = (X509TrustManager) trustManagers.getTrustManagers()[0];
+        clientTls = SSLContext.getInstance("TLS");
+        clientTls.init(null, new X509TrustManager[]{trustManager}, null);
+
+        server = new MockWebServer();
+        server.useHttps(serverTls.getSocketFactory(), false);
+        server.setProtocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        server.start();
+
+        config = new LlmConfig();
+        config.setTimeoutSeconds(10);
+        HttpClientFactory.clearCache();
+        HttpClientFactory.setTimingListener(timings::add);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        HttpClientFactory.setTimingListener(null);
+        HttpClientFactory.clearCache();
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("should negotiate HTTP/2 and reuse the pooled connection")
+    void negotiatesHttp2AndReusesConnection() throws IOException {
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+        OkHttpClient client = client();
+
+        try (Response first = client.newCall(post("{}")).execute()) {
+            assertThat(first.protocol()).isEqualTo(Protocol.HTTP_2);
+        }
+        try (Response second = client.newCall(post("{}")).execute()) {
+            assertThat(second.code()).isEqualTo(200);
+        }
+
+        assertThat(timings).hasSize(2);
+        assertThat(timings.get(0).reusedConnection()).isFalse();
+        assertThat(timings.get(0).protocol()).isEqualTo("h2");
+        assertThat(timings.get(0).connectMillis()).isGreaterThanOrEqualTo(timings.get(0).tlsMillis());
+        assertThat(timings.get(1).reusedConnection()).isTrue();
+        assertThat(timings.get(1).connectMillis()).isZero();
+        assertThat(timings.get(1).failed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should fall back to HTTP/1.1 when HTTP/2 is disabled")
+    void usesHttp1WhenHttp2Disabled() throws IOException {
+        config.getTransport().setHttp2(false);
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        try (Response response = client().newCall(post("{}")).execute()) {
+            assertThat(response.protocol()).isEqualTo(Protocol.HTTP_1_1);
+        }
+    }
+
+    @Test
+    @DisplayName("should open the connection during warm-up so the first request reuses it")
+    void warmUpOpensConnection() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setBody("{}"));
+        OkHttpClient client = client();
+
+        HttpClientFactory.warmUp(client, url().toString()).get(5, TimeUnit.SECONDS);
+        try (Response response = client.newCall(post("{}")).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+
+        assertThat(server.takeRequest().getMethod()).isEqualTo("HEAD");
+        assertThat(server.takeRequest().getMethod()).isEqualTo("POST");
+        assertThat(timings).extracting(PhaseTimings::reusedConnection).containsExactly(false, true);
+    }
+
+    @Test
+    @DisplayName("should gzip request bodies above the minimum size only")
+    void gzipsLargeBodies() throws Exception {
+        config.getTransport().setCompressRequests(true);
+        config.getTransport().setCompressionMinBytes(1024);
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+        OkHttpClient client = client();
+        String large = "{\"prompt\": \"" + "Available Interactive Elements ".repeat(100) + "\"}";
+
+        client.newCall(post(large)).execute().close();
+        client.newCall(post("{}")).execute().close();
+
+        RecordedRequest compressed = server.takeRequest();
+        assertThat(compressed.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(compressed.getBodySize()).isLessThan(large.length() / 4);
+        assertThat(gunzip(compressed.getBody())).isEqualTo(large);
+        RecordedRequest plain = server.takeRequest();
+        assertThat(plain.getHeader("Content-Encoding")).isNull();
+        assertThat(plain.getBody().readUtf8()).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("should resend plain bodies to a host that rejects gzip and remember it")
+    void remembersHostsRejectingGzip() throws Exception {
+        config.getTransport().setCompressRequests(true);
+        config.getTransport().setCompressionMinBytes(16);
+        server.enqueue(new MockResponse().setResponseCode(415));
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+        OkHttpClient client = client();
+        String body = "{\"prompt\": \"" + "x".repeat(100) + "\"}";
+
+        try (Response response = client.newCall(post(body)).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+        client.newCall(post(body)).execute().close();
+
+        assertThat(server.takeRequest().getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(server.takeRequest().getBody().readUtf8()).isEqualTo(body);
+        assertThat(server.takeRequest().getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    @DisplayName("should share one client per configuration")
+    void cachesClientsByConfiguration() {
+        LlmConfig same = new LlmConfig();
+        same.setTimeoutSeconds(10);
+
+        assertThat(HttpClientFactory.getClient(same)).isSameAs(HttpClientFactory.getClient(config));
+        config.getTransport().setMaxIdleConnections(2);
+        OkHttpClient smallerPool = HttpClientFactory.getClient(config);
+        assertThat(smallerPool).isNotSameAs(HttpClientFactory.getClient(same));
+        assertThat(smallerPool.connectionPool()).isNotSameAs(HttpClientFactory.getClient(same).connectionPool());
+    }
+
+    private OkHttpClient client() {
+        // Same pool, interceptors and listeners as the providers use, trusting the stub's certificate
+        return HttpClientFactory.getClient(config).newBuilder()
+                .sslSocketFactory(clientTls.getSocketFactory(), trustManager)
+                .build();
+    }
+
+    private HttpUrl url() {
+        return new HttpUrl.Builder().scheme("https").host("localhost").port(server.getPort()).addPathSegment("v1").build();
+    }
+
+    private Request post(String body) {
+        return new Request.Builder().url(url()).post(RequestBody.create(body, JSON)).build();
+    }
+
+    private static String gunzip(Buffer body) throws IOException {
+        Buffer plain = new Buffer();
+        try (GzipSource source = new GzipSource(body)) {
+            while (source.read(plain, 8192) != -1) {
+                // drain
+            }
+        }
+        return plain.readUtf8();
+    }
+}
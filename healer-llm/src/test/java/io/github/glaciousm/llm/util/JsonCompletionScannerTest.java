@@ -0,0 +1,111 @@
+package io.github.glaciousm.llm.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JsonCompletionScanner")
+class JsonCompletionScannerTest {
+
+    @Test
+    @DisplayName("should complete once the first object closes, across chunk boundaries")
+    void completesAcrossChunks() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner();
+
+        assertThat(scanner.append("```json\n{\"can_heal\": tr")).isFalse();
+        assertThat(scanner.append("ue, \"warnings\": [\"a\"], \"nested\": {\"x\": 1}")).isFalse();
+        assertThat(scanner.append("}\n```\nThe button was renamed {again}")).isTrue();
+
+        assertThat(scanner.json()).isEqualTo("{\"can_heal\": true, \"warnings\": [\"a\"], \"nested\": {\"x\": 1}}");
+    }
+
+    @Test
+    @DisplayName("should ignore brackets and escaped quotes inside strings")
+    void ignoresBracketsInStrings() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner();
+
+        scanner.append("{\"reasoning\": \"label \\\"}\\\" and [x] {y}\"");
+        assertThat(scanner.isComplete()).isFalse();
+        assertThat(scanner.json()).isNull();
+
+        scanner.append("}");
+        assertThat(scanner.json()).isEqualTo("{\"reasoning\": \"label \\\"}\\\" and [x] {y}\"}");
+    }
+
+    @Test
+    @DisplayName("should only start a decision at an object")
+    void decisionStartsAtObject() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner(JsonCompletionScanner.Shape.DECISION);
+
+        assertThat(scanner.append("Candidates [3] and [5] match. ")).isFalse();
+        assertThat(scanner.append("{\"can_heal\": true, \"selected_element_index\": 3}")).isTrue();
+
+        assertThat(scanner.json()).isEqualTo("{\"can_heal\": true, \"selected_element_index\": 3}");
+    }
+
+    @Test
+    @DisplayName("should skip values that do not parse or lack the expected key")
+    void skipsUnexpectedValues() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner(JsonCompletionScanner.Shape.DECISION);
+
+        assertThat(scanner.append("The {primary} button, e.g. {\"id\": \"buy\"}, moved. ")).isFalse();
+        assertThat(scanner.append("{\"reasoning\": \"same label\", \"can_heal\": false}")).isTrue();
+
+        assertThat(scanner.json()).isEqualTo("{\"reasoning\": \"same label\", \"can_heal\": false}");
+    }
+
+    @Test
+    @DisplayName("should accept batch decisions as an array of decisions")
+    void acceptsBatchArray() {
+        JsonCompletionScanner scanner = new JsonCompletionScanner(JsonCompletionScanner.Shape.BATCH);
+
+        assertThat(scanner.append("Steps [1, 2] failed. [{\"failure_id\": \"f1\", \"can_heal\": true}]")).isTrue();
+
+        assertThat(scanner.json()).isEqualTo("[{\"failure_id\": \"f1\", \"can_heal\": true}]");
+    }
+
+    @Test
+    @DisplayName("should read NDJSON chunks until the decision is complete")
+    void readsNdjson() throws IOException {
+        String body = """
+                {"response": "{\\"can_heal\\": ", "done": false}
+                {"response": "false}", "done": false}
+                {"response": " trailing text", "done": false}
+                """;
+
+        StreamingCompletion.Result result = StreamingCompletion.read(new StringReader(body),
+                StreamingCompletion.Format.NDJSON, JsonCompletionScanner.Shape.DECISION,
+                chunk -> chunk.path("response").asText(null));
+
+        assertThat(result.complete()).isTrue();
+        assertThat(result.text()).isEqualTo("{\"can_heal\": false}");
+    }
+
+    @Test
+    @DisplayName("should return all text when the stream ends without a complete value")
+    void returnsTextWithoutCompleteValue() throws IOException {
+        String body = "data: {\"t\": \"no json here\"}\n\ndata: [DONE]\n\ndata: {\"t\": \"{}\"}\n\n";
+
+        StreamingCompletion.Result result = StreamingCompletion.read(new StringReader(body),
+                StreamingCompletion.Format.SSE, event -> event.path("t").asText());
+
+        assertThat(result.complete()).isFalse();
+        assertThat(result.text()).isEqualTo("no json here");
+    }
+
+    @Test
+    @DisplayName("should surface an error event from the stream")
+    void surfacesStreamError() {
+        String body = "event: error\ndata: {\"type\": \"error\", \"error\": {\"message\": \"Overloaded\"}}\n\n";
+
+        assertThatThrownBy(() -> StreamingCompletion.read(new StringReader(body),
+                StreamingCompletion.Format.SSE, event -> null))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Overloaded");
+    }
+}
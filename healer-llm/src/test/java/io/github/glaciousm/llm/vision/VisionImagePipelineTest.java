@@ -0,0 +1,237 @@
+package io.github.glaciousm.llm.vision;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("VisionImagePipeline")
+class VisionImagePipelineTest {
+
+    /** A 960x1500 CSS pixel viewport on a 2x display, scrolled 400 pixels down the page. */
+    private static final Viewport VIEWPORT = new Viewport(960, 1500, 0, 400, 2.0);
+
+    /** Page coordinates in CSS pixels, as the snapshot builders record them. */
+    private static final ElementRect HEADER_LINK = new ElementRect(20, 410, 60, 16);
+    private static final ElementRect SUBMIT_BUTTON = new ElementRect(700, 1550, 90, 24);
+
+    private final VisionImagePipeline pipeline = new VisionImagePipeline();
+    private LlmConfig.VisionConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new LlmConfig.VisionConfig();
+        config.setCropToCandidates(true);
+    }
+
+    @Test
+    @DisplayName("should downscale a screenshot to the token budget and encode it as JPEG")
+    void downscalesToTokenBudget() throws IOException {
+        config = new LlmConfig.VisionConfig();
+        String screenshot = viewportScreenshot();
+
+        PreparedImage prepared = pipeline.prepare(snapshot(screenshot), failure("#submit-order"), intent(), config)
+                .orElseThrow();
+
+        assertThat(prepared.mediaType()).isEqualTo("image/jpeg");
+        assertThat(prepared.cropped()).isFalse();
+        assertThat(prepared.estimatedTokens()).isLessThanOrEqualTo(config.getMaxImageTokens());
+        assertThat((double) prepared.width() / prepared.height()).isCloseTo(1920.0 / 3000, within(0.01));
+        assertThat(prepared.base64().length()).isLessThan(screenshot.length() / 2);
+        BufferedImage decoded = decode(prepared.base64());
+        assertThat(decoded.getWidth()).isEqualTo(prepared.width());
+        assertThat(config.isCropToCandidates()).as("cropping is opt-in").isFalse();
+    }
+
+    @Test
+    @DisplayName("should crop to the elements matching the failed step")
+    void cropsToMatchingCandidates() throws IOException {
+        String screenshot = viewportScreenshot();
+
+        PreparedImage prepared = pipeline.prepare(snapshot(screenshot), failure("#submit-order"), intent(), config)
+                .orElseThrow();
+
+        assertThat(prepared.cropped()).isTrue();
+        BufferedImage decoded = decode(prepared.base64());
+        // The crop is centred on the red submit button
+        Color centre = new Color(decoded.getRGB(decoded.getWidth() / 2, decoded.getHeight() / 2));
+        assertThat(centre.getRed()).isGreaterThan(200);
+        assertThat(centre.getGreen()).isLessThan(60);
+    }
+
+    @Test
+    @DisplayName("should not crop without a viewport matching the screenshot")
+    void skipsCropWithoutMatchingViewport() {
+        String screenshot = viewportScreenshot();
+        UiSnapshot withoutViewport = snapshot(screenshot, null);
+        UiSnapshot otherViewport = snapshot(screenshot, new Viewport(1280, 800, 0, 400, 1.0));
+
+        assertThat(pipeline.prepare(withoutViewport, failure("#submit-order"), intent(), config).orElseThrow()
+                .cropped()).isFalse();
+        assertThat(pipeline.prepare(otherViewport, failure("#submit-order"), intent(), config).orElseThrow()
+                .cropped()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should map page rectangles to screenshot pixels")
+    void mapsRectsToImagePixels() {
+        assertThat(VIEWPORT.matchesImage(1920, 3000)).isTrue();
+        assertThat(VIEWPORT.matchesImage(960, 1500)).isFalse();
+        assertThat(VIEWPORT.toImagePixels(SUBMIT_BUTTON)).isEqualTo(new ElementRect(1400, 2300, 180, 48));
+        assertThat(new Viewport(800, 600, 0, 0, 1.5).toImagePixels(new ElementRect(11, 21, 11, 11)))
+                .isEqualTo(new ElementRect(16, 31, 17, 17));
+    }
+
+    @Test
+    @DisplayName("should not crop when the candidates lie outside the screenshot")
+    void skipsCropOutsideImage() {
+        List<ElementRect> outside = List.of(new ElementRect(1400, 5200, 180, 48));
+
+        assertThat(VisionImagePipeline.cropArea(outside, 64, 1920, 3000)).isNull();
+        assertThat(VisionImagePipeline.cropArea(List.of(VIEWPORT.toImagePixels(SUBMIT_BUTTON)), 64, 1920, 3000))
+                .isNotNull();
+        assertThat(VisionImagePipeline.cropArea(List.of(new ElementRect(40, 20, 120, 32),
+                new ElementRect(1700, 2900, 180, 60)), 64, 1920, 3000))
+                .as("a crop covering most of the page is not worth it").isNull();
+    }
+
+    @Test
+    @DisplayName("should rank candidates by words shared with the locator, step and intent")
+    void ranksCandidates() {
+        UiSnapshot snapshot = snapshot(viewportScreenshot());
+
+        assertThat(VisionImagePipeline.candidateRects(snapshot, failure("#submit-order"), intent(), 1))
+                .containsExactly(SUBMIT_BUTTON);
+        FailureContext unrelated = FailureContext.builder()
+                .stepText("the user opens the menu")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, "#nav-toggle"))
+                .actionType(ActionType.CLICK)
+                .build();
+        assertThat(VisionImagePipeline.candidateRects(snapshot, unrelated, null, 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should encode each screenshot once")
+    void cachesPreparedImages() {
+        String screenshot = viewportScreenshot();
+
+        PreparedImage first = pipeline.prepare(snapshot(screenshot), failure("#submit-order"), intent(), config)
+                .orElseThrow();
+        PreparedImage second = pipeline.prepare(snapshot(screenshot), failure("#submit-order"), intent(), config)
+                .orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(pipeline.getStats()).isEqualTo(new VisionImagePipeline.Stats(1, 1));
+    }
+
+    @Test
+    @DisplayName("should send the screenshot unchanged when optimization is off or the image cannot be read")
+    void fallsBackToOriginal() {
+        String screenshot = viewportScreenshot();
+        config.setOptimizeImages(false);
+
+        PreparedImage unchanged = pipeline.prepare(snapshot(screenshot), failure("#submit-order"), intent(), config)
+                .orElseThrow();
+        assertThat(unchanged.base64()).isSameAs(screenshot);
+        assertThat(unchanged.mediaType()).isEqualTo("image/png");
+
+        config.setOptimizeImages(true);
+        PreparedImage unreadable = pipeline.prepare("bm90IGFuIGltYWdl", List.of(), VIEWPORT, config);
+        assertThat(unreadable.base64()).isEqualTo("bm90IGFuIGltYWdl");
+        assertThat(pipeline.prepare(UiSnapshot.builder().url("https://example.com").build(),
+                failure("#submit-order"), intent(), config)).isEmpty();
+    }
+
+    private static String viewportScreenshot() {
+        BufferedImage image = new BufferedImage(1920, 3000, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, 1920, 3000);
+            g.setColor(new Color(230, 230, 240));
+            for (int y = 100; y < 3000; y += 160) {
+                g.fillRect(40, y, 1840, 120);
+            }
+            // A photo-like banner, which is what makes real screenshots large as PNG
+            java.util.Random random = new java.util.Random(7);
+            for (int y = 400; y < 1200; y++) {
+                for (int x = 40; x < 1880; x++) {
+                    int shade = (x + y) / 12 % 200 + random.nextInt(40);
+                    image.setRGB(x, y, new Color(shade, 255 - shade, 128).getRGB());
+                }
+            }
+            g.setColor(Color.BLUE);
+            fill(g, VIEWPORT.toImagePixels(HEADER_LINK));
+            g.setColor(Color.RED);
+            fill(g, VIEWPORT.toImagePixels(SUBMIT_BUTTON));
+        } finally {
+            g.dispose();
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return Base64.getEncoder().encodeToString(out.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void fill(Graphics2D g, ElementRect rect) {
+        g.fillRect(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
+    }
+
+    private static BufferedImage decode(String base64) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(base64)));
+    }
+
+    private static UiSnapshot snapshot(String screenshot) {
+        return snapshot(screenshot, VIEWPORT);
+    }
+
+    private static UiSnapshot snapshot(String screenshot, Viewport viewport) {
+        return UiSnapshot.builder()
+                .url("https://example.com/checkout")
+                .screenshotBase64(screenshot)
+                .viewport(viewport)
+                .interactiveElements(List.of(
+                        ElementSnapshot.builder().index(0).tagName("a").text("Home").rect(HEADER_LINK)
+                                .visible(true).enabled(true).build(),
+                        ElementSnapshot.builder().index(1).tagName("button").text("Submit order").id("place-order")
+                                .rect(SUBMIT_BUTTON).visible(true).enabled(true).build(),
+                        ElementSnapshot.builder().index(2).tagName("button").text("Submit order")
+                                .rect(new ElementRect(700, 1600, 90, 24)).visible(false).enabled(true).build()))
+                .build();
+    }
+
+    private static FailureContext failure(String locator) {
+        return FailureContext.builder()
+                .stepKeyword("When")
+                .stepText("the user submits the order")
+                .exceptionType("NoSuchElementException")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, locator))
+                .actionType(ActionType.CLICK)
+                .build();
+    }
+
+    private static IntentContract intent() {
+        return IntentContract.builder()
+                .action("click")
+                .description("Submit the order")
+                .policy(HealPolicy.AUTO_SAFE)
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import com.microsoft.playwright.Page;
 import io.github.glaciousm.core.model.ElementRect;
 import io.github.glaciousm.core.model.ElementSnapshot;
 import io.github.glaciousm.core.model.UiSnapshot;
+import io.github.glaciousm.core.model.Viewport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,7 +84,9 @@ public class PlaywrightSnapshotBuilder {
         }
 
         String screenshotBase64 = null;
+        Viewport viewport = null;
         if (captureScreenshot) {
+            viewport = captureViewport();
             screenshotBase64 = captureScreenshotBase64();
         }
 
@@ -92,6 +95,7 @@ public class PlaywrightSnapshotBuilder {
                 .title(page.title())
                 .interactiveElements(elements)
                 .screenshotBase64(screenshotBase64)
+                .viewport(viewport)
                 .build();
     }
 
@@ -234,6 +238,23 @@ public class PlaywrightSnapshotBuilder {
         }
     }
 
+    /**
+     * The viewport at screenshot time. Bounding boxes are already viewport coordinates, so
+     * only the size and device pixel ratio are needed.
+     */
+    private Viewport captureViewport() {
+        try {
+            Object result = page.evaluate("() => [window.innerWidth, window.innerHeight, window.devicePixelRatio || 1]");
+            if (result instanceof List<?> values && values.size() == 3) {
+                return new Viewport(((Number) values.get(0)).intValue(), ((Number) values.get(1)).intValue(),
+                        0, 0, ((Number) values.get(2)).doubleValue());
+            }
+        } catch (Exception e) {
+            logger.debug("Failed to capture viewport: {}", e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Capture screenshot as Base64 string.
      */
@@ -204,6 +204,18 @@ public class ExportService {
      * Export multiple reports to a combined CSV for trend analysis.
      */
     public void exportTrendsCsv(List<HealReport> reports, String outputPath) throws IOException {
+        writeTrendsCsv(new ReportAggregator().aggregateReports(reports).getReports(), outputPath);
+    }
+
+    /**
+     * Export every heal report in a directory to a trend CSV, oldest report first.
+     * Reports are streamed rather than loaded, so large report archives can be exported.
+     */
+    public void exportTrendsCsv(Path reportDir, String outputPath) throws IOException {
+        writeTrendsCsv(new ReportAggregator().aggregate(reportDir).getReports(), outputPath);
+    }
+
+    private void writeTrendsCsv(List<ReportAggregator.ReportStats> reports, String outputPath) throws IOException {
         Path path = Path.of(outputPath);
         Files.createDirectories(path.getParent() != null ? path.getParent() : Path.of("."));
 
@@ -212,22 +224,16 @@ public class ExportService {
             writer.println("report_date,total_heals,successes,failures,refused,success_rate,avg_confidence,total_cost_usd");
 
             // Write each report summary
-            for (HealReport report : reports) {
-                HealReport.ReportSummary summary = report.getSummary();
-                String date = formatDate(report.getTimestamp());
-                int total = summary.getHealAttempts();
-                double successRate = total > 0 ? (summary.getHealSuccesses() * 100.0) / total : 0;
-                double avgConfidence = calculateAvgConfidence(report);
-
+            for (ReportAggregator.ReportStats report : reports) {
                 writer.printf("%s,%d,%d,%d,%d,%.2f,%.2f,%.6f%n",
-                        date,
-                        total,
-                        summary.getHealSuccesses(),
-                        summary.getHealFailures(),
-                        summary.getHealRefusals(),
-                        successRate,
-                        avgConfidence,
-                        summary.getTotalLlmCostUsd()
+                        formatDate(report.timestamp()),
+                        report.totalHeals(),
+                        report.successes(),
+                        report.failures(),
+                        report.refusals(),
+                        report.successRate(),
+                        report.averageConfidence() * 100,
+                        report.totalCostUsd()
                 );
             }
         }
@@ -374,20 +380,6 @@ public class ExportService {
         return LocalDateTime.ofInstant(timestamp, ZoneId.systemDefault()).format(DateTimeFormatter.ISO_LOCAL_DATE);
     }
 
-    private double calculateAvgConfidence(HealReport report) {
-        if (report.getEvents().isEmpty()) return 0;
-
-        double sum = 0;
-        int count = 0;
-        for (HealEvent event : report.getEvents()) {
-            if (event.getDecision() != null) {
-                sum += event.getDecision().getConfidence();
-                count++;
-            }
-        }
-        return count > 0 ? (sum / count) * 100 : 0;
-    }
-
     private String truncate(String text, int maxLength) {
         if (text == null) return "";
         if (text.length() <= maxLength) return text;
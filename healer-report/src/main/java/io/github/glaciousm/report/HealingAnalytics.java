@@ -5,6 +5,8 @@ import io.github.glaciousm.report.model.HealReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
@@ -100,58 +102,72 @@ public class HealingAnalytics {
             return createEmptySummary();
         }
 
-        List<HealEvent> allEvents = reports.stream()
+        Accumulator accumulator = new Accumulator();
+        reports.stream()
                 .filter(r -> r != null && r.getEvents() != null)
                 .flatMap(r -> r.getEvents().stream())
-                .collect(Collectors.toList());
-
-        AnalyticsSummary summary = analyzeEvents(allEvents);
+                .forEach(accumulator::add);
 
         // Generate trend from multiple reports
-        List<TrendDataPoint> trend = generateTrendFromReports(reports);
+        return accumulator.toSummary(generateTrendFromReports(reports));
+    }
 
-        return new AnalyticsSummary(
-                summary.totalHeals(),
-                summary.successfulHeals(),
-                summary.failedHeals(),
-                summary.refusedHeals(),
-                summary.successRate(),
-                summary.averageConfidence(),
-                summary.totalCostUsd(),
-                summary.averageCostPerHeal(),
-                summary.estimatedTimeSaved(),
-                summary.mostFrequentlyHealedLocators(),
-                trend,
-                summary.healsByFeature(),
-                summary.healsByActionType(),
-                summary.confidenceDistribution()
-        );
+    /**
+     * Analyzes every heal report in a directory without loading the reports into memory.
+     * Report files are parsed in parallel and their events streamed into running totals.
+     *
+     * @param reportDir directory containing {@code heal*.json} reports
+     * @return combined analytics, with one trend point per report
+     */
+    public AnalyticsSummary analyzeReports(Path reportDir) throws IOException {
+        ReportAggregator.Result result = new ReportAggregator().aggregate(reportDir);
+        if (result.getReports().isEmpty()) {
+            return createEmptySummary();
+        }
+        return result.getAnalytics().toSummary(result.getTrend());
     }
 
     /**
      * Analyzes a list of heal events.
      */
     private AnalyticsSummary analyzeEvents(List<HealEvent> events) {
-        int total = events.size();
-        int successful = 0;
-        int failed = 0;
-        int refused = 0;
-        double totalConfidence = 0;
-        double totalCost = 0;
-
-        Map<String, List<HealEvent>> locatorEvents = new HashMap<>();
-        Map<String, Integer> healsByFeature = new HashMap<>();
-        Map<String, Integer> healsByActionType = new HashMap<>();
-        Map<String, Integer> confidenceBuckets = new LinkedHashMap<>();
-
-        // Initialize confidence buckets
-        confidenceBuckets.put("0-20%", 0);
-        confidenceBuckets.put("20-40%", 0);
-        confidenceBuckets.put("40-60%", 0);
-        confidenceBuckets.put("60-80%", 0);
-        confidenceBuckets.put("80-100%", 0);
-
-        for (HealEvent event : events) {
+        Accumulator accumulator = new Accumulator();
+        events.forEach(accumulator::add);
+        return accumulator.toSummary(Collections.emptyList()); // Trend calculated separately for multiple reports
+    }
+
+    /**
+     * Running totals over heal events. Events are added one at a time and partial
+     * accumulators can be merged, so large report sets can be analyzed in parallel
+     * without keeping the events in memory.
+     */
+    public static final class Accumulator {
+        private int total;
+        private int successful;
+        private int failed;
+        private int refused;
+        private double totalConfidence;
+        private double totalCost;
+
+        private final Map<String, LocatorStats> locatorStats = new HashMap<>();
+        private final Map<String, Integer> healsByFeature = new HashMap<>();
+        private final Map<String, Integer> healsByActionType = new HashMap<>();
+        private final Map<String, Integer> confidenceBuckets = new LinkedHashMap<>();
+
+        public Accumulator() {
+            // Initialize confidence buckets
+            confidenceBuckets.put("0-20%", 0);
+            confidenceBuckets.put("20-40%", 0);
+            confidenceBuckets.put("40-60%", 0);
+            confidenceBuckets.put("60-80%", 0);
+            confidenceBuckets.put("80-100%", 0);
+        }
+
+        /**
+         * Adds a single heal event.
+         */
+        public void add(HealEvent event) {
+            total++;
             String status = event.getResult() != null ? event.getResult().getStatus() : "UNKNOWN";
 
             switch (status) {
@@ -165,8 +181,7 @@ public class HealingAnalytics {
             totalConfidence += confidence;
 
             // Update confidence distribution
-            String bucket = getConfidenceBucket(confidence);
-            confidenceBuckets.merge(bucket, 1, Integer::sum);
+            confidenceBuckets.merge(getConfidenceBucket(confidence), 1, Integer::sum);
 
             // Cost
             Double eventCost = event.getLlmCostUsd();
@@ -177,7 +192,7 @@ public class HealingAnalytics {
             // Track locators
             String locator = event.getOriginalLocator();
             if (locator != null && !locator.isEmpty()) {
-                locatorEvents.computeIfAbsent(locator, k -> new ArrayList<>()).add(event);
+                locatorStats.computeIfAbsent(locator, k -> new LocatorStats()).add(event);
             }
 
             // Track by feature
@@ -187,45 +202,131 @@ public class HealingAnalytics {
             }
 
             // Track by action type (inferred from step text)
-            String actionType = inferActionType(event.getStep());
-            healsByActionType.merge(actionType, 1, Integer::sum);
+            healsByActionType.merge(inferActionType(event.getStep()), 1, Integer::sum);
         }
 
-        double successRate = total > 0 ? (successful * 100.0) / total : 0;
-        double avgConfidence = total > 0 ? totalConfidence / total : 0;
-        double avgCost = total > 0 ? totalCost / total : 0;
+        /**
+         * Adds the totals of another accumulator to this one.
+         *
+         * @return this accumulator
+         */
+        public Accumulator merge(Accumulator other) {
+            total += other.total;
+            successful += other.successful;
+            failed += other.failed;
+            refused += other.refused;
+            totalConfidence += other.totalConfidence;
+            totalCost += other.totalCost;
+            other.locatorStats.forEach((locator, stats) ->
+                    locatorStats.computeIfAbsent(locator, k -> new LocatorStats()).merge(stats));
+            other.healsByFeature.forEach((k, v) -> healsByFeature.merge(k, v, Integer::sum));
+            other.healsByActionType.forEach((k, v) -> healsByActionType.merge(k, v, Integer::sum));
+            other.confidenceBuckets.forEach((k, v) -> confidenceBuckets.merge(k, v, Integer::sum));
+            return this;
+        }
 
-        // Calculate time saved (only count successful heals)
-        Duration timeSaved = Duration.ofMinutes((long) (successful * AVG_MANUAL_FIX_MINUTES));
+        public int getTotal() {
+            return total;
+        }
 
-        // Get most frequently healed locators
-        List<FrequentLocator> frequentLocators = getFrequentLocators(locatorEvents);
+        public int getSuccessful() {
+            return successful;
+        }
 
-        // Convert confidence buckets to distribution
-        Map<String, Double> confidenceDistribution = new LinkedHashMap<>();
-        for (Map.Entry<String, Integer> entry : confidenceBuckets.entrySet()) {
-            confidenceDistribution.put(entry.getKey(), total > 0 ? (entry.getValue() * 100.0) / total : 0);
+        public int getFailed() {
+            return failed;
         }
 
-        return new AnalyticsSummary(
-                total,
-                successful,
-                failed,
-                refused,
-                successRate,
-                avgConfidence,
-                totalCost,
-                avgCost,
-                timeSaved,
-                frequentLocators,
-                Collections.emptyList(), // Trend calculated separately for multiple reports
-                healsByFeature,
-                healsByActionType,
-                confidenceDistribution
-        );
+        public int getRefused() {
+            return refused;
+        }
+
+        public double getTotalCost() {
+            return totalCost;
+        }
+
+        /**
+         * Builds the analytics summary from the accumulated totals.
+         *
+         * @param trend trend points to include (empty for a single report)
+         */
+        public AnalyticsSummary toSummary(List<TrendDataPoint> trend) {
+            double successRate = total > 0 ? (successful * 100.0) / total : 0;
+            double avgConfidence = total > 0 ? totalConfidence / total : 0;
+            double avgCost = total > 0 ? totalCost / total : 0;
+
+            // Calculate time saved (only count successful heals)
+            Duration timeSaved = Duration.ofMinutes((long) (successful * AVG_MANUAL_FIX_MINUTES));
+
+            // Convert confidence buckets to distribution
+            Map<String, Double> confidenceDistribution = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> entry : confidenceBuckets.entrySet()) {
+                confidenceDistribution.put(entry.getKey(), total > 0 ? (entry.getValue() * 100.0) / total : 0);
+            }
+
+            return new AnalyticsSummary(
+                    total,
+                    successful,
+                    failed,
+                    refused,
+                    successRate,
+                    avgConfidence,
+                    totalCost,
+                    avgCost,
+                    timeSaved,
+                    getFrequentLocators(),
+                    trend,
+                    new HashMap<>(healsByFeature),
+                    new HashMap<>(healsByActionType),
+                    confidenceDistribution
+            );
+        }
+
+        private List<FrequentLocator> getFrequentLocators() {
+            return locatorStats.entrySet().stream()
+                    .filter(e -> e.getValue().count > 1) // Only include locators healed more than once
+                    .map(e -> new FrequentLocator(e.getKey(), e.getValue().count,
+                            e.getValue().averageConfidence(), new ArrayList<>(e.getValue().features)))
+                    .sorted((a, b) -> Integer.compare(b.healCount(), a.healCount()))
+                    .limit(10)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Per-locator totals kept by {@link Accumulator}.
+     */
+    private static final class LocatorStats {
+        private int count;
+        private double confidenceSum;
+        private int confidenceCount;
+        private final Set<String> features = new LinkedHashSet<>();
+
+        void add(HealEvent event) {
+            count++;
+            if (event.getDecision() != null) {
+                confidenceSum += event.getDecision().getConfidence();
+                confidenceCount++;
+            }
+            String feature = event.getFeature();
+            if (feature != null && !feature.isEmpty()) {
+                features.add(feature);
+            }
+        }
+
+        void merge(LocatorStats other) {
+            count += other.count;
+            confidenceSum += other.confidenceSum;
+            confidenceCount += other.confidenceCount;
+            features.addAll(other.features);
+        }
+
+        double averageConfidence() {
+            return confidenceCount > 0 ? confidenceSum / confidenceCount : 0;
+        }
     }
 
-    private String getConfidenceBucket(double confidence) {
+    private static String getConfidenceBucket(double confidence) {
         if (confidence < 0.2) return "0-20%";
         if (confidence < 0.4) return "20-40%";
         if (confidence < 0.6) return "40-60%";
@@ -233,28 +334,6 @@ public class HealingAnalytics {
         return "80-100%";
     }
 
-    private List<FrequentLocator> getFrequentLocators(Map<String, List<HealEvent>> locatorEvents) {
-        return locatorEvents.entrySet().stream()
-                .filter(e -> e.getValue().size() > 1) // Only include locators healed more than once
-                .map(e -> {
-                    List<HealEvent> events = e.getValue();
-                    double avgConf = events.stream()
-                            .filter(ev -> ev.getDecision() != null)
-                            .mapToDouble(ev -> ev.getDecision().getConfidence())
-                            .average()
-                            .orElse(0);
-                    List<String> features = events.stream()
-                            .map(HealEvent::getFeature)
-                            .filter(f -> f != null && !f.isEmpty())
-                            .distinct()
-                            .collect(Collectors.toList());
-                    return new FrequentLocator(e.getKey(), events.size(), avgConf, features);
-                })
-                .sorted((a, b) -> Integer.compare(b.healCount(), a.healCount()))
-                .limit(10)
-                .collect(Collectors.toList());
-    }
-
     private List<TrendDataPoint> generateTrendFromReports(List<HealReport> reports) {
         return reports.stream()
                 .filter(r -> r != null && r.getTimestamp() != null)
@@ -271,7 +350,7 @@ public class HealingAnalytics {
                 .collect(Collectors.toList());
     }
 
-    private String inferActionType(String stepText) {
+    private static String inferActionType(String stepText) {
         if (stepText == null || stepText.isEmpty()) {
             return "Unknown";
         }
@@ -0,0 +1,317 @@
+package io.github.glaciousm.report;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.glaciousm.report.HealingAnalytics.Accumulator;
+import io.github.glaciousm.report.HealingAnalytics.TrendDataPoint;
+import io.github.glaciousm.report.model.HealEvent;
+import io.github.glaciousm.report.model.HealReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Aggregates directories of JSON heal reports without loading them into memory.
+ * <p>
+ * Each report file is read with the Jackson streaming API: heal events are
+ * deserialized one at a time and folded into running totals, so memory use depends
+ * on the number of distinct locators and features rather than on the number of
+ * events or the size of embedded screenshots. Files are aggregated in parallel.
+ * The same pipeline backs {@link ReportGenerator#generateHtmlFromDirectory},
+ * {@link HealingAnalytics#analyzeReports(Path)} and {@link ExportService#exportTrendsCsv(Path, String)}.
+ */
+public class ReportAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportAggregator.class);
+
+    private final ObjectMapper objectMapper;
+
+    public ReportAggregator() {
+        this(new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    public ReportAggregator(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Totals of a single report file (one trend point or CSV row).
+     */
+    public record ReportStats(
+            Path source,
+            String runId,
+            Instant timestamp,
+            int totalHeals,
+            int successes,
+            int failures,
+            int refusals,
+            double averageConfidence,
+            double totalCostUsd
+    ) {
+        public double successRate() {
+            return totalHeals > 0 ? (successes * 100.0) / totalHeals : 0;
+        }
+    }
+
+    /**
+     * Combined totals of a set of report files.
+     */
+    public static final class Result {
+        private final Accumulator analytics;
+        private final List<ReportStats> reports;
+        private final Map<String, Integer> locatorCounts;
+
+        private Result(Accumulator analytics, List<ReportStats> reports, Map<String, Integer> locatorCounts) {
+            this.analytics = analytics;
+            this.reports = reports;
+            this.locatorCounts = locatorCounts;
+        }
+
+        /**
+         * Running analytics over all events.
+         */
+        public Accumulator getAnalytics() {
+            return analytics;
+        }
+
+        /**
+         * Per-report totals, oldest first.
+         */
+        public List<ReportStats> getReports() {
+            return reports;
+        }
+
+        /**
+         * Occurrences of every original and healed locator, for stability analysis.
+         */
+        public Map<String, Integer> getLocatorCounts() {
+            return locatorCounts;
+        }
+
+        /**
+         * Success-rate trend with one point per timestamped report.
+         */
+        public List<TrendDataPoint> getTrend() {
+            return reports.stream()
+                    .filter(r -> r.timestamp() != null)
+                    .map(r -> new TrendDataPoint(r.timestamp(), r.successRate(), r.totalHeals(), r.successes()))
+                    .toList();
+        }
+
+        /**
+         * Summary counts in the shape of a single report's summary.
+         */
+        public HealReport.ReportSummary toReportSummary() {
+            HealReport.ReportSummary summary = new HealReport.ReportSummary();
+            summary.setHealAttempts(analytics.getTotal());
+            summary.setHealSuccesses(analytics.getSuccessful());
+            summary.setHealRefusals(analytics.getRefused());
+            summary.setHealFailures(analytics.getFailed());
+            summary.setTotalLlmCostUsd(analytics.getTotalCost());
+            return summary;
+        }
+    }
+
+    /**
+     * Lists the heal report files ({@code heal*.json}) under a directory, in path order.
+     */
+    public List<Path> findReportFiles(Path reportDir) throws IOException {
+        if (!Files.exists(reportDir)) {
+            throw new IOException("Input directory does not exist: " + reportDir);
+        }
+        try (Stream<Path> paths = Files.walk(reportDir)) {
+            return paths
+                    .filter(p -> p.toString().endsWith(".json"))
+                    .filter(p -> p.getFileName().toString().startsWith("heal"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Aggregates all heal reports under a directory.
+     */
+    public Result aggregate(Path reportDir) throws IOException {
+        return aggregate(findReportFiles(reportDir));
+    }
+
+    /**
+     * Aggregates the given report files in parallel. Unreadable files are logged and skipped.
+     */
+    public Result aggregate(List<Path> reportFiles) {
+        List<Partial> partials = reportFiles.parallelStream()
+                .map(this::aggregateFile)
+                .flatMap(Optional::stream)
+                .toList();
+
+        Accumulator analytics = new Accumulator();
+        Map<String, Integer> locatorCounts = new LinkedHashMap<>();
+        List<ReportStats> reports = new ArrayList<>();
+        for (Partial partial : partials) {
+            analytics.merge(partial.analytics());
+            partial.locatorCounts().forEach((k, v) -> locatorCounts.merge(k, v, Integer::sum));
+            reports.add(partial.stats());
+        }
+        reports.sort(Comparator.comparing(ReportStats::timestamp, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        return new Result(analytics, Collections.unmodifiableList(reports), locatorCounts);
+    }
+
+    /**
+     * Aggregates in-memory reports with the same totals as {@link #aggregate(List)}.
+     */
+    public Result aggregateReports(List<HealReport> reports) {
+        Accumulator analytics = new Accumulator();
+        Map<String, Integer> locatorCounts = new LinkedHashMap<>();
+        List<ReportStats> stats = new ArrayList<>();
+        for (HealReport report : reports) {
+            StatsBuilder builder = new StatsBuilder(null);
+            builder.runId = report.getRunId();
+            builder.timestamp = report.getTimestamp();
+            if (report.getEvents() != null) {
+                for (HealEvent event : report.getEvents()) {
+                    builder.add(event);
+                    analytics.add(event);
+                    countLocators(event, locatorCounts);
+                }
+            }
+            stats.add(builder.build());
+        }
+        return new Result(analytics, Collections.unmodifiableList(stats), locatorCounts);
+    }
+
+    /**
+     * Streams the events of one report file to a consumer, one event at a time.
+     *
+     * @param reportFile the JSON report
+     * @param consumer   receives each event in file order
+     * @return totals of the report
+     */
+    public ReportStats readEvents(Path reportFile, Consumer<HealEvent> consumer) throws IOException {
+        StatsBuilder stats = new StatsBuilder(reportFile);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(reportFile.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Not a heal report: " + reportFile);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "run_id" -> stats.runId = parser.getValueAsString();
+                    case "timestamp" -> stats.timestamp = objectMapper.readValue(parser, Instant.class);
+                    case "events" -> {
+                        if (token == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                HealEvent event = objectMapper.readValue(parser, HealEvent.class);
+                                stats.add(event);
+                                consumer.accept(event);
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        return stats.build();
+    }
+
+    private Optional<Partial> aggregateFile(Path reportFile) {
+        Accumulator analytics = new Accumulator();
+        Map<String, Integer> locatorCounts = new LinkedHashMap<>();
+        try {
+            ReportStats stats = readEvents(reportFile, event -> {
+                analytics.add(event);
+                countLocators(event, locatorCounts);
+            });
+            return Optional.of(new Partial(analytics, locatorCounts, stats));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to read report: {}", reportFile, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Counts the original and healed locators of the given events.
+     */
+    static Map<String, Integer> countLocators(List<HealEvent> events) {
+        Map<String, Integer> locatorCounts = new LinkedHashMap<>();
+        for (HealEvent event : events) {
+            countLocators(event, locatorCounts);
+        }
+        return locatorCounts;
+    }
+
+    private static void countLocators(HealEvent event, Map<String, Integer> locatorCounts) {
+        String healedLocator = event.getHealedLocator();
+        if (healedLocator != null && !healedLocator.isEmpty()) {
+            locatorCounts.merge(healedLocator, 1, Integer::sum);
+        }
+        String originalLocator = event.getOriginalLocator();
+        if (originalLocator != null && !originalLocator.isEmpty()) {
+            locatorCounts.merge(originalLocator, 1, Integer::sum);
+        }
+    }
+
+    private record Partial(Accumulator analytics, Map<String, Integer> locatorCounts, ReportStats stats) {
+    }
+
+    private static final class StatsBuilder {
+        private final Path source;
+        private String runId;
+        private Instant timestamp;
+        private int total;
+        private int successes;
+        private int failures;
+        private int refusals;
+        private double confidenceSum;
+        private int confidenceCount;
+        private double cost;
+
+        StatsBuilder(Path source) {
+            this.source = source;
+        }
+
+        void add(HealEvent event) {
+            total++;
+            String status = event.getResult() != null ? event.getResult().getStatus() : "UNKNOWN";
+            switch (status) {
+                case "SUCCESS" -> successes++;
+                case "FAILED" -> failures++;
+                case "REFUSED" -> refusals++;
+                default -> { }
+            }
+            if (event.getDecision() != null) {
+                confidenceSum += event.getDecision().getConfidence();
+                confidenceCount++;
+            }
+            Double eventCost = event.getLlmCostUsd();
+            if (eventCost != null) {
+                cost += eventCost;
+            }
+        }
+
+        ReportStats build() {
+            return new ReportStats(source, runId, timestamp, total, successes, failures, refusals,
+                    confidenceCount > 0 ? confidenceSum / confidenceCount : 0, cost);
+        }
+    }
+}
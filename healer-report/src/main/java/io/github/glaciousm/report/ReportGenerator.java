@@ -18,9 +18,12 @@ import io.github.glaciousm.report.model.HealReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -28,6 +31,8 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -122,16 +127,36 @@ public class ReportGenerator {
     private void writeHtmlReport(Path outputDir, String timestamp) throws IOException {
         File htmlFile = outputDir.resolve("healer-report-" + timestamp + ".html").toFile();
 
-        try (FileWriter writer = new FileWriter(htmlFile)) {
-            writer.write(generateHtml());
+        try (Writer writer = new BufferedWriter(new FileWriter(htmlFile))) {
+            List<HealEvent> events = currentReport.getEvents();
+            writeHtml(writer,
+                    currentReport.getSummary(),
+                    healingAnalytics.analyzeReport(currentReport),
+                    ReportAggregator.countLocators(events),
+                    out -> {
+                        for (HealEvent event : events) {
+                            out.write(generateEventHtml(event, null));
+                        }
+                    });
         }
         logger.info("HTML report written: {}", htmlFile.getAbsolutePath());
     }
 
-    private String generateHtml() {
-        StringBuilder html = new StringBuilder();
+    /**
+     * Writes the events section of an HTML report.
+     */
+    @FunctionalInterface
+    private interface EventsWriter {
+        void write(Writer out) throws IOException;
+    }
 
-        html.append("""
+    /**
+     * Writes a complete HTML report. Sections are written as they are generated,
+     * so the document is never held in memory as a whole.
+     */
+    private void writeHtml(Writer html, HealReport.ReportSummary summary, AnalyticsSummary analytics,
+                           Map<String, Integer> locatorCounts, EventsWriter events) throws IOException {
+        html.write("""
             <!DOCTYPE html>
             <html lang="en">
             <head>
@@ -181,8 +206,7 @@ public class ReportGenerator {
             """);
 
         // Summary section
-        HealReport.ReportSummary summary = currentReport.getSummary();
-        html.append("""
+        html.write("""
                     <h2>Summary</h2>
                     <div class="summary">
                         <div class="stat">
@@ -215,61 +239,19 @@ public class ReportGenerator {
         ));
 
         // Events section
-        html.append("<h2>Healing Events</h2>");
-
-        for (HealEvent event : currentReport.getEvents()) {
-            String statusClass = switch (event.getResult().getStatus()) {
-                case "SUCCESS" -> "status-success";
-                case "REFUSED" -> "status-refused";
-                default -> "status-failed";
-            };
-
-            // Generate visual evidence section if screenshots are available
-            String visualEvidenceHtml = generateVisualEvidenceHtml(event);
-
-            html.append("""
-                    <div class="event" onclick="this.classList.toggle('expanded')">
-                        <div class="event-header">
-                            <div>
-                                <strong>%s</strong>
-                                <span class="confidence">(%.0f%% confidence)</span>
-                            </div>
-                            <span class="status %s">%s</span>
-                        </div>
-                        <div class="event-body">
-                            <p><strong>Feature:</strong> %s</p>
-                            <p><strong>Scenario:</strong> %s</p>
-                            <p><strong>Failure:</strong> %s - %s</p>
-                            <div class="reasoning">
-                                <strong>Reasoning:</strong> %s
-                            </div>
-                            %s
-                        </div>
-                    </div>
-                """.formatted(
-                    escapeHtml(event.getStep()),
-                    event.getDecision() != null ? event.getDecision().getConfidence() * 100 : 0,
-                    statusClass,
-                    event.getResult().getStatus(),
-                    escapeHtml(event.getFeature()),
-                    escapeHtml(event.getScenario()),
-                    escapeHtml(event.getFailure() != null ? event.getFailure().getExceptionType() : "Unknown"),
-                    escapeHtml(event.getFailure() != null ? event.getFailure().getMessage() : ""),
-                    escapeHtml(event.getDecision() != null ? event.getDecision().getReasoning() : "N/A"),
-                    visualEvidenceHtml
-            ));
-        }
+        html.write("<h2>Healing Events</h2>");
+        events.write(html);
 
         // Analytics section
-        html.append(generateAnalyticsHtml());
+        html.write(generateAnalyticsHtml(analytics));
 
         // Locator Recommendations section
-        html.append(generateLocatorRecommendationsHtml());
+        html.write(generateLocatorRecommendationsHtml(locatorCounts));
 
         // Trend Charts section (requires multiple reports)
-        html.append(generateTrendChartsHtml());
+        html.write(generateTrendChartsHtml(analytics));
 
-        html.append("""
+        html.write("""
                 </div>
                 <script src="https://cdn.jsdelivr.net/npm/chart.js@4.4.1/dist/chart.umd.min.js"></script>
                 <script>
@@ -281,19 +263,64 @@ public class ReportGenerator {
             </body>
             </html>
             """);
+    }
 
-        return html.toString();
+    /**
+     * Generates the HTML for a single heal event.
+     *
+     * @param screenshots where to store screenshots, or null to inline them as data URIs
+     */
+    private String generateEventHtml(HealEvent event, ScreenshotStore screenshots) throws IOException {
+        String statusClass = switch (event.getResult().getStatus()) {
+            case "SUCCESS" -> "status-success";
+            case "REFUSED" -> "status-refused";
+            default -> "status-failed";
+        };
+
+        // Generate visual evidence section if screenshots are available
+        String visualEvidenceHtml = generateVisualEvidenceHtml(event, screenshots);
+
+        return """
+                <div class="event" onclick="this.classList.toggle('expanded')">
+                    <div class="event-header">
+                        <div>
+                            <strong>%s</strong>
+                            <span class="confidence">(%.0f%% confidence)</span>
+                        </div>
+                        <span class="status %s">%s</span>
+                    </div>
+                    <div class="event-body">
+                        <p><strong>Feature:</strong> %s</p>
+                        <p><strong>Scenario:</strong> %s</p>
+                        <p><strong>Failure:</strong> %s - %s</p>
+                        <div class="reasoning">
+                            <strong>Reasoning:</strong> %s
+                        </div>
+                        %s
+                    </div>
+                </div>
+            """.formatted(
+                escapeHtml(event.getStep()),
+                event.getDecision() != null ? event.getDecision().getConfidence() * 100 : 0,
+                statusClass,
+                event.getResult().getStatus(),
+                escapeHtml(event.getFeature()),
+                escapeHtml(event.getScenario()),
+                escapeHtml(event.getFailure() != null ? event.getFailure().getExceptionType() : "Unknown"),
+                escapeHtml(event.getFailure() != null ? event.getFailure().getMessage() : ""),
+                escapeHtml(event.getDecision() != null ? event.getDecision().getReasoning() : "N/A"),
+                visualEvidenceHtml
+        );
     }
 
     /**
      * Generates trend charts section with interactive Chart.js visualizations.
      */
-    private String generateTrendChartsHtml() {
-        if (currentReport == null || currentReport.getEvents() == null || currentReport.getEvents().size() < 2) {
+    private String generateTrendChartsHtml(AnalyticsSummary analytics) {
+        if (analytics.totalHeals() < 2) {
             return "";
         }
 
-        AnalyticsSummary analytics = healingAnalytics.analyzeReport(currentReport);
         StringBuilder html = new StringBuilder();
 
         html.append("""
@@ -483,12 +510,11 @@ public class ReportGenerator {
     /**
      * Generates the analytics section of the HTML report.
      */
-    private String generateAnalyticsHtml() {
-        if (currentReport == null || currentReport.getEvents() == null || currentReport.getEvents().isEmpty()) {
+    private String generateAnalyticsHtml(AnalyticsSummary analytics) {
+        if (analytics.totalHeals() == 0) {
             return "";
         }
 
-        AnalyticsSummary analytics = healingAnalytics.analyzeReport(currentReport);
         StringBuilder html = new StringBuilder();
 
         // Default hourly rate for ROI calculation
@@ -690,23 +716,15 @@ public class ReportGenerator {
     /**
      * Generates the locator recommendations section of the HTML report.
      */
-    private String generateLocatorRecommendationsHtml() {
+    private String generateLocatorRecommendationsHtml(Map<String, Integer> locatorCounts) {
         StringBuilder html = new StringBuilder();
 
-        // Collect all locators from events
+        // Expand the original and healed locators of all events, keeping their frequency
         List<LocatorInfo> locators = new ArrayList<>();
-        for (HealEvent event : currentReport.getEvents()) {
-            // Get healed locator from result
-            String healedLocator = event.getHealedLocator();
-            if (healedLocator != null && !healedLocator.isEmpty()) {
-                LocatorInfo.LocatorStrategy strategy = inferStrategy(healedLocator);
-                locators.add(new LocatorInfo(strategy, healedLocator));
-            }
-            // Get original locator from failure
-            String originalLocator = event.getOriginalLocator();
-            if (originalLocator != null && !originalLocator.isEmpty()) {
-                LocatorInfo.LocatorStrategy strategy = inferStrategy(originalLocator);
-                locators.add(new LocatorInfo(strategy, originalLocator));
+        for (Map.Entry<String, Integer> entry : locatorCounts.entrySet()) {
+            LocatorInfo locator = new LocatorInfo(inferStrategy(entry.getKey()), entry.getKey());
+            for (int i = 0; i < entry.getValue(); i++) {
+                locators.add(locator);
             }
         }
 
@@ -867,7 +885,7 @@ public class ReportGenerator {
      * Generates the visual evidence section for a single heal event.
      * Shows before/after screenshots and visual diff when available.
      */
-    private String generateVisualEvidenceHtml(HealEvent event) {
+    private String generateVisualEvidenceHtml(HealEvent event, ScreenshotStore screenshots) throws IOException {
         if (event.getArtifacts() == null || !event.getArtifacts().hasVisualEvidence()) {
             return "";
         }
@@ -905,8 +923,8 @@ public class ReportGenerator {
                             <img src="%s" alt="After healing" class="screenshot-img" />
                         </div>
             """.formatted(
-                beforeImg.startsWith("data:") ? beforeImg : "data:image/png;base64," + beforeImg,
-                afterImg.startsWith("data:") ? afterImg : "data:image/png;base64," + afterImg
+                imageSource(event, "before", beforeImg, screenshots),
+                imageSource(event, "after", afterImg, screenshots)
         ));
 
         // Add diff image if available
@@ -917,7 +935,7 @@ public class ReportGenerator {
                             <img src="%s" alt="Visual difference" class="screenshot-img" />
                         </div>
                 """.formatted(
-                    diffImg.startsWith("data:") ? diffImg : "data:image/png;base64," + diffImg
+                    imageSource(event, "diff", diffImg, screenshots)
             ));
         }
 
@@ -929,6 +947,67 @@ public class ReportGenerator {
         return html.toString();
     }
 
+    /**
+     * Returns the {@code src} for a screenshot: an inline data URI, or a relative
+     * link to an image file when a screenshot store is used.
+     */
+    private String imageSource(HealEvent event, String kind, String image, ScreenshotStore screenshots)
+            throws IOException {
+        if (screenshots == null) {
+            return image.startsWith("data:") ? image : "data:image/png;base64," + image;
+        }
+        return screenshots.save(event.getEventId() + "-" + kind, image);
+    }
+
+    /**
+     * Writes report screenshots to an asset directory next to the HTML file, so that
+     * combined reports reference images instead of embedding them as Base64.
+     */
+    private static final class ScreenshotStore {
+        private final Path directory;
+        private int saved;
+
+        ScreenshotStore(Path directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Decodes a Base64 screenshot (optionally a data URI) into a file.
+         *
+         * @return the image path relative to the HTML file
+         */
+        String save(String name, String image) throws IOException {
+            String data = image;
+            String extension = "png";
+            if (image.startsWith("data:")) {
+                int comma = image.indexOf(',');
+                String header = image.substring(5, Math.max(comma, 5));
+                if (header.startsWith("image/jpeg") || header.startsWith("image/jpg")) {
+                    extension = "jpg";
+                }
+                data = comma >= 0 ? image.substring(comma + 1) : "";
+            }
+
+            byte[] bytes;
+            try {
+                bytes = Base64.getMimeDecoder().decode(data);
+            } catch (IllegalArgumentException e) {
+                logger.debug("Keeping undecodable screenshot {} inline", name);
+                return image.startsWith("data:") ? image : "data:image/png;base64," + image;
+            }
+
+            String fileName = name.replaceAll("[^A-Za-z0-9._-]", "_") + "." + extension;
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(fileName), bytes);
+            saved++;
+            return directory.getFileName() + "/" + fileName;
+        }
+
+        int getSaved() {
+            return saved;
+        }
+    }
+
     /**
      * Returns CSS styles for visual evidence display.
      * Called during HTML generation to include necessary styles.
@@ -1036,6 +1115,12 @@ public class ReportGenerator {
 
     /**
      * Generate HTML report from a directory of JSON reports.
+     * <p>
+     * Reports are aggregated in parallel with the streaming {@link ReportAggregator},
+     * then streamed a second time, oldest first, to write each event straight to the
+     * output file.
+     * Screenshots are written to a {@code <name>-assets} directory next to the HTML
+     * and referenced from it rather than embedded.
      */
     public void generateHtmlFromDirectory(String inputDir, String outputPath) throws IOException {
         Path dirPath = Path.of(inputDir);
@@ -1043,32 +1128,43 @@ public class ReportGenerator {
             throw new IOException("Input directory does not exist: " + inputDir);
         }
 
-        // Load all JSON reports
-        HealReport combinedReport = new HealReport();
-        combinedReport.setTimestamp(Instant.now());
-
-        Files.walk(dirPath)
-                .filter(p -> p.toString().endsWith(".json"))
-                .filter(p -> p.getFileName().toString().startsWith("heal"))
-                .forEach(p -> {
-                    try {
-                        HealReport report = objectMapper.readValue(p.toFile(), HealReport.class);
-                        for (HealEvent event : report.getEvents()) {
-                            combinedReport.addEvent(event);
+        ReportAggregator aggregator = new ReportAggregator(objectMapper);
+        ReportAggregator.Result result = aggregator.aggregate(dirPath);
+
+        Path output = Path.of(outputPath).toAbsolutePath();
+        String outputName = output.getFileName().toString();
+        int dot = outputName.lastIndexOf('.');
+        ScreenshotStore screenshots = new ScreenshotStore(
+                output.resolveSibling((dot > 0 ? outputName.substring(0, dot) : outputName) + "-assets"));
+
+        try (Writer writer = Files.newBufferedWriter(output)) {
+            writeHtml(writer,
+                    result.toReportSummary(),
+                    result.getAnalytics().toSummary(Collections.emptyList()),
+                    result.getLocatorCounts(),
+                    out -> {
+                        // Only reports that aggregated cleanly, oldest first
+                        for (ReportAggregator.ReportStats report : result.getReports()) {
+                            Path reportFile = report.source();
+                            try {
+                                aggregator.readEvents(reportFile, event -> {
+                                    try {
+                                        out.write(generateEventHtml(event, screenshots));
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                });
+                            } catch (UncheckedIOException e) {
+                                throw e.getCause();
+                            } catch (IOException | RuntimeException e) {
+                                logger.warn("Failed to read report: {}", reportFile, e);
+                            }
                         }
-                    } catch (IOException e) {
-                        logger.warn("Failed to read report: {}", p, e);
-                    }
-                });
-
-        // Generate combined HTML
-        HealReport originalReport = currentReport;
-        currentReport = combinedReport;
-        String html = generateHtml();
-        currentReport = originalReport;
+                    });
+        }
 
-        Files.writeString(Path.of(outputPath), html);
-        logger.info("Combined HTML report written: {}", outputPath);
+        logger.info("Combined HTML report written: {} ({} reports, {} events, {} screenshots)",
+                outputPath, result.getReports().size(), result.getAnalytics().getTotal(), screenshots.getSaved());
     }
 
     /**
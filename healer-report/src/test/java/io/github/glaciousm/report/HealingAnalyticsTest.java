@@ -1,5 +1,7 @@
 package io.github.glaciousm.report;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.github.glaciousm.report.HealingAnalytics.AnalyticsSummary;
 import io.github.glaciousm.report.HealingAnalytics.FrequentLocator;
 import io.github.glaciousm.report.HealingAnalytics.TrendDataPoint;
@@ -9,7 +11,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -369,6 +375,53 @@ class HealingAnalyticsTest {
 
     // Helper methods
 
+    @Nested
+    @DisplayName("Report Directory Analysis")
+    class ReportDirectoryAnalysisTests {
+
+        @TempDir
+        Path reportDir;
+
+        @Test
+        @DisplayName("should stream report files to the same totals as in-memory analysis")
+        void matchesInMemoryAnalysis() throws IOException {
+            HealEvent first = createEvent("SUCCESS", 0.9, 0.01);
+            first.setFailure(createFailure("#login"));
+            HealEvent second = createEvent("FAILED", 0.3, 0.02);
+            second.setFailure(createFailure("#login"));
+            HealReport report1 = createReportWithEvents(first, second);
+            report1.setTimestamp(Instant.now().minusSeconds(3600));
+            HealReport report2 = createReportWithEvents(createEvent("SUCCESS", 0.8, 0.01));
+
+            ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+            mapper.writeValue(reportDir.resolve("heal-report-1.json").toFile(), report1);
+            mapper.writeValue(reportDir.resolve("heal-report-2.json").toFile(), report2);
+            Files.writeString(reportDir.resolve("other.json"), "{}");
+
+            AnalyticsSummary expected = analytics.analyzeReports(List.of(report1, report2));
+            AnalyticsSummary actual = analytics.analyzeReports(reportDir);
+
+            assertEquals(expected.totalHeals(), actual.totalHeals());
+            assertEquals(expected.successfulHeals(), actual.successfulHeals());
+            assertEquals(expected.averageConfidence(), actual.averageConfidence(), 0.0001);
+            assertEquals(expected.totalCostUsd(), actual.totalCostUsd(), 0.0001);
+            assertEquals(expected.confidenceDistribution(), actual.confidenceDistribution());
+            assertEquals(1, actual.mostFrequentlyHealedLocators().size());
+            assertEquals(2, actual.mostFrequentlyHealedLocators().get(0).healCount());
+            assertEquals(2, actual.successRateTrend().size());
+            assertEquals(50.0, actual.successRateTrend().get(0).successRate(), 0.1);
+        }
+
+        @Test
+        @DisplayName("should return empty summary for directory without reports")
+        void handlesEmptyDirectory() throws IOException {
+            AnalyticsSummary summary = analytics.analyzeReports(reportDir);
+
+            assertEquals(0, summary.totalHeals());
+            assertTrue(summary.successRateTrend().isEmpty());
+        }
+    }
+
     private HealReport createReportWithEvents(HealEvent... events) {
         HealReport report = new HealReport();
         report.setTimestamp(Instant.now());
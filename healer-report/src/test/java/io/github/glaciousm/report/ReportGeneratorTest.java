@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Base64;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -277,6 +278,42 @@ class ReportGeneratorTest {
          .hasMessageContaining("does not exist");
     }
 
+    @Test
+    void testGenerateHtmlFromDirectoryIncludesEventsOfAllReports() throws IOException {
+        createTestJsonReport("heal-report-1.json", "Step 1");
+        createTestJsonReport("heal-report-2.json", "Step 2");
+        Files.writeString(tempDir.resolve("heal-report-broken.json"), "{ not json");
+
+        Path outputPath = tempDir.resolve("combined.html");
+        reportGenerator.generateHtmlFromDirectory(tempDir.toString(), outputPath.toString());
+
+        String content = Files.readString(outputPath);
+        assertThat(content).contains("Step 1").contains("Step 2");
+        assertThat(content).contains("Healing Analytics");
+    }
+
+    @Test
+    void testGenerateHtmlFromDirectoryWritesScreenshotsAsFiles() throws IOException {
+        String png = Base64.getEncoder().encodeToString(new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+        HealEvent event = createTestEvent("SUCCESS", "Step with screenshots", "By.id: x", "By.id: y", 0.9);
+        ArtifactInfo artifacts = new ArtifactInfo();
+        artifacts.setBeforeScreenshotBase64(png);
+        artifacts.setAfterScreenshotBase64("data:image/png;base64," + png);
+        event.setArtifacts(artifacts);
+
+        reportGenerator.startReport();
+        reportGenerator.addEvent(event);
+        reportGenerator.finishReport();
+
+        Path outputPath = tempDir.resolve("combined.html");
+        reportGenerator.generateHtmlFromDirectory(tempDir.toString(), outputPath.toString());
+
+        String content = Files.readString(outputPath);
+        assertThat(content).doesNotContain("data:image/png;base64");
+        assertThat(content).contains("combined-assets/" + event.getEventId() + "-before.png");
+        assertThat(tempDir.resolve("combined-assets").resolve(event.getEventId() + "-after.png")).exists();
+    }
+
     @Test
     void testDefaultConstructor() {
         ReportGenerator defaultGenerator = new ReportGenerator();
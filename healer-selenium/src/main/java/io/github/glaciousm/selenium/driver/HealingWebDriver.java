@@ -3,8 +3,11 @@ package io.github.glaciousm.selenium.driver;
 import io.github.glaciousm.core.config.HealerConfig;
 import io.github.glaciousm.core.engine.HealingEngine;
 import io.github.glaciousm.core.engine.HealingSummary;
+import io.github.glaciousm.core.engine.coordinator.HealCoordinator;
+import io.github.glaciousm.core.engine.prediction.SpeculativeHealer;
 import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.core.util.StackTraceAnalyzer;
+import io.github.glaciousm.selenium.snapshot.LocatorProbe;
 import io.github.glaciousm.selenium.snapshot.SnapshotBuilder;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Interactive;
@@ -12,10 +15,18 @@ import org.openqa.selenium.interactions.Sequence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * WebDriver wrapper that provides automatic healing capabilities.
@@ -64,6 +75,12 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
     /** Current step text for healing context (thread-safe, per-thread isolation). */
     private final ThreadLocal<String> currentStepText = new ThreadLocal<>();
 
+    /** Optional healer that pre-heals at-risk locators when a page is loaded. */
+    private volatile SpeculativeHealer speculativeHealer;
+
+    /** Optional coordinator sharing heals with other drivers and forked test JVMs. */
+    private volatile HealCoordinator coordinator;
+
     /**
      * Creates a new HealingWebDriver wrapping the given delegate.
      *
@@ -86,6 +103,23 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
         return snapshotBuilderHolder.get();
     }
 
+    /**
+     * Pre-heal at-risk locators in the background whenever a page is first loaded,
+     * and use those heals when the test fails on one of them.
+     */
+    public void setSpeculativeHealer(SpeculativeHealer speculativeHealer) {
+        this.speculativeHealer = speculativeHealer;
+    }
+
+    /**
+     * Share heals with other drivers and forked test JVMs: a locator already healed elsewhere
+     * is reused, and a heal in progress elsewhere is waited for instead of repeated.
+     * Create the coordinator with {@code HealCoordinators.create(config.getCoordinator())}.
+     */
+    public void setCoordinator(HealCoordinator coordinator) {
+        this.coordinator = coordinator;
+    }
+
     /**
      * Set the current intent context for healing.
      */
@@ -117,6 +151,22 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
     @Override
     public void get(String url) {
         delegate.get(url);
+        speculate();
+    }
+
+    /**
+     * Let the speculative healer probe the page that was just loaded.
+     */
+    private void speculate() {
+        SpeculativeHealer healer = speculativeHealer;
+        if (healer == null) {
+            return;
+        }
+        try {
+            healer.onPageVisit(currentUrlOrNull(), new LocatorProbe(delegate, getSnapshotBuilder()));
+        } catch (Exception e) {
+            logger.debug("Speculative healing skipped: {}", e.getMessage());
+        }
     }
 
     @Override
@@ -243,16 +293,124 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
      * Handle a failed findElement call by attempting to heal.
      */
     private WebElement handleFindElementFailure(By by, RuntimeException originalException) {
-        if (!shouldAttemptHeal(originalException)) {
+        HealAttempt attempt = prepareHeal(by, originalException, "find element");
+        if (attempt == null) {
             throw originalException;
         }
 
+        // Reuse a heal published by another driver or fork, or wait for one in progress
+        String coordinationKey = HealCoordinator.key(attempt.pageUrl(), by.toString());
+        HealCoordinator.Claim claim = claim(coordinationKey);
+        if (claim.isHit()) {
+            By sharedBy = locatorInfoToBy(parseLocatorString(claim.healedLocator()));
+            WebElement shared = findOrNull(sharedBy);
+            if (shared != null) {
+                logger.debug("Using coordinated heal for: {} -> {}", by, sharedBy);
+                return wrapElement(shared, sharedBy);
+            }
+            logger.debug("Coordinated heal failed, re-healing: {}", by);
+            coordinator.invalidate(coordinationKey);
+            claim = claim(coordinationKey);
+        }
+        String ownedKey = claim.isOwner() ? coordinationKey : null;
+
+        WebElement healed = null;
+        try {
+            healed = healElement(by, attempt, ownedKey);
+        } finally {
+            if (ownedKey != null && healed == null) {
+                coordinator.abandon(ownedKey);
+            }
+        }
+        if (healed != null) {
+            return healed;
+        }
+        throw originalException;
+    }
+
+    /**
+     * Heal a failed findElement, with the speculative healer's pre-heal if there is one.
+     *
+     * @param ownedKey the coordination key to publish the heal under, or null
+     * @return the healed element, or null if it could not be healed
+     */
+    private WebElement healElement(By by, HealAttempt attempt, String ownedKey) {
         // Capture screenshot BEFORE healing attempt (for visual evidence)
         String beforeScreenshotBase64 = captureScreenshotBase64();
 
+        SpeculativeHealer.PreHeal preHeal = findPreHeal(attempt);
+        if (preHeal != null) {
+            WebElement healed = healElement(by, attempt, beforeScreenshotBase64, ownedKey,
+                    () -> healingEngine.applyPreHeal(
+                            attempt.failure(), attempt.intent(), preHeal.snapshot(), preHeal.decision()));
+            if (healed != null) {
+                return healed;
+            }
+            logger.debug("Pre-heal of {} no longer applies, healing it again", by);
+        }
+
+        return healElement(by, attempt, beforeScreenshotBase64, ownedKey, () -> healingEngine.attemptHeal(
+                attempt.failure(), attempt.intent(), getSnapshotBuilder().captureAll()));
+    }
+
+    /**
+     * Run one heal of a failed findElement and, if it finds the element, record it for the summary report.
+     *
+     * @param ownedKey the coordination key to publish the heal under, or null
+     * @return the healed element, or null if the heal failed or its locator finds nothing
+     */
+    private WebElement healElement(By by, HealAttempt attempt, String beforeScreenshotBase64, String ownedKey,
+                                   Supplier<HealResult> heal) {
+        try {
+            HealResult result = heal.get();
+            recordOutcome(attempt, result);
+
+            if (result != null && result.isSuccess() && result.getHealedLocator().isPresent()) {
+                String healedLocatorStr = result.getHealedLocator().get();
+                LocatorInfo healedLocator = parseLocatorString(healedLocatorStr);
+                By healedBy = locatorInfoToBy(healedLocator);
+                WebElement element = delegate.findElement(healedBy);
+                logger.info("Healed locator: {} -> {}", by, healedBy);
+                if (ownedKey != null) {
+                    coordinator.complete(ownedKey, healedLocatorStr);
+                }
+
+                // Capture screenshot AFTER successful healing
+                String afterScreenshotBase64 = captureScreenshotBase64();
+
+                // Record heal for summary report with visual evidence
+                SourceLocation sourceLocation = attempt.failure().getSourceLocation();
+                HealingSummary.getInstance().recordHealWithScreenshots(
+                    attempt.failure().getStepText(),
+                    by.toString(),
+                    healedBy.toString(),
+                    result.getConfidence(),
+                    sourceLocation != null ? sourceLocation.getFilePath() : null,
+                    sourceLocation != null ? sourceLocation.getLineNumber() : 0,
+                    beforeScreenshotBase64,
+                    afterScreenshotBase64
+                );
+
+                return wrapElement(element, healedBy);
+            }
+
+        } catch (Exception healException) {
+            logger.warn("Healing attempt failed: {}", healException.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Build the failure context for a failed lookup and triage it.
+     * Returns null when the failure should not be healed, before anything is captured.
+     */
+    private HealAttempt prepareHeal(By by, RuntimeException originalException, String defaultIntent) {
+        if (!shouldAttemptHeal(originalException)) {
+            return null;
+        }
+
         try {
             LocatorInfo originalLocator = byToLocatorInfo(by);
-            UiSnapshot snapshot = getSnapshotBuilder().captureAll();
 
             String stepText = currentStepText.get();
             IntentContract intent = currentIntent.get();
@@ -279,39 +437,185 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
 
             IntentContract intentToUse = intent != null
                     ? intent
-                    : IntentContract.defaultContract(stepText != null ? stepText : "find element");
+                    : IntentContract.defaultContract(stepText != null ? stepText : defaultIntent);
+
+            // Screenshots and DOM capture cost seconds; refuse before paying for them
+            String pageUrl = currentUrlOrNull();
+            GuardrailResult triage = healingEngine.triage(failureContext, intentToUse, pageUrl);
+            if (triage.isRefused()) {
+                logger.debug("Not healing {}: {}", by, triage.getReason());
+                return null;
+            }
+            return new HealAttempt(failureContext, intentToUse, pageUrl);
 
-            HealResult result = healingEngine.attemptHeal(failureContext, intentToUse);
+        } catch (Exception triageException) {
+            logger.warn("Healing attempt failed: {}", triageException.getMessage());
+            return null;
+        }
+    }
 
-            if (result != null && result.isSuccess() && result.getHealedLocator().isPresent()) {
-                String healedLocatorStr = result.getHealedLocator().get();
-                LocatorInfo healedLocator = parseLocatorString(healedLocatorStr);
-                By healedBy = locatorInfoToBy(healedLocator);
-                logger.info("Healed locator: {} -> {}", by, healedBy);
+    private String currentUrlOrNull() {
+        try {
+            return delegate.getCurrentUrl();
+        } catch (WebDriverException e) {
+            logger.debug("Could not read current URL: {}", e.getMessage());
+            return null;
+        }
+    }
 
-                // Capture screenshot AFTER successful healing
-                String afterScreenshotBase64 = captureScreenshotBase64();
+    /**
+     * Claim the heal of a coordination key. Without a coordinator every heal goes ahead
+     * uncoordinated, as after a timed-out claim.
+     */
+    private HealCoordinator.Claim claim(String coordinationKey) {
+        HealCoordinator current = coordinator;
+        if (current == null) {
+            return HealCoordinator.Claim.timedOut();
+        }
+        int timeoutSeconds = config != null && config.getCoordinator() != null
+                ? config.getCoordinator().getClaimTimeoutSeconds()
+                : 0;
+        return current.claim(coordinationKey, Duration.ofSeconds(timeoutSeconds));
+    }
 
-                // Record heal for summary report with visual evidence
-                HealingSummary.getInstance().recordHealWithScreenshots(
-                    effectiveStepText,
-                    by.toString(),
+    private WebElement findOrNull(By by) {
+        try {
+            return delegate.findElement(by);
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A failure that passed triage, with the intent it will be healed under.
+     */
+    private record HealAttempt(FailureContext failure, IntentContract intent, String pageUrl) {
+    }
+
+    /**
+     * A heal of the failed locator made ahead of time by the speculative healer, or null.
+     */
+    private SpeculativeHealer.PreHeal findPreHeal(HealAttempt attempt) {
+        SpeculativeHealer healer = speculativeHealer;
+        if (healer == null) {
+            return null;
+        }
+        return healer.lookup(attempt.pageUrl(), attempt.failure().getOriginalLocator()).orElse(null);
+    }
+
+    private void recordOutcome(HealAttempt attempt, HealResult result) {
+        SpeculativeHealer healer = speculativeHealer;
+        if (healer != null) {
+            healer.recordOutcome(attempt.pageUrl(), attempt.failure().getOriginalLocator(), result);
+        }
+    }
+
+    /**
+     * Heal all pending failures on the current page in one pass.
+     * One snapshot is captured and every locator is sent to the LLM in a single
+     * batched request, instead of one snapshot and one LLM call per locator.
+     * Locators that could not be healed are absent from the returned map.
+     *
+     * @param failedLocators locators that no longer resolve on the current page
+     * @return the healed locator for each original locator that was healed
+     */
+    public Map<By, By> healAll(Collection<By> failedLocators) {
+        Map<By, By> healed = new LinkedHashMap<>();
+        if (failedLocators == null || failedLocators.isEmpty()) {
+            return healed;
+        }
+
+        IntentContract intent = currentIntent.get();
+        if (intent != null && !intent.isHealingAllowed()) {
+            return healed;
+        }
+        String stepText = currentStepText.get();
+        String pageUrl = currentUrlOrNull();
+
+        // There is no exception to analyze, so the caller is found on the current stack, once for all locators
+        SourceLocation sourceLocation = stackTraceAnalyzer.extractSourceLocationWithContext(null).orElse(null);
+
+        List<BatchHealRequest.Item> items = new ArrayList<>();
+        Map<String, By> locatorsById = new LinkedHashMap<>();
+        Map<String, String> ownedKeysById = new HashMap<>();
+        for (By by : new LinkedHashSet<>(failedLocators)) {
+            String failureId = "locator-" + items.size();
+            String effectiveStepText = stepText != null ? stepText : "find element: " + by.toString();
+
+            FailureContext failureContext = FailureContext.builder()
+                    .exceptionType(NoSuchElementException.class.getSimpleName())
+                    .originalLocator(byToLocatorInfo(by))
+                    .stepText(effectiveStepText)
+                    .sourceLocation(sourceLocation)
+                    .build();
+
+            IntentContract itemIntent = intent != null ? intent : IntentContract.defaultContract(effectiveStepText);
+            GuardrailResult triage = healingEngine.triage(failureContext, itemIntent, pageUrl);
+            if (triage.isRefused()) {
+                logger.debug("Not healing {}: {}", by, triage.getReason());
+                continue;
+            }
+
+            // Reuse a heal published by another driver or fork, or wait for one in progress
+            String coordinationKey = HealCoordinator.key(pageUrl, by.toString());
+            HealCoordinator.Claim claim = claim(coordinationKey);
+            if (claim.isHit()) {
+                By sharedBy = locatorInfoToBy(parseLocatorString(claim.healedLocator()));
+                if (!delegate.findElements(sharedBy).isEmpty()) {
+                    healed.put(by, sharedBy);
+                    continue;
+                }
+                coordinator.invalidate(coordinationKey);
+                claim = claim(coordinationKey);
+            }
+            if (claim.isOwner()) {
+                ownedKeysById.put(failureId, coordinationKey);
+            }
+
+            items.add(new BatchHealRequest.Item(failureId, failureContext, itemIntent));
+            locatorsById.put(failureId, by);
+        }
+        if (items.isEmpty()) {
+            return healed;
+        }
+
+        try {
+            UiSnapshot snapshot = getSnapshotBuilder().captureAll();
+            Map<String, HealResult> results = healingEngine.attemptHealAll(items, snapshot);
+
+            for (BatchHealRequest.Item item : items) {
+                HealResult result = results.get(item.failureId());
+                if (result == null || !result.isSuccess() || result.getHealedLocator().isEmpty()) {
+                    continue;
+                }
+
+                By original = locatorsById.get(item.failureId());
+                By healedBy = locatorInfoToBy(parseLocatorString(result.getHealedLocator().get()));
+                logger.info("Healed locator: {} -> {}", original, healedBy);
+                healed.put(original, healedBy);
+                String ownedKey = ownedKeysById.remove(item.failureId());
+                if (ownedKey != null) {
+                    coordinator.complete(ownedKey, result.getHealedLocator().get());
+                }
+
+                HealingSummary.getInstance().recordHeal(
+                    item.failure().getStepText(),
+                    original.toString(),
                     healedBy.toString(),
                     result.getConfidence(),
                     sourceLocation != null ? sourceLocation.getFilePath() : null,
-                    sourceLocation != null ? sourceLocation.getLineNumber() : 0,
-                    beforeScreenshotBase64,
-                    afterScreenshotBase64
+                    sourceLocation != null ? sourceLocation.getLineNumber() : 0
                 );
-
-                return wrapElement(delegate.findElement(healedBy), healedBy);
             }
-
         } catch (Exception healException) {
-            logger.warn("Healing attempt failed: {}", healException.getMessage());
+            logger.warn("Batched healing attempt failed: {}", healException.getMessage());
+        } finally {
+            for (String ownedKey : ownedKeysById.values()) {
+                coordinator.abandon(ownedKey);
+            }
         }
 
-        throw originalException;
+        return healed;
     }
 
     /**
@@ -336,52 +640,53 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
      * Handle a failed findElements call by attempting to heal.
      */
     private List<WebElement> handleFindElementsFailure(By by, RuntimeException originalException) {
-        if (!shouldAttemptHeal(originalException)) {
+        HealAttempt attempt = prepareHeal(by, originalException, "find elements");
+        if (attempt == null) {
             throw originalException;
         }
 
-        try {
-            LocatorInfo originalLocator = byToLocatorInfo(by);
-            UiSnapshot snapshot = getSnapshotBuilder().captureAll();
-
-            String stepText = currentStepText.get();
-            IntentContract intent = currentIntent.get();
-
-            // Extract source location from stack trace
-            SourceLocation sourceLocation = stackTraceAnalyzer
-                    .extractSourceLocationWithContext(originalException)
-                    .orElse(null);
-
-            if (sourceLocation != null) {
-                logger.debug("Captured source location: {}", sourceLocation.toShortString());
+        SpeculativeHealer.PreHeal preHeal = findPreHeal(attempt);
+        if (preHeal != null) {
+            List<WebElement> healed = healElements(by, attempt, () -> healingEngine.applyPreHeal(
+                    attempt.failure(), attempt.intent(), preHeal.snapshot(), preHeal.decision()));
+            if (healed != null) {
+                return healed;
             }
+            logger.debug("Pre-heal of {} no longer applies, healing it again", by);
+        }
 
-            // Use a default stepText if none is set
-            String effectiveStepText = stepText != null ? stepText : "find element: " + by.toString();
-
-            FailureContext failureContext = FailureContext.builder()
-                    .exceptionType(originalException.getClass().getSimpleName())
-                    .exceptionMessage(originalException.getMessage())
-                    .originalLocator(originalLocator)
-                    .stepText(effectiveStepText)
-                    .sourceLocation(sourceLocation)
-                    .build();
-
-            IntentContract intentToUse = intent != null
-                    ? intent
-                    : IntentContract.defaultContract(stepText != null ? stepText : "find elements");
+        List<WebElement> healed = healElements(by, attempt, () -> healingEngine.attemptHeal(
+                attempt.failure(), attempt.intent(), getSnapshotBuilder().captureAll()));
+        if (healed != null) {
+            return healed;
+        }
+        throw originalException;
+    }
 
-            HealResult result = healingEngine.attemptHeal(failureContext, intentToUse);
+    /**
+     * Run one heal of a failed findElements and, if it finds elements, record it for the summary report.
+     *
+     * @return the healed elements, or null if the heal failed or its locator finds nothing
+     */
+    private List<WebElement> healElements(By by, HealAttempt attempt, Supplier<HealResult> heal) {
+        try {
+            HealResult result = heal.get();
+            recordOutcome(attempt, result);
 
             if (result != null && result.isSuccess() && result.getHealedLocator().isPresent()) {
                 String healedLocatorStr = result.getHealedLocator().get();
                 LocatorInfo healedLocator = parseLocatorString(healedLocatorStr);
                 By healedBy = locatorInfoToBy(healedLocator);
+                List<WebElement> elements = delegate.findElements(healedBy);
+                if (elements.isEmpty()) {
+                    return null;
+                }
                 logger.info("Healed locator: {} -> {}", by, healedBy);
 
                 // Record heal for summary report
+                SourceLocation sourceLocation = attempt.failure().getSourceLocation();
                 HealingSummary.getInstance().recordHeal(
-                    effectiveStepText,
+                    attempt.failure().getStepText(),
                     by.toString(),
                     healedBy.toString(),
                     result.getConfidence(),
@@ -389,14 +694,13 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
                     sourceLocation != null ? sourceLocation.getLineNumber() : 0
                 );
 
-                return wrapElements(delegate.findElements(healedBy), healedBy);
+                return wrapElements(elements, healedBy);
             }
 
         } catch (Exception healException) {
             logger.warn("Healing attempt failed: {}", healException.getMessage());
         }
-
-        throw originalException;
+        return null;
     }
 
     /**
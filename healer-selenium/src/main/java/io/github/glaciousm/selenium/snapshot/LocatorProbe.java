@@ -0,0 +1,109 @@
+package io.github.glaciousm.selenium.snapshot;
+
+import io.github.glaciousm.core.engine.prediction.SpeculativeHealer;
+import io.github.glaciousm.core.model.LocatorInfo;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.openqa.selenium.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Checks which locators resolve on the current page in a single script call,
+ * for speculative healing.
+ */
+public class LocatorProbe implements SpeculativeHealer.PageProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocatorProbe.class);
+
+    private static final String RESOLVE_SCRIPT = """
+            var locators = arguments[0];
+            var results = [];
+            for (var i = 0; i < locators.length; i++) {
+              var strategy = locators[i][0], value = locators[i][1], found = false;
+              try {
+                if (strategy === 'ID') {
+                  found = document.getElementById(value) !== null;
+                } else if (strategy === 'NAME') {
+                  found = document.getElementsByName(value).length > 0;
+                } else if (strategy === 'CLASS_NAME') {
+                  found = document.getElementsByClassName(value).length > 0;
+                } else if (strategy === 'TAG_NAME') {
+                  found = document.getElementsByTagName(value).length > 0;
+                } else if (strategy === 'XPATH') {
+                  found = document.evaluate(value, document, null,
+                      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue !== null;
+                } else if (strategy === 'LINK_TEXT' || strategy === 'PARTIAL_LINK_TEXT') {
+                  var links = document.getElementsByTagName('a');
+                  for (var j = 0; j < links.length && !found; j++) {
+                    var text = (links[j].innerText || links[j].textContent || '').trim();
+                    found = strategy === 'LINK_TEXT' ? text === value : text.indexOf(value) >= 0;
+                  }
+                } else {
+                  found = document.querySelector(value) !== null;
+                }
+              } catch (e) {
+                found = false;
+              }
+              results.push(found);
+            }
+            return results;
+            """;
+
+    private final WebDriver driver;
+    private final SnapshotBuilder snapshotBuilder;
+
+    public LocatorProbe(WebDriver driver, SnapshotBuilder snapshotBuilder) {
+        this.driver = Objects.requireNonNull(driver, "driver cannot be null");
+        this.snapshotBuilder = snapshotBuilder != null ? snapshotBuilder : new SnapshotBuilder(driver);
+    }
+
+    @Override
+    public List<Boolean> resolve(List<LocatorInfo> locators) {
+        if (driver instanceof JavascriptExecutor js) {
+            List<List<String>> args = new ArrayList<>(locators.size());
+            for (LocatorInfo locator : locators) {
+                args.add(List.of(locator.getStrategy().name(), locator.getValue()));
+            }
+            try {
+                Object result = js.executeScript(RESOLVE_SCRIPT, args);
+                if (result instanceof List<?> flags && flags.size() == locators.size()) {
+                    List<Boolean> resolved = new ArrayList<>(flags.size());
+                    for (Object flag : flags) {
+                        resolved.add(Boolean.TRUE.equals(flag));
+                    }
+                    return resolved;
+                }
+            } catch (WebDriverException e) {
+                logger.debug("Batched locator probe failed, checking one by one: {}", e.getMessage());
+            }
+        }
+
+        List<Boolean> resolved = new ArrayList<>(locators.size());
+        for (LocatorInfo locator : locators) {
+            resolved.add(!driver.findElements(toBy(locator)).isEmpty());
+        }
+        return resolved;
+    }
+
+    @Override
+    public UiSnapshot capture() {
+        return snapshotBuilder.captureAll();
+    }
+
+    private static By toBy(LocatorInfo locator) {
+        return switch (locator.getStrategy()) {
+            case ID -> By.id(locator.getValue());
+            case NAME -> By.name(locator.getValue());
+            case CLASS_NAME -> By.className(locator.getValue());
+            case TAG_NAME -> By.tagName(locator.getValue());
+            case LINK_TEXT -> By.linkText(locator.getValue());
+            case PARTIAL_LINK_TEXT -> By.partialLinkText(locator.getValue());
+            case CSS -> By.cssSelector(locator.getValue());
+            case XPATH -> By.xpath(locator.getValue());
+        };
+    }
+}
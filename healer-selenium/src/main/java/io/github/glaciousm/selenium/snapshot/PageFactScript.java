@@ -0,0 +1,127 @@
+package io.github.glaciousm.selenium.snapshot;
+
+import io.github.glaciousm.core.engine.execution.PageFactCollector;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.PageFact;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reads the page facts that outcome and invariant checks need in a single script call,
+ * instead of one WebDriver round trip per check.
+ */
+public class PageFactScript implements PageFactCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageFactScript.class);
+
+    private static final String COLLECT_SCRIPT = """
+            var wanted = arguments[0];
+            var result = {};
+            if (wanted.indexOf('URL') >= 0) { result.url = window.location.href; }
+            if (wanted.indexOf('TITLE') >= 0) { result.title = document.title; }
+            var selectors = [];
+            if (wanted.indexOf('ALERTS') >= 0) {
+              selectors.push('[role="alert"], [role="alertdialog"], [class*="error"], [class*="alert"], [class*="danger"]');
+            }
+            if (wanted.indexOf('ELEMENTS') >= 0) {
+              selectors.push('button, a, input, select, textarea, [role="button"], [role="link"], [role="listbox"], [role="combobox"], [onclick], [tabindex]:not([tabindex="-1"])');
+            }
+            if (selectors.length > 0) {
+              result.elements = Array.from(document.querySelectorAll(selectors.join(', '))).map(function (el) {
+                var style = window.getComputedStyle(el);
+                var rect = el.getBoundingClientRect();
+                return {
+                  tag: el.tagName.toLowerCase(),
+                  id: el.id || null,
+                  name: el.getAttribute('name'),
+                  type: el.getAttribute('type'),
+                  classes: typeof el.className === 'string' ? el.className : '',
+                  text: (el.innerText || el.textContent || '').trim().substring(0, 500),
+                  value: el.value !== undefined ? String(el.value) : null,
+                  role: el.getAttribute('role'),
+                  visible: style.display !== 'none' && style.visibility !== 'hidden'
+                      && rect.width > 0 && rect.height > 0,
+                  enabled: !el.disabled
+                };
+              });
+            }
+            return result;
+            """;
+
+    private final WebDriver driver;
+
+    public PageFactScript(WebDriver driver) {
+        this.driver = Objects.requireNonNull(driver, "driver cannot be null");
+    }
+
+    @Override
+    public UiSnapshot collect(Set<PageFact> facts) {
+        if (driver instanceof JavascriptExecutor js) {
+            try {
+                Object result = js.executeScript(COLLECT_SCRIPT, facts.stream().map(Enum::name).toList());
+                if (result instanceof Map<?, ?> map) {
+                    return toSnapshot(map);
+                }
+            } catch (WebDriverException e) {
+                logger.debug("Batched page fact script failed, reading URL and title only: {}", e.getMessage());
+            }
+        }
+
+        return UiSnapshot.builder()
+                .url(facts.contains(PageFact.URL) ? driver.getCurrentUrl() : null)
+                .title(facts.contains(PageFact.TITLE) ? driver.getTitle() : null)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    private static UiSnapshot toSnapshot(Map<?, ?> result) {
+        List<ElementSnapshot> elements = new ArrayList<>();
+        if (result.get("elements") instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> element) {
+                    elements.add(toElement(elements.size(), element));
+                }
+            }
+        }
+        return UiSnapshot.builder()
+                .url(asString(result.get("url")))
+                .title(asString(result.get("title")))
+                .timestamp(Instant.now())
+                .interactiveElements(elements)
+                .build();
+    }
+
+    private static ElementSnapshot toElement(int index, Map<?, ?> element) {
+        String classes = asString(element.get("classes"));
+        return ElementSnapshot.builder()
+                .index(index)
+                .tagName(asString(element.get("tag")))
+                .id(asString(element.get("id")))
+                .name(asString(element.get("name")))
+                .type(asString(element.get("type")))
+                .classes(classes == null || classes.isBlank()
+                        ? List.of() : Arrays.asList(classes.trim().split("\\s+")))
+                .text(asString(element.get("text")))
+                .value(asString(element.get("value")))
+                .ariaRole(asString(element.get("role")))
+                .visible(Boolean.TRUE.equals(element.get("visible")))
+                .enabled(!Boolean.FALSE.equals(element.get("enabled")))
+                .build();
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
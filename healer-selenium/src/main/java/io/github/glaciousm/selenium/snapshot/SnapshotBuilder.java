@@ -18,6 +18,8 @@ public class SnapshotBuilder {
 
     private final WebDriver driver;
     private final SnapshotConfig config;
+    /** Shares repeated tag names, types, roles and classes within one capture. */
+    private StringPool strings = new StringPool();
 
     public SnapshotBuilder(WebDriver driver, SnapshotConfig config) {
         this.driver = Objects.requireNonNull(driver, "driver cannot be null");
@@ -50,6 +52,7 @@ public class SnapshotBuilder {
 
         // Capture artifacts if configured
         if (config.isCaptureScreenshot()) {
+            builder.viewport(captureViewport());
             builder.screenshotBase64(captureScreenshot());
         }
         if (config.isCaptureDom()) {
@@ -132,6 +135,7 @@ public class SnapshotBuilder {
     @SuppressWarnings("unchecked")
     private List<ElementSnapshot> captureElements(String script) {
         List<ElementSnapshot> snapshots = new ArrayList<>();
+        strings = new StringPool();
         try {
             List<WebElement> elements = (List<WebElement>)
                     ((JavascriptExecutor) driver).executeScript(script);
@@ -158,10 +162,10 @@ public class SnapshotBuilder {
                 .index(index);
 
         try {
-            builder.tagName(element.getTagName())
+            builder.tagName(strings.intern(element.getTagName()))
                     .id(element.getAttribute("id"))
                     .name(element.getAttribute("name"))
-                    .type(element.getAttribute("type"))
+                    .type(strings.intern(element.getAttribute("type")))
                     .classes(parseClasses(element.getAttribute("class")))
                     .text(normalizeText(element.getText()))
                     .value(element.getAttribute("value"))
@@ -169,7 +173,7 @@ public class SnapshotBuilder {
                     .ariaLabel(element.getAttribute("aria-label"))
                     .ariaLabelledBy(element.getAttribute("aria-labelledby"))
                     .ariaDescribedBy(element.getAttribute("aria-describedby"))
-                    .ariaRole(element.getAttribute("role"))
+                    .ariaRole(strings.intern(element.getAttribute("role")))
                     .title(element.getAttribute("title"))
                     .visible(element.isDisplayed())
                     .enabled(element.isEnabled())
@@ -180,7 +184,7 @@ public class SnapshotBuilder {
             builder.rect(new ElementRect(rect.x, rect.y, rect.width, rect.height));
 
             // Capture container
-            builder.container(findContainer(element));
+            builder.container(strings.intern(findContainer(element)));
 
             // Capture nearby labels
             builder.nearbyLabels(findNearbyLabels(element));
@@ -201,7 +205,7 @@ public class SnapshotBuilder {
         if (classAttr == null || classAttr.isEmpty()) {
             return List.of();
         }
-        return Arrays.asList(classAttr.split("\\s+"));
+        return strings.internAll(Arrays.asList(classAttr.split("\\s+")));
     }
 
     private String normalizeText(String text) {
@@ -319,6 +323,26 @@ public class SnapshotBuilder {
         }
     }
 
+    /**
+     * The visible viewport at screenshot time. Element rects are page coordinates, and the
+     * screenshot shows the viewport at the current scroll position in device pixels.
+     */
+    private Viewport captureViewport() {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(
+                    "return [window.innerWidth, window.innerHeight, window.scrollX, window.scrollY,"
+                            + " window.devicePixelRatio || 1]");
+            if (result instanceof List<?> values && values.size() == 5) {
+                return new Viewport(((Number) values.get(0)).intValue(), ((Number) values.get(1)).intValue(),
+                        ((Number) values.get(2)).doubleValue(), ((Number) values.get(3)).doubleValue(),
+                        ((Number) values.get(4)).doubleValue());
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Failed to capture viewport: {}", e.getMessage());
+        }
+        return null;
+    }
+
     private String captureDom() {
         try {
             return (String) ((JavascriptExecutor) driver)
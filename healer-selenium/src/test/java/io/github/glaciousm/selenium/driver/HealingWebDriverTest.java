@@ -2,6 +2,10 @@ package io.github.glaciousm.selenium.driver;
 
 import io.github.glaciousm.core.config.HealerConfig;
 import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.engine.HealingSummary;
+import io.github.glaciousm.core.engine.coordinator.HealCoordinator;
+import io.github.glaciousm.core.engine.coordinator.LocalHealCoordinator;
+import io.github.glaciousm.core.engine.prediction.SpeculativeHealer;
 import io.github.glaciousm.core.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,8 +17,11 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openqa.selenium.*;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -124,6 +131,7 @@ class HealingWebDriverTest {
         WebDriver fullMock = createFullFeaturedMock();
         // Create a local mock to avoid strict stubbing issues
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         // Setup: First call throws exception, healing provides new locator
@@ -136,7 +144,7 @@ class HealingWebDriverTest {
                 "Element was healed using new ID",
                 "css=#new-id"
         );
-        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
 
         when(fullMock.findElement(By.cssSelector("#new-id")))
                 .thenReturn(mockElement);
@@ -146,7 +154,7 @@ class HealingWebDriverTest {
 
         // Verify
         assertThat(result).isNotNull();
-        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
         verify(fullMock).findElement(By.id("old-id"));
         verify(fullMock).findElement(By.cssSelector("#new-id"));
     }
@@ -156,6 +164,7 @@ class HealingWebDriverTest {
         // Use full-featured mock for healing tests
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         NoSuchElementException originalException = new NoSuchElementException("Element not found");
@@ -163,35 +172,276 @@ class HealingWebDriverTest {
                 .thenThrow(originalException);
 
         HealResult healResult = HealResult.failed("Could not find element");
-        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(By.id("test")))
                 .isInstanceOf(NoSuchElementException.class)
                 .hasMessageContaining("Element not found");
 
-        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
+    }
+
+    // ===== Test speculative pre-healing =====
+
+    @Test
+    void get_withSpeculativeHealer_probesLoadedPage() {
+        WebDriver fullMock = createFullFeaturedMock();
+        SpeculativeHealer speculativeHealer = mock(SpeculativeHealer.class);
+        healingDriver = new HealingWebDriver(fullMock, mockEngine, mockConfig);
+        healingDriver.setSpeculativeHealer(speculativeHealer);
+
+        healingDriver.get("http://test.com");
+
+        verify(fullMock).get("http://test.com");
+        verify(speculativeHealer).onPageVisit(eq("http://test.com"), any(SpeculativeHealer.PageProbe.class));
+    }
+
+    private static SpeculativeHealer.PreHeal preHeal() {
+        return new SpeculativeHealer.PreHeal(HealDecision.canHeal(0, 0.9, "Same button, new id"),
+                UiSnapshot.builder().url("http://test.com").build());
+    }
+
+    @Test
+    void findElement_withPreHealedLocator_skipsInlineHealing() {
+        HealingSummary.getInstance().clear();
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
+        SpeculativeHealer.PreHeal preHeal = preHeal();
+        doReturn(HealResult.success(0, 0.9, "Pre-healed", "id=new-id"))
+                .when(localEngine).applyPreHeal(any(), any(), eq(preHeal.snapshot()), eq(preHeal.decision()));
+        SpeculativeHealer speculativeHealer = mock(SpeculativeHealer.class);
+        when(speculativeHealer.lookup("http://test.com", new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "old-id")))
+                .thenReturn(Optional.of(preHeal));
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+        healingDriver.setSpeculativeHealer(speculativeHealer);
+
+        when(fullMock.findElement(By.id("old-id"))).thenThrow(new NoSuchElementException("Element not found"));
+        when(fullMock.findElement(By.id("new-id"))).thenReturn(mockElement);
+
+        WebElement result = healingDriver.findElement(By.id("old-id"));
+
+        assertThat(result).isInstanceOf(HealingWebElement.class);
+        verify(localEngine, never()).attemptHeal(any(), any(), any());
+        assertThat(HealingSummary.getInstance().getHealedLocators())
+                .extracting(HealingSummary.HealedLocator::healedLocator)
+                .contains(By.id("new-id").toString());
+        HealingSummary.getInstance().clear();
+    }
+
+    @Test
+    void findElement_withStalePreHealedLocator_healsAndRecordsOutcome() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
+        HealResult healResult = HealResult.success(0, 0.9, "Element was healed using new ID", "css=#new-id");
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
+        doReturn(HealResult.success(0, 0.9, "Pre-healed", "id=gone")).when(localEngine).applyPreHeal(any(), any(), any(), any());
+        SpeculativeHealer speculativeHealer = mock(SpeculativeHealer.class);
+        when(speculativeHealer.lookup(any(), any())).thenReturn(Optional.of(preHeal()));
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+        healingDriver.setSpeculativeHealer(speculativeHealer);
+
+        when(fullMock.findElement(By.id("old-id"))).thenThrow(new NoSuchElementException("Element not found"));
+        when(fullMock.findElement(By.id("gone"))).thenThrow(new NoSuchElementException("Element not found"));
+        when(fullMock.findElement(By.cssSelector("#new-id"))).thenReturn(mockElement);
+
+        WebElement result = healingDriver.findElement(By.id("old-id"));
+
+        assertThat(result).isNotNull();
+        verify(speculativeHealer).recordOutcome("http://test.com",
+                new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "old-id"), healResult);
+    }
+
+    // ===== Test heal coordination =====
+
+    private static final String OLD_ID_KEY = HealCoordinator.key("http://test.com", By.id("old-id").toString());
+
+    @Test
+    void findElement_withCoordinatedHeal_reusesItWithoutHealing() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
+        HealCoordinator coordinator = new LocalHealCoordinator(10, 0);
+        coordinator.claim(OLD_ID_KEY, Duration.ZERO);
+        coordinator.complete(OLD_ID_KEY, "css=#new-id");
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+        healingDriver.setCoordinator(coordinator);
+
+        when(fullMock.findElement(By.id("old-id"))).thenThrow(new NoSuchElementException("Element not found"));
+        when(fullMock.findElement(By.cssSelector("#new-id"))).thenReturn(mockElement);
+
+        WebElement result = healingDriver.findElement(By.id("old-id"));
+
+        assertThat(result).isInstanceOf(HealingWebElement.class);
+        verify(localEngine, never()).attemptHeal(any(), any(), any());
+        verify((TakesScreenshot) fullMock, never()).getScreenshotAs(any());
+    }
+
+    @Test
+    void findElement_whenOwningClaim_publishesHeal() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
+        doReturn(HealResult.success(0, 0.9, "Element was healed using new ID", "css=#new-id"))
+                .when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
+        HealCoordinator coordinator = new LocalHealCoordinator(10, 0);
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+        healingDriver.setCoordinator(coordinator);
+
+        when(fullMock.findElement(By.id("old-id"))).thenThrow(new NoSuchElementException("Element not found"));
+        when(fullMock.findElement(By.cssSelector("#new-id"))).thenReturn(mockElement);
+
+        healingDriver.findElement(By.id("old-id"));
+
+        assertThat(coordinator.lookup(OLD_ID_KEY)).hasValue("css=#new-id");
+    }
+
+    @Test
+    void findElement_whenHealingFails_releasesClaim() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
+        doReturn(HealResult.failed("Could not find element"))
+                .when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
+        HealCoordinator coordinator = new LocalHealCoordinator(10, 0);
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+        healingDriver.setCoordinator(coordinator);
+
+        when(fullMock.findElement(By.id("old-id"))).thenThrow(new NoSuchElementException("Element not found"));
+
+        assertThatThrownBy(() -> healingDriver.findElement(By.id("old-id")))
+                .isInstanceOf(NoSuchElementException.class);
+
+        assertThat(coordinator.lookup(OLD_ID_KEY)).isEmpty();
+        assertThat(coordinator.claim(OLD_ID_KEY, Duration.ZERO).isOwner()).isTrue();
+    }
+
+    // ===== Test batched healing =====
+
+    /**
+     * Engine stub answering a batch by healing {@code id=x} to {@code css=#x-new}, except for the given ids.
+     */
+    private HealingEngine batchEngine(String... unhealable) {
+        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
+        doAnswer(invocation -> {
+            List<BatchHealRequest.Item> items = invocation.getArgument(0);
+            Map<String, HealResult> results = new LinkedHashMap<>();
+            for (BatchHealRequest.Item item : items) {
+                String id = item.failure().getOriginalLocator().getValue();
+                results.put(item.failureId(), List.of(unhealable).contains(id)
+                        ? HealResult.failed("No matching element")
+                        : HealResult.success(0, 0.9, "Same element, new id", "css=#" + id + "-new"));
+            }
+            return results;
+        }).when(localEngine).attemptHealAll(anyList(), any());
+        return localEngine;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<BatchHealRequest.Item> healedBatch(HealingEngine engine) {
+        ArgumentCaptor<List<BatchHealRequest.Item>> items = ArgumentCaptor.forClass(List.class);
+        verify(engine).attemptHealAll(items.capture(), any());
+        return items.getValue();
+    }
+
+    @Test
+    void healAll_mapsHealedLocatorsBackToTheirOriginals() {
+        HealingEngine localEngine = batchEngine();
+        healingDriver = new HealingWebDriver(createFullFeaturedMock(), localEngine, mockConfig);
+
+        Map<By, By> healed = healingDriver.healAll(List.of(By.id("email"), By.id("password"), By.id("email")));
+
+        assertThat(healed).containsExactly(
+                entry(By.id("email"), By.cssSelector("#email-new")),
+                entry(By.id("password"), By.cssSelector("#password-new")));
+        assertThat(healedBatch(localEngine)).hasSize(2);
+    }
+
+    @Test
+    void healAll_skipsLocatorsRefusedByTriage() {
+        HealingEngine localEngine = batchEngine();
+        doReturn(GuardrailResult.refuse("Locator is blacklisted")).when(localEngine).triage(
+                argThat(failure -> failure.getOriginalLocator().getValue().equals("password")), any(), any());
+        healingDriver = new HealingWebDriver(createFullFeaturedMock(), localEngine, mockConfig);
+
+        Map<By, By> healed = healingDriver.healAll(List.of(By.id("email"), By.id("password")));
+
+        assertThat(healed).containsOnlyKeys(By.id("email"));
+        assertThat(healedBatch(localEngine))
+                .extracting(item -> item.failure().getOriginalLocator().getValue())
+                .containsExactly("email");
+    }
+
+    @Test
+    void healAll_whenEveryLocatorIsRefused_capturesNothing() {
+        HealingEngine localEngine = batchEngine();
+        doReturn(GuardrailResult.refuse("Circuit breaker is open")).when(localEngine).triage(any(), any(), any());
+        WebDriver fullMock = createFullFeaturedMock();
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+
+        assertThat(healingDriver.healAll(List.of(By.id("email")))).isEmpty();
+
+        verify(localEngine, never()).attemptHealAll(anyList(), any());
+        verify((JavascriptExecutor) fullMock, never()).executeScript(anyString());
+    }
+
+    @Test
+    void healAll_withPartiallyHealedBatch_returnsAndRecordsOnlyHealedLocators() {
+        HealingSummary.getInstance().clear();
+        HealingEngine localEngine = batchEngine("password");
+        healingDriver = new HealingWebDriver(createFullFeaturedMock(), localEngine, mockConfig);
+
+        Map<By, By> healed = healingDriver.healAll(List.of(By.id("email"), By.id("password")));
+
+        assertThat(healed).containsExactly(entry(By.id("email"), By.cssSelector("#email-new")));
+        assertThat(HealingSummary.getInstance().getHealedLocators())
+                .extracting(HealingSummary.HealedLocator::originalLocator)
+                .containsExactly(By.id("email").toString());
+        HealingSummary.getInstance().clear();
     }
 
     // ===== Test healing triggered on StaleElementReferenceException =====
 
+    @Test
+    void findElement_whenTriageRefuses_skipsCaptureAndHealing() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.refuse(GuardrailResult.GuardrailType.CIRCUIT_BREAKER, "open"))
+                .when(localEngine).triage(any(), any(), any());
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+
+        when(fullMock.findElement(By.id("old-id")))
+                .thenThrow(new NoSuchElementException("Element not found"));
+
+        assertThatThrownBy(() -> healingDriver.findElement(By.id("old-id")))
+                .isInstanceOf(NoSuchElementException.class);
+
+        verify(localEngine, never()).attemptHeal(any(), any(), any());
+        verify((TakesScreenshot) fullMock, never()).getScreenshotAs(any());
+        verify((JavascriptExecutor) fullMock, never()).executeScript(anyString());
+    }
+
     @Test
     void findElement_whenStaleElementException_attemptsHealing() {
         // Use full-featured mock for healing tests
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("stale-id")))
                 .thenThrow(new StaleElementReferenceException("Element is stale"));
 
         HealResult healResult = HealResult.failed("Could not re-find stale element");
-        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
 
         // Execute - should attempt healing but fail
         assertThatThrownBy(() -> healingDriver.findElement(By.id("stale-id")))
                 .isInstanceOf(StaleElementReferenceException.class);
 
-        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
     }
 
     @Test
@@ -199,18 +449,19 @@ class HealingWebDriverTest {
         // Use full-featured mock for healing tests
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElements(By.className("test")))
                 .thenThrow(new StaleElementReferenceException("Elements are stale"));
 
         HealResult healResult = HealResult.failed("Could not re-find stale elements");
-        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
 
         assertThatThrownBy(() -> healingDriver.findElements(By.className("test")))
                 .isInstanceOf(StaleElementReferenceException.class);
 
-        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any());
     }
 
     // ===== Test healing disabled when intent says not to heal =====
@@ -312,16 +563,17 @@ class HealingWebDriverTest {
     void byToLocatorInfo_convertsIdLocator() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.id("test-id");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.ID);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("test-id");
     }
@@ -330,16 +582,17 @@ class HealingWebDriverTest {
     void byToLocatorInfo_convertsNameLocator() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.name("username");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.NAME);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("username");
     }
@@ -348,16 +601,17 @@ class HealingWebDriverTest {
     void byToLocatorInfo_convertsClassNameLocator() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.className("btn-primary");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.CLASS_NAME);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("btn-primary");
     }
@@ -366,16 +620,17 @@ class HealingWebDriverTest {
     void byToLocatorInfo_convertsTagNameLocator() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.tagName("button");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.TAG_NAME);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("button");
     }
@@ -384,16 +639,17 @@ class HealingWebDriverTest {
     void byToLocatorInfo_convertsLinkTextLocator() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.linkText("Click here");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.LINK_TEXT);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("Click here");
     }
@@ -402,16 +658,17 @@ class HealingWebDriverTest {
     void byToLocatorInfo_convertsPartialLinkTextLocator() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.partialLinkText("Click");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.PARTIAL_LINK_TEXT);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("Click");
     }
@@ -420,16 +677,17 @@ class HealingWebDriverTest {
     void byToLocatorInfo_convertsCssSelectorLocator() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.cssSelector("div.container > button");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.CSS);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("div.container > button");
     }
@@ -438,16 +696,17 @@ class HealingWebDriverTest {
     void byToLocatorInfo_convertsXpathLocator() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.xpath("//button[@id='submit']");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.XPATH);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("//button[@id='submit']");
     }
@@ -458,11 +717,12 @@ class HealingWebDriverTest {
     void locatorInfoToBy_convertsIdStrategy() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "id=new")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "id=new")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.id("new"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
@@ -474,11 +734,12 @@ class HealingWebDriverTest {
     void locatorInfoToBy_convertsNameStrategy() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.name("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "name=new")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "name=new")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.name("new"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.name("old"));
@@ -490,11 +751,12 @@ class HealingWebDriverTest {
     void locatorInfoToBy_convertsXpathStrategy() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.xpath("//old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "xpath=//new")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "xpath=//new")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.xpath("//new"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.xpath("//old"));
@@ -508,11 +770,12 @@ class HealingWebDriverTest {
     void parseLocatorString_handlesStandardFormat() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "ID=test-id")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "ID=test-id")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.id("test-id"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
@@ -524,11 +787,12 @@ class HealingWebDriverTest {
     void parseLocatorString_handlesClassNameVariation() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "CLASSNAME=btn")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "CLASSNAME=btn")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.className("btn"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
@@ -540,11 +804,12 @@ class HealingWebDriverTest {
     void parseLocatorString_handlesCssSelectorVariation() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "CSSSELECTOR=.btn")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "CSSSELECTOR=.btn")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.cssSelector(".btn"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
@@ -556,11 +821,12 @@ class HealingWebDriverTest {
     void parseLocatorString_defaultsToCssWhenNoStrategySpecified() {
         WebDriver fullMock = createFullFeaturedMock();
         HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        doReturn(GuardrailResult.proceed()).when(localEngine).triage(any(), any(), any());
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", ".btn-primary")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", ".btn-primary")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.cssSelector(".btn-primary"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
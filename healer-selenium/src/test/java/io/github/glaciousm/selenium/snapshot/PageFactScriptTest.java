@@ -0,0 +1,58 @@
+package io.github.glaciousm.selenium.snapshot;
+
+import io.github.glaciousm.core.model.PageFact;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PageFactScriptTest {
+
+    private final WebDriver driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+
+    @Test
+    void collectsAllFactsInOneScriptCall() {
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any())).thenReturn(Map.of(
+                "url", "https://shop.example.com/done",
+                "title", "Order placed",
+                "elements", List.of(Map.of(
+                        "tag", "div", "classes", "alert alert-danger", "text", "Card declined",
+                        "role", "alert", "visible", true, "enabled", true))));
+
+        UiSnapshot snapshot = new PageFactScript(driver).collect(Set.of(PageFact.URL, PageFact.TITLE, PageFact.ALERTS));
+
+        assertThat(snapshot.getUrl()).isEqualTo("https://shop.example.com/done");
+        assertThat(snapshot.getTitle()).isEqualTo("Order placed");
+        assertThat(snapshot.getInteractiveElements()).singleElement().satisfies(element -> {
+            assertThat(element.getClasses()).containsExactly("alert", "alert-danger");
+            assertThat(element.getAriaRole()).isEqualTo("alert");
+            assertThat(element.isVisible()).isTrue();
+        });
+        verify((JavascriptExecutor) driver, times(1)).executeScript(anyString(), any());
+        verify(driver, never()).getCurrentUrl();
+        verify(driver, never()).getTitle();
+    }
+
+    @Test
+    void fallsBackToUrlAndTitleWhenScriptFails() {
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any()))
+                .thenThrow(new WebDriverException("script blocked"));
+        when(driver.getCurrentUrl()).thenReturn("https://shop.example.com/cart");
+
+        UiSnapshot snapshot = new PageFactScript(driver).collect(Set.of(PageFact.URL));
+
+        assertThat(snapshot.getUrl()).isEqualTo("https://shop.example.com/cart");
+        assertThat(snapshot.getInteractiveElements()).isEmpty();
+        verify(driver, never()).getTitle();
+    }
+}
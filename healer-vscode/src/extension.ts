@@ -2,15 +2,17 @@ import * as vscode from 'vscode';
 import { HealHistoryProvider } from './providers/healHistoryProvider';
 import { TrustLevelProvider } from './providers/trustLevelProvider';
 import { LocatorStabilityProvider } from './providers/locatorStabilityProvider';
-import { HealerService } from './services/healerService';
+import { HealerService, HealEntry } from './services/healerService';
+import { HealEventLog } from './services/healEventLog';
 
 let healerService: HealerService;
 
-export function activate(context: vscode.ExtensionContext) {
+export async function activate(context: vscode.ExtensionContext) {
     console.log('Intent Healer extension is now active');
 
     // Initialize service
     healerService = new HealerService(context);
+    await healerService.initialize();
 
     // Register tree data providers
     const healHistoryProvider = new HealHistoryProvider(healerService);
@@ -21,15 +23,33 @@ export function activate(context: vscode.ExtensionContext) {
     vscode.window.registerTreeDataProvider('trustLevel', trustLevelProvider);
     vscode.window.registerTreeDataProvider('locatorStability', locatorStabilityProvider);
 
+    // Read heals appended to the event log since the last poll; polls never overlap
+    let polling: Promise<void> | undefined;
+    const poll = (): Promise<void> => {
+        polling ??= healerService.poll()
+            .then(added => {
+                healHistoryProvider.refresh();
+                trustLevelProvider.refresh();
+                locatorStabilityProvider.refresh();
+                notifyNewHeals(added);
+            })
+            .catch(e => console.error('Failed to read heal events:', e))
+            .finally(() => { polling = undefined; });
+        return polling;
+    };
+
     // Register commands
     context.subscriptions.push(
-        vscode.commands.registerCommand('intentHealer.refreshHistory', () => {
-            healHistoryProvider.refresh();
-            trustLevelProvider.refresh();
-            locatorStabilityProvider.refresh();
+        vscode.commands.registerCommand('intentHealer.refreshHistory', async () => {
+            await poll();
             vscode.window.showInformationMessage('Intent Healer: Refreshed');
         }),
 
+        vscode.commands.registerCommand('intentHealer.loadMoreHistory', async () => {
+            await healerService.loadOlder();
+            healHistoryProvider.refresh();
+        }),
+
         vscode.commands.registerCommand('intentHealer.acceptHeal', (item) => {
             healerService.acceptHeal(item.healId);
             healHistoryProvider.refresh();
@@ -54,14 +74,14 @@ export function activate(context: vscode.ExtensionContext) {
             }
         }),
 
-        vscode.commands.registerCommand('intentHealer.openDashboard', () => {
+        vscode.commands.registerCommand('intentHealer.openDashboard', async () => {
             const panel = vscode.window.createWebviewPanel(
                 'intentHealerDashboard',
                 'Intent Healer Dashboard',
                 vscode.ViewColumn.One,
                 { enableScripts: true }
             );
-            panel.webview.html = getDashboardHtml(healerService);
+            panel.webview.html = await getDashboardHtml(healerService);
         }),
 
         vscode.commands.registerCommand('intentHealer.exportReport', async () => {
@@ -81,7 +101,7 @@ export function activate(context: vscode.ExtensionContext) {
                 'Yes', 'No'
             );
             if (confirm === 'Yes') {
-                healerService.clearCache();
+                await healerService.clearCache();
                 healHistoryProvider.refresh();
                 trustLevelProvider.refresh();
                 vscode.window.showInformationMessage('Heal cache cleared');
@@ -93,10 +113,7 @@ export function activate(context: vscode.ExtensionContext) {
     const config = vscode.workspace.getConfiguration('intentHealer');
     if (config.get<boolean>('autoRefresh')) {
         const interval = config.get<number>('refreshInterval', 30) * 1000;
-        const refreshTimer = setInterval(() => {
-            healHistoryProvider.refresh();
-            trustLevelProvider.refresh();
-        }, interval);
+        const refreshTimer = setInterval(poll, interval);
         context.subscriptions.push({ dispose: () => clearInterval(refreshTimer) });
     }
 
@@ -104,24 +121,52 @@ export function activate(context: vscode.ExtensionContext) {
     context.subscriptions.push(
         vscode.workspace.onDidChangeConfiguration(e => {
             if (e.affectsConfiguration('intentHealer')) {
-                healerService.reloadConfiguration();
+                healerService.reloadConfiguration().then(() => {
+                    healHistoryProvider.refresh();
+                    trustLevelProvider.refresh();
+                    locatorStabilityProvider.refresh();
+                });
             }
         })
     );
 
-    // File system watcher for heal cache
+    // File system watchers for the heal event log and the heal cache
     const cacheDir = config.get<string>('cacheDirectory', '.intent-healer');
+    const reportsDir = config.get<string>('reportsDirectory', 'target/healer-reports');
     if (vscode.workspace.workspaceFolders) {
-        const pattern = new vscode.RelativePattern(
-            vscode.workspace.workspaceFolders[0],
-            `${cacheDir}/**/*.json`
+        const folder = vscode.workspace.workspaceFolders[0];
+        const logWatcher = vscode.workspace.createFileSystemWatcher(
+            new vscode.RelativePattern(folder, `${reportsDir}/${HealEventLog.FILE_NAME}`)
         );
-        const watcher = vscode.workspace.createFileSystemWatcher(pattern);
-        watcher.onDidChange(() => {
-            healHistoryProvider.refresh();
-            trustLevelProvider.refresh();
-        });
-        context.subscriptions.push(watcher);
+        logWatcher.onDidCreate(poll);
+        logWatcher.onDidChange(poll);
+        logWatcher.onDidDelete(poll);
+
+        const cacheWatcher = vscode.workspace.createFileSystemWatcher(
+            new vscode.RelativePattern(folder, `${cacheDir}/**/*.json`)
+        );
+        cacheWatcher.onDidChange(poll);
+        context.subscriptions.push(logWatcher, cacheWatcher);
+    }
+}
+
+function notifyNewHeals(added: HealEntry[]): void {
+    const config = vscode.workspace.getConfiguration('intentHealer');
+    if (added.length === 0 || !config.get<boolean>('showNotifications', true)) {
+        return;
+    }
+    if (added.length > 3) {
+        vscode.window.showInformationMessage(`Intent Healer: ${added.length} new heals`);
+        return;
+    }
+    const threshold = config.get<number>('confidenceWarningThreshold', 0.75);
+    for (const heal of added) {
+        const message = `Intent Healer: healed "${heal.stepText}" (${(heal.confidence * 100).toFixed(0)}%)`;
+        if (heal.confidence < threshold) {
+            vscode.window.showWarningMessage(message);
+        } else {
+            vscode.window.showInformationMessage(message);
+        }
     }
 }
 
@@ -131,8 +176,8 @@ export function deactivate() {
     }
 }
 
-function getDashboardHtml(service: HealerService): string {
-    const stats = service.getStats();
+async function getDashboardHtml(service: HealerService): Promise<string> {
+    const stats = await service.getStats();
 
     return `<!DOCTYPE html>
     <html lang="en">
@@ -1,10 +1,10 @@
 import * as vscode from 'vscode';
 import { HealerService, HealEntry } from '../services/healerService';
 
-export class HealHistoryProvider implements vscode.TreeDataProvider<HealHistoryItem> {
-    private _onDidChangeTreeData: vscode.EventEmitter<HealHistoryItem | undefined | null | void> =
-        new vscode.EventEmitter<HealHistoryItem | undefined | null | void>();
-    readonly onDidChangeTreeData: vscode.Event<HealHistoryItem | undefined | null | void> =
+export class HealHistoryProvider implements vscode.TreeDataProvider<HealTreeItem> {
+    private _onDidChangeTreeData: vscode.EventEmitter<HealTreeItem | undefined | null | void> =
+        new vscode.EventEmitter<HealTreeItem | undefined | null | void>();
+    readonly onDidChangeTreeData: vscode.Event<HealTreeItem | undefined | null | void> =
         this._onDidChangeTreeData.event;
 
     constructor(private service: HealerService) {}
@@ -13,25 +13,30 @@ export class HealHistoryProvider implements vscode.TreeDataProvider<HealHistoryI
         this._onDidChangeTreeData.fire();
     }
 
-    getTreeItem(element: HealHistoryItem): vscode.TreeItem {
+    getTreeItem(element: HealTreeItem): vscode.TreeItem {
         return element;
     }
 
-    getChildren(element?: HealHistoryItem): Thenable<HealHistoryItem[]> {
-        if (element) {
+    getChildren(element?: HealTreeItem): Thenable<HealTreeItem[]> {
+        if (element instanceof HealHistoryItem) {
             // Show details for a heal entry
             return Promise.resolve(this.getHealDetails(element.heal));
         }
+        if (element) {
+            return Promise.resolve([]);
+        }
 
-        // Root level - show all heals
+        // Root level - show the loaded heals, then a link to load older ones
         const history = this.service.getHealHistory();
-        return Promise.resolve(
-            history.map(heal => new HealHistoryItem(
-                heal,
-                `${heal.stepText.substring(0, 40)}...`,
-                vscode.TreeItemCollapsibleState.Collapsed
-            ))
-        );
+        const items: HealTreeItem[] = history.map(heal => new HealHistoryItem(
+            heal,
+            `${heal.stepText.substring(0, 40)}...`,
+            vscode.TreeItemCollapsibleState.Collapsed
+        ));
+        if (this.service.hasMoreHistory()) {
+            items.push(new LoadMoreItem());
+        }
+        return Promise.resolve(items);
     }
 
     private getHealDetails(heal: HealEntry): HealHistoryItem[] {
@@ -47,6 +52,17 @@ export class HealHistoryProvider implements vscode.TreeDataProvider<HealHistoryI
     }
 }
 
+export class LoadMoreItem extends vscode.TreeItem {
+    constructor() {
+        super('Load more…', vscode.TreeItemCollapsibleState.None);
+        this.contextValue = 'loadMore';
+        this.iconPath = new vscode.ThemeIcon('ellipsis');
+        this.command = { command: 'intentHealer.loadMoreHistory', title: 'Load More Heals' };
+    }
+}
+
+type HealTreeItem = HealHistoryItem | LoadMoreItem;
+
 export class HealHistoryItem extends vscode.TreeItem {
     constructor(
         public readonly heal: HealEntry,
@@ -0,0 +1,206 @@
+import * as fs from 'fs';
+import * as path from 'path';
+
+/**
+ * One line of the engine's heal event log (see HealEventRecord in healer-core).
+ */
+export interface HealEventRecord {
+    id: string;
+    timestamp: string;
+    featureName: string | null;
+    scenarioName: string | null;
+    stepText: string | null;
+    originalLocator: string | null;
+    healedLocator: string | null;
+    confidence: number;
+    reasoning: string | null;
+    outcome: string;
+    fromCache: boolean;
+}
+
+export interface HealEventPage {
+    /** Index of the first record read. */
+    first: number;
+    /** The records, oldest first. */
+    records: HealEventRecord[];
+    /** Log offset just after the last record read. */
+    endOffset: number;
+}
+
+export interface HealEventTail {
+    /** Offset to pass to the next tail call. */
+    offset: number;
+    /** Records appended since the previous offset, oldest first. */
+    records: HealEventRecord[];
+    /** True when the log was cleared or replaced and was read from the beginning. */
+    restarted: boolean;
+}
+
+const OFFSET_BYTES = 8;
+const READ_CHUNK = 64 * 1024;
+
+/**
+ * Reader for the append-only heal event log written by the engine.
+ *
+ * heal-events.jsonl holds one JSON record per line; heal-events.idx holds the byte offset
+ * of each line as a big-endian 64-bit integer. New heals are followed by reading from the
+ * last offset seen, and older pages are found through the index, so the log is never read
+ * whole.
+ */
+export class HealEventLog {
+    static readonly FILE_NAME = 'heal-events.jsonl';
+    static readonly INDEX_FILE_NAME = 'heal-events.idx';
+
+    readonly file: string;
+    readonly indexFile: string;
+
+    constructor(directory: string) {
+        this.file = path.join(directory, HealEventLog.FILE_NAME);
+        this.indexFile = path.join(directory, HealEventLog.INDEX_FILE_NAME);
+    }
+
+    async exists(): Promise<boolean> {
+        return (await statOrNull(this.file)) !== null;
+    }
+
+    /**
+     * Number of records in the index.
+     */
+    async count(): Promise<number> {
+        const stat = await statOrNull(this.indexFile);
+        return stat ? Math.floor(stat.size / OFFSET_BYTES) : 0;
+    }
+
+    /**
+     * Read up to `limit` records starting at index `first`.
+     */
+    async read(first: number, limit: number): Promise<HealEventPage> {
+        const total = await this.count();
+        const start = Math.max(0, Math.min(first, total));
+        const n = Math.max(0, Math.min(limit, total - start));
+        if (n === 0) {
+            return { first: start, records: [], endOffset: 0 };
+        }
+
+        const offsets = Buffer.alloc(n * OFFSET_BYTES);
+        const index = await fs.promises.open(this.indexFile, 'r');
+        try {
+            await index.read(offsets, 0, offsets.length, start * OFFSET_BYTES);
+        } finally {
+            await index.close();
+        }
+
+        const first0 = Number(offsets.readBigInt64BE(0));
+        const last = Number(offsets.readBigInt64BE((n - 1) * OFFSET_BYTES));
+        const log = await fs.promises.open(this.file, 'r');
+        try {
+            const size = (await log.stat()).size;
+            if (first0 >= size) {
+                return { first: start, records: [], endOffset: 0 };
+            }
+            // The page is contiguous in the log, so read it in one go up to the end of its last line
+            const chunk = await readUntilLineEnd(log, first0, Math.min(last, size), size);
+            const records = parseLines(chunk.lines);
+            return { first: start, records, endOffset: first0 + chunk.consumed };
+        } finally {
+            await log.close();
+        }
+    }
+
+    /**
+     * Read the records appended since `offset`. Only complete lines are read, so a record
+     * still being written is returned by the next call.
+     */
+    async tail(offset: number): Promise<HealEventTail> {
+        const stat = await statOrNull(this.file);
+        if (!stat) {
+            return { offset: 0, records: [], restarted: offset > 0 };
+        }
+        const restarted = stat.size < offset;
+        const position = restarted ? 0 : offset;
+        if (position >= stat.size) {
+            return { offset: position, records: [], restarted };
+        }
+
+        const log = await fs.promises.open(this.file, 'r');
+        try {
+            const buffer = Buffer.alloc(stat.size - position);
+            const { bytesRead } = await log.read(buffer, 0, buffer.length, position);
+            const end = buffer.lastIndexOf(0x0a, bytesRead - 1);
+            if (end < 0) {
+                return { offset: position, records: [], restarted };
+            }
+            const lines = buffer.toString('utf8', 0, end).split('\n');
+            return { offset: position + end + 1, records: parseLines(lines), restarted };
+        } finally {
+            await log.close();
+        }
+    }
+
+    /**
+     * Read every record, oldest first. Used for exports only.
+     */
+    async readAll(): Promise<HealEventRecord[]> {
+        return (await this.tail(0)).records;
+    }
+
+    /**
+     * Delete the log and its index.
+     */
+    async clear(): Promise<void> {
+        await fs.promises.rm(this.indexFile, { force: true });
+        await fs.promises.rm(this.file, { force: true });
+    }
+}
+
+async function statOrNull(file: string): Promise<fs.Stats | null> {
+    try {
+        return await fs.promises.stat(file);
+    } catch {
+        return null;
+    }
+}
+
+/**
+ * Read lines from `start` until the line starting at `lastLine` is complete.
+ */
+async function readUntilLineEnd(
+    log: fs.promises.FileHandle, start: number, lastLine: number, size: number
+): Promise<{ lines: string[]; consumed: number }> {
+    const parts: Buffer[] = [];
+    let position = start;
+    while (position < size) {
+        const length = Math.min(size - position, Math.max(READ_CHUNK, lastLine - position + READ_CHUNK));
+        const buffer = Buffer.alloc(length);
+        const { bytesRead } = await log.read(buffer, 0, length, position);
+        if (bytesRead <= 0) {
+            break;
+        }
+        const read = buffer.subarray(0, bytesRead);
+        const searchFrom = Math.max(0, lastLine - position);
+        const end = searchFrom < bytesRead ? read.indexOf(0x0a, searchFrom) : -1;
+        if (end >= 0) {
+            parts.push(read.subarray(0, end));
+            position += end + 1;
+            break;
+        }
+        parts.push(read);
+        position += bytesRead;
+    }
+    return { lines: Buffer.concat(parts).toString('utf8').split('\n'), consumed: position - start };
+}
+
+function parseLines(lines: string[]): HealEventRecord[] {
+    const records: HealEventRecord[] = [];
+    for (const line of lines) {
+        if (!line) {
+            continue;
+        }
+        try {
+            records.push(JSON.parse(line));
+        } catch {
+            // Skip a line torn by a killed test JVM
+        }
+    }
+    return records;
+}
@@ -1,6 +1,7 @@
 import * as vscode from 'vscode';
 import * as fs from 'fs';
 import * as path from 'path';
+import { HealEventLog, HealEventRecord } from './healEventLog';
 
 export interface HealEntry {
     id: string;
@@ -39,9 +40,27 @@ export interface HealerStats {
     recentHeals: HealEntry[];
 }
 
+type HealStatus = HealEntry['status'];
+
+interface StatusChange {
+    id: string;
+    status: 'PENDING' | 'ACCEPTED' | 'REJECTED' | 'BLACKLISTED';
+    reason: string | null;
+}
+
+const PAGE_SIZE = 100;
+const STATUS_FILE = 'heal-status.jsonl';
+
 export class HealerService {
     private context: vscode.ExtensionContext;
+    /** Loaded window of the event log, newest first. */
     private healHistory: HealEntry[] = [];
+    /** Index in the event log of the oldest loaded entry. */
+    private oldestLoadedIndex = 0;
+    /** Log offset up to which new heals have been read. */
+    private tailOffset = 0;
+    private statusChanges: Map<string, StatusChange> = new Map();
+    private fileTimes: Map<string, number> = new Map();
     private trustLevel: TrustLevelInfo = {
         level: 'L0_SHADOW',
         consecutiveSuccesses: 0,
@@ -52,67 +71,180 @@ export class HealerService {
 
     constructor(context: vscode.ExtensionContext) {
         this.context = context;
-        this.loadData();
     }
 
-    private getCacheDir(): string {
+    private getWorkspaceDir(setting: string, defaultValue: string): string {
         const config = vscode.workspace.getConfiguration('intentHealer');
-        const cacheDir = config.get<string>('cacheDirectory', '.intent-healer');
+        const dir = config.get<string>(setting, defaultValue);
 
         if (vscode.workspace.workspaceFolders && vscode.workspace.workspaceFolders.length > 0) {
-            return path.join(vscode.workspace.workspaceFolders[0].uri.fsPath, cacheDir);
+            return path.join(vscode.workspace.workspaceFolders[0].uri.fsPath, dir);
+        }
+        return dir;
+    }
+
+    private getCacheDir(): string {
+        return this.getWorkspaceDir('cacheDirectory', '.intent-healer');
+    }
+
+    private getEventLog(): HealEventLog {
+        return new HealEventLog(this.getWorkspaceDir('reportsDirectory', 'target/healer-reports'));
+    }
+
+    /**
+     * Load the newest page of heal history and the cache files.
+     */
+    async initialize(): Promise<void> {
+        await this.loadCacheFiles();
+        await this.loadStatusChanges();
+
+        const log = this.getEventLog();
+        const total = await log.count();
+        const first = Math.max(0, total - PAGE_SIZE);
+        const page = await log.read(first, PAGE_SIZE);
+        this.healHistory = page.records.map(r => this.toEntry(r)).reverse();
+        this.oldestLoadedIndex = page.first;
+        this.tailOffset = page.endOffset;
+    }
+
+    /**
+     * Pick up heals appended since the last poll and cache files that changed.
+     *
+     * @returns the new heals, newest first
+     */
+    async poll(): Promise<HealEntry[]> {
+        await this.loadCacheFiles();
+
+        const tail = await this.getEventLog().tail(this.tailOffset);
+        this.tailOffset = tail.offset;
+        if (tail.restarted) {
+            // The log was cleared; what is loaded no longer matches it
+            this.healHistory = [];
+            this.oldestLoadedIndex = 0;
         }
-        return cacheDir;
+        const added = tail.records.map(r => this.toEntry(r)).reverse();
+        this.healHistory.unshift(...added);
+        return added;
     }
 
-    private loadData(): void {
+    /**
+     * Load the next page of older heals into the history.
+     */
+    async loadOlder(): Promise<void> {
+        if (this.oldestLoadedIndex === 0) {
+            return;
+        }
+        const first = Math.max(0, this.oldestLoadedIndex - PAGE_SIZE);
+        const page = await this.getEventLog().read(first, this.oldestLoadedIndex - first);
+        this.healHistory.push(...page.records.map(r => this.toEntry(r)).reverse());
+        this.oldestLoadedIndex = page.first;
+    }
+
+    hasMoreHistory(): boolean {
+        return this.oldestLoadedIndex > 0;
+    }
+
+    /**
+     * Reread the trust and stability files, but only those modified since the last read.
+     */
+    private async loadCacheFiles(): Promise<void> {
         const cacheDir = this.getCacheDir();
 
-        // Load heal history
-        const historyPath = path.join(cacheDir, 'heal-history.json');
-        if (fs.existsSync(historyPath)) {
-            try {
-                const data = fs.readFileSync(historyPath, 'utf8');
-                this.healHistory = JSON.parse(data);
-            } catch (e) {
-                console.error('Failed to load heal history:', e);
-            }
+        const trust = await this.readIfChanged<TrustLevelInfo>(path.join(cacheDir, 'trust-level.json'));
+        if (trust) {
+            this.trustLevel = trust;
         }
 
-        // Load trust level
-        const trustPath = path.join(cacheDir, 'trust-level.json');
-        if (fs.existsSync(trustPath)) {
-            try {
-                const data = fs.readFileSync(trustPath, 'utf8');
-                this.trustLevel = JSON.parse(data);
-            } catch (e) {
-                console.error('Failed to load trust level:', e);
+        const stabilities = await this.readIfChanged<LocatorStability[]>(path.join(cacheDir, 'locator-stability.json'));
+        if (stabilities) {
+            this.locatorStabilities.clear();
+            stabilities.forEach(e => this.locatorStabilities.set(e.locator, e));
+        }
+    }
+
+    private async readIfChanged<T>(file: string): Promise<T | undefined> {
+        try {
+            const mtime = (await fs.promises.stat(file)).mtimeMs;
+            if (this.fileTimes.get(file) === mtime) {
+                return undefined;
             }
+            const data = await fs.promises.readFile(file, 'utf8');
+            this.fileTimes.set(file, mtime);
+            return JSON.parse(data);
+        } catch (e) {
+            if ((e as NodeJS.ErrnoException).code !== 'ENOENT') {
+                console.error(`Failed to load ${file}:`, e);
+            }
+            return undefined;
         }
+    }
 
-        // Load stability data
-        const stabilityPath = path.join(cacheDir, 'locator-stability.json');
-        if (fs.existsSync(stabilityPath)) {
-            try {
-                const data = fs.readFileSync(stabilityPath, 'utf8');
-                const entries: LocatorStability[] = JSON.parse(data);
-                entries.forEach(e => this.locatorStabilities.set(e.locator, e));
-            } catch (e) {
-                console.error('Failed to load stability data:', e);
+    private async loadStatusChanges(): Promise<void> {
+        this.statusChanges.clear();
+        const statusPath = path.join(this.getCacheDir(), STATUS_FILE);
+        try {
+            const data = await fs.promises.readFile(statusPath, 'utf8');
+            for (const line of data.split('\n')) {
+                if (!line) {
+                    continue;
+                }
+                try {
+                    const change: StatusChange = JSON.parse(line);
+                    this.statusChanges.set(change.id, change);
+                } catch {
+                    // Skip a partly written line
+                }
+            }
+        } catch (e) {
+            if ((e as NodeJS.ErrnoException).code !== 'ENOENT') {
+                console.error('Failed to load heal status changes:', e);
             }
         }
     }
 
-    private saveData(): void {
-        const cacheDir = this.getCacheDir();
+    private toEntry(record: HealEventRecord): HealEntry {
+        const entry: HealEntry = {
+            id: record.id,
+            timestamp: record.timestamp,
+            featureName: record.featureName ?? '',
+            scenarioName: record.scenarioName ?? '',
+            stepText: record.stepText ?? '',
+            originalLocator: record.originalLocator ?? '',
+            healedLocator: record.healedLocator ?? '',
+            confidence: record.confidence,
+            reasoning: record.reasoning ?? '',
+            status: 'pending'
+        };
+        const change = this.statusChanges.get(record.id);
+        if (change) {
+            this.applyStatus(entry, change);
+        }
+        return entry;
+    }
 
-        if (!fs.existsSync(cacheDir)) {
-            fs.mkdirSync(cacheDir, { recursive: true });
+    private applyStatus(entry: HealEntry, change: StatusChange): void {
+        entry.status = change.status.toLowerCase() as HealStatus;
+        if (change.status === 'BLACKLISTED' && change.reason) {
+            entry.reasoning = `${entry.reasoning}\n[BLACKLISTED: ${change.reason}]`;
         }
+    }
 
-        // Save heal history
-        const historyPath = path.join(cacheDir, 'heal-history.json');
-        fs.writeFileSync(historyPath, JSON.stringify(this.healHistory, null, 2));
+    /**
+     * Record a status change by appending one line, rather than rewriting the history.
+     */
+    private recordStatus(healId: string, status: StatusChange['status'], reason: string | null = null): void {
+        const heal = this.healHistory.find(h => h.id === healId);
+        if (!heal) {
+            return;
+        }
+        const change: StatusChange = { id: healId, status, reason };
+        this.statusChanges.set(healId, change);
+        this.applyStatus(heal, change);
+
+        const cacheDir = this.getCacheDir();
+        fs.promises.mkdir(cacheDir, { recursive: true })
+            .then(() => fs.promises.appendFile(path.join(cacheDir, STATUS_FILE), JSON.stringify(change) + '\n'))
+            .catch(e => console.error('Failed to save heal status:', e));
     }
 
     getHealHistory(): HealEntry[] {
@@ -127,47 +259,45 @@ export class HealerService {
         return Array.from(this.locatorStabilities.values());
     }
 
-    getStats(): HealerStats {
-        const accepted = this.healHistory.filter(h => h.status === 'accepted').length;
-        const total = this.healHistory.length;
-        const pending = this.healHistory.filter(h => h.status === 'pending').length;
+    async getStats(): Promise<HealerStats> {
+        const total = await this.getEventLog().count();
+        let accepted = 0;
+        let reviewed = 0;
+        this.statusChanges.forEach(change => {
+            if (change.status !== 'PENDING') {
+                reviewed++;
+            }
+            if (change.status === 'ACCEPTED') {
+                accepted++;
+            }
+        });
 
         return {
             totalHeals: total,
             successRate: total > 0 ? (accepted / total) * 100 : 0,
             trustLevel: this.trustLevel.level,
-            pendingCount: pending,
+            pendingCount: Math.max(0, total - reviewed),
             recentHeals: this.healHistory.slice(0, 10)
         };
     }
 
     acceptHeal(healId: string): void {
-        const heal = this.healHistory.find(h => h.id === healId);
-        if (heal) {
-            heal.status = 'accepted';
-            this.saveData();
-        }
+        this.recordStatus(healId, 'ACCEPTED');
     }
 
     rejectHeal(healId: string): void {
-        const heal = this.healHistory.find(h => h.id === healId);
-        if (heal) {
-            heal.status = 'rejected';
-            this.saveData();
-        }
+        this.recordStatus(healId, 'REJECTED');
     }
 
     blacklistHeal(healId: string, reason: string): void {
-        const heal = this.healHistory.find(h => h.id === healId);
-        if (heal) {
-            heal.status = 'blacklisted';
-            heal.reasoning = reason;
-            this.saveData();
-        }
+        this.recordStatus(healId, 'BLACKLISTED', reason);
     }
 
-    clearCache(): void {
+    async clearCache(): Promise<void> {
         this.healHistory = [];
+        this.oldestLoadedIndex = 0;
+        this.tailOffset = 0;
+        this.statusChanges.clear();
         this.locatorStabilities.clear();
         this.trustLevel = {
             level: 'L0_SHADOW',
@@ -175,30 +305,32 @@ export class HealerService {
             failuresInWindow: 0,
             successRate: 0
         };
-        this.saveData();
+        await fs.promises.rm(path.join(this.getCacheDir(), STATUS_FILE), { force: true });
+        await this.getEventLog().clear();
     }
 
     async exportReport(filePath: string): Promise<void> {
-        const stats = this.getStats();
+        const stats = await this.getStats();
         const ext = path.extname(filePath).toLowerCase();
+        const healHistory = (await this.getEventLog().readAll()).map(r => this.toEntry(r)).reverse();
 
         if (ext === '.json') {
             const report = {
                 generated: new Date().toISOString(),
                 stats,
-                healHistory: this.healHistory,
+                healHistory,
                 trustLevel: this.trustLevel,
                 locatorStabilities: this.getLocatorStabilities()
             };
-            fs.writeFileSync(filePath, JSON.stringify(report, null, 2));
+            await fs.promises.writeFile(filePath, JSON.stringify(report, null, 2));
         } else {
             // Generate HTML report
-            const html = this.generateHtmlReport(stats);
-            fs.writeFileSync(filePath, html);
+            const html = this.generateHtmlReport(stats, healHistory);
+            await fs.promises.writeFile(filePath, html);
         }
     }
 
-    private generateHtmlReport(stats: HealerStats): string {
+    private generateHtmlReport(stats: HealerStats, healHistory: HealEntry[]): string {
         return `<!DOCTYPE html>
 <html lang="en">
 <head>
@@ -248,7 +380,7 @@ export class HealerService {
             <th>Confidence</th>
             <th>Status</th>
         </tr>
-        ${this.healHistory.map(h => `
+        ${healHistory.map(h => `
             <tr>
                 <td>${new Date(h.timestamp).toLocaleString()}</td>
                 <td>${h.stepText}</td>
@@ -263,8 +395,9 @@ export class HealerService {
 </html>`;
     }
 
-    reloadConfiguration(): void {
-        this.loadData();
+    async reloadConfiguration(): Promise<void> {
+        this.fileTimes.clear();
+        await this.initialize();
     }
 
     dispose(): void {